@@ -0,0 +1,44 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.base;
+
+import org.apache.flink.annotation.PublicEvolving;
+
+/**
+ * The guarantees a sink gives for the delivery of the records to the external system.
+ */
+@PublicEvolving
+public enum DeliveryGuarantee {
+
+	/**
+	 * Records are delivered exactly once, even in case of failures. This usually requires
+	 * transactions in the external system, whose commits are bound to the checkpoints.
+	 */
+	EXACTLY_ONCE,
+
+	/**
+	 * Records are never lost, but may be delivered more than once after a failure.
+	 */
+	AT_LEAST_ONCE,
+
+	/**
+	 * Records may be lost or delivered more than once after a failure.
+	 */
+	NONE
+}
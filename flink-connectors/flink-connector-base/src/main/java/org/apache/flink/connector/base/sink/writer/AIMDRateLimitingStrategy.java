@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.base.sink.writer;
+
+import org.apache.flink.annotation.Internal;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+
+/**
+ * Limits the number of request entries an {@link AsyncSinkWriter} keeps in flight with an
+ * additive-increase/multiplicative-decrease scheme, as known from TCP congestion control.
+ *
+ * <p>Every request which completes without throttling raises the limit by a constant, every
+ * request which needs retries scales it down by a factor. The limit always stays between one and
+ * the configured maximum.
+ */
+@Internal
+public class AIMDRateLimitingStrategy {
+
+	private final int increaseRate;
+	private final double decreaseFactor;
+	private final int rateThreshold;
+
+	private int currentRate;
+
+	/**
+	 * @param increaseRate the number of entries the limit grows by after a successful request
+	 * @param decreaseFactor the factor in (0, 1) the limit is multiplied with after a throttled request
+	 * @param rateThreshold the maximum limit
+	 * @param initialRate the initial limit
+	 */
+	public AIMDRateLimitingStrategy(
+			int increaseRate,
+			double decreaseFactor,
+			int rateThreshold,
+			int initialRate) {
+		checkArgument(increaseRate > 0, "increaseRate must be positive.");
+		checkArgument(decreaseFactor > 0.0 && decreaseFactor < 1.0, "decreaseFactor must be in (0, 1).");
+		checkArgument(rateThreshold > 0, "rateThreshold must be positive.");
+		checkArgument(initialRate > 0, "initialRate must be positive.");
+		this.increaseRate = increaseRate;
+		this.decreaseFactor = decreaseFactor;
+		this.rateThreshold = rateThreshold;
+		this.currentRate = Math.min(initialRate, rateThreshold);
+	}
+
+	/**
+	 * Returns the maximum number of request entries which may currently be in flight.
+	 */
+	public int getRateLimit() {
+		return currentRate;
+	}
+
+	public void onSuccess() {
+		currentRate = (int) Math.min((long) currentRate + increaseRate, rateThreshold);
+	}
+
+	public void onThrottled() {
+		currentRate = Math.max(1, (int) Math.round(currentRate * decreaseFactor));
+	}
+}
@@ -0,0 +1,357 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.base.sink.writer;
+
+import org.apache.flink.annotation.PublicEvolving;
+import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.api.connector.sink.Sink;
+import org.apache.flink.api.connector.sink.SinkWriter;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * A {@link SinkWriter} which buffers request entries and sends them in batches to a destination
+ * with asynchronous requests. Implementations only provide the conversion of the input elements
+ * into request entries, see {@link ElementConverter}, and the submission of a batch of entries,
+ * see {@link #submitRequestEntries(List, ResultHandler)}.
+ *
+ * <p>The buffered entries are sent when they reach the maximum batch size, either in number of
+ * entries or in bytes, or when the oldest entry has been buffered for the maximum time. The number
+ * of requests and bytes which are in flight is capped. In addition, the number of entries in flight
+ * is limited by an {@link AIMDRateLimitingStrategy}, which backs off whenever the destination
+ * throttles requests. Entries which are not persisted by a request are queued again in front of
+ * the buffer and retried.
+ *
+ * <p>When the buffer is full, {@link #write(Object, SinkWriter.Context)} blocks until requests
+ * complete, which back-pressures the pipeline. On every checkpoint all buffered entries are sent
+ * and all requests are awaited, which gives at-least-once guarantees without keeping the entries
+ * in the writer's state.
+ *
+ * <p>All methods of the writer are called from the task thread. The {@link ResultHandler} may be
+ * called from any thread, the outcome of the request is handed over to the task thread which
+ * processes it on the next call of the writer.
+ *
+ * @param <InputT> The type of the input elements
+ * @param <RequestEntryT> The type of the request entries sent to the destination
+ */
+@PublicEvolving
+public abstract class AsyncSinkWriter<InputT, RequestEntryT> implements SinkWriter<InputT, Void, Void> {
+
+	/** The number of entries the in-flight limit grows by after a successful request. */
+	private static final int RATE_LIMIT_INCREASE = 10;
+
+	/** The factor the in-flight limit is scaled down with after a throttled request. */
+	private static final double RATE_LIMIT_DECREASE_FACTOR = 0.5;
+
+	private final ElementConverter<InputT, RequestEntryT> elementConverter;
+	private final AsyncSinkWriterConfiguration configuration;
+	private final Sink.ProcessingTimeService timeService;
+	private final AIMDRateLimitingStrategy rateLimitingStrategy;
+
+	private final Deque<BufferedEntry<RequestEntryT>> bufferedEntries = new ArrayDeque<>();
+	private long bufferedBytes;
+
+	private int inFlightRequests;
+	private int inFlightEntries;
+	private long inFlightBytes;
+
+	/** The outcome of completed requests, handed over from the threads completing them. */
+	private final BlockingQueue<CompletedRequest<RequestEntryT>> completedRequests = new LinkedBlockingQueue<>();
+
+	private boolean flushTimerRegistered;
+
+	public AsyncSinkWriter(
+			ElementConverter<InputT, RequestEntryT> elementConverter,
+			Sink.InitContext context,
+			AsyncSinkWriterConfiguration configuration) {
+		this.elementConverter = checkNotNull(elementConverter);
+		this.configuration = checkNotNull(configuration);
+		this.timeService = context.getProcessingTimeService();
+		int maxInFlightEntries = (int) Math.min(
+			(long) configuration.getMaxBatchSize() * configuration.getMaxInFlightRequests(),
+			Integer.MAX_VALUE);
+		this.rateLimitingStrategy = new AIMDRateLimitingStrategy(
+			RATE_LIMIT_INCREASE,
+			RATE_LIMIT_DECREASE_FACTOR,
+			maxInFlightEntries,
+			maxInFlightEntries);
+	}
+
+	/**
+	 * Sends the given entries to the destination. The method must not block, the outcome of the
+	 * request is reported to the given {@link ResultHandler} exactly once.
+	 *
+	 * @param requestEntries the entries to send, at least one
+	 * @param resultHandler receives the outcome of the request
+	 */
+	protected abstract void submitRequestEntries(
+		List<RequestEntryT> requestEntries,
+		ResultHandler<RequestEntryT> resultHandler);
+
+	/**
+	 * Returns the size of the given entry in bytes, as accounted for the batch and in-flight limits.
+	 */
+	protected abstract long getSizeInBytes(RequestEntryT requestEntry);
+
+	@Override
+	public void write(InputT element, Context context) throws IOException {
+		processCompletedRequests();
+		while (bufferedEntries.size() >= configuration.getMaxBufferedRequests()) {
+			// a full buffer always holds a full batch, so nothing can be sent only if requests are in flight
+			submitFullBatches();
+			if (bufferedEntries.size() >= configuration.getMaxBufferedRequests()) {
+				waitForCompletedRequest();
+			}
+		}
+		addToBuffer(elementConverter.apply(element, context), false);
+		submitFullBatches();
+	}
+
+	@Override
+	public List<Void> prepareCommit(boolean flush) throws IOException {
+		// all entries are flushed regardless of the flag, a checkpoint must not complete before
+		// they are persisted
+		flush();
+		return Collections.emptyList();
+	}
+
+	@Override
+	public List<Void> snapshotState() {
+		return Collections.emptyList();
+	}
+
+	@Override
+	public void close() {
+	}
+
+	/**
+	 * Sends all buffered entries and waits until all requests, including retries, are completed.
+	 */
+	private void flush() throws IOException {
+		processCompletedRequests();
+		while (!bufferedEntries.isEmpty() || inFlightRequests > 0) {
+			while (!bufferedEntries.isEmpty() && canSubmit()) {
+				submitBatch();
+			}
+			if (inFlightRequests > 0) {
+				waitForCompletedRequest();
+			}
+		}
+	}
+
+	private void submitFullBatches() {
+		while (hasFullBatch() && canSubmit()) {
+			submitBatch();
+		}
+	}
+
+	private boolean hasFullBatch() {
+		int batchSize = Math.min(configuration.getMaxBatchSize(), rateLimitingStrategy.getRateLimit());
+		return bufferedEntries.size() >= batchSize || bufferedBytes >= configuration.getMaxBatchSizeInBytes();
+	}
+
+	private boolean canSubmit() {
+		return inFlightRequests < configuration.getMaxInFlightRequests()
+			&& inFlightBytes < configuration.getMaxInFlightBytes()
+			&& inFlightEntries < rateLimitingStrategy.getRateLimit();
+	}
+
+	private void submitBatch() {
+		int maxEntries = Math.min(
+			configuration.getMaxBatchSize(),
+			rateLimitingStrategy.getRateLimit() - inFlightEntries);
+		List<RequestEntryT> batch = new ArrayList<>(Math.min(maxEntries, bufferedEntries.size()));
+		long batchBytes = 0;
+		while (!bufferedEntries.isEmpty() && batch.size() < maxEntries) {
+			BufferedEntry<RequestEntryT> next = bufferedEntries.peekFirst();
+			// a single entry larger than the byte limit is sent on its own
+			if (!batch.isEmpty() && batchBytes + next.sizeInBytes > configuration.getMaxBatchSizeInBytes()) {
+				break;
+			}
+			bufferedEntries.pollFirst();
+			bufferedBytes -= next.sizeInBytes;
+			batchBytes += next.sizeInBytes;
+			batch.add(next.entry);
+		}
+
+		inFlightRequests++;
+		inFlightEntries += batch.size();
+		inFlightBytes += batchBytes;
+		submitRequestEntries(batch, new QueueingResultHandler(batch.size(), batchBytes));
+	}
+
+	private void addToBuffer(RequestEntryT entry, boolean first) {
+		BufferedEntry<RequestEntryT> bufferedEntry = new BufferedEntry<>(entry, getSizeInBytes(entry));
+		if (first) {
+			bufferedEntries.addFirst(bufferedEntry);
+		} else {
+			bufferedEntries.addLast(bufferedEntry);
+		}
+		bufferedBytes += bufferedEntry.sizeInBytes;
+		registerFlushTimer();
+	}
+
+	private void registerFlushTimer() {
+		if (flushTimerRegistered || configuration.getMaxTimeInBufferMs() <= 0) {
+			return;
+		}
+		flushTimerRegistered = true;
+		timeService.registerProcessingTimer(
+			timeService.getCurrentProcessingTime() + configuration.getMaxTimeInBufferMs(),
+			time -> onFlushTimer());
+	}
+
+	private void onFlushTimer() throws IOException {
+		flushTimerRegistered = false;
+		processCompletedRequests();
+		while (!bufferedEntries.isEmpty() && canSubmit()) {
+			submitBatch();
+		}
+		if (!bufferedEntries.isEmpty()) {
+			registerFlushTimer();
+		}
+	}
+
+	private void waitForCompletedRequest() throws IOException {
+		try {
+			processCompletedRequest(completedRequests.take());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting for in-flight requests.");
+		}
+		processCompletedRequests();
+	}
+
+	private void processCompletedRequests() throws IOException {
+		CompletedRequest<RequestEntryT> completedRequest;
+		while ((completedRequest = completedRequests.poll()) != null) {
+			processCompletedRequest(completedRequest);
+		}
+	}
+
+	private void processCompletedRequest(CompletedRequest<RequestEntryT> completedRequest) throws IOException {
+		inFlightRequests--;
+		inFlightEntries -= completedRequest.numEntries;
+		inFlightBytes -= completedRequest.sizeInBytes;
+
+		if (completedRequest.error != null) {
+			throw new IOException("Failed to send request entries.", completedRequest.error);
+		}
+		List<RequestEntryT> entriesToRetry = completedRequest.entriesToRetry;
+		if (entriesToRetry.isEmpty()) {
+			rateLimitingStrategy.onSuccess();
+		} else {
+			rateLimitingStrategy.onThrottled();
+			// the entries are retried before all buffered entries, in their original order
+			for (int i = entriesToRetry.size() - 1; i >= 0; i--) {
+				addToBuffer(entriesToRetry.get(i), true);
+			}
+		}
+	}
+
+	@VisibleForTesting
+	int getNumBufferedEntries() {
+		return bufferedEntries.size();
+	}
+
+	@VisibleForTesting
+	int getNumInFlightRequests() {
+		return inFlightRequests;
+	}
+
+	@VisibleForTesting
+	int getRateLimit() {
+		return rateLimitingStrategy.getRateLimit();
+	}
+
+	// ------------------------------------------------------------------------
+
+	private static final class BufferedEntry<RequestEntryT> {
+
+		private final RequestEntryT entry;
+		private final long sizeInBytes;
+
+		private BufferedEntry(RequestEntryT entry, long sizeInBytes) {
+			this.entry = entry;
+			this.sizeInBytes = sizeInBytes;
+		}
+	}
+
+	private static final class CompletedRequest<RequestEntryT> {
+
+		private final int numEntries;
+		private final long sizeInBytes;
+		private final List<RequestEntryT> entriesToRetry;
+		private final Exception error;
+
+		private CompletedRequest(
+				int numEntries,
+				long sizeInBytes,
+				List<RequestEntryT> entriesToRetry,
+				Exception error) {
+			this.numEntries = numEntries;
+			this.sizeInBytes = sizeInBytes;
+			this.entriesToRetry = entriesToRetry;
+			this.error = error;
+		}
+	}
+
+	/**
+	 * Hands the outcome of a request over to the task thread.
+	 */
+	private final class QueueingResultHandler implements ResultHandler<RequestEntryT> {
+
+		private final int numEntries;
+		private final long sizeInBytes;
+
+		private QueueingResultHandler(int numEntries, long sizeInBytes) {
+			this.numEntries = numEntries;
+			this.sizeInBytes = sizeInBytes;
+		}
+
+		@Override
+		public void complete() {
+			completedRequests.add(new CompletedRequest<>(numEntries, sizeInBytes, Collections.emptyList(), null));
+		}
+
+		@Override
+		public void completeExceptionally(Exception e) {
+			completedRequests.add(new CompletedRequest<>(numEntries, sizeInBytes, Collections.emptyList(), checkNotNull(e)));
+		}
+
+		@Override
+		public void retryForEntries(List<RequestEntryT> requestEntriesToRetry) {
+			completedRequests.add(new CompletedRequest<>(
+				numEntries,
+				sizeInBytes,
+				new ArrayList<>(requestEntriesToRetry),
+				null));
+		}
+	}
+}
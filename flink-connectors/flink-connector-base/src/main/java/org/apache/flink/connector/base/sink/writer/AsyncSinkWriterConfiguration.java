@@ -0,0 +1,174 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.base.sink.writer;
+
+import org.apache.flink.annotation.PublicEvolving;
+
+import java.io.Serializable;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+
+/**
+ * The buffering, flushing and rate limiting parameters of an {@link AsyncSinkWriter}.
+ */
+@PublicEvolving
+public class AsyncSinkWriterConfiguration implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	public static final int DEFAULT_MAX_BATCH_SIZE = 500;
+	public static final long DEFAULT_MAX_BATCH_SIZE_IN_BYTES = 5 * 1024 * 1024;
+	public static final int DEFAULT_MAX_IN_FLIGHT_REQUESTS = 50;
+	public static final long DEFAULT_MAX_IN_FLIGHT_BYTES = 64 * 1024 * 1024;
+	public static final int DEFAULT_MAX_BUFFERED_REQUESTS = 10_000;
+	public static final long DEFAULT_MAX_TIME_IN_BUFFER_MS = 5000;
+
+	private final int maxBatchSize;
+	private final long maxBatchSizeInBytes;
+	private final int maxInFlightRequests;
+	private final long maxInFlightBytes;
+	private final int maxBufferedRequests;
+	private final long maxTimeInBufferMs;
+
+	private AsyncSinkWriterConfiguration(
+			int maxBatchSize,
+			long maxBatchSizeInBytes,
+			int maxInFlightRequests,
+			long maxInFlightBytes,
+			int maxBufferedRequests,
+			long maxTimeInBufferMs) {
+		checkArgument(maxBatchSize > 0, "maxBatchSize must be positive.");
+		checkArgument(maxBatchSizeInBytes > 0, "maxBatchSizeInBytes must be positive.");
+		checkArgument(maxInFlightRequests > 0, "maxInFlightRequests must be positive.");
+		checkArgument(maxInFlightBytes > 0, "maxInFlightBytes must be positive.");
+		checkArgument(
+			maxBufferedRequests >= maxBatchSize,
+			"maxBufferedRequests must not be smaller than maxBatchSize.");
+		checkArgument(maxTimeInBufferMs >= 0, "maxTimeInBufferMs must not be negative.");
+		this.maxBatchSize = maxBatchSize;
+		this.maxBatchSizeInBytes = maxBatchSizeInBytes;
+		this.maxInFlightRequests = maxInFlightRequests;
+		this.maxInFlightBytes = maxInFlightBytes;
+		this.maxBufferedRequests = maxBufferedRequests;
+		this.maxTimeInBufferMs = maxTimeInBufferMs;
+	}
+
+	/**
+	 * The maximum number of entries in a single request.
+	 */
+	public int getMaxBatchSize() {
+		return maxBatchSize;
+	}
+
+	/**
+	 * The maximum accumulated size of the entries in a single request.
+	 */
+	public long getMaxBatchSizeInBytes() {
+		return maxBatchSizeInBytes;
+	}
+
+	/**
+	 * The maximum number of requests which are sent but not yet completed.
+	 */
+	public int getMaxInFlightRequests() {
+		return maxInFlightRequests;
+	}
+
+	/**
+	 * The maximum accumulated size of the entries which are sent but not yet completed.
+	 */
+	public long getMaxInFlightBytes() {
+		return maxInFlightBytes;
+	}
+
+	/**
+	 * The maximum number of buffered entries, the writer blocks and back-pressures when it is reached.
+	 */
+	public int getMaxBufferedRequests() {
+		return maxBufferedRequests;
+	}
+
+	/**
+	 * The maximum time an entry stays in the buffer before it is sent, 0 disables time based flushing.
+	 */
+	public long getMaxTimeInBufferMs() {
+		return maxTimeInBufferMs;
+	}
+
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Builder for {@link AsyncSinkWriterConfiguration}.
+	 */
+	@PublicEvolving
+	public static class Builder {
+
+		private int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+		private long maxBatchSizeInBytes = DEFAULT_MAX_BATCH_SIZE_IN_BYTES;
+		private int maxInFlightRequests = DEFAULT_MAX_IN_FLIGHT_REQUESTS;
+		private long maxInFlightBytes = DEFAULT_MAX_IN_FLIGHT_BYTES;
+		private int maxBufferedRequests = DEFAULT_MAX_BUFFERED_REQUESTS;
+		private long maxTimeInBufferMs = DEFAULT_MAX_TIME_IN_BUFFER_MS;
+
+		private Builder() {
+		}
+
+		public Builder setMaxBatchSize(int maxBatchSize) {
+			this.maxBatchSize = maxBatchSize;
+			return this;
+		}
+
+		public Builder setMaxBatchSizeInBytes(long maxBatchSizeInBytes) {
+			this.maxBatchSizeInBytes = maxBatchSizeInBytes;
+			return this;
+		}
+
+		public Builder setMaxInFlightRequests(int maxInFlightRequests) {
+			this.maxInFlightRequests = maxInFlightRequests;
+			return this;
+		}
+
+		public Builder setMaxInFlightBytes(long maxInFlightBytes) {
+			this.maxInFlightBytes = maxInFlightBytes;
+			return this;
+		}
+
+		public Builder setMaxBufferedRequests(int maxBufferedRequests) {
+			this.maxBufferedRequests = maxBufferedRequests;
+			return this;
+		}
+
+		public Builder setMaxTimeInBufferMs(long maxTimeInBufferMs) {
+			this.maxTimeInBufferMs = maxTimeInBufferMs;
+			return this;
+		}
+
+		public AsyncSinkWriterConfiguration build() {
+			return new AsyncSinkWriterConfiguration(
+				maxBatchSize,
+				maxBatchSizeInBytes,
+				maxInFlightRequests,
+				maxInFlightBytes,
+				maxBufferedRequests,
+				maxTimeInBufferMs);
+		}
+	}
+}
@@ -0,0 +1,38 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.base.sink.writer;
+
+import org.apache.flink.annotation.PublicEvolving;
+import org.apache.flink.api.connector.sink.SinkWriter;
+
+import java.io.Serializable;
+
+/**
+ * Converts an input element of an {@link AsyncSinkWriter} into a request entry which can be sent
+ * to the destination.
+ *
+ * @param <InputT> The type of the input elements
+ * @param <RequestEntryT> The type of the request entries sent to the destination
+ */
+@PublicEvolving
+@FunctionalInterface
+public interface ElementConverter<InputT, RequestEntryT> extends Serializable {
+
+	RequestEntryT apply(InputT element, SinkWriter.Context context);
+}
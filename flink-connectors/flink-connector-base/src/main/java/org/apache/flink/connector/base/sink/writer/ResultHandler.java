@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.base.sink.writer;
+
+import org.apache.flink.annotation.PublicEvolving;
+
+import java.util.List;
+
+/**
+ * Receives the outcome of a request submitted by an {@link AsyncSinkWriter}. Exactly one of the
+ * methods must be called once per request, it can be called from any thread.
+ *
+ * @param <RequestEntryT> The type of the request entries sent to the destination
+ */
+@PublicEvolving
+public interface ResultHandler<RequestEntryT> {
+
+	/**
+	 * All entries of the request have been persisted by the destination.
+	 */
+	void complete();
+
+	/**
+	 * The request failed with an error which must not be retried, the sink fails with it.
+	 */
+	void completeExceptionally(Exception e);
+
+	/**
+	 * The given entries of the request have not been persisted, e.g. because the destination
+	 * throttled them or the request partially failed. They are queued again and retried. The
+	 * writer treats this as a sign of congestion and lowers its sending rate.
+	 */
+	void retryForEntries(List<RequestEntryT> requestEntriesToRetry);
+}
@@ -36,6 +36,7 @@ import org.slf4j.LoggerFactory;
 import javax.annotation.Nullable;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -225,6 +226,17 @@ public abstract class SourceReaderBase<E, T, SplitT extends SourceSplit, SplitSt
 		elementsQueue.notifyAvailable();
 	}
 
+	@Override
+	public void pauseOrResumeSplits(Collection<String> splitsToPause, Collection<String> splitsToResume) {
+		// the splits are paused asynchronously by the fetchers, so the lack of support has to be
+		// reported here for the caller not to consider the splits as paused
+		if (!splitFetcherManager.supportsPausingSplits()) {
+			throw new UnsupportedOperationException(
+				"The split reader of this source reader does not support pausing or resuming splits.");
+		}
+		splitFetcherManager.pauseOrResumeSplits(splitsToPause, splitsToResume);
+	}
+
 	@Override
 	public void handleSourceEvents(SourceEvent sourceEvent) {
 		LOG.info("Received unhandled source event: {}", sourceEvent);
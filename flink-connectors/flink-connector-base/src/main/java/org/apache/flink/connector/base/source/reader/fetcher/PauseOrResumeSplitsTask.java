@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.base.source.reader.fetcher;
+
+import org.apache.flink.api.connector.source.SourceSplit;
+import org.apache.flink.connector.base.source.reader.splitreader.SplitReader;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The task to pause or resume splits.
+ */
+class PauseOrResumeSplitsTask<SplitT extends SourceSplit> implements SplitFetcherTask {
+
+	private final SplitReader<?, SplitT> splitReader;
+	private final Collection<String> splitIdsToPause;
+	private final Collection<String> splitIdsToResume;
+	private final Map<String, SplitT> assignedSplits;
+
+	PauseOrResumeSplitsTask(
+			SplitReader<?, SplitT> splitReader,
+			Collection<String> splitIdsToPause,
+			Collection<String> splitIdsToResume,
+			Map<String, SplitT> assignedSplits) {
+		this.splitReader = splitReader;
+		this.splitIdsToPause = splitIdsToPause;
+		this.splitIdsToResume = splitIdsToResume;
+		this.assignedSplits = assignedSplits;
+	}
+
+	@Override
+	public boolean run() {
+		List<SplitT> splitsToPause = lookupAssignedSplits(splitIdsToPause);
+		List<SplitT> splitsToResume = lookupAssignedSplits(splitIdsToResume);
+		if (splitsToPause.isEmpty() && splitsToResume.isEmpty()) {
+			return true;
+		}
+		// the source reader only requests pausing if the split reader supports it
+		splitReader.pauseOrResumeSplits(splitsToPause, splitsToResume);
+		return true;
+	}
+
+	private List<SplitT> lookupAssignedSplits(Collection<String> splitIds) {
+		List<SplitT> splits = new ArrayList<>(splitIds.size());
+		for (String splitId : splitIds) {
+			SplitT split = assignedSplits.get(splitId);
+			if (split != null) {
+				splits.add(split);
+			}
+		}
+		return splits;
+	}
+
+	@Override
+	public void wakeUp() {
+		// Do nothing.
+	}
+
+	@Override
+	public String toString() {
+		return String.format("PauseOrResumeSplitsTask: [pause %s, resume %s]", splitIdsToPause, splitIdsToResume);
+	}
+}
@@ -28,6 +28,7 @@ import org.slf4j.LoggerFactory;
 
 import javax.annotation.concurrent.GuardedBy;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -166,6 +167,18 @@ public class SplitFetcher<E, SplitT extends SourceSplit> implements Runnable {
 		wakeUp(true);
 	}
 
+	/**
+	 * Pauses or resumes reading of the splits with the given ids, ids of splits which are not
+	 * assigned to this fetcher are ignored. This operation is asynchronous.
+	 *
+	 * @param splitIdsToPause the ids of the splits to pause
+	 * @param splitIdsToResume the ids of the splits to resume
+	 */
+	public void pauseOrResumeSplits(Collection<String> splitIdsToPause, Collection<String> splitIdsToResume) {
+		enqueueTask(new PauseOrResumeSplitsTask<>(splitReader, splitIdsToPause, splitIdsToResume, assignedSplits));
+		wakeUp(true);
+	}
+
 	public void enqueueTask(SplitFetcherTask task) {
 		synchronized (lock) {
 			taskQueue.offer(task);
@@ -28,6 +28,7 @@ import org.apache.flink.connector.base.source.reader.synchronization.FutureCompl
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -111,6 +112,33 @@ public abstract class SplitFetcherManager<E, SplitT extends SourceSplit> {
 
 	public abstract void addSplits(List<SplitT> splitsToAdd);
 
+	/**
+	 * Pauses or resumes reading of the splits with the given ids. The ids are passed to all
+	 * fetchers, each of which only handles the splits assigned to it.
+	 *
+	 * @param splitIdsToPause the ids of the splits to pause
+	 * @param splitIdsToResume the ids of the splits to resume
+	 */
+	public void pauseOrResumeSplits(Collection<String> splitIdsToPause, Collection<String> splitIdsToResume) {
+		for (SplitFetcher<E, SplitT> fetcher : fetchers.values()) {
+			fetcher.pauseOrResumeSplits(splitIdsToPause, splitIdsToResume);
+		}
+	}
+
+	/**
+	 * Checks whether the split readers of all running fetchers support pausing and resuming splits.
+	 *
+	 * @return true if the splits of all fetchers can be paused and resumed
+	 */
+	public boolean supportsPausingSplits() {
+		for (SplitFetcher<E, SplitT> fetcher : fetchers.values()) {
+			if (!fetcher.getSplitReader().supportsPausingSplits()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	protected void startFetcher(SplitFetcher<E, SplitT> fetcher) {
 		executors.submit(fetcher);
 	}
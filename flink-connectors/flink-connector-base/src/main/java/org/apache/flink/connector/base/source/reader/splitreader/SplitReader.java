@@ -22,6 +22,7 @@ import org.apache.flink.api.connector.source.SourceSplit;
 import org.apache.flink.connector.base.source.reader.RecordsWithSplitIds;
 
 import java.io.IOException;
+import java.util.Collection;
 
 /**
  * An interface used to read from splits. The implementation could either read from a single split or from
@@ -52,6 +53,32 @@ public interface SplitReader<E, SplitT extends SourceSplit> {
 	 */
 	void handleSplitsChanges(SplitsChange<SplitT> splitsChanges);
 
+	/**
+	 * Pauses or resumes reading of the given splits. Paused splits must not return records from
+	 * {@link #fetch()} until they are resumed. This call should be non-blocking.
+	 *
+	 * <p>The default implementation throws an {@link UnsupportedOperationException}. Split readers
+	 * implementing this method must also override {@link #supportsPausingSplits()}.
+	 *
+	 * @param splitsToPause the splits to pause
+	 * @param splitsToResume the splits to resume
+	 */
+	default void pauseOrResumeSplits(Collection<SplitT> splitsToPause, Collection<SplitT> splitsToResume) {
+		throw new UnsupportedOperationException(
+			"This split reader does not support pausing or resuming splits.");
+	}
+
+	/**
+	 * Returns whether this split reader supports {@link #pauseOrResumeSplits(Collection, Collection)}.
+	 * The splits are paused asynchronously in the fetcher thread, so the source reader checks this
+	 * before it accepts a request to pause splits.
+	 *
+	 * @return true if splits can be paused and resumed, false by default
+	 */
+	default boolean supportsPausingSplits() {
+		return false;
+	}
+
 	/**
 	 * Wake up the split reader in case the fetcher thread is blocking in
 	 * {@link #fetch()}.
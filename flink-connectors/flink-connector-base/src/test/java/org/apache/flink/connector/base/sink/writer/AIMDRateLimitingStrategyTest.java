@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.base.sink.writer;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for {@link AIMDRateLimitingStrategy}.
+ */
+public class AIMDRateLimitingStrategyTest {
+
+	@Test
+	public void testAdditiveIncreaseUpToThreshold() {
+		AIMDRateLimitingStrategy strategy = new AIMDRateLimitingStrategy(10, 0.5, 35, 10);
+		strategy.onSuccess();
+		assertEquals(20, strategy.getRateLimit());
+		strategy.onSuccess();
+		strategy.onSuccess();
+		assertEquals(35, strategy.getRateLimit());
+	}
+
+	@Test
+	public void testMultiplicativeDecreaseDownToOne() {
+		AIMDRateLimitingStrategy strategy = new AIMDRateLimitingStrategy(10, 0.5, 100, 100);
+		strategy.onThrottled();
+		assertEquals(50, strategy.getRateLimit());
+		for (int i = 0; i < 10; i++) {
+			strategy.onThrottled();
+		}
+		assertEquals(1, strategy.getRateLimit());
+		strategy.onSuccess();
+		assertEquals(11, strategy.getRateLimit());
+	}
+}
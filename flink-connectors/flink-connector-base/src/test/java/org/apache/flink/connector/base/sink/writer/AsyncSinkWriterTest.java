@@ -0,0 +1,329 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.base.sink.writer;
+
+import org.apache.flink.api.connector.sink.Sink;
+import org.apache.flink.metrics.MetricGroup;
+import org.apache.flink.metrics.groups.UnregisteredMetricsGroup;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for {@link AsyncSinkWriter}.
+ */
+public class AsyncSinkWriterTest {
+
+	private final TestInitContext context = new TestInitContext();
+
+	@Test
+	public void testFlushByBatchSize() throws Exception {
+		TestSinkWriter writer = new TestSinkWriter(
+			AsyncSinkWriterConfiguration.builder().setMaxBatchSize(3).setMaxTimeInBufferMs(0).build());
+
+		write(writer, 1, 2, 3, 4, 5, 6, 7);
+		assertEquals(Arrays.asList(Arrays.asList(1, 2, 3), Arrays.asList(4, 5, 6)), writer.submittedBatches);
+		assertEquals(1, writer.getNumBufferedEntries());
+
+		writer.prepareCommit(false);
+		assertEquals(Collections.singletonList(7), writer.submittedBatches.get(2));
+		assertEquals(0, writer.getNumBufferedEntries());
+	}
+
+	@Test
+	public void testFlushByBatchSizeInBytes() throws Exception {
+		// every entry has a size of 4 bytes
+		TestSinkWriter writer = new TestSinkWriter(
+			AsyncSinkWriterConfiguration.builder()
+				.setMaxBatchSize(100)
+				.setMaxBatchSizeInBytes(10)
+				.setMaxTimeInBufferMs(0)
+				.build());
+
+		write(writer, 1, 2, 3, 4, 5);
+		assertEquals(Arrays.asList(Arrays.asList(1, 2), Arrays.asList(3, 4)), writer.submittedBatches);
+		assertEquals(1, writer.getNumBufferedEntries());
+	}
+
+	@Test
+	public void testFlushByTime() throws Exception {
+		TestSinkWriter writer = new TestSinkWriter(
+			AsyncSinkWriterConfiguration.builder().setMaxBatchSize(10).setMaxTimeInBufferMs(100).build());
+
+		write(writer, 1, 2);
+		context.timeService.advanceTo(99);
+		assertTrue(writer.submittedBatches.isEmpty());
+
+		context.timeService.advanceTo(100);
+		assertEquals(Collections.singletonList(Arrays.asList(1, 2)), writer.submittedBatches);
+
+		// a new timer is registered for the next entry
+		write(writer, 3);
+		context.timeService.advanceTo(200);
+		assertEquals(Collections.singletonList(3), writer.submittedBatches.get(1));
+	}
+
+	@Test
+	public void testMaxInFlightRequests() throws Exception {
+		TestSinkWriter writer = new TestSinkWriter(
+			AsyncSinkWriterConfiguration.builder()
+				.setMaxBatchSize(2)
+				.setMaxInFlightRequests(1)
+				.setMaxTimeInBufferMs(0)
+				.build());
+		writer.completeImmediately = false;
+
+		write(writer, 1, 2, 3, 4);
+		assertEquals(1, writer.getNumInFlightRequests());
+		assertEquals(Collections.singletonList(Arrays.asList(1, 2)), writer.submittedBatches);
+		assertEquals(2, writer.getNumBufferedEntries());
+
+		writer.completeAll();
+		write(writer, 5);
+		assertEquals(Arrays.asList(Arrays.asList(1, 2), Arrays.asList(3, 4)), writer.submittedBatches);
+	}
+
+	@Test
+	public void testMaxInFlightBytes() throws Exception {
+		TestSinkWriter writer = new TestSinkWriter(
+			AsyncSinkWriterConfiguration.builder()
+				.setMaxBatchSize(2)
+				.setMaxInFlightBytes(16)
+				.setMaxTimeInBufferMs(0)
+				.build());
+		writer.completeImmediately = false;
+
+		write(writer, 1, 2, 3, 4, 5, 6);
+		assertEquals(2, writer.getNumInFlightRequests());
+		assertEquals(2, writer.getNumBufferedEntries());
+	}
+
+	@Test
+	public void testFlushWaitsForAsynchronousCompletion() throws Exception {
+		TestSinkWriter writer = new TestSinkWriter(
+			AsyncSinkWriterConfiguration.builder().setMaxBatchSize(2).setMaxTimeInBufferMs(0).build());
+		writer.completeImmediately = false;
+
+		write(writer, 1, 2, 3);
+		Thread completer = new Thread(() -> {
+			while (writer.submittedBatches.size() < 2) {
+				// spin until the flush submitted the last entry
+				Thread.yield();
+			}
+			writer.completeAll();
+		});
+		completer.start();
+
+		writer.prepareCommit(false);
+		completer.join();
+		assertEquals(0, writer.getNumInFlightRequests());
+		assertEquals(0, writer.getNumBufferedEntries());
+	}
+
+	@Test
+	public void testRetryPartiallyFailedRequests() throws Exception {
+		TestSinkWriter writer = new TestSinkWriter(
+			AsyncSinkWriterConfiguration.builder().setMaxBatchSize(4).setMaxTimeInBufferMs(0).build());
+		int initialRateLimit = writer.getRateLimit();
+		// even entries are throttled on their first attempt
+		List<Integer> throttled = new ArrayList<>();
+		writer.entriesToRetry = batch -> {
+			List<Integer> retries = new ArrayList<>();
+			for (Integer entry : batch) {
+				if (entry % 2 == 0 && !throttled.contains(entry)) {
+					throttled.add(entry);
+					retries.add(entry);
+				}
+			}
+			return retries;
+		};
+
+		write(writer, 1, 2, 3, 4);
+		writer.prepareCommit(true);
+		assertEquals(Arrays.asList(Arrays.asList(1, 2, 3, 4), Arrays.asList(2, 4)), writer.submittedBatches);
+		assertThat(writer.persistedEntries, containsInAnyOrder(1, 2, 3, 4));
+		assertTrue(writer.getRateLimit() < initialRateLimit);
+	}
+
+	@Test
+	public void testFailedRequestFailsWriter() throws Exception {
+		TestSinkWriter writer = new TestSinkWriter(
+			AsyncSinkWriterConfiguration.builder().setMaxBatchSize(2).setMaxTimeInBufferMs(0).build());
+		Exception error = new Exception("expected");
+		writer.error = error;
+
+		write(writer, 1, 2);
+		try {
+			writer.prepareCommit(false);
+			fail("The failed request should fail the writer.");
+		} catch (IOException e) {
+			assertSame(error, e.getCause());
+		}
+	}
+
+	private static void write(TestSinkWriter writer, int... elements) throws IOException {
+		for (int element : elements) {
+			writer.write(element, null);
+		}
+	}
+
+	// ------------------------------------------------------------------------
+
+	private final class TestSinkWriter extends AsyncSinkWriter<Integer, Integer> {
+
+		private final List<List<Integer>> submittedBatches = Collections.synchronizedList(new ArrayList<>());
+		private final List<Integer> persistedEntries = new ArrayList<>();
+		private final List<Runnable> pendingCompletions = new ArrayList<>();
+
+		private boolean completeImmediately = true;
+		private Function<List<Integer>, List<Integer>> entriesToRetry = batch -> Collections.emptyList();
+		private Exception error;
+
+		private TestSinkWriter(AsyncSinkWriterConfiguration configuration) {
+			super((element, context) -> element, context, configuration);
+		}
+
+		@Override
+		protected void submitRequestEntries(List<Integer> requestEntries, ResultHandler<Integer> resultHandler) {
+			List<Integer> batch = new ArrayList<>(requestEntries);
+			Runnable completion = () -> {
+				if (error != null) {
+					resultHandler.completeExceptionally(error);
+					return;
+				}
+				List<Integer> retries = entriesToRetry.apply(batch);
+				for (Integer entry : batch) {
+					if (!retries.contains(entry)) {
+						persistedEntries.add(entry);
+					}
+				}
+				if (retries.isEmpty()) {
+					resultHandler.complete();
+				} else {
+					resultHandler.retryForEntries(retries);
+				}
+			};
+			if (completeImmediately) {
+				completion.run();
+			} else {
+				synchronized (pendingCompletions) {
+					pendingCompletions.add(completion);
+				}
+			}
+			submittedBatches.add(batch);
+		}
+
+		@Override
+		protected long getSizeInBytes(Integer requestEntry) {
+			return 4;
+		}
+
+		private void completeAll() {
+			synchronized (pendingCompletions) {
+				pendingCompletions.forEach(Runnable::run);
+				pendingCompletions.clear();
+			}
+		}
+	}
+
+	private static final class TestInitContext implements Sink.InitContext {
+
+		private final TestProcessingTimeService timeService = new TestProcessingTimeService();
+
+		@Override
+		public Sink.ProcessingTimeService getProcessingTimeService() {
+			return timeService;
+		}
+
+		@Override
+		public int getSubtaskId() {
+			return 0;
+		}
+
+		@Override
+		public int getNumberOfParallelSubtasks() {
+			return 1;
+		}
+
+		@Override
+		public OptionalLong getRestoredCheckpointId() {
+			return OptionalLong.empty();
+		}
+
+		@Override
+		public MetricGroup metricGroup() {
+			return new UnregisteredMetricsGroup();
+		}
+	}
+
+	private static final class TestProcessingTimeService implements Sink.ProcessingTimeService {
+
+		private final PriorityQueue<Timer> timers = new PriorityQueue<>();
+		private long currentTime;
+
+		@Override
+		public long getCurrentProcessingTime() {
+			return currentTime;
+		}
+
+		@Override
+		public void registerProcessingTimer(long time, ProcessingTimeCallback callback) {
+			timers.add(new Timer(time, callback));
+		}
+
+		private void advanceTo(long time) throws IOException {
+			currentTime = time;
+			while (!timers.isEmpty() && timers.peek().time <= time) {
+				Timer timer = timers.poll();
+				timer.callback.onProcessingTime(timer.time);
+			}
+		}
+	}
+
+	private static final class Timer implements Comparable<Timer> {
+
+		private final long time;
+		private final Sink.ProcessingTimeService.ProcessingTimeCallback callback;
+
+		private Timer(long time, Sink.ProcessingTimeService.ProcessingTimeCallback callback) {
+			this.time = time;
+			this.callback = callback;
+		}
+
+		@Override
+		public int compareTo(Timer other) {
+			return Long.compare(time, other.time);
+		}
+	}
+}
@@ -224,6 +224,38 @@ public class SourceReaderBaseTest extends SourceReaderTestBase<MockSourceSplit>
 			sourceReader.pollNext(new TestingReaderOutput<>()));
 	}
 
+	@Test
+	public void testPauseOrResumeSplitsWithoutPausingSupport() throws Exception {
+		// the mock split reader does not support pausing splits
+		MockSourceReader reader = createReader();
+		reader.start();
+		reader.addSplits(Collections.singletonList(getSplit(0, 10, Boundedness.BOUNDED)));
+
+		// the lack of support must be reported to the caller, which would consider the split paused otherwise
+		expectedException.expect(UnsupportedOperationException.class);
+		reader.pauseOrResumeSplits(Collections.singletonList("0"), Collections.emptyList());
+	}
+
+	@Test
+	public void testPauseOrResumeSplits() throws Exception {
+		TestingSplitReader<int[], MockSourceSplit> splitReader = new TestingSplitReader<>();
+		MockSourceReader reader = new MockSourceReader(
+			new FutureCompletingBlockingQueue<>(),
+			() -> splitReader,
+			getConfig(),
+			null);
+		reader.start();
+		reader.addSplits(Collections.singletonList(getSplit(0, 10, Boundedness.CONTINUOUS_UNBOUNDED)));
+
+		reader.pauseOrResumeSplits(Collections.singletonList("0"), Collections.emptyList());
+		// the split is paused asynchronously by the fetcher
+		while (splitReader.getPausedSplits().isEmpty()) {
+			Thread.sleep(10);
+		}
+		assertEquals(Collections.singleton("0"), splitReader.getPausedSplits());
+		reader.close();
+	}
+
 	// ---------------- helper methods -----------------
 
 	@Override
@@ -32,6 +32,7 @@ import org.apache.flink.util.ExceptionUtils;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.SortedSet;
@@ -229,6 +230,25 @@ public class SplitFetcherTest {
 		}
 	}
 
+	@Test
+	public void testPauseOrResumeSplits() {
+		final TestingSplitReader<Object, TestingSourceSplit> splitReader = new TestingSplitReader<>();
+		final SplitFetcher<Object, TestingSourceSplit> fetcher = createFetcherWithSplit("test-split", splitReader);
+
+		// splits which are not assigned to the fetcher are ignored
+		fetcher.pauseOrResumeSplits(Arrays.asList("test-split", "unknown-split"), Collections.emptyList());
+		// need to loop here because the internal wakeup flag handling means we need multiple loops
+		while (splitReader.getPausedSplits().isEmpty()) {
+			fetcher.runOnce();
+		}
+		assertEquals(Collections.singleton("test-split"), splitReader.getPausedSplits());
+
+		fetcher.pauseOrResumeSplits(Collections.emptyList(), Collections.singletonList("test-split"));
+		while (!splitReader.getPausedSplits().isEmpty()) {
+			fetcher.runOnce();
+		}
+	}
+
 	@Test
 	public void testClose() {
 		TestingSplitReader<Object, TestingSourceSplit> splitReader = new TestingSplitReader<>();
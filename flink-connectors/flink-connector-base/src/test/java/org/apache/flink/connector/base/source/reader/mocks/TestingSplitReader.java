@@ -26,6 +26,9 @@ import org.apache.flink.connector.base.source.reader.splitreader.SplitsChange;
 import java.io.IOException;
 import java.util.ArrayDeque;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
 
 /**
  * A {@code SplitReader} that returns a pre-defined set of records (by split).
@@ -33,6 +36,7 @@ import java.util.Arrays;
 public class TestingSplitReader<E, SplitT extends SourceSplit> implements SplitReader<E, SplitT> {
 
 	private final ArrayDeque<RecordsWithSplitIds<E>> fetches;
+	private final Set<String> pausedSplits = new HashSet<>();
 	private volatile boolean closed;
 	private volatile boolean closeWithException;
 
@@ -64,6 +68,19 @@ public class TestingSplitReader<E, SplitT extends SourceSplit> implements SplitR
 	@Override
 	public void handleSplitsChanges(SplitsChange<SplitT> splitsChanges) {}
 
+	@Override
+	public void pauseOrResumeSplits(Collection<SplitT> splitsToPause, Collection<SplitT> splitsToResume) {
+		synchronized (pausedSplits) {
+			splitsToPause.forEach(split -> pausedSplits.add(split.splitId()));
+			splitsToResume.forEach(split -> pausedSplits.remove(split.splitId()));
+		}
+	}
+
+	@Override
+	public boolean supportsPausingSplits() {
+		return true;
+	}
+
 	@Override
 	public void wakeUp() {
 		synchronized (fetches) {
@@ -86,4 +103,10 @@ public class TestingSplitReader<E, SplitT extends SourceSplit> implements SplitR
 	public boolean isClosed() {
 		return closed;
 	}
+
+	public Set<String> getPausedSplits() {
+		synchronized (pausedSplits) {
+			return new HashSet<>(pausedSplits);
+		}
+	}
 }
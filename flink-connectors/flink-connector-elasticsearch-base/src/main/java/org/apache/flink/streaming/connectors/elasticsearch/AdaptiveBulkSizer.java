@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.streaming.connectors.elasticsearch;
+
+import org.apache.flink.annotation.Internal;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+
+/**
+ * Decides how many actions the {@link ElasticsearchSinkBase} puts into a bulk request in the
+ * adaptive flush mode.
+ *
+ * <p>The bulk size starts at the minimum and follows the observed behaviour of the cluster: it
+ * grows by a quarter after each full bulk which completed within the target latency, shrinks by
+ * a quarter after a bulk which took longer, and is halved if items of a bulk were rejected
+ * because the cluster was overloaded. The bulk size always stays between the configured minimum
+ * and maximum.
+ *
+ * <p>The sizer is called from the task thread and from the flushing thread of the bulk processor.
+ */
+@Internal
+@ThreadSafe
+class AdaptiveBulkSizer {
+
+	private final int minBulkActions;
+	private final int maxBulkActions;
+	private final long targetLatencyMillis;
+
+	/** The current number of actions per bulk. */
+	private int bulkActions;
+
+	/** The number of actions added since the last bulk was started. */
+	private int numBufferedActions;
+
+	AdaptiveBulkSizer(int minBulkActions, int maxBulkActions, long targetLatencyMillis) {
+		checkArgument(minBulkActions > 0, "The minimum number of bulk actions must be positive.");
+		checkArgument(maxBulkActions >= minBulkActions,
+			"The maximum number of bulk actions must not be smaller than the minimum.");
+		checkArgument(targetLatencyMillis > 0, "The target bulk latency must be positive.");
+		this.minBulkActions = minBulkActions;
+		this.maxBulkActions = maxBulkActions;
+		this.targetLatencyMillis = targetLatencyMillis;
+		this.bulkActions = minBulkActions;
+	}
+
+	/**
+	 * Records added actions and returns whether the buffered actions fill a bulk.
+	 */
+	synchronized boolean addActions(int numActions) {
+		numBufferedActions += numActions;
+		return numBufferedActions >= bulkActions;
+	}
+
+	/**
+	 * Records that the buffered actions were taken into a bulk request.
+	 */
+	synchronized void onBulkStarted() {
+		numBufferedActions = 0;
+	}
+
+	/**
+	 * Adjusts the bulk size to the outcome of a completed bulk request.
+	 *
+	 * @param numActions the number of actions of the bulk request
+	 * @param numRejectedActions the number of actions which the cluster rejected due to overload
+	 * @param latencyMillis the time from sending the bulk request until its completion
+	 */
+	synchronized void onBulkCompleted(int numActions, int numRejectedActions, long latencyMillis) {
+		if (numRejectedActions > 0) {
+			bulkActions = Math.max(minBulkActions, bulkActions / 2);
+		} else if (latencyMillis > targetLatencyMillis) {
+			bulkActions = Math.max(minBulkActions, bulkActions - bulkActions / 4);
+		} else if (numActions >= bulkActions) {
+			// only full bulks are a signal that the cluster could take larger bulks,
+			// bulks sent by a time based or checkpoint flush are smaller anyway
+			bulkActions = Math.min(maxBulkActions, bulkActions + Math.max(1, bulkActions / 4));
+		}
+	}
+
+	synchronized int getBulkActions() {
+		return bulkActions;
+	}
+}
@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.streaming.connectors.elasticsearch;
+
+import org.apache.flink.annotation.Internal;
+
+import org.elasticsearch.action.bulk.BulkProcessor;
+import org.elasticsearch.action.delete.DeleteRequest;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.update.UpdateRequest;
+
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * A {@link RequestIndexer} which flushes the {@link BulkProcessor} whenever the added requests
+ * fill a bulk of the size decided by an {@link AdaptiveBulkSizer}.
+ */
+@Internal
+class AdaptiveFlushingRequestIndexer implements RequestIndexer {
+
+	private final RequestIndexer bulkProcessorIndexer;
+	private final BulkProcessor bulkProcessor;
+	private final AdaptiveBulkSizer bulkSizer;
+
+	AdaptiveFlushingRequestIndexer(
+			RequestIndexer bulkProcessorIndexer,
+			BulkProcessor bulkProcessor,
+			AdaptiveBulkSizer bulkSizer) {
+		this.bulkProcessorIndexer = checkNotNull(bulkProcessorIndexer);
+		this.bulkProcessor = checkNotNull(bulkProcessor);
+		this.bulkSizer = checkNotNull(bulkSizer);
+	}
+
+	@Override
+	public void add(DeleteRequest... deleteRequests) {
+		bulkProcessorIndexer.add(deleteRequests);
+		flushIfBulkIsFull(deleteRequests.length);
+	}
+
+	@Override
+	public void add(IndexRequest... indexRequests) {
+		bulkProcessorIndexer.add(indexRequests);
+		flushIfBulkIsFull(indexRequests.length);
+	}
+
+	@Override
+	public void add(UpdateRequest... updateRequests) {
+		bulkProcessorIndexer.add(updateRequests);
+		flushIfBulkIsFull(updateRequests.length);
+	}
+
+	private void flushIfBulkIsFull(int numAddedRequests) {
+		if (bulkSizer.addActions(numAddedRequests)) {
+			bulkProcessor.flush();
+		}
+	}
+}
@@ -22,10 +22,14 @@ import org.apache.flink.annotation.PublicEvolving;
 import org.apache.flink.annotation.VisibleForTesting;
 import org.apache.flink.api.java.utils.ParameterTool;
 import org.apache.flink.configuration.Configuration;
+import org.apache.flink.metrics.Counter;
+import org.apache.flink.metrics.Gauge;
+import org.apache.flink.metrics.MetricGroup;
 import org.apache.flink.runtime.state.FunctionInitializationContext;
 import org.apache.flink.runtime.state.FunctionSnapshotContext;
 import org.apache.flink.streaming.api.checkpoint.CheckpointedFunction;
 import org.apache.flink.streaming.api.functions.sink.RichSinkFunction;
+import org.apache.flink.util.ExceptionUtils;
 import org.apache.flink.util.InstantiationUtil;
 
 import org.elasticsearch.action.ActionRequest;
@@ -38,11 +42,16 @@ import org.elasticsearch.client.Client;
 import org.elasticsearch.common.unit.ByteSizeUnit;
 import org.elasticsearch.common.unit.ByteSizeValue;
 import org.elasticsearch.common.unit.TimeValue;
+import org.elasticsearch.common.util.concurrent.EsRejectedExecutionException;
 import org.elasticsearch.rest.RestStatus;
 
+import javax.annotation.Nullable;
+
 import java.io.Serializable;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -80,6 +89,19 @@ public abstract class ElasticsearchSinkBase<T, C extends AutoCloseable> extends
 	public static final String CONFIG_KEY_BULK_FLUSH_BACKOFF_TYPE = "bulk.flush.backoff.type";
 	public static final String CONFIG_KEY_BULK_FLUSH_BACKOFF_RETRIES = "bulk.flush.backoff.retries";
 	public static final String CONFIG_KEY_BULK_FLUSH_BACKOFF_DELAY = "bulk.flush.backoff.delay";
+	public static final String CONFIG_KEY_BULK_FLUSH_ADAPTIVE_ENABLE = "bulk.flush.adaptive.enable";
+	public static final String CONFIG_KEY_BULK_FLUSH_ADAPTIVE_MIN_ACTIONS = "bulk.flush.adaptive.min.actions";
+	public static final String CONFIG_KEY_BULK_FLUSH_ADAPTIVE_TARGET_LATENCY_MS = "bulk.flush.adaptive.target.latency.ms";
+
+	/** The upper bound of the adaptive bulk size if no maximum number of actions is configured, following Elasticsearch. */
+	private static final int DEFAULT_ADAPTIVE_MAX_ACTIONS = 1000;
+	private static final int DEFAULT_ADAPTIVE_MIN_ACTIONS = 10;
+	private static final long DEFAULT_ADAPTIVE_TARGET_LATENCY_MS = 1000L;
+
+	/** Orders the requests of a bulk by their target index and routing, keeping the order of requests with the same target. */
+	private static final Comparator<DocWriteRequest> BULK_TARGET_ORDER = Comparator
+		.comparing((DocWriteRequest request) -> request.index(), Comparator.nullsFirst(Comparator.naturalOrder()))
+		.thenComparing((DocWriteRequest request) -> request.routing(), Comparator.nullsFirst(Comparator.naturalOrder()));
 
 	/**
 	 * Used to control whether the retry delay should increase exponentially or remain constant.
@@ -138,6 +160,15 @@ public abstract class ElasticsearchSinkBase<T, C extends AutoCloseable> extends
 	private final Long bulkProcessorFlushIntervalMillis;
 	private final BulkFlushBackoffPolicy bulkProcessorFlushBackoffPolicy;
 
+	/**
+	 * Whether the bulk size adapts to the latency and the rejections of the bulk requests, see
+	 * {@link AdaptiveBulkSizer}. In this mode, the configured maximum number of actions is the upper bound
+	 * of the bulk size, and the requests of a bulk are grouped by their target index and routing.
+	 */
+	private final boolean bulkProcessorFlushAdaptive;
+	private final int bulkProcessorFlushAdaptiveMinActions;
+	private final long bulkProcessorFlushAdaptiveTargetLatencyMillis;
+
 	// ------------------------------------------------------------------------
 	//  User-facing API and configuration
 	// ------------------------------------------------------------------------
@@ -190,6 +221,17 @@ public abstract class ElasticsearchSinkBase<T, C extends AutoCloseable> extends
 	/** Bulk processor to buffer and send requests to Elasticsearch, created using the client. */
 	private transient BulkProcessor bulkProcessor;
 
+	/** Decides the bulk size in the adaptive flushing mode, null otherwise. */
+	@Nullable
+	private transient AdaptiveBulkSizer bulkSizer;
+
+	/** The start times in nanoseconds of the bulk requests in flight, by their execution id. */
+	private transient Map<Long, Long> bulkStartTimes;
+
+	private transient Counter numRejectedItems;
+
+	private transient volatile long latestBulkLatencyMillis;
+
 	/**
 	 * This is set from inside the {@link BulkProcessor.Listener} if a {@link Throwable} was thrown in callbacks and
 	 * the user considered it should fail the sink via the
@@ -276,6 +318,25 @@ public abstract class ElasticsearchSinkBase<T, C extends AutoCloseable> extends
 			bulkProcessorFlushBackoffPolicy = null;
 		}
 
+		bulkProcessorFlushAdaptive = params.getBoolean(CONFIG_KEY_BULK_FLUSH_ADAPTIVE_ENABLE, false);
+		userConfig.remove(CONFIG_KEY_BULK_FLUSH_ADAPTIVE_ENABLE);
+
+		bulkProcessorFlushAdaptiveMinActions = params.getInt(CONFIG_KEY_BULK_FLUSH_ADAPTIVE_MIN_ACTIONS, DEFAULT_ADAPTIVE_MIN_ACTIONS);
+		userConfig.remove(CONFIG_KEY_BULK_FLUSH_ADAPTIVE_MIN_ACTIONS);
+
+		bulkProcessorFlushAdaptiveTargetLatencyMillis =
+			params.getLong(CONFIG_KEY_BULK_FLUSH_ADAPTIVE_TARGET_LATENCY_MS, DEFAULT_ADAPTIVE_TARGET_LATENCY_MS);
+		userConfig.remove(CONFIG_KEY_BULK_FLUSH_ADAPTIVE_TARGET_LATENCY_MS);
+
+		if (bulkProcessorFlushAdaptive) {
+			checkArgument(bulkProcessorFlushAdaptiveMinActions > 0,
+				"The minimum number of actions of the adaptive bulk flushing must be positive.");
+			checkArgument(bulkProcessorFlushAdaptiveMinActions <= getAdaptiveMaxActions(),
+				"The minimum number of actions of the adaptive bulk flushing must not exceed the maximum number of actions.");
+			checkArgument(bulkProcessorFlushAdaptiveTargetLatencyMillis > 0,
+				"The target latency of the adaptive bulk flushing must be positive.");
+		}
+
 		this.userConfig = userConfig;
 	}
 
@@ -294,8 +355,19 @@ public abstract class ElasticsearchSinkBase<T, C extends AutoCloseable> extends
 	public void open(Configuration parameters) throws Exception {
 		client = callBridge.createClient(userConfig);
 		callBridge.verifyClientConnection(client);
+		if (bulkProcessorFlushAdaptive) {
+			bulkSizer = new AdaptiveBulkSizer(
+				bulkProcessorFlushAdaptiveMinActions,
+				getAdaptiveMaxActions(),
+				bulkProcessorFlushAdaptiveTargetLatencyMillis);
+		}
+		bulkStartTimes = new ConcurrentHashMap<>();
+		registerMetrics(getRuntimeContext().getMetricGroup());
 		bulkProcessor = buildBulkProcessor(new BulkProcessorListener());
 		requestIndexer = callBridge.createBulkProcessorIndexer(bulkProcessor, flushOnCheckpoint, numPendingRequests);
+		if (bulkSizer != null) {
+			requestIndexer = new AdaptiveFlushingRequestIndexer(requestIndexer, bulkProcessor, bulkSizer);
+		}
 		failureRequestIndexer = new BufferingNoOpRequestIndexer();
 		elasticsearchSinkFunction.open();
 	}
@@ -356,7 +428,11 @@ public abstract class ElasticsearchSinkBase<T, C extends AutoCloseable> extends
 		// This makes flush() blocking
 		bulkProcessorBuilder.setConcurrentRequests(0);
 
-		if (bulkProcessorFlushMaxActions != null) {
+		if (bulkProcessorFlushAdaptive) {
+			// the sink flushes when a bulk of the adaptive size is full, the bulk processor only
+			// enforces the upper bound
+			bulkProcessorBuilder.setBulkActions(getAdaptiveMaxActions());
+		} else if (bulkProcessorFlushMaxActions != null) {
 			bulkProcessorBuilder.setBulkActions(bulkProcessorFlushMaxActions);
 		}
 
@@ -374,6 +450,22 @@ public abstract class ElasticsearchSinkBase<T, C extends AutoCloseable> extends
 		return bulkProcessorBuilder.build();
 	}
 
+	private int getAdaptiveMaxActions() {
+		if (bulkProcessorFlushMaxActions == null) {
+			return DEFAULT_ADAPTIVE_MAX_ACTIONS;
+		}
+		// -1 disables the limit of the bulk processor
+		return bulkProcessorFlushMaxActions < 0 ? Integer.MAX_VALUE : bulkProcessorFlushMaxActions;
+	}
+
+	private void registerMetrics(MetricGroup metricGroup) {
+		numRejectedItems = metricGroup.counter("numRejectedItems");
+		metricGroup.gauge("bulkLatency", (Gauge<Long>) () -> latestBulkLatencyMillis);
+		if (bulkSizer != null) {
+			metricGroup.gauge("bulkActions", (Gauge<Integer>) bulkSizer::getBulkActions);
+		}
+	}
+
 	private void checkErrorAndRethrow() {
 		Throwable cause = failureThrowable.get();
 		if (cause != null) {
@@ -389,10 +481,27 @@ public abstract class ElasticsearchSinkBase<T, C extends AutoCloseable> extends
 	private class BulkProcessorListener implements BulkProcessor.Listener {
 
 		@Override
-		public void beforeBulk(long executionId, BulkRequest request) { }
+		public void beforeBulk(long executionId, BulkRequest request) {
+			bulkStartTimes.put(executionId, System.nanoTime());
+			if (bulkSizer != null) {
+				// requests for the same index and shard are adjacent in the bulk
+				request.requests().sort(BULK_TARGET_ORDER);
+				bulkSizer.onBulkStarted();
+			}
+		}
 
 		@Override
 		public void afterBulk(long executionId, BulkRequest request, BulkResponse response) {
+			int numRejected = 0;
+			if (response.hasFailures()) {
+				for (BulkItemResponse itemResponse : response.getItems()) {
+					if (itemResponse.isFailed() && itemResponse.getFailure().getStatus() == RestStatus.TOO_MANY_REQUESTS) {
+						numRejected++;
+					}
+				}
+			}
+			onBulkCompleted(executionId, request, numRejected);
+
 			if (response.hasFailures()) {
 				BulkItemResponse itemResponse;
 				Throwable failure;
@@ -435,6 +544,9 @@ public abstract class ElasticsearchSinkBase<T, C extends AutoCloseable> extends
 
 		@Override
 		public void afterBulk(long executionId, BulkRequest request, Throwable failure) {
+			boolean rejected = ExceptionUtils.findThrowable(failure, EsRejectedExecutionException.class).isPresent();
+			onBulkCompleted(executionId, request, rejected ? request.numberOfActions() : 0);
+
 			try {
 				for (DocWriteRequest writeRequest : request.requests()) {
 					if (writeRequest instanceof ActionRequest) {
@@ -453,6 +565,16 @@ public abstract class ElasticsearchSinkBase<T, C extends AutoCloseable> extends
 				numPendingRequests.getAndAdd(-request.numberOfActions());
 			}
 		}
+
+		private void onBulkCompleted(long executionId, BulkRequest request, int numRejected) {
+			Long startTime = bulkStartTimes.remove(executionId);
+			long latencyMillis = startTime == null ? 0L : (System.nanoTime() - startTime) / 1_000_000L;
+			latestBulkLatencyMillis = latencyMillis;
+			numRejectedItems.inc(numRejected);
+			if (bulkSizer != null) {
+				bulkSizer.onBulkCompleted(request.numberOfActions(), numRejected, latencyMillis);
+			}
+		}
 	}
 
 	@VisibleForTesting
@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.streaming.connectors.elasticsearch;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link AdaptiveBulkSizer}.
+ */
+public class AdaptiveBulkSizerTest {
+
+	@Test
+	public void testBulkIsFullAtCurrentSize() {
+		AdaptiveBulkSizer sizer = new AdaptiveBulkSizer(10, 100, 1000L);
+
+		assertFalse(sizer.addActions(9));
+		assertTrue(sizer.addActions(1));
+
+		sizer.onBulkStarted();
+		assertFalse(sizer.addActions(1));
+	}
+
+	@Test
+	public void testGrowsUpToMaximumWithFastFullBulks() {
+		AdaptiveBulkSizer sizer = new AdaptiveBulkSizer(10, 100, 1000L);
+
+		for (int i = 0; i < 20; i++) {
+			sizer.onBulkCompleted(sizer.getBulkActions(), 0, 10L);
+		}
+		assertEquals(100, sizer.getBulkActions());
+	}
+
+	@Test
+	public void testDoesNotGrowWithPartialBulks() {
+		AdaptiveBulkSizer sizer = new AdaptiveBulkSizer(10, 100, 1000L);
+
+		sizer.onBulkCompleted(5, 0, 10L);
+		assertEquals(10, sizer.getBulkActions());
+	}
+
+	@Test
+	public void testShrinksOnSlowBulksAndRejections() {
+		AdaptiveBulkSizer sizer = new AdaptiveBulkSizer(10, 1000, 1000L);
+		for (int i = 0; i < 30; i++) {
+			sizer.onBulkCompleted(sizer.getBulkActions(), 0, 10L);
+		}
+		assertEquals(1000, sizer.getBulkActions());
+
+		sizer.onBulkCompleted(1000, 0, 2000L);
+		assertEquals(750, sizer.getBulkActions());
+
+		sizer.onBulkCompleted(750, 3, 10L);
+		assertEquals(375, sizer.getBulkActions());
+
+		for (int i = 0; i < 20; i++) {
+			sizer.onBulkCompleted(sizer.getBulkActions(), 1, 10L);
+		}
+		assertEquals(10, sizer.getBulkActions());
+	}
+}
@@ -24,6 +24,7 @@ import org.apache.flink.core.testutils.MultiShotLatch;
 import org.apache.flink.streaming.api.operators.StreamSink;
 import org.apache.flink.streaming.connectors.elasticsearch.util.NoOpFailureHandler;
 import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.streaming.util.MockStreamingRuntimeContext;
 import org.apache.flink.streaming.util.OneInputStreamOperatorTestHarness;
 
 import org.elasticsearch.action.ActionRequest;
@@ -419,6 +420,7 @@ public class ElasticsearchSinkBaseTest {
 		final DummyElasticsearchSink<String> sink = new DummyElasticsearchSink<>(
 				new HashMap<>(), sinkFunction, new DummyRetryFailureHandler());
 
+		sink.setRuntimeContext(new MockStreamingRuntimeContext(false, 1, 0));
 		sink.open(mock(Configuration.class));
 		sink.close();
 
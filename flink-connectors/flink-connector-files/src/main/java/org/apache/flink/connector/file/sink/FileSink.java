@@ -28,6 +28,9 @@ import org.apache.flink.api.connector.sink.GlobalCommitter;
 import org.apache.flink.api.connector.sink.Sink;
 import org.apache.flink.api.connector.sink.SinkWriter;
 import org.apache.flink.connector.file.sink.committer.FileCommitter;
+import org.apache.flink.connector.file.sink.committer.FileCompactingGlobalCommitter;
+import org.apache.flink.connector.file.sink.compactor.FileCompactStrategy;
+import org.apache.flink.connector.file.sink.compactor.FileCompactor;
 import org.apache.flink.connector.file.sink.writer.DefaultFileWriterBucketFactory;
 import org.apache.flink.connector.file.sink.writer.FileWriter;
 import org.apache.flink.connector.file.sink.writer.FileWriterBucketFactory;
@@ -40,6 +43,7 @@ import org.apache.flink.streaming.api.functions.sink.filesystem.BucketAssigner;
 import org.apache.flink.streaming.api.functions.sink.filesystem.BucketWriter;
 import org.apache.flink.streaming.api.functions.sink.filesystem.BulkBucketWriter;
 import org.apache.flink.streaming.api.functions.sink.filesystem.OutputFileConfig;
+import org.apache.flink.streaming.api.functions.sink.filesystem.PartFileInfo;
 import org.apache.flink.streaming.api.functions.sink.filesystem.RollingPolicy;
 import org.apache.flink.streaming.api.functions.sink.filesystem.RowWiseBucketWriter;
 import org.apache.flink.streaming.api.functions.sink.filesystem.bucketassigners.DateTimeBucketAssigner;
@@ -48,6 +52,8 @@ import org.apache.flink.streaming.api.functions.sink.filesystem.rollingpolicies.
 import org.apache.flink.streaming.api.functions.sink.filesystem.rollingpolicies.OnCheckpointRollingPolicy;
 import org.apache.flink.util.FlinkRuntimeException;
 
+import javax.annotation.Nullable;
+
 import java.io.IOException;
 import java.io.Serializable;
 import java.util.List;
@@ -96,11 +102,16 @@ import static org.apache.flink.util.Preconditions.checkState;
  * files in {@code pending} state are transferred into the {@code finished} state while any {@code in-progress} files
  * are rolled back, so that they do not contain data that arrived after the checkpoint from which we restore.
  *
+ * <p>Small part files can be compacted by enabling compaction on the builder with a {@link FileCompactStrategy}
+ * and a {@link FileCompactor}. The part files are then written as hidden files, and once they are committed the
+ * part files of all subtasks which belong to the same bucket are compacted into visible files of the target size
+ * of the strategy. With compaction enabled, row-encoded part files are rolled on every checkpoint as well.
+ *
  * @param <IN> Type of the elements in the input of the sink that are also the elements to be written to its output
  */
 @Experimental
 public class FileSink<IN>
-		implements Sink<IN, FileSinkCommittable, FileWriterBucketState, Void> {
+		implements Sink<IN, FileSinkCommittable, FileWriterBucketState, FileSinkGlobalCommittable> {
 
 	private final BucketsBuilder<IN, ? extends BucketsBuilder<IN, ?>> bucketsBuilder;
 
@@ -131,6 +142,10 @@ public class FileSink<IN>
 
 	@Override
 	public Optional<Committer<FileSinkCommittable>> createCommitter() throws IOException {
+		if (bucketsBuilder.isCompactionEnabled()) {
+			// the committables are committed and compacted by the global committer
+			return Optional.empty();
+		}
 		return Optional.of(bucketsBuilder.createCommitter());
 	}
 
@@ -147,13 +162,27 @@ public class FileSink<IN>
 	}
 
 	@Override
-	public Optional<GlobalCommitter<FileSinkCommittable, Void>> createGlobalCommitter() {
+	public Optional<GlobalCommitter<FileSinkCommittable, FileSinkGlobalCommittable>> createGlobalCommitter()
+			throws IOException {
+		if (bucketsBuilder.isCompactionEnabled()) {
+			return Optional.of(bucketsBuilder.createGlobalCommitter());
+		}
 		return Optional.empty();
 	}
 
 	@Override
-	public Optional<SimpleVersionedSerializer<Void>> getGlobalCommittableSerializer() {
-		return Optional.empty();
+	public Optional<SimpleVersionedSerializer<FileSinkGlobalCommittable>> getGlobalCommittableSerializer() {
+		if (!bucketsBuilder.isCompactionEnabled()) {
+			return Optional.empty();
+		}
+		try {
+			return Optional.of(new FileSinkGlobalCommittableSerializer(bucketsBuilder.getCommittableSerializer()));
+		} catch (IOException e) {
+			// it's not optimal that we have to do this but creating the serializers for the
+			// FileSink requires (among other things) a call to FileSystem.get() which declares
+			// IOException.
+			throw new FlinkRuntimeException("Could not create global committable serializer.", e);
+		}
 	}
 
 	public static <IN> DefaultRowFormatBuilder<IN> forRowFormat(
@@ -193,6 +222,56 @@ public class FileSink<IN>
 
 		@Internal
 		abstract SimpleVersionedSerializer<FileSinkCommittable> getCommittableSerializer() throws IOException;
+
+		@Internal
+		abstract boolean isCompactionEnabled();
+
+		@Internal
+		abstract FileCompactingGlobalCommitter createGlobalCommitter() throws IOException;
+
+		/**
+		 * Returns the config of the part files, which are written as hidden files if they are compacted.
+		 */
+		static OutputFileConfig getPartFileConfig(OutputFileConfig outputFileConfig, boolean compactionEnabled) {
+			if (!compactionEnabled) {
+				return outputFileConfig;
+			}
+			return OutputFileConfig.builder()
+					.withPartPrefix(FileCompactingGlobalCommitter.HIDDEN_FILE_PREFIX + outputFileConfig.getPartPrefix())
+					.withPartSuffix(outputFileConfig.getPartSuffix())
+					.build();
+		}
+	}
+
+	/**
+	 * A {@link RollingPolicy} which additionally rolls on every checkpoint, so that no in-progress part file
+	 * is kept in the state of a sink whose part files are compacted.
+	 */
+	private static final class RollOnCheckpointRollingPolicy<IN> implements RollingPolicy<IN, String> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final RollingPolicy<IN, String> rollingPolicy;
+
+		private RollOnCheckpointRollingPolicy(RollingPolicy<IN, String> rollingPolicy) {
+			this.rollingPolicy = checkNotNull(rollingPolicy);
+		}
+
+		@Override
+		public boolean shouldRollOnCheckpoint(PartFileInfo<String> partFileState) {
+			return true;
+		}
+
+		@Override
+		public boolean shouldRollOnEvent(PartFileInfo<String> partFileState, IN element) throws IOException {
+			return rollingPolicy.shouldRollOnEvent(partFileState, element);
+		}
+
+		@Override
+		public boolean shouldRollOnProcessingTime(PartFileInfo<String> partFileState, long currentTime)
+				throws IOException {
+			return rollingPolicy.shouldRollOnProcessingTime(partFileState, currentTime);
+		}
 	}
 
 	/**
@@ -217,6 +296,12 @@ public class FileSink<IN>
 
 		private OutputFileConfig outputFileConfig;
 
+		@Nullable
+		private FileCompactStrategy compactStrategy;
+
+		@Nullable
+		private FileCompactor fileCompactor;
+
 		protected RowFormatBuilder(
 				Path basePath,
 				Encoder<IN> encoder,
@@ -268,6 +353,15 @@ public class FileSink<IN>
 			return self();
 		}
 
+		/**
+		 * Enables the compaction of the part files with the given strategy and compactor.
+		 */
+		public T enableCompact(final FileCompactStrategy strategy, final FileCompactor compactor) {
+			this.compactStrategy = checkNotNull(strategy);
+			this.fileCompactor = checkNotNull(compactor);
+			return self();
+		}
+
 		/** Creates the actual sink. */
 		public FileSink<IN> build() {
 			return new FileSink<>(this);
@@ -280,8 +374,8 @@ public class FileSink<IN>
 					bucketAssigner,
 					bucketFactory,
 					createBucketWriter(),
-					rollingPolicy,
-					outputFileConfig,
+					isCompactionEnabled() ? new RollOnCheckpointRollingPolicy<>(rollingPolicy) : rollingPolicy,
+					getPartFileConfig(outputFileConfig, isCompactionEnabled()),
 					context.getProcessingTimeService(),
 					bucketCheckInterval);
 		}
@@ -291,6 +385,17 @@ public class FileSink<IN>
 			return new FileCommitter(createBucketWriter());
 		}
 
+		@Override
+		boolean isCompactionEnabled() {
+			return compactStrategy != null;
+		}
+
+		@Override
+		FileCompactingGlobalCommitter createGlobalCommitter() throws IOException {
+			checkState(isCompactionEnabled(), "Compaction is not enabled.");
+			return new FileCompactingGlobalCommitter(createBucketWriter(), compactStrategy, fileCompactor);
+		}
+
 		@Override
 		SimpleVersionedSerializer<FileWriterBucketState> getWriterStateSerializer() throws IOException {
 			BucketWriter<IN, String> bucketWriter = createBucketWriter();
@@ -353,6 +458,12 @@ public class FileSink<IN>
 
 		private OutputFileConfig outputFileConfig;
 
+		@Nullable
+		private FileCompactStrategy compactStrategy;
+
+		@Nullable
+		private FileCompactor fileCompactor;
+
 		protected BulkFormatBuilder(
 				Path basePath,
 				BulkWriter.Factory<IN> writerFactory,
@@ -404,13 +515,22 @@ public class FileSink<IN>
 			return self();
 		}
 
+		/**
+		 * Enables the compaction of the part files with the given strategy and compactor.
+		 */
+		public T enableCompact(final FileCompactStrategy strategy, final FileCompactor compactor) {
+			this.compactStrategy = checkNotNull(strategy);
+			this.fileCompactor = checkNotNull(compactor);
+			return self();
+		}
+
 		public BulkFormatBuilder<IN, ? extends BulkFormatBuilder<IN, ?>> withNewBucketAssigner(
 				BucketAssigner<IN, String> assigner) {
 			checkState(
 					bucketFactory.getClass() == DefaultFileWriterBucketFactory.class,
 					"newBuilderWithBucketAssigner() cannot be called "
 							+ "after specifying a customized bucket factory");
-			return new BulkFormatBuilder<>(
+			BulkFormatBuilder<IN, ?> builder = new BulkFormatBuilder<>(
 					basePath,
 					bucketCheckInterval,
 					writerFactory,
@@ -418,6 +538,9 @@ public class FileSink<IN>
 					rollingPolicy,
 					bucketFactory,
 					outputFileConfig);
+			builder.compactStrategy = compactStrategy;
+			builder.fileCompactor = fileCompactor;
+			return builder;
 		}
 
 		/** Creates the actual sink. */
@@ -433,7 +556,7 @@ public class FileSink<IN>
 					bucketFactory,
 					createBucketWriter(),
 					rollingPolicy,
-					outputFileConfig,
+					getPartFileConfig(outputFileConfig, isCompactionEnabled()),
 					context.getProcessingTimeService(),
 					bucketCheckInterval);
 		}
@@ -443,6 +566,17 @@ public class FileSink<IN>
 			return new FileCommitter(createBucketWriter());
 		}
 
+		@Override
+		boolean isCompactionEnabled() {
+			return compactStrategy != null;
+		}
+
+		@Override
+		FileCompactingGlobalCommitter createGlobalCommitter() throws IOException {
+			checkState(isCompactionEnabled(), "Compaction is not enabled.");
+			return new FileCompactingGlobalCommitter(createBucketWriter(), compactStrategy, fileCompactor);
+		}
+
 		@Override
 		SimpleVersionedSerializer<FileWriterBucketState> getWriterStateSerializer() throws IOException {
 			BucketWriter<IN, String> bucketWriter = createBucketWriter();
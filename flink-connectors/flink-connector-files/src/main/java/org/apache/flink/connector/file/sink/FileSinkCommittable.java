@@ -19,6 +19,7 @@
 package org.apache.flink.connector.file.sink;
 
 import org.apache.flink.annotation.Internal;
+import org.apache.flink.core.fs.Path;
 import org.apache.flink.streaming.api.functions.sink.filesystem.InProgressFileWriter;
 
 import javax.annotation.Nullable;
@@ -31,6 +32,10 @@ import static org.apache.flink.util.Preconditions.checkNotNull;
  * Wrapper class for both type of committables in {@link FileSink}. One
  * committable might be either one pending files to commit, or one
  * in-progress file to cleanup.
+ *
+ * <p>A pending file might carry the path and size of the part file it commits to. They are only
+ * known for part files closed by the current writer, not for pending files restored from the state
+ * of a {@code StreamingFileSink}.
  */
 @Internal
 public class FileSinkCommittable implements Serializable {
@@ -38,23 +43,37 @@ public class FileSinkCommittable implements Serializable {
 	@Nullable
 	private final InProgressFileWriter.PendingFileRecoverable pendingFile;
 
+	@Nullable
+	private final Path pendingFilePath;
+
+	private final long pendingFileSize;
+
 	@Nullable
 	private final InProgressFileWriter.InProgressFileRecoverable inProgressFileToCleanup;
 
 	public FileSinkCommittable(InProgressFileWriter.PendingFileRecoverable pendingFile) {
-		this.pendingFile = checkNotNull(pendingFile);
-		this.inProgressFileToCleanup = null;
+		this(checkNotNull(pendingFile), null, -1L, null);
+	}
+
+	public FileSinkCommittable(
+			InProgressFileWriter.PendingFileRecoverable pendingFile,
+			Path pendingFilePath,
+			long pendingFileSize) {
+		this(checkNotNull(pendingFile), checkNotNull(pendingFilePath), pendingFileSize, null);
 	}
 
 	public FileSinkCommittable(InProgressFileWriter.InProgressFileRecoverable inProgressFileToCleanup) {
-		this.pendingFile = null;
-		this.inProgressFileToCleanup = checkNotNull(inProgressFileToCleanup);
+		this(null, null, -1L, checkNotNull(inProgressFileToCleanup));
 	}
 
 	FileSinkCommittable(
 			@Nullable InProgressFileWriter.PendingFileRecoverable pendingFile,
+			@Nullable Path pendingFilePath,
+			long pendingFileSize,
 			@Nullable InProgressFileWriter.InProgressFileRecoverable inProgressFileToCleanup) {
 		this.pendingFile = pendingFile;
+		this.pendingFilePath = pendingFilePath;
+		this.pendingFileSize = pendingFileSize;
 		this.inProgressFileToCleanup = inProgressFileToCleanup;
 	}
 
@@ -67,6 +86,21 @@ public class FileSinkCommittable implements Serializable {
 		return pendingFile;
 	}
 
+	/**
+	 * Returns the path of the part file the pending file commits to, or null if it is unknown.
+	 */
+	@Nullable
+	public Path getPendingFilePath() {
+		return pendingFilePath;
+	}
+
+	/**
+	 * Returns the size of the pending file in bytes, or -1 if it is unknown.
+	 */
+	public long getPendingFileSize() {
+		return pendingFileSize;
+	}
+
 	public boolean hasInProgressFileToCleanup() {
 		return inProgressFileToCleanup != null;
 	}
@@ -19,6 +19,7 @@
 package org.apache.flink.connector.file.sink;
 
 import org.apache.flink.annotation.Internal;
+import org.apache.flink.core.fs.Path;
 import org.apache.flink.core.io.SimpleVersionedSerialization;
 import org.apache.flink.core.io.SimpleVersionedSerializer;
 import org.apache.flink.core.memory.DataInputDeserializer;
@@ -53,14 +54,14 @@ public class FileSinkCommittableSerializer
 
 	@Override
 	public int getVersion() {
-		return 1;
+		return 2;
 	}
 
 	@Override
 	public byte[] serialize(FileSinkCommittable committable) throws IOException {
 		DataOutputSerializer out = new DataOutputSerializer(256);
 		out.writeInt(MAGIC_NUMBER);
-		serializeV1(committable, out);
+		serializeV2(committable, out);
 		return out.getCopyOfBuffer();
 	}
 
@@ -72,11 +73,29 @@ public class FileSinkCommittableSerializer
 			case 1:
 				validateMagicNumber(in);
 				return deserializeV1(in);
+			case 2:
+				validateMagicNumber(in);
+				return deserializeV2(in);
 			default:
 				throw new IOException("Unrecognized version or corrupt state: " + version);
 		}
 	}
 
+	private void serializeV2(
+			FileSinkCommittable committable,
+			DataOutputView dataOutputView) throws IOException {
+
+		serializeV1(committable, dataOutputView);
+
+		if (committable.getPendingFilePath() != null) {
+			dataOutputView.writeBoolean(true);
+			dataOutputView.writeUTF(committable.getPendingFilePath().toString());
+			dataOutputView.writeLong(committable.getPendingFileSize());
+		} else {
+			dataOutputView.writeBoolean(false);
+		}
+	}
+
 	private void serializeV1(
 			FileSinkCommittable committable,
 			DataOutputView dataOutputView) throws IOException {
@@ -117,7 +136,22 @@ public class FileSinkCommittableSerializer
 					dataInputView);
 		}
 
-		return new FileSinkCommittable(pendingFile, inProgressFileToCleanup);
+		return new FileSinkCommittable(pendingFile, null, -1L, inProgressFileToCleanup);
+	}
+
+	private FileSinkCommittable deserializeV2(DataInputView dataInputView) throws IOException {
+		FileSinkCommittable committable = deserializeV1(dataInputView);
+		if (!dataInputView.readBoolean()) {
+			return committable;
+		}
+
+		Path pendingFilePath = new Path(dataInputView.readUTF());
+		long pendingFileSize = dataInputView.readLong();
+		return new FileSinkCommittable(
+				committable.getPendingFile(),
+				pendingFilePath,
+				pendingFileSize,
+				committable.getInProgressFileToCleanup());
 	}
 
 	private static void validateMagicNumber(DataInputView in) throws IOException {
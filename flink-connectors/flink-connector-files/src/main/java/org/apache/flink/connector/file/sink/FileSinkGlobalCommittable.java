@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.file.sink;
+
+import org.apache.flink.annotation.Internal;
+
+import java.io.Serializable;
+import java.util.List;
+
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * The committables of all writers of a {@link FileSink} for one checkpoint. They are committed
+ * together by the {@link org.apache.flink.connector.file.sink.committer.FileCompactingGlobalCommitter
+ * FileCompactingGlobalCommitter} if compaction is enabled.
+ */
+@Internal
+public class FileSinkGlobalCommittable implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private final List<FileSinkCommittable> committables;
+
+	public FileSinkGlobalCommittable(List<FileSinkCommittable> committables) {
+		this.committables = checkNotNull(committables);
+	}
+
+	public List<FileSinkCommittable> getCommittables() {
+		return committables;
+	}
+}
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.file.sink;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.core.io.SimpleVersionedSerialization;
+import org.apache.flink.core.io.SimpleVersionedSerializer;
+import org.apache.flink.core.memory.DataInputDeserializer;
+import org.apache.flink.core.memory.DataOutputSerializer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * Versioned serializer for {@link FileSinkGlobalCommittable}.
+ */
+@Internal
+public class FileSinkGlobalCommittableSerializer
+		implements SimpleVersionedSerializer<FileSinkGlobalCommittable> {
+
+	private static final int MAGIC_NUMBER = 0x3a1f5c27;
+
+	private final SimpleVersionedSerializer<FileSinkCommittable> committableSerializer;
+
+	public FileSinkGlobalCommittableSerializer(
+			SimpleVersionedSerializer<FileSinkCommittable> committableSerializer) {
+		this.committableSerializer = checkNotNull(committableSerializer);
+	}
+
+	@Override
+	public int getVersion() {
+		return 1;
+	}
+
+	@Override
+	public byte[] serialize(FileSinkGlobalCommittable globalCommittable) throws IOException {
+		DataOutputSerializer out = new DataOutputSerializer(256);
+		out.writeInt(MAGIC_NUMBER);
+		out.writeInt(globalCommittable.getCommittables().size());
+		for (FileSinkCommittable committable : globalCommittable.getCommittables()) {
+			SimpleVersionedSerialization.writeVersionAndSerialize(committableSerializer, committable, out);
+		}
+		return out.getCopyOfBuffer();
+	}
+
+	@Override
+	public FileSinkGlobalCommittable deserialize(int version, byte[] serialized) throws IOException {
+		if (version != 1) {
+			throw new IOException("Unrecognized version or corrupt state: " + version);
+		}
+
+		DataInputDeserializer in = new DataInputDeserializer(serialized);
+		int magicNumber = in.readInt();
+		if (magicNumber != MAGIC_NUMBER) {
+			throw new IOException(String.format(
+					"Corrupt data: Unexpected magic number %08X",
+					magicNumber));
+		}
+
+		int size = in.readInt();
+		List<FileSinkCommittable> committables = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			committables.add(SimpleVersionedSerialization.readVersionAndDeSerialize(committableSerializer, in));
+		}
+		return new FileSinkGlobalCommittable(committables);
+	}
+}
@@ -0,0 +1,273 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.file.sink.committer;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.api.connector.sink.GlobalCommitter;
+import org.apache.flink.connector.file.sink.FileSink;
+import org.apache.flink.connector.file.sink.FileSinkCommittable;
+import org.apache.flink.connector.file.sink.FileSinkGlobalCommittable;
+import org.apache.flink.connector.file.sink.compactor.FileCompactStrategy;
+import org.apache.flink.connector.file.sink.compactor.FileCompactor;
+import org.apache.flink.core.fs.FSDataInputStream;
+import org.apache.flink.core.fs.FileSystem;
+import org.apache.flink.core.fs.FileSystemKind;
+import org.apache.flink.core.fs.Path;
+import org.apache.flink.core.fs.RecoverableFsDataOutputStream;
+import org.apache.flink.streaming.api.functions.sink.filesystem.BucketWriter;
+import org.apache.flink.util.ExceptionUtils;
+import org.apache.flink.util.IOUtils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * Global committer for a {@link FileSink} with compaction enabled.
+ *
+ * <p>With compaction, the writers name their part files with the {@link #HIDDEN_FILE_PREFIX}, so
+ * committed part files are ignored by downstream readers. This committer receives the pending
+ * files of all writers for a checkpoint, groups them per bucket by the target size of the
+ * {@link FileCompactStrategy} and compacts every group into a visible file, which is named like
+ * the first part file of the group without the prefix. The groups are compacted concurrently.
+ *
+ * <p>Committing a group is idempotent, so that it can be repeated after a failure: if the
+ * compacted file already exists, the group has been compacted before and only the part files are
+ * cleaned up. Otherwise the part files are committed and compacted into the compacted file, which
+ * only becomes visible once it is complete, and the part files are deleted afterwards. Downstream
+ * readers therefore see either none or all records of a group, exactly once.
+ */
+@Internal
+public class FileCompactingGlobalCommitter
+		implements GlobalCommitter<FileSinkCommittable, FileSinkGlobalCommittable> {
+
+	private static final Logger LOG = LoggerFactory.getLogger(FileCompactingGlobalCommitter.class);
+
+	/** The prefix of the part files which have not been compacted yet. */
+	public static final String HIDDEN_FILE_PREFIX = ".";
+
+	private final BucketWriter<?, ?> bucketWriter;
+
+	private final FileCompactStrategy strategy;
+
+	private final FileCompactor compactor;
+
+	// created lazily, the committer is also instantiated when the sink topology is translated
+	@Nullable
+	private ExecutorService compactExecutor;
+
+	public FileCompactingGlobalCommitter(
+			BucketWriter<?, ?> bucketWriter,
+			FileCompactStrategy strategy,
+			FileCompactor compactor) {
+		this.bucketWriter = checkNotNull(bucketWriter);
+		this.strategy = checkNotNull(strategy);
+		this.compactor = checkNotNull(compactor);
+	}
+
+	@Override
+	public List<FileSinkGlobalCommittable> filterRecoveredCommittables(
+			List<FileSinkGlobalCommittable> globalCommittables) {
+		// committing is idempotent, all recovered committables are simply committed again
+		return globalCommittables;
+	}
+
+	@Override
+	public FileSinkGlobalCommittable combine(List<FileSinkCommittable> committables) {
+		return new FileSinkGlobalCommittable(new ArrayList<>(committables));
+	}
+
+	@Override
+	public List<FileSinkGlobalCommittable> commit(List<FileSinkGlobalCommittable> globalCommittables) throws IOException {
+		for (FileSinkGlobalCommittable globalCommittable : globalCommittables) {
+			commitAndCompact(globalCommittable.getCommittables());
+		}
+		return Collections.emptyList();
+	}
+
+	private void commitAndCompact(List<FileSinkCommittable> committables) throws IOException {
+		Map<Path, List<FileSinkCommittable>> filesPerBucket = new LinkedHashMap<>();
+		for (FileSinkCommittable committable : committables) {
+			if (committable.hasPendingFile()) {
+				Path path = committable.getPendingFilePath();
+				if (path != null && path.getName().startsWith(HIDDEN_FILE_PREFIX)) {
+					filesPerBucket.computeIfAbsent(path.getParent(), k -> new ArrayList<>()).add(committable);
+				} else {
+					// e.g. a pending file restored from a StreamingFileSink, it is committed as it is
+					bucketWriter.recoverPendingFile(committable.getPendingFile()).commitAfterRecovery();
+				}
+			}
+
+			if (committable.hasInProgressFileToCleanup()) {
+				bucketWriter.cleanupInProgressFileRecoverable(committable.getInProgressFileToCleanup());
+			}
+		}
+
+		List<Future<?>> futures = new ArrayList<>();
+		for (List<FileSinkCommittable> files : filesPerBucket.values()) {
+			for (List<FileSinkCommittable> group : packFiles(files, strategy.getTargetSizeInBytes())) {
+				if (prepareGroup(group)) {
+					futures.add(getCompactExecutor().submit(() -> {
+						compactGroup(group);
+						return null;
+					}));
+				}
+			}
+		}
+
+		Throwable failure = null;
+		for (Future<?> future : futures) {
+			try {
+				future.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				failure = ExceptionUtils.firstOrSuppressed(e, failure);
+			} catch (ExecutionException e) {
+				failure = ExceptionUtils.firstOrSuppressed(e.getCause(), failure);
+			}
+		}
+		if (failure != null) {
+			throw new IOException("Failed to compact the part files.", failure);
+		}
+	}
+
+	private ExecutorService getCompactExecutor() {
+		if (compactExecutor == null) {
+			compactExecutor = Executors.newFixedThreadPool(strategy.getNumCompactThreads());
+		}
+		return compactExecutor;
+	}
+
+	/**
+	 * Packs the files of a bucket, in their order, into groups which reach the target size. The
+	 * last group might be smaller.
+	 */
+	@VisibleForTesting
+	static List<List<FileSinkCommittable>> packFiles(List<FileSinkCommittable> files, long targetSize) {
+		List<List<FileSinkCommittable>> groups = new ArrayList<>();
+		List<FileSinkCommittable> currentGroup = new ArrayList<>();
+		long currentSize = 0;
+		for (FileSinkCommittable file : files) {
+			currentGroup.add(file);
+			currentSize += Math.max(file.getPendingFileSize(), 0);
+			if (currentSize >= targetSize) {
+				groups.add(currentGroup);
+				currentGroup = new ArrayList<>();
+				currentSize = 0;
+			}
+		}
+		if (!currentGroup.isEmpty()) {
+			groups.add(currentGroup);
+		}
+		return groups;
+	}
+
+	/**
+	 * Commits the part files of a group, unless the group has been compacted before.
+	 *
+	 * @return whether the group has to be compacted
+	 */
+	private boolean prepareGroup(List<FileSinkCommittable> group) throws IOException {
+		Path target = getCompactedPath(group.get(0).getPendingFilePath());
+		FileSystem fileSystem = target.getFileSystem();
+		if (fileSystem.exists(target)) {
+			LOG.info("Compacted file {} exists already, cleaning up its part files.", target);
+			deletePartFiles(fileSystem, group);
+			return false;
+		}
+
+		for (FileSinkCommittable file : group) {
+			// We should always use commitAfterRecovery which contains additional checks.
+			bucketWriter.recoverPendingFile(file.getPendingFile()).commitAfterRecovery();
+		}
+		return true;
+	}
+
+	private void compactGroup(List<FileSinkCommittable> group) throws Exception {
+		long startMillis = System.currentTimeMillis();
+		List<Path> partFiles = new ArrayList<>(group.size());
+		for (FileSinkCommittable file : group) {
+			partFiles.add(file.getPendingFilePath());
+		}
+		Path target = getCompactedPath(partFiles.get(0));
+		FileSystem fileSystem = target.getFileSystem();
+
+		if (partFiles.size() == 1 && fileSystem.getKind() == FileSystemKind.FILE_SYSTEM) {
+			// a single file only needs to become visible, which is an atomic rename
+			fileSystem.rename(partFiles.get(0), target);
+		} else {
+			RecoverableFsDataOutputStream out = fileSystem.createRecoverableWriter().open(target);
+			try {
+				if (partFiles.size() == 1) {
+					try (FSDataInputStream in = fileSystem.open(partFiles.get(0))) {
+						IOUtils.copyBytes(in, out, false);
+					}
+				} else {
+					compactor.compact(partFiles, out);
+				}
+			} catch (Throwable t) {
+				out.close();
+				throw t;
+			}
+			out.closeForCommit().commit();
+		}
+
+		deletePartFiles(fileSystem, group);
+		LOG.info("Compacted {} part file(s) into {} in {} ms.",
+				partFiles.size(), target, System.currentTimeMillis() - startMillis);
+	}
+
+	private static void deletePartFiles(FileSystem fileSystem, List<FileSinkCommittable> group) throws IOException {
+		for (FileSinkCommittable file : group) {
+			fileSystem.delete(file.getPendingFilePath(), false);
+		}
+	}
+
+	@VisibleForTesting
+	static Path getCompactedPath(Path partFile) {
+		return new Path(partFile.getParent(), partFile.getName().substring(HIDDEN_FILE_PREFIX.length()));
+	}
+
+	@Override
+	public void endOfInput() {
+		// nothing to do, all committables have been committed
+	}
+
+	@Override
+	public void close() {
+		if (compactExecutor != null) {
+			compactExecutor.shutdownNow();
+		}
+	}
+}
@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.file.sink.compactor;
+
+import org.apache.flink.annotation.PublicEvolving;
+import org.apache.flink.core.fs.FSDataInputStream;
+import org.apache.flink.core.fs.FSDataOutputStream;
+import org.apache.flink.core.fs.Path;
+import org.apache.flink.util.IOUtils;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * A {@link FileCompactor} which concatenates the bytes of the input files.
+ *
+ * <p>This is only correct for formats whose files can be concatenated, e.g. the row formats
+ * written by an {@link org.apache.flink.api.common.serialization.Encoder} that terminates every
+ * record. Bulk formats like Parquet or ORC have to be compacted with a
+ * {@link RecordWiseFileCompactor}.
+ */
+@PublicEvolving
+public class ConcatFileCompactor implements FileCompactor {
+
+	private static final long serialVersionUID = 1L;
+
+	@Override
+	public void compact(List<Path> inputFiles, FSDataOutputStream outputStream) throws IOException {
+		for (Path input : inputFiles) {
+			try (FSDataInputStream in = input.getFileSystem().open(input)) {
+				IOUtils.copyBytes(in, outputStream, false);
+			}
+		}
+	}
+}
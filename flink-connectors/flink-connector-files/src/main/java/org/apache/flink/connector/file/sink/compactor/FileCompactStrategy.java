@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.file.sink.compactor;
+
+import org.apache.flink.annotation.PublicEvolving;
+import org.apache.flink.configuration.MemorySize;
+
+import java.io.Serializable;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+
+/**
+ * Strategy for compacting the part files of a {@link org.apache.flink.connector.file.sink.FileSink}.
+ *
+ * <p>The part files of a bucket which are committed together are packed into groups until a group
+ * reaches the target size, and each group is compacted into a single file. Groups are compacted by
+ * a pool of threads.
+ */
+@PublicEvolving
+public class FileCompactStrategy implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private final long targetSizeInBytes;
+
+	private final int numCompactThreads;
+
+	private FileCompactStrategy(long targetSizeInBytes, int numCompactThreads) {
+		this.targetSizeInBytes = targetSizeInBytes;
+		this.numCompactThreads = numCompactThreads;
+	}
+
+	public long getTargetSizeInBytes() {
+		return targetSizeInBytes;
+	}
+
+	public int getNumCompactThreads() {
+		return numCompactThreads;
+	}
+
+	/**
+	 * Builder for {@link FileCompactStrategy}.
+	 */
+	public static class Builder {
+
+		private long targetSizeInBytes = MemorySize.parse("128mb").getBytes();
+
+		private int numCompactThreads = 4;
+
+		public static Builder newBuilder() {
+			return new Builder();
+		}
+
+		/**
+		 * Sets the size a group of part files should reach before it is compacted into one file.
+		 * Defaults to 128mb.
+		 */
+		public Builder setTargetSize(long targetSizeInBytes) {
+			checkArgument(targetSizeInBytes > 0, "Target size must be positive.");
+			this.targetSizeInBytes = targetSizeInBytes;
+			return this;
+		}
+
+		/**
+		 * Sets the number of threads which compact groups of part files concurrently. Defaults to 4.
+		 */
+		public Builder setNumCompactThreads(int numCompactThreads) {
+			checkArgument(numCompactThreads > 0, "Number of compact threads must be positive.");
+			this.numCompactThreads = numCompactThreads;
+			return this;
+		}
+
+		public FileCompactStrategy build() {
+			return new FileCompactStrategy(targetSizeInBytes, numCompactThreads);
+		}
+	}
+}
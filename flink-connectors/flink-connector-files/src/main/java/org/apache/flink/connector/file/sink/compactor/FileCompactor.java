@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.file.sink.compactor;
+
+import org.apache.flink.annotation.PublicEvolving;
+import org.apache.flink.core.fs.FSDataOutputStream;
+import org.apache.flink.core.fs.Path;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Compacts several part files of a bucket into one file.
+ *
+ * <p>The output stream is committed by the caller once the compactor returns, so the compacted
+ * file only becomes visible if all input files have been written completely.
+ *
+ * @see ConcatFileCompactor
+ * @see RecordWiseFileCompactor
+ */
+@PublicEvolving
+public interface FileCompactor extends Serializable {
+
+	/**
+	 * Writes the content of the input files, in the given order, to the output stream. The output
+	 * stream must not be closed.
+	 */
+	void compact(List<Path> inputFiles, FSDataOutputStream outputStream) throws Exception;
+}
@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.file.sink.compactor;
+
+import org.apache.flink.annotation.PublicEvolving;
+import org.apache.flink.api.common.serialization.BulkWriter;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.connector.file.src.FileSourceSplit;
+import org.apache.flink.connector.file.src.reader.BulkFormat;
+import org.apache.flink.connector.file.src.util.RecordAndPosition;
+import org.apache.flink.core.fs.FSDataOutputStream;
+import org.apache.flink.core.fs.Path;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * A {@link FileCompactor} which reads the records of the input files with a {@link BulkFormat} and
+ * rewrites them into one file with a {@link BulkWriter}. This works for any format, including bulk
+ * formats like Parquet or ORC.
+ *
+ * @param <IN> The type of the records
+ */
+@PublicEvolving
+public class RecordWiseFileCompactor<IN> implements FileCompactor {
+
+	private static final long serialVersionUID = 1L;
+
+	private final BulkFormat<IN, FileSourceSplit> readerFormat;
+
+	private final BulkWriter.Factory<IN> writerFactory;
+
+	public RecordWiseFileCompactor(
+			BulkFormat<IN, FileSourceSplit> readerFormat,
+			BulkWriter.Factory<IN> writerFactory) {
+		this.readerFormat = checkNotNull(readerFormat);
+		this.writerFactory = checkNotNull(writerFactory);
+	}
+
+	@Override
+	public void compact(List<Path> inputFiles, FSDataOutputStream outputStream) throws Exception {
+		BulkWriter<IN> writer = writerFactory.create(outputStream);
+		for (Path input : inputFiles) {
+			long length = input.getFileSystem().getFileStatus(input).getLen();
+			FileSourceSplit split = new FileSourceSplit(UUID.randomUUID().toString(), input, 0, length);
+			try (BulkFormat.Reader<IN> reader = readerFormat.createReader(new Configuration(), split)) {
+				BulkFormat.RecordIterator<IN> batch;
+				while ((batch = reader.readBatch()) != null) {
+					RecordAndPosition<IN> record;
+					while ((record = batch.next()) != null) {
+						// the record may be reused by the reader, the writer encodes it right away
+						writer.addElement(record.getRecord());
+					}
+					batch.releaseBatch();
+				}
+			}
+		}
+		writer.finish();
+	}
+}
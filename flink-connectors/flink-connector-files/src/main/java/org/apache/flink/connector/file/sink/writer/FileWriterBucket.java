@@ -72,7 +72,7 @@ class FileWriterBucket<IN> {
 
 	private final String uniqueId;
 
-	private final List<InProgressFileWriter.PendingFileRecoverable> pendingFiles = new ArrayList<>();
+	private final List<FileSinkCommittable> pendingFiles = new ArrayList<>();
 
 	private long partCounter;
 
@@ -82,6 +82,10 @@ class FileWriterBucket<IN> {
 	@Nullable
 	private InProgressFileWriter<IN, String> inProgressPart;
 
+	/** The path of the in-progress part file, if it has been opened by this bucket. */
+	@Nullable
+	private Path inProgressPartPath;
+
 	/**
 	 * Constructor to create a new empty bucket.
 	 */
@@ -137,7 +141,9 @@ class FileWriterBucket<IN> {
 			inProgressPart = bucketWriter.resumeInProgressFileFrom(
 					bucketId, inProgressFileRecoverable, state.getInProgressFileCreationTime());
 		} else {
-			pendingFiles.add(inProgressFileRecoverable);
+			// the in-progress file is committed as a pending file
+			pendingFiles.add(new FileSinkCommittable(
+					(InProgressFileWriter.PendingFileRecoverable) inProgressFileRecoverable));
 		}
 	}
 
@@ -145,7 +151,7 @@ class FileWriterBucket<IN> {
 		// Cache the previous pending files and send to committer on the first prepareCommit operation.
 		for (List<InProgressFileWriter.PendingFileRecoverable> restoredPendingRecoverables :
 				state.getPendingFileRecoverablesPerCheckpoint().values()) {
-			pendingFiles.addAll(restoredPendingRecoverables);
+			restoredPendingRecoverables.forEach(pendingFile -> pendingFiles.add(new FileSinkCommittable(pendingFile)));
 		}
 	}
 
@@ -202,8 +208,7 @@ class FileWriterBucket<IN> {
 			closePartFile();
 		}
 
-		List<FileSinkCommittable> committables = new ArrayList<>();
-		pendingFiles.forEach(pendingFile -> committables.add(new FileSinkCommittable(pendingFile)));
+		List<FileSinkCommittable> committables = new ArrayList<>(pendingFiles);
 		pendingFiles.clear();
 
 		if (inProgressFileToCleanup != null) {
@@ -257,7 +262,10 @@ class FileWriterBucket<IN> {
 					partFilePath.getName(), bucketId);
 		}
 
-		return bucketWriter.openNewInProgressFile(bucketId, partFilePath, currentTime);
+		InProgressFileWriter<IN, String> newPart =
+				bucketWriter.openNewInProgressFile(bucketId, partFilePath, currentTime);
+		inProgressPartPath = partFilePath;
+		return newPart;
 	}
 
 	/**
@@ -273,9 +281,16 @@ class FileWriterBucket<IN> {
 
 	private void closePartFile() throws IOException {
 		if (inProgressPart != null) {
+			long size = inProgressPart.getSize();
 			InProgressFileWriter.PendingFileRecoverable pendingFileRecoverable = inProgressPart.closeForCommit();
-			pendingFiles.add(pendingFileRecoverable);
+			if (inProgressPartPath != null) {
+				pendingFiles.add(new FileSinkCommittable(pendingFileRecoverable, inProgressPartPath, size));
+			} else {
+				// the part file was resumed from state, its path is unknown
+				pendingFiles.add(new FileSinkCommittable(pendingFileRecoverable));
+			}
 			inProgressPart = null;
+			inProgressPartPath = null;
 		}
 	}
 
@@ -299,7 +314,7 @@ class FileWriterBucket<IN> {
 	}
 
 	@VisibleForTesting
-	public List<InProgressFileWriter.PendingFileRecoverable> getPendingFiles() {
+	public List<FileSinkCommittable> getPendingFiles() {
 		return pendingFiles;
 	}
 
@@ -31,6 +31,7 @@ import org.apache.flink.connector.file.src.assigners.FileSplitAssigner;
 import org.apache.flink.connector.file.src.enumerate.FileEnumerator;
 import org.apache.flink.connector.file.src.impl.ContinuousFileSplitEnumerator;
 import org.apache.flink.connector.file.src.impl.FileSourceReader;
+import org.apache.flink.connector.file.src.impl.IncrementalFileSplitEnumerator;
 import org.apache.flink.connector.file.src.impl.StaticFileSplitEnumerator;
 import org.apache.flink.connector.file.src.reader.BulkFormat;
 import org.apache.flink.connector.file.src.reader.FileRecordFormat;
@@ -44,6 +45,7 @@ import javax.annotation.Nullable;
 import java.io.IOException;
 import java.time.Duration;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.stream.Collectors;
 
@@ -133,6 +135,12 @@ public abstract class AbstractFileSource<T, SplitT extends FileSourceSplit>
 
 		final FileEnumerator enumerator = enumeratorFactory.create();
 
+		if (continuousEnumerationSettings != null && continuousEnumerationSettings.isIncrementalDiscovery()) {
+			// the incremental enumerator discovers the initial files itself, in parallel
+			return createSplitEnumerator(
+					enumContext, enumerator, Collections.emptyList(), null, new ProcessedFileIndex());
+		}
+
 		// read the initial set of splits (which is also the total set of splits for bounded sources)
 		final Collection<FileSourceSplit> splits;
 		try {
@@ -142,7 +150,7 @@ public abstract class AbstractFileSource<T, SplitT extends FileSourceSplit>
 			throw new FlinkRuntimeException("Could not enumerate file splits", e);
 		}
 
-		return createSplitEnumerator(enumContext, enumerator, splits, null);
+		return createSplitEnumerator(enumContext, enumerator, splits, null, null);
 	}
 
 	@Override
@@ -157,7 +165,20 @@ public abstract class AbstractFileSource<T, SplitT extends FileSourceSplit>
 		@SuppressWarnings("unchecked")
 		final Collection<FileSourceSplit> splits = (Collection<FileSourceSplit>) checkpoint.getSplits();
 
-		return createSplitEnumerator(enumContext, enumerator, splits, checkpoint.getAlreadyProcessedPaths());
+		ProcessedFileIndex processedFileIndex = checkpoint.getProcessedFileIndex();
+		if (processedFileIndex == null
+				&& continuousEnumerationSettings != null
+				&& continuousEnumerationSettings.isIncrementalDiscovery()) {
+			// the checkpoint was taken without incremental discovery
+			try {
+				processedFileIndex = ProcessedFileIndex.fromProcessedPaths(checkpoint.getAlreadyProcessedPaths());
+			} catch (IOException e) {
+				throw new FlinkRuntimeException("Could not create the index of the processed files", e);
+			}
+		}
+
+		return createSplitEnumerator(
+				enumContext, enumerator, splits, checkpoint.getAlreadyProcessedPaths(), processedFileIndex);
 	}
 
 	@Override
@@ -181,7 +202,8 @@ public abstract class AbstractFileSource<T, SplitT extends FileSourceSplit>
 			SplitEnumeratorContext<SplitT> context,
 			FileEnumerator enumerator,
 			Collection<FileSourceSplit> splits,
-			@Nullable Collection<Path> alreadyProcessedPaths) {
+			@Nullable Collection<Path> alreadyProcessedPaths,
+			@Nullable ProcessedFileIndex processedFileIndex) {
 
 		// cast this to a collection of FileSourceSplit because the enumerator code work
 		// non-generically just on that base split type
@@ -193,6 +215,18 @@ public abstract class AbstractFileSource<T, SplitT extends FileSourceSplit>
 		if (continuousEnumerationSettings == null) {
 			// bounded case
 			return castGeneric(new StaticFileSplitEnumerator(fileSplitContext, splitAssigner));
+		} else if (continuousEnumerationSettings.isIncrementalDiscovery()) {
+			// unbounded case with incremental discovery
+			final Duration directoryHorizon = continuousEnumerationSettings.getDirectoryHorizon();
+			return castGeneric(new IncrementalFileSplitEnumerator(
+					fileSplitContext,
+					enumerator,
+					splitAssigner,
+					inputPaths,
+					processedFileIndex == null ? new ProcessedFileIndex() : processedFileIndex,
+					continuousEnumerationSettings.getDiscoveryInterval().toMillis(),
+					continuousEnumerationSettings.getNumDiscoveryThreads(),
+					directoryHorizon == null ? -1L : directoryHorizon.toMillis()));
 		} else {
 			// unbounded case
 			if (alreadyProcessedPaths == null) {
@@ -291,6 +325,34 @@ public abstract class AbstractFileSource<T, SplitT extends FileSourceSplit>
 			return self();
 		}
 
+		/**
+		 * Sets this source to streaming ("continuous monitoring") mode with incremental discovery.
+		 *
+		 * <p>Like {@link #monitorContinuously(Duration)}, but the directories are listed in parallel
+		 * by {@code numDiscoveryThreads} threads, and rather than the paths of all processed files,
+		 * the source keeps a compact index of the processed files per directory in its checkpoints.
+		 * Hidden files and directories, whose name starts with '.' or '_', are always skipped.
+		 *
+		 * <p>If a {@code directoryHorizon} is given, a directory is considered complete once its
+		 * newest file is older than the newest discovered file minus the horizon. Complete
+		 * directories are not listed anymore and files which are added to them later are ignored.
+		 * This fits input which is written into time-based partitions, and keeps the discovery time
+		 * and the checkpoint size flat as the number of files grows.
+		 */
+		public SELF monitorContinuouslyIncremental(
+				Duration discoveryInterval,
+				int numDiscoveryThreads,
+				@Nullable Duration directoryHorizon) {
+			checkNotNull(discoveryInterval, "discoveryInterval");
+			checkArgument(!(discoveryInterval.isNegative() || discoveryInterval.isZero()), "discoveryInterval must be > 0");
+			checkArgument(numDiscoveryThreads > 0, "numDiscoveryThreads must be > 0");
+			checkArgument(directoryHorizon == null || !directoryHorizon.isNegative(), "directoryHorizon must be >= 0");
+
+			this.continuousSourceSettings =
+					new ContinuousEnumerationSettings(discoveryInterval, numDiscoveryThreads, directoryHorizon);
+			return self();
+		}
+
 		/**
 		 * Sets this source to bounded (batch) mode.
 		 *
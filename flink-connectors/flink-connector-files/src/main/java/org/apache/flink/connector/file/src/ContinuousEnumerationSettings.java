@@ -20,9 +20,12 @@ package org.apache.flink.connector.file.src;
 
 import org.apache.flink.annotation.Internal;
 
+import javax.annotation.Nullable;
+
 import java.io.Serializable;
 import java.time.Duration;
 
+import static org.apache.flink.util.Preconditions.checkArgument;
 import static org.apache.flink.util.Preconditions.checkNotNull;
 
 /**
@@ -36,20 +39,52 @@ public final class ContinuousEnumerationSettings implements Serializable {
 
 	private final Duration discoveryInterval;
 
+	/** The number of threads listing directories, or 0 if discovery is not incremental. */
+	private final int numDiscoveryThreads;
+
+	/** The horizon after which directories are closed, null if they are never closed. */
+	@Nullable
+	private final Duration directoryHorizon;
+
 	public ContinuousEnumerationSettings(Duration discoveryInterval) {
+		this(discoveryInterval, 0, null);
+	}
+
+	public ContinuousEnumerationSettings(
+			Duration discoveryInterval,
+			int numDiscoveryThreads,
+			@Nullable Duration directoryHorizon) {
+		checkArgument(numDiscoveryThreads >= 0);
 		this.discoveryInterval = checkNotNull(discoveryInterval);
+		this.numDiscoveryThreads = numDiscoveryThreads;
+		this.directoryHorizon = directoryHorizon;
 	}
 
 	public Duration getDiscoveryInterval() {
 		return discoveryInterval;
 	}
 
+	public boolean isIncrementalDiscovery() {
+		return numDiscoveryThreads > 0;
+	}
+
+	public int getNumDiscoveryThreads() {
+		return numDiscoveryThreads;
+	}
+
+	@Nullable
+	public Duration getDirectoryHorizon() {
+		return directoryHorizon;
+	}
+
 	// ------------------------------------------------------------------------
 
 	@Override
 	public String toString() {
 		return "ContinuousEnumerationSettings{" +
 			"discoveryInterval=" + discoveryInterval +
+			", numDiscoveryThreads=" + numDiscoveryThreads +
+			", directoryHorizon=" + directoryHorizon +
 			'}';
 	}
 }
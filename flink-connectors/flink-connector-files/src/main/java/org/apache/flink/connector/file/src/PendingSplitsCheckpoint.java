@@ -42,6 +42,11 @@ public class PendingSplitsCheckpoint<SplitT extends FileSourceSplit> {
 	 * before and should this be ignored. Relevant only for sources in continuous monitoring mode. */
 	private final Collection<Path> alreadyProcessedPaths;
 
+	/** The index of the processed files, which replaces the processed paths for sources with
+	 * incremental discovery. */
+	@Nullable
+	private final ProcessedFileIndex processedFileIndex;
+
 	/** The cached byte representation from the last serialization step. This helps to avoid
 	 * paying repeated serialization cost for the same checkpoint object. This field is used
 	 * by {@link PendingSplitsCheckpointSerializer}. */
@@ -49,8 +54,16 @@ public class PendingSplitsCheckpoint<SplitT extends FileSourceSplit> {
 	byte[] serializedFormCache;
 
 	protected PendingSplitsCheckpoint(Collection<SplitT> splits, Collection<Path> alreadyProcessedPaths) {
+		this(splits, alreadyProcessedPaths, null);
+	}
+
+	protected PendingSplitsCheckpoint(
+			Collection<SplitT> splits,
+			Collection<Path> alreadyProcessedPaths,
+			@Nullable ProcessedFileIndex processedFileIndex) {
 		this.splits = Collections.unmodifiableCollection(splits);
 		this.alreadyProcessedPaths = Collections.unmodifiableCollection(alreadyProcessedPaths);
+		this.processedFileIndex = processedFileIndex;
 	}
 
 	// ------------------------------------------------------------------------
@@ -63,13 +76,19 @@ public class PendingSplitsCheckpoint<SplitT extends FileSourceSplit> {
 		return alreadyProcessedPaths;
 	}
 
+	@Nullable
+	public ProcessedFileIndex getProcessedFileIndex() {
+		return processedFileIndex;
+	}
+
 	// ------------------------------------------------------------------------
 
 	@Override
 	public String toString() {
 		return "PendingSplitsCheckpoint:\n" +
 				"\t\t Pending Splits: " + splits + '\n' +
-				"\t\t Processed Paths: " + alreadyProcessedPaths + '\n';
+				"\t\t Processed Paths: " + alreadyProcessedPaths + '\n' +
+				"\t\t Processed File Index: " + processedFileIndex + '\n';
 	}
 
 
@@ -98,9 +117,20 @@ public class PendingSplitsCheckpoint<SplitT extends FileSourceSplit> {
 		return new PendingSplitsCheckpoint<>(splitsCopy, pathsCopy);
 	}
 
+	public static <T extends FileSourceSplit> PendingSplitsCheckpoint<T> fromCollectionSnapshot(
+			final Collection<T> splits,
+			final ProcessedFileIndex processedFileIndex) {
+		checkNotNull(splits);
+
+		// create a copy of the collection and the index to make sure this checkpoint is immutable
+		final Collection<T> splitsCopy = new ArrayList<>(splits);
+		return new PendingSplitsCheckpoint<>(splitsCopy, Collections.emptySet(), processedFileIndex.copy());
+	}
+
 	static <T extends FileSourceSplit> PendingSplitsCheckpoint<T> reusingCollection(
 			final Collection<T> splits,
-			final Collection<Path> alreadyProcessedPaths) {
-		return new PendingSplitsCheckpoint<>(splits, alreadyProcessedPaths);
+			final Collection<Path> alreadyProcessedPaths,
+			@Nullable final ProcessedFileIndex processedFileIndex) {
+		return new PendingSplitsCheckpoint<>(splits, alreadyProcessedPaths, processedFileIndex);
 	}
 }
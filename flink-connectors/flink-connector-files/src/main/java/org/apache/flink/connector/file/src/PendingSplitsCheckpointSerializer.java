@@ -21,6 +21,8 @@ package org.apache.flink.connector.file.src;
 import org.apache.flink.annotation.PublicEvolving;
 import org.apache.flink.core.fs.Path;
 import org.apache.flink.core.io.SimpleVersionedSerializer;
+import org.apache.flink.core.memory.DataInputDeserializer;
+import org.apache.flink.core.memory.DataOutputSerializer;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
@@ -39,7 +41,7 @@ import static org.apache.flink.util.Preconditions.checkNotNull;
 public final class PendingSplitsCheckpointSerializer<T extends FileSourceSplit>
 		implements SimpleVersionedSerializer<PendingSplitsCheckpoint<T>> {
 
-	private static final int VERSION = 1;
+	private static final int VERSION = 2;
 
 	private static final int VERSION_1_MAGIC_NUMBER = 0xDEADBEEF;
 
@@ -73,7 +75,7 @@ public final class PendingSplitsCheckpointSerializer<T extends FileSourceSplit>
 		final ArrayList<byte[]> serializedSplits = new ArrayList<>(splits.size());
 		final ArrayList<byte[]> serializedPaths = new ArrayList<>(processedPaths.size());
 
-		int totalLen = 16;	// four ints: magic, version of split serializer, count splits, count paths
+		int totalLen = 20;	// five ints: magic, version of split serializer, count splits, count paths, index length
 
 		for (T split : splits) {
 			final byte[] serSplit = splitSerializer.serialize(split);
@@ -87,6 +89,14 @@ public final class PendingSplitsCheckpointSerializer<T extends FileSourceSplit>
 			totalLen += serPath.length + 4; // 4 bytes for the length field
 		}
 
+		byte[] serializedIndex = null;
+		if (checkpoint.getProcessedFileIndex() != null) {
+			final DataOutputSerializer out = new DataOutputSerializer(256);
+			checkpoint.getProcessedFileIndex().serialize(out);
+			serializedIndex = out.getCopyOfBuffer();
+			totalLen += serializedIndex.length;
+		}
+
 		final byte[] result = new byte[totalLen];
 		final ByteBuffer byteBuffer = ByteBuffer.wrap(result).order(ByteOrder.LITTLE_ENDIAN);
 		byteBuffer.putInt(VERSION_1_MAGIC_NUMBER);
@@ -104,6 +114,13 @@ public final class PendingSplitsCheckpointSerializer<T extends FileSourceSplit>
 			byteBuffer.put(pathBytes);
 		}
 
+		if (serializedIndex != null) {
+			byteBuffer.putInt(serializedIndex.length);
+			byteBuffer.put(serializedIndex);
+		} else {
+			byteBuffer.putInt(-1);
+		}
+
 		assert byteBuffer.remaining() == 0;
 
 		// optimization: cache the serialized from, so we avoid the byte work during repeated serialization
@@ -114,13 +131,13 @@ public final class PendingSplitsCheckpointSerializer<T extends FileSourceSplit>
 
 	@Override
 	public PendingSplitsCheckpoint<T> deserialize(int version, byte[] serialized) throws IOException {
-		if (version == 1) {
-			return deserializeV1(serialized);
+		if (version == 1 || version == 2) {
+			return deserialize(serialized, version);
 		}
 		throw new IOException("Unknown version: " + version);
 	}
 
-	private PendingSplitsCheckpoint<T> deserializeV1(byte[] serialized) throws IOException {
+	private PendingSplitsCheckpoint<T> deserialize(byte[] serialized, int version) throws IOException {
 		final ByteBuffer bb = ByteBuffer.wrap(serialized).order(ByteOrder.LITTLE_ENDIAN);
 
 		final int magic = bb.getInt();
@@ -151,6 +168,17 @@ public final class PendingSplitsCheckpointSerializer<T extends FileSourceSplit>
 			paths.add(path);
 		}
 
-		return PendingSplitsCheckpoint.reusingCollection(splits, paths);
+		// version 2 appends the index of the processed files
+		ProcessedFileIndex processedFileIndex = null;
+		if (version >= 2) {
+			final int indexLength = bb.getInt();
+			if (indexLength >= 0) {
+				final byte[] bytes = new byte[indexLength];
+				bb.get(bytes);
+				processedFileIndex = ProcessedFileIndex.deserialize(new DataInputDeserializer(bytes));
+			}
+		}
+
+		return PendingSplitsCheckpoint.reusingCollection(splits, paths, processedFileIndex);
 	}
 }
@@ -0,0 +1,461 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.file.src;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.core.fs.FileStatus;
+import org.apache.flink.core.fs.FileSystem;
+import org.apache.flink.core.fs.Path;
+import org.apache.flink.core.memory.DataInputView;
+import org.apache.flink.core.memory.DataOutputView;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A compact index of the files which have been processed by a continuously monitoring file source
+ * with incremental discovery.
+ *
+ * <p>Rather than the paths of all processed files, the index keeps for every directory the names
+ * of its processed files and the highest modification time of its processed files (the high-water
+ * mark). Whether a file has been processed is decided by its name, so a processed file is not
+ * processed again if it is appended to or was still being written when it was discovered.
+ *
+ * <p>Once the modification time of a processed file falls behind a horizon, its name is moved into
+ * a bloom filter of its directory. A file which has not been processed can only be mistaken for a
+ * processed file if it is not newer than the names in the bloom filter, i.e. if it is behind the
+ * horizon as well, and then with a false positive probability below {@code 2 *}
+ * {@value #FALSE_POSITIVE_PROBABILITY}. New files are never lost that way. A processed file which
+ * is modified after its name has been moved into the bloom filter is processed again, though.
+ *
+ * <p>Directories can be closed once their high-water mark falls behind the horizon. The files of a
+ * closed directory are never processed again and only the path of the directory is kept.
+ *
+ * <p>The index is accessed by the enumerator and its discovery thread, so all methods are
+ * synchronized.
+ */
+@Internal
+public final class ProcessedFileIndex {
+
+	/** The false positive probability of the first bloom filter of a directory, it is halved for
+	 * each further filter, so that the overall probability stays below twice this value. */
+	static final double FALSE_POSITIVE_PROBABILITY = 0.0001;
+
+	/** The capacity of the first bloom filter of a directory, each further filter doubles it. */
+	private static final int INITIAL_CAPACITY = 64;
+
+	private final Map<Path, DirectoryEntry> directories;
+
+	private final Set<Path> closedDirectories;
+
+	/** The highest modification time of all processed files. */
+	private long maxModificationTime;
+
+	public ProcessedFileIndex() {
+		this(new HashMap<>(), new HashSet<>(), Long.MIN_VALUE);
+	}
+
+	private ProcessedFileIndex(
+			Map<Path, DirectoryEntry> directories,
+			Set<Path> closedDirectories,
+			long maxModificationTime) {
+		this.directories = directories;
+		this.closedDirectories = closedDirectories;
+		this.maxModificationTime = maxModificationTime;
+	}
+
+	// ------------------------------------------------------------------------
+
+	/**
+	 * Checks whether the given file has been processed, or belongs to a closed directory. The
+	 * modification time decides whether the bloom filters of the directory are checked at all.
+	 */
+	public synchronized boolean isProcessed(Path file, long modificationTime) {
+		final Path directory = file.getParent();
+		if (closedDirectories.contains(directory)) {
+			return true;
+		}
+		final DirectoryEntry entry = directories.get(directory);
+		return entry != null && entry.contains(file.getName(), modificationTime);
+	}
+
+	/**
+	 * Marks the given file as processed. The modification time advances the high-water mark of
+	 * the directory of the file.
+	 *
+	 * @return true, if the file has not been processed before.
+	 */
+	public synchronized boolean markProcessed(Path file, long modificationTime) {
+		if (isProcessed(file, modificationTime)) {
+			return false;
+		}
+		directories.computeIfAbsent(file.getParent(), k -> new DirectoryEntry()).add(file.getName(), modificationTime);
+		maxModificationTime = Math.max(maxModificationTime, modificationTime);
+		return true;
+	}
+
+	/**
+	 * Closes all directories whose processed files are older than the given horizon, relative to
+	 * the newest processed file. The names of the older files of the remaining directories are
+	 * moved into their bloom filters.
+	 *
+	 * @return the number of closed directories.
+	 */
+	public synchronized int closeDirectories(long horizonMillis) {
+		if (maxModificationTime == Long.MIN_VALUE) {
+			return 0;
+		}
+		final long threshold = maxModificationTime - horizonMillis;
+		int numClosed = 0;
+		final Iterator<Map.Entry<Path, DirectoryEntry>> iterator = directories.entrySet().iterator();
+		while (iterator.hasNext()) {
+			final Map.Entry<Path, DirectoryEntry> entry = iterator.next();
+			if (entry.getValue().highWaterMark < threshold) {
+				closedDirectories.add(entry.getKey());
+				iterator.remove();
+				numClosed++;
+			} else {
+				entry.getValue().compact(threshold);
+			}
+		}
+		return numClosed;
+	}
+
+	/**
+	 * Returns a copy of the paths of the closed directories.
+	 */
+	public synchronized Set<Path> getClosedDirectories() {
+		return new HashSet<>(closedDirectories);
+	}
+
+	public synchronized int getNumOpenDirectories() {
+		return directories.size();
+	}
+
+	/**
+	 * Creates a deep copy of this index, e.g. for a checkpoint.
+	 */
+	public synchronized ProcessedFileIndex copy() {
+		final Map<Path, DirectoryEntry> directoriesCopy = new HashMap<>(directories.size());
+		for (Map.Entry<Path, DirectoryEntry> entry : directories.entrySet()) {
+			directoriesCopy.put(entry.getKey(), entry.getValue().copy());
+		}
+		return new ProcessedFileIndex(directoriesCopy, new HashSet<>(closedDirectories), maxModificationTime);
+	}
+
+	/**
+	 * Creates an index of the given processed files. This looks up the modification time of each
+	 * file and is only meant to convert a checkpoint which contains the paths of processed files.
+	 */
+	public static ProcessedFileIndex fromProcessedPaths(Collection<Path> processedPaths) throws IOException {
+		final ProcessedFileIndex index = new ProcessedFileIndex();
+		for (Path path : processedPaths) {
+			final FileSystem fs = path.getFileSystem();
+			final FileStatus status;
+			try {
+				status = fs.getFileStatus(path);
+			} catch (FileNotFoundException e) {
+				// the file has been deleted, it can't be discovered again
+				continue;
+			}
+			index.markProcessed(status.getPath(), status.getModificationTime());
+		}
+		return index;
+	}
+
+	// ------------------------------------------------------------------------
+	//  serialization
+	// ------------------------------------------------------------------------
+
+	public synchronized void serialize(DataOutputView out) throws IOException {
+		out.writeLong(maxModificationTime);
+		out.writeInt(closedDirectories.size());
+		for (Path directory : closedDirectories) {
+			out.writeUTF(directory.toString());
+		}
+		out.writeInt(directories.size());
+		for (Map.Entry<Path, DirectoryEntry> entry : directories.entrySet()) {
+			out.writeUTF(entry.getKey().toString());
+			entry.getValue().serialize(out);
+		}
+	}
+
+	public static ProcessedFileIndex deserialize(DataInputView in) throws IOException {
+		final long maxModificationTime = in.readLong();
+		final int numClosedDirectories = in.readInt();
+		final Set<Path> closedDirectories = new HashSet<>(numClosedDirectories);
+		for (int i = 0; i < numClosedDirectories; i++) {
+			closedDirectories.add(new Path(in.readUTF()));
+		}
+		final int numDirectories = in.readInt();
+		final Map<Path, DirectoryEntry> directories = new HashMap<>(numDirectories);
+		for (int i = 0; i < numDirectories; i++) {
+			final Path directory = new Path(in.readUTF());
+			directories.put(directory, DirectoryEntry.deserialize(in));
+		}
+		return new ProcessedFileIndex(directories, closedDirectories, maxModificationTime);
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "ProcessedFileIndex{" +
+				"openDirectories=" + directories.size() +
+				", closedDirectories=" + closedDirectories.size() +
+				", maxModificationTime=" + maxModificationTime +
+				'}';
+	}
+
+	// ------------------------------------------------------------------------
+
+	/**
+	 * The high-water mark and the processed files of a directory. The names of recent files are
+	 * kept exactly, the names of older files in bloom filters. The bloom filters form a scalable
+	 * bloom filter: once a filter is full, a new filter with twice the capacity is added.
+	 */
+	private static final class DirectoryEntry {
+
+		private long highWaterMark;
+
+		/** The highest modification time of the files in the bloom filters. */
+		private long filterMark;
+
+		/** The names and modification times of the files which are not in the bloom filters. */
+		private final Map<String, Long> recentFiles;
+
+		private final List<BloomFilter> filters;
+
+		DirectoryEntry() {
+			this(Long.MIN_VALUE, Long.MIN_VALUE, new HashMap<>(), new ArrayList<>());
+		}
+
+		private DirectoryEntry(
+				long highWaterMark,
+				long filterMark,
+				Map<String, Long> recentFiles,
+				List<BloomFilter> filters) {
+			this.highWaterMark = highWaterMark;
+			this.filterMark = filterMark;
+			this.recentFiles = recentFiles;
+			this.filters = filters;
+		}
+
+		boolean contains(String fileName, long modificationTime) {
+			if (recentFiles.containsKey(fileName)) {
+				return true;
+			}
+			// a file newer than all files in the bloom filters can't be one of them, unless it
+			// was modified after it was moved there
+			if (modificationTime > filterMark) {
+				return false;
+			}
+			final long hash = hash(fileName);
+			for (BloomFilter filter : filters) {
+				if (filter.mightContain(hash)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		void add(String fileName, long modificationTime) {
+			recentFiles.put(fileName, modificationTime);
+			highWaterMark = Math.max(highWaterMark, modificationTime);
+		}
+
+		/**
+		 * Moves the names of the files which are older than the given threshold into the bloom
+		 * filters.
+		 */
+		void compact(long threshold) {
+			final Iterator<Map.Entry<String, Long>> iterator = recentFiles.entrySet().iterator();
+			while (iterator.hasNext()) {
+				final Map.Entry<String, Long> file = iterator.next();
+				if (file.getValue() < threshold) {
+					addToFilter(file.getKey());
+					filterMark = Math.max(filterMark, file.getValue());
+					iterator.remove();
+				}
+			}
+		}
+
+		private void addToFilter(String fileName) {
+			BloomFilter current = filters.isEmpty() ? null : filters.get(filters.size() - 1);
+			if (current == null || current.isFull()) {
+				current = new BloomFilter(
+						INITIAL_CAPACITY << filters.size(),
+						FALSE_POSITIVE_PROBABILITY / (1L << filters.size()));
+				filters.add(current);
+			}
+			current.add(hash(fileName));
+		}
+
+		DirectoryEntry copy() {
+			final List<BloomFilter> filtersCopy = new ArrayList<>(filters.size());
+			for (BloomFilter filter : filters) {
+				filtersCopy.add(filter.copy());
+			}
+			return new DirectoryEntry(highWaterMark, filterMark, new HashMap<>(recentFiles), filtersCopy);
+		}
+
+		void serialize(DataOutputView out) throws IOException {
+			out.writeLong(highWaterMark);
+			out.writeLong(filterMark);
+			out.writeInt(recentFiles.size());
+			for (Map.Entry<String, Long> file : recentFiles.entrySet()) {
+				out.writeUTF(file.getKey());
+				out.writeLong(file.getValue());
+			}
+			out.writeInt(filters.size());
+			for (BloomFilter filter : filters) {
+				filter.serialize(out);
+			}
+		}
+
+		static DirectoryEntry deserialize(DataInputView in) throws IOException {
+			final long highWaterMark = in.readLong();
+			final long filterMark = in.readLong();
+			final int numRecentFiles = in.readInt();
+			final Map<String, Long> recentFiles = new HashMap<>(numRecentFiles);
+			for (int i = 0; i < numRecentFiles; i++) {
+				recentFiles.put(in.readUTF(), in.readLong());
+			}
+			final int numFilters = in.readInt();
+			final List<BloomFilter> filters = new ArrayList<>(numFilters);
+			for (int i = 0; i < numFilters; i++) {
+				filters.add(BloomFilter.deserialize(in));
+			}
+			return new DirectoryEntry(highWaterMark, filterMark, recentFiles, filters);
+		}
+	}
+
+	/**
+	 * A bloom filter over 64 bit hashes, using double hashing to derive the bit positions.
+	 */
+	@VisibleForTesting
+	static final class BloomFilter {
+
+		private final int capacity;
+
+		private final int numHashFunctions;
+
+		private final long[] bits;
+
+		private int count;
+
+		BloomFilter(int capacity, double falsePositiveProbability) {
+			this.capacity = capacity;
+			final long numBits = optimalNumBits(capacity, falsePositiveProbability);
+			this.bits = new long[(int) ((numBits + 63) / 64)];
+			this.numHashFunctions = optimalNumHashFunctions(capacity, bits.length * 64L);
+		}
+
+		private BloomFilter(int capacity, int numHashFunctions, long[] bits, int count) {
+			this.capacity = capacity;
+			this.numHashFunctions = numHashFunctions;
+			this.bits = bits;
+			this.count = count;
+		}
+
+		boolean isFull() {
+			return count >= capacity;
+		}
+
+		void add(long hash) {
+			final long numBits = bits.length * 64L;
+			final long hash2 = Long.rotateLeft(hash, 32) | 1L;
+			for (int i = 1; i <= numHashFunctions; i++) {
+				final long position = ((hash + i * hash2) & Long.MAX_VALUE) % numBits;
+				bits[(int) (position >>> 6)] |= 1L << position;
+			}
+			count++;
+		}
+
+		boolean mightContain(long hash) {
+			final long numBits = bits.length * 64L;
+			final long hash2 = Long.rotateLeft(hash, 32) | 1L;
+			for (int i = 1; i <= numHashFunctions; i++) {
+				final long position = ((hash + i * hash2) & Long.MAX_VALUE) % numBits;
+				if ((bits[(int) (position >>> 6)] & (1L << position)) == 0) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		BloomFilter copy() {
+			return new BloomFilter(capacity, numHashFunctions, bits.clone(), count);
+		}
+
+		void serialize(DataOutputView out) throws IOException {
+			out.writeInt(capacity);
+			out.writeInt(numHashFunctions);
+			out.writeInt(count);
+			out.writeInt(bits.length);
+			for (long word : bits) {
+				out.writeLong(word);
+			}
+		}
+
+		static BloomFilter deserialize(DataInputView in) throws IOException {
+			final int capacity = in.readInt();
+			final int numHashFunctions = in.readInt();
+			final int count = in.readInt();
+			final long[] bits = new long[in.readInt()];
+			for (int i = 0; i < bits.length; i++) {
+				bits[i] = in.readLong();
+			}
+			return new BloomFilter(capacity, numHashFunctions, bits, count);
+		}
+
+		private static long optimalNumBits(int capacity, double falsePositiveProbability) {
+			return (long) Math.ceil(-capacity * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2)));
+		}
+
+		private static int optimalNumHashFunctions(int capacity, long numBits) {
+			return Math.max(1, (int) Math.round((double) numBits / capacity * Math.log(2)));
+		}
+	}
+
+	/**
+	 * A 64 bit hash of a file name (FNV-1a, followed by the finalizer of MurmurHash3).
+	 */
+	@VisibleForTesting
+	static long hash(String fileName) {
+		long hash = 0xcbf29ce484222325L;
+		for (int i = 0; i < fileName.length(); i++) {
+			hash ^= fileName.charAt(i);
+			hash *= 0x100000001b3L;
+		}
+		hash ^= hash >>> 33;
+		hash *= 0xff51afd7ed558ccdL;
+		hash ^= hash >>> 33;
+		hash *= 0xc4ceb9fe1a85ec53L;
+		hash ^= hash >>> 33;
+		return hash;
+	}
+}
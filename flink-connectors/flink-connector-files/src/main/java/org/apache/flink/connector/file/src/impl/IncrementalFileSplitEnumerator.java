@@ -0,0 +1,277 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.file.src.impl;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.api.connector.source.SourceEvent;
+import org.apache.flink.api.connector.source.SplitEnumerator;
+import org.apache.flink.api.connector.source.SplitEnumeratorContext;
+import org.apache.flink.connector.file.src.FileSourceSplit;
+import org.apache.flink.connector.file.src.PendingSplitsCheckpoint;
+import org.apache.flink.connector.file.src.ProcessedFileIndex;
+import org.apache.flink.connector.file.src.assigners.FileSplitAssigner;
+import org.apache.flink.connector.file.src.enumerate.FileEnumerator;
+import org.apache.flink.core.fs.FileStatus;
+import org.apache.flink.core.fs.Path;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * A continuously monitoring enumerator which discovers new files incrementally.
+ *
+ * <p>Unlike the {@link ContinuousFileSplitEnumerator}, this enumerator does not remember the paths
+ * of all processed files, but keeps a compact {@link ProcessedFileIndex}. The directories are
+ * listed in parallel by a pool of discovery threads, and only the files which are not in the index
+ * are handed to the {@link FileEnumerator} to create their splits.
+ *
+ * <p>If a directory horizon is set, directories whose newest file is older than the newest
+ * discovered file minus the horizon are closed: they are not listed anymore, and files which
+ * appear in them later are ignored. This keeps the discovery time and the checkpoint size flat
+ * when new files are written into new (e.g. time-based) partitions.
+ */
+@Internal
+public class IncrementalFileSplitEnumerator
+		implements SplitEnumerator<FileSourceSplit, PendingSplitsCheckpoint<FileSourceSplit>> {
+
+	private static final Logger LOG = LoggerFactory.getLogger(IncrementalFileSplitEnumerator.class);
+
+	private final SplitEnumeratorContext<FileSourceSplit> context;
+
+	private final FileSplitAssigner splitAssigner;
+
+	private final FileEnumerator enumerator;
+
+	private final ProcessedFileIndex processedFileIndex;
+
+	private final LinkedHashMap<Integer, String> readersAwaitingSplit;
+
+	private final Path[] paths;
+
+	private final long discoveryInterval;
+
+	private final int numDiscoveryThreads;
+
+	/** The horizon after which directories are closed, or -1 if they are never closed. */
+	private final long directoryHorizon;
+
+	@Nullable
+	private ExecutorService discoveryExecutor;
+
+	// ------------------------------------------------------------------------
+
+	public IncrementalFileSplitEnumerator(
+			SplitEnumeratorContext<FileSourceSplit> context,
+			FileEnumerator enumerator,
+			FileSplitAssigner splitAssigner,
+			Path[] paths,
+			ProcessedFileIndex processedFileIndex,
+			long discoveryInterval,
+			int numDiscoveryThreads,
+			long directoryHorizon) {
+
+		checkArgument(discoveryInterval > 0L);
+		checkArgument(numDiscoveryThreads > 0);
+		this.context = checkNotNull(context);
+		this.enumerator = checkNotNull(enumerator);
+		this.splitAssigner = checkNotNull(splitAssigner);
+		this.paths = paths;
+		this.processedFileIndex = checkNotNull(processedFileIndex);
+		this.discoveryInterval = discoveryInterval;
+		this.numDiscoveryThreads = numDiscoveryThreads;
+		this.directoryHorizon = directoryHorizon;
+		this.readersAwaitingSplit = new LinkedHashMap<>();
+	}
+
+	@Override
+	public void start() {
+		discoveryExecutor = Executors.newFixedThreadPool(numDiscoveryThreads);
+		final ParallelDirectoryLister lister = new ParallelDirectoryLister(discoveryExecutor);
+
+		// the initial files are discovered right away rather than when the enumerator is created
+		context.callAsync(
+			() -> discoverNewFiles(lister),
+			this::processDiscoveredFiles,
+			0L, discoveryInterval);
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (discoveryExecutor != null) {
+			discoveryExecutor.shutdownNow();
+		}
+	}
+
+	@Override
+	public void addReader(int subtaskId) {
+		// this source is purely lazy-pull-based, nothing to do upon registration
+	}
+
+	@Override
+	public void handleSplitRequest(int subtaskId, @Nullable String requesterHostname) {
+		readersAwaitingSplit.put(subtaskId, requesterHostname);
+		assignSplits();
+	}
+
+	@Override
+	public void handleSourceEvent(int subtaskId, SourceEvent sourceEvent) {
+		LOG.error("Received unrecognized event: {}", sourceEvent);
+	}
+
+	@Override
+	public void addSplitsBack(List<FileSourceSplit> splits, int subtaskId) {
+		LOG.debug("File Source Enumerator adds splits back: {}", splits);
+		splitAssigner.addSplits(splits);
+	}
+
+	@Override
+	public PendingSplitsCheckpoint<FileSourceSplit> snapshotState() throws Exception {
+		final PendingSplitsCheckpoint<FileSourceSplit> checkpoint =
+				PendingSplitsCheckpoint.fromCollectionSnapshot(splitAssigner.remainingSplits(), processedFileIndex);
+
+		LOG.debug("Source Checkpoint is {}", checkpoint);
+		return checkpoint;
+	}
+
+	// ------------------------------------------------------------------------
+
+	/**
+	 * Lists the files and creates the splits of the files which are not in the index yet. This
+	 * runs in the discovery thread, so it only reads the index.
+	 */
+	private DiscoveredFiles discoverNewFiles(ParallelDirectoryLister lister) throws IOException {
+		final long startTime = System.currentTimeMillis();
+		final List<FileStatus> files = lister.listFiles(paths, processedFileIndex.getClosedDirectories());
+
+		final List<FileStatus> newFiles = new ArrayList<>();
+		for (FileStatus file : files) {
+			if (!processedFileIndex.isProcessed(file.getPath(), file.getModificationTime())) {
+				newFiles.add(file);
+			}
+		}
+
+		final Collection<FileSourceSplit> splits;
+		if (newFiles.isEmpty()) {
+			splits = Collections.emptyList();
+		} else {
+			final Path[] newPaths = new Path[newFiles.size()];
+			for (int i = 0; i < newPaths.length; i++) {
+				newPaths[i] = newFiles.get(i).getPath();
+			}
+			splits = enumerator.enumerateSplits(newPaths, 1);
+		}
+
+		LOG.debug("Discovered {} new file(s) among {} listed file(s) in {} ms.",
+				newFiles.size(), files.size(), System.currentTimeMillis() - startTime);
+		return new DiscoveredFiles(newFiles, splits);
+	}
+
+	private void processDiscoveredFiles(DiscoveredFiles discovered, Throwable error) {
+		if (error != null) {
+			LOG.error("Failed to enumerate files", error);
+			return;
+		}
+
+		// files may have been discovered twice if discoveries overlap, only the first one counts
+		final Set<Path> duplicatePaths = new HashSet<>();
+		for (FileStatus file : discovered.files) {
+			if (!processedFileIndex.markProcessed(file.getPath(), file.getModificationTime())) {
+				duplicatePaths.add(file.getPath());
+			}
+		}
+
+		final List<FileSourceSplit> newSplits = new ArrayList<>(discovered.splits.size());
+		for (FileSourceSplit split : discovered.splits) {
+			if (!duplicatePaths.contains(split.path())) {
+				newSplits.add(split);
+			}
+		}
+		splitAssigner.addSplits(newSplits);
+
+		if (directoryHorizon >= 0) {
+			final int numClosed = processedFileIndex.closeDirectories(directoryHorizon);
+			if (numClosed > 0) {
+				LOG.info("Closed {} directories which fell behind the horizon of {} ms.", numClosed, directoryHorizon);
+			}
+		}
+
+		assignSplits();
+	}
+
+	private void assignSplits() {
+		final Iterator<Map.Entry<Integer, String>> awaitingReader = readersAwaitingSplit.entrySet().iterator();
+
+		while (awaitingReader.hasNext()) {
+			final Map.Entry<Integer, String> nextAwaiting = awaitingReader.next();
+
+			// if the reader that requested another split has failed in the meantime, remove
+			// it from the list of waiting readers
+			if (!context.registeredReaders().containsKey(nextAwaiting.getKey())) {
+				awaitingReader.remove();
+				continue;
+			}
+
+			final String hostname = nextAwaiting.getValue();
+			final int awaitingSubtask = nextAwaiting.getKey();
+			final Optional<FileSourceSplit> nextSplit = splitAssigner.getNext(hostname);
+			if (nextSplit.isPresent()) {
+				context.assignSplit(nextSplit.get(), awaitingSubtask);
+				awaitingReader.remove();
+			} else {
+				break;
+			}
+		}
+	}
+
+	// ------------------------------------------------------------------------
+
+	/**
+	 * The files which were new when they were discovered, and their splits.
+	 */
+	private static final class DiscoveredFiles {
+
+		private final List<FileStatus> files;
+
+		private final Collection<FileSourceSplit> splits;
+
+		private DiscoveredFiles(List<FileStatus> files, Collection<FileSourceSplit> splits) {
+			this.files = files;
+			this.splits = splits;
+		}
+	}
+}
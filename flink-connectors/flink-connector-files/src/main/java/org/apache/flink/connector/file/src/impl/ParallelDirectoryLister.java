@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.file.src.impl;
+
+import org.apache.flink.connector.file.src.enumerate.DefaultFileFilter;
+import org.apache.flink.core.fs.FileStatus;
+import org.apache.flink.core.fs.FileSystem;
+import org.apache.flink.core.fs.Path;
+import org.apache.flink.util.ExceptionUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Predicate;
+
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * Lists the files under a set of paths recursively, listing the directories of each level of the
+ * directory tree in parallel.
+ *
+ * <p>Hidden files and directories, i.e. those whose name starts with '.' or '_', are skipped, as
+ * well as the given directories to skip and everything below them.
+ */
+final class ParallelDirectoryLister {
+
+	private final ExecutorService executor;
+
+	private final Predicate<Path> fileFilter = new DefaultFileFilter();
+
+	ParallelDirectoryLister(ExecutorService executor) {
+		this.executor = checkNotNull(executor);
+	}
+
+	List<FileStatus> listFiles(Path[] paths, Set<Path> directoriesToSkip) throws IOException {
+		final List<FileStatus> files = new ArrayList<>();
+		List<FileStatus> directories = new ArrayList<>();
+
+		for (Path path : paths) {
+			final FileStatus status = path.getFileSystem().getFileStatus(path);
+			addIfAccepted(status, directoriesToSkip, files, directories);
+		}
+
+		while (!directories.isEmpty()) {
+			final List<Future<FileStatus[]>> listings = new ArrayList<>(directories.size());
+			for (FileStatus directory : directories) {
+				final Path directoryPath = directory.getPath();
+				final FileSystem fs = directoryPath.getFileSystem();
+				listings.add(executor.submit(() -> fs.listStatus(directoryPath)));
+			}
+
+			final List<FileStatus> nextDirectories = new ArrayList<>();
+			for (Future<FileStatus[]> listing : listings) {
+				final FileStatus[] contained = waitForListing(listing);
+				// a directory which has been deleted in the meantime is listed as null
+				if (contained != null) {
+					for (FileStatus status : contained) {
+						addIfAccepted(status, directoriesToSkip, files, nextDirectories);
+					}
+				}
+			}
+			directories = nextDirectories;
+		}
+
+		return files;
+	}
+
+	private void addIfAccepted(
+			FileStatus status,
+			Set<Path> directoriesToSkip,
+			List<FileStatus> files,
+			List<FileStatus> directories) {
+		if (!fileFilter.test(status.getPath())) {
+			return;
+		}
+		if (!status.isDir()) {
+			files.add(status);
+		} else if (!directoriesToSkip.contains(status.getPath())) {
+			directories.add(status);
+		}
+	}
+
+	private static FileStatus[] waitForListing(Future<FileStatus[]> listing) throws IOException {
+		try {
+			return listing.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while listing directories.", e);
+		} catch (ExecutionException e) {
+			ExceptionUtils.rethrowIOException(e.getCause());
+			return null;
+		}
+	}
+}
@@ -19,12 +19,14 @@
 package org.apache.flink.connector.file.sink;
 
 import org.apache.flink.connector.file.sink.utils.FileSinkTestUtils;
+import org.apache.flink.core.fs.Path;
 
 import org.junit.ClassRule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 
 import java.io.IOException;
+import java.util.Arrays;
 
 import static org.junit.Assert.assertEquals;
 
@@ -56,13 +58,49 @@ public class FileCommittableSerializerTest {
 				deserialized.getInProgressFileToCleanup());
 	}
 
+	@Test
+	public void testCommittableWithPendingFilePathAndSize() throws IOException {
+		FileSinkCommittable committable = new FileSinkCommittable(
+				new FileSinkTestUtils.TestPendingFileRecoverable(),
+				new Path("/bucket/.part-0-1"),
+				1024L);
+		FileSinkCommittable deserialized = serializeAndDeserialize(committable);
+		assertEquals(committable.getPendingFile(), deserialized.getPendingFile());
+		assertEquals(committable.getPendingFilePath(), deserialized.getPendingFilePath());
+		assertEquals(committable.getPendingFileSize(), deserialized.getPendingFileSize());
+	}
+
+	@Test
+	public void testGlobalCommittable() throws IOException {
+		FileSinkGlobalCommittable globalCommittable = new FileSinkGlobalCommittable(Arrays.asList(
+				new FileSinkCommittable(new FileSinkTestUtils.TestPendingFileRecoverable(), new Path("/bucket/.part-0-1"), 10L),
+				new FileSinkCommittable(new FileSinkTestUtils.TestInProgressFileRecoverable())));
+		FileSinkGlobalCommittableSerializer serializer = new FileSinkGlobalCommittableSerializer(createSerializer());
+		FileSinkGlobalCommittable deserialized = serializer.deserialize(
+				serializer.getVersion(),
+				serializer.serialize(globalCommittable));
+
+		assertEquals(2, deserialized.getCommittables().size());
+		assertEquals(
+				new Path("/bucket/.part-0-1"),
+				deserialized.getCommittables().get(0).getPendingFilePath());
+		assertEquals(10L, deserialized.getCommittables().get(0).getPendingFileSize());
+		assertEquals(
+				globalCommittable.getCommittables().get(1).getInProgressFileToCleanup(),
+				deserialized.getCommittables().get(1).getInProgressFileToCleanup());
+	}
+
 	private FileSinkCommittable serializeAndDeserialize(FileSinkCommittable committable) throws IOException {
-		FileSinkCommittableSerializer serializer = new FileSinkCommittableSerializer(
+		FileSinkCommittableSerializer serializer = createSerializer();
+		byte[] data = serializer.serialize(committable);
+		return serializer.deserialize(serializer.getVersion(), data);
+	}
+
+	private static FileSinkCommittableSerializer createSerializer() {
+		return new FileSinkCommittableSerializer(
 				new FileSinkTestUtils.SimpleVersionedWrapperSerializer<>(
 						FileSinkTestUtils.TestPendingFileRecoverable::new),
 				new FileSinkTestUtils.SimpleVersionedWrapperSerializer<>(
 						FileSinkTestUtils.TestInProgressFileRecoverable::new));
-		byte[] data = serializer.serialize(committable);
-		return serializer.deserialize(serializer.getVersion(), data);
 	}
 }
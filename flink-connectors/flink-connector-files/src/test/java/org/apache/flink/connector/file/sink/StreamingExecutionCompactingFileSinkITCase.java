@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.file.sink;
+
+import org.apache.flink.connector.file.sink.compactor.ConcatFileCompactor;
+import org.apache.flink.connector.file.sink.compactor.FileCompactStrategy;
+import org.apache.flink.connector.file.sink.utils.IntegerFileSinkTestDataUtils;
+import org.apache.flink.core.fs.Path;
+
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+/**
+ * Tests the functionality of the {@link FileSink} with compaction enabled in STREAMING mode.
+ */
+@RunWith(Parameterized.class)
+public class StreamingExecutionCompactingFileSinkITCase extends StreamingExecutionFileSinkITCase {
+
+	@Override
+	protected FileSink<Integer> createFileSink(String path) {
+		return FileSink
+				.forRowFormat(new Path(path), new IntegerFileSinkTestDataUtils.IntEncoder())
+				.withBucketAssigner(new IntegerFileSinkTestDataUtils.ModuloBucketAssigner(NUM_BUCKETS))
+				.enableCompact(
+						FileCompactStrategy.Builder.newBuilder()
+								.setTargetSize(4096)
+								.setNumCompactThreads(2)
+								.build(),
+						new ConcatFileCompactor())
+				.build();
+	}
+}
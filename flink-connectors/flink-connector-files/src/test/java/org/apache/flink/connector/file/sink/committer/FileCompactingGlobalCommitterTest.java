@@ -0,0 +1,197 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.file.sink.committer;
+
+import org.apache.flink.api.common.serialization.SimpleStringEncoder;
+import org.apache.flink.connector.file.sink.FileSinkCommittable;
+import org.apache.flink.connector.file.sink.FileSinkGlobalCommittable;
+import org.apache.flink.connector.file.sink.compactor.ConcatFileCompactor;
+import org.apache.flink.connector.file.sink.compactor.FileCompactStrategy;
+import org.apache.flink.core.fs.FileSystem;
+import org.apache.flink.core.fs.Path;
+import org.apache.flink.streaming.api.functions.sink.filesystem.InProgressFileWriter;
+import org.apache.flink.streaming.api.functions.sink.filesystem.RowWiseBucketWriter;
+
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link FileCompactingGlobalCommitter}.
+ */
+public class FileCompactingGlobalCommitterTest {
+
+	@ClassRule
+	public static final TemporaryFolder TEMPORARY_FOLDER = new TemporaryFolder();
+
+	private File bucketDir;
+
+	private RowWiseBucketWriter<String, String> bucketWriter;
+
+	@Before
+	public void setup() throws IOException {
+		bucketDir = TEMPORARY_FOLDER.newFolder();
+		bucketWriter = new RowWiseBucketWriter<>(
+				FileSystem.getLocalFileSystem().createRecoverableWriter(),
+				new SimpleStringEncoder<>());
+	}
+
+	@Test
+	public void testPackFilesToTargetSize() {
+		List<FileSinkCommittable> files = Arrays.asList(
+				committable(".part-0", 4),
+				committable(".part-1", 4),
+				committable(".part-2", 10),
+				committable(".part-3", 1));
+
+		List<List<FileSinkCommittable>> groups = FileCompactingGlobalCommitter.packFiles(files, 8);
+
+		assertEquals(3, groups.size());
+		assertEquals(files.subList(0, 2), groups.get(0));
+		assertEquals(files.subList(2, 3), groups.get(1));
+		assertEquals(files.subList(3, 4), groups.get(2));
+	}
+
+	@Test
+	public void testCompactFilesOfBucket() throws Exception {
+		List<FileSinkCommittable> committables = Arrays.asList(
+				writePartFile(".part-0-0", "a"),
+				writePartFile(".part-1-0", "b"),
+				writePartFile(".part-2-0", "c"));
+
+		try (FileCompactingGlobalCommitter committer = createCommitter(1024)) {
+			commit(committer, committables);
+		}
+
+		assertEquals(Collections.singletonList("part-0-0"), listFiles());
+		assertEquals("a\nb\nc\n", readFile("part-0-0"));
+	}
+
+	@Test
+	public void testCompactToTargetSize() throws Exception {
+		List<FileSinkCommittable> committables = Arrays.asList(
+				writePartFile(".part-0-0", "aa"),
+				writePartFile(".part-1-0", "bb"),
+				writePartFile(".part-2-0", "cc"));
+
+		try (FileCompactingGlobalCommitter committer = createCommitter(6)) {
+			commit(committer, committables);
+		}
+
+		assertEquals(Arrays.asList("part-0-0", "part-2-0"), listFiles());
+		assertEquals("aa\nbb\n", readFile("part-0-0"));
+		assertEquals("cc\n", readFile("part-2-0"));
+	}
+
+	@Test
+	public void testCommitIsIdempotent() throws Exception {
+		List<FileSinkCommittable> committables = Arrays.asList(
+				writePartFile(".part-0-0", "a"),
+				writePartFile(".part-1-0", "b"));
+
+		try (FileCompactingGlobalCommitter committer = createCommitter(1024)) {
+			commit(committer, committables);
+			// e.g. the global committable is committed again after a failover
+			commit(committer, committables);
+		}
+
+		assertEquals(Collections.singletonList("part-0-0"), listFiles());
+		assertEquals("a\nb\n", readFile("part-0-0"));
+	}
+
+	@Test
+	public void testCommitVisiblePendingFileWithoutCompaction() throws Exception {
+		List<FileSinkCommittable> committables = Collections.singletonList(writePartFile("part-0-0", "a"));
+
+		try (FileCompactingGlobalCommitter committer = createCommitter(1024)) {
+			commit(committer, committables);
+		}
+
+		assertEquals(Collections.singletonList("part-0-0"), listFiles());
+		assertEquals("a\n", readFile("part-0-0"));
+	}
+
+	@Test
+	public void testGetCompactedPath() {
+		assertEquals(
+				new Path("/bucket/part-0-1.ext"),
+				FileCompactingGlobalCommitter.getCompactedPath(new Path("/bucket/.part-0-1.ext")));
+	}
+
+	// ------------------------------- Utilities --------------------------------
+
+	private FileCompactingGlobalCommitter createCommitter(long targetSize) {
+		return new FileCompactingGlobalCommitter(
+				bucketWriter,
+				FileCompactStrategy.Builder.newBuilder()
+						.setTargetSize(targetSize)
+						.setNumCompactThreads(2)
+						.build(),
+				new ConcatFileCompactor());
+	}
+
+	private static void commit(
+			FileCompactingGlobalCommitter committer,
+			List<FileSinkCommittable> committables) throws IOException {
+		FileSinkGlobalCommittable globalCommittable = committer.combine(committables);
+		List<FileSinkGlobalCommittable> toRetry = committer.commit(Collections.singletonList(globalCommittable));
+		assertTrue(toRetry.isEmpty());
+	}
+
+	private FileSinkCommittable committable(String name, long size) {
+		return new FileSinkCommittable(
+				new NoOpPendingFileRecoverable(),
+				new Path(bucketDir.getPath(), name),
+				size);
+	}
+
+	private FileSinkCommittable writePartFile(String name, String record) throws IOException {
+		Path path = new Path(bucketDir.getPath(), name);
+		InProgressFileWriter<String, String> writer = bucketWriter.openNewInProgressFile("bucket", path, 0L);
+		writer.write(record, 0L);
+		long size = writer.getSize();
+		return new FileSinkCommittable(writer.closeForCommit(), path, size);
+	}
+
+	private List<String> listFiles() {
+		List<String> files = new ArrayList<>(Arrays.asList(bucketDir.list()));
+		Collections.sort(files);
+		return files;
+	}
+
+	private String readFile(String name) throws IOException {
+		return new String(Files.readAllBytes(new File(bucketDir, name).toPath()), StandardCharsets.UTF_8);
+	}
+
+	private static class NoOpPendingFileRecoverable implements InProgressFileWriter.PendingFileRecoverable {
+	}
+}
@@ -228,13 +228,40 @@ public class FileSourceTextLinesITCase extends TestLogger {
 		testContinuousTextFileSource(FailoverType.JM);
 	}
 
+	/**
+	 * This test runs a job reading continuous input (files appearing over time)
+	 * with a stream record format (text lines) and incremental discovery.
+	 */
+	@Test
+	public void testContinuousTextFileSourceWithIncrementalDiscovery() throws Exception {
+		testContinuousTextFileSource(FailoverType.NONE, true);
+	}
+
+	/**
+	 * This test runs a job reading continuous input (files appearing over time)
+	 * with a stream record format (text lines) and incremental discovery, and triggers
+	 * JobManager failover.
+	 */
+	@Test
+	public void testContinuousTextFileSourceWithIncrementalDiscoveryAndJobManagerFailover() throws Exception {
+		testContinuousTextFileSource(FailoverType.JM, true);
+	}
+
 	private void testContinuousTextFileSource(FailoverType type) throws Exception {
+		testContinuousTextFileSource(type, false);
+	}
+
+	private void testContinuousTextFileSource(FailoverType type, boolean incrementalDiscovery) throws Exception {
 		final File testDir = TMP_FOLDER.newFolder();
 
-		final FileSource<String> source = FileSource
-			.forRecordStreamFormat(new TextLineFormat(), Path.fromLocalFile(testDir))
-			.monitorContinuously(Duration.ofMillis(5))
-			.build();
+		final FileSource.FileSourceBuilder<String> builder = FileSource
+			.forRecordStreamFormat(new TextLineFormat(), Path.fromLocalFile(testDir));
+		if (incrementalDiscovery) {
+			builder.monitorContinuouslyIncremental(Duration.ofMillis(5), 2, null);
+		} else {
+			builder.monitorContinuously(Duration.ofMillis(5));
+		}
+		final FileSource<String> source = builder.build();
 
 		final StreamExecutionEnvironment env = new TestStreamEnvironment(miniCluster, PARALLELISM);
 		env.setParallelism(PARALLELISM);
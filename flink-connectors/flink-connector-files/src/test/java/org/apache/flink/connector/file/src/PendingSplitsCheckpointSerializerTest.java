@@ -32,7 +32,10 @@ import java.util.Iterator;
 import java.util.function.BiConsumer;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Unit tests for the {@link FileSourceSplitSerializer}.
@@ -70,6 +73,28 @@ public class PendingSplitsCheckpointSerializerTest {
 		assertCheckpointsEqual(checkpoint, deSerialized);
 	}
 
+	@Test
+	public void serializeSplitsAndProcessedFileIndex() throws Exception {
+		final ProcessedFileIndex index = new ProcessedFileIndex();
+		index.markProcessed(new Path("file:/some/dir/file1"), 10L);
+		index.markProcessed(new Path("file:/some/dir/file2"), 20L);
+		index.markProcessed(new Path("s3://bucket/old/file"), 1L);
+		index.closeDirectories(5L);
+
+		final PendingSplitsCheckpoint<FileSourceSplit> checkpoint = PendingSplitsCheckpoint.fromCollectionSnapshot(
+				Arrays.asList(testSplit1(), testSplit2()), index);
+
+		final PendingSplitsCheckpoint<FileSourceSplit> deSerialized = serializeAndDeserialize(checkpoint);
+
+		assertCheckpointsEqual(checkpoint, deSerialized);
+		final ProcessedFileIndex deSerializedIndex = deSerialized.getProcessedFileIndex();
+		assertNotNull(deSerializedIndex);
+		assertTrue(deSerializedIndex.isProcessed(new Path("file:/some/dir/file1"), 10L));
+		assertTrue(deSerializedIndex.isProcessed(new Path("file:/some/dir/file2"), 20L));
+		assertFalse(deSerializedIndex.isProcessed(new Path("file:/some/dir/file3"), 30L));
+		assertEquals(Collections.singleton(new Path("s3://bucket/old")), deSerializedIndex.getClosedDirectories());
+	}
+
 	@Test
 	public void repeatedSerialization() throws Exception {
 		final PendingSplitsCheckpoint<FileSourceSplit> checkpoint = PendingSplitsCheckpoint.fromCollectionSnapshot(
@@ -0,0 +1,193 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.file.src;
+
+import org.apache.flink.core.fs.Path;
+import org.apache.flink.core.memory.DataInputDeserializer;
+import org.apache.flink.core.memory.DataOutputSerializer;
+
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the {@link ProcessedFileIndex}.
+ */
+public class ProcessedFileIndexTest {
+
+	@ClassRule
+	public static final TemporaryFolder TEMPORARY_FOLDER = new TemporaryFolder();
+
+	@Test
+	public void testMarkProcessed() {
+		final ProcessedFileIndex index = new ProcessedFileIndex();
+		final Path file = new Path("file:/dir/file1");
+
+		assertFalse(index.isProcessed(file, 10L));
+		assertTrue(index.markProcessed(file, 10L));
+		assertTrue(index.isProcessed(file, 10L));
+		assertFalse(index.markProcessed(file, 10L));
+
+		// the same name in another directory is a different file
+		assertFalse(index.isProcessed(new Path("file:/other/file1"), 10L));
+	}
+
+	@Test
+	public void testProcessedFileWithNewerModificationTimeIsNotProcessedAgain() {
+		final ProcessedFileIndex index = new ProcessedFileIndex();
+		final Path file = new Path("file:/dir/file1");
+		index.markProcessed(file, 10L);
+		index.markProcessed(new Path("file:/dir/file2"), 20L);
+
+		// e.g. a file which is appended to, or was still being written when it was discovered
+		assertTrue(index.isProcessed(file, 30L));
+		assertFalse(index.markProcessed(file, 30L));
+		assertTrue(index.isProcessed(file, 30L));
+
+		// files newer than the high-water mark are new unless they have been processed
+		assertFalse(index.isProcessed(new Path("file:/dir/file3"), 40L));
+		assertTrue(index.markProcessed(new Path("file:/dir/file3"), 40L));
+	}
+
+	@Test
+	public void testLateFilesOlderThanHighWaterMarkAreNew() {
+		final ProcessedFileIndex index = new ProcessedFileIndex();
+		index.markProcessed(new Path("file:/dir/file1"), 10L);
+		index.markProcessed(new Path("file:/dir/file2"), 20L);
+
+		// e.g. a file which has been renamed into the directory with its original modification time
+		assertFalse(index.isProcessed(new Path("file:/dir/file3"), 5L));
+	}
+
+	@Test
+	public void testProcessedFileIsRecognizedAfterCompaction() {
+		final ProcessedFileIndex index = new ProcessedFileIndex();
+		final Path file = new Path("file:/dir/file1");
+		index.markProcessed(file, 10L);
+		index.markProcessed(new Path("file:/dir/file2"), 100L);
+
+		// the name of the first file is moved into the bloom filter
+		assertEquals(0, index.closeDirectories(50L));
+		assertTrue(index.isProcessed(file, 10L));
+		assertTrue(index.isProcessed(new Path("file:/dir/file2"), 200L));
+
+		// a file which is modified after it fell behind the horizon is new
+		assertFalse(index.isProcessed(file, 200L));
+	}
+
+	@Test
+	public void testNoFalseNegativesWithManyFiles() {
+		final ProcessedFileIndex index = new ProcessedFileIndex();
+		final int numFiles = 100_000;
+		for (int i = 0; i < numFiles; i++) {
+			index.markProcessed(new Path("file:/dir/part-" + i), i);
+		}
+		// all but the newest 100 names are moved into the bloom filters
+		index.closeDirectories(100L);
+		for (int i = 0; i < numFiles; i++) {
+			assertTrue(index.isProcessed(new Path("file:/dir/part-" + i), i));
+		}
+
+		// late files behind the horizon are checked against the bloom filters
+		int falsePositives = 0;
+		for (int i = numFiles; i < 2 * numFiles; i++) {
+			if (index.isProcessed(new Path("file:/dir/part-" + i), 0L)) {
+				falsePositives++;
+			}
+		}
+		// the scalable bloom filter has a false positive probability below 0.0002
+		assertTrue("Too many false positives: " + falsePositives, falsePositives < 100);
+
+		// newer files are never mistaken for processed files
+		for (int i = numFiles; i < 2 * numFiles; i++) {
+			assertFalse(index.isProcessed(new Path("file:/dir/part-" + i), numFiles - 100));
+		}
+	}
+
+	@Test
+	public void testCloseDirectories() {
+		final ProcessedFileIndex index = new ProcessedFileIndex();
+		index.markProcessed(new Path("file:/data/2021-01-01/file1"), 1_000L);
+		index.markProcessed(new Path("file:/data/2021-01-02/file1"), 5_000L);
+		index.markProcessed(new Path("file:/data/2021-01-03/file1"), 9_000L);
+
+		assertEquals(1, index.closeDirectories(5_000L));
+
+		assertEquals(Collections.singleton(new Path("file:/data/2021-01-01")), index.getClosedDirectories());
+		assertEquals(2, index.getNumOpenDirectories());
+		// all files of a closed directory count as processed
+		assertTrue(index.isProcessed(new Path("file:/data/2021-01-01/file2"), 10_000L));
+		assertFalse(index.isProcessed(new Path("file:/data/2021-01-02/file2"), 10_000L));
+	}
+
+	@Test
+	public void testCopyIsIndependent() {
+		final ProcessedFileIndex index = new ProcessedFileIndex();
+		index.markProcessed(new Path("file:/dir/file1"), 10L);
+		final ProcessedFileIndex copy = index.copy();
+
+		index.markProcessed(new Path("file:/dir/file2"), 20L);
+
+		assertTrue(copy.isProcessed(new Path("file:/dir/file1"), 10L));
+		assertFalse(copy.isProcessed(new Path("file:/dir/file2"), 20L));
+	}
+
+	@Test
+	public void testSerialization() throws Exception {
+		final ProcessedFileIndex index = new ProcessedFileIndex();
+		for (int i = 0; i < 1000; i++) {
+			index.markProcessed(new Path("hdfs://namenode:1234/dir" + (i % 10) + "/file" + i), i);
+		}
+		index.closeDirectories(950L);
+
+		final DataOutputSerializer out = new DataOutputSerializer(64);
+		index.serialize(out);
+		final ProcessedFileIndex deserialized =
+				ProcessedFileIndex.deserialize(new DataInputDeserializer(out.getCopyOfBuffer()));
+
+		for (int i = 0; i < 1000; i++) {
+			assertTrue(deserialized.isProcessed(new Path("hdfs://namenode:1234/dir" + (i % 10) + "/file" + i), i));
+		}
+		assertEquals(index.getClosedDirectories(), deserialized.getClosedDirectories());
+		assertEquals(index.getNumOpenDirectories(), deserialized.getNumOpenDirectories());
+		assertEquals(index.toString(), deserialized.toString());
+	}
+
+	@Test
+	public void testFromProcessedPaths() throws Exception {
+		final File dir = TEMPORARY_FOLDER.newFolder();
+		final File file = new File(dir, "file1");
+		assertTrue(file.createNewFile());
+
+		final ProcessedFileIndex index = ProcessedFileIndex.fromProcessedPaths(Arrays.asList(
+				Path.fromLocalFile(file),
+				Path.fromLocalFile(new File(dir, "deleted"))));
+
+		assertTrue(index.isProcessed(Path.fromLocalFile(file), file.lastModified()));
+		assertEquals(1, index.getNumOpenDirectories());
+	}
+}
@@ -0,0 +1,202 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.file.src.impl;
+
+import org.apache.flink.connector.file.src.FileSourceSplit;
+import org.apache.flink.connector.file.src.PendingSplitsCheckpoint;
+import org.apache.flink.connector.file.src.ProcessedFileIndex;
+import org.apache.flink.connector.file.src.assigners.SimpleSplitAssigner;
+import org.apache.flink.connector.file.src.enumerate.NonSplittingRecursiveEnumerator;
+import org.apache.flink.connector.testutils.source.reader.TestingSplitEnumeratorContext;
+import org.apache.flink.core.fs.Path;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for the {@link IncrementalFileSplitEnumerator}.
+ */
+public class IncrementalFileSplitEnumeratorTest {
+
+	@Rule
+	public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private File baseDir;
+
+	@Before
+	public void setup() throws IOException {
+		baseDir = temporaryFolder.newFolder();
+	}
+
+	@Test
+	public void testDiscoverFilesInNestedDirectories() throws Exception {
+		createFile("2021-01-01/00/file1", 1_000L);
+		createFile("2021-01-01/01/file2", 2_000L);
+		createFile("2021-01-02/00/file3", 3_000L);
+		createFile("2021-01-02/_temporary/file4", 3_000L);
+		createFile("2021-01-02/00/.file5.inprogress", 3_000L);
+
+		final TestingSplitEnumeratorContext<FileSourceSplit> context = new TestingSplitEnumeratorContext<>(4);
+		final IncrementalFileSplitEnumerator enumerator = createEnumerator(context, new ProcessedFileIndex(), -1L);
+
+		context.triggerAllActions();
+
+		assertThat(splitFileNames(enumerator.snapshotState()), containsInAnyOrder("file1", "file2", "file3"));
+		enumerator.close();
+	}
+
+	@Test
+	public void testDiscoverOnlyNewFiles() throws Exception {
+		createFile("dir/file1", 1_000L);
+
+		final TestingSplitEnumeratorContext<FileSourceSplit> context = new TestingSplitEnumeratorContext<>(4);
+		final IncrementalFileSplitEnumerator enumerator = createEnumerator(context, new ProcessedFileIndex(), -1L);
+
+		// assign the first file to a reader
+		context.triggerAllActions();
+		context.registerReader(1, "localhost");
+		enumerator.handleSplitRequest(1, "localhost");
+		assertThat(enumerator.snapshotState().getSplits(), empty());
+
+		// a new file and a late file, which is older than the first one
+		createFile("dir/file2", 2_000L);
+		createFile("dir/file3", 500L);
+		context.triggerAllActions();
+
+		assertThat(splitFileNames(enumerator.snapshotState()), containsInAnyOrder("file2", "file3"));
+		enumerator.close();
+	}
+
+	@Test
+	public void testModifiedFilesAreNotDiscoveredAgain() throws Exception {
+		final File file1 = createFile("dir/file1", 1_000L);
+
+		final TestingSplitEnumeratorContext<FileSourceSplit> context = new TestingSplitEnumeratorContext<>(4);
+		final IncrementalFileSplitEnumerator enumerator = createEnumerator(context, new ProcessedFileIndex(), -1L);
+		context.triggerAllActions();
+		context.registerReader(1, "localhost");
+		enumerator.handleSplitRequest(1, "localhost");
+		assertThat(enumerator.snapshotState().getSplits(), empty());
+
+		// the processed file is appended to after it was discovered
+		assertTrue(file1.setLastModified(5_000L));
+		createFile("dir/file2", 2_000L);
+		context.triggerAllActions();
+
+		assertThat(splitFileNames(enumerator.snapshotState()), containsInAnyOrder("file2"));
+		enumerator.close();
+	}
+
+	@Test
+	public void testCloseDirectoriesBehindHorizon() throws Exception {
+		createFile("2021-01-01/file1", 1_000L);
+		createFile("2021-01-02/file2", 10_000L);
+
+		final TestingSplitEnumeratorContext<FileSourceSplit> context = new TestingSplitEnumeratorContext<>(4);
+		final IncrementalFileSplitEnumerator enumerator = createEnumerator(context, new ProcessedFileIndex(), 5_000L);
+		context.triggerAllActions();
+
+		final PendingSplitsCheckpoint<FileSourceSplit> checkpoint = enumerator.snapshotState();
+		assertThat(splitFileNames(checkpoint), containsInAnyOrder("file1", "file2"));
+		final ProcessedFileIndex index = checkpoint.getProcessedFileIndex();
+		assertNotNull(index);
+		assertEquals(1, index.getClosedDirectories().size());
+		assertEquals("2021-01-01", index.getClosedDirectories().iterator().next().getName());
+
+		// files in the closed directory are ignored
+		createFile("2021-01-01/file3", 11_000L);
+		createFile("2021-01-02/file4", 11_000L);
+		context.triggerAllActions();
+
+		assertThat(splitFileNames(enumerator.snapshotState()), containsInAnyOrder("file1", "file2", "file4"));
+		enumerator.close();
+	}
+
+	@Test
+	public void testRestoreFromProcessedFileIndex() throws Exception {
+		createFile("dir/file1", 1_000L);
+
+		final TestingSplitEnumeratorContext<FileSourceSplit> context = new TestingSplitEnumeratorContext<>(4);
+		final IncrementalFileSplitEnumerator enumerator = createEnumerator(context, new ProcessedFileIndex(), -1L);
+		context.triggerAllActions();
+		final ProcessedFileIndex index = enumerator.snapshotState().getProcessedFileIndex();
+		assertNotNull(index);
+		enumerator.close();
+
+		createFile("dir/file2", 2_000L);
+
+		final TestingSplitEnumeratorContext<FileSourceSplit> restoredContext = new TestingSplitEnumeratorContext<>(4);
+		final IncrementalFileSplitEnumerator restored = createEnumerator(restoredContext, index, -1L);
+		restoredContext.triggerAllActions();
+
+		assertThat(splitFileNames(restored.snapshotState()), containsInAnyOrder("file2"));
+		restored.close();
+	}
+
+	// ------------------------------------------------------------------------
+	//  test setup helpers
+	// ------------------------------------------------------------------------
+
+	private File createFile(String relativePath, long modificationTime) throws IOException {
+		final File file = new File(baseDir, relativePath);
+		assertTrue(file.getParentFile().isDirectory() || file.getParentFile().mkdirs());
+		assertTrue(file.createNewFile());
+		assertTrue(file.setLastModified(modificationTime));
+		return file;
+	}
+
+	private static List<String> splitFileNames(PendingSplitsCheckpoint<FileSourceSplit> checkpoint) {
+		final Collection<FileSourceSplit> splits = checkpoint.getSplits();
+		return splits.stream().map(split -> split.path().getName()).collect(Collectors.toList());
+	}
+
+	private IncrementalFileSplitEnumerator createEnumerator(
+			TestingSplitEnumeratorContext<FileSourceSplit> context,
+			ProcessedFileIndex index,
+			long directoryHorizon) {
+
+		final IncrementalFileSplitEnumerator enumerator = new IncrementalFileSplitEnumerator(
+				context,
+				new NonSplittingRecursiveEnumerator(),
+				new SimpleSplitAssigner(Collections.emptyList()),
+				new Path[] { Path.fromLocalFile(baseDir) },
+				index,
+				10L,
+				2,
+				directoryHorizon);
+		enumerator.start();
+		return enumerator;
+	}
+}
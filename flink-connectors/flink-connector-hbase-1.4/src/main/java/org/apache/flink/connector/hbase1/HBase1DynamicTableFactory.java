@@ -21,6 +21,7 @@ package org.apache.flink.connector.hbase1;
 import org.apache.flink.configuration.ConfigOption;
 import org.apache.flink.configuration.ConfigOptions;
 import org.apache.flink.configuration.MemorySize;
+import org.apache.flink.connector.hbase.options.HBaseLookupOptions;
 import org.apache.flink.connector.hbase.options.HBaseWriteOptions;
 import org.apache.flink.connector.hbase.util.HBaseConfigurationUtil;
 import org.apache.flink.connector.hbase.util.HBaseTableSchema;
@@ -101,6 +102,49 @@ public class HBase1DynamicTableFactory implements DynamicTableSourceFactory, Dyn
 			"Can be set to '0' to disable it. Note, both 'sink.buffer-flush.max-size' and 'sink.buffer-flush.max-rows' " +
 			"can be set to '0' with the flush interval set allowing for complete async processing of buffered actions.");
 
+	private static final ConfigOption<Boolean> SINK_REGION_AWARE = ConfigOptions
+		.key("sink.region-aware")
+		.booleanType()
+		.defaultValue(false)
+		.withDescription("Writing option, whether to buffer rows per region server and send the " +
+			"buffer of each region server as a separate batch sorted by row key. " +
+			"'sink.buffer-flush.max-size' then applies to the buffer of each region server.");
+
+	private static final ConfigOption<MemorySize> SINK_REGION_AWARE_MAX_IN_FLIGHT_SIZE = ConfigOptions
+		.key("sink.region-aware.max-in-flight-size")
+		.memoryType()
+		.defaultValue(MemorySize.parse("16mb"))
+		.withDescription("Writing option, maximum size of rows in flight per region server when " +
+			"'sink.region-aware' is enabled. Writing blocks once the limit is reached. " +
+			"Can be set to '0' to disable it.");
+
+	private static final ConfigOption<Boolean> LOOKUP_ASYNC = ConfigOptions
+		.key("lookup.async")
+		.booleanType()
+		.defaultValue(false)
+		.withDescription("Lookup option, whether to look up rows asynchronously. Concurrent lookups " +
+			"are batched and each batch is sent as one multi-get per region server.");
+
+	private static final ConfigOption<Integer> LOOKUP_ASYNC_BATCH_SIZE = ConfigOptions
+		.key("lookup.async.batch-size")
+		.intType()
+		.defaultValue(100)
+		.withDescription("Lookup option, maximum number of row keys of an asynchronous lookup batch.");
+
+	private static final ConfigOption<Duration> LOOKUP_ASYNC_BATCH_WINDOW = ConfigOptions
+		.key("lookup.async.batch-window")
+		.durationType()
+		.defaultValue(Duration.ofMillis(5))
+		.withDescription("Lookup option, how long an asynchronous lookup batch waits for more row keys " +
+			"after its first row key. Can be set to '0' to send every row key on its own.");
+
+	private static final ConfigOption<Integer> LOOKUP_ASYNC_THREADS = ConfigOptions
+		.key("lookup.async.threads")
+		.intType()
+		.defaultValue(8)
+		.withDescription("Lookup option, number of threads which send the multi-gets of asynchronous " +
+			"lookups concurrently.");
+
 	@Override
 	public DynamicTableSource createDynamicTableSource(Context context) {
 		TableFactoryHelper helper = createTableFactoryHelper(this, context);
@@ -120,7 +164,8 @@ public class HBase1DynamicTableFactory implements DynamicTableSourceFactory, Dyn
 			hbaseClientConf,
 			hTableName,
 			hbaseSchema,
-			nullStringLiteral);
+			nullStringLiteral,
+			getLookupOptions(helper));
 	}
 
 	@Override
@@ -140,6 +185,8 @@ public class HBase1DynamicTableFactory implements DynamicTableSourceFactory, Dyn
 		writeBuilder.setBufferFlushIntervalMillis(helper.getOptions().get(SINK_BUFFER_FLUSH_INTERVAL).toMillis());
 		writeBuilder.setBufferFlushMaxRows(helper.getOptions().get(SINK_BUFFER_FLUSH_MAX_ROWS));
 		writeBuilder.setParallelism(helper.getOptions().getOptional(SINK_PARALLELISM).orElse(null));
+		writeBuilder.setRegionAware(helper.getOptions().get(SINK_REGION_AWARE));
+		writeBuilder.setMaxInFlightBytesPerServer(helper.getOptions().get(SINK_REGION_AWARE_MAX_IN_FLIGHT_SIZE).getBytes());
 		String nullStringLiteral = helper.getOptions().get(NULL_STRING_LITERAL);
 		HBaseTableSchema hbaseSchema = HBaseTableSchema.fromTableSchema(tableSchema);
 
@@ -172,11 +219,26 @@ public class HBase1DynamicTableFactory implements DynamicTableSourceFactory, Dyn
 		set.add(SINK_BUFFER_FLUSH_MAX_ROWS);
 		set.add(SINK_BUFFER_FLUSH_INTERVAL);
 		set.add(SINK_PARALLELISM);
+		set.add(SINK_REGION_AWARE);
+		set.add(SINK_REGION_AWARE_MAX_IN_FLIGHT_SIZE);
+		set.add(LOOKUP_ASYNC);
+		set.add(LOOKUP_ASYNC_BATCH_SIZE);
+		set.add(LOOKUP_ASYNC_BATCH_WINDOW);
+		set.add(LOOKUP_ASYNC_THREADS);
 		return set;
 	}
 
 	// ------------------------------------------------------------------------------------------
 
+	private static HBaseLookupOptions getLookupOptions(TableFactoryHelper helper) {
+		return HBaseLookupOptions.builder()
+			.setAsyncLookup(helper.getOptions().get(LOOKUP_ASYNC))
+			.setAsyncBatchSize(helper.getOptions().get(LOOKUP_ASYNC_BATCH_SIZE))
+			.setAsyncBatchWindowMillis(helper.getOptions().get(LOOKUP_ASYNC_BATCH_WINDOW).toMillis())
+			.setAsyncThreads(helper.getOptions().get(LOOKUP_ASYNC_THREADS))
+			.build();
+	}
+
 	/**
 	 * Checks that the HBase table have row key defined. A row key is defined as an atomic type,
 	 * and column families and qualifiers are defined as ROW type. There shouldn't be multiple
@@ -446,8 +446,80 @@ public class HBaseConnectorITCase extends HBaseTestBase {
 		assertEquals(expected, result);
 	}
 
+	@Test
+	public void testTableSinkWithRegionAwareFlush() throws Exception {
+		if (isLegacyConnector) {
+			// region-aware flushing is only supported by the new connector
+			return;
+		}
+
+		StreamExecutionEnvironment execEnv = StreamExecutionEnvironment.getExecutionEnvironment();
+		StreamTableEnvironment tEnv = StreamTableEnvironment.create(execEnv, streamSettings);
+
+		// register HBase table testTable1 which contains test data
+		String table1DDL = createHBaseTableDDL(TEST_TABLE_1, false);
+		tEnv.executeSql(table1DDL);
+
+		// a small flush size and in-flight limit, so that several batches are sent
+		String table2DDL = createHBaseTableDDL(
+			TEST_TABLE_2,
+			false,
+			"   'sink.region-aware' = 'true',\n" +
+			"   'sink.region-aware.max-in-flight-size' = '1kb',\n" +
+			"   'sink.buffer-flush.max-size' = '512b',\n");
+		tEnv.executeSql(table2DDL);
+
+		String query = "INSERT INTO " + TEST_TABLE_2 + " SELECT" +
+			" rowkey," +
+			" family1," +
+			" family2," +
+			" family3" +
+			" FROM " + TEST_TABLE_1;
+
+		tEnv.executeSql(query).await();
+
+		// start a batch scan job to verify contents in HBase table
+		TableEnvironment batchEnv = createBatchTableEnv();
+		batchEnv.executeSql(createHBaseTableDDL(TEST_TABLE_2, false));
+
+		Table table = batchEnv.sqlQuery(
+			"SELECT " +
+				"  h.rowkey, " +
+				"  h.family1.col1, " +
+				"  h.family2.col1, " +
+				"  h.family2.col2, " +
+				"  h.family3.col1, " +
+				"  h.family3.col2, " +
+				"  h.family3.col3 " +
+				"FROM " + TEST_TABLE_2 + " AS h"
+		);
+		List<Row> results = CollectionUtil.iteratorToList(table.execute().collect());
+		String expected =
+				"1,10,Hello-1,100,1.01,false,Welt-1\n" +
+				"2,20,Hello-2,200,2.02,true,Welt-2\n" +
+				"3,30,Hello-3,300,3.03,false,Welt-3\n" +
+				"4,40,null,400,4.04,true,Welt-4\n" +
+				"5,50,Hello-5,500,5.05,false,Welt-5\n" +
+				"6,60,Hello-6,600,6.06,true,Welt-6\n" +
+				"7,70,Hello-7,700,7.07,false,Welt-7\n" +
+				"8,80,null,800,8.08,true,Welt-8\n";
+
+		TestBaseUtils.compareResultAsText(results, expected);
+	}
+
 	@Test
 	public void testHBaseLookupTableSource() {
+		verifyHBaseLookupJoin("");
+	}
+
+	@Test
+	public void testHBaseAsyncLookupTableSource() {
+		verifyHBaseLookupJoin(
+			" 'lookup.async' = 'true'," +
+			" 'lookup.async.batch-size' = '2',");
+	}
+
+	private void verifyHBaseLookupJoin(String extraOptions) {
 		if (OLD_PLANNER.equals(planner) || isLegacyConnector) {
 			// lookup table source is only supported in blink planner, skip for old planner
 			// types TIMESTAMP/DATE/TIME/DECIMAL works well in new connector, skip legacy connector
@@ -468,6 +540,7 @@ public class HBaseConnectorITCase extends HBaseTestBase {
 				") WITH (" +
 				" 'connector' = 'hbase-1.4'," +
 				" 'table-name' = '" + TEST_TABLE_1 + "'," +
+				extraOptions +
 				" 'zookeeper.quorum' = '" + getZookeeperQuorum() + "'" +
 				")");
 
@@ -605,6 +678,13 @@ public class HBaseConnectorITCase extends HBaseTestBase {
 	}
 
 	private String createHBaseTableDDL(String tableName, boolean testTimeAndDecimalTypes) {
+		return createHBaseTableDDL(tableName, testTimeAndDecimalTypes, "");
+	}
+
+	/**
+	 * @param extraOptions additional table options of the new connector, each followed by a comma
+	 */
+	private String createHBaseTableDDL(String tableName, boolean testTimeAndDecimalTypes, String extraOptions) {
 		StringBuilder family4Statement = new StringBuilder();
 		if (testTimeAndDecimalTypes) {
 			family4Statement.append(", family4 ROW<col1 TIMESTAMP(3)");
@@ -637,6 +717,7 @@ public class HBaseConnectorITCase extends HBaseTestBase {
 				") WITH (\n" +
 				"   'connector' = 'hbase-1.4',\n" +
 				"   'table-name' = '" + tableName + "',\n" +
+				extraOptions +
 				"   'zookeeper.quorum' = '" + getZookeeperQuorum() + "',\n" +
 				"   'zookeeper.znode.parent' = '/hbase' " +
 				")";
@@ -66,7 +66,9 @@ public class HBaseDynamicTableSink implements DynamicTableSink {
 			new RowDataToMutationConverter(hbaseTableSchema, nullStringLiteral),
 			writeOptions.getBufferFlushMaxSizeInBytes(),
 			writeOptions.getBufferFlushMaxRows(),
-			writeOptions.getBufferFlushIntervalMillis());
+			writeOptions.getBufferFlushIntervalMillis(),
+			writeOptions.isRegionAware(),
+			writeOptions.getMaxInFlightBytesPerServer());
 		return SinkFunctionProvider.of(sinkFunction, writeOptions.getParallelism());
 	}
 
@@ -20,7 +20,9 @@ package org.apache.flink.connector.hbase2;
 
 import org.apache.flink.api.common.typeinfo.Types;
 import org.apache.flink.configuration.Configuration;
+import org.apache.flink.connector.hbase.options.HBaseLookupOptions;
 import org.apache.flink.connector.hbase.options.HBaseWriteOptions;
+import org.apache.flink.connector.hbase.source.HBaseRowDataAsyncLookupFunction;
 import org.apache.flink.connector.hbase.source.HBaseRowDataLookupFunction;
 import org.apache.flink.connector.hbase.util.HBaseTableSchema;
 import org.apache.flink.connector.hbase2.sink.HBaseDynamicTableSink;
@@ -30,10 +32,12 @@ import org.apache.flink.table.catalog.CatalogTableImpl;
 import org.apache.flink.table.catalog.ObjectIdentifier;
 import org.apache.flink.table.connector.sink.DynamicTableSink;
 import org.apache.flink.table.connector.sink.SinkFunctionProvider;
+import org.apache.flink.table.connector.source.AsyncTableFunctionProvider;
 import org.apache.flink.table.connector.source.DynamicTableSource;
 import org.apache.flink.table.connector.source.LookupTableSource;
 import org.apache.flink.table.connector.source.TableFunctionProvider;
 import org.apache.flink.table.factories.FactoryUtil;
+import org.apache.flink.table.functions.AsyncTableFunction;
 import org.apache.flink.table.functions.TableFunction;
 import org.apache.flink.table.runtime.connector.sink.SinkRuntimeProviderContext;
 import org.apache.flink.table.runtime.connector.source.LookupRuntimeProviderContext;
@@ -241,6 +245,64 @@ public class HBaseDynamicTableFactoryTest {
 		assertEquals(expected, actual);
 	}
 
+	@Test
+	public void testAsyncLookupOptions() {
+		Map<String, String> options = getAllOptions();
+		options.put("lookup.async", "true");
+		options.put("lookup.async.batch-size", "50");
+		options.put("lookup.async.batch-window", "20ms");
+		options.put("lookup.async.threads", "4");
+
+		TableSchema schema = TableSchema.builder()
+			.field(ROWKEY, STRING())
+			.field(FAMILY1, ROW(FIELD(COL1, DOUBLE())))
+			.build();
+
+		DynamicTableSource source = createTableSource(schema, options);
+		HBaseLookupOptions expected = HBaseLookupOptions.builder()
+			.setAsyncLookup(true)
+			.setAsyncBatchSize(50)
+			.setAsyncBatchWindowMillis(20)
+			.setAsyncThreads(4)
+			.build();
+		HBaseDynamicTableSource hbaseSource = (HBaseDynamicTableSource) source;
+		assertEquals(expected, hbaseSource.getLookupOptions());
+
+		int[][] lookupKey = {{0}};
+		LookupTableSource.LookupRuntimeProvider lookupProvider = hbaseSource
+			.getLookupRuntimeProvider(new LookupRuntimeProviderContext(lookupKey));
+		assertTrue(lookupProvider instanceof AsyncTableFunctionProvider);
+
+		AsyncTableFunction asyncTableFunction =
+			((AsyncTableFunctionProvider) lookupProvider).createAsyncTableFunction();
+		assertTrue(asyncTableFunction instanceof HBaseRowDataAsyncLookupFunction);
+		assertEquals(
+			"testHBastTable",
+			((HBaseRowDataAsyncLookupFunction) asyncTableFunction).getHTableName());
+	}
+
+	@Test
+	public void testRegionAwareSinkOptions() {
+		Map<String, String> options = getAllOptions();
+		options.put("sink.region-aware", "true");
+		options.put("sink.region-aware.max-in-flight-size", "4mb");
+
+		TableSchema schema = TableSchema.builder()
+			.field(ROWKEY, STRING())
+			.build();
+
+		DynamicTableSink sink = createTableSink(schema, options);
+		HBaseWriteOptions expected = HBaseWriteOptions.builder()
+			.setBufferFlushMaxRows(1000)
+			.setBufferFlushIntervalMillis(1000)
+			.setBufferFlushMaxSizeInBytes(2 * 1024 * 1024)
+			.setRegionAware(true)
+			.setMaxInFlightBytesPerServer(4 * 1024 * 1024)
+			.build();
+		HBaseWriteOptions actual = ((HBaseDynamicTableSink) sink).getWriteOptions();
+		assertEquals(expected, actual);
+	}
+
 	@Test
 	public void testUnknownOption() {
 		Map<String, String> options = getAllOptions();
@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.hbase.options;
+
+import org.apache.flink.annotation.Internal;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Options for HBase lookup.
+ */
+@Internal
+public class HBaseLookupOptions implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private final boolean asyncLookup;
+	private final int asyncBatchSize;
+	private final long asyncBatchWindowMillis;
+	private final int asyncThreads;
+
+	private HBaseLookupOptions(
+			boolean asyncLookup,
+			int asyncBatchSize,
+			long asyncBatchWindowMillis,
+			int asyncThreads) {
+		this.asyncLookup = asyncLookup;
+		this.asyncBatchSize = asyncBatchSize;
+		this.asyncBatchWindowMillis = asyncBatchWindowMillis;
+		this.asyncThreads = asyncThreads;
+	}
+
+	public boolean isAsyncLookup() {
+		return asyncLookup;
+	}
+
+	public int getAsyncBatchSize() {
+		return asyncBatchSize;
+	}
+
+	public long getAsyncBatchWindowMillis() {
+		return asyncBatchWindowMillis;
+	}
+
+	public int getAsyncThreads() {
+		return asyncThreads;
+	}
+
+	@Override
+	public String toString() {
+		return "HBaseLookupOptions{" +
+			"asyncLookup=" + asyncLookup +
+			", asyncBatchSize=" + asyncBatchSize +
+			", asyncBatchWindowMillis=" + asyncBatchWindowMillis +
+			", asyncThreads=" + asyncThreads +
+			'}';
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (o == null || getClass() != o.getClass()) {
+			return false;
+		}
+		HBaseLookupOptions that = (HBaseLookupOptions) o;
+		return asyncLookup == that.asyncLookup &&
+			asyncBatchSize == that.asyncBatchSize &&
+			asyncBatchWindowMillis == that.asyncBatchWindowMillis &&
+			asyncThreads == that.asyncThreads;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(asyncLookup, asyncBatchSize, asyncBatchWindowMillis, asyncThreads);
+	}
+
+	/**
+	 * Creates a builder for {@link HBaseLookupOptions}.
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Builder for {@link HBaseLookupOptions}.
+	 */
+	public static class Builder {
+
+		private boolean asyncLookup = false;
+		private int asyncBatchSize = 100;
+		private long asyncBatchWindowMillis = 5L;
+		private int asyncThreads = 8;
+
+		/**
+		 * Optional. Sets whether lookups are executed asynchronously in batches of multi-gets.
+		 * Defaults to <code>false</code>.
+		 */
+		public Builder setAsyncLookup(boolean asyncLookup) {
+			this.asyncLookup = asyncLookup;
+			return this;
+		}
+
+		/**
+		 * Optional. Sets the maximum number of keys of an asynchronous lookup batch.
+		 * Defaults to <code>100</code>.
+		 */
+		public Builder setAsyncBatchSize(int asyncBatchSize) {
+			this.asyncBatchSize = asyncBatchSize;
+			return this;
+		}
+
+		/**
+		 * Optional. Sets how long an asynchronous lookup batch waits for more keys after its first
+		 * key, in milliseconds. Defaults to <code>5</code>.
+		 */
+		public Builder setAsyncBatchWindowMillis(long asyncBatchWindowMillis) {
+			this.asyncBatchWindowMillis = asyncBatchWindowMillis;
+			return this;
+		}
+
+		/**
+		 * Optional. Sets the number of threads which send the multi-gets of asynchronous lookups
+		 * concurrently. Defaults to <code>8</code>.
+		 */
+		public Builder setAsyncThreads(int asyncThreads) {
+			this.asyncThreads = asyncThreads;
+			return this;
+		}
+
+		/**
+		 * Creates a new instance of {@link HBaseLookupOptions}.
+		 */
+		public HBaseLookupOptions build() {
+			return new HBaseLookupOptions(asyncLookup, asyncBatchSize, asyncBatchWindowMillis, asyncThreads);
+		}
+	}
+}
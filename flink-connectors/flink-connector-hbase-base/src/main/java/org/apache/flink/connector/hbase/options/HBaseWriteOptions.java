@@ -37,16 +37,22 @@ public class HBaseWriteOptions implements Serializable {
 	private final long bufferFlushMaxRows;
 	private final long bufferFlushIntervalMillis;
 	private final Integer parallelism;
+	private final boolean regionAware;
+	private final long maxInFlightBytesPerServer;
 
 	private HBaseWriteOptions(
 			long bufferFlushMaxSizeInBytes,
 			long bufferFlushMaxMutations,
 			long bufferFlushIntervalMillis,
-			Integer parallelism) {
+			Integer parallelism,
+			boolean regionAware,
+			long maxInFlightBytesPerServer) {
 		this.bufferFlushMaxSizeInBytes = bufferFlushMaxSizeInBytes;
 		this.bufferFlushMaxRows = bufferFlushMaxMutations;
 		this.bufferFlushIntervalMillis = bufferFlushIntervalMillis;
 		this.parallelism = parallelism;
+		this.regionAware = regionAware;
+		this.maxInFlightBytesPerServer = maxInFlightBytesPerServer;
 	}
 
 	public long getBufferFlushMaxSizeInBytes() {
@@ -65,6 +71,14 @@ public class HBaseWriteOptions implements Serializable {
 		return parallelism;
 	}
 
+	public boolean isRegionAware() {
+		return regionAware;
+	}
+
+	public long getMaxInFlightBytesPerServer() {
+		return maxInFlightBytesPerServer;
+	}
+
 	@Override
 	public String toString() {
 		return "HBaseWriteOptions{" +
@@ -72,6 +86,8 @@ public class HBaseWriteOptions implements Serializable {
 			", bufferFlushMaxRows=" + bufferFlushMaxRows +
 			", bufferFlushIntervalMillis=" + bufferFlushIntervalMillis +
 			", parallelism=" + parallelism +
+			", regionAware=" + regionAware +
+			", maxInFlightBytesPerServer=" + maxInFlightBytesPerServer +
 			'}';
 	}
 
@@ -87,12 +103,20 @@ public class HBaseWriteOptions implements Serializable {
 		return bufferFlushMaxSizeInBytes == that.bufferFlushMaxSizeInBytes &&
 			bufferFlushMaxRows == that.bufferFlushMaxRows &&
 			bufferFlushIntervalMillis == that.bufferFlushIntervalMillis &&
-			parallelism == that.parallelism;
+			parallelism == that.parallelism &&
+			regionAware == that.regionAware &&
+			maxInFlightBytesPerServer == that.maxInFlightBytesPerServer;
 	}
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(bufferFlushMaxSizeInBytes, bufferFlushMaxRows, bufferFlushIntervalMillis, parallelism);
+		return Objects.hash(
+			bufferFlushMaxSizeInBytes,
+			bufferFlushMaxRows,
+			bufferFlushIntervalMillis,
+			parallelism,
+			regionAware,
+			maxInFlightBytesPerServer);
 	}
 
 	/**
@@ -111,6 +135,8 @@ public class HBaseWriteOptions implements Serializable {
 		private long bufferFlushMaxRows = 0;
 		private long bufferFlushIntervalMillis = 0;
 		private Integer parallelism;
+		private boolean regionAware = false;
+		private long maxInFlightBytesPerServer = 16 * 1024 * 1024;
 
 		/**
 		 * Optional. Sets when to flush a buffered request based on the memory size of rows currently added.
@@ -148,6 +174,24 @@ public class HBaseWriteOptions implements Serializable {
 			return this;
 		}
 
+		/**
+		 * Optional. Sets whether mutations are buffered and sent per region server instead of through
+		 * a single {@link org.apache.hadoop.hbase.client.BufferedMutator}. Defaults to false.
+		 */
+		public Builder setRegionAware(boolean regionAware) {
+			this.regionAware = regionAware;
+			return this;
+		}
+
+		/**
+		 * Optional. Sets the maximum number of bytes in flight per region server in region-aware mode.
+		 * Defaults to <code>16mb</code>, can be set to <code>0</code> to not limit the bytes in flight.
+		 */
+		public Builder setMaxInFlightBytesPerServer(long maxInFlightBytesPerServer) {
+			this.maxInFlightBytesPerServer = maxInFlightBytesPerServer;
+			return this;
+		}
+
 		/**
 		 * Creates a new instance of {@link HBaseWriteOptions}.
 		 */
@@ -156,7 +200,9 @@ public class HBaseWriteOptions implements Serializable {
 				bufferFlushMaxSizeInBytes,
 				bufferFlushMaxRows,
 				bufferFlushIntervalMillis,
-				parallelism);
+				parallelism,
+				regionAware,
+				maxInFlightBytesPerServer);
 		}
 	}
 }
@@ -34,6 +34,7 @@ import org.apache.hadoop.hbase.TableNotFoundException;
 import org.apache.hadoop.hbase.client.BufferedMutator;
 import org.apache.hadoop.hbase.client.BufferedMutatorParams;
 import org.apache.hadoop.hbase.client.Connection;
+import org.apache.hadoop.hbase.client.ConnectionConfiguration;
 import org.apache.hadoop.hbase.client.ConnectionFactory;
 import org.apache.hadoop.hbase.client.RetriesExhaustedWithDetailsException;
 import org.slf4j.Logger;
@@ -54,6 +55,10 @@ import java.util.concurrent.atomic.AtomicReference;
  * {@link org.apache.hadoop.hbase.client.Mutation Mutations} before sending the requests to cluster.
  * The buffering strategy can be configured by {@code bufferFlushMaxSizeInBytes},
  * {@code bufferFlushMaxMutations} and {@code bufferFlushIntervalMillis}.</p>
+ *
+ * <p>In region-aware mode, the mutations are buffered per region server by a
+ * {@link RegionAwareMutationBuffer} instead, and {@code bufferFlushMaxSizeInBytes} applies to the
+ * buffer of each region server.</p>
  */
 @Internal
 public class HBaseSinkFunction<T>
@@ -69,10 +74,13 @@ public class HBaseSinkFunction<T>
 	private final long bufferFlushMaxSizeInBytes;
 	private final long bufferFlushMaxMutations;
 	private final long bufferFlushIntervalMillis;
+	private final boolean regionAware;
+	private final long maxInFlightBytesPerServer;
 	private final HBaseMutationConverter<T> mutationConverter;
 
 	private transient Connection connection;
 	private transient BufferedMutator mutator;
+	private transient RegionAwareMutationBuffer regionAwareBuffer;
 
 	private transient ScheduledExecutorService executor;
 	private transient ScheduledFuture scheduledFuture;
@@ -95,6 +103,26 @@ public class HBaseSinkFunction<T>
 			long bufferFlushMaxSizeInBytes,
 			long bufferFlushMaxMutations,
 			long bufferFlushIntervalMillis) {
+		this(
+			hTableName,
+			conf,
+			mutationConverter,
+			bufferFlushMaxSizeInBytes,
+			bufferFlushMaxMutations,
+			bufferFlushIntervalMillis,
+			false,
+			0);
+	}
+
+	public HBaseSinkFunction(
+			String hTableName,
+			org.apache.hadoop.conf.Configuration conf,
+			HBaseMutationConverter<T> mutationConverter,
+			long bufferFlushMaxSizeInBytes,
+			long bufferFlushMaxMutations,
+			long bufferFlushIntervalMillis,
+			boolean regionAware,
+			long maxInFlightBytesPerServer) {
 		this.hTableName = hTableName;
 		// Configuration is not serializable
 		this.serializedConfig = HBaseConfigurationUtil.serializeConfiguration(conf);
@@ -102,6 +130,8 @@ public class HBaseSinkFunction<T>
 		this.bufferFlushMaxSizeInBytes = bufferFlushMaxSizeInBytes;
 		this.bufferFlushMaxMutations = bufferFlushMaxMutations;
 		this.bufferFlushIntervalMillis = bufferFlushIntervalMillis;
+		this.regionAware = regionAware;
+		this.maxInFlightBytesPerServer = maxInFlightBytesPerServer;
 	}
 
 	@Override
@@ -115,13 +145,23 @@ public class HBaseSinkFunction<T>
 			if (null == connection) {
 				this.connection = ConnectionFactory.createConnection(config);
 			}
-			// create a parameter instance, set the table name and custom listener reference.
-			BufferedMutatorParams params = new BufferedMutatorParams(TableName.valueOf(hTableName))
-				.listener(this);
-			if (bufferFlushMaxSizeInBytes > 0) {
-				params.writeBufferSize(bufferFlushMaxSizeInBytes);
+			if (regionAware) {
+				this.regionAwareBuffer = new RegionAwareMutationBuffer(
+					connection,
+					TableName.valueOf(hTableName),
+					bufferFlushMaxSizeInBytes > 0 ?
+						bufferFlushMaxSizeInBytes : ConnectionConfiguration.WRITE_BUFFER_SIZE_DEFAULT,
+					maxInFlightBytesPerServer,
+					t -> failureThrowable.compareAndSet(null, t));
+			} else {
+				// create a parameter instance, set the table name and custom listener reference.
+				BufferedMutatorParams params = new BufferedMutatorParams(TableName.valueOf(hTableName))
+					.listener(this);
+				if (bufferFlushMaxSizeInBytes > 0) {
+					params.writeBufferSize(bufferFlushMaxSizeInBytes);
+				}
+				this.mutator = connection.getBufferedMutator(params);
 			}
-			this.mutator = connection.getBufferedMutator(params);
 
 			if (bufferFlushIntervalMillis > 0 && bufferFlushMaxMutations != 1) {
 				this.executor = Executors.newScheduledThreadPool(
@@ -176,7 +216,11 @@ public class HBaseSinkFunction<T>
 	public void invoke(T value, Context context) throws Exception {
 		checkErrorAndRethrow();
 
-		mutator.mutate(mutationConverter.convertToMutation(value));
+		if (regionAwareBuffer != null) {
+			regionAwareBuffer.add(mutationConverter.convertToMutation(value));
+		} else {
+			mutator.mutate(mutationConverter.convertToMutation(value));
+		}
 
 		// flush when the buffer number of mutations greater than the configured max size.
 		if (bufferFlushMaxMutations > 0 && numPendingRequests.incrementAndGet() >= bufferFlushMaxMutations) {
@@ -184,9 +228,13 @@ public class HBaseSinkFunction<T>
 		}
 	}
 
-	private void flush() throws IOException {
-		// BufferedMutator is thread-safe
-		mutator.flush();
+	private void flush() throws IOException, InterruptedException {
+		// BufferedMutator and RegionAwareMutationBuffer are thread-safe
+		if (regionAwareBuffer != null) {
+			regionAwareBuffer.flush();
+		} else {
+			mutator.flush();
+		}
 		numPendingRequests.set(0);
 		checkErrorAndRethrow();
 	}
@@ -204,6 +252,15 @@ public class HBaseSinkFunction<T>
 			this.mutator = null;
 		}
 
+		if (regionAwareBuffer != null) {
+			try {
+				regionAwareBuffer.close();
+			} catch (IOException e) {
+				LOG.warn("Exception occurs while closing HBase region-aware mutation buffer.", e);
+			}
+			this.regionAwareBuffer = null;
+		}
+
 		if (connection != null) {
 			try {
 				connection.close();
@@ -0,0 +1,222 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.hbase.sink;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.runtime.util.ExecutorThreadFactory;
+
+import org.apache.hadoop.hbase.HRegionLocation;
+import org.apache.hadoop.hbase.ServerName;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Connection;
+import org.apache.hadoop.hbase.client.Mutation;
+import org.apache.hadoop.hbase.client.RegionLocator;
+import org.apache.hadoop.hbase.client.Table;
+import org.apache.hadoop.hbase.util.Bytes;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+
+/**
+ * A buffer for {@link Mutation Mutations} which groups them by the region server hosting their row.
+ *
+ * <p>Every region server has its own buffer which is sent as one batch once it exceeds the flush
+ * size. Before sending, the mutations of a batch are sorted by row key (keeping the order of
+ * mutations of the same row), so the mutations of one region are contiguous in the batch. Batches
+ * of the same region server are sent one after another in the order they were taken, batches of
+ * different region servers are sent concurrently.
+ *
+ * <p>The number of bytes in flight per region server can be limited. Adding a mutation for a
+ * region server which has reached the limit blocks until one of its batches has completed, so a
+ * slow region server back-pressures the sink instead of growing the buffered data.
+ *
+ * <p>The region locations are only used for grouping. If a region moves, the batch is still
+ * routed correctly by the HBase client. The mutations of a row must not overtake each other though,
+ * so before a mutation is added to the buffer of the new region server of a moved region, the
+ * mutations buffered for its old region server are sent and awaited. A region which was not known
+ * before, e.g. a daughter of a split region, may hold rows which are buffered for any region
+ * server, so all buffers are flushed first.
+ */
+@Internal
+class RegionAwareMutationBuffer implements Closeable {
+
+	private final Connection connection;
+	private final TableName tableName;
+	private final RegionLocator regionLocator;
+	private final long flushSizeInBytes;
+	private final int maxInFlightBytesPerServer;
+	private final Consumer<Throwable> failureHandler;
+	private final ExecutorService executor;
+	private final Map<ServerName, ServerBuffer> buffers = new ConcurrentHashMap<>();
+
+	/** The last known region server of every region, only accessed by {@link #add(Mutation)}. */
+	private final Map<String, ServerName> regionServers = new HashMap<>();
+
+	/**
+	 * @param flushSizeInBytes the size at which the buffer of a region server is sent
+	 * @param maxInFlightBytesPerServer the maximum number of bytes in flight per region server,
+	 *                                  no limit if it is not positive
+	 * @param failureHandler is called with the exception of every failed batch
+	 */
+	RegionAwareMutationBuffer(
+			Connection connection,
+			TableName tableName,
+			long flushSizeInBytes,
+			long maxInFlightBytesPerServer,
+			Consumer<Throwable> failureHandler) throws IOException {
+		this.connection = connection;
+		this.tableName = tableName;
+		this.regionLocator = connection.getRegionLocator(tableName);
+		this.flushSizeInBytes = flushSizeInBytes;
+		this.maxInFlightBytesPerServer = (int) Math.min(maxInFlightBytesPerServer, Integer.MAX_VALUE);
+		this.failureHandler = failureHandler;
+		this.executor = Executors.newCachedThreadPool(new ExecutorThreadFactory("hbase-region-aware-sink"));
+		for (HRegionLocation location : regionLocator.getAllRegionLocations()) {
+			regionServers.put(location.getRegionInfo().getEncodedName(), location.getServerName());
+		}
+	}
+
+	/**
+	 * Adds a mutation to the buffer of its region server, sending the buffer if it is full.
+	 */
+	void add(Mutation mutation) throws IOException, InterruptedException {
+		HRegionLocation location = regionLocator.getRegionLocation(mutation.getRow());
+		ServerName server = location.getServerName();
+		ServerName previousServer = regionServers.put(location.getRegionInfo().getEncodedName(), server);
+		if (previousServer == null) {
+			flush();
+		} else if (!previousServer.equals(server)) {
+			ServerBuffer previousBuffer = buffers.get(previousServer);
+			if (previousBuffer != null) {
+				previousBuffer.send();
+				previousBuffer.awaitCompletion();
+			}
+		}
+		buffers.computeIfAbsent(server, k -> new ServerBuffer()).add(mutation);
+	}
+
+	/**
+	 * Sends all buffered mutations and waits until all batches have completed. Failed batches are
+	 * only reported to the failure handler.
+	 */
+	void flush() throws InterruptedException {
+		for (ServerBuffer buffer : buffers.values()) {
+			buffer.send();
+		}
+		for (ServerBuffer buffer : buffers.values()) {
+			buffer.awaitCompletion();
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		try {
+			flush();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			executor.shutdownNow();
+			regionLocator.close();
+		}
+	}
+
+	private void write(List<Mutation> batch) {
+		// a stable sort, mutations of the same row keep their order
+		batch.sort((m1, m2) -> Bytes.BYTES_COMPARATOR.compare(m1.getRow(), m2.getRow()));
+		try (Table table = connection.getTable(tableName)) {
+			table.batch(batch, new Object[batch.size()]);
+		} catch (IOException e) {
+			throw new CompletionException(e);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new CompletionException(e);
+		}
+	}
+
+	/**
+	 * The buffered and in-flight mutations of a single region server.
+	 */
+	private final class ServerBuffer {
+
+		private final Semaphore inFlightBytes =
+			new Semaphore(maxInFlightBytesPerServer > 0 ? maxInFlightBytesPerServer : 0);
+
+		private List<Mutation> mutations = new ArrayList<>();
+		private long bufferedBytes;
+
+		/** Completes when the last sent batch has completed. */
+		private CompletableFuture<Void> lastBatch = CompletableFuture.completedFuture(null);
+
+		synchronized void add(Mutation mutation) throws InterruptedException {
+			mutations.add(mutation);
+			bufferedBytes += mutation.heapSize();
+			if (bufferedBytes >= flushSizeInBytes) {
+				send();
+			}
+		}
+
+		synchronized void send() throws InterruptedException {
+			if (mutations.isEmpty()) {
+				return;
+			}
+			final List<Mutation> batch = mutations;
+			// a batch larger than the limit would never get its permits
+			final int permits = maxInFlightBytesPerServer > 0 ?
+				(int) Math.min(bufferedBytes, maxInFlightBytesPerServer) : 0;
+			mutations = new ArrayList<>();
+			bufferedBytes = 0;
+
+			inFlightBytes.acquire(permits);
+			lastBatch = lastBatch
+				// a failed batch has already been reported, the next batch is sent anyway
+				.exceptionally(t -> null)
+				.thenRunAsync(() -> write(batch), executor)
+				.whenComplete((ignored, t) -> {
+					inFlightBytes.release(permits);
+					if (t != null) {
+						failureHandler.accept(t instanceof CompletionException ? t.getCause() : t);
+					}
+				});
+		}
+
+		void awaitCompletion() throws InterruptedException {
+			CompletableFuture<Void> batch;
+			synchronized (this) {
+				batch = lastBatch;
+			}
+			try {
+				batch.get();
+			} catch (ExecutionException e) {
+				// already reported to the failure handler
+			}
+		}
+	}
+}
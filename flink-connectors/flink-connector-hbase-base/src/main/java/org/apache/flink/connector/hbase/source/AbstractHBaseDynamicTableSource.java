@@ -21,9 +21,11 @@ package org.apache.flink.connector.hbase.source;
 import org.apache.flink.annotation.Internal;
 import org.apache.flink.annotation.VisibleForTesting;
 import org.apache.flink.api.common.io.InputFormat;
+import org.apache.flink.connector.hbase.options.HBaseLookupOptions;
 import org.apache.flink.connector.hbase.util.HBaseTableSchema;
 import org.apache.flink.table.api.TableSchema;
 import org.apache.flink.table.connector.ChangelogMode;
+import org.apache.flink.table.connector.source.AsyncTableFunctionProvider;
 import org.apache.flink.table.connector.source.InputFormatProvider;
 import org.apache.flink.table.connector.source.LookupTableSource;
 import org.apache.flink.table.connector.source.ScanTableSource;
@@ -46,16 +48,19 @@ public abstract class AbstractHBaseDynamicTableSource implements ScanTableSource
 	protected final String tableName;
 	protected HBaseTableSchema hbaseSchema;
 	protected final String nullStringLiteral;
+	protected final HBaseLookupOptions lookupOptions;
 
 	public AbstractHBaseDynamicTableSource(
 			Configuration conf,
 			String tableName,
 			HBaseTableSchema hbaseSchema,
-			String nullStringLiteral) {
+			String nullStringLiteral,
+			HBaseLookupOptions lookupOptions) {
 		this.conf = conf;
 		this.tableName = tableName;
 		this.hbaseSchema = hbaseSchema;
 		this.nullStringLiteral = nullStringLiteral;
+		this.lookupOptions = lookupOptions;
 	}
 
 	@Override
@@ -80,6 +85,16 @@ public abstract class AbstractHBaseDynamicTableSource implements ScanTableSource
 				.isPresent(),
 			"Currently, HBase table only supports lookup by rowkey field.");
 
+		if (lookupOptions.isAsyncLookup()) {
+			return AsyncTableFunctionProvider.of(new HBaseRowDataAsyncLookupFunction(
+				conf,
+				tableName,
+				hbaseSchema,
+				nullStringLiteral,
+				lookupOptions.getAsyncBatchSize(),
+				lookupOptions.getAsyncBatchWindowMillis(),
+				lookupOptions.getAsyncThreads()));
+		}
 		return TableFunctionProvider.of(new HBaseRowDataLookupFunction(conf, tableName, hbaseSchema, nullStringLiteral));
 	}
 
@@ -113,4 +128,9 @@ public abstract class AbstractHBaseDynamicTableSource implements ScanTableSource
 	public HBaseTableSchema getHBaseTableSchema() {
 		return this.hbaseSchema;
 	}
+
+	@VisibleForTesting
+	public HBaseLookupOptions getLookupOptions() {
+		return this.lookupOptions;
+	}
 }
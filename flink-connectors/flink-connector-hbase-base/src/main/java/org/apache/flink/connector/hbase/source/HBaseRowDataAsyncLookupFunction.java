@@ -0,0 +1,286 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.hbase.source;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.connector.hbase.util.HBaseConfigurationUtil;
+import org.apache.flink.connector.hbase.util.HBaseSerde;
+import org.apache.flink.connector.hbase.util.HBaseTableSchema;
+import org.apache.flink.runtime.util.ExecutorThreadFactory;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.functions.AsyncTableFunction;
+import org.apache.flink.table.functions.FunctionContext;
+import org.apache.flink.util.StringUtils;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.hbase.HConstants;
+import org.apache.hadoop.hbase.ServerName;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Connection;
+import org.apache.hadoop.hbase.client.ConnectionFactory;
+import org.apache.hadoop.hbase.client.Get;
+import org.apache.hadoop.hbase.client.RegionLocator;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.Table;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An asynchronous lookup function for HBase which looks up the result as {@link RowData}.
+ *
+ * <p>Instead of issuing one {@link Get} per lookup key, the function collects the keys of
+ * concurrent lookups into a batch. A batch is sent once it holds the configured number of keys or
+ * once the batch window has passed since its first key. The keys of a batch are grouped by the
+ * region server hosting their row, and each group is fetched with a single multi-get, so that a
+ * lookup only waits for the region server of its own key.
+ */
+@Internal
+public class HBaseRowDataAsyncLookupFunction extends AsyncTableFunction<RowData> {
+
+	private static final Logger LOG = LoggerFactory.getLogger(HBaseRowDataAsyncLookupFunction.class);
+	private static final long serialVersionUID = 1L;
+
+	private final String hTableName;
+	private final byte[] serializedConfig;
+	private final HBaseTableSchema hbaseTableSchema;
+	private final String nullStringLiteral;
+	private final int batchSize;
+	private final long batchWindowMillis;
+	/** The number of threads which execute multi-gets concurrently. */
+	private final int lookupThreads;
+
+	private transient Connection hConnection;
+	private transient RegionLocator regionLocator;
+	private transient HBaseSerde serde;
+	private transient ExecutorService lookupExecutor;
+	private transient ScheduledExecutorService batchTimer;
+
+	private transient Object batchLock;
+	private transient List<PendingLookup> currentBatch;
+	private transient ScheduledFuture<?> batchTimeout;
+
+	public HBaseRowDataAsyncLookupFunction(
+			Configuration configuration,
+			String hTableName,
+			HBaseTableSchema hbaseTableSchema,
+			String nullStringLiteral,
+			int batchSize,
+			long batchWindowMillis,
+			int lookupThreads) {
+		this.serializedConfig = HBaseConfigurationUtil.serializeConfiguration(configuration);
+		this.hTableName = hTableName;
+		this.hbaseTableSchema = hbaseTableSchema;
+		this.nullStringLiteral = nullStringLiteral;
+		this.batchSize = batchSize;
+		this.batchWindowMillis = batchWindowMillis;
+		this.lookupThreads = lookupThreads;
+	}
+
+	/**
+	 * The invoke entry point of lookup function.
+	 * @param future the future to complete with the looked up rows
+	 * @param rowKey the lookup key. Currently only support single rowkey.
+	 */
+	public void eval(CompletableFuture<Collection<RowData>> future, Object rowKey) {
+		Get get = serde.createGet(rowKey);
+		if (get == null) {
+			future.complete(Collections.emptyList());
+			return;
+		}
+
+		List<PendingLookup> batch = null;
+		synchronized (batchLock) {
+			currentBatch.add(new PendingLookup(get, future));
+			if (currentBatch.size() >= batchSize || batchWindowMillis <= 0) {
+				batch = takeCurrentBatch();
+			} else if (currentBatch.size() == 1) {
+				batchTimeout = batchTimer.schedule(this::sendCurrentBatch, batchWindowMillis, TimeUnit.MILLISECONDS);
+			}
+		}
+		if (batch != null) {
+			send(batch);
+		}
+	}
+
+	private void sendCurrentBatch() {
+		List<PendingLookup> batch;
+		synchronized (batchLock) {
+			if (currentBatch.isEmpty()) {
+				return;
+			}
+			batch = takeCurrentBatch();
+		}
+		send(batch);
+	}
+
+	private List<PendingLookup> takeCurrentBatch() {
+		List<PendingLookup> batch = currentBatch;
+		currentBatch = new ArrayList<>();
+		if (batchTimeout != null) {
+			batchTimeout.cancel(false);
+			batchTimeout = null;
+		}
+		return batch;
+	}
+
+	private void send(List<PendingLookup> batch) {
+		// locating the regions may need a request to the meta table, so it is not done in the caller thread
+		lookupExecutor.execute(() -> {
+			Map<ServerName, List<PendingLookup>> lookupsByServer = new HashMap<>();
+			for (PendingLookup lookup : batch) {
+				try {
+					ServerName server = regionLocator.getRegionLocation(lookup.get.getRow()).getServerName();
+					lookupsByServer.computeIfAbsent(server, k -> new ArrayList<>()).add(lookup);
+				} catch (Throwable t) {
+					lookup.future.completeExceptionally(t);
+				}
+			}
+			for (List<PendingLookup> lookups : lookupsByServer.values()) {
+				lookupExecutor.execute(() -> multiGet(lookups));
+			}
+		});
+	}
+
+	private void multiGet(List<PendingLookup> lookups) {
+		List<Get> gets = new ArrayList<>(lookups.size());
+		for (PendingLookup lookup : lookups) {
+			gets.add(lookup.get);
+		}
+		try (Table table = hConnection.getTable(TableName.valueOf(hTableName))) {
+			Result[] results = table.get(gets);
+			for (int i = 0; i < lookups.size(); i++) {
+				Result result = results[i];
+				if (result == null || result.isEmpty()) {
+					lookups.get(i).future.complete(Collections.emptyList());
+				} else {
+					lookups.get(i).future.complete(Collections.singletonList(serde.convertToNewRow(result)));
+				}
+			}
+		} catch (Throwable t) {
+			LOG.warn("HBase multi-get of {} keys failed.", lookups.size(), t);
+			for (PendingLookup lookup : lookups) {
+				lookup.future.completeExceptionally(t);
+			}
+		}
+	}
+
+	private Configuration prepareRuntimeConfiguration() {
+		// create default configuration from current runtime env (`hbase-site.xml` in classpath) first,
+		// and overwrite configuration using serialized configuration from client-side env (`hbase-site.xml` in classpath).
+		// user params from client-side have the highest priority
+		Configuration runtimeConfig = HBaseConfigurationUtil.deserializeConfiguration(
+			serializedConfig,
+			HBaseConfigurationUtil.getHBaseConfiguration());
+
+		// do validation: check key option(s) in final runtime configuration
+		if (StringUtils.isNullOrWhitespaceOnly(runtimeConfig.get(HConstants.ZOOKEEPER_QUORUM))) {
+			LOG.error("can not connect to HBase without {} configuration", HConstants.ZOOKEEPER_QUORUM);
+			throw new IllegalArgumentException("check HBase configuration failed, lost: '" + HConstants.ZOOKEEPER_QUORUM + "'!");
+		}
+
+		return runtimeConfig;
+	}
+
+	@Override
+	public void open(FunctionContext context) {
+		LOG.info("start open ...");
+		Configuration config = prepareRuntimeConfiguration();
+		try {
+			hConnection = ConnectionFactory.createConnection(config);
+			regionLocator = hConnection.getRegionLocator(TableName.valueOf(hTableName));
+		} catch (IOException ioe) {
+			LOG.error("Exception while creating connection to HBase.", ioe);
+			throw new RuntimeException("Cannot create connection to HBase.", ioe);
+		}
+		this.serde = new HBaseSerde(hbaseTableSchema, nullStringLiteral);
+		this.lookupExecutor = Executors.newFixedThreadPool(
+			lookupThreads, new ExecutorThreadFactory("hbase-async-lookup"));
+		this.batchTimer = Executors.newSingleThreadScheduledExecutor(
+			new ExecutorThreadFactory("hbase-async-lookup-batcher"));
+		this.batchLock = new Object();
+		this.currentBatch = new ArrayList<>();
+		LOG.info("end open.");
+	}
+
+	@Override
+	public void close() {
+		LOG.info("start close ...");
+		if (batchTimer != null) {
+			batchTimer.shutdownNow();
+			batchTimer = null;
+		}
+		if (lookupExecutor != null) {
+			lookupExecutor.shutdownNow();
+			lookupExecutor = null;
+		}
+		if (null != regionLocator) {
+			try {
+				regionLocator.close();
+				regionLocator = null;
+			} catch (IOException e) {
+				// ignore exception when close.
+				LOG.warn("exception when close region locator", e);
+			}
+		}
+		if (null != hConnection) {
+			try {
+				hConnection.close();
+				hConnection = null;
+			} catch (IOException e) {
+				// ignore exception when close.
+				LOG.warn("exception when close connection", e);
+			}
+		}
+		LOG.info("end close.");
+	}
+
+	@VisibleForTesting
+	public String getHTableName() {
+		return hTableName;
+	}
+
+	/**
+	 * A lookup key which waits for its batch to be sent.
+	 */
+	private static final class PendingLookup {
+
+		private final Get get;
+		private final CompletableFuture<Collection<RowData>> future;
+
+		private PendingLookup(Get get, CompletableFuture<Collection<RowData>> future) {
+			this.get = get;
+			this.future = future;
+		}
+	}
+}
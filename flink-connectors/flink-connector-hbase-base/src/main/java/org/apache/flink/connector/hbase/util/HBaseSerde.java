@@ -225,16 +225,33 @@ public class HBaseSerde {
 	 * Converts HBase {@link Result} into {@link RowData}.
 	 */
 	public RowData convertToRow(Result result) {
+		return convertToRow(result, reusedRow, reusedFamilyRows);
+	}
+
+	/**
+	 * Converts HBase {@link Result} into a new {@link RowData} instance. In contrast to
+	 * {@link #convertToRow(Result)}, this method does not reuse any rows and can be called
+	 * concurrently.
+	 */
+	public RowData convertToNewRow(Result result) {
+		GenericRowData[] familyRows = new GenericRowData[families.length];
+		for (int f = 0; f < families.length; f++) {
+			familyRows[f] = new GenericRowData(qualifiers[f].length);
+		}
+		return convertToRow(result, new GenericRowData(fieldLength), familyRows);
+	}
+
+	private RowData convertToRow(Result result, GenericRowData resultRow, GenericRowData[] familyRows) {
 		for (int i = 0; i < fieldLength; i++) {
 			if (rowkeyIndex == i) {
 				assert keyDecoder != null;
 				Object rowkey = keyDecoder.decode(result.getRow());
-				reusedRow.setField(rowkeyIndex, rowkey);
+				resultRow.setField(rowkeyIndex, rowkey);
 			} else {
 				int f = (rowkeyIndex != -1 && i > rowkeyIndex) ? i - 1 : i;
 				// get family key
 				byte[] familyKey = families[f];
-				GenericRowData familyRow = reusedFamilyRows[f];
+				GenericRowData familyRow = familyRows[f];
 				for (int q = 0; q < this.qualifiers[f].length; q++) {
 					// get quantifier key
 					byte[] qualifier = qualifiers[f][q];
@@ -242,10 +259,10 @@ public class HBaseSerde {
 					byte[] value = result.getValue(familyKey, qualifier);
 					familyRow.setField(q, qualifierDecoders[f][q].decode(value));
 				}
-				reusedRow.setField(i, familyRow);
+				resultRow.setField(i, familyRow);
 			}
 		}
-		return reusedRow;
+		return resultRow;
 	}
 
 	// ------------------------------------------------------------------------------------
@@ -36,6 +36,7 @@ import org.apache.flink.core.io.SimpleVersionedSerializer;
 import org.apache.flink.table.catalog.CatalogTable;
 import org.apache.flink.table.catalog.ObjectPath;
 import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.expressions.Expression;
 import org.apache.flink.table.filesystem.ContinuousPartitionFetcher;
 import org.apache.flink.table.filesystem.LimitableBulkFormat;
 import org.apache.flink.table.types.logical.RowType;
@@ -170,12 +171,14 @@ public class HiveSource extends AbstractFileSource<RowData, HiveSourceSplit> imp
 				CatalogTable catalogTable,
 				List<HiveTablePartition> partitions,
 				@Nullable Long limit,
+				@Nullable List<? extends Expression> filters,
 				String hiveVersion,
 				boolean useMapRedReader,
 				RowType producedRowType) {
 			super(
 					new Path[1],
-					createBulkFormat(new JobConf(jobConf), catalogTable, hiveVersion, producedRowType, useMapRedReader, limit),
+					createBulkFormat(
+							new JobConf(jobConf), catalogTable, hiveVersion, producedRowType, useMapRedReader, limit, filters),
 					new HiveSourceFileEnumerator.Provider(partitions, new JobConfWrapper(jobConf)),
 					null);
 			this.jobConf = jobConf;
@@ -217,7 +220,8 @@ public class HiveSource extends AbstractFileSource<RowData, HiveSourceSplit> imp
 				String hiveVersion,
 				RowType producedRowType,
 				boolean useMapRedReader,
-				Long limit) {
+				Long limit,
+				List<? extends Expression> filters) {
 			checkNotNull(catalogTable, "catalogTable can not be null.");
 			return LimitableBulkFormat.create(
 					new HiveBulkFormatAdapter(
@@ -227,7 +231,8 @@ public class HiveSource extends AbstractFileSource<RowData, HiveSourceSplit> imp
 							catalogTable.getSchema().getFieldDataTypes(),
 							hiveVersion,
 							producedRowType,
-							useMapRedReader),
+							useMapRedReader,
+							filters),
 					limit
 			);
 		}
@@ -41,10 +41,12 @@ import org.apache.flink.table.connector.ChangelogMode;
 import org.apache.flink.table.connector.source.DataStreamScanProvider;
 import org.apache.flink.table.connector.source.DynamicTableSource;
 import org.apache.flink.table.connector.source.ScanTableSource;
+import org.apache.flink.table.connector.source.abilities.SupportsFilterPushDown;
 import org.apache.flink.table.connector.source.abilities.SupportsLimitPushDown;
 import org.apache.flink.table.connector.source.abilities.SupportsPartitionPushDown;
 import org.apache.flink.table.connector.source.abilities.SupportsProjectionPushDown;
 import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.expressions.ResolvedExpression;
 import org.apache.flink.table.filesystem.ContinuousPartitionFetcher;
 import org.apache.flink.table.types.DataType;
 import org.apache.flink.table.types.logical.RowType;
@@ -62,6 +64,7 @@ import javax.annotation.Nullable;
 
 import java.time.Duration;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -82,7 +85,8 @@ public class HiveTableSource implements
 		ScanTableSource,
 		SupportsPartitionPushDown,
 		SupportsProjectionPushDown,
-		SupportsLimitPushDown {
+		SupportsLimitPushDown,
+		SupportsFilterPushDown {
 
 	private static final Logger LOG = LoggerFactory.getLogger(HiveTableSource.class);
 	private static final Duration DEFAULT_SCAN_MONITOR_INTERVAL = Duration.ofMinutes(1L);
@@ -99,6 +103,9 @@ public class HiveTableSource implements
 	private List<Map<String, String>> remainingPartitions = null;
 	protected int[] projectedFields;
 	private Long limit = null;
+	// Filters pushed down to skip data while reading, they are still evaluated by the planner. Null if not pushed down.
+	@Nullable
+	private List<ResolvedExpression> filters = null;
 
 	public HiveTableSource(
 			JobConf jobConf, ReadableConfig flinkConf, ObjectPath tablePath, CatalogTable catalogTable) {
@@ -145,6 +152,7 @@ public class HiveTableSource implements
 				catalogTable,
 				allHivePartitions,
 				limit,
+				filters,
 				hiveVersion,
 				flinkConf.get(HiveOptions.TABLE_EXEC_HIVE_FALLBACK_MAPRED_READER),
 				(RowType) getProducedDataType().getLogicalType());
@@ -265,6 +273,12 @@ public class HiveTableSource implements
 		this.projectedFields = Arrays.stream(projectedFields).mapToInt(value -> value[0]).toArray();
 	}
 
+	@Override
+	public Result applyFilters(List<ResolvedExpression> filters) {
+		this.filters = filters;
+		return Result.of(Collections.emptyList(), filters);
+	}
+
 	@Override
 	public String asSummaryString() {
 		return "HiveSource";
@@ -281,6 +295,7 @@ public class HiveTableSource implements
 		source.remainingPartitions = remainingPartitions;
 		source.projectedFields = projectedFields;
 		source.limit = limit;
+		source.filters = filters;
 		return source;
 	}
 
@@ -25,6 +25,7 @@ import org.apache.flink.connector.file.src.util.ArrayResultIterator;
 import org.apache.flink.connectors.hive.HiveTablePartition;
 import org.apache.flink.connectors.hive.JobConfWrapper;
 import org.apache.flink.formats.parquet.ParquetColumnarRowInputFormat;
+import org.apache.flink.formats.parquet.ParquetFilters;
 import org.apache.flink.orc.OrcColumnarRowFileInputFormat;
 import org.apache.flink.orc.nohive.OrcNoHiveColumnarRowInputFormat;
 import org.apache.flink.orc.shim.OrcShim;
@@ -32,9 +33,12 @@ import org.apache.flink.table.catalog.hive.client.HiveShim;
 import org.apache.flink.table.catalog.hive.client.HiveShimLoader;
 import org.apache.flink.table.catalog.hive.util.HiveTypeUtil;
 import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.expressions.Expression;
 import org.apache.flink.table.filesystem.PartitionFieldExtractor;
 import org.apache.flink.table.runtime.typeutils.InternalTypeInfo;
 import org.apache.flink.table.runtime.typeutils.RowDataSerializer;
+import org.apache.flink.table.runtime.vector.VectorizedFilters;
+import org.apache.flink.table.runtime.vector.VectorizedPredicate;
 import org.apache.flink.table.types.DataType;
 import org.apache.flink.table.types.logical.LogicalType;
 import org.apache.flink.table.types.logical.RowType;
@@ -43,17 +47,22 @@ import org.apache.flink.util.Preconditions;
 import org.apache.hadoop.hive.ql.io.IOConstants;
 import org.apache.hadoop.hive.serde2.ColumnProjectionUtils;
 import org.apache.hadoop.mapred.JobConf;
+import org.apache.parquet.filter2.predicate.FilterPredicate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
+
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import static org.apache.flink.connector.file.src.util.CheckpointedPosition.NO_OFFSET;
 import static org.apache.flink.table.data.vector.VectorizedColumnBatch.DEFAULT_SIZE;
+import static org.apache.parquet.hadoop.ParquetInputFormat.setFilterPredicate;
 
 /**
  * A BulkFormat implementation for HiveSource. This implementation delegates reading to other BulkFormat instances,
@@ -81,8 +90,25 @@ public class HiveBulkFormatAdapter implements BulkFormat<RowData, HiveSourceSpli
 	private final RowType producedRowType;
 	private final boolean useMapRedReader;
 
+	// the job conf of the vectorized parquet reader, with the parquet predicate of the filters if any
+	private final JobConfWrapper parquetConfWrapper;
+	@Nullable
+	private final VectorizedPredicate parquetFilter;
+	@Nullable
+	private final Set<String> parquetFilterFields;
+
 	public HiveBulkFormatAdapter(JobConfWrapper jobConfWrapper, List<String> partitionKeys, String[] fieldNames, DataType[] fieldTypes,
 			String hiveVersion, RowType producedRowType, boolean useMapRedReader) {
+		this(jobConfWrapper, partitionKeys, fieldNames, fieldTypes, hiveVersion, producedRowType, useMapRedReader, null);
+	}
+
+	/**
+	 * Creates the adapter with the filters pushed into the source. The filters are evaluated by the planner again,
+	 * the vectorized parquet reader uses them to skip row groups by their statistics and dictionaries, and to skip
+	 * the rows of a batch before its other columns are decoded.
+	 */
+	public HiveBulkFormatAdapter(JobConfWrapper jobConfWrapper, List<String> partitionKeys, String[] fieldNames, DataType[] fieldTypes,
+			String hiveVersion, RowType producedRowType, boolean useMapRedReader, @Nullable List<? extends Expression> filters) {
 		this.jobConfWrapper = jobConfWrapper;
 		this.partitionKeys = partitionKeys;
 		this.fieldNames = fieldNames;
@@ -91,6 +117,27 @@ public class HiveBulkFormatAdapter implements BulkFormat<RowData, HiveSourceSpli
 		this.hiveShim = HiveShimLoader.loadHiveShim(hiveVersion);
 		this.producedRowType = producedRowType;
 		this.useMapRedReader = useMapRedReader;
+
+		FilterPredicate parquetPredicate = null;
+		if (filters == null || filters.isEmpty()) {
+			this.parquetFilter = null;
+			this.parquetFilterFields = null;
+		} else {
+			this.parquetFilter = VectorizedFilters.toPredicate(filters, producedRowType);
+			this.parquetFilterFields = ParquetFilters.getReferencedFields(filters);
+			RowType fileRowType = new RowType(producedRowType.getFields().stream()
+					.filter(field -> !partitionKeys.contains(field.getName()))
+					.collect(Collectors.toList()));
+			parquetPredicate = ParquetFilters.toParquetPredicate(filters, fileRowType);
+		}
+		if (parquetPredicate == null) {
+			this.parquetConfWrapper = jobConfWrapper;
+		} else {
+			// the predicate is only set for the vectorized reader, the mapred reader sets its own filters
+			JobConf parquetConf = new JobConf(jobConfWrapper.conf());
+			setFilterPredicate(parquetConf, parquetPredicate);
+			this.parquetConfWrapper = new JobConfWrapper(parquetConf);
+		}
 	}
 
 	@Override
@@ -122,10 +169,12 @@ public class HiveBulkFormatAdapter implements BulkFormat<RowData, HiveSourceSpli
 	private BulkFormat<RowData, ? super HiveSourceSplit> createBulkFormatForSplit(HiveSourceSplit split) {
 		if (!useMapRedReader && useParquetVectorizedRead(split.getHiveTablePartition())) {
 			return ParquetColumnarRowInputFormat.createPartitionedFormat(
-					jobConfWrapper.conf(),
+					parquetConfWrapper.conf(),
 					producedRowType,
 					partitionKeys,
 					PARTITION_FIELD_EXTRACTOR,
+					parquetFilter,
+					parquetFilterFields,
 					DEFAULT_SIZE,
 					hiveVersion.startsWith("3"),
 					false
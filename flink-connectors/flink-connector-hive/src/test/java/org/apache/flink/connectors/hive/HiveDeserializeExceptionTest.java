@@ -78,6 +78,7 @@ public class HiveDeserializeExceptionTest {
 				new CatalogTableImpl(TableSchema.builder().field("i", DataTypes.INT()).build(), Collections.emptyMap(), null),
 				Collections.singletonList(new HiveTablePartition(new StorageDescriptor(), new Properties())),
 				null,
+				null,
 				HiveShimLoader.getHiveVersion(),
 				false,
 				RowType.of(DataTypes.INT().getLogicalType())).build();
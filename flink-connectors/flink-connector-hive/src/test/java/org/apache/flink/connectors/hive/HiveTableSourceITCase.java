@@ -204,7 +204,7 @@ public class HiveTableSourceITCase extends BatchAbstractTestBase {
 		assertEquals(4, explain.length);
 		String optimizedLogicalPlan = explain[2];
 		assertTrue(optimizedLogicalPlan, optimizedLogicalPlan.contains(
-				"table=[[hive, source_db, test_table_pt_1, partitions=[{pt=0}], project=[year, value]]]"));
+				"table=[[hive, source_db, test_table_pt_1, filter=[], partitions=[{pt=0}], project=[year, value]]]"));
 		// second check execute results
 		List<Row> rows = CollectionUtil.iteratorToList(src.execute().collect());
 		assertEquals(2, rows.size());
@@ -236,7 +236,7 @@ public class HiveTableSourceITCase extends BatchAbstractTestBase {
 			assertFalse(catalog.fallback);
 			String optimizedPlan = explain[2];
 			assertTrue(optimizedPlan, optimizedPlan.contains(
-					"table=[[test-catalog, db1, part, partitions=[{p1=2, p2=b}, {p1=3, p2=c}, {p1=4, p2=c:2}]"));
+					"table=[[test-catalog, db1, part, filter=[], partitions=[{p1=2, p2=b}, {p1=3, p2=c}, {p1=4, p2=c:2}]"));
 			List<Row> results = CollectionUtil.iteratorToList(query.execute().collect());
 			assertEquals("[2, 3, 4]", results.toString());
 
@@ -244,7 +244,7 @@ public class HiveTableSourceITCase extends BatchAbstractTestBase {
 			explain = query.explain().split("==.*==\n");
 			assertFalse(catalog.fallback);
 			optimizedPlan = explain[2];
-			assertTrue(optimizedPlan, optimizedPlan.contains("table=[[test-catalog, db1, part, partitions=[], project=[x]]]"));
+			assertTrue(optimizedPlan, optimizedPlan.contains("table=[[test-catalog, db1, part, filter=[], partitions=[], project=[x]]]"));
 			results = CollectionUtil.iteratorToList(query.execute().collect());
 			assertEquals("[]", results.toString());
 
@@ -253,7 +253,7 @@ public class HiveTableSourceITCase extends BatchAbstractTestBase {
 			assertFalse(catalog.fallback);
 			optimizedPlan = explain[2];
 			assertTrue(optimizedPlan, optimizedPlan.contains(
-					"table=[[test-catalog, db1, part, partitions=[{p1=1, p2=a}, {p1=3, p2=c}], project=[x]]]"));
+					"table=[[test-catalog, db1, part, filter=[], partitions=[{p1=1, p2=a}, {p1=3, p2=c}], project=[x]]]"));
 			results = CollectionUtil.iteratorToList(query.execute().collect());
 			assertEquals("[1, 3]", results.toString());
 
@@ -262,7 +262,7 @@ public class HiveTableSourceITCase extends BatchAbstractTestBase {
 			assertFalse(catalog.fallback);
 			optimizedPlan = explain[2];
 			assertTrue(optimizedPlan, optimizedPlan.contains(
-					"table=[[test-catalog, db1, part, partitions=[{p1=1, p2=a}, {p1=2, p2=b}], project=[x]]]"));
+					"table=[[test-catalog, db1, part, filter=[], partitions=[{p1=1, p2=a}, {p1=2, p2=b}], project=[x]]]"));
 			results = CollectionUtil.iteratorToList(query.execute().collect());
 			assertEquals("[1, 2]", results.toString());
 
@@ -271,7 +271,7 @@ public class HiveTableSourceITCase extends BatchAbstractTestBase {
 			assertFalse(catalog.fallback);
 			optimizedPlan = explain[2];
 			assertTrue(optimizedPlan, optimizedPlan.contains(
-					"table=[[test-catalog, db1, part, partitions=[{p1=4, p2=c:2}], project=[x]]]"));
+					"table=[[test-catalog, db1, part, filter=[], partitions=[{p1=4, p2=c:2}], project=[x]]]"));
 			results = CollectionUtil.iteratorToList(query.execute().collect());
 			assertEquals("[4]", results.toString());
 
@@ -279,7 +279,7 @@ public class HiveTableSourceITCase extends BatchAbstractTestBase {
 			explain = query.explain().split("==.*==\n");
 			assertFalse(catalog.fallback);
 			optimizedPlan = explain[2];
-			assertTrue(optimizedPlan, optimizedPlan.contains("table=[[test-catalog, db1, part, partitions=[], project=[x]]]"));
+			assertTrue(optimizedPlan, optimizedPlan.contains("table=[[test-catalog, db1, part, filter=[], partitions=[], project=[x]]]"));
 			results = CollectionUtil.iteratorToList(query.execute().collect());
 			assertEquals("[]", results.toString());
 		} finally {
@@ -310,7 +310,7 @@ public class HiveTableSourceITCase extends BatchAbstractTestBase {
 			assertTrue(catalog.fallback);
 			String optimizedPlan = explain[2];
 			assertTrue(optimizedPlan, optimizedPlan.contains(
-					"table=[[test-catalog, db1, part, partitions=[{p1=2018-08-10, p2=2018-08-08 08:08:10.1}]"));
+					"table=[[test-catalog, db1, part, filter=[], partitions=[{p1=2018-08-10, p2=2018-08-08 08:08:10.1}]"));
 			List<Row> results = CollectionUtil.iteratorToList(query.execute().collect());
 			assertEquals("[3]", results.toString());
 
@@ -376,6 +376,36 @@ public class HiveTableSourceITCase extends BatchAbstractTestBase {
 		}
 	}
 
+	@Test
+	public void testParquetFilterPushDown() throws Exception {
+		batchTableEnv.executeSql("create table src (x int, y string) partitioned by (p string) stored as parquet");
+		try {
+			batchTableEnv.executeSql("insert into src partition (p='a') values (1,'a1'),(2,'a2')").await();
+			batchTableEnv.executeSql("insert into src partition (p='b') values (3,'b3'),(4,'b4')").await();
+			Table table = batchTableEnv.sqlQuery("select x, y from hive.`default`.src where x > 1 and y <> 'b3'");
+			String[] explain = table.explain().split("==.*==\n");
+			assertEquals(4, explain.length);
+			String logicalPlan = explain[2];
+			// the reader only skips row groups, so the planner keeps all filters
+			assertTrue(logicalPlan, logicalPlan.contains("filter=[]"));
+
+			List<Row> rows = CollectionUtil.iteratorToList(table.execute().collect());
+			Object[] rowStrings = rows.stream().map(Row::toString).sorted().toArray();
+			assertArrayEquals(new String[]{"2,a2", "4,b4"}, rowStrings);
+
+			// the partitions are pruned by the planner, the filter of the other column is pushed into the reader
+			rows = CollectionUtil.iteratorToList(
+					batchTableEnv.sqlQuery("select x from hive.`default`.src where x < 4 and p = 'b'").execute().collect());
+			assertEquals("[3]", rows.toString());
+
+			rows = CollectionUtil.iteratorToList(
+					batchTableEnv.sqlQuery("select x from hive.`default`.src where x > 4").execute().collect());
+			assertEquals("[]", rows.toString());
+		} finally {
+			batchTableEnv.executeSql("drop table src");
+		}
+	}
+
 	@Test
 	public void testParallelismSetting() throws Exception {
 		final String dbName = "source_db";
@@ -744,6 +774,10 @@ public class HiveTableSourceITCase extends BatchAbstractTestBase {
 		Assert.assertEquals(
 				Row.of(1, 2),
 				tEnv.executeSql("select * from parquet_t").collect().next());
+		// the filter refers to the column by a name which differs from the one in the file in case
+		Assert.assertEquals(
+				Row.of(1, 2),
+				tEnv.executeSql("select * from parquet_t where i = 1").collect().next());
 	}
 
 	private static TableEnvironment createTableEnv() {
@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.jdbc.source;
+
+import org.apache.flink.annotation.PublicEvolving;
+import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.api.common.typeinfo.TypeInformation;
+import org.apache.flink.api.connector.source.Boundedness;
+import org.apache.flink.api.connector.source.Source;
+import org.apache.flink.api.connector.source.SourceReader;
+import org.apache.flink.api.connector.source.SourceReaderContext;
+import org.apache.flink.api.connector.source.SplitEnumerator;
+import org.apache.flink.api.connector.source.SplitEnumeratorContext;
+import org.apache.flink.api.java.typeutils.ResultTypeQueryable;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.connector.jdbc.JdbcConnectionOptions;
+import org.apache.flink.connector.jdbc.source.enumerator.JdbcSourceEnumState;
+import org.apache.flink.connector.jdbc.source.enumerator.JdbcSourceEnumStateSerializer;
+import org.apache.flink.connector.jdbc.source.enumerator.JdbcSourceEnumerator;
+import org.apache.flink.connector.jdbc.source.enumerator.JdbcSplitGenerator;
+import org.apache.flink.connector.jdbc.source.reader.JdbcSourceReader;
+import org.apache.flink.connector.jdbc.source.reader.JdbcSourceSplitReader;
+import org.apache.flink.connector.jdbc.source.split.JdbcSourceSplit;
+import org.apache.flink.connector.jdbc.source.split.JdbcSourceSplitSerializer;
+import org.apache.flink.core.io.SimpleVersionedSerializer;
+
+import javax.annotation.Nullable;
+
+/**
+ * A bounded source which reads a table through JDBC in parallel. Please use a
+ * {@link JdbcSourceBuilder} to construct a {@link JdbcSource}.
+ *
+ * <pre>{@code
+ * JdbcSource<Book> source = JdbcSource
+ *     .<Book>builder()
+ *     .setConnectionOptions(connectionOptions)
+ *     .setTable("books")
+ *     .setSplitColumn("id")
+ *     .setSplitSize(100_000)
+ *     .setRecordExtractor(rs -> new Book(rs.getLong("id"), rs.getString("title")))
+ *     .setTypeInformation(TypeInformation.of(Book.class))
+ *     .build();
+ * }</pre>
+ *
+ * <p>The table is divided into ranges of a numeric split column which hold about the configured
+ * number of rows each, see {@link JdbcSplitGenerator}. The ranges are handed out to the readers
+ * one at a time as they finish their previous range, so a skewed split column does not result in
+ * a few long running readers.
+ *
+ * @param <T> the type of the records produced by the source
+ */
+@PublicEvolving
+public class JdbcSource<T> implements Source<T, JdbcSourceSplit, JdbcSourceEnumState>, ResultTypeQueryable<T> {
+
+	private static final long serialVersionUID = 1L;
+
+	private final JdbcConnectionOptions connectionOptions;
+	private final String query;
+	@Nullable
+	private final String nullQuery;
+	private final JdbcSplitGenerator splitGenerator;
+	private final int fetchSize;
+	@Nullable
+	private final Boolean autoCommit;
+	private final JdbcRecordExtractor<T> recordExtractor;
+	private final TypeInformation<T> typeInformation;
+
+	JdbcSource(
+			JdbcConnectionOptions connectionOptions,
+			String query,
+			@Nullable String nullQuery,
+			JdbcSplitGenerator splitGenerator,
+			int fetchSize,
+			@Nullable Boolean autoCommit,
+			JdbcRecordExtractor<T> recordExtractor,
+			TypeInformation<T> typeInformation) {
+		this.connectionOptions = connectionOptions;
+		this.query = query;
+		this.nullQuery = nullQuery;
+		this.splitGenerator = splitGenerator;
+		this.fetchSize = fetchSize;
+		this.autoCommit = autoCommit;
+		this.recordExtractor = recordExtractor;
+		this.typeInformation = typeInformation;
+	}
+
+	/**
+	 * Get a {@link JdbcSourceBuilder} to build a {@link JdbcSource}.
+	 */
+	public static <T> JdbcSourceBuilder<T> builder() {
+		return new JdbcSourceBuilder<>();
+	}
+
+	@Override
+	public Boundedness getBoundedness() {
+		return Boundedness.BOUNDED;
+	}
+
+	@Override
+	public SourceReader<T, JdbcSourceSplit> createReader(SourceReaderContext readerContext) {
+		return new JdbcSourceReader<>(
+			() -> new JdbcSourceSplitReader<>(
+				connectionOptions, query, nullQuery, fetchSize, autoCommit, recordExtractor),
+			new Configuration(),
+			readerContext);
+	}
+
+	@Override
+	public SplitEnumerator<JdbcSourceSplit, JdbcSourceEnumState> createEnumerator(
+			SplitEnumeratorContext<JdbcSourceSplit> enumContext) {
+		return new JdbcSourceEnumerator(enumContext, connectionOptions, splitGenerator, null);
+	}
+
+	@Override
+	public SplitEnumerator<JdbcSourceSplit, JdbcSourceEnumState> restoreEnumerator(
+			SplitEnumeratorContext<JdbcSourceSplit> enumContext,
+			JdbcSourceEnumState checkpoint) {
+		return new JdbcSourceEnumerator(enumContext, connectionOptions, splitGenerator, checkpoint);
+	}
+
+	@Override
+	public SimpleVersionedSerializer<JdbcSourceSplit> getSplitSerializer() {
+		return new JdbcSourceSplitSerializer();
+	}
+
+	@Override
+	public SimpleVersionedSerializer<JdbcSourceEnumState> getEnumeratorCheckpointSerializer() {
+		return new JdbcSourceEnumStateSerializer();
+	}
+
+	@Override
+	public TypeInformation<T> getProducedType() {
+		return typeInformation;
+	}
+
+	@VisibleForTesting
+	String getQuery() {
+		return query;
+	}
+
+	@VisibleForTesting
+	@Nullable
+	String getNullQuery() {
+		return nullQuery;
+	}
+}
@@ -0,0 +1,219 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.jdbc.source;
+
+import org.apache.flink.annotation.PublicEvolving;
+import org.apache.flink.api.common.typeinfo.TypeInformation;
+import org.apache.flink.connector.jdbc.JdbcConnectionOptions;
+import org.apache.flink.connector.jdbc.source.enumerator.JdbcSplitGenerator;
+
+import javax.annotation.Nullable;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * The builder class for {@link JdbcSource}.
+ *
+ * <p>The connection options, the table, the split column, the record extractor and the type
+ * information are required. The split column has to be of an integral numeric type and should be
+ * indexed, as the splits are generated from range counts on it. Rows whose split column is
+ * {@code NULL} are read by a separate split, which requires a query for them, see below.
+ *
+ * <p>A reader which recovers from a checkpoint in the middle of a split re-runs the query of the
+ * split and skips the rows it had already emitted. The rows of a split must therefore be returned
+ * in a total order, otherwise records are lost or duplicated. By default the source reads all
+ * columns of the table ordered by the split column, which requires the split column to be unique.
+ * If it is not, the columns of a unique key of the table, e.g. its primary key, have to be set with
+ * {@link #setUniqueKeyColumns(String...)} and are appended to the order.
+ *
+ * <p>A custom query can be set with {@link #setQuery(String)}, it has to restrict the split column
+ * to the range of a split with {@code BETWEEN ? AND ?} and has to order its rows totally, e.g. by
+ * the split column and a unique key.
+ *
+ * <p>The rows whose split column is {@code NULL} are read by default if the unique key columns are
+ * set, ordered by them. Otherwise, and if a custom query is set, a query for these rows can be set
+ * with {@link #setNullQuery(String)}. If the table has such rows but no query for them, the source
+ * fails when it generates its splits rather than skipping the rows.
+ *
+ * @param <T> the type of the records produced by the source
+ */
+@PublicEvolving
+public class JdbcSourceBuilder<T> {
+
+	/** The default number of rows of a split. */
+	public static final long DEFAULT_SPLIT_SIZE = 100_000L;
+
+	private JdbcConnectionOptions connectionOptions;
+	private String tableName;
+	private String splitColumn;
+	private String[] uniqueKeyColumns = new String[0];
+	private String query;
+	private String nullQuery;
+	private long splitSize = DEFAULT_SPLIT_SIZE;
+	private int fetchSize;
+	private Boolean autoCommit;
+	private JdbcRecordExtractor<T> recordExtractor;
+	private TypeInformation<T> typeInformation;
+
+	JdbcSourceBuilder() {
+	}
+
+	public JdbcSourceBuilder<T> setConnectionOptions(JdbcConnectionOptions connectionOptions) {
+		this.connectionOptions = checkNotNull(connectionOptions);
+		return this;
+	}
+
+	/**
+	 * Sets the table to read.
+	 */
+	public JdbcSourceBuilder<T> setTable(String tableName) {
+		this.tableName = checkNotNull(tableName);
+		return this;
+	}
+
+	/**
+	 * Sets the integral numeric column of the table which the splits are ranges of. The column has
+	 * to be unique unless {@link #setUniqueKeyColumns(String...)} is set.
+	 */
+	public JdbcSourceBuilder<T> setSplitColumn(String splitColumn) {
+		this.splitColumn = checkNotNull(splitColumn);
+		return this;
+	}
+
+	/**
+	 * Sets the columns of a unique key of the table, e.g. its primary key. The rows of a split are
+	 * ordered by the split column and then by these columns, which makes the order total if the
+	 * split column is not unique. Not used if a custom query is set.
+	 */
+	public JdbcSourceBuilder<T> setUniqueKeyColumns(String... uniqueKeyColumns) {
+		checkArgument(uniqueKeyColumns.length > 0, "At least one unique key column must be set.");
+		for (String column : uniqueKeyColumns) {
+			checkNotNull(column);
+		}
+		this.uniqueKeyColumns = uniqueKeyColumns;
+		return this;
+	}
+
+	/**
+	 * Sets the query which reads a split. The query must contain a {@code BETWEEN ? AND ?}
+	 * condition on the split column, which is bound to the inclusive range of the split, and must
+	 * return the rows of a split in a total order.
+	 */
+	public JdbcSourceBuilder<T> setQuery(String query) {
+		this.query = checkNotNull(query);
+		return this;
+	}
+
+	/**
+	 * Sets the query which reads the rows whose split column is {@code NULL}. The query has no
+	 * parameters and must return its rows in a total order.
+	 */
+	public JdbcSourceBuilder<T> setNullQuery(String nullQuery) {
+		this.nullQuery = checkNotNull(nullQuery);
+		return this;
+	}
+
+	/**
+	 * Sets the number of rows a split should have. Defaults to {@link #DEFAULT_SPLIT_SIZE}.
+	 */
+	public JdbcSourceBuilder<T> setSplitSize(long splitSize) {
+		checkArgument(splitSize > 0, "The split size must be positive.");
+		this.splitSize = splitSize;
+		return this;
+	}
+
+	/**
+	 * Sets the fetch size of the result sets, see {@link java.sql.Statement#setFetchSize(int)}.
+	 * By default the fetch size is left to the driver.
+	 */
+	public JdbcSourceBuilder<T> setFetchSize(int fetchSize) {
+		checkArgument(fetchSize == Integer.MIN_VALUE || fetchSize > 0,
+			"Illegal value %s for fetchSize, has to be positive or Integer.MIN_VALUE.", fetchSize);
+		this.fetchSize = fetchSize;
+		return this;
+	}
+
+	/**
+	 * Sets the auto commit mode of the connections of the readers. Some drivers, e.g. the one of
+	 * PostgreSQL, only stream result sets if auto commit is disabled.
+	 */
+	public JdbcSourceBuilder<T> setAutoCommit(boolean autoCommit) {
+		this.autoCommit = autoCommit;
+		return this;
+	}
+
+	public JdbcSourceBuilder<T> setRecordExtractor(JdbcRecordExtractor<T> recordExtractor) {
+		this.recordExtractor = checkNotNull(recordExtractor);
+		return this;
+	}
+
+	public JdbcSourceBuilder<T> setTypeInformation(TypeInformation<T> typeInformation) {
+		this.typeInformation = checkNotNull(typeInformation);
+		return this;
+	}
+
+	public JdbcSource<T> build() {
+		checkNotNull(connectionOptions, "The connection options must be set.");
+		checkNotNull(tableName, "The table must be set.");
+		checkNotNull(splitColumn, "The split column must be set.");
+		checkNotNull(recordExtractor, "The record extractor must be set.");
+		checkNotNull(typeInformation, "The type information must be set.");
+
+		String splitQuery = query != null ? query : defaultQuery();
+		String splitNullQuery = nullQuery != null || query != null ? nullQuery : defaultNullQuery();
+		return new JdbcSource<>(
+			connectionOptions,
+			splitQuery,
+			splitNullQuery,
+			new JdbcSplitGenerator(tableName, splitColumn, splitSize, splitNullQuery != null),
+			fetchSize,
+			autoCommit,
+			recordExtractor,
+			typeInformation);
+	}
+
+	private String defaultQuery() {
+		StringBuilder orderBy = new StringBuilder(splitColumn);
+		for (String column : uniqueKeyColumns) {
+			if (!column.equals(splitColumn)) {
+				orderBy.append(", ").append(column);
+			}
+		}
+		return String.format("SELECT * FROM %s WHERE %s BETWEEN ? AND ? ORDER BY %s", tableName, splitColumn, orderBy);
+	}
+
+	/**
+	 * The NULL values can only be ordered totally by a unique key, so there is no default query for
+	 * them without one.
+	 */
+	@Nullable
+	private String defaultNullQuery() {
+		StringBuilder orderBy = new StringBuilder();
+		for (String column : uniqueKeyColumns) {
+			if (!column.equals(splitColumn)) {
+				orderBy.append(orderBy.length() == 0 ? "" : ", ").append(column);
+			}
+		}
+		if (orderBy.length() == 0) {
+			return null;
+		}
+		return String.format("SELECT * FROM %s WHERE %s IS NULL ORDER BY %s", tableName, splitColumn, orderBy);
+	}
+}
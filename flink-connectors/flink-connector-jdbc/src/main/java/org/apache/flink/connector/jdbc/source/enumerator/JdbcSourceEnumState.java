@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.jdbc.source.enumerator;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.connector.jdbc.source.split.JdbcSourceSplit;
+
+import java.util.List;
+
+/**
+ * The state of the {@link JdbcSourceEnumerator}.
+ */
+@Internal
+public class JdbcSourceEnumState {
+
+	private final List<JdbcSourceSplit> remainingSplits;
+	private final boolean splitsGenerated;
+
+	public JdbcSourceEnumState(List<JdbcSourceSplit> remainingSplits, boolean splitsGenerated) {
+		this.remainingSplits = remainingSplits;
+		this.splitsGenerated = splitsGenerated;
+	}
+
+	/**
+	 * Returns the splits which are not assigned to a reader yet.
+	 */
+	public List<JdbcSourceSplit> getRemainingSplits() {
+		return remainingSplits;
+	}
+
+	/**
+	 * Returns whether the splits of the table were already generated. Otherwise the enumerator
+	 * generates them when it is started.
+	 */
+	public boolean isSplitsGenerated() {
+		return splitsGenerated;
+	}
+}
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.jdbc.source.enumerator;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.connector.jdbc.source.split.JdbcSourceSplit;
+import org.apache.flink.connector.jdbc.source.split.JdbcSourceSplitSerializer;
+import org.apache.flink.core.io.SimpleVersionedSerializer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The {@link SimpleVersionedSerializer serializer} for {@link JdbcSourceEnumState}.
+ */
+@Internal
+public class JdbcSourceEnumStateSerializer implements SimpleVersionedSerializer<JdbcSourceEnumState> {
+
+	private static final int CURRENT_VERSION = 0;
+
+	private final JdbcSourceSplitSerializer splitSerializer = new JdbcSourceSplitSerializer();
+
+	@Override
+	public int getVersion() {
+		return CURRENT_VERSION;
+	}
+
+	@Override
+	public byte[] serialize(JdbcSourceEnumState state) throws IOException {
+		try (ByteArrayOutputStream baos = new ByteArrayOutputStream();
+				DataOutputStream out = new DataOutputStream(baos)) {
+			out.writeBoolean(state.isSplitsGenerated());
+			out.writeInt(splitSerializer.getVersion());
+			out.writeInt(state.getRemainingSplits().size());
+			for (JdbcSourceSplit split : state.getRemainingSplits()) {
+				byte[] serializedSplit = splitSerializer.serialize(split);
+				out.writeInt(serializedSplit.length);
+				out.write(serializedSplit);
+			}
+			out.flush();
+			return baos.toByteArray();
+		}
+	}
+
+	@Override
+	public JdbcSourceEnumState deserialize(int version, byte[] serialized) throws IOException {
+		if (version != CURRENT_VERSION) {
+			throw new IOException(String.format("The bytes are serialized with version %d, " +
+				"while this deserializer only supports version up to %d", version, CURRENT_VERSION));
+		}
+		try (ByteArrayInputStream bais = new ByteArrayInputStream(serialized);
+				DataInputStream in = new DataInputStream(bais)) {
+			boolean splitsGenerated = in.readBoolean();
+			int splitSerializerVersion = in.readInt();
+			int numSplits = in.readInt();
+			List<JdbcSourceSplit> remainingSplits = new ArrayList<>(numSplits);
+			for (int i = 0; i < numSplits; i++) {
+				byte[] serializedSplit = new byte[in.readInt()];
+				in.readFully(serializedSplit);
+				remainingSplits.add(splitSerializer.deserialize(splitSerializerVersion, serializedSplit));
+			}
+			return new JdbcSourceEnumState(remainingSplits, splitsGenerated);
+		}
+	}
+}
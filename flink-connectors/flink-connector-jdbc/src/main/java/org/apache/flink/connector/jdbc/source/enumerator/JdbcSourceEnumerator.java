@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.jdbc.source.enumerator;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.api.connector.source.SplitEnumerator;
+import org.apache.flink.api.connector.source.SplitEnumeratorContext;
+import org.apache.flink.connector.jdbc.JdbcConnectionOptions;
+import org.apache.flink.connector.jdbc.internal.connection.SimpleJdbcConnectionProvider;
+import org.apache.flink.connector.jdbc.source.split.JdbcSourceSplit;
+import org.apache.flink.util.FlinkRuntimeException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+
+import java.sql.Connection;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The enumerator of the JDBC source.
+ *
+ * <p>The splits are generated once by a {@link JdbcSplitGenerator} in the worker thread of the
+ * enumerator context. Splits are not assigned upfront but handed out one at a time whenever a
+ * reader requests one, so readers which finish their splits early pick up the remaining work.
+ * Readers which request a split before the splits are generated are served once the generation
+ * completes.
+ */
+@Internal
+public class JdbcSourceEnumerator implements SplitEnumerator<JdbcSourceSplit, JdbcSourceEnumState> {
+
+	private static final Logger LOG = LoggerFactory.getLogger(JdbcSourceEnumerator.class);
+
+	private final SplitEnumeratorContext<JdbcSourceSplit> context;
+	private final JdbcConnectionOptions connectionOptions;
+	private final JdbcSplitGenerator splitGenerator;
+
+	private final Deque<JdbcSourceSplit> remainingSplits;
+	private final Set<Integer> readersAwaitingSplit;
+	private boolean splitsGenerated;
+
+	public JdbcSourceEnumerator(
+			SplitEnumeratorContext<JdbcSourceSplit> context,
+			JdbcConnectionOptions connectionOptions,
+			JdbcSplitGenerator splitGenerator,
+			@Nullable JdbcSourceEnumState restoredState) {
+		this.context = context;
+		this.connectionOptions = connectionOptions;
+		this.splitGenerator = splitGenerator;
+		this.remainingSplits = new ArrayDeque<>();
+		this.readersAwaitingSplit = new LinkedHashSet<>();
+		if (restoredState != null) {
+			remainingSplits.addAll(restoredState.getRemainingSplits());
+			splitsGenerated = restoredState.isSplitsGenerated();
+		}
+	}
+
+	@Override
+	public void start() {
+		if (!splitsGenerated) {
+			context.callAsync(this::generateSplits, this::handleGeneratedSplits);
+		}
+	}
+
+	@Override
+	public void handleSplitRequest(int subtaskId, @Nullable String requesterHostname) {
+		if (!context.registeredReaders().containsKey(subtaskId)) {
+			// reader failed between sending the request and now. skip this request.
+			return;
+		}
+		if (splitsGenerated) {
+			assignSplit(subtaskId);
+		} else {
+			readersAwaitingSplit.add(subtaskId);
+		}
+	}
+
+	@Override
+	public void addSplitsBack(List<JdbcSourceSplit> splits, int subtaskId) {
+		LOG.debug("Adding splits back to the JdbcSourceEnumerator: {}", splits);
+		for (JdbcSourceSplit split : splits) {
+			remainingSplits.addFirst(split);
+		}
+	}
+
+	@Override
+	public void addReader(int subtaskId) {
+		// the readers request splits themselves
+	}
+
+	@Override
+	public JdbcSourceEnumState snapshotState() {
+		return new JdbcSourceEnumState(new ArrayList<>(remainingSplits), splitsGenerated);
+	}
+
+	@Override
+	public void close() {
+		// no resources to close
+	}
+
+	// ------------------------------------------------------------------------
+
+	private List<JdbcSourceSplit> generateSplits() throws Exception {
+		SimpleJdbcConnectionProvider connectionProvider = new SimpleJdbcConnectionProvider(connectionOptions);
+		try (Connection connection = connectionProvider.getConnection()) {
+			return splitGenerator.generateSplits(connection);
+		}
+	}
+
+	private void handleGeneratedSplits(List<JdbcSourceSplit> splits, Throwable t) {
+		if (t != null) {
+			throw new FlinkRuntimeException("Failed to generate the splits of the JDBC source.", t);
+		}
+		remainingSplits.addAll(splits);
+		splitsGenerated = true;
+
+		Iterator<Integer> readers = readersAwaitingSplit.iterator();
+		while (readers.hasNext()) {
+			int subtaskId = readers.next();
+			readers.remove();
+			if (context.registeredReaders().containsKey(subtaskId)) {
+				assignSplit(subtaskId);
+			}
+		}
+	}
+
+	private void assignSplit(int subtaskId) {
+		JdbcSourceSplit split = remainingSplits.pollFirst();
+		if (split != null) {
+			context.assignSplit(split, subtaskId);
+			LOG.info("Assigned split to subtask {} : {}", subtaskId, split);
+		} else {
+			context.signalNoMoreSplits(subtaskId);
+			LOG.info("No more splits available for subtask {}", subtaskId);
+		}
+	}
+}
@@ -0,0 +1,207 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.jdbc.source.enumerator;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.connector.jdbc.source.split.JdbcSourceSplit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Serializable;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+import static org.apache.flink.util.Preconditions.checkState;
+
+/**
+ * Generates {@link JdbcSourceSplit splits} of roughly the same number of rows for a table with a
+ * numeric split column.
+ *
+ * <p>The generator starts with the range between the minimum and the maximum value of the split
+ * column and counts the rows in it. A range with more rows than the split size is divided into as
+ * many equally wide sub ranges as it needs splits, and each sub range is counted and divided again
+ * if necessary. Dense parts of a skewed column are thereby split finer than sparse parts. Finally,
+ * adjacent ranges are merged as long as they stay within the split size.
+ *
+ * <p>A single value of the split column is never divided, so a value which occurs more often than
+ * the split size results in a larger split. The counts are only issued on the split column, which
+ * should be indexed to make them cheap.
+ *
+ * <p>The rows whose split column is {@code NULL} are not part of any range. If there are such rows,
+ * they are read by a separate last split. The generator fails if there are such rows but the source
+ * has no query to read them.
+ */
+@Internal
+public class JdbcSplitGenerator implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final Logger LOG = LoggerFactory.getLogger(JdbcSplitGenerator.class);
+
+	private final String boundsQuery;
+	private final String countQuery;
+	private final String nullCountQuery;
+	private final long splitSize;
+	private final boolean readsNullValues;
+
+	/**
+	 * Creates a generator for the given table and split column.
+	 *
+	 * @param readsNullValues whether the source can read the rows whose split column is {@code NULL}
+	 */
+	public JdbcSplitGenerator(String tableName, String splitColumn, long splitSize, boolean readsNullValues) {
+		checkNotNull(tableName);
+		checkNotNull(splitColumn);
+		checkArgument(splitSize > 0, "The split size must be positive.");
+		this.boundsQuery = String.format("SELECT MIN(%s), MAX(%s) FROM %s", splitColumn, splitColumn, tableName);
+		this.countQuery = String.format("SELECT COUNT(*) FROM %s WHERE %s BETWEEN ? AND ?", tableName, splitColumn);
+		this.nullCountQuery = String.format("SELECT COUNT(*) FROM %s WHERE %s IS NULL", tableName, splitColumn);
+		this.splitSize = splitSize;
+		this.readsNullValues = readsNullValues;
+	}
+
+	/**
+	 * Generates the splits of the table, ordered by their ranges, followed by the split of the
+	 * {@code NULL} values if there are any. An empty table has no splits.
+	 */
+	public List<JdbcSourceSplit> generateSplits(Connection connection) throws SQLException {
+		final List<JdbcSourceSplit> splits = generateRangeSplits(connection);
+
+		final long nullCount;
+		try (Statement statement = connection.createStatement();
+				ResultSet resultSet = statement.executeQuery(nullCountQuery)) {
+			resultSet.next();
+			nullCount = resultSet.getLong(1);
+		}
+		if (nullCount > 0) {
+			checkState(readsNullValues,
+				"Found %s rows with query %s, but the source has no query to read them. " +
+					"Please set the unique key columns or a query for the NULL values.",
+				nullCount, nullCountQuery);
+			LOG.info("Generated a split for {} rows whose split column is NULL.", nullCount);
+			splits.add(JdbcSourceSplit.forNullValues(String.valueOf(splits.size())));
+		}
+		return splits;
+	}
+
+	private List<JdbcSourceSplit> generateRangeSplits(Connection connection) throws SQLException {
+		final long lowerBound;
+		final long upperBound;
+		try (Statement statement = connection.createStatement();
+				ResultSet resultSet = statement.executeQuery(boundsQuery)) {
+			resultSet.next();
+			lowerBound = resultSet.getLong(1);
+			upperBound = resultSet.getLong(2);
+			if (resultSet.wasNull()) {
+				LOG.info("No rows found with query {}, generating no range splits.", boundsQuery);
+				return new ArrayList<>();
+			}
+		}
+
+		List<Range> ranges = new ArrayList<>();
+		try (PreparedStatement countStatement = connection.prepareStatement(countQuery)) {
+			long count = count(countStatement, lowerBound, upperBound);
+			divide(countStatement, lowerBound, upperBound, count, ranges);
+		}
+
+		List<JdbcSourceSplit> splits = new ArrayList<>();
+		Range current = ranges.get(0);
+		for (int i = 1; i < ranges.size(); i++) {
+			Range next = ranges.get(i);
+			if (current.count + next.count <= splitSize) {
+				current = new Range(current.lowerBound, next.upperBound, current.count + next.count);
+			} else {
+				splits.add(toSplit(splits.size(), current));
+				current = next;
+			}
+		}
+		splits.add(toSplit(splits.size(), current));
+
+		LOG.info("Generated {} splits for the range [{}, {}] with split size {}.",
+			splits.size(), lowerBound, upperBound, splitSize);
+		return splits;
+	}
+
+	private void divide(
+			PreparedStatement countStatement,
+			long lowerBound,
+			long upperBound,
+			long count,
+			List<Range> ranges) throws SQLException {
+		if (count <= splitSize || lowerBound == upperBound) {
+			ranges.add(new Range(lowerBound, upperBound, count));
+			return;
+		}
+
+		long numRanges = (count + splitSize - 1) / splitSize;
+		// computed on the divided bounds, so that wide ranges can't overflow
+		long step = Math.max(1L, upperBound / numRanges - lowerBound / numRanges);
+		long start = lowerBound;
+		while (true) {
+			long end = start > upperBound - step ? upperBound : start + step - 1;
+			long subCount = count(countStatement, start, end);
+			if (subCount > 0) {
+				divide(countStatement, start, end, subCount, ranges);
+			} else {
+				ranges.add(new Range(start, end, 0L));
+			}
+			if (end == upperBound) {
+				break;
+			}
+			start = end + 1;
+		}
+	}
+
+	private static long count(PreparedStatement countStatement, long lowerBound, long upperBound) throws SQLException {
+		countStatement.setLong(1, lowerBound);
+		countStatement.setLong(2, upperBound);
+		try (ResultSet resultSet = countStatement.executeQuery()) {
+			resultSet.next();
+			return resultSet.getLong(1);
+		}
+	}
+
+	private static JdbcSourceSplit toSplit(int index, Range range) {
+		return new JdbcSourceSplit(String.valueOf(index), range.lowerBound, range.upperBound);
+	}
+
+	/**
+	 * A range of the split column and the number of rows in it.
+	 */
+	private static final class Range {
+
+		private final long lowerBound;
+		private final long upperBound;
+		private final long count;
+
+		private Range(long lowerBound, long upperBound, long count) {
+			this.lowerBound = lowerBound;
+			this.upperBound = upperBound;
+			this.count = count;
+		}
+	}
+}
@@ -0,0 +1,207 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.jdbc.source.reader;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.connector.base.source.reader.RecordsBySplits;
+import org.apache.flink.connector.base.source.reader.RecordsWithSplitIds;
+import org.apache.flink.connector.base.source.reader.splitreader.SplitReader;
+import org.apache.flink.connector.base.source.reader.splitreader.SplitsAddition;
+import org.apache.flink.connector.base.source.reader.splitreader.SplitsChange;
+import org.apache.flink.connector.jdbc.JdbcConnectionOptions;
+import org.apache.flink.connector.jdbc.internal.connection.SimpleJdbcConnectionProvider;
+import org.apache.flink.connector.jdbc.source.JdbcRecordExtractor;
+import org.apache.flink.connector.jdbc.source.split.JdbcSourceSplit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * A {@link SplitReader} which reads the rows of {@link JdbcSourceSplit JdbcSourceSplits} one
+ * after another.
+ *
+ * <p>The reader keeps a single connection and prepared statement for all of its splits, and a
+ * second statement for the split of the {@code NULL} values of the split column. The result sets are forward only and read only, and are consumed in batches of at most the fetch
+ * size, so that a split is streamed from the database instead of being materialized.
+ */
+@Internal
+public class JdbcSourceSplitReader<T> implements SplitReader<T, JdbcSourceSplit> {
+
+	private static final Logger LOG = LoggerFactory.getLogger(JdbcSourceSplitReader.class);
+
+	/** The number of rows returned by a fetch if the fetch size is left to the driver. */
+	private static final int DEFAULT_BATCH_SIZE = 1024;
+
+	private final SimpleJdbcConnectionProvider connectionProvider;
+	private final String query;
+	@Nullable
+	private final String nullQuery;
+	private final int fetchSize;
+	@Nullable
+	private final Boolean autoCommit;
+	private final JdbcRecordExtractor<T> recordExtractor;
+	private final int batchSize;
+
+	private final Deque<JdbcSourceSplit> splits;
+
+	@Nullable
+	private Connection connection;
+	@Nullable
+	private PreparedStatement statement;
+	@Nullable
+	private PreparedStatement nullStatement;
+	@Nullable
+	private JdbcSourceSplit currentSplit;
+	@Nullable
+	private ResultSet resultSet;
+
+	public JdbcSourceSplitReader(
+			JdbcConnectionOptions connectionOptions,
+			String query,
+			@Nullable String nullQuery,
+			int fetchSize,
+			@Nullable Boolean autoCommit,
+			JdbcRecordExtractor<T> recordExtractor) {
+		this.connectionProvider = new SimpleJdbcConnectionProvider(connectionOptions);
+		this.query = query;
+		this.nullQuery = nullQuery;
+		this.fetchSize = fetchSize;
+		this.autoCommit = autoCommit;
+		this.recordExtractor = recordExtractor;
+		// Integer.MIN_VALUE asks MySQL to stream row by row
+		this.batchSize = fetchSize > 0 ? fetchSize : DEFAULT_BATCH_SIZE;
+		this.splits = new ArrayDeque<>();
+	}
+
+	@Override
+	public RecordsWithSplitIds<T> fetch() throws IOException {
+		RecordsBySplits.Builder<T> builder = new RecordsBySplits.Builder<>();
+		try {
+			if (resultSet == null && !openNextSplit()) {
+				return builder.build();
+			}
+			String splitId = currentSplit.splitId();
+			for (int i = 0; i < batchSize; i++) {
+				if (!resultSet.next()) {
+					builder.addFinishedSplit(splitId);
+					closeCurrentSplit();
+					break;
+				}
+				builder.add(splitId, recordExtractor.extract(resultSet));
+			}
+		} catch (SQLException | ClassNotFoundException e) {
+			throw new IOException("Failed to read split " + currentSplit, e);
+		}
+		return builder.build();
+	}
+
+	@Override
+	public void handleSplitsChanges(SplitsChange<JdbcSourceSplit> splitsChanges) {
+		if (!(splitsChanges instanceof SplitsAddition)) {
+			throw new UnsupportedOperationException(String.format(
+				"The SplitChange type of %s is not supported.", splitsChanges.getClass()));
+		}
+		LOG.debug("Handling split change {}", splitsChanges);
+		splits.addAll(splitsChanges.splits());
+	}
+
+	@Override
+	public void wakeUp() {
+		// a fetch returns after at most one batch, so there is nothing to wake up
+	}
+
+	@Override
+	public void close() throws Exception {
+		closeCurrentSplit();
+		if (statement != null) {
+			statement.close();
+			statement = null;
+		}
+		if (nullStatement != null) {
+			nullStatement.close();
+			nullStatement = null;
+		}
+		if (connection != null) {
+			connection.close();
+			connection = null;
+		}
+	}
+
+	private boolean openNextSplit() throws SQLException, ClassNotFoundException {
+		currentSplit = splits.poll();
+		if (currentSplit == null) {
+			return false;
+		}
+		if (currentSplit.isNullValues()) {
+			if (nullStatement == null) {
+				nullStatement = prepareStatement(checkNotNull(nullQuery, "The source has no query for NULL values."));
+			}
+			resultSet = nullStatement.executeQuery();
+		} else {
+			if (statement == null) {
+				statement = prepareStatement(query);
+			}
+			statement.setLong(1, currentSplit.getLowerBound());
+			statement.setLong(2, currentSplit.getUpperBound());
+			resultSet = statement.executeQuery();
+		}
+
+		// skip the records which were emitted before the restore
+		long skipped = 0;
+		while (skipped < currentSplit.getRecordsToSkip() && resultSet.next()) {
+			skipped++;
+		}
+		LOG.debug("Opened split {}", currentSplit);
+		return true;
+	}
+
+	private PreparedStatement prepareStatement(String query) throws SQLException, ClassNotFoundException {
+		if (connection == null) {
+			connection = connectionProvider.getConnection();
+			if (autoCommit != null) {
+				connection.setAutoCommit(autoCommit);
+			}
+		}
+		PreparedStatement preparedStatement = connection.prepareStatement(
+			query,
+			ResultSet.TYPE_FORWARD_ONLY,
+			ResultSet.CONCUR_READ_ONLY);
+		preparedStatement.setFetchSize(fetchSize);
+		return preparedStatement;
+	}
+
+	private void closeCurrentSplit() throws SQLException {
+		if (resultSet != null) {
+			resultSet.close();
+			resultSet = null;
+		}
+	}
+}
@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.jdbc.source.split;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.api.connector.source.SourceSplit;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A {@link SourceSplit} for the JDBC source. A split covers all rows whose split column is within
+ * the inclusive range {@code [lowerBound, upperBound]}, or, if it is created with
+ * {@link #forNullValues(String)}, all rows whose split column is {@code NULL}.
+ *
+ * <p>The split also holds the number of records of the range which were already emitted, so that
+ * a restored reader can skip them. This requires the query of the source to return the rows of a
+ * range in a deterministic order.
+ */
+@Internal
+public class JdbcSourceSplit implements SourceSplit, Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private final String splitId;
+	private final long lowerBound;
+	private final long upperBound;
+	private final boolean nullValues;
+	private final long recordsToSkip;
+
+	public JdbcSourceSplit(String splitId, long lowerBound, long upperBound) {
+		this(splitId, lowerBound, upperBound, 0L);
+	}
+
+	public JdbcSourceSplit(String splitId, long lowerBound, long upperBound, long recordsToSkip) {
+		this(splitId, lowerBound, upperBound, false, recordsToSkip);
+	}
+
+	public JdbcSourceSplit(
+			String splitId,
+			long lowerBound,
+			long upperBound,
+			boolean nullValues,
+			long recordsToSkip) {
+		this.splitId = splitId;
+		this.lowerBound = lowerBound;
+		this.upperBound = upperBound;
+		this.nullValues = nullValues;
+		this.recordsToSkip = recordsToSkip;
+	}
+
+	/**
+	 * Creates the split of the rows whose split column is {@code NULL}.
+	 */
+	public static JdbcSourceSplit forNullValues(String splitId) {
+		return new JdbcSourceSplit(splitId, 0L, 0L, true, 0L);
+	}
+
+	@Override
+	public String splitId() {
+		return splitId;
+	}
+
+	public long getLowerBound() {
+		return lowerBound;
+	}
+
+	public long getUpperBound() {
+		return upperBound;
+	}
+
+	/**
+	 * Whether the split covers the rows whose split column is {@code NULL} instead of a range.
+	 */
+	public boolean isNullValues() {
+		return nullValues;
+	}
+
+	public long getRecordsToSkip() {
+		return recordsToSkip;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (o == null || getClass() != o.getClass()) {
+			return false;
+		}
+		JdbcSourceSplit that = (JdbcSourceSplit) o;
+		return lowerBound == that.lowerBound &&
+			upperBound == that.upperBound &&
+			nullValues == that.nullValues &&
+			recordsToSkip == that.recordsToSkip &&
+			splitId.equals(that.splitId);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(splitId, lowerBound, upperBound, nullValues, recordsToSkip);
+	}
+
+	@Override
+	public String toString() {
+		if (nullValues) {
+			return String.format("JdbcSourceSplit{splitId=%s, range=NULL, recordsToSkip=%d}", splitId, recordsToSkip);
+		}
+		return String.format("JdbcSourceSplit{splitId=%s, range=[%d, %d], recordsToSkip=%d}",
+			splitId, lowerBound, upperBound, recordsToSkip);
+	}
+}
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.jdbc.source.split;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.core.io.SimpleVersionedSerializer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * The {@link SimpleVersionedSerializer serializer} for {@link JdbcSourceSplit}.
+ */
+@Internal
+public class JdbcSourceSplitSerializer implements SimpleVersionedSerializer<JdbcSourceSplit> {
+
+	private static final int CURRENT_VERSION = 0;
+
+	@Override
+	public int getVersion() {
+		return CURRENT_VERSION;
+	}
+
+	@Override
+	public byte[] serialize(JdbcSourceSplit split) throws IOException {
+		try (ByteArrayOutputStream baos = new ByteArrayOutputStream();
+				DataOutputStream out = new DataOutputStream(baos)) {
+			serialize(split, out);
+			out.flush();
+			return baos.toByteArray();
+		}
+	}
+
+	@Override
+	public JdbcSourceSplit deserialize(int version, byte[] serialized) throws IOException {
+		if (version != CURRENT_VERSION) {
+			throw new IOException(String.format("The bytes are serialized with version %d, " +
+				"while this deserializer only supports version up to %d", version, CURRENT_VERSION));
+		}
+		try (ByteArrayInputStream bais = new ByteArrayInputStream(serialized);
+				DataInputStream in = new DataInputStream(bais)) {
+			return deserialize(in);
+		}
+	}
+
+	private static void serialize(JdbcSourceSplit split, DataOutput out) throws IOException {
+		out.writeUTF(split.splitId());
+		out.writeLong(split.getLowerBound());
+		out.writeLong(split.getUpperBound());
+		out.writeBoolean(split.isNullValues());
+		out.writeLong(split.getRecordsToSkip());
+	}
+
+	private static JdbcSourceSplit deserialize(DataInput in) throws IOException {
+		String splitId = in.readUTF();
+		long lowerBound = in.readLong();
+		long upperBound = in.readLong();
+		boolean nullValues = in.readBoolean();
+		long recordsToSkip = in.readLong();
+		return new JdbcSourceSplit(splitId, lowerBound, upperBound, nullValues, recordsToSkip);
+	}
+}
@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.jdbc.source.split;
+
+import org.apache.flink.annotation.Internal;
+
+/**
+ * The mutable state of a {@link JdbcSourceSplit} which tracks the number of emitted records.
+ */
+@Internal
+public class JdbcSourceSplitState {
+
+	private final JdbcSourceSplit split;
+	private long recordsToSkip;
+
+	public JdbcSourceSplitState(JdbcSourceSplit split) {
+		this.split = split;
+		this.recordsToSkip = split.getRecordsToSkip();
+	}
+
+	public void onRecordEmitted() {
+		recordsToSkip++;
+	}
+
+	public JdbcSourceSplit toJdbcSourceSplit() {
+		return new JdbcSourceSplit(
+			split.splitId(),
+			split.getLowerBound(),
+			split.getUpperBound(),
+			split.isNullValues(),
+			recordsToSkip);
+	}
+}
@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.jdbc.source;
+
+import org.apache.flink.api.common.typeinfo.Types;
+import org.apache.flink.connector.jdbc.JdbcConnectionOptions;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Tests for {@link JdbcSourceBuilder}.
+ */
+public class JdbcSourceBuilderTest {
+
+	@Test
+	public void testDefaultQueryOrdersBySplitColumn() {
+		JdbcSource<Integer> source = builder()
+			.setSplitColumn("id")
+			.build();
+
+		assertEquals("SELECT * FROM books WHERE id BETWEEN ? AND ? ORDER BY id", source.getQuery());
+	}
+
+	@Test
+	public void testDefaultQueryOrdersByUniqueKeyAfterSplitColumn() {
+		JdbcSource<Integer> source = builder()
+			.setSplitColumn("qty")
+			.setUniqueKeyColumns("author", "id")
+			.build();
+
+		assertEquals("SELECT * FROM books WHERE qty BETWEEN ? AND ? ORDER BY qty, author, id", source.getQuery());
+		assertEquals("SELECT * FROM books WHERE qty IS NULL ORDER BY author, id", source.getNullQuery());
+	}
+
+	@Test
+	public void testNoDefaultNullQueryWithoutUniqueKey() {
+		JdbcSource<Integer> source = builder()
+			.setSplitColumn("id")
+			.build();
+
+		assertNull(source.getNullQuery());
+	}
+
+	@Test
+	public void testUniqueSplitColumnIsNotRepeatedInOrder() {
+		JdbcSource<Integer> source = builder()
+			.setSplitColumn("id")
+			.setUniqueKeyColumns("id")
+			.build();
+
+		assertEquals("SELECT * FROM books WHERE id BETWEEN ? AND ? ORDER BY id", source.getQuery());
+	}
+
+	@Test
+	public void testCustomQueryIsNotChanged() {
+		String query = "SELECT id FROM books WHERE qty BETWEEN ? AND ? ORDER BY qty, id";
+		JdbcSource<Integer> source = builder()
+			.setSplitColumn("qty")
+			.setUniqueKeyColumns("id")
+			.setQuery(query)
+			.build();
+
+		assertEquals(query, source.getQuery());
+		// the default query for the NULL values can't be derived from a custom query
+		assertNull(source.getNullQuery());
+	}
+
+	@Test
+	public void testCustomNullQuery() {
+		String nullQuery = "SELECT id FROM books WHERE qty IS NULL ORDER BY id";
+		JdbcSource<Integer> source = builder()
+			.setSplitColumn("qty")
+			.setQuery("SELECT id FROM books WHERE qty BETWEEN ? AND ? ORDER BY qty, id")
+			.setNullQuery(nullQuery)
+			.build();
+
+		assertEquals(nullQuery, source.getNullQuery());
+	}
+
+	private static JdbcSourceBuilder<Integer> builder() {
+		return JdbcSource.<Integer>builder()
+			.setConnectionOptions(new JdbcConnectionOptions.JdbcConnectionOptionsBuilder()
+				.withUrl("jdbc:derby:memory:test")
+				.withDriverName("org.apache.derby.jdbc.EmbeddedDriver")
+				.build())
+			.setTable("books")
+			.setRecordExtractor(resultSet -> resultSet.getInt("id"))
+			.setTypeInformation(Types.INT);
+	}
+}
@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.jdbc.source.enumerator;
+
+import org.apache.flink.connector.jdbc.JdbcConnectionOptions;
+import org.apache.flink.connector.jdbc.JdbcDataTestBase;
+import org.apache.flink.connector.jdbc.source.split.JdbcSourceSplit;
+import org.apache.flink.connector.testutils.source.reader.TestingSplitEnumeratorContext;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.apache.flink.connector.jdbc.JdbcTestFixture.INPUT_TABLE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link JdbcSourceEnumerator}.
+ */
+public class JdbcSourceEnumeratorTest extends JdbcDataTestBase {
+
+	@Test
+	public void testSplitRequestsBeforeGenerationAreServedAfterwards() {
+		TestingSplitEnumeratorContext<JdbcSourceSplit> context = createContext(2);
+		JdbcSourceEnumerator enumerator = createEnumerator(context, null);
+		enumerator.start();
+
+		enumerator.handleSplitRequest(0, "localhost");
+		assertTrue(context.getSplitAssignments().isEmpty());
+
+		context.triggerAllActions();
+
+		assertEquals(
+			Collections.singletonList(new JdbcSourceSplit("0", 1001L, 1005L)),
+			context.getSplitAssignments().get(0).getAssignedSplits());
+		assertFalse(context.getSplitAssignments().containsKey(1));
+	}
+
+	@Test
+	public void testSplitsAreAssignedOneAtATimeUntilNoneRemain() {
+		TestingSplitEnumeratorContext<JdbcSourceSplit> context = createContext(2);
+		JdbcSourceEnumerator enumerator = createEnumerator(context, null);
+		enumerator.start();
+		context.triggerAllActions();
+
+		enumerator.handleSplitRequest(0, "localhost");
+		enumerator.handleSplitRequest(1, "localhost");
+		enumerator.handleSplitRequest(0, "localhost");
+
+		assertEquals(
+			Collections.singletonList(new JdbcSourceSplit("0", 1001L, 1005L)),
+			context.getSplitAssignments().get(0).getAssignedSplits());
+		assertEquals(
+			Collections.singletonList(new JdbcSourceSplit("1", 1006L, 1010L)),
+			context.getSplitAssignments().get(1).getAssignedSplits());
+		assertTrue(context.getSplitAssignments().get(0).hasReceivedNoMoreSplitsSignal());
+		assertFalse(context.getSplitAssignments().get(1).hasReceivedNoMoreSplitsSignal());
+	}
+
+	@Test
+	public void testSplitsAddedBackAreAssignedWithTheirProgress() {
+		TestingSplitEnumeratorContext<JdbcSourceSplit> context = createContext(2);
+		JdbcSourceEnumerator enumerator = createEnumerator(context, null);
+		enumerator.start();
+		context.triggerAllActions();
+
+		enumerator.handleSplitRequest(0, "localhost");
+		JdbcSourceSplit partiallyRead = new JdbcSourceSplit("0", 1001L, 1005L, 3L);
+		enumerator.addSplitsBack(Collections.singletonList(partiallyRead), 0);
+
+		assertEquals(
+			Arrays.asList(partiallyRead, new JdbcSourceSplit("1", 1006L, 1010L)),
+			enumerator.snapshotState().getRemainingSplits());
+
+		enumerator.handleSplitRequest(1, "localhost");
+		assertEquals(
+			Collections.singletonList(partiallyRead),
+			context.getSplitAssignments().get(1).getAssignedSplits());
+	}
+
+	@Test
+	public void testRestoredEnumeratorDoesNotGenerateSplitsAgain() {
+		TestingSplitEnumeratorContext<JdbcSourceSplit> context = createContext(1);
+		JdbcSourceSplit remaining = new JdbcSourceSplit("1", 1006L, 1010L, 2L);
+		JdbcSourceEnumerator enumerator = createEnumerator(
+			context,
+			new JdbcSourceEnumState(Collections.singletonList(remaining), true));
+		enumerator.start();
+		assertEquals(0, context.getExecutorService().numQueuedRunnables());
+
+		enumerator.handleSplitRequest(0, "localhost");
+		enumerator.handleSplitRequest(0, "localhost");
+
+		assertEquals(
+			Collections.singletonList(remaining),
+			context.getSplitAssignments().get(0).getAssignedSplits());
+		assertTrue(context.getSplitAssignments().get(0).hasReceivedNoMoreSplitsSignal());
+		JdbcSourceEnumState state = enumerator.snapshotState();
+		assertTrue(state.isSplitsGenerated());
+		assertTrue(state.getRemainingSplits().isEmpty());
+	}
+
+	@Test
+	public void testSplitRequestsOfUnregisteredReadersAreIgnored() {
+		TestingSplitEnumeratorContext<JdbcSourceSplit> context = new TestingSplitEnumeratorContext<>(2);
+		context.registerReader(0, "localhost");
+		JdbcSourceEnumerator enumerator = createEnumerator(context, null);
+		enumerator.start();
+		context.triggerAllActions();
+
+		enumerator.handleSplitRequest(1, "localhost");
+
+		assertTrue(context.getSplitAssignments().isEmpty());
+		assertEquals(2, enumerator.snapshotState().getRemainingSplits().size());
+	}
+
+	private static TestingSplitEnumeratorContext<JdbcSourceSplit> createContext(int parallelism) {
+		TestingSplitEnumeratorContext<JdbcSourceSplit> context = new TestingSplitEnumeratorContext<>(parallelism);
+		for (int i = 0; i < parallelism; i++) {
+			context.registerReader(i, "localhost");
+		}
+		return context;
+	}
+
+	private JdbcSourceEnumerator createEnumerator(
+			TestingSplitEnumeratorContext<JdbcSourceSplit> context,
+			JdbcSourceEnumState restoredState) {
+		JdbcConnectionOptions connectionOptions = new JdbcConnectionOptions.JdbcConnectionOptionsBuilder()
+			.withUrl(getDbMetadata().getUrl())
+			.withDriverName(getDbMetadata().getDriverClass())
+			.build();
+		return new JdbcSourceEnumerator(
+			context,
+			connectionOptions,
+			new JdbcSplitGenerator(INPUT_TABLE, "id", 5L, false),
+			restoredState);
+	}
+}
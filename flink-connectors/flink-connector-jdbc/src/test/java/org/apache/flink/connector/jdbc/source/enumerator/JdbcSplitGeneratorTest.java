@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.jdbc.source.enumerator;
+
+import org.apache.flink.connector.jdbc.JdbcDataTestBase;
+import org.apache.flink.connector.jdbc.JdbcTestFixture;
+import org.apache.flink.connector.jdbc.source.split.JdbcSourceSplit;
+
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Collections;
+import java.util.List;
+
+import static org.apache.flink.connector.jdbc.JdbcTestFixture.INPUT_TABLE;
+import static org.apache.flink.connector.jdbc.JdbcTestFixture.INSERT_TEMPLATE;
+import static org.apache.flink.connector.jdbc.JdbcTestFixture.OUTPUT_TABLE;
+import static org.apache.flink.connector.jdbc.JdbcTestFixture.TEST_DATA;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for {@link JdbcSplitGenerator}.
+ */
+public class JdbcSplitGeneratorTest extends JdbcDataTestBase {
+
+	@Test
+	public void testSplitsCoverTableWithinSplitSize() throws SQLException {
+		List<JdbcSourceSplit> splits = generateSplits(INPUT_TABLE, 3L);
+
+		assertEquals(TEST_DATA[0].id.longValue(), splits.get(0).getLowerBound());
+		assertEquals(TEST_DATA[TEST_DATA.length - 1].id.longValue(), splits.get(splits.size() - 1).getUpperBound());
+
+		long numRows = 0;
+		for (int i = 0; i < splits.size(); i++) {
+			JdbcSourceSplit split = splits.get(i);
+			assertEquals(String.valueOf(i), split.splitId());
+			if (i > 0) {
+				assertEquals(splits.get(i - 1).getUpperBound() + 1, split.getLowerBound());
+			}
+			long splitRows = countRows(split);
+			assertTrue(splitRows <= 3L);
+			numRows += splitRows;
+		}
+		assertEquals(TEST_DATA.length, numRows);
+	}
+
+	@Test
+	public void testSingleSplitForSmallTable() throws SQLException {
+		List<JdbcSourceSplit> splits = generateSplits(INPUT_TABLE, TEST_DATA.length);
+
+		assertEquals(1, splits.size());
+		assertEquals(TEST_DATA[0].id.longValue(), splits.get(0).getLowerBound());
+		assertEquals(TEST_DATA[TEST_DATA.length - 1].id.longValue(), splits.get(0).getUpperBound());
+	}
+
+	@Test
+	public void testNoSplitsForEmptyTable() throws SQLException {
+		assertTrue(generateSplits(OUTPUT_TABLE, 3L).isEmpty());
+	}
+
+	@Test
+	public void testSplitForNullValues() throws SQLException {
+		insertQuantities(1, null, 2, null);
+
+		List<JdbcSourceSplit> splits = generateSplits(OUTPUT_TABLE, "qty", 10L, true);
+
+		assertEquals(2, splits.size());
+		assertEquals(new JdbcSourceSplit("0", 1L, 2L), splits.get(0));
+		assertEquals(JdbcSourceSplit.forNullValues("1"), splits.get(1));
+	}
+
+	@Test
+	public void testOnlyNullValues() throws SQLException {
+		insertQuantities(null, null);
+
+		assertEquals(
+			Collections.singletonList(JdbcSourceSplit.forNullValues("0")),
+			generateSplits(OUTPUT_TABLE, "qty", 10L, true));
+	}
+
+	@Test
+	public void testFailOnNullValuesWhichCannotBeRead() throws SQLException {
+		insertQuantities(1, null);
+
+		try {
+			generateSplits(OUTPUT_TABLE, "qty", 10L, false);
+			fail("Expected an exception for the NULL values.");
+		} catch (IllegalStateException e) {
+			assertTrue(e.getMessage().contains("IS NULL"));
+		}
+	}
+
+	private List<JdbcSourceSplit> generateSplits(String table, long splitSize) throws SQLException {
+		return generateSplits(table, "id", splitSize, false);
+	}
+
+	private List<JdbcSourceSplit> generateSplits(
+			String table,
+			String splitColumn,
+			long splitSize,
+			boolean readsNullValues) throws SQLException {
+		JdbcSplitGenerator generator = new JdbcSplitGenerator(table, splitColumn, splitSize, readsNullValues);
+		try (Connection connection = DriverManager.getConnection(getDbMetadata().getUrl())) {
+			return generator.generateSplits(connection);
+		}
+	}
+
+	private void insertQuantities(Integer... quantities) throws SQLException {
+		try (Connection connection = DriverManager.getConnection(getDbMetadata().getUrl());
+				PreparedStatement statement = connection.prepareStatement(String.format(INSERT_TEMPLATE, OUTPUT_TABLE))) {
+			for (int id = 0; id < quantities.length; id++) {
+				statement.setInt(1, id);
+				statement.setString(2, "title-" + id);
+				statement.setString(3, "author-" + id);
+				statement.setDouble(4, id);
+				if (quantities[id] == null) {
+					statement.setNull(5, Types.INTEGER);
+				} else {
+					statement.setInt(5, quantities[id]);
+				}
+				statement.addBatch();
+			}
+			statement.executeBatch();
+		}
+	}
+
+	private static long countRows(JdbcSourceSplit split) {
+		long count = 0;
+		for (JdbcTestFixture.TestEntry entry : TEST_DATA) {
+			if (entry.id >= split.getLowerBound() && entry.id <= split.getUpperBound()) {
+				count++;
+			}
+		}
+		return count;
+	}
+}
@@ -0,0 +1,207 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.jdbc.source.reader;
+
+import org.apache.flink.connector.base.source.reader.RecordsWithSplitIds;
+import org.apache.flink.connector.base.source.reader.splitreader.SplitsAddition;
+import org.apache.flink.connector.jdbc.JdbcConnectionOptions;
+import org.apache.flink.connector.jdbc.JdbcDataTestBase;
+import org.apache.flink.connector.jdbc.source.split.JdbcSourceSplit;
+
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.apache.flink.connector.jdbc.JdbcTestFixture.INPUT_TABLE;
+import static org.apache.flink.connector.jdbc.JdbcTestFixture.INSERT_TEMPLATE;
+import static org.apache.flink.connector.jdbc.JdbcTestFixture.OUTPUT_TABLE;
+import static org.apache.flink.connector.jdbc.JdbcTestFixture.TEST_DATA;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link JdbcSourceSplitReader}.
+ */
+public class JdbcSourceSplitReaderTest extends JdbcDataTestBase {
+
+	private static final String SPLIT_QUERY =
+		"SELECT * FROM " + INPUT_TABLE + " WHERE id BETWEEN ? AND ? ORDER BY id";
+
+	@Test
+	public void testReadSplitsInBatchesOfFetchSize() throws Exception {
+		JdbcSourceSplitReader<Integer> reader = createReader(SPLIT_QUERY, 3);
+		try {
+			reader.handleSplitsChanges(new SplitsAddition<>(Arrays.asList(
+				new JdbcSourceSplit("0", 1001L, 1005L),
+				new JdbcSourceSplit("1", 1006L, 1010L))));
+
+			List<Integer> ids = new ArrayList<>();
+			List<String> finishedSplits = new ArrayList<>();
+			RecordsWithSplitIds<Integer> records;
+			do {
+				records = reader.fetch();
+				List<Integer> batch = new ArrayList<>();
+				collect(records, batch);
+				assertTrue(batch.size() <= 3);
+				ids.addAll(batch);
+				finishedSplits.addAll(records.finishedSplits());
+			} while (finishedSplits.size() < 2);
+
+			assertEquals(Arrays.asList(1001, 1002, 1003, 1004, 1005, 1006, 1007, 1008, 1009, 1010), ids);
+			assertEquals(Arrays.asList("0", "1"), finishedSplits);
+		} finally {
+			reader.close();
+		}
+	}
+
+	@Test
+	public void testRestoreInTheMiddleOfSplit() throws Exception {
+		assertEquals(Arrays.asList(1008, 1009, 1010), readSplit(SPLIT_QUERY, new JdbcSourceSplit("0", 1001L, 1010L, 7L)));
+	}
+
+	@Test
+	public void testRestoreAfterLastRecordOfSplit() throws Exception {
+		assertEquals(
+			Collections.emptyList(),
+			readSplit(SPLIT_QUERY, new JdbcSourceSplit("0", 1001L, 1010L, TEST_DATA.length)));
+	}
+
+	@Test
+	public void testRestoreInTheMiddleOfSplitWithNonUniqueSplitColumn() throws Exception {
+		// the qty values repeat, only the order by the primary key makes the order total
+		try (Connection connection = DriverManager.getConnection(getDbMetadata().getUrl());
+				PreparedStatement statement = connection.prepareStatement(String.format(INSERT_TEMPLATE, OUTPUT_TABLE))) {
+			for (int id = 9; id > 0; id--) {
+				statement.setInt(1, id);
+				statement.setString(2, "title-" + id);
+				statement.setString(3, "author-" + id);
+				statement.setDouble(4, id);
+				statement.setInt(5, id % 3);
+				statement.addBatch();
+			}
+			statement.executeBatch();
+		}
+		String query = "SELECT * FROM " + OUTPUT_TABLE + " WHERE qty BETWEEN ? AND ? ORDER BY qty, id";
+
+		List<Integer> allIds = readSplit(query, new JdbcSourceSplit("0", 0L, 2L));
+		assertEquals(Arrays.asList(3, 6, 9, 1, 4, 7, 2, 5, 8), allIds);
+
+		for (int skip = 0; skip <= allIds.size(); skip++) {
+			assertEquals(allIds.subList(skip, allIds.size()), readSplit(query, new JdbcSourceSplit("0", 0L, 2L, skip)));
+		}
+	}
+
+	@Test
+	public void testReadNullValues() throws Exception {
+		try (Connection connection = DriverManager.getConnection(getDbMetadata().getUrl());
+				PreparedStatement statement = connection.prepareStatement(String.format(INSERT_TEMPLATE, OUTPUT_TABLE))) {
+			for (int id = 1; id <= 6; id++) {
+				statement.setInt(1, id);
+				statement.setString(2, "title-" + id);
+				statement.setString(3, "author-" + id);
+				statement.setDouble(4, id);
+				if (id % 2 == 0) {
+					statement.setNull(5, Types.INTEGER);
+				} else {
+					statement.setInt(5, id);
+				}
+				statement.addBatch();
+			}
+			statement.executeBatch();
+		}
+		String query = "SELECT * FROM " + OUTPUT_TABLE + " WHERE qty BETWEEN ? AND ? ORDER BY qty, id";
+		String nullQuery = "SELECT * FROM " + OUTPUT_TABLE + " WHERE qty IS NULL ORDER BY id";
+
+		JdbcSourceSplitReader<Integer> reader = createReader(query, nullQuery, 2);
+		try {
+			reader.handleSplitsChanges(new SplitsAddition<>(Arrays.asList(
+				new JdbcSourceSplit("0", 1L, 5L),
+				JdbcSourceSplit.forNullValues("1"))));
+			assertEquals(Arrays.asList(1, 3, 5), readAll(reader));
+			assertEquals(Arrays.asList(2, 4, 6), readAll(reader));
+		} finally {
+			reader.close();
+		}
+
+		// a restored null split skips its emitted records as well
+		reader = createReader(query, nullQuery, 2);
+		try {
+			reader.handleSplitsChanges(new SplitsAddition<>(Collections.singletonList(
+				new JdbcSourceSplit("1", 0L, 0L, true, 1L))));
+			assertEquals(Arrays.asList(4, 6), readAll(reader));
+		} finally {
+			reader.close();
+		}
+	}
+
+	private List<Integer> readSplit(String query, JdbcSourceSplit split) throws Exception {
+		JdbcSourceSplitReader<Integer> reader = createReader(query, 2);
+		try {
+			reader.handleSplitsChanges(new SplitsAddition<>(Collections.singletonList(split)));
+			return readAll(reader);
+		} finally {
+			reader.close();
+		}
+	}
+
+	private JdbcSourceSplitReader<Integer> createReader(String query, int fetchSize) {
+		return createReader(query, null, fetchSize);
+	}
+
+	private JdbcSourceSplitReader<Integer> createReader(String query, String nullQuery, int fetchSize) {
+		JdbcConnectionOptions connectionOptions = new JdbcConnectionOptions.JdbcConnectionOptionsBuilder()
+			.withUrl(getDbMetadata().getUrl())
+			.withDriverName(getDbMetadata().getDriverClass())
+			.build();
+		return new JdbcSourceSplitReader<>(
+			connectionOptions,
+			query,
+			nullQuery,
+			fetchSize,
+			null,
+			resultSet -> resultSet.getInt("id"));
+	}
+
+	private static List<Integer> readAll(JdbcSourceSplitReader<Integer> reader) throws Exception {
+		List<Integer> ids = new ArrayList<>();
+		RecordsWithSplitIds<Integer> records;
+		do {
+			records = reader.fetch();
+			collect(records, ids);
+		} while (records.finishedSplits().isEmpty());
+		return ids;
+	}
+
+	private static void collect(RecordsWithSplitIds<Integer> records, List<Integer> ids) {
+		while (records.nextSplit() != null) {
+			Integer id;
+			while ((id = records.nextRecordFromSplit()) != null) {
+				ids.add(id);
+			}
+		}
+	}
+}
+
@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.jdbc.source.split;
+
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link JdbcSourceSplitSerializer}.
+ */
+public class JdbcSourceSplitSerializerTest {
+
+	@Test
+	public void testSerializeAndDeserialize() throws IOException {
+		JdbcSourceSplitSerializer serializer = new JdbcSourceSplitSerializer();
+		JdbcSourceSplit split = new JdbcSourceSplit("3", Long.MIN_VALUE, 42L, 17L);
+
+		byte[] serialized = serializer.serialize(split);
+		JdbcSourceSplit deserialized = serializer.deserialize(serializer.getVersion(), serialized);
+
+		assertEquals(split, deserialized);
+	}
+
+	@Test
+	public void testSerializeAndDeserializeNullValues() throws IOException {
+		JdbcSourceSplitSerializer serializer = new JdbcSourceSplitSerializer();
+		JdbcSourceSplit split = new JdbcSourceSplit("4", 0L, 0L, true, 3L);
+
+		byte[] serialized = serializer.serialize(split);
+		JdbcSourceSplit deserialized = serializer.deserialize(serializer.getVersion(), serialized);
+
+		assertEquals(split, deserialized);
+		assertTrue(deserialized.isNullValues());
+	}
+
+	@Test
+	public void testSplitStateCountsEmittedRecords() {
+		JdbcSourceSplitState state = new JdbcSourceSplitState(new JdbcSourceSplit("0", 1L, 10L, 2L));
+		state.onRecordEmitted();
+		state.onRecordEmitted();
+
+		assertEquals(new JdbcSourceSplit("0", 1L, 10L, 4L), state.toJdbcSourceSplit());
+
+		JdbcSourceSplitState nullState = new JdbcSourceSplitState(JdbcSourceSplit.forNullValues("1"));
+		nullState.onRecordEmitted();
+		assertEquals(new JdbcSourceSplit("1", 0L, 0L, true, 1L), nullState.toJdbcSourceSplit());
+	}
+}
@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kafka.sink;
+
+import java.util.Objects;
+
+/**
+ * A transaction of a {@link KafkaWriter} which is flushed and waits for its commit. It holds the
+ * producer id and epoch, so that any producer can resume and commit the transaction.
+ */
+class KafkaCommittable {
+
+	private final long producerId;
+	private final short epoch;
+	private final String transactionalId;
+
+	KafkaCommittable(long producerId, short epoch, String transactionalId) {
+		this.producerId = producerId;
+		this.epoch = epoch;
+		this.transactionalId = transactionalId;
+	}
+
+	long getProducerId() {
+		return producerId;
+	}
+
+	short getEpoch() {
+		return epoch;
+	}
+
+	String getTransactionalId() {
+		return transactionalId;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (o == null || getClass() != o.getClass()) {
+			return false;
+		}
+		KafkaCommittable that = (KafkaCommittable) o;
+		return producerId == that.producerId
+			&& epoch == that.epoch
+			&& transactionalId.equals(that.transactionalId);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(producerId, epoch, transactionalId);
+	}
+
+	@Override
+	public String toString() {
+		return "KafkaCommittable{" +
+			"producerId=" + producerId +
+			", epoch=" + epoch +
+			", transactionalId='" + transactionalId + '\'' +
+			'}';
+	}
+}
@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kafka.sink;
+
+import org.apache.flink.api.connector.sink.Committer;
+import org.apache.flink.streaming.connectors.kafka.internals.FlinkKafkaInternalProducer;
+
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.errors.InvalidTxnStateException;
+import org.apache.kafka.common.errors.ProducerFencedException;
+import org.apache.kafka.common.errors.RetriableException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Commits the transactions of the {@link KafkaWriter}.
+ *
+ * <p>A transaction is committed by resuming it with its producer id and epoch. The committer uses
+ * a single producer for all transactions, it only switches the transactional id of the producer
+ * between the commits.
+ */
+class KafkaCommitter implements Committer<KafkaCommittable> {
+
+	private static final Logger LOG = LoggerFactory.getLogger(KafkaCommitter.class);
+
+	private final Properties kafkaProducerConfig;
+
+	private FlinkKafkaInternalProducer<byte[], byte[]> producer;
+
+	KafkaCommitter(Properties kafkaProducerConfig) {
+		this.kafkaProducerConfig = kafkaProducerConfig;
+	}
+
+	@Override
+	public List<KafkaCommittable> commit(List<KafkaCommittable> committables) {
+		List<KafkaCommittable> retryableCommittables = new ArrayList<>();
+		for (KafkaCommittable committable : committables) {
+			long startTime = System.currentTimeMillis();
+			try {
+				FlinkKafkaInternalProducer<byte[], byte[]> producer = getProducer(committable.getTransactionalId());
+				producer.resumeTransaction(committable.getProducerId(), committable.getEpoch());
+				producer.commitTransaction();
+				LOG.debug("Committed {} in {} ms", committable, System.currentTimeMillis() - startTime);
+			} catch (InvalidTxnStateException | ProducerFencedException e) {
+				// the transaction has been committed before a failure, or aborted by a timeout
+				LOG.warn(
+					"Unable to commit transaction {}, it has either been committed or aborted before.",
+					committable,
+					e);
+				closeProducer();
+			} catch (RetriableException e) {
+				LOG.warn("Encountered retriable exception while committing transaction {}.", committable, e);
+				retryableCommittables.add(committable);
+				closeProducer();
+			}
+		}
+		return retryableCommittables;
+	}
+
+	@Override
+	public void close() {
+		closeProducer();
+	}
+
+	private FlinkKafkaInternalProducer<byte[], byte[]> getProducer(String transactionalId) {
+		if (producer == null) {
+			Properties producerConfig = new Properties();
+			producerConfig.putAll(kafkaProducerConfig);
+			producerConfig.put(ProducerConfig.TRANSACTIONAL_ID_CONFIG, transactionalId);
+			producer = new FlinkKafkaInternalProducer<>(producerConfig);
+		} else {
+			producer.setTransactionalId(transactionalId);
+		}
+		return producer;
+	}
+
+	private void closeProducer() {
+		if (producer != null) {
+			// the producer may be in an error state, it is recreated for the next commit
+			producer.close(Duration.ZERO);
+			producer = null;
+		}
+	}
+}
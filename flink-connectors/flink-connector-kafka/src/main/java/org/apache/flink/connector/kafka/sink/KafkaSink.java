@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kafka.sink;
+
+import org.apache.flink.annotation.PublicEvolving;
+import org.apache.flink.api.connector.sink.Committer;
+import org.apache.flink.api.connector.sink.GlobalCommitter;
+import org.apache.flink.api.connector.sink.Sink;
+import org.apache.flink.api.connector.sink.SinkWriter;
+import org.apache.flink.connector.base.DeliveryGuarantee;
+import org.apache.flink.core.io.SimpleVersionedSerializer;
+import org.apache.flink.streaming.connectors.kafka.KafkaSerializationSchema;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+
+/**
+ * A Kafka sink on the unified {@link Sink} API. Use {@link #builder()} to construct it.
+ *
+ * <p>The sink supports all {@link DeliveryGuarantee delivery guarantees}. For
+ * {@link DeliveryGuarantee#EXACTLY_ONCE}, the records of a checkpoint are written in a Kafka
+ * transaction which is committed once the checkpoint completes. Unlike the
+ * {@code FlinkKafkaProducer}, the sink does not create a producer per transactional id, every
+ * writer and committer reuses a single producer for all of its transactions.
+ *
+ * @param <IN> type of the records written to Kafka
+ */
+@PublicEvolving
+public class KafkaSink<IN> implements Sink<IN, KafkaCommittable, KafkaWriterState, Void> {
+
+	private static final long serialVersionUID = 1L;
+
+	private final DeliveryGuarantee deliveryGuarantee;
+	private final Properties kafkaProducerConfig;
+	private final String transactionalIdPrefix;
+	private final KafkaSerializationSchema<IN> recordSerializer;
+
+	KafkaSink(
+			DeliveryGuarantee deliveryGuarantee,
+			Properties kafkaProducerConfig,
+			String transactionalIdPrefix,
+			KafkaSerializationSchema<IN> recordSerializer) {
+		this.deliveryGuarantee = deliveryGuarantee;
+		this.kafkaProducerConfig = kafkaProducerConfig;
+		this.transactionalIdPrefix = transactionalIdPrefix;
+		this.recordSerializer = recordSerializer;
+	}
+
+	/**
+	 * Get a {@link KafkaSinkBuilder} to build a {@link KafkaSink}.
+	 *
+	 * @return a Kafka sink builder.
+	 */
+	public static <IN> KafkaSinkBuilder<IN> builder() {
+		return new KafkaSinkBuilder<>();
+	}
+
+	@Override
+	public SinkWriter<IN, KafkaCommittable, KafkaWriterState> createWriter(
+			InitContext context,
+			List<KafkaWriterState> states) {
+		return new KafkaWriter<>(
+			deliveryGuarantee,
+			kafkaProducerConfig,
+			transactionalIdPrefix,
+			context,
+			recordSerializer,
+			states);
+	}
+
+	@Override
+	public Optional<Committer<KafkaCommittable>> createCommitter() {
+		if (deliveryGuarantee != DeliveryGuarantee.EXACTLY_ONCE) {
+			return Optional.empty();
+		}
+		return Optional.of(new KafkaCommitter(kafkaProducerConfig));
+	}
+
+	@Override
+	public Optional<GlobalCommitter<KafkaCommittable, Void>> createGlobalCommitter() {
+		return Optional.empty();
+	}
+
+	@Override
+	public Optional<SimpleVersionedSerializer<KafkaCommittable>> getCommittableSerializer() {
+		return Optional.of(new KafkaCommittableSerializer());
+	}
+
+	@Override
+	public Optional<SimpleVersionedSerializer<Void>> getGlobalCommittableSerializer() {
+		return Optional.empty();
+	}
+
+	@Override
+	public Optional<SimpleVersionedSerializer<KafkaWriterState>> getWriterStateSerializer() {
+		return Optional.of(new KafkaWriterStateSerializer());
+	}
+
+	DeliveryGuarantee getDeliveryGuarantee() {
+		return deliveryGuarantee;
+	}
+
+	Properties getKafkaProducerConfig() {
+		return kafkaProducerConfig;
+	}
+}
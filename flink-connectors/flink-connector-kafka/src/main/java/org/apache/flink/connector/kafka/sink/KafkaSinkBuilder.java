@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kafka.sink;
+
+import org.apache.flink.annotation.PublicEvolving;
+import org.apache.flink.connector.base.DeliveryGuarantee;
+import org.apache.flink.streaming.connectors.kafka.KafkaSerializationSchema;
+
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+
+import java.time.Duration;
+import java.util.Properties;
+
+import static org.apache.flink.util.Preconditions.checkNotNull;
+import static org.apache.flink.util.Preconditions.checkState;
+
+/**
+ * The builder class for {@link KafkaSink}.
+ *
+ * <p>The following example shows the minimum setup to create a KafkaSink that writes records
+ * exactly-once to a Kafka topic.
+ * <pre>{@code
+ * KafkaSink<String> sink = KafkaSink
+ *     .<String>builder()
+ *     .setBootstrapServers(MY_BOOTSTRAP_SERVERS)
+ *     .setRecordSerializer(MY_KAFKA_SERIALIZATION_SCHEMA)
+ *     .setDeliveryGuarantee(DeliveryGuarantee.EXACTLY_ONCE)
+ *     .setTransactionalIdPrefix("my-app")
+ *     .build();
+ * }</pre>
+ * The bootstrap servers and the record serializer are required. The transactional id prefix is
+ * required for {@link DeliveryGuarantee#EXACTLY_ONCE} and must be unique for every application
+ * writing to the same Kafka cluster. The default delivery guarantee is
+ * {@link DeliveryGuarantee#NONE}.
+ *
+ * @param <IN> type of the records written to Kafka
+ */
+@PublicEvolving
+public class KafkaSinkBuilder<IN> {
+
+	/** The default transaction timeout, the brokers' transaction.max.timeout.ms must allow it. */
+	private static final Duration DEFAULT_TRANSACTION_TIMEOUT = Duration.ofHours(1);
+
+	private DeliveryGuarantee deliveryGuarantee = DeliveryGuarantee.NONE;
+	private String transactionalIdPrefix;
+	private KafkaSerializationSchema<IN> recordSerializer;
+	private final Properties kafkaProducerConfig = new Properties();
+
+	KafkaSinkBuilder() {
+	}
+
+	public KafkaSinkBuilder<IN> setBootstrapServers(String bootstrapServers) {
+		return setProperty(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+	}
+
+	public KafkaSinkBuilder<IN> setDeliveryGuarantee(DeliveryGuarantee deliveryGuarantee) {
+		this.deliveryGuarantee = checkNotNull(deliveryGuarantee);
+		return this;
+	}
+
+	/**
+	 * Sets the prefix of the transactional ids of the sink. The ids are derived from the prefix,
+	 * the subtask and the checkpoint, so the prefix must not be shared with other applications.
+	 */
+	public KafkaSinkBuilder<IN> setTransactionalIdPrefix(String transactionalIdPrefix) {
+		this.transactionalIdPrefix = checkNotNull(transactionalIdPrefix);
+		return this;
+	}
+
+	public KafkaSinkBuilder<IN> setRecordSerializer(KafkaSerializationSchema<IN> recordSerializer) {
+		this.recordSerializer = checkNotNull(recordSerializer);
+		return this;
+	}
+
+	public KafkaSinkBuilder<IN> setKafkaProducerConfig(Properties kafkaProducerConfig) {
+		this.kafkaProducerConfig.putAll(kafkaProducerConfig);
+		return this;
+	}
+
+	public KafkaSinkBuilder<IN> setProperty(String key, String value) {
+		kafkaProducerConfig.setProperty(key, value);
+		return this;
+	}
+
+	/**
+	 * Build the {@link KafkaSink}.
+	 *
+	 * @return a KafkaSink with the settings made for this builder.
+	 */
+	public KafkaSink<IN> build() {
+		checkState(
+			kafkaProducerConfig.containsKey(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG),
+			"The bootstrap servers must be set.");
+		checkState(recordSerializer != null, "The record serializer must be set.");
+		checkState(
+			!kafkaProducerConfig.containsKey(ProducerConfig.TRANSACTIONAL_ID_CONFIG),
+			"The transactional id is derived by the sink, use setTransactionalIdPrefix() instead.");
+
+		Properties producerConfig = new Properties();
+		producerConfig.putAll(kafkaProducerConfig);
+		producerConfig.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class.getName());
+		producerConfig.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class.getName());
+		if (deliveryGuarantee == DeliveryGuarantee.EXACTLY_ONCE) {
+			checkState(
+				transactionalIdPrefix != null,
+				"The transactional id prefix must be set for delivery guarantee %s.",
+				deliveryGuarantee);
+			producerConfig.putIfAbsent(
+				ProducerConfig.TRANSACTION_TIMEOUT_CONFIG,
+				String.valueOf(DEFAULT_TRANSACTION_TIMEOUT.toMillis()));
+		}
+		return new KafkaSink<>(deliveryGuarantee, producerConfig, transactionalIdPrefix, recordSerializer);
+	}
+}
@@ -0,0 +1,306 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kafka.sink;
+
+import org.apache.flink.api.common.serialization.SerializationSchema;
+import org.apache.flink.api.connector.sink.Sink;
+import org.apache.flink.api.connector.sink.SinkWriter;
+import org.apache.flink.connector.base.DeliveryGuarantee;
+import org.apache.flink.metrics.Counter;
+import org.apache.flink.metrics.Gauge;
+import org.apache.flink.metrics.MetricGroup;
+import org.apache.flink.streaming.connectors.kafka.KafkaSerializationSchema;
+import org.apache.flink.streaming.connectors.kafka.internals.FlinkKafkaInternalProducer;
+import org.apache.flink.util.FlinkRuntimeException;
+import org.apache.flink.util.SimpleUserCodeClassLoader;
+import org.apache.flink.util.UserCodeClassLoader;
+
+import org.apache.kafka.clients.producer.Callback;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * The {@link SinkWriter} of the {@link KafkaSink}.
+ *
+ * <p>With {@link DeliveryGuarantee#EXACTLY_ONCE} the writer writes all records between two
+ * checkpoints in one transaction. On a checkpoint the transaction is flushed and handed over to
+ * the {@link KafkaCommitter} as a {@link KafkaCommittable}. The writer then reuses the same
+ * producer for the next transaction by switching its transactional id, instead of creating a new
+ * producer with its own network threads and buffers for every transactional id. Transactional ids
+ * are derived from the subtask, the restored checkpoint and an offset which is increased on every
+ * checkpoint, see {@link TransactionalIdFactory}. On recovery, the writer aborts all transactions
+ * which may have been opened after the checkpoint, again with a single producer.
+ *
+ * <p>With {@link DeliveryGuarantee#AT_LEAST_ONCE} the writer flushes the producer on every
+ * checkpoint, with {@link DeliveryGuarantee#NONE} records are only sent asynchronously.
+ */
+class KafkaWriter<IN> implements SinkWriter<IN, KafkaCommittable, KafkaWriterState> {
+
+	private static final Logger LOG = LoggerFactory.getLogger(KafkaWriter.class);
+
+	private static final String KAFKA_SINK_METRIC_GROUP = "KafkaSink";
+	private static final String PRE_COMMIT_LATENCY_METRIC = "preCommitLatencyMs";
+	private static final String NUM_ABORTED_TRANSACTIONS_METRIC = "numAbortedTransactions";
+	private static final String NUM_RECORDS_SEND_ERRORS_METRIC = "numRecordsSendErrors";
+
+	private final DeliveryGuarantee deliveryGuarantee;
+	private final Properties kafkaProducerConfig;
+	private final String transactionalIdPrefix;
+	private final KafkaSerializationSchema<IN> recordSerializer;
+	private final int subtaskId;
+	private final int parallelism;
+	private final long restoredCheckpointId;
+	private final Callback deliveryCallback;
+
+	private final Counter numAbortedTransactions;
+	private final Counter numRecordsSendErrors;
+	private volatile long preCommitLatencyMs;
+
+	private final FlinkKafkaInternalProducer<byte[], byte[]> currentProducer;
+
+	/** The offset of the current transaction, only used with exactly-once delivery. */
+	private long transactionOffset;
+	private boolean hasRecordsInTransaction;
+
+	private volatile Exception asyncProducerException;
+
+	KafkaWriter(
+			DeliveryGuarantee deliveryGuarantee,
+			Properties kafkaProducerConfig,
+			String transactionalIdPrefix,
+			Sink.InitContext sinkInitContext,
+			KafkaSerializationSchema<IN> recordSerializer,
+			List<KafkaWriterState> recoveredStates) {
+		this.deliveryGuarantee = checkNotNull(deliveryGuarantee);
+		this.kafkaProducerConfig = checkNotNull(kafkaProducerConfig);
+		this.transactionalIdPrefix = transactionalIdPrefix;
+		this.recordSerializer = checkNotNull(recordSerializer);
+		this.subtaskId = sinkInitContext.getSubtaskId();
+		this.parallelism = sinkInitContext.getNumberOfParallelSubtasks();
+		this.restoredCheckpointId = sinkInitContext.getRestoredCheckpointId().orElse(0L);
+		this.deliveryCallback = (metadata, exception) -> {
+			if (exception != null && asyncProducerException == null) {
+				asyncProducerException = exception;
+			}
+		};
+
+		MetricGroup metricGroup = sinkInitContext.metricGroup();
+		try {
+			recordSerializer.open(new InitializationContextImpl(metricGroup));
+		} catch (Exception e) {
+			throw new FlinkRuntimeException("Cannot initialize the record serializer.", e);
+		}
+		MetricGroup kafkaSinkGroup = metricGroup.addGroup(KAFKA_SINK_METRIC_GROUP);
+		this.numAbortedTransactions = kafkaSinkGroup.counter(NUM_ABORTED_TRANSACTIONS_METRIC);
+		this.numRecordsSendErrors = kafkaSinkGroup.counter(NUM_RECORDS_SEND_ERRORS_METRIC);
+		kafkaSinkGroup.gauge(PRE_COMMIT_LATENCY_METRIC, (Gauge<Long>) () -> preCommitLatencyMs);
+
+		if (deliveryGuarantee == DeliveryGuarantee.EXACTLY_ONCE) {
+			this.currentProducer = initTransactionalProducer(recoveredStates);
+			currentProducer.beginTransaction();
+		} else {
+			this.currentProducer = new FlinkKafkaInternalProducer<>(kafkaProducerConfig);
+		}
+	}
+
+	@Override
+	public void write(IN element, Context context) throws IOException {
+		checkErroneous();
+		ProducerRecord<byte[], byte[]> record = recordSerializer.serialize(element, context.timestamp());
+		currentProducer.send(record, deliveryCallback);
+		hasRecordsInTransaction = true;
+	}
+
+	@Override
+	public List<KafkaCommittable> prepareCommit(boolean flush) throws IOException {
+		checkErroneous();
+		switch (deliveryGuarantee) {
+			case EXACTLY_ONCE:
+				return precommitTransaction();
+			case AT_LEAST_ONCE:
+				currentProducer.flush();
+				checkErroneous();
+				return Collections.emptyList();
+			case NONE:
+				return Collections.emptyList();
+			default:
+				throw new UnsupportedOperationException("Unsupported delivery guarantee: " + deliveryGuarantee);
+		}
+	}
+
+	@Override
+	public List<KafkaWriterState> snapshotState() {
+		if (deliveryGuarantee != DeliveryGuarantee.EXACTLY_ONCE) {
+			return Collections.emptyList();
+		}
+		return Collections.singletonList(
+			new KafkaWriterState(transactionalIdPrefix, subtaskId, restoredCheckpointId, transactionOffset));
+	}
+
+	@Override
+	public void close() throws Exception {
+		currentProducer.close(Duration.ZERO);
+	}
+
+	/**
+	 * Flushes the current transaction and starts the next one with the same producer.
+	 */
+	private List<KafkaCommittable> precommitTransaction() throws IOException {
+		if (!hasRecordsInTransaction) {
+			// the transaction is continued, an empty transaction does not need a commit
+			return Collections.emptyList();
+		}
+		long startTime = System.currentTimeMillis();
+		currentProducer.flush();
+		checkErroneous();
+		KafkaCommittable committable = new KafkaCommittable(
+			currentProducer.getProducerId(),
+			currentProducer.getEpoch(),
+			currentProducer.getTransactionalId());
+
+		transactionOffset++;
+		currentProducer.setTransactionalId(
+			TransactionalIdFactory.buildTransactionalId(
+				transactionalIdPrefix,
+				subtaskId,
+				restoredCheckpointId,
+				transactionOffset));
+		currentProducer.initTransactions();
+		currentProducer.beginTransaction();
+		hasRecordsInTransaction = false;
+		preCommitLatencyMs = System.currentTimeMillis() - startTime;
+		LOG.debug("Pre-committed {} in {} ms", committable, preCommitLatencyMs);
+		return Collections.singletonList(committable);
+	}
+
+	/**
+	 * Creates the transactional producer of this writer and aborts all transactions which
+	 * previous writers may have left open.
+	 *
+	 * <p>Writer states are redistributed on a change of the parallelism, so a subtask may not get
+	 * the state of the subtask with the same id back. Every state is restored to exactly one
+	 * subtask though, which aborts the transactions with the ids of the state. Only this subtask
+	 * knows the offset below which the transactions are still to be committed by the
+	 * {@link KafkaCommitter}. The restored writers use new ids, which contain the restored
+	 * checkpoint, so they never race with the subtask which aborts the transactions of a state.
+	 *
+	 * <p>If the job failed before its first checkpoint after the restore, the ids of its writers
+	 * have to be aborted as well. They are aborted by the subtask with the same id and, if the
+	 * failed job had a higher parallelism, by the subtask with the same remainder.
+	 *
+	 * <p>Ids are probed with increasing offsets until an id is found which was never used before,
+	 * which is recognized by the epoch assigned by the transaction coordinator. The same producer
+	 * is used for all probes and ends up initialized with the first unused id of this writer.
+	 */
+	private FlinkKafkaInternalProducer<byte[], byte[]> initTransactionalProducer(
+			List<KafkaWriterState> recoveredStates) {
+		Properties producerConfig = new Properties();
+		producerConfig.putAll(kafkaProducerConfig);
+		producerConfig.put(
+			ProducerConfig.TRANSACTIONAL_ID_CONFIG,
+			TransactionalIdFactory.buildTransactionalId(transactionalIdPrefix, subtaskId, restoredCheckpointId, 1));
+		FlinkKafkaInternalProducer<byte[], byte[]> producer = new FlinkKafkaInternalProducer<>(producerConfig);
+
+		for (KafkaWriterState state : recoveredStates) {
+			if (state.getTransactionalIdPrefix().equals(transactionalIdPrefix)) {
+				abortTransactions(
+					producer,
+					state.getSubtaskId(),
+					state.getRestoredCheckpointId(),
+					state.getTransactionOffset());
+			}
+		}
+		int otherSubtaskId = subtaskId + parallelism;
+		while (abortTransactions(producer, otherSubtaskId, restoredCheckpointId, 1) > 1) {
+			otherSubtaskId += parallelism;
+		}
+		this.transactionOffset = abortTransactions(producer, subtaskId, restoredCheckpointId, 1);
+		LOG.info(
+			"Aborted {} lingering transaction(s), starting with transactional id {}",
+			numAbortedTransactions.getCount(),
+			producer.getTransactionalId());
+		return producer;
+	}
+
+	/**
+	 * Aborts the transactions of the given subtask and restored checkpoint from the given offset
+	 * on and returns the first offset whose transactional id was never used.
+	 */
+	private long abortTransactions(
+			FlinkKafkaInternalProducer<byte[], byte[]> producer,
+			int subtaskId,
+			long restoredCheckpointId,
+			long startOffset) {
+		long offset = startOffset;
+		while (true) {
+			producer.setTransactionalId(
+				TransactionalIdFactory.buildTransactionalId(
+					transactionalIdPrefix,
+					subtaskId,
+					restoredCheckpointId,
+					offset));
+			// initializing a transactional id fences its previous producer and aborts its transaction
+			producer.initTransactions();
+			if (producer.getEpoch() == 0) {
+				return offset;
+			}
+			numAbortedTransactions.inc();
+			offset++;
+		}
+	}
+
+	private void checkErroneous() throws IOException {
+		Exception e = asyncProducerException;
+		if (e != null) {
+			numRecordsSendErrors.inc();
+			// the exception is reported only once
+			asyncProducerException = null;
+			throw new IOException("Failed to send data to Kafka: " + e.getMessage(), e);
+		}
+	}
+
+	private static class InitializationContextImpl implements SerializationSchema.InitializationContext {
+
+		private final MetricGroup metricGroup;
+
+		private InitializationContextImpl(MetricGroup metricGroup) {
+			this.metricGroup = metricGroup;
+		}
+
+		@Override
+		public MetricGroup getMetricGroup() {
+			return metricGroup;
+		}
+
+		@Override
+		public UserCodeClassLoader getUserCodeClassLoader() {
+			return SimpleUserCodeClassLoader.create(Thread.currentThread().getContextClassLoader());
+		}
+	}
+}
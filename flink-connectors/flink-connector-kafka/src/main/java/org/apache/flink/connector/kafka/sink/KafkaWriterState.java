@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kafka.sink;
+
+import java.util.Objects;
+
+/**
+ * The state of a {@link KafkaWriter}. It identifies the transactional ids which the writer may
+ * have used after the checkpoint, so that lingering transactions can be aborted on recovery.
+ */
+class KafkaWriterState {
+
+	private final String transactionalIdPrefix;
+	private final int subtaskId;
+	private final long restoredCheckpointId;
+	private final long transactionOffset;
+
+	KafkaWriterState(
+			String transactionalIdPrefix,
+			int subtaskId,
+			long restoredCheckpointId,
+			long transactionOffset) {
+		this.transactionalIdPrefix = transactionalIdPrefix;
+		this.subtaskId = subtaskId;
+		this.restoredCheckpointId = restoredCheckpointId;
+		this.transactionOffset = transactionOffset;
+	}
+
+	String getTransactionalIdPrefix() {
+		return transactionalIdPrefix;
+	}
+
+	int getSubtaskId() {
+		return subtaskId;
+	}
+
+	/**
+	 * The id of the checkpoint the writer was restored from, 0 if it was not restored, see
+	 * {@link TransactionalIdFactory}.
+	 */
+	long getRestoredCheckpointId() {
+		return restoredCheckpointId;
+	}
+
+	/**
+	 * The offset of the transaction which was open when the state was taken, see
+	 * {@link TransactionalIdFactory}.
+	 */
+	long getTransactionOffset() {
+		return transactionOffset;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (o == null || getClass() != o.getClass()) {
+			return false;
+		}
+		KafkaWriterState that = (KafkaWriterState) o;
+		return subtaskId == that.subtaskId
+			&& restoredCheckpointId == that.restoredCheckpointId
+			&& transactionOffset == that.transactionOffset
+			&& transactionalIdPrefix.equals(that.transactionalIdPrefix);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(transactionalIdPrefix, subtaskId, restoredCheckpointId, transactionOffset);
+	}
+
+	@Override
+	public String toString() {
+		return "KafkaWriterState{" +
+			"transactionalIdPrefix='" + transactionalIdPrefix + '\'' +
+			", subtaskId=" + subtaskId +
+			", restoredCheckpointId=" + restoredCheckpointId +
+			", transactionOffset=" + transactionOffset +
+			'}';
+	}
+}
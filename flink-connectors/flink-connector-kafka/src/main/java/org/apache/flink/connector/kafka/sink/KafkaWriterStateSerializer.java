@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kafka.sink;
+
+import org.apache.flink.core.io.SimpleVersionedSerializer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * The {@link SimpleVersionedSerializer serializer} for {@link KafkaWriterState}.
+ */
+class KafkaWriterStateSerializer implements SimpleVersionedSerializer<KafkaWriterState> {
+
+	private static final int CURRENT_VERSION = 1;
+
+	@Override
+	public int getVersion() {
+		return CURRENT_VERSION;
+	}
+
+	@Override
+	public byte[] serialize(KafkaWriterState state) throws IOException {
+		try (ByteArrayOutputStream baos = new ByteArrayOutputStream();
+				DataOutputStream out = new DataOutputStream(baos)) {
+			out.writeUTF(state.getTransactionalIdPrefix());
+			out.writeInt(state.getSubtaskId());
+			out.writeLong(state.getRestoredCheckpointId());
+			out.writeLong(state.getTransactionOffset());
+			out.flush();
+			return baos.toByteArray();
+		}
+	}
+
+	@Override
+	public KafkaWriterState deserialize(int version, byte[] serialized) throws IOException {
+		try (ByteArrayInputStream bais = new ByteArrayInputStream(serialized);
+				DataInputStream in = new DataInputStream(bais)) {
+			String transactionalIdPrefix = in.readUTF();
+			int subtaskId = in.readInt();
+			long restoredCheckpointId = in.readLong();
+			long transactionOffset = in.readLong();
+			return new KafkaWriterState(transactionalIdPrefix, subtaskId, restoredCheckpointId, transactionOffset);
+		}
+	}
+}
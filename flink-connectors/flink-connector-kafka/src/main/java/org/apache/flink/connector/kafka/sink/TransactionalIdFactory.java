@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kafka.sink;
+
+/**
+ * Derives the transactional ids of a {@link KafkaWriter}.
+ *
+ * <p>The id of a transaction is built from the configured prefix, the id of the subtask, the id of
+ * the checkpoint the writer was restored from and the offset of the transaction, which is
+ * increased with every checkpoint. Ids are therefore deterministic and never shared between
+ * subtasks, so a recovered writer can find and abort all transactions which its predecessors may
+ * have left open. The restored checkpoint keeps the ids of a restored writer apart from the ids of
+ * the writers of the checkpoint, whose transactions are aborted by the subtasks which their states
+ * are restored to.
+ */
+final class TransactionalIdFactory {
+
+	private static final String DELIMITER = "-";
+
+	private TransactionalIdFactory() {
+	}
+
+	static String buildTransactionalId(
+			String transactionalIdPrefix,
+			int subtaskId,
+			long restoredCheckpointId,
+			long transactionOffset) {
+		return transactionalIdPrefix + DELIMITER + subtaskId + DELIMITER + restoredCheckpointId
+			+ DELIMITER + transactionOffset;
+	}
+}
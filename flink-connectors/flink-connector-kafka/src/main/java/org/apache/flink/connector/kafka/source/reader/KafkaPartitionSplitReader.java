@@ -187,6 +187,34 @@ public class KafkaPartitionSplitReader<T> implements SplitReader<Tuple3<T, Long,
 		maybeLogSplitChangesHandlingResult(splitsChange);
 	}
 
+	@Override
+	public void pauseOrResumeSplits(
+			Collection<KafkaPartitionSplit> splitsToPause,
+			Collection<KafkaPartitionSplit> splitsToResume) {
+		// the consumer only accepts partitions which are currently assigned
+		final Set<TopicPartition> assignment = consumer.assignment();
+		final List<TopicPartition> partitionsToPause = new ArrayList<>();
+		for (KafkaPartitionSplit split : splitsToPause) {
+			if (assignment.contains(split.getTopicPartition())) {
+				partitionsToPause.add(split.getTopicPartition());
+			}
+		}
+		final List<TopicPartition> partitionsToResume = new ArrayList<>();
+		for (KafkaPartitionSplit split : splitsToResume) {
+			if (assignment.contains(split.getTopicPartition())) {
+				partitionsToResume.add(split.getTopicPartition());
+			}
+		}
+		consumer.pause(partitionsToPause);
+		consumer.resume(partitionsToResume);
+		LOG.debug("Paused partitions {} and resumed partitions {}", partitionsToPause, partitionsToResume);
+	}
+
+	@Override
+	public boolean supportsPausingSplits() {
+		return true;
+	}
+
 	@Override
 	public void wakeUp() {
 		consumer.wakeup();
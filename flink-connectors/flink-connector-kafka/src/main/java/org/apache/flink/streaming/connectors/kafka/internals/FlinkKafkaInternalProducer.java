@@ -48,6 +48,7 @@ import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.time.Duration;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
@@ -71,7 +72,7 @@ public class FlinkKafkaInternalProducer<K, V> implements Producer<K, V> {
 	private volatile boolean closed;
 
 	@Nullable
-	protected final String transactionalId;
+	protected String transactionalId;
 
 	public FlinkKafkaInternalProducer(Properties properties) {
 		transactionalId = properties.getProperty(ProducerConfig.TRANSACTIONAL_ID_CONFIG);
@@ -235,6 +236,43 @@ public class FlinkKafkaInternalProducer<K, V> implements Producer<K, V> {
 		}
 	}
 
+	/**
+	 * Changes the transactional id of the producer, so that a single producer can be reused for
+	 * many transactional ids instead of creating a producer, with its own network threads and
+	 * buffers, for every id. The producer must have been created with a transactional id and must
+	 * not have unsent records. A flushed transaction of the old id is left open in Kafka, it can be
+	 * committed with {@link #resumeTransaction(long, short)} by another producer.
+	 * {@link #initTransactions()} has to be called before the producer is used with the new id.
+	 */
+	public void setTransactionalId(String transactionalId) {
+		synchronized (producerClosingLock) {
+			ensureNotClosed();
+			Preconditions.checkState(
+				this.transactionalId != null,
+				"The transactional id can only be changed on a transactional producer.");
+			LOG.debug("Changing transactional id of producer from {} to {}", this.transactionalId, transactionalId);
+
+			Object transactionManager = getField(kafkaProducer, "transactionManager");
+			synchronized (transactionManager) {
+				Object topicPartitionBookkeeper =
+						getField(transactionManager, "topicPartitionBookkeeper");
+				invoke(topicPartitionBookkeeper, "reset");
+				// the partitions of the old transaction have to be added again to the next one
+				((Collection<?>) getField(transactionManager, "newPartitionsInTransaction")).clear();
+				((Collection<?>) getField(transactionManager, "pendingPartitionsInTransaction")).clear();
+				((Collection<?>) getField(transactionManager, "partitionsInTransaction")).clear();
+				setField(transactionManager, "transactionStarted", false);
+				// the new id may have another transaction coordinator
+				setField(transactionManager, "transactionCoordinator", null);
+				setField(transactionManager, "transactionalId", transactionalId);
+				setField(transactionManager,
+					"currentState",
+					getEnum("org.apache.kafka.clients.producer.internals.TransactionManager$State.UNINITIALIZED"));
+			}
+			this.transactionalId = transactionalId;
+		}
+	}
+
 	public String getTransactionalId() {
 		return transactionalId;
 	}
@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kafka.sink;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for {@link KafkaCommittableSerializer} and {@link KafkaWriterStateSerializer}.
+ */
+public class KafkaCommittableSerializerTest {
+
+	@Test
+	public void testCommittableSerde() throws Exception {
+		KafkaCommittableSerializer serializer = new KafkaCommittableSerializer();
+		KafkaCommittable committable = new KafkaCommittable(4711L, (short) 3, "prefix-2-42");
+		byte[] serialized = serializer.serialize(committable);
+		assertEquals(committable, serializer.deserialize(serializer.getVersion(), serialized));
+	}
+
+	@Test
+	public void testWriterStateSerde() throws Exception {
+		KafkaWriterStateSerializer serializer = new KafkaWriterStateSerializer();
+		KafkaWriterState state = new KafkaWriterState("prefix", 2, 7L, 42L);
+		byte[] serialized = serializer.serialize(state);
+		assertEquals(state, serializer.deserialize(serializer.getVersion(), serialized));
+	}
+
+	@Test
+	public void testTransactionalIdsAreUniquePerSubtaskAndOffset() {
+		assertEquals("prefix-2-7-42", TransactionalIdFactory.buildTransactionalId("prefix", 2, 7L, 42L));
+		assertEquals("prefix-24-0-2", TransactionalIdFactory.buildTransactionalId("prefix", 24, 0L, 2L));
+	}
+}
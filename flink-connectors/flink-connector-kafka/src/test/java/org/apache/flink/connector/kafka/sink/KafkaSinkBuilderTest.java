@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kafka.sink;
+
+import org.apache.flink.connector.base.DeliveryGuarantee;
+import org.apache.flink.streaming.connectors.kafka.KafkaSerializationSchema;
+import org.apache.flink.util.TestLogger;
+
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Properties;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link KafkaSinkBuilder}.
+ */
+public class KafkaSinkBuilderTest extends TestLogger {
+
+	private static final KafkaSerializationSchema<String> SERIALIZER =
+		(element, timestamp) -> new ProducerRecord<>("topic", element.getBytes(StandardCharsets.UTF_8));
+
+	@Test
+	public void testProducerConfig() {
+		KafkaSink<String> sink = KafkaSink.<String>builder()
+			.setBootstrapServers("localhost:9092")
+			.setRecordSerializer(SERIALIZER)
+			.setProperty(ProducerConfig.ACKS_CONFIG, "all")
+			.setDeliveryGuarantee(DeliveryGuarantee.AT_LEAST_ONCE)
+			.build();
+
+		Properties config = sink.getKafkaProducerConfig();
+		assertEquals("localhost:9092", config.get(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG));
+		assertEquals("all", config.get(ProducerConfig.ACKS_CONFIG));
+		assertEquals(ByteArraySerializer.class.getName(), config.get(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG));
+		assertFalse(config.containsKey(ProducerConfig.TRANSACTION_TIMEOUT_CONFIG));
+		assertFalse(sink.createCommitter().isPresent());
+	}
+
+	@Test
+	public void testExactlyOnce() throws Exception {
+		KafkaSink<String> sink = KafkaSink.<String>builder()
+			.setBootstrapServers("localhost:9092")
+			.setRecordSerializer(SERIALIZER)
+			.setDeliveryGuarantee(DeliveryGuarantee.EXACTLY_ONCE)
+			.setTransactionalIdPrefix("prefix")
+			.build();
+
+		assertEquals(DeliveryGuarantee.EXACTLY_ONCE, sink.getDeliveryGuarantee());
+		assertTrue(sink.getKafkaProducerConfig().containsKey(ProducerConfig.TRANSACTION_TIMEOUT_CONFIG));
+		assertTrue(sink.createCommitter().isPresent());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testExactlyOnceRequiresTransactionalIdPrefix() {
+		KafkaSink.<String>builder()
+			.setBootstrapServers("localhost:9092")
+			.setRecordSerializer(SERIALIZER)
+			.setDeliveryGuarantee(DeliveryGuarantee.EXACTLY_ONCE)
+			.build();
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testTransactionalIdIsRejected() {
+		KafkaSink.<String>builder()
+			.setBootstrapServers("localhost:9092")
+			.setRecordSerializer(SERIALIZER)
+			.setProperty(ProducerConfig.TRANSACTIONAL_ID_CONFIG, "id")
+			.build();
+	}
+}
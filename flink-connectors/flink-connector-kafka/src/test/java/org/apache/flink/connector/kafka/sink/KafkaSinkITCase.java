@@ -0,0 +1,401 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kafka.sink;
+
+import org.apache.flink.api.common.restartstrategy.RestartStrategies;
+import org.apache.flink.api.connector.sink.Sink;
+import org.apache.flink.api.connector.sink.SinkWriter;
+import org.apache.flink.connector.base.DeliveryGuarantee;
+import org.apache.flink.metrics.MetricGroup;
+import org.apache.flink.metrics.groups.UnregisteredMetricsGroup;
+import org.apache.flink.streaming.api.environment.StreamExecutionEnvironment;
+import org.apache.flink.streaming.connectors.kafka.KafkaSerializationSchema;
+import org.apache.flink.streaming.connectors.kafka.KafkaTestBaseWithFlink;
+import org.apache.flink.streaming.connectors.kafka.testutils.FailingIdentityMapper;
+import org.apache.flink.streaming.connectors.kafka.testutils.IntegerSource;
+import org.apache.flink.test.util.TestUtils;
+import org.apache.flink.util.IOUtils;
+
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.Test;
+
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.Properties;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the exactly-once delivery of the {@link KafkaSink}, including the recovery of its
+ * {@link KafkaWriter} and {@link KafkaCommitter} after failures.
+ */
+public class KafkaSinkITCase extends KafkaTestBaseWithFlink {
+
+	private static final int PARTITION = 0;
+
+	@Test
+	public void testWriteRecordsExactlyOnceWithFailover() throws Exception {
+		final String topic = "kafka-sink-exactly-once-failover";
+		createTestTopic(topic, 1, 2);
+		final int numElements = 1000;
+		final int failAfterElements = 333;
+
+		StreamExecutionEnvironment env = StreamExecutionEnvironment.getExecutionEnvironment();
+		env.enableCheckpointing(500);
+		env.setParallelism(1);
+		env.setRestartStrategy(RestartStrategies.fixedDelayRestart(1, 0));
+
+		env
+			.addSource(new IntegerSource(numElements))
+			.map(new FailingIdentityMapper<>(failAfterElements))
+			.sinkTo(createSink(topic, "failover"));
+
+		FailingIdentityMapper.failedBefore = false;
+		TestUtils.tryExecute(env, "Exactly once KafkaSink test");
+		assertTrue(FailingIdentityMapper.failedBefore);
+
+		// the records written after the last checkpoint before the failure are aborted
+		assertExactlyOnceForTopic(createProperties(), topic, PARTITION, getIntegersSequence(numElements));
+		deleteTestTopic(topic);
+	}
+
+	@Test
+	public void testCommitPreCommittedTransactionsAfterFailover() throws Exception {
+		final String topic = "kafka-sink-commit-after-failover";
+		createTestTopic(topic, 1, 2);
+		final KafkaSink<Integer> sink = createSink(topic, "commit-after-failover");
+
+		final KafkaWriter<Integer> failedWriter = createWriter(sink, Collections.emptyList());
+		final KafkaCommitter committer = new KafkaCommitter(sink.getKafkaProducerConfig());
+		try {
+			write(failedWriter, 1, 2);
+			final List<KafkaCommittable> preCommitted = failedWriter.prepareCommit(false);
+			final List<KafkaWriterState> states = failedWriter.snapshotState();
+			assertEquals(1, preCommitted.size());
+			// the job fails after the checkpoint, before the committer is notified of it
+			write(failedWriter, 3);
+
+			try (KafkaWriter<Integer> recoveredWriter = createWriter(sink, 0, 1, OptionalLong.of(1L), states)) {
+				// the committer recovers the pre-committed transactions of the checkpoint
+				assertEquals(Collections.emptyList(), committer.commit(preCommitted));
+
+				write(recoveredWriter, 4);
+				assertEquals(Collections.emptyList(), committer.commit(recoveredWriter.prepareCommit(false)));
+			}
+		} finally {
+			IOUtils.closeQuietly(committer);
+			IOUtils.closeQuietly(failedWriter);
+		}
+
+		assertExactlyOnceForTopic(createProperties(), topic, PARTITION, Arrays.asList(1, 2, 4));
+		deleteTestTopic(topic);
+	}
+
+	@Test
+	public void testAbortLingeringTransactionsOnRecovery() throws Exception {
+		final String topic = "kafka-sink-abort-lingering-transactions";
+		createTestTopic(topic, 1, 2);
+		final String transactionalIdPrefix = "abort-lingering-transactions";
+		final KafkaSink<Integer> sink = createSink(topic, transactionalIdPrefix);
+
+		final KafkaWriter<Integer> failedWriter = createWriter(sink, Collections.emptyList());
+		final KafkaCommitter committer = new KafkaCommitter(sink.getKafkaProducerConfig());
+		try {
+			write(failedWriter, 1);
+			assertEquals(Collections.emptyList(), committer.commit(failedWriter.prepareCommit(false)));
+			final List<KafkaWriterState> states = failedWriter.snapshotState();
+			assertEquals(
+				Collections.singletonList(new KafkaWriterState(transactionalIdPrefix, 0, 0, 2)),
+				states);
+
+			// transactions of checkpoints which never complete, they are left open in Kafka
+			write(failedWriter, 2);
+			failedWriter.prepareCommit(false);
+			write(failedWriter, 3);
+			failedWriter.prepareCommit(false);
+			write(failedWriter, 4);
+
+			// the recovered writer aborts the transactions with the offsets 2, 3 and 4 and
+			// continues with the transactional ids of the restored checkpoint
+			try (KafkaWriter<Integer> recoveredWriter = createWriter(sink, 0, 1, OptionalLong.of(1L), states)) {
+				assertEquals(
+					Collections.singletonList(new KafkaWriterState(transactionalIdPrefix, 0, 1, 1)),
+					recoveredWriter.snapshotState());
+
+				write(recoveredWriter, 5);
+				assertEquals(Collections.emptyList(), committer.commit(recoveredWriter.prepareCommit(false)));
+			}
+		} finally {
+			IOUtils.closeQuietly(committer);
+			IOUtils.closeQuietly(failedWriter);
+		}
+
+		// the records after the aborted transactions are only visible if no transaction is open
+		assertExactlyOnceForTopic(createProperties(), topic, PARTITION, Arrays.asList(1, 5));
+		deleteTestTopic(topic);
+	}
+
+	@Test
+	public void testRecommitTransactionsAfterFailover() throws Exception {
+		final String topic = "kafka-sink-recommit-transactions";
+		createTestTopic(topic, 1, 2);
+		final KafkaSink<Integer> sink = createSink(topic, "recommit-transactions");
+
+		try (KafkaWriter<Integer> writer = createWriter(sink, Collections.emptyList())) {
+			final List<KafkaCommittable> committables = new ArrayList<>();
+			write(writer, 1);
+			committables.addAll(writer.prepareCommit(false));
+			write(writer, 2);
+			committables.addAll(writer.prepareCommit(false));
+			// a checkpoint without records does not pre-commit a transaction
+			assertEquals(Collections.emptyList(), writer.prepareCommit(false));
+			assertEquals(2, committables.size());
+
+			// the producer of the committer is reused for the transactional ids of both committables
+			try (KafkaCommitter committer = new KafkaCommitter(sink.getKafkaProducerConfig())) {
+				assertEquals(Collections.emptyList(), committer.commit(committables));
+			}
+			// the committables are committed again by a committer recovered from an earlier checkpoint
+			try (KafkaCommitter committer = new KafkaCommitter(sink.getKafkaProducerConfig())) {
+				assertEquals(Collections.emptyList(), committer.commit(committables));
+			}
+		}
+
+		assertExactlyOnceForTopic(createProperties(), topic, PARTITION, Arrays.asList(1, 2));
+		deleteTestTopic(topic);
+	}
+
+	@Test
+	public void testAbortLingeringTransactionsOnRescale() throws Exception {
+		final String topic = "kafka-sink-abort-on-rescale";
+		createTestTopic(topic, 1, 2);
+		final KafkaSink<Integer> sink = createSink(topic, "abort-on-rescale");
+
+		final KafkaCommitter committer = new KafkaCommitter(sink.getKafkaProducerConfig());
+		try {
+			// checkpoint 1 is taken with a parallelism of 2, then both subtasks leave transactions open
+			final List<KafkaWriterState> firstStates = new ArrayList<>();
+			for (int subtaskId = 0; subtaskId < 2; subtaskId++) {
+				try (KafkaWriter<Integer> writer = createWriter(
+						sink, subtaskId, 2, OptionalLong.empty(), Collections.emptyList())) {
+					write(writer, 1 + subtaskId);
+					assertEquals(Collections.emptyList(), committer.commit(writer.prepareCommit(false)));
+					firstStates.addAll(writer.snapshotState());
+					writeLingeringTransactions(writer);
+				}
+			}
+
+			// the job is scaled down to 1 and restored from checkpoint 1, which takes checkpoint 2
+			final List<KafkaWriterState> secondStates;
+			try (KafkaWriter<Integer> writer = createWriter(sink, 0, 1, OptionalLong.of(1L), firstStates)) {
+				write(writer, 3);
+				assertEquals(Collections.emptyList(), committer.commit(writer.prepareCommit(false)));
+				secondStates = writer.snapshotState();
+				writeLingeringTransactions(writer);
+			}
+
+			// the job is scaled up to 2 and restored from checkpoint 2, only the first subtask gets
+			// the state, the second subtask has to use transactional ids which nobody aborts
+			try (KafkaWriter<Integer> firstWriter = createWriter(sink, 0, 2, OptionalLong.of(2L), secondStates);
+					KafkaWriter<Integer> secondWriter = createWriter(
+						sink, 1, 2, OptionalLong.of(2L), Collections.emptyList())) {
+				write(firstWriter, 4);
+				write(secondWriter, 5);
+				assertEquals(Collections.emptyList(), committer.commit(firstWriter.prepareCommit(false)));
+				assertEquals(Collections.emptyList(), committer.commit(secondWriter.prepareCommit(false)));
+			}
+		} finally {
+			IOUtils.closeQuietly(committer);
+		}
+
+		// the records are only visible if none of the lingering transactions is open anymore
+		assertExactlyOnceForTopic(createProperties(), topic, PARTITION, Arrays.asList(1, 2, 3, 4, 5));
+		deleteTestTopic(topic);
+	}
+
+	@Test
+	public void testAbortTransactionsOfFailedAttemptWithHigherParallelism() throws Exception {
+		final String topic = "kafka-sink-abort-failed-attempt";
+		createTestTopic(topic, 1, 2);
+		final String transactionalIdPrefix = "abort-failed-attempt";
+		final KafkaSink<Integer> sink = createSink(topic, transactionalIdPrefix);
+
+		// the job is restored from checkpoint 1 with a parallelism of 2 and fails before its first
+		// checkpoint
+		for (int subtaskId = 0; subtaskId < 2; subtaskId++) {
+			try (KafkaWriter<Integer> writer = createWriter(
+					sink, subtaskId, 2, OptionalLong.of(1L), Collections.emptyList())) {
+				writeLingeringTransactions(writer);
+			}
+		}
+
+		// it is restored from checkpoint 1 again with a parallelism of 1
+		try (KafkaWriter<Integer> writer = createWriter(sink, 0, 1, OptionalLong.of(1L), Collections.emptyList());
+				KafkaCommitter committer = new KafkaCommitter(sink.getKafkaProducerConfig())) {
+			assertEquals(
+				Collections.singletonList(new KafkaWriterState(transactionalIdPrefix, 0, 1, 3)),
+				writer.snapshotState());
+			write(writer, 1);
+			assertEquals(Collections.emptyList(), committer.commit(writer.prepareCommit(false)));
+		}
+
+		assertExactlyOnceForTopic(createProperties(), topic, PARTITION, Collections.singletonList(1));
+		deleteTestTopic(topic);
+	}
+
+	// ------------------------------------------------------------------------
+
+	private static KafkaSink<Integer> createSink(String topic, String transactionalIdPrefix) {
+		Properties producerConfig = new Properties();
+		producerConfig.putAll(secureProps);
+		return KafkaSink.<Integer>builder()
+			.setBootstrapServers(brokerConnectionStrings)
+			.setKafkaProducerConfig(producerConfig)
+			.setDeliveryGuarantee(DeliveryGuarantee.EXACTLY_ONCE)
+			.setTransactionalIdPrefix(transactionalIdPrefix)
+			.setRecordSerializer(new IntegerSerializationSchema(topic))
+			.build();
+	}
+
+	private static KafkaWriter<Integer> createWriter(
+			KafkaSink<Integer> sink,
+			List<KafkaWriterState> states) throws IOException {
+		return createWriter(sink, 0, 1, OptionalLong.empty(), states);
+	}
+
+	private static KafkaWriter<Integer> createWriter(
+			KafkaSink<Integer> sink,
+			int subtaskId,
+			int parallelism,
+			OptionalLong restoredCheckpointId,
+			List<KafkaWriterState> states) throws IOException {
+		return (KafkaWriter<Integer>) sink.createWriter(
+			new TestInitContext(subtaskId, parallelism, restoredCheckpointId),
+			states);
+	}
+
+	/**
+	 * Leaves a pre-committed transaction which is never committed and an open transaction behind,
+	 * as a writer which fails after a checkpoint does.
+	 */
+	private static void writeLingeringTransactions(KafkaWriter<Integer> writer) throws Exception {
+		write(writer, 100);
+		writer.prepareCommit(false);
+		write(writer, 101);
+	}
+
+	private static void write(KafkaWriter<Integer> writer, int... elements) throws Exception {
+		for (int element : elements) {
+			writer.write(element, new TestWriterContext());
+		}
+	}
+
+	private static Properties createProperties() {
+		Properties properties = new Properties();
+		properties.putAll(standardProps);
+		properties.putAll(secureProps);
+		return properties;
+	}
+
+	private static List<Integer> getIntegersSequence(int size) {
+		List<Integer> result = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			result.add(i);
+		}
+		return result;
+	}
+
+	/**
+	 * Writes integers in the format of the {@link org.apache.kafka.common.serialization.IntegerDeserializer}.
+	 */
+	private static class IntegerSerializationSchema implements KafkaSerializationSchema<Integer> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final String topic;
+
+		IntegerSerializationSchema(String topic) {
+			this.topic = topic;
+		}
+
+		@Override
+		public ProducerRecord<byte[], byte[]> serialize(Integer element, @Nullable Long timestamp) {
+			return new ProducerRecord<>(topic, PARTITION, null, ByteBuffer.allocate(4).putInt(element).array());
+		}
+	}
+
+	private static class TestInitContext implements Sink.InitContext {
+
+		private final int subtaskId;
+		private final int parallelism;
+		private final OptionalLong restoredCheckpointId;
+
+		TestInitContext(int subtaskId, int parallelism, OptionalLong restoredCheckpointId) {
+			this.subtaskId = subtaskId;
+			this.parallelism = parallelism;
+			this.restoredCheckpointId = restoredCheckpointId;
+		}
+
+		@Override
+		public Sink.ProcessingTimeService getProcessingTimeService() {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public int getSubtaskId() {
+			return subtaskId;
+		}
+
+		@Override
+		public int getNumberOfParallelSubtasks() {
+			return parallelism;
+		}
+
+		@Override
+		public OptionalLong getRestoredCheckpointId() {
+			return restoredCheckpointId;
+		}
+
+		@Override
+		public MetricGroup metricGroup() {
+			return new UnregisteredMetricsGroup();
+		}
+	}
+
+	private static class TestWriterContext implements SinkWriter.Context {
+
+		@Override
+		public long currentWatermark() {
+			return Long.MIN_VALUE;
+		}
+
+		@Override
+		public Long timestamp() {
+			return null;
+		}
+	}
+}
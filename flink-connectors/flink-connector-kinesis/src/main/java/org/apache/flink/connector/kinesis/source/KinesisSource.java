@@ -0,0 +1,218 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kinesis.source;
+
+import org.apache.flink.annotation.PublicEvolving;
+import org.apache.flink.api.common.typeinfo.TypeInformation;
+import org.apache.flink.api.connector.source.Boundedness;
+import org.apache.flink.api.connector.source.Source;
+import org.apache.flink.api.connector.source.SourceReader;
+import org.apache.flink.api.connector.source.SourceReaderContext;
+import org.apache.flink.api.connector.source.SplitEnumerator;
+import org.apache.flink.api.connector.source.SplitEnumeratorContext;
+import org.apache.flink.api.java.typeutils.ResultTypeQueryable;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.connector.base.source.reader.splitreader.SplitReader;
+import org.apache.flink.connector.kinesis.source.enumerator.KinesisSourceEnumState;
+import org.apache.flink.connector.kinesis.source.enumerator.KinesisSourceEnumStateSerializer;
+import org.apache.flink.connector.kinesis.source.enumerator.KinesisSourceEnumerator;
+import org.apache.flink.connector.kinesis.source.reader.FanOutKinesisShardSplitReader;
+import org.apache.flink.connector.kinesis.source.reader.KinesisSourceReader;
+import org.apache.flink.connector.kinesis.source.reader.PollingKinesisShardSplitReader;
+import org.apache.flink.connector.kinesis.source.split.KinesisShardSplit;
+import org.apache.flink.connector.kinesis.source.split.KinesisShardSplitSerializer;
+import org.apache.flink.core.io.SimpleVersionedSerializer;
+import org.apache.flink.metrics.MetricGroup;
+import org.apache.flink.streaming.connectors.kinesis.KinesisShardAssigner;
+import org.apache.flink.streaming.connectors.kinesis.config.ConsumerConfigConstants;
+import org.apache.flink.streaming.connectors.kinesis.config.ConsumerConfigConstants.InitialPosition;
+import org.apache.flink.streaming.connectors.kinesis.config.ConsumerConfigConstants.RecordPublisherType;
+import org.apache.flink.streaming.connectors.kinesis.internals.publisher.fanout.FanOutRecordPublisherFactory;
+import org.apache.flink.streaming.connectors.kinesis.internals.publisher.polling.PollingRecordPublisherFactory;
+import org.apache.flink.streaming.connectors.kinesis.metrics.KinesisConsumerMetricConstants;
+import org.apache.flink.streaming.connectors.kinesis.proxy.KinesisProxy;
+import org.apache.flink.streaming.connectors.kinesis.proxy.KinesisProxyInterface;
+import org.apache.flink.streaming.connectors.kinesis.proxy.KinesisProxyV2Factory;
+import org.apache.flink.streaming.connectors.kinesis.serialization.KinesisDeserializationSchema;
+import org.apache.flink.streaming.connectors.kinesis.util.StreamConsumerRegistrarUtil;
+
+import com.amazonaws.services.kinesis.clientlibrary.types.UserRecord;
+
+import javax.annotation.Nullable;
+
+import java.util.List;
+import java.util.Properties;
+import java.util.function.Supplier;
+
+/**
+ * The Source implementation of Kinesis. Please use a {@link KinesisSourceBuilder} to construct a
+ * {@link KinesisSource}. The following example shows how to create a KinesisSource emitting records
+ * of <code>String</code> type.
+ *
+ * <pre>{@code
+ * KinesisSource<String> source = KinesisSource
+ *     .<String>builder()
+ *     .setStreams("stream")
+ *     .setConsumerConfig(consumerConfig)
+ *     .setDeserializer(new SimpleStringSchema())
+ *     .build();
+ * }</pre>
+ *
+ * <p>Unlike the {@link org.apache.flink.streaming.connectors.kinesis.FlinkKinesisConsumer}, the
+ * shards are discovered once for the whole job by the {@link KinesisSourceEnumerator}, which also
+ * makes sure that the children of a resharded shard are read after their parents. Each reader
+ * polls all of its shards with a single fetcher thread, or subscribes to them with enhanced fan-out
+ * if {@link ConsumerConfigConstants#RECORD_PUBLISHER_TYPE} is {@code EFO}.
+ *
+ * <p>The consumer configuration is the same as the one of the
+ * {@link org.apache.flink.streaming.connectors.kinesis.FlinkKinesisConsumer}.
+ */
+@PublicEvolving
+public class KinesisSource<OUT> implements Source<OUT, KinesisShardSplit, KinesisSourceEnumState>, ResultTypeQueryable<OUT> {
+
+	private static final long serialVersionUID = 1L;
+
+	private final List<String> streams;
+	private final Properties consumerConfig;
+	private final KinesisDeserializationSchema<OUT> deserializationSchema;
+	private final KinesisShardAssigner shardAssigner;
+
+	KinesisSource(
+			List<String> streams,
+			Properties consumerConfig,
+			KinesisDeserializationSchema<OUT> deserializationSchema,
+			KinesisShardAssigner shardAssigner) {
+		this.streams = streams;
+		this.consumerConfig = consumerConfig;
+		this.deserializationSchema = deserializationSchema;
+		this.shardAssigner = shardAssigner;
+	}
+
+	/**
+	 * Get a kinesisSourceBuilder to build a {@link KinesisSource}.
+	 *
+	 * @return a Kinesis source builder.
+	 */
+	public static <OUT> KinesisSourceBuilder<OUT> builder() {
+		return new KinesisSourceBuilder<>();
+	}
+
+	@Override
+	public Boundedness getBoundedness() {
+		return Boundedness.CONTINUOUS_UNBOUNDED;
+	}
+
+	@Override
+	public SourceReader<OUT, KinesisShardSplit> createReader(SourceReaderContext readerContext) {
+		// the registration of EFO consumers adds the consumer ARNs to the configuration
+		Properties readerConfig = new Properties();
+		readerConfig.putAll(consumerConfig);
+		StreamConsumerRegistrarUtil.lazilyRegisterStreamConsumers(readerConfig, streams);
+
+		MetricGroup metricGroup = readerContext.metricGroup()
+			.addGroup(KinesisConsumerMetricConstants.KINESIS_CONSUMER_METRICS_GROUP);
+		RecordPublisherType recordPublisherType = RecordPublisherType.valueOf(
+			readerConfig.getProperty(ConsumerConfigConstants.RECORD_PUBLISHER_TYPE, RecordPublisherType.POLLING.name()));
+
+		Supplier<SplitReader<UserRecord, KinesisShardSplit>> splitReaderSupplier;
+		if (recordPublisherType == RecordPublisherType.EFO) {
+			splitReaderSupplier = () -> new FanOutKinesisShardSplitReader(
+				new FanOutRecordPublisherFactory(KinesisProxyV2Factory.createKinesisProxyV2(readerConfig)),
+				streams,
+				readerConfig,
+				metricGroup);
+		} else {
+			// the shards share the fetcher thread, so the publishers must not sleep between polls
+			readerConfig.setProperty(ConsumerConfigConstants.SHARD_USE_ADAPTIVE_READS, "false");
+			long fetchIntervalMillis = Long.parseLong(readerConfig.getProperty(
+				ConsumerConfigConstants.SHARD_GETRECORDS_INTERVAL_MILLIS,
+				Long.toString(ConsumerConfigConstants.DEFAULT_SHARD_GETRECORDS_INTERVAL_MILLIS)));
+			splitReaderSupplier = () -> {
+				// one client for all shards of the reader
+				KinesisProxyInterface kinesisProxy = KinesisProxy.create(readerConfig);
+				return new PollingKinesisShardSplitReader(
+					new PollingRecordPublisherFactory(config -> kinesisProxy),
+					readerConfig,
+					metricGroup,
+					fetchIntervalMillis);
+			};
+		}
+
+		return new KinesisSourceReader<>(
+			splitReaderSupplier,
+			deserializationSchema,
+			toConfiguration(readerConfig),
+			readerContext);
+	}
+
+	@Override
+	public SplitEnumerator<KinesisShardSplit, KinesisSourceEnumState> createEnumerator(
+			SplitEnumeratorContext<KinesisShardSplit> enumContext) {
+		return createEnumerator(enumContext, null);
+	}
+
+	@Override
+	public SplitEnumerator<KinesisShardSplit, KinesisSourceEnumState> restoreEnumerator(
+			SplitEnumeratorContext<KinesisShardSplit> enumContext,
+			KinesisSourceEnumState checkpoint) {
+		return createEnumerator(enumContext, checkpoint);
+	}
+
+	@Override
+	public SimpleVersionedSerializer<KinesisShardSplit> getSplitSerializer() {
+		return new KinesisShardSplitSerializer();
+	}
+
+	@Override
+	public SimpleVersionedSerializer<KinesisSourceEnumState> getEnumeratorCheckpointSerializer() {
+		return new KinesisSourceEnumStateSerializer();
+	}
+
+	@Override
+	public TypeInformation<OUT> getProducedType() {
+		return deserializationSchema.getProducedType();
+	}
+
+	// ----------- private helper methods ---------------
+
+	private KinesisSourceEnumerator createEnumerator(
+			SplitEnumeratorContext<KinesisShardSplit> enumContext,
+			@Nullable KinesisSourceEnumState restoredState) {
+		InitialPosition initialPosition = InitialPosition.valueOf(consumerConfig.getProperty(
+			ConsumerConfigConstants.STREAM_INITIAL_POSITION,
+			ConsumerConfigConstants.DEFAULT_STREAM_INITIAL_POSITION));
+		long discoveryIntervalMillis = Long.parseLong(consumerConfig.getProperty(
+			ConsumerConfigConstants.SHARD_DISCOVERY_INTERVAL_MILLIS,
+			Long.toString(ConsumerConfigConstants.DEFAULT_SHARD_DISCOVERY_INTERVAL_MILLIS)));
+		return new KinesisSourceEnumerator(
+			enumContext,
+			KinesisProxy.create(consumerConfig),
+			shardAssigner,
+			streams,
+			initialPosition.toSentinelSequenceNumber(),
+			discoveryIntervalMillis,
+			restoredState);
+	}
+
+	private Configuration toConfiguration(Properties props) {
+		Configuration config = new Configuration();
+		props.stringPropertyNames().forEach(key -> config.setString(key, props.getProperty(key)));
+		return config;
+	}
+}
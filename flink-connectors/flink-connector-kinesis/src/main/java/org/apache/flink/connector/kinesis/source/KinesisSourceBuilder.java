@@ -0,0 +1,168 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kinesis.source;
+
+import org.apache.flink.annotation.PublicEvolving;
+import org.apache.flink.api.common.ExecutionConfig;
+import org.apache.flink.api.common.serialization.DeserializationSchema;
+import org.apache.flink.api.java.ClosureCleaner;
+import org.apache.flink.streaming.connectors.kinesis.KinesisShardAssigner;
+import org.apache.flink.streaming.connectors.kinesis.internals.KinesisDataFetcher;
+import org.apache.flink.streaming.connectors.kinesis.serialization.KinesisDeserializationSchema;
+import org.apache.flink.streaming.connectors.kinesis.serialization.KinesisDeserializationSchemaWrapper;
+import org.apache.flink.streaming.connectors.kinesis.util.KinesisConfigUtil;
+import org.apache.flink.streaming.connectors.kinesis.util.StreamConsumerRegistrarUtil;
+import org.apache.flink.util.InstantiationUtil;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * The builder class for {@link KinesisSource} to make it easier for the users to construct
+ * a {@link KinesisSource}.
+ *
+ * <p>The following example shows the minimum setup to create a KinesisSource that reads the
+ * String values from a Kinesis stream.
+ * <pre>{@code
+ * KinesisSource<String> source = KinesisSource
+ *     .<String>builder()
+ *     .setStreams("stream")
+ *     .setConsumerConfig(consumerConfig)
+ *     .setDeserializer(new SimpleStringSchema())
+ *     .build();
+ * }</pre>
+ * The streams, the consumer configuration with the AWS region and credentials, and the
+ * deserializer are required fields that must be set.
+ */
+@PublicEvolving
+public class KinesisSourceBuilder<OUT> {
+
+	private List<String> streams;
+	private Properties consumerConfig;
+	private KinesisDeserializationSchema<OUT> deserializationSchema;
+	private KinesisShardAssigner shardAssigner;
+
+	KinesisSourceBuilder() {
+		this.streams = null;
+		this.consumerConfig = null;
+		this.deserializationSchema = null;
+		this.shardAssigner = KinesisDataFetcher.DEFAULT_SHARD_ASSIGNER;
+	}
+
+	/**
+	 * Sets the streams the KinesisSource should read from.
+	 *
+	 * @param streams the streams to read from.
+	 * @return this KinesisSourceBuilder.
+	 */
+	public KinesisSourceBuilder<OUT> setStreams(List<String> streams) {
+		this.streams = new ArrayList<>(streams);
+		return this;
+	}
+
+	/**
+	 * Sets the streams the KinesisSource should read from.
+	 *
+	 * @param streams the streams to read from.
+	 * @return this KinesisSourceBuilder.
+	 */
+	public KinesisSourceBuilder<OUT> setStreams(String... streams) {
+		return setStreams(Arrays.asList(streams));
+	}
+
+	/**
+	 * Sets the consumer configuration, i.e. the AWS region and credentials, the initial position
+	 * and the record publisher. See {@link org.apache.flink.streaming.connectors.kinesis.config.ConsumerConfigConstants}
+	 * for the available keys.
+	 *
+	 * @param consumerConfig the consumer configuration.
+	 * @return this KinesisSourceBuilder.
+	 */
+	public KinesisSourceBuilder<OUT> setConsumerConfig(Properties consumerConfig) {
+		this.consumerConfig = new Properties();
+		this.consumerConfig.putAll(consumerConfig);
+		return this;
+	}
+
+	/**
+	 * Sets the deserializer of the records, which has access to the metadata of the Kinesis records.
+	 *
+	 * @param deserializationSchema the deserializer of the records.
+	 * @return this KinesisSourceBuilder.
+	 */
+	public KinesisSourceBuilder<OUT> setDeserializer(KinesisDeserializationSchema<OUT> deserializationSchema) {
+		this.deserializationSchema = deserializationSchema;
+		return this;
+	}
+
+	/**
+	 * Sets the deserializer of the record values.
+	 *
+	 * @param deserializationSchema the deserializer of the record values.
+	 * @return this KinesisSourceBuilder.
+	 */
+	public KinesisSourceBuilder<OUT> setDeserializer(DeserializationSchema<OUT> deserializationSchema) {
+		return setDeserializer(new KinesisDeserializationSchemaWrapper<>(deserializationSchema));
+	}
+
+	/**
+	 * Sets a custom assigner to influence how shards are distributed over the readers. The
+	 * children of a shard are only assigned once their parents are completely read, no matter
+	 * which reader they are assigned to.
+	 *
+	 * @param shardAssigner the shard assigner.
+	 * @return this KinesisSourceBuilder.
+	 */
+	public KinesisSourceBuilder<OUT> setShardAssigner(KinesisShardAssigner shardAssigner) {
+		this.shardAssigner = checkNotNull(shardAssigner, "function can not be null");
+		ClosureCleaner.clean(shardAssigner, ExecutionConfig.ClosureCleanerLevel.RECURSIVE, true);
+		return this;
+	}
+
+	/**
+	 * Build the {@link KinesisSource}.
+	 *
+	 * @return a KinesisSource with the settings made for this builder.
+	 */
+	public KinesisSource<OUT> build() {
+		sanityCheck();
+		StreamConsumerRegistrarUtil.eagerlyRegisterStreamConsumers(consumerConfig, streams);
+		return new KinesisSource<>(streams, consumerConfig, deserializationSchema, shardAssigner);
+	}
+
+	// ------------- private helpers  --------------
+
+	private void sanityCheck() {
+		checkNotNull(streams, "No streams are specified.");
+		checkArgument(!streams.isEmpty(), "must be consuming at least 1 stream");
+		checkArgument(!streams.contains(""), "stream names cannot be empty Strings");
+		checkNotNull(consumerConfig, "No consumer configuration is specified.");
+		KinesisConfigUtil.validateConsumerConfiguration(consumerConfig, streams);
+		checkNotNull(deserializationSchema, "Deserialization schema is required but not provided.");
+		checkArgument(
+			InstantiationUtil.isSerializable(deserializationSchema),
+			"The provided deserialization schema is not serializable: " + deserializationSchema.getClass().getName() + ". " +
+				"Please check that it does not contain references to non-serializable instances.");
+	}
+}
@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kinesis.source.enumerator;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.connector.kinesis.source.split.KinesisShardSplit;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The state of the {@link KinesisSourceEnumerator}.
+ *
+ * <p>Splits which have been assigned are part of the reader state, the enumerator only keeps
+ * track of what it has discovered, which shards are completely read and which splits still wait
+ * for their parents or their reader.
+ */
+@Internal
+public class KinesisSourceEnumState {
+
+	private final Map<String, String> lastSeenShardIds;
+	private final Set<String> discoveredSplitIds;
+	private final Set<String> finishedSplitIds;
+	private final Collection<KinesisShardSplit> unassignedSplits;
+	private final boolean initialDiscoveryFinished;
+
+	public KinesisSourceEnumState(
+			Map<String, String> lastSeenShardIds,
+			Set<String> discoveredSplitIds,
+			Set<String> finishedSplitIds,
+			Collection<KinesisShardSplit> unassignedSplits,
+			boolean initialDiscoveryFinished) {
+		this.lastSeenShardIds = lastSeenShardIds;
+		this.discoveredSplitIds = discoveredSplitIds;
+		this.finishedSplitIds = finishedSplitIds;
+		this.unassignedSplits = unassignedSplits;
+		this.initialDiscoveryFinished = initialDiscoveryFinished;
+	}
+
+	/**
+	 * Returns the id of the last discovered shard per stream, the next discovery continues after it.
+	 */
+	public Map<String, String> getLastSeenShardIds() {
+		return lastSeenShardIds;
+	}
+
+	public Set<String> getDiscoveredSplitIds() {
+		return discoveredSplitIds;
+	}
+
+	public Set<String> getFinishedSplitIds() {
+		return finishedSplitIds;
+	}
+
+	public Collection<KinesisShardSplit> getUnassignedSplits() {
+		return unassignedSplits;
+	}
+
+	public boolean isInitialDiscoveryFinished() {
+		return initialDiscoveryFinished;
+	}
+}
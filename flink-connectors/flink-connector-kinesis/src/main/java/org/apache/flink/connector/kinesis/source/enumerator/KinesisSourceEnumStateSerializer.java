@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kinesis.source.enumerator;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.connector.kinesis.source.split.KinesisShardSplit;
+import org.apache.flink.connector.kinesis.source.split.KinesisShardSplitSerializer;
+import org.apache.flink.core.io.SimpleVersionedSerializer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The {@link SimpleVersionedSerializer Serializer} for the enumerator state of the Kinesis source.
+ */
+@Internal
+public class KinesisSourceEnumStateSerializer implements SimpleVersionedSerializer<KinesisSourceEnumState> {
+
+	private static final int CURRENT_VERSION = 0;
+
+	private final KinesisShardSplitSerializer splitSerializer = new KinesisShardSplitSerializer();
+
+	@Override
+	public int getVersion() {
+		return CURRENT_VERSION;
+	}
+
+	@Override
+	public byte[] serialize(KinesisSourceEnumState enumState) throws IOException {
+		try (ByteArrayOutputStream baos = new ByteArrayOutputStream();
+				DataOutputStream out = new DataOutputStream(baos)) {
+			out.writeInt(enumState.getLastSeenShardIds().size());
+			for (Map.Entry<String, String> entry : enumState.getLastSeenShardIds().entrySet()) {
+				out.writeUTF(entry.getKey());
+				out.writeBoolean(entry.getValue() != null);
+				if (entry.getValue() != null) {
+					out.writeUTF(entry.getValue());
+				}
+			}
+			writeStrings(out, enumState.getDiscoveredSplitIds());
+			writeStrings(out, enumState.getFinishedSplitIds());
+
+			out.writeInt(splitSerializer.getVersion());
+			out.writeInt(enumState.getUnassignedSplits().size());
+			for (KinesisShardSplit split : enumState.getUnassignedSplits()) {
+				byte[] serializedSplit = splitSerializer.serialize(split);
+				out.writeInt(serializedSplit.length);
+				out.write(serializedSplit);
+			}
+			out.writeBoolean(enumState.isInitialDiscoveryFinished());
+			out.flush();
+			return baos.toByteArray();
+		}
+	}
+
+	@Override
+	public KinesisSourceEnumState deserialize(int version, byte[] serialized) throws IOException {
+		if (version != CURRENT_VERSION) {
+			throw new IOException(String.format("The bytes are serialized with version %d, " +
+				"while this deserializer only supports version up to %d", version, CURRENT_VERSION));
+		}
+		try (ByteArrayInputStream bais = new ByteArrayInputStream(serialized);
+				DataInputStream in = new DataInputStream(bais)) {
+			int numStreams = in.readInt();
+			Map<String, String> lastSeenShardIds = new HashMap<>(numStreams);
+			for (int i = 0; i < numStreams; i++) {
+				String stream = in.readUTF();
+				lastSeenShardIds.put(stream, in.readBoolean() ? in.readUTF() : null);
+			}
+			Set<String> discoveredSplitIds = readStrings(in);
+			Set<String> finishedSplitIds = readStrings(in);
+
+			int splitSerializerVersion = in.readInt();
+			int numSplits = in.readInt();
+			List<KinesisShardSplit> unassignedSplits = new ArrayList<>(numSplits);
+			for (int i = 0; i < numSplits; i++) {
+				byte[] serializedSplit = new byte[in.readInt()];
+				in.readFully(serializedSplit);
+				unassignedSplits.add(splitSerializer.deserialize(splitSerializerVersion, serializedSplit));
+			}
+			boolean initialDiscoveryFinished = in.readBoolean();
+			return new KinesisSourceEnumState(
+				lastSeenShardIds,
+				discoveredSplitIds,
+				finishedSplitIds,
+				unassignedSplits,
+				initialDiscoveryFinished);
+		}
+	}
+
+	private static void writeStrings(DataOutputStream out, Collection<String> strings) throws IOException {
+		out.writeInt(strings.size());
+		for (String string : strings) {
+			out.writeUTF(string);
+		}
+	}
+
+	private static Set<String> readStrings(DataInputStream in) throws IOException {
+		int size = in.readInt();
+		Set<String> strings = new HashSet<>(size);
+		for (int i = 0; i < size; i++) {
+			strings.add(in.readUTF());
+		}
+		return strings;
+	}
+}
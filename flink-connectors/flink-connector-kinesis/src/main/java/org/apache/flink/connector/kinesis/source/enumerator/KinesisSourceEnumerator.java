@@ -0,0 +1,306 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kinesis.source.enumerator;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.api.connector.source.SourceEvent;
+import org.apache.flink.api.connector.source.SplitEnumerator;
+import org.apache.flink.api.connector.source.SplitEnumeratorContext;
+import org.apache.flink.api.connector.source.SplitsAssignment;
+import org.apache.flink.connector.kinesis.source.event.SplitsFinishedEvent;
+import org.apache.flink.connector.kinesis.source.split.KinesisShardSplit;
+import org.apache.flink.streaming.connectors.kinesis.KinesisShardAssigner;
+import org.apache.flink.streaming.connectors.kinesis.model.SentinelSequenceNumber;
+import org.apache.flink.streaming.connectors.kinesis.model.SequenceNumber;
+import org.apache.flink.streaming.connectors.kinesis.model.StreamShardHandle;
+import org.apache.flink.streaming.connectors.kinesis.proxy.GetShardListResult;
+import org.apache.flink.streaming.connectors.kinesis.proxy.KinesisProxyInterface;
+import org.apache.flink.util.FlinkRuntimeException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The enumerator of the Kinesis source.
+ *
+ * <p>The enumerator is the only place which lists the shards of the streams, the readers never
+ * call the ListShards API. Shards are discovered periodically and assigned to the reader chosen by
+ * the {@link KinesisShardAssigner}. A shard created by a resharding is held back until all of its
+ * parents are completely read, which the readers report with a {@link SplitsFinishedEvent}. This
+ * keeps the records of a partition key in order across resharding. Parents which are not
+ * discovered, e.g. because they are past the retention period, do not hold back their children.
+ *
+ * <p>A finished shard is forgotten once its children are discovered, so the state does not grow
+ * with the number of reshardings. The discovery continues after the last seen shard of a stream
+ * and never lists a forgotten shard again, and a forgotten parent does not hold back children
+ * which are discovered later, just like a parent which was never discovered.
+ */
+@Internal
+public class KinesisSourceEnumerator implements SplitEnumerator<KinesisShardSplit, KinesisSourceEnumState> {
+
+	private static final Logger LOG = LoggerFactory.getLogger(KinesisSourceEnumerator.class);
+
+	private final SplitEnumeratorContext<KinesisShardSplit> context;
+	private final KinesisProxyInterface kinesisProxy;
+	private final KinesisShardAssigner shardAssigner;
+	private final SentinelSequenceNumber initialPosition;
+	private final long discoveryIntervalMillis;
+
+	private final Map<String, String> lastSeenShardIds;
+	private final Set<String> discoveredSplitIds;
+	private final Set<String> finishedSplitIds;
+	// discovered splits which wait for their parents or for their reader, in discovery order
+	private final Map<String, KinesisShardSplit> unassignedSplits;
+	private boolean initialDiscoveryFinished;
+
+	// a copy of the last seen shard ids for the discovery, which runs in the worker thread
+	private volatile Map<String, String> discoveryStartShardIds;
+
+	public KinesisSourceEnumerator(
+			SplitEnumeratorContext<KinesisShardSplit> context,
+			KinesisProxyInterface kinesisProxy,
+			KinesisShardAssigner shardAssigner,
+			List<String> streams,
+			SentinelSequenceNumber initialPosition,
+			long discoveryIntervalMillis,
+			@Nullable KinesisSourceEnumState restoredState) {
+		this.context = context;
+		this.kinesisProxy = kinesisProxy;
+		this.shardAssigner = shardAssigner;
+		this.initialPosition = initialPosition;
+		this.discoveryIntervalMillis = discoveryIntervalMillis;
+		this.lastSeenShardIds = new HashMap<>();
+		this.discoveredSplitIds = new HashSet<>();
+		this.finishedSplitIds = new HashSet<>();
+		this.unassignedSplits = new LinkedHashMap<>();
+
+		for (String stream : streams) {
+			lastSeenShardIds.put(stream, null);
+		}
+		if (restoredState != null) {
+			// streams which are no longer configured are not read anymore
+			restoredState.getLastSeenShardIds().forEach((stream, shardId) -> {
+				if (lastSeenShardIds.containsKey(stream)) {
+					lastSeenShardIds.put(stream, shardId);
+				}
+			});
+			discoveredSplitIds.addAll(restoredState.getDiscoveredSplitIds());
+			finishedSplitIds.addAll(restoredState.getFinishedSplitIds());
+			for (KinesisShardSplit split : restoredState.getUnassignedSplits()) {
+				if (lastSeenShardIds.containsKey(split.getStreamName())) {
+					unassignedSplits.put(split.splitId(), split);
+				}
+			}
+			this.initialDiscoveryFinished = restoredState.isInitialDiscoveryFinished();
+		}
+		this.discoveryStartShardIds = new HashMap<>(lastSeenShardIds);
+	}
+
+	@Override
+	public void start() {
+		if (discoveryIntervalMillis > 0) {
+			context.callAsync(
+				this::discoverShards,
+				this::handleDiscoveredShards,
+				0,
+				discoveryIntervalMillis);
+		} else {
+			context.callAsync(this::discoverShards, this::handleDiscoveredShards);
+		}
+	}
+
+	@Override
+	public void handleSplitRequest(int subtaskId, @Nullable String requesterHostname) {
+		// the splits are pushed to the readers
+	}
+
+	@Override
+	public void addSplitsBack(List<KinesisShardSplit> splits, int subtaskId) {
+		LOG.debug("Adding splits {} of reader {} back.", splits, subtaskId);
+		for (KinesisShardSplit split : splits) {
+			if (split.isFinished()) {
+				markFinished(split.splitId());
+			} else {
+				unassignedSplits.put(split.splitId(), split);
+			}
+		}
+		assignSplits();
+	}
+
+	@Override
+	public void addReader(int subtaskId) {
+		LOG.debug("Adding reader {} to KinesisSourceEnumerator.", subtaskId);
+		assignSplits();
+	}
+
+	@Override
+	public void handleSourceEvent(int subtaskId, SourceEvent sourceEvent) {
+		if (sourceEvent instanceof SplitsFinishedEvent) {
+			Set<String> splitIds = ((SplitsFinishedEvent) sourceEvent).getFinishedSplitIds();
+			LOG.info("Reader {} finished reading shards {}.", subtaskId, splitIds);
+			splitIds.forEach(this::markFinished);
+			assignSplits();
+		}
+	}
+
+	@Override
+	public KinesisSourceEnumState snapshotState() {
+		return new KinesisSourceEnumState(
+			new HashMap<>(lastSeenShardIds),
+			new HashSet<>(discoveredSplitIds),
+			new HashSet<>(finishedSplitIds),
+			new ArrayList<>(unassignedSplits.values()),
+			initialDiscoveryFinished);
+	}
+
+	@Override
+	public void close() {
+		// the proxy does not hold any resources which need to be released
+	}
+
+	// ----------------- private methods -------------------
+
+	private List<StreamShardHandle> discoverShards() throws InterruptedException {
+		GetShardListResult result = kinesisProxy.getShardList(new HashMap<>(discoveryStartShardIds));
+		List<StreamShardHandle> shards = new ArrayList<>();
+		for (String stream : result.getStreamsWithRetrievedShards()) {
+			shards.addAll(result.getRetrievedShardListOfStream(stream));
+		}
+		return shards;
+	}
+
+	private void handleDiscoveredShards(List<StreamShardHandle> shards, Throwable t) {
+		if (t != null) {
+			throw new FlinkRuntimeException("Failed to discover the shards of the Kinesis streams.", t);
+		}
+
+		// shards created after the start of the job are read completely
+		SequenceNumber startingSequenceNumber = initialDiscoveryFinished
+			? SentinelSequenceNumber.SENTINEL_EARLIEST_SEQUENCE_NUM.get()
+			: initialPosition.get();
+
+		for (StreamShardHandle shard : shards) {
+			KinesisShardSplit split = new KinesisShardSplit(shard, startingSequenceNumber);
+			if (discoveredSplitIds.add(split.splitId())) {
+				LOG.info("Discovered new shard {}.", split);
+				unassignedSplits.put(split.splitId(), split);
+				forgetFinishedParents(split);
+			}
+			String lastSeenShardId = lastSeenShardIds.get(shard.getStreamName());
+			if (lastSeenShardId == null
+					|| StreamShardHandle.compareShardIds(shard.getShard().getShardId(), lastSeenShardId) > 0) {
+				lastSeenShardIds.put(shard.getStreamName(), shard.getShard().getShardId());
+			}
+		}
+		initialDiscoveryFinished = true;
+		discoveryStartShardIds = new HashMap<>(lastSeenShardIds);
+		assignSplits();
+	}
+
+	private void assignSplits() {
+		Set<Integer> registeredReaders = context.registeredReaders().keySet();
+		Map<Integer, List<KinesisShardSplit>> assignment = new HashMap<>();
+		Iterator<KinesisShardSplit> iterator = unassignedSplits.values().iterator();
+		while (iterator.hasNext()) {
+			KinesisShardSplit split = iterator.next();
+			if (!areParentsFinished(split)) {
+				continue;
+			}
+			int owner = getSplitOwner(split, context.currentParallelism());
+			if (registeredReaders.contains(owner)) {
+				assignment.computeIfAbsent(owner, r -> new ArrayList<>()).add(split);
+				iterator.remove();
+			}
+		}
+		if (!assignment.isEmpty()) {
+			LOG.info("Assigning splits to readers {}", assignment);
+			context.assignSplits(new SplitsAssignment<>(assignment));
+		}
+	}
+
+	private void markFinished(String splitId) {
+		if (!discoveredSplitIds.contains(splitId)) {
+			// the split has already been forgotten, e.g. it is reported again by a restored reader
+			return;
+		}
+		finishedSplitIds.add(splitId);
+		// children of an unfinished parent are never assigned, so discovered children are unassigned
+		for (KinesisShardSplit split : unassignedSplits.values()) {
+			if (split.getParentSplitIds().contains(splitId)) {
+				forget(splitId);
+				return;
+			}
+		}
+	}
+
+	private void forgetFinishedParents(KinesisShardSplit split) {
+		for (String parentSplitId : split.getParentSplitIds()) {
+			if (finishedSplitIds.contains(parentSplitId)) {
+				forget(parentSplitId);
+			}
+		}
+	}
+
+	private void forget(String finishedSplitId) {
+		LOG.debug("Forgetting finished shard {}.", finishedSplitId);
+		finishedSplitIds.remove(finishedSplitId);
+		discoveredSplitIds.remove(finishedSplitId);
+	}
+
+	private boolean areParentsFinished(KinesisShardSplit split) {
+		for (String parentSplitId : split.getParentSplitIds()) {
+			if (discoveredSplitIds.contains(parentSplitId) && !finishedSplitIds.contains(parentSplitId)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private int getSplitOwner(KinesisShardSplit split, int numReaders) {
+		return Math.abs(shardAssigner.assign(split.getStreamShardHandle(), numReaders) % numReaders);
+	}
+
+	@VisibleForTesting
+	Set<String> getUnassignedSplitIds() {
+		return Collections.unmodifiableSet(unassignedSplits.keySet());
+	}
+
+	@VisibleForTesting
+	Set<String> getDiscoveredSplitIds() {
+		return Collections.unmodifiableSet(discoveredSplitIds);
+	}
+
+	@VisibleForTesting
+	Set<String> getFinishedSplitIds() {
+		return Collections.unmodifiableSet(finishedSplitIds);
+	}
+}
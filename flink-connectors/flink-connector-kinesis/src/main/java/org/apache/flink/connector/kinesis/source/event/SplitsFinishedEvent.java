@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kinesis.source.event;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.api.connector.source.SourceEvent;
+
+import java.util.Set;
+
+/**
+ * A {@link SourceEvent} sent by a reader to the enumerator when it has read shards to their end,
+ * so that the enumerator can assign the child shards.
+ */
+@Internal
+public class SplitsFinishedEvent implements SourceEvent {
+
+	private static final long serialVersionUID = 1L;
+
+	private final Set<String> finishedSplitIds;
+
+	public SplitsFinishedEvent(Set<String> finishedSplitIds) {
+		this.finishedSplitIds = finishedSplitIds;
+	}
+
+	public Set<String> getFinishedSplitIds() {
+		return finishedSplitIds;
+	}
+
+	@Override
+	public String toString() {
+		return "SplitsFinishedEvent{finishedSplitIds=" + finishedSplitIds + "}";
+	}
+}
@@ -0,0 +1,220 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kinesis.source.reader;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.connector.base.source.reader.RecordsBySplits;
+import org.apache.flink.connector.base.source.reader.RecordsWithSplitIds;
+import org.apache.flink.connector.base.source.reader.splitreader.SplitReader;
+import org.apache.flink.connector.base.source.reader.splitreader.SplitsAddition;
+import org.apache.flink.connector.base.source.reader.splitreader.SplitsChange;
+import org.apache.flink.connector.kinesis.source.split.KinesisShardSplit;
+import org.apache.flink.metrics.MetricGroup;
+import org.apache.flink.runtime.util.ExecutorThreadFactory;
+import org.apache.flink.streaming.connectors.kinesis.internals.publisher.RecordPublisher;
+import org.apache.flink.streaming.connectors.kinesis.internals.publisher.RecordPublisher.RecordPublisherRunResult;
+import org.apache.flink.streaming.connectors.kinesis.internals.publisher.RecordPublisherFactory;
+import org.apache.flink.streaming.connectors.kinesis.metrics.KinesisConsumerMetricConstants;
+import org.apache.flink.streaming.connectors.kinesis.util.AWSUtil;
+import org.apache.flink.streaming.connectors.kinesis.util.StreamConsumerRegistrarUtil;
+
+import com.amazonaws.services.kinesis.clientlibrary.types.UserRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link SplitReader} which reads the shards assigned to a reader with enhanced fan-out (EFO)
+ * subscriptions.
+ *
+ * <p>Kinesis pushes the records of a subscription and the {@link RecordPublisher} blocks for the
+ * lifetime of a subscription, so every shard is subscribed in its own thread. The subscription
+ * threads hand the records over to the fetcher thread through a bounded queue, which blocks the
+ * subscriptions when the reader is back pressured.
+ */
+@Internal
+public class FanOutKinesisShardSplitReader implements SplitReader<UserRecord, KinesisShardSplit> {
+
+	private static final Logger LOG = LoggerFactory.getLogger(FanOutKinesisShardSplitReader.class);
+
+	private static final int HANDOVER_CAPACITY = 16;
+
+	private static final long POLL_TIMEOUT_MILLIS = 100L;
+
+	private final RecordPublisherFactory recordPublisherFactory;
+	private final List<String> streams;
+	private final Properties consumerConfig;
+	private final MetricGroup metricGroup;
+	private final ExecutorService subscriptionExecutor;
+	private final BlockingQueue<FetchedRecords> handover;
+	// splits which are added when they are already read to their end, e.g. on restore
+	private final List<String> finishedSplitIds;
+
+	private volatile boolean wakeUp;
+
+	public FanOutKinesisShardSplitReader(
+			RecordPublisherFactory recordPublisherFactory,
+			List<String> streams,
+			Properties consumerConfig,
+			MetricGroup metricGroup) {
+		this.recordPublisherFactory = recordPublisherFactory;
+		this.streams = streams;
+		this.consumerConfig = consumerConfig;
+		this.metricGroup = metricGroup;
+		this.subscriptionExecutor = Executors.newCachedThreadPool(
+			new ExecutorThreadFactory("kinesis-efo-subscription"));
+		this.handover = new ArrayBlockingQueue<>(HANDOVER_CAPACITY);
+		this.finishedSplitIds = new ArrayList<>();
+	}
+
+	@Override
+	public RecordsWithSplitIds<UserRecord> fetch() throws IOException {
+		RecordsBySplits.Builder<UserRecord> builder = new RecordsBySplits.Builder<>();
+		boolean hasFinishedSplits = !finishedSplitIds.isEmpty();
+		builder.addFinishedSplits(finishedSplitIds);
+		finishedSplitIds.clear();
+
+		List<FetchedRecords> fetched = new ArrayList<>();
+		try {
+			while (fetched.isEmpty() && !hasFinishedSplits && !wakeUp) {
+				FetchedRecords records = handover.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+				if (records != null) {
+					fetched.add(records);
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting for Kinesis records.");
+		}
+		wakeUp = false;
+		handover.drainTo(fetched);
+
+		for (FetchedRecords records : fetched) {
+			if (records.error != null) {
+				throw new IOException("Failed to read shard " + records.splitId, records.error);
+			}
+			builder.addAll(records.splitId, records.records);
+			if (records.finished) {
+				LOG.info("Finished reading shard {}.", records.splitId);
+				builder.addFinishedSplit(records.splitId);
+			}
+		}
+		return builder.build();
+	}
+
+	@Override
+	public void handleSplitsChanges(SplitsChange<KinesisShardSplit> splitsChanges) {
+		if (!(splitsChanges instanceof SplitsAddition)) {
+			throw new UnsupportedOperationException(String.format(
+				"The SplitChange type of %s is not supported.", splitsChanges.getClass()));
+		}
+		for (KinesisShardSplit split : splitsChanges.splits()) {
+			if (split.isFinished()) {
+				finishedSplitIds.add(split.splitId());
+			} else {
+				subscriptionExecutor.execute(() -> subscribe(split));
+			}
+		}
+	}
+
+	@Override
+	public void wakeUp() {
+		wakeUp = true;
+	}
+
+	@Override
+	public void close() throws Exception {
+		subscriptionExecutor.shutdownNow();
+		recordPublisherFactory.close();
+		StreamConsumerRegistrarUtil.deregisterStreamConsumers(consumerConfig, streams);
+	}
+
+	private void subscribe(KinesisShardSplit split) {
+		String splitId = split.splitId();
+		ShardProgress progress = new ShardProgress(split.getStartingSequenceNumber());
+		try {
+			RecordPublisher publisher = recordPublisherFactory.create(
+				AWSUtil.getStartingPosition(split.getStartingSequenceNumber(), consumerConfig),
+				consumerConfig,
+				metricGroup
+					.addGroup(KinesisConsumerMetricConstants.STREAM_METRICS_GROUP, split.getStreamName())
+					.addGroup(KinesisConsumerMetricConstants.SHARD_METRICS_GROUP, split.getShardId()),
+				split.getStreamShardHandle());
+
+			RecordPublisherRunResult result;
+			do {
+				result = publisher.run(batch -> {
+					List<UserRecord> records = progress.collect(batch);
+					if (!records.isEmpty()) {
+						handOver(new FetchedRecords(splitId, records, false, null));
+					}
+					return progress.getLastSequenceNumber();
+				});
+			} while (result != RecordPublisherRunResult.COMPLETE);
+			handover.put(new FetchedRecords(splitId, Collections.emptyList(), true, null));
+		} catch (InterruptedException e) {
+			// the reader is closed
+			Thread.currentThread().interrupt();
+		} catch (Throwable t) {
+			if (!subscriptionExecutor.isShutdown()) {
+				handOver(new FetchedRecords(splitId, Collections.emptyList(), false, t));
+			}
+		}
+	}
+
+	private void handOver(FetchedRecords records) {
+		try {
+			handover.put(records);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("The reader was closed while handing over records.", e);
+		}
+	}
+
+	// ------------------------------------------------------------------------
+
+	private static final class FetchedRecords {
+
+		private final String splitId;
+		private final List<UserRecord> records;
+		private final boolean finished;
+		@Nullable
+		private final Throwable error;
+
+		private FetchedRecords(String splitId, List<UserRecord> records, boolean finished, @Nullable Throwable error) {
+			this.splitId = splitId;
+			this.records = records;
+			this.finished = finished;
+			this.error = error;
+		}
+	}
+}
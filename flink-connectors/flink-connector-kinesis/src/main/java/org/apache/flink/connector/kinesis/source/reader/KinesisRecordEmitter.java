@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kinesis.source.reader;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.api.connector.source.SourceOutput;
+import org.apache.flink.connector.base.source.reader.RecordEmitter;
+import org.apache.flink.connector.kinesis.source.split.KinesisShardSplit;
+import org.apache.flink.connector.kinesis.source.split.KinesisShardSplitState;
+import org.apache.flink.streaming.connectors.kinesis.serialization.KinesisDeserializationSchema;
+
+import com.amazonaws.services.kinesis.clientlibrary.types.UserRecord;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The {@link RecordEmitter} implementation for {@link KinesisSourceReader}. Records are emitted
+ * with their approximate arrival timestamp.
+ */
+@Internal
+public class KinesisRecordEmitter<T> implements RecordEmitter<UserRecord, T, KinesisShardSplitState> {
+
+	private final KinesisDeserializationSchema<T> deserializationSchema;
+
+	public KinesisRecordEmitter(KinesisDeserializationSchema<T> deserializationSchema) {
+		this.deserializationSchema = deserializationSchema;
+	}
+
+	@Override
+	public void emitRecord(
+			UserRecord record,
+			SourceOutput<T> output,
+			KinesisShardSplitState splitState) throws Exception {
+		ByteBuffer recordData = record.getData();
+		byte[] dataBytes = new byte[recordData.remaining()];
+		recordData.get(dataBytes);
+
+		KinesisShardSplit split = splitState.getSplit();
+		long approxArrivalTimestamp = record.getApproximateArrivalTimestamp().getTime();
+		T value = deserializationSchema.deserialize(
+			dataBytes,
+			record.getPartitionKey(),
+			record.getSequenceNumber(),
+			approxArrivalTimestamp,
+			split.getStreamName(),
+			split.getShardId());
+		if (value != null) {
+			output.collect(value, approxArrivalTimestamp);
+		}
+		splitState.setCurrentSequenceNumber(ShardProgress.toSequenceNumber(record));
+	}
+}
@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kinesis.source.reader;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.api.common.serialization.DeserializationSchema;
+import org.apache.flink.api.connector.source.SourceReaderContext;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.connector.base.source.reader.SingleThreadMultiplexSourceReaderBase;
+import org.apache.flink.connector.base.source.reader.splitreader.SplitReader;
+import org.apache.flink.connector.kinesis.source.event.SplitsFinishedEvent;
+import org.apache.flink.connector.kinesis.source.split.KinesisShardSplit;
+import org.apache.flink.connector.kinesis.source.split.KinesisShardSplitState;
+import org.apache.flink.metrics.MetricGroup;
+import org.apache.flink.streaming.connectors.kinesis.model.SentinelSequenceNumber;
+import org.apache.flink.streaming.connectors.kinesis.serialization.KinesisDeserializationSchema;
+import org.apache.flink.util.SimpleUserCodeClassLoader;
+import org.apache.flink.util.UserCodeClassLoader;
+
+import com.amazonaws.services.kinesis.clientlibrary.types.UserRecord;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * The source reader of the Kinesis source.
+ *
+ * <p>All shards assigned to the reader are read by a single split fetcher. When a shard is read to
+ * its end, the reader tells the enumerator with a {@link SplitsFinishedEvent}, so the enumerator
+ * can assign the children of the shard. The finished shards stay in the checkpoints of the reader
+ * until a checkpoint which was taken after the event has completed. A reader restored from an
+ * earlier checkpoint sends the event again, so an event which did not make it into the checkpoint
+ * of the enumerator is not lost.
+ */
+@Internal
+public class KinesisSourceReader<T>
+		extends SingleThreadMultiplexSourceReaderBase<UserRecord, T, KinesisShardSplit, KinesisShardSplitState> {
+
+	private final KinesisDeserializationSchema<T> deserializationSchema;
+
+	// finished splits and the first checkpoint which contains them as finished, null if none yet
+	private final Map<String, KinesisShardSplit> finishedSplits;
+	private final Map<String, Long> finishedSplitCheckpoints;
+
+	public KinesisSourceReader(
+			Supplier<SplitReader<UserRecord, KinesisShardSplit>> splitReaderSupplier,
+			KinesisDeserializationSchema<T> deserializationSchema,
+			Configuration config,
+			SourceReaderContext context) {
+		super(splitReaderSupplier, new KinesisRecordEmitter<>(deserializationSchema), config, context);
+		this.deserializationSchema = deserializationSchema;
+		this.finishedSplits = new HashMap<>();
+		this.finishedSplitCheckpoints = new HashMap<>();
+	}
+
+	@Override
+	public void start() {
+		try {
+			deserializationSchema.open(new DeserializationSchema.InitializationContext() {
+				@Override
+				public MetricGroup getMetricGroup() {
+					return context.metricGroup().addGroup("user");
+				}
+
+				@Override
+				public UserCodeClassLoader getUserCodeClassLoader() {
+					return SimpleUserCodeClassLoader.create(Thread.currentThread().getContextClassLoader());
+				}
+			});
+		} catch (Exception e) {
+			throw new RuntimeException("Failed to open the deserialization schema.", e);
+		}
+	}
+
+	@Override
+	protected void onSplitFinished(Map<String, KinesisShardSplitState> finishedSplitIds) {
+		finishedSplitIds.forEach((splitId, splitState) -> {
+			splitState.setCurrentSequenceNumber(SentinelSequenceNumber.SENTINEL_SHARD_ENDING_SEQUENCE_NUM.get());
+			finishedSplits.put(splitId, splitState.toKinesisShardSplit());
+		});
+		context.sendSourceEventToCoordinator(new SplitsFinishedEvent(new HashSet<>(finishedSplitIds.keySet())));
+	}
+
+	@Override
+	public List<KinesisShardSplit> snapshotState(long checkpointId) {
+		List<KinesisShardSplit> splits = super.snapshotState(checkpointId);
+		for (Map.Entry<String, KinesisShardSplit> finishedSplit : finishedSplits.entrySet()) {
+			finishedSplitCheckpoints.putIfAbsent(finishedSplit.getKey(), checkpointId);
+			splits.add(finishedSplit.getValue());
+		}
+		return splits;
+	}
+
+	@Override
+	public void notifyCheckpointComplete(long checkpointId) throws Exception {
+		Iterator<Map.Entry<String, Long>> iterator = finishedSplitCheckpoints.entrySet().iterator();
+		while (iterator.hasNext()) {
+			Map.Entry<String, Long> entry = iterator.next();
+			if (entry.getValue() <= checkpointId) {
+				finishedSplits.remove(entry.getKey());
+				iterator.remove();
+			}
+		}
+	}
+
+	@Override
+	protected KinesisShardSplitState initializedState(KinesisShardSplit split) {
+		return new KinesisShardSplitState(split);
+	}
+
+	@Override
+	protected KinesisShardSplit toSplitType(String splitId, KinesisShardSplitState splitState) {
+		return splitState.toKinesisShardSplit();
+	}
+}
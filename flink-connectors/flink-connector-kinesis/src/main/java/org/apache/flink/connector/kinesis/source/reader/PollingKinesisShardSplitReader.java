@@ -0,0 +1,216 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kinesis.source.reader;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.connector.base.source.reader.RecordsBySplits;
+import org.apache.flink.connector.base.source.reader.RecordsWithSplitIds;
+import org.apache.flink.connector.base.source.reader.splitreader.SplitReader;
+import org.apache.flink.connector.base.source.reader.splitreader.SplitsAddition;
+import org.apache.flink.connector.base.source.reader.splitreader.SplitsChange;
+import org.apache.flink.connector.kinesis.source.split.KinesisShardSplit;
+import org.apache.flink.metrics.MetricGroup;
+import org.apache.flink.streaming.connectors.kinesis.internals.publisher.RecordPublisher;
+import org.apache.flink.streaming.connectors.kinesis.internals.publisher.RecordPublisher.RecordPublisherRunResult;
+import org.apache.flink.streaming.connectors.kinesis.internals.publisher.RecordPublisherFactory;
+import org.apache.flink.streaming.connectors.kinesis.metrics.KinesisConsumerMetricConstants;
+import org.apache.flink.streaming.connectors.kinesis.util.AWSUtil;
+
+import com.amazonaws.services.kinesis.clientlibrary.types.UserRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * A {@link SplitReader} which reads all shards assigned to a reader with the GetRecords API.
+ *
+ * <p>All shards are polled in turns by the single fetcher thread, instead of one thread per shard.
+ * A shard is polled at most once per fetch interval, and the fetcher thread only sleeps when no
+ * shard is due.
+ */
+@Internal
+public class PollingKinesisShardSplitReader implements SplitReader<UserRecord, KinesisShardSplit> {
+
+	private static final Logger LOG = LoggerFactory.getLogger(PollingKinesisShardSplitReader.class);
+
+	private final RecordPublisherFactory recordPublisherFactory;
+	private final Properties consumerConfig;
+	private final MetricGroup metricGroup;
+	private final long fetchIntervalMillis;
+
+	// the shards in the order in which they are polled next
+	private final Deque<ShardPoller> shards;
+	private final Set<String> pausedSplitIds;
+	// splits which are added when they are already read to their end, e.g. on restore
+	private final List<String> finishedSplitIds;
+
+	private final Object wakeUpLock = new Object();
+	private boolean wakeUp;
+
+	public PollingKinesisShardSplitReader(
+			RecordPublisherFactory recordPublisherFactory,
+			Properties consumerConfig,
+			MetricGroup metricGroup,
+			long fetchIntervalMillis) {
+		this.recordPublisherFactory = recordPublisherFactory;
+		this.consumerConfig = consumerConfig;
+		this.metricGroup = metricGroup;
+		this.fetchIntervalMillis = fetchIntervalMillis;
+		this.shards = new ArrayDeque<>();
+		this.pausedSplitIds = new HashSet<>();
+		this.finishedSplitIds = new ArrayList<>();
+	}
+
+	@Override
+	public RecordsWithSplitIds<UserRecord> fetch() throws IOException {
+		RecordsBySplits.Builder<UserRecord> builder = new RecordsBySplits.Builder<>();
+		builder.addFinishedSplits(finishedSplitIds);
+		finishedSplitIds.clear();
+
+		long nextDueTime = Long.MAX_VALUE;
+		boolean polled = false;
+		int numShards = shards.size();
+		try {
+			for (int i = 0; i < numShards; i++) {
+				ShardPoller shard = shards.poll();
+				long now = System.currentTimeMillis();
+				if (pausedSplitIds.contains(shard.splitId) || shard.nextFetchTime > now) {
+					if (!pausedSplitIds.contains(shard.splitId)) {
+						nextDueTime = Math.min(nextDueTime, shard.nextFetchTime);
+					}
+					shards.add(shard);
+					continue;
+				}
+
+				polled = true;
+				shard.nextFetchTime = now + fetchIntervalMillis;
+				RecordPublisherRunResult result = shard.publisher.run(batch -> {
+					builder.addAll(shard.splitId, shard.progress.collect(batch));
+					return shard.progress.getLastSequenceNumber();
+				});
+				if (result == RecordPublisherRunResult.COMPLETE) {
+					LOG.info("Finished reading shard {}.", shard.splitId);
+					builder.addFinishedSplit(shard.splitId);
+				} else {
+					shards.add(shard);
+				}
+			}
+
+			if (!polled && nextDueTime != Long.MAX_VALUE) {
+				waitUntil(nextDueTime);
+			} else if (!polled) {
+				waitUntil(System.currentTimeMillis() + fetchIntervalMillis);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while polling Kinesis shards.");
+		}
+		return builder.build();
+	}
+
+	@Override
+	public void handleSplitsChanges(SplitsChange<KinesisShardSplit> splitsChanges) {
+		if (!(splitsChanges instanceof SplitsAddition)) {
+			throw new UnsupportedOperationException(String.format(
+				"The SplitChange type of %s is not supported.", splitsChanges.getClass()));
+		}
+		for (KinesisShardSplit split : splitsChanges.splits()) {
+			if (split.isFinished()) {
+				finishedSplitIds.add(split.splitId());
+				continue;
+			}
+			try {
+				RecordPublisher publisher = recordPublisherFactory.create(
+					AWSUtil.getStartingPosition(split.getStartingSequenceNumber(), consumerConfig),
+					consumerConfig,
+					metricGroup
+						.addGroup(KinesisConsumerMetricConstants.STREAM_METRICS_GROUP, split.getStreamName())
+						.addGroup(KinesisConsumerMetricConstants.SHARD_METRICS_GROUP, split.getShardId()),
+					split.getStreamShardHandle());
+				shards.add(new ShardPoller(split.splitId(), publisher, new ShardProgress(split.getStartingSequenceNumber())));
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new RuntimeException("Interrupted while creating the record publisher of " + split, e);
+			}
+		}
+	}
+
+	@Override
+	public void pauseOrResumeSplits(
+			Collection<KinesisShardSplit> splitsToPause,
+			Collection<KinesisShardSplit> splitsToResume) {
+		splitsToPause.forEach(split -> pausedSplitIds.add(split.splitId()));
+		splitsToResume.forEach(split -> pausedSplitIds.remove(split.splitId()));
+	}
+
+	@Override
+	public boolean supportsPausingSplits() {
+		return true;
+	}
+
+	@Override
+	public void wakeUp() {
+		synchronized (wakeUpLock) {
+			wakeUp = true;
+			wakeUpLock.notifyAll();
+		}
+	}
+
+	@Override
+	public void close() throws Exception {
+		recordPublisherFactory.close();
+	}
+
+	private void waitUntil(long time) throws InterruptedException {
+		synchronized (wakeUpLock) {
+			long remaining = time - System.currentTimeMillis();
+			while (!wakeUp && remaining > 0) {
+				wakeUpLock.wait(remaining);
+				remaining = time - System.currentTimeMillis();
+			}
+			wakeUp = false;
+		}
+	}
+
+	// ------------------------------------------------------------------------
+
+	private static final class ShardPoller {
+
+		private final String splitId;
+		private final RecordPublisher publisher;
+		private final ShardProgress progress;
+		private long nextFetchTime;
+
+		private ShardPoller(String splitId, RecordPublisher publisher, ShardProgress progress) {
+			this.splitId = splitId;
+			this.publisher = publisher;
+			this.progress = progress;
+		}
+	}
+}
@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kinesis.source.reader;
+
+import org.apache.flink.streaming.connectors.kinesis.internals.publisher.RecordBatch;
+import org.apache.flink.streaming.connectors.kinesis.model.SequenceNumber;
+
+import com.amazonaws.services.kinesis.clientlibrary.types.UserRecord;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tracks the sequence number of the last record fetched from a shard.
+ *
+ * <p>The sequence number is handed back to the record publisher, which continues after it when it
+ * has to refresh its shard iterator. Sub-records of an aggregated record which have been read
+ * before a restart are dropped, because the shard is read again from the start of the aggregated
+ * record.
+ */
+class ShardProgress {
+
+	private SequenceNumber lastSequenceNumber;
+
+	ShardProgress(SequenceNumber startingSequenceNumber) {
+		this.lastSequenceNumber = startingSequenceNumber;
+	}
+
+	/**
+	 * Returns the records of the batch which have not been read yet and advances the sequence
+	 * number to the last of them.
+	 */
+	List<UserRecord> collect(RecordBatch batch) {
+		List<UserRecord> records = new ArrayList<>(batch.getDeaggregatedRecordSize());
+		for (UserRecord record : batch.getDeaggregatedRecords()) {
+			if (isNotYetRead(record)) {
+				records.add(record);
+				lastSequenceNumber = toSequenceNumber(record);
+			}
+		}
+		return records;
+	}
+
+	SequenceNumber getLastSequenceNumber() {
+		return lastSequenceNumber;
+	}
+
+	private boolean isNotYetRead(UserRecord record) {
+		if (!lastSequenceNumber.isAggregated()) {
+			return true;
+		}
+		return !record.getSequenceNumber().equals(lastSequenceNumber.getSequenceNumber()) ||
+			record.getSubSequenceNumber() > lastSequenceNumber.getSubSequenceNumber();
+	}
+
+	static SequenceNumber toSequenceNumber(UserRecord record) {
+		return record.isAggregated()
+			? new SequenceNumber(record.getSequenceNumber(), record.getSubSequenceNumber())
+			: new SequenceNumber(record.getSequenceNumber());
+	}
+}
@@ -0,0 +1,191 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kinesis.source.split;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.api.connector.source.SourceSplit;
+import org.apache.flink.streaming.connectors.kinesis.model.SentinelSequenceNumber;
+import org.apache.flink.streaming.connectors.kinesis.model.SequenceNumber;
+import org.apache.flink.streaming.connectors.kinesis.model.StreamShardHandle;
+
+import com.amazonaws.services.kinesis.model.HashKeyRange;
+import com.amazonaws.services.kinesis.model.Shard;
+
+import javax.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * A {@link SourceSplit} for a single Kinesis shard.
+ *
+ * <p>Besides the position to start reading from, the split carries the ids of the parent shards, so
+ * that the enumerator can hold it back until the parents are completely read after a resharding.
+ */
+@Internal
+public class KinesisShardSplit implements SourceSplit {
+
+	private final String streamName;
+	private final String shardId;
+	@Nullable
+	private final String parentShardId;
+	@Nullable
+	private final String adjacentParentShardId;
+	private final String startingHashKey;
+	private final String endingHashKey;
+	private final SequenceNumber startingSequenceNumber;
+
+	public KinesisShardSplit(
+			String streamName,
+			String shardId,
+			@Nullable String parentShardId,
+			@Nullable String adjacentParentShardId,
+			String startingHashKey,
+			String endingHashKey,
+			SequenceNumber startingSequenceNumber) {
+		this.streamName = checkNotNull(streamName);
+		this.shardId = checkNotNull(shardId);
+		this.parentShardId = parentShardId;
+		this.adjacentParentShardId = adjacentParentShardId;
+		this.startingHashKey = checkNotNull(startingHashKey);
+		this.endingHashKey = checkNotNull(endingHashKey);
+		this.startingSequenceNumber = checkNotNull(startingSequenceNumber);
+	}
+
+	public KinesisShardSplit(StreamShardHandle shardHandle, SequenceNumber startingSequenceNumber) {
+		this(
+			shardHandle.getStreamName(),
+			shardHandle.getShard().getShardId(),
+			shardHandle.getShard().getParentShardId(),
+			shardHandle.getShard().getAdjacentParentShardId(),
+			shardHandle.getShard().getHashKeyRange().getStartingHashKey(),
+			shardHandle.getShard().getHashKeyRange().getEndingHashKey(),
+			startingSequenceNumber);
+	}
+
+	@Override
+	public String splitId() {
+		return toSplitId(streamName, shardId);
+	}
+
+	public String getStreamName() {
+		return streamName;
+	}
+
+	public String getShardId() {
+		return shardId;
+	}
+
+	@Nullable
+	public String getParentShardId() {
+		return parentShardId;
+	}
+
+	@Nullable
+	public String getAdjacentParentShardId() {
+		return adjacentParentShardId;
+	}
+
+	public String getStartingHashKey() {
+		return startingHashKey;
+	}
+
+	public String getEndingHashKey() {
+		return endingHashKey;
+	}
+
+	public SequenceNumber getStartingSequenceNumber() {
+		return startingSequenceNumber;
+	}
+
+	/**
+	 * Returns the split ids of the parent shards, empty if the shard was not created by a resharding.
+	 */
+	public List<String> getParentSplitIds() {
+		List<String> parentSplitIds = new ArrayList<>(2);
+		if (parentShardId != null) {
+			parentSplitIds.add(toSplitId(streamName, parentShardId));
+		}
+		if (adjacentParentShardId != null) {
+			parentSplitIds.add(toSplitId(streamName, adjacentParentShardId));
+		}
+		return parentSplitIds;
+	}
+
+	/**
+	 * Whether the shard has already been read to its end.
+	 */
+	public boolean isFinished() {
+		return SentinelSequenceNumber.SENTINEL_SHARD_ENDING_SEQUENCE_NUM.get().equals(startingSequenceNumber);
+	}
+
+	public StreamShardHandle getStreamShardHandle() {
+		Shard shard = new Shard()
+			.withShardId(shardId)
+			.withParentShardId(parentShardId)
+			.withAdjacentParentShardId(adjacentParentShardId)
+			.withHashKeyRange(new HashKeyRange()
+				.withStartingHashKey(startingHashKey)
+				.withEndingHashKey(endingHashKey));
+		return new StreamShardHandle(streamName, shard);
+	}
+
+	/**
+	 * Returns the split id of a shard. Stream names can not contain a colon, so the id is unique.
+	 */
+	public static String toSplitId(String streamName, String shardId) {
+		return streamName + ":" + shardId;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (o == null || getClass() != o.getClass()) {
+			return false;
+		}
+		KinesisShardSplit that = (KinesisShardSplit) o;
+		return streamName.equals(that.streamName) &&
+			shardId.equals(that.shardId) &&
+			Objects.equals(parentShardId, that.parentShardId) &&
+			Objects.equals(adjacentParentShardId, that.adjacentParentShardId) &&
+			startingHashKey.equals(that.startingHashKey) &&
+			endingHashKey.equals(that.endingHashKey) &&
+			startingSequenceNumber.equals(that.startingSequenceNumber);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(streamName, shardId, startingSequenceNumber);
+	}
+
+	@Override
+	public String toString() {
+		return String.format(
+			"[Stream: %s, Shard: %s, Parents: %s, StartingSequenceNumber: %s]",
+			streamName,
+			shardId,
+			getParentSplitIds(),
+			startingSequenceNumber);
+	}
+}
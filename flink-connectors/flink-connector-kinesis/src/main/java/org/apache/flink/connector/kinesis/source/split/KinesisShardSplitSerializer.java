@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kinesis.source.split;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.core.io.SimpleVersionedSerializer;
+import org.apache.flink.streaming.connectors.kinesis.model.SequenceNumber;
+
+import javax.annotation.Nullable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * The {@link SimpleVersionedSerializer serializer} for {@link KinesisShardSplit}.
+ */
+@Internal
+public class KinesisShardSplitSerializer implements SimpleVersionedSerializer<KinesisShardSplit> {
+
+	private static final int CURRENT_VERSION = 0;
+
+	@Override
+	public int getVersion() {
+		return CURRENT_VERSION;
+	}
+
+	@Override
+	public byte[] serialize(KinesisShardSplit split) throws IOException {
+		try (ByteArrayOutputStream baos = new ByteArrayOutputStream();
+				DataOutputStream out = new DataOutputStream(baos)) {
+			out.writeUTF(split.getStreamName());
+			out.writeUTF(split.getShardId());
+			writeNullableString(out, split.getParentShardId());
+			writeNullableString(out, split.getAdjacentParentShardId());
+			out.writeUTF(split.getStartingHashKey());
+			out.writeUTF(split.getEndingHashKey());
+			out.writeUTF(split.getStartingSequenceNumber().getSequenceNumber());
+			out.writeLong(split.getStartingSequenceNumber().getSubSequenceNumber());
+			out.flush();
+			return baos.toByteArray();
+		}
+	}
+
+	@Override
+	public KinesisShardSplit deserialize(int version, byte[] serialized) throws IOException {
+		if (version != CURRENT_VERSION) {
+			throw new IOException(String.format("The bytes are serialized with version %d, " +
+				"while this deserializer only supports version up to %d", version, CURRENT_VERSION));
+		}
+		try (ByteArrayInputStream bais = new ByteArrayInputStream(serialized);
+				DataInputStream in = new DataInputStream(bais)) {
+			String streamName = in.readUTF();
+			String shardId = in.readUTF();
+			String parentShardId = readNullableString(in);
+			String adjacentParentShardId = readNullableString(in);
+			String startingHashKey = in.readUTF();
+			String endingHashKey = in.readUTF();
+			String sequenceNumber = in.readUTF();
+			long subSequenceNumber = in.readLong();
+			return new KinesisShardSplit(
+				streamName,
+				shardId,
+				parentShardId,
+				adjacentParentShardId,
+				startingHashKey,
+				endingHashKey,
+				new SequenceNumber(sequenceNumber, subSequenceNumber));
+		}
+	}
+
+	private static void writeNullableString(DataOutput out, @Nullable String value) throws IOException {
+		out.writeBoolean(value != null);
+		if (value != null) {
+			out.writeUTF(value);
+		}
+	}
+
+	@Nullable
+	private static String readNullableString(DataInput in) throws IOException {
+		return in.readBoolean() ? in.readUTF() : null;
+	}
+}
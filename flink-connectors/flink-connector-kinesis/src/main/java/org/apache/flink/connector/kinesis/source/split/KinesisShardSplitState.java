@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kinesis.source.split;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.streaming.connectors.kinesis.model.SequenceNumber;
+
+/**
+ * The mutable state of a {@link KinesisShardSplit}, which tracks the sequence number of the last
+ * emitted record.
+ */
+@Internal
+public class KinesisShardSplitState {
+
+	private final KinesisShardSplit split;
+	private SequenceNumber currentSequenceNumber;
+
+	public KinesisShardSplitState(KinesisShardSplit split) {
+		this.split = split;
+		this.currentSequenceNumber = split.getStartingSequenceNumber();
+	}
+
+	public KinesisShardSplit getSplit() {
+		return split;
+	}
+
+	public SequenceNumber getCurrentSequenceNumber() {
+		return currentSequenceNumber;
+	}
+
+	public void setCurrentSequenceNumber(SequenceNumber currentSequenceNumber) {
+		this.currentSequenceNumber = currentSequenceNumber;
+	}
+
+	/**
+	 * Returns a split which resumes reading after the last emitted record.
+	 */
+	public KinesisShardSplit toKinesisShardSplit() {
+		return new KinesisShardSplit(
+			split.getStreamName(),
+			split.getShardId(),
+			split.getParentShardId(),
+			split.getAdjacentParentShardId(),
+			split.getStartingHashKey(),
+			split.getEndingHashKey(),
+			currentSequenceNumber);
+	}
+}
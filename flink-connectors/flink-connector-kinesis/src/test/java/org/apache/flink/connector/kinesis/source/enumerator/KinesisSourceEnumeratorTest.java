@@ -0,0 +1,269 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kinesis.source.enumerator;
+
+import org.apache.flink.api.connector.source.ReaderInfo;
+import org.apache.flink.api.connector.source.SplitsAssignment;
+import org.apache.flink.api.connector.source.mocks.MockSplitEnumeratorContext;
+import org.apache.flink.connector.kinesis.source.event.SplitsFinishedEvent;
+import org.apache.flink.connector.kinesis.source.split.KinesisShardSplit;
+import org.apache.flink.streaming.connectors.kinesis.KinesisShardAssigner;
+import org.apache.flink.streaming.connectors.kinesis.model.SentinelSequenceNumber;
+import org.apache.flink.streaming.connectors.kinesis.model.StreamShardHandle;
+import org.apache.flink.streaming.connectors.kinesis.proxy.GetShardListResult;
+import org.apache.flink.streaming.connectors.kinesis.proxy.KinesisProxyInterface;
+import org.apache.flink.streaming.connectors.kinesis.testutils.KinesisShardIdGenerator;
+
+import com.amazonaws.services.kinesis.model.GetRecordsResult;
+import com.amazonaws.services.kinesis.model.HashKeyRange;
+import com.amazonaws.services.kinesis.model.Shard;
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link KinesisSourceEnumerator}.
+ */
+public class KinesisSourceEnumeratorTest {
+
+	private static final String STREAM = "stream";
+
+	// assigns shards by the number in their id
+	private static final KinesisShardAssigner SHARD_NUMBER_ASSIGNER = (shard, numParallelSubtasks) ->
+		Integer.parseInt(shard.getShard().getShardId().substring("shardId-".length()));
+
+	@Test
+	public void testChildShardsAreAssignedAfterTheirParents() throws Throwable {
+		MockSplitEnumeratorContext<KinesisShardSplit> context = new MockSplitEnumeratorContext<>(1);
+		TestingKinesisProxy proxy = new TestingKinesisProxy(Collections.singletonList(Arrays.asList(
+			shard(0, null, null),
+			shard(1, null, null),
+			// shard 0 is split into shards 2 and 3, which are merged with shard 1 into shard 4
+			shard(2, 0, null),
+			shard(3, 0, null),
+			shard(4, 3, 1))));
+		KinesisSourceEnumerator enumerator = createEnumerator(context, proxy, 0, null);
+		enumerator.start();
+		registerReader(context, enumerator, 0);
+
+		context.runNextOneTimeCallable();
+		assertEquals(splitIds(0, 1), lastAssignedSplitIds(context, 0));
+
+		enumerator.handleSourceEvent(0, new SplitsFinishedEvent(splitIds(0)));
+		assertEquals(splitIds(2, 3), lastAssignedSplitIds(context, 0));
+
+		// shard 4 waits for both of its parents
+		enumerator.handleSourceEvent(0, new SplitsFinishedEvent(splitIds(3)));
+		assertEquals(2, context.getSplitsAssignmentSequence().size());
+		enumerator.handleSourceEvent(0, new SplitsFinishedEvent(splitIds(1)));
+		assertEquals(splitIds(4), lastAssignedSplitIds(context, 0));
+	}
+
+	@Test
+	public void testSplitsWaitForTheirReaderAcrossRestore() throws Throwable {
+		MockSplitEnumeratorContext<KinesisShardSplit> context = new MockSplitEnumeratorContext<>(2);
+		TestingKinesisProxy proxy = new TestingKinesisProxy(Collections.singletonList(Arrays.asList(
+			shard(0, null, null),
+			shard(1, null, null))));
+		KinesisSourceEnumerator enumerator = createEnumerator(context, proxy, 0, null);
+		enumerator.start();
+		registerReader(context, enumerator, 0);
+
+		context.runNextOneTimeCallable();
+		assertEquals(splitIds(0), lastAssignedSplitIds(context, 0));
+		assertEquals(splitIds(1), enumerator.getUnassignedSplitIds());
+
+		KinesisSourceEnumStateSerializer serializer = new KinesisSourceEnumStateSerializer();
+		KinesisSourceEnumState restoredState = serializer.deserialize(
+			serializer.getVersion(),
+			serializer.serialize(enumerator.snapshotState()));
+
+		MockSplitEnumeratorContext<KinesisShardSplit> restoredContext = new MockSplitEnumeratorContext<>(2);
+		TestingKinesisProxy restoredProxy = new TestingKinesisProxy(Collections.singletonList(
+			Collections.emptyList()));
+		KinesisSourceEnumerator restoredEnumerator = createEnumerator(restoredContext, restoredProxy, 0, restoredState);
+		restoredEnumerator.start();
+		registerReader(restoredContext, restoredEnumerator, 1);
+		assertEquals(splitIds(1), lastAssignedSplitIds(restoredContext, 1));
+
+		// the discovery continues after the last seen shard
+		restoredContext.runNextOneTimeCallable();
+		assertEquals(
+			Collections.singletonMap(STREAM, KinesisShardIdGenerator.generateFromShardOrder(1)),
+			restoredProxy.lastSeenShardIds);
+	}
+
+	@Test
+	public void testShardsDiscoveredLaterAreReadFromTheStart() throws Throwable {
+		MockSplitEnumeratorContext<KinesisShardSplit> context = new MockSplitEnumeratorContext<>(1);
+		TestingKinesisProxy proxy = new TestingKinesisProxy(Arrays.asList(
+			Collections.singletonList(shard(0, null, null)),
+			Collections.singletonList(shard(1, 0, null))));
+		KinesisSourceEnumerator enumerator = createEnumerator(context, proxy, 10_000L, null);
+		enumerator.start();
+		registerReader(context, enumerator, 0);
+
+		context.runPeriodicCallable(0);
+		enumerator.handleSourceEvent(0, new SplitsFinishedEvent(splitIds(0)));
+		context.runPeriodicCallable(0);
+
+		List<SplitsAssignment<KinesisShardSplit>> assignments = context.getSplitsAssignmentSequence();
+		assertEquals(2, assignments.size());
+		assertEquals(
+			SentinelSequenceNumber.SENTINEL_LATEST_SEQUENCE_NUM.get(),
+			assignments.get(0).assignment().get(0).get(0).getStartingSequenceNumber());
+		assertEquals(
+			SentinelSequenceNumber.SENTINEL_EARLIEST_SEQUENCE_NUM.get(),
+			assignments.get(1).assignment().get(0).get(0).getStartingSequenceNumber());
+		assertTrue(enumerator.getUnassignedSplitIds().isEmpty());
+	}
+
+	@Test
+	public void testFinishedParentsAreForgottenOnceTheirChildrenAreDiscovered() throws Throwable {
+		MockSplitEnumeratorContext<KinesisShardSplit> context = new MockSplitEnumeratorContext<>(1);
+		TestingKinesisProxy proxy = new TestingKinesisProxy(Arrays.asList(
+			Collections.singletonList(shard(0, null, null)),
+			Collections.singletonList(shard(1, 0, null)),
+			Collections.singletonList(shard(2, 1, null))));
+		KinesisSourceEnumerator enumerator = createEnumerator(context, proxy, 10_000L, null);
+		enumerator.start();
+		registerReader(context, enumerator, 0);
+
+		// shard 0 finishes before its child is discovered
+		context.runPeriodicCallable(0);
+		enumerator.handleSourceEvent(0, new SplitsFinishedEvent(splitIds(0)));
+		assertEquals(splitIds(0), enumerator.getFinishedSplitIds());
+
+		context.runPeriodicCallable(0);
+		assertEquals(splitIds(1), lastAssignedSplitIds(context, 0));
+		assertEquals(splitIds(1), enumerator.getDiscoveredSplitIds());
+		assertTrue(enumerator.getFinishedSplitIds().isEmpty());
+
+		// shard 1 finishes after its child is discovered, the child waits for it
+		context.runPeriodicCallable(0);
+		assertEquals(splitIds(2), enumerator.getUnassignedSplitIds());
+		enumerator.handleSourceEvent(0, new SplitsFinishedEvent(splitIds(1)));
+		assertEquals(splitIds(2), lastAssignedSplitIds(context, 0));
+		assertEquals(splitIds(2), enumerator.getDiscoveredSplitIds());
+		assertTrue(enumerator.getFinishedSplitIds().isEmpty());
+
+		// a restored reader reports the shards of its last checkpoint again
+		enumerator.handleSourceEvent(0, new SplitsFinishedEvent(splitIds(0, 1)));
+		assertTrue(enumerator.getFinishedSplitIds().isEmpty());
+
+		KinesisSourceEnumState state = enumerator.snapshotState();
+		assertEquals(splitIds(2), state.getDiscoveredSplitIds());
+		assertTrue(state.getFinishedSplitIds().isEmpty());
+	}
+
+	// ------------------------------------------------------------------------
+
+	private static KinesisSourceEnumerator createEnumerator(
+			MockSplitEnumeratorContext<KinesisShardSplit> context,
+			KinesisProxyInterface proxy,
+			long discoveryIntervalMillis,
+			KinesisSourceEnumState restoredState) {
+		return new KinesisSourceEnumerator(
+			context,
+			proxy,
+			SHARD_NUMBER_ASSIGNER,
+			Collections.singletonList(STREAM),
+			SentinelSequenceNumber.SENTINEL_LATEST_SEQUENCE_NUM,
+			discoveryIntervalMillis,
+			restoredState);
+	}
+
+	private static void registerReader(
+			MockSplitEnumeratorContext<KinesisShardSplit> context,
+			KinesisSourceEnumerator enumerator,
+			int reader) {
+		context.registerReader(new ReaderInfo(reader, "location " + reader));
+		enumerator.addReader(reader);
+	}
+
+	private static Set<String> lastAssignedSplitIds(MockSplitEnumeratorContext<KinesisShardSplit> context, int reader) {
+		List<SplitsAssignment<KinesisShardSplit>> assignments = context.getSplitsAssignmentSequence();
+		return assignments.get(assignments.size() - 1).assignment().get(reader).stream()
+			.map(KinesisShardSplit::splitId)
+			.collect(Collectors.toSet());
+	}
+
+	private static Set<String> splitIds(int... shardNumbers) {
+		Set<String> splitIds = new HashSet<>();
+		for (int shardNumber : shardNumbers) {
+			splitIds.add(KinesisShardSplit.toSplitId(STREAM, KinesisShardIdGenerator.generateFromShardOrder(shardNumber)));
+		}
+		return splitIds;
+	}
+
+	private static StreamShardHandle shard(int shardNumber, Integer parent, Integer adjacentParent) {
+		Shard shard = new Shard()
+			.withShardId(KinesisShardIdGenerator.generateFromShardOrder(shardNumber))
+			.withParentShardId(parent == null ? null : KinesisShardIdGenerator.generateFromShardOrder(parent))
+			.withAdjacentParentShardId(adjacentParent == null ? null : KinesisShardIdGenerator.generateFromShardOrder(adjacentParent))
+			.withHashKeyRange(new HashKeyRange().withStartingHashKey("0").withEndingHashKey("100"));
+		return new StreamShardHandle(STREAM, shard);
+	}
+
+	/**
+	 * A {@link KinesisProxyInterface} which returns the given shards, one list per discovery.
+	 */
+	private static class TestingKinesisProxy implements KinesisProxyInterface {
+
+		private final Queue<List<StreamShardHandle>> shardsPerDiscovery;
+		private Map<String, String> lastSeenShardIds;
+
+		private TestingKinesisProxy(List<List<StreamShardHandle>> shardsPerDiscovery) {
+			this.shardsPerDiscovery = new ArrayDeque<>(shardsPerDiscovery);
+		}
+
+		@Override
+		public String getShardIterator(StreamShardHandle shard, String shardIteratorType, Object startingMarker) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public GetRecordsResult getRecords(String shardIterator, int maxRecordsToGet) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public GetShardListResult getShardList(Map<String, String> streamNamesWithLastSeenShardIds) {
+			this.lastSeenShardIds = new HashMap<>(streamNamesWithLastSeenShardIds);
+			GetShardListResult result = new GetShardListResult();
+			List<StreamShardHandle> shards = shardsPerDiscovery.poll();
+			if (shards != null && !shards.isEmpty()) {
+				result.addRetrievedShardsToStream(STREAM, shards);
+			}
+			return result;
+		}
+	}
+}
@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kinesis.source.split;
+
+import org.apache.flink.streaming.connectors.kinesis.model.SentinelSequenceNumber;
+import org.apache.flink.streaming.connectors.kinesis.model.SequenceNumber;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link KinesisShardSplitSerializer}.
+ */
+public class KinesisShardSplitSerializerTest {
+
+	@Test
+	public void testSerializer() throws IOException {
+		List<KinesisShardSplit> splits = Arrays.asList(
+			new KinesisShardSplit(
+				"stream", "shardId-000000000000", null, null, "0", "100",
+				SentinelSequenceNumber.SENTINEL_LATEST_SEQUENCE_NUM.get()),
+			new KinesisShardSplit(
+				"stream", "shardId-000000000002", "shardId-000000000000", "shardId-000000000001", "0", "100",
+				new SequenceNumber("49590338271490256608559692538361571095921575989136588898", 3)),
+			new KinesisShardSplit(
+				"stream", "shardId-000000000003", "shardId-000000000002", null, "50", "100",
+				SentinelSequenceNumber.SENTINEL_SHARD_ENDING_SEQUENCE_NUM.get()));
+
+		KinesisShardSplitSerializer serializer = new KinesisShardSplitSerializer();
+		for (KinesisShardSplit split : splits) {
+			KinesisShardSplit deserialized = serializer.deserialize(
+				serializer.getVersion(),
+				serializer.serialize(split));
+			assertEquals(split, deserialized);
+		}
+		assertTrue(splits.get(2).isFinished());
+		assertEquals(Collections.emptyList(), splits.get(0).getParentSplitIds());
+		assertEquals(
+			Arrays.asList("stream:shardId-000000000000", "stream:shardId-000000000001"),
+			splits.get(1).getParentSplitIds());
+	}
+}
@@ -128,6 +128,25 @@ public class WatermarkOutputMultiplexer {
 		return new DeferredOutput(outputState);
 	}
 
+	/**
+	 * Returns the latest watermark of the given output, regardless of whether the output is
+	 * currently idle.
+	 */
+	public long getWatermark(String outputId) {
+		final OutputState outputState = watermarkPerOutputId.get(outputId);
+		Preconditions.checkArgument(outputState != null, "no output registered under id %s", outputId);
+		return outputState.watermark;
+	}
+
+	/**
+	 * Returns whether the given output is currently idle.
+	 */
+	public boolean isIdle(String outputId) {
+		final OutputState outputState = watermarkPerOutputId.get(outputId);
+		Preconditions.checkArgument(outputState != null, "no output registered under id %s", outputId);
+		return outputState.isIdle();
+	}
+
 	/**
 	 * Tells the {@link WatermarkOutputMultiplexer} to combine all outstanding deferred watermark
 	 * updates and possibly emit a new update to the underlying {@link WatermarkOutput}.
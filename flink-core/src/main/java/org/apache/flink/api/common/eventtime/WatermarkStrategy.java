@@ -19,6 +19,7 @@
 package org.apache.flink.api.common.eventtime;
 
 import org.apache.flink.annotation.Public;
+import org.apache.flink.annotation.PublicEvolving;
 
 import java.io.Serializable;
 import java.time.Duration;
@@ -75,6 +76,15 @@ public interface WatermarkStrategy<T> extends
 		return new RecordTimestampAssigner<>();
 	}
 
+	/**
+	 * Provides the configuration of the watermark alignment of a source, alignment is disabled by
+	 * default.
+	 */
+	@PublicEvolving
+	default WatermarkAlignmentParams getAlignmentParameters() {
+		return WatermarkAlignmentParams.WATERMARK_ALIGNMENT_DISABLED;
+	}
+
 	// ------------------------------------------------------------------------
 	//  Builder methods for enriching a base WatermarkStrategy
 	// ------------------------------------------------------------------------
@@ -135,6 +145,35 @@ public interface WatermarkStrategy<T> extends
 		return new WatermarkStrategyWithIdleness<>(this, idleTimeout);
 	}
 
+	/**
+	 * Creates a new {@link WatermarkStrategy} that configures the maximum watermark drift between
+	 * the splits of a source which uses this strategy.
+	 *
+	 * <p>The readers report their watermarks to the source coordinator in the given interval,
+	 * which aggregates them into the minimum watermark of the source. A reader stops fetching
+	 * from each split whose watermark is more than the maximum drift ahead of that minimum, until
+	 * the minimum catches up. This keeps fast splits from filling up the state of downstream
+	 * operators, e.g. windows, while slow splits lag behind. Splits which are idle, see
+	 * {@link #withIdleness(Duration)}, do not hold back the minimum watermark.
+	 *
+	 * <p>Pausing individual splits requires support by the source reader, readers which do not
+	 * support it are not aligned.
+	 *
+	 * @param maxAllowedWatermarkDrift the maximum distance of a split's watermark to the minimum
+	 * @param updateInterval the interval in which the alignment is updated
+	 */
+	@PublicEvolving
+	default WatermarkStrategy<T> withWatermarkAlignment(Duration maxAllowedWatermarkDrift, Duration updateInterval) {
+		checkNotNull(maxAllowedWatermarkDrift, "maxAllowedWatermarkDrift");
+		checkNotNull(updateInterval, "updateInterval");
+		checkArgument(!maxAllowedWatermarkDrift.isNegative(), "maxAllowedWatermarkDrift must not be negative");
+		checkArgument(!(updateInterval.isZero() || updateInterval.isNegative()),
+				"updateInterval must be greater than zero");
+		return new WatermarkStrategyWithAlignment<>(
+				this,
+				new WatermarkAlignmentParams(maxAllowedWatermarkDrift.toMillis(), updateInterval.toMillis()));
+	}
+
 	// ------------------------------------------------------------------------
 	//  Convenience methods for common watermark strategies
 	// ------------------------------------------------------------------------
@@ -27,6 +27,7 @@ import org.apache.flink.api.java.typeutils.GenericTypeInfo;
 import org.apache.flink.api.java.typeutils.ListTypeInfo;
 import org.apache.flink.api.java.typeutils.MapTypeInfo;
 import org.apache.flink.api.java.typeutils.ObjectArrayTypeInfo;
+import org.apache.flink.api.java.typeutils.OptionalTypeInfo;
 import org.apache.flink.api.java.typeutils.PojoField;
 import org.apache.flink.api.java.typeutils.PojoTypeInfo;
 import org.apache.flink.api.java.typeutils.RowTypeInfo;
@@ -51,6 +52,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * This class gives access to the type information of the most common types for which Flink
@@ -449,6 +451,20 @@ public class Types {
 		return new ListTypeInfo<>(elementType);
 	}
 
+	/**
+	 * Returns type information for a Java {@link java.util.Optional}. An optional must not be null.
+	 *
+	 * <p>By default, optionals are treated as a generic type in Flink; therefore, it is useful to pass
+	 * type information whenever an optional is used, for example for the fields of a POJO with
+	 * {@link #POJO(Class, Map)}. Unlike the generic type, the value of the optional then keeps the
+	 * schema evolution capabilities of its own serializer.
+	 *
+	 * @param valueType type information for the optional's value
+	 */
+	public static <T> TypeInformation<Optional<T>> OPTIONAL(TypeInformation<T> valueType) {
+		return new OptionalTypeInfo<>(valueType);
+	}
+
 	/**
 	 * Returns type information for Java enumerations. Null values are not supported.
 	 *
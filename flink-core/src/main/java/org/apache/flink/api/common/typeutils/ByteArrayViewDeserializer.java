@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.api.common.typeutils;
+
+import org.apache.flink.annotation.Internal;
+
+import java.io.IOException;
+
+/**
+ * This interface provides a way for {@link TypeSerializer}s of binary formats to deserialize a record
+ * as a view over the bytes it was serialized to, instead of copying the bytes into a new record.
+ *
+ * <p>Callers must only pass bytes that are not modified or reused afterwards, for example byte arrays
+ * freshly returned by a key-value store.
+ */
+@Internal
+public interface ByteArrayViewDeserializer<T> {
+
+	/**
+	 * Deserializes a record from the given bytes, in the format written by the serializer. The record
+	 * may reference the bytes instead of copying them.
+	 *
+	 * @param bytes The bytes of the serialized record.
+	 * @param offset The offset of the serialized record in the bytes.
+	 * @param length The number of bytes available for the serialized record, starting from the offset.
+	 *
+	 * @return The deserialized record.
+	 *
+	 * @throws IOException Thrown, if the bytes do not hold a complete record.
+	 */
+	T deserializeView(byte[] bytes, int offset, int length) throws IOException;
+}
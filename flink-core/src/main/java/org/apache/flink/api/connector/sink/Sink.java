@@ -27,6 +27,7 @@ import java.io.IOException;
 import java.io.Serializable;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
 
 /**
  * This interface lets the sink developer build a simple sink topology, which could guarantee the exactly once
@@ -108,6 +109,17 @@ public interface Sink<InputT, CommT, WriterStateT, GlobalCommT> extends Serializ
 		 */
 		int getSubtaskId();
 
+		/**
+		 * @return The number of parallel tasks of the writer.
+		 */
+		int getNumberOfParallelSubtasks();
+
+		/**
+		 * @return The id of the checkpoint or savepoint the job is restored from, empty if the
+		 * job is not restored.
+		 */
+		OptionalLong getRestoredCheckpointId();
+
 		/**
 		 * @return The metric group this writer belongs to.
 		 */
@@ -22,6 +22,7 @@ import org.apache.flink.annotation.PublicEvolving;
 import org.apache.flink.api.common.state.CheckpointListener;
 import org.apache.flink.core.io.InputStatus;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
@@ -122,4 +123,20 @@ public interface SourceReader<T, SplitT extends SourceSplit>
 	 */
 	@Override
 	default void notifyCheckpointComplete(long checkpointId) throws Exception {}
+
+	/**
+	 * Pauses or resumes reading of individual splits. Paused splits must not emit records until
+	 * they are resumed. This is used to align the watermarks of the splits, see
+	 * {@link org.apache.flink.api.common.eventtime.WatermarkStrategy#withWatermarkAlignment}.
+	 *
+	 * <p>The default implementation throws an {@link UnsupportedOperationException}, the splits
+	 * of such readers are not aligned.
+	 *
+	 * @param splitsToPause the ids of the splits to pause
+	 * @param splitsToResume the ids of the splits to resume
+	 */
+	default void pauseOrResumeSplits(Collection<String> splitsToPause, Collection<String> splitsToResume) {
+		throw new UnsupportedOperationException(
+			"This source reader does not support pausing or resuming splits.");
+	}
 }
@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.flink.api.java.typeutils;
+
+import org.apache.flink.annotation.PublicEvolving;
+import org.apache.flink.api.common.ExecutionConfig;
+import org.apache.flink.api.common.typeinfo.TypeInformation;
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.api.java.typeutils.runtime.OptionalSerializer;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * A {@link TypeInformation} for the {@link Optional} type of Java.
+ *
+ * @param <T> The type of the value in the optional.
+ */
+@PublicEvolving
+public final class OptionalTypeInfo<T> extends TypeInformation<Optional<T>> {
+
+	private static final long serialVersionUID = 1L;
+
+	private final TypeInformation<T> valueTypeInfo;
+
+	public OptionalTypeInfo(Class<T> valueTypeClass) {
+		this.valueTypeInfo = of(checkNotNull(valueTypeClass, "valueTypeClass"));
+	}
+
+	public OptionalTypeInfo(TypeInformation<T> valueTypeInfo) {
+		this.valueTypeInfo = checkNotNull(valueTypeInfo, "valueTypeInfo");
+	}
+
+	// ------------------------------------------------------------------------
+	//  OptionalTypeInfo specific properties
+	// ------------------------------------------------------------------------
+
+	/**
+	 * Gets the type information for the value contained in the optional.
+	 */
+	public TypeInformation<T> getValueTypeInfo() {
+		return valueTypeInfo;
+	}
+
+	// ------------------------------------------------------------------------
+	//  TypeInformation implementation
+	// ------------------------------------------------------------------------
+
+	@Override
+	public boolean isBasicType() {
+		return false;
+	}
+
+	@Override
+	public boolean isTupleType() {
+		return false;
+	}
+
+	@Override
+	public int getArity() {
+		return 1;
+	}
+
+	@Override
+	public int getTotalFields() {
+		return 1;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public Class<Optional<T>> getTypeClass() {
+		return (Class<Optional<T>>) (Class<?>) Optional.class;
+	}
+
+	@Override
+	public Map<String, TypeInformation<?>> getGenericParameters() {
+		return Collections.singletonMap("T", valueTypeInfo);
+	}
+
+	@Override
+	public boolean isKeyType() {
+		return false;
+	}
+
+	@Override
+	public TypeSerializer<Optional<T>> createSerializer(ExecutionConfig config) {
+		TypeSerializer<T> valueTypeSerializer = valueTypeInfo.createSerializer(config);
+		return new OptionalSerializer<>(valueTypeSerializer);
+	}
+
+	// ------------------------------------------------------------------------
+
+	@Override
+	public String toString() {
+		return "Optional<" + valueTypeInfo + '>';
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (obj == this) {
+			return true;
+		}
+		else if (obj instanceof OptionalTypeInfo) {
+			final OptionalTypeInfo<?> other = (OptionalTypeInfo<?>) obj;
+			return other.canEqual(this) && valueTypeInfo.equals(other.valueTypeInfo);
+		} else {
+			return false;
+		}
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * valueTypeInfo.hashCode() + 2;
+	}
+
+	@Override
+	public boolean canEqual(Object obj) {
+		return obj != null && obj.getClass() == getClass();
+	}
+}
@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.flink.api.java.typeutils.runtime;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.core.memory.DataInputView;
+import org.apache.flink.core.memory.DataOutputView;
+
+import java.io.IOException;
+import java.util.Optional;
+
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * A serializer for {@link Optional Optionals}. The serializer relies on a value serializer
+ * for the serialization of the optional's value.
+ *
+ * <p>The serialization format for the optional is as follows: one boolean that tells whether
+ * the optional holds a value, followed by the serialized representation of the value if present.
+ *
+ * @param <T> The type of the value in the optional.
+ */
+@Internal
+public final class OptionalSerializer<T> extends TypeSerializer<Optional<T>> {
+
+	private static final long serialVersionUID = 1L;
+
+	/** The serializer for the value of the optional. */
+	private final TypeSerializer<T> valueSerializer;
+
+	/**
+	 * Creates an optional serializer that uses the given serializer to serialize the optional's value.
+	 *
+	 * @param valueSerializer The serializer for the value of the optional
+	 */
+	public OptionalSerializer(TypeSerializer<T> valueSerializer) {
+		this.valueSerializer = checkNotNull(valueSerializer);
+	}
+
+	// ------------------------------------------------------------------------
+	//  OptionalSerializer specific properties
+	// ------------------------------------------------------------------------
+
+	/**
+	 * Gets the serializer for the value of the optional.
+	 * @return The serializer for the value of the optional
+	 */
+	public TypeSerializer<T> getValueSerializer() {
+		return valueSerializer;
+	}
+
+	// ------------------------------------------------------------------------
+	//  Type Serializer implementation
+	// ------------------------------------------------------------------------
+
+	@Override
+	public boolean isImmutableType() {
+		// the optional itself is immutable, so it only depends on its value
+		return valueSerializer.isImmutableType();
+	}
+
+	@Override
+	public TypeSerializer<Optional<T>> duplicate() {
+		TypeSerializer<T> duplicateValue = valueSerializer.duplicate();
+		return duplicateValue == valueSerializer ? this : new OptionalSerializer<>(duplicateValue);
+	}
+
+	@Override
+	public Optional<T> createInstance() {
+		return Optional.empty();
+	}
+
+	@Override
+	public Optional<T> copy(Optional<T> from) {
+		if (!from.isPresent() || valueSerializer.isImmutableType()) {
+			return from;
+		}
+		return Optional.of(valueSerializer.copy(from.get()));
+	}
+
+	@Override
+	public Optional<T> copy(Optional<T> from, Optional<T> reuse) {
+		return copy(from);
+	}
+
+	@Override
+	public int getLength() {
+		return -1; // var length
+	}
+
+	@Override
+	public void serialize(Optional<T> record, DataOutputView target) throws IOException {
+		if (record.isPresent()) {
+			target.writeBoolean(true);
+			valueSerializer.serialize(record.get(), target);
+		} else {
+			target.writeBoolean(false);
+		}
+	}
+
+	@Override
+	public Optional<T> deserialize(DataInputView source) throws IOException {
+		if (source.readBoolean()) {
+			return Optional.of(valueSerializer.deserialize(source));
+		} else {
+			return Optional.empty();
+		}
+	}
+
+	@Override
+	public Optional<T> deserialize(Optional<T> reuse, DataInputView source) throws IOException {
+		if (source.readBoolean()) {
+			// the value of the reused optional can be reused, but not the optional itself
+			T value = reuse.isPresent()
+				? valueSerializer.deserialize(reuse.get(), source)
+				: valueSerializer.deserialize(source);
+			return Optional.of(value);
+		} else {
+			return Optional.empty();
+		}
+	}
+
+	@Override
+	public void copy(DataInputView source, DataOutputView target) throws IOException {
+		boolean present = source.readBoolean();
+		target.writeBoolean(present);
+		if (present) {
+			valueSerializer.copy(source, target);
+		}
+	}
+
+	// --------------------------------------------------------------------
+
+	@Override
+	public boolean equals(Object obj) {
+		return obj == this ||
+				(obj != null && obj.getClass() == getClass() &&
+						valueSerializer.equals(((OptionalSerializer<?>) obj).valueSerializer));
+	}
+
+	@Override
+	public int hashCode() {
+		return valueSerializer.hashCode();
+	}
+
+	// --------------------------------------------------------------------------------------------
+	// Serializer configuration snapshot & compatibility
+	// --------------------------------------------------------------------------------------------
+
+	@Override
+	public OptionalSerializerSnapshot<T> snapshotConfiguration() {
+		return new OptionalSerializerSnapshot<>(this);
+	}
+}
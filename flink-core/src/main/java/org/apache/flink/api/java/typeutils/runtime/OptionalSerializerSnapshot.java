@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.flink.api.java.typeutils.runtime;
+
+import org.apache.flink.api.common.typeutils.CompositeTypeSerializerSnapshot;
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+
+import java.util.Optional;
+
+/**
+ * Snapshot class for the {@link OptionalSerializer}.
+ */
+public final class OptionalSerializerSnapshot<T> extends CompositeTypeSerializerSnapshot<Optional<T>, OptionalSerializer<T>> {
+
+	private static final int CURRENT_VERSION = 1;
+
+	/**
+	 * Constructor for read instantiation.
+	 */
+	@SuppressWarnings("unused")
+	public OptionalSerializerSnapshot() {
+		super(OptionalSerializer.class);
+	}
+
+	/**
+	 * Constructor to create the snapshot for writing.
+	 */
+	public OptionalSerializerSnapshot(OptionalSerializer<T> optionalSerializer) {
+		super(optionalSerializer);
+	}
+
+	@Override
+	protected int getCurrentOuterSnapshotVersion() {
+		return CURRENT_VERSION;
+	}
+
+	@Override
+	protected OptionalSerializer<T> createOuterSerializerWithNestedSerializers(TypeSerializer<?>[] nestedSerializers) {
+		@SuppressWarnings("unchecked")
+		TypeSerializer<T> valueSerializer = (TypeSerializer<T>) nestedSerializers[0];
+
+		return new OptionalSerializer<>(valueSerializer);
+	}
+
+	@Override
+	protected TypeSerializer<?>[] getNestedSerializers(OptionalSerializer<T> outerSerializer) {
+		return new TypeSerializer<?>[]{ outerSerializer.getValueSerializer() };
+	}
+}
@@ -0,0 +1,317 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.api.java.typeutils.runtime;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.api.common.typeutils.base.BooleanSerializer;
+import org.apache.flink.api.common.typeutils.base.ByteSerializer;
+import org.apache.flink.api.common.typeutils.base.CharSerializer;
+import org.apache.flink.api.common.typeutils.base.DoubleSerializer;
+import org.apache.flink.api.common.typeutils.base.FloatSerializer;
+import org.apache.flink.api.common.typeutils.base.IntSerializer;
+import org.apache.flink.api.common.typeutils.base.LongSerializer;
+import org.apache.flink.api.common.typeutils.base.ShortSerializer;
+import org.apache.flink.core.memory.DataInputView;
+import org.apache.flink.core.memory.DataOutputView;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+import static org.apache.flink.core.memory.MemoryUtils.UNSAFE;
+
+/**
+ * Accesses a field of a POJO for the {@link PojoSerializer}.
+ *
+ * <p>Fields are accessed through their offsets in the object instead of reflection. Primitive fields
+ * with their default serializer are additionally serialized, deserialized and copied without boxing
+ * their values and without calling the field serializer. The serialized format is the same as the
+ * one of the field serializer, preceded by the null flag of the field.
+ *
+ * <p>If the offset of a field can not be obtained, the field is accessed by reflection.
+ */
+@Internal
+abstract class PojoFieldAccessor {
+
+	/**
+	 * Creates an accessor for the given field, which is serialized with the given serializer.
+	 */
+	static PojoFieldAccessor create(Field field, TypeSerializer<?> fieldSerializer) {
+		if (Modifier.isVolatile(field.getModifiers())) {
+			// reflection keeps the memory semantics of volatile fields
+			return new ReflectiveFieldAccessor(field);
+		}
+
+		final long offset;
+		try {
+			offset = UNSAFE.objectFieldOffset(field);
+		} catch (Throwable t) {
+			// the field offsets of some classes are not accessible on newer JVMs
+			return new ReflectiveFieldAccessor(field);
+		}
+
+		final Class<?> type = field.getType();
+		if (!type.isPrimitive()) {
+			return new ObjectFieldAccessor(type, offset);
+		}
+
+		final Class<?> serializerClass = fieldSerializer.getClass();
+		if ((type == int.class && serializerClass == IntSerializer.class)
+				|| (type == long.class && serializerClass == LongSerializer.class)
+				|| (type == double.class && serializerClass == DoubleSerializer.class)
+				|| (type == float.class && serializerClass == FloatSerializer.class)
+				|| (type == boolean.class && serializerClass == BooleanSerializer.class)
+				|| (type == byte.class && serializerClass == ByteSerializer.class)
+				|| (type == short.class && serializerClass == ShortSerializer.class)
+				|| (type == char.class && serializerClass == CharSerializer.class)) {
+			return new PrimitiveFieldAccessor(type, offset);
+		}
+		return new ReflectiveFieldAccessor(field);
+	}
+
+	/**
+	 * Gets the value of the field.
+	 */
+	abstract Object get(Object pojo);
+
+	/**
+	 * Sets the value of the field.
+	 */
+	abstract void set(Object pojo, Object value);
+
+	/**
+	 * Writes the null flag and the value of the field.
+	 */
+	void serialize(Object pojo, TypeSerializer<Object> fieldSerializer, DataOutputView target) throws IOException {
+		final Object value = get(pojo);
+		if (value == null) {
+			target.writeBoolean(true); // null field handling
+		} else {
+			target.writeBoolean(false);
+			fieldSerializer.serialize(value, target);
+		}
+	}
+
+	/**
+	 * Reads the non-null value of the field, reusing the current value of the field if requested.
+	 */
+	void deserialize(Object pojo, TypeSerializer<Object> fieldSerializer, boolean reuse, DataInputView source) throws IOException {
+		final Object reuseValue = reuse ? get(pojo) : null;
+		if (reuseValue != null) {
+			set(pojo, fieldSerializer.deserialize(reuseValue, source));
+		} else {
+			set(pojo, fieldSerializer.deserialize(source));
+		}
+	}
+
+	/**
+	 * Copies the value of the field, reusing the current value of the field in the target if requested.
+	 */
+	void copy(Object from, Object to, TypeSerializer<Object> fieldSerializer, boolean reuse) {
+		final Object value = get(from);
+		if (value == null) {
+			set(to, null);
+			return;
+		}
+
+		final Object reuseValue = reuse ? get(to) : null;
+		if (reuseValue != null) {
+			set(to, fieldSerializer.copy(value, reuseValue));
+		} else {
+			set(to, fieldSerializer.copy(value));
+		}
+	}
+
+	// --------------------------------------------------------------------------------------------
+
+	/**
+	 * Accesses a field by reflection.
+	 */
+	private static final class ReflectiveFieldAccessor extends PojoFieldAccessor {
+
+		private final Field field;
+
+		ReflectiveFieldAccessor(Field field) {
+			this.field = field;
+			field.setAccessible(true);
+		}
+
+		@Override
+		Object get(Object pojo) {
+			try {
+				return field.get(pojo);
+			} catch (IllegalAccessException e) {
+				throw new RuntimeException("Error accessing POJO field, this should not happen since we check the fields before.", e);
+			}
+		}
+
+		@Override
+		void set(Object pojo, Object value) {
+			try {
+				field.set(pojo, value);
+			} catch (IllegalAccessException e) {
+				throw new RuntimeException("Error accessing POJO field, this should not happen since we check the fields before.", e);
+			}
+		}
+	}
+
+	/**
+	 * Accesses a field of a reference type through its offset.
+	 */
+	private static final class ObjectFieldAccessor extends PojoFieldAccessor {
+
+		private final Class<?> type;
+
+		private final long offset;
+
+		ObjectFieldAccessor(Class<?> type, long offset) {
+			this.type = type;
+			this.offset = offset;
+		}
+
+		@Override
+		Object get(Object pojo) {
+			return UNSAFE.getObject(pojo, offset);
+		}
+
+		@Override
+		void set(Object pojo, Object value) {
+			// the type check keeps a wrongly typed value from corrupting the POJO
+			UNSAFE.putObject(pojo, offset, type.cast(value));
+		}
+	}
+
+	/**
+	 * Accesses a field of a primitive type through its offset, and serializes its value directly.
+	 */
+	private static final class PrimitiveFieldAccessor extends PojoFieldAccessor {
+
+		private static final int INT = 0;
+		private static final int LONG = 1;
+		private static final int DOUBLE = 2;
+		private static final int FLOAT = 3;
+		private static final int BOOLEAN = 4;
+		private static final int BYTE = 5;
+		private static final int SHORT = 6;
+		private static final int CHAR = 7;
+
+		private final int kind;
+
+		private final long offset;
+
+		PrimitiveFieldAccessor(Class<?> type, long offset) {
+			this.offset = offset;
+			if (type == int.class) {
+				this.kind = INT;
+			} else if (type == long.class) {
+				this.kind = LONG;
+			} else if (type == double.class) {
+				this.kind = DOUBLE;
+			} else if (type == float.class) {
+				this.kind = FLOAT;
+			} else if (type == boolean.class) {
+				this.kind = BOOLEAN;
+			} else if (type == byte.class) {
+				this.kind = BYTE;
+			} else if (type == short.class) {
+				this.kind = SHORT;
+			} else if (type == char.class) {
+				this.kind = CHAR;
+			} else {
+				throw new IllegalArgumentException("Not a primitive type: " + type);
+			}
+		}
+
+		@Override
+		Object get(Object pojo) {
+			switch (kind) {
+				case INT: return UNSAFE.getInt(pojo, offset);
+				case LONG: return UNSAFE.getLong(pojo, offset);
+				case DOUBLE: return UNSAFE.getDouble(pojo, offset);
+				case FLOAT: return UNSAFE.getFloat(pojo, offset);
+				case BOOLEAN: return UNSAFE.getBoolean(pojo, offset);
+				case BYTE: return UNSAFE.getByte(pojo, offset);
+				case SHORT: return UNSAFE.getShort(pojo, offset);
+				default: return UNSAFE.getChar(pojo, offset);
+			}
+		}
+
+		@Override
+		void set(Object pojo, Object value) {
+			if (value == null) {
+				throw new IllegalArgumentException("Can not set a primitive field to null.");
+			}
+			switch (kind) {
+				case INT: UNSAFE.putInt(pojo, offset, (Integer) value); break;
+				case LONG: UNSAFE.putLong(pojo, offset, (Long) value); break;
+				case DOUBLE: UNSAFE.putDouble(pojo, offset, (Double) value); break;
+				case FLOAT: UNSAFE.putFloat(pojo, offset, (Float) value); break;
+				case BOOLEAN: UNSAFE.putBoolean(pojo, offset, (Boolean) value); break;
+				case BYTE: UNSAFE.putByte(pojo, offset, (Byte) value); break;
+				case SHORT: UNSAFE.putShort(pojo, offset, (Short) value); break;
+				default: UNSAFE.putChar(pojo, offset, (Character) value);
+			}
+		}
+
+		@Override
+		void serialize(Object pojo, TypeSerializer<Object> fieldSerializer, DataOutputView target) throws IOException {
+			// a primitive field is never null
+			target.writeBoolean(false);
+			switch (kind) {
+				case INT: target.writeInt(UNSAFE.getInt(pojo, offset)); break;
+				case LONG: target.writeLong(UNSAFE.getLong(pojo, offset)); break;
+				case DOUBLE: target.writeDouble(UNSAFE.getDouble(pojo, offset)); break;
+				case FLOAT: target.writeFloat(UNSAFE.getFloat(pojo, offset)); break;
+				case BOOLEAN: target.writeBoolean(UNSAFE.getBoolean(pojo, offset)); break;
+				case BYTE: target.writeByte(UNSAFE.getByte(pojo, offset)); break;
+				case SHORT: target.writeShort(UNSAFE.getShort(pojo, offset)); break;
+				default: target.writeChar(UNSAFE.getChar(pojo, offset));
+			}
+		}
+
+		@Override
+		void deserialize(Object pojo, TypeSerializer<Object> fieldSerializer, boolean reuse, DataInputView source) throws IOException {
+			switch (kind) {
+				case INT: UNSAFE.putInt(pojo, offset, source.readInt()); break;
+				case LONG: UNSAFE.putLong(pojo, offset, source.readLong()); break;
+				case DOUBLE: UNSAFE.putDouble(pojo, offset, source.readDouble()); break;
+				case FLOAT: UNSAFE.putFloat(pojo, offset, source.readFloat()); break;
+				case BOOLEAN: UNSAFE.putBoolean(pojo, offset, source.readBoolean()); break;
+				case BYTE: UNSAFE.putByte(pojo, offset, source.readByte()); break;
+				case SHORT: UNSAFE.putShort(pojo, offset, source.readShort()); break;
+				default: UNSAFE.putChar(pojo, offset, source.readChar());
+			}
+		}
+
+		@Override
+		void copy(Object from, Object to, TypeSerializer<Object> fieldSerializer, boolean reuse) {
+			switch (kind) {
+				case INT: UNSAFE.putInt(to, offset, UNSAFE.getInt(from, offset)); break;
+				case LONG: UNSAFE.putLong(to, offset, UNSAFE.getLong(from, offset)); break;
+				case DOUBLE: UNSAFE.putDouble(to, offset, UNSAFE.getDouble(from, offset)); break;
+				case FLOAT: UNSAFE.putFloat(to, offset, UNSAFE.getFloat(from, offset)); break;
+				case BOOLEAN: UNSAFE.putBoolean(to, offset, UNSAFE.getBoolean(from, offset)); break;
+				case BYTE: UNSAFE.putByte(to, offset, UNSAFE.getByte(from, offset)); break;
+				case SHORT: UNSAFE.putShort(to, offset, UNSAFE.getShort(from, offset)); break;
+				default: UNSAFE.putChar(to, offset, UNSAFE.getChar(from, offset));
+			}
+		}
+	}
+}
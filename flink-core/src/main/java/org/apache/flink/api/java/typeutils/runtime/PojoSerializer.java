@@ -82,6 +82,12 @@ public final class PojoSerializer<T> extends TypeSerializer<T> {
 	private final TypeSerializer<Object>[] fieldSerializers;
 	private final int numFields;
 
+	/**
+	 * Accessors of the fields of the POJO, created from the fields and their serializers.
+	 * An accessor is null if its field no longer exists in the POJO.
+	 */
+	private transient PojoFieldAccessor[] fieldAccessors;
+
 	/**
 	 * Registered subclasses and their serializers.
 	 * Each subclass to their registered class tag is maintained as a separate map ordered by the class tag.
@@ -122,6 +128,7 @@ public final class PojoSerializer<T> extends TypeSerializer<T> {
 		for (int i = 0; i < numFields; i++) {
 			this.fields[i].setAccessible(true);
 		}
+		this.fieldAccessors = createFieldAccessors(this.fields, this.fieldSerializers);
 
 		this.cl = Thread.currentThread().getContextClassLoader();
 
@@ -156,6 +163,7 @@ public final class PojoSerializer<T> extends TypeSerializer<T> {
 		this.registeredSerializers = checkNotNull(registeredSerializers);
 		this.subclassSerializerCache = checkNotNull(subclassSerializerCache);
 		this.executionConfig = checkNotNull(executionConfig);
+		this.fieldAccessors = createFieldAccessors(this.fields, this.fieldSerializers);
 		this.cl = Thread.currentThread().getContextClassLoader();
 	}
 	
@@ -204,12 +212,8 @@ public final class PojoSerializer<T> extends TypeSerializer<T> {
 
 	protected void initializeFields(T t) {
 		for (int i = 0; i < numFields; i++) {
-			if (fields[i] != null) {
-				try {
-					fields[i].set(t, fieldSerializers[i].createInstance());
-				} catch (IllegalAccessException e) {
-					throw new RuntimeException("Cannot initialize fields.", e);
-				}
+			if (fieldAccessors[i] != null) {
+				fieldAccessors[i].set(t, fieldSerializers[i].createInstance());
 			}
 		}
 	}
@@ -231,21 +235,10 @@ public final class PojoSerializer<T> extends TypeSerializer<T> {
 				throw new RuntimeException("Cannot instantiate class.", t);
 			}
 			// no subclass
-			try {
-				for (int i = 0; i < numFields; i++) {
-					if (fields[i] != null) {
-						Object value = fields[i].get(from);
-						if (value != null) {
-							Object copy = fieldSerializers[i].copy(value);
-							fields[i].set(target, copy);
-						} else {
-							fields[i].set(target, null);
-						}
-					}
+			for (int i = 0; i < numFields; i++) {
+				if (fieldAccessors[i] != null) {
+					fieldAccessors[i].copy(from, target, fieldSerializers[i], false);
 				}
-			} catch (IllegalAccessException e) {
-				throw new RuntimeException("Error during POJO copy, this should not happen since we check the fields before.");
-
 			}
 			return target;
 		} else {
@@ -269,26 +262,10 @@ public final class PojoSerializer<T> extends TypeSerializer<T> {
 		}
 
 		if (actualType == clazz) {
-			try {
-				for (int i = 0; i < numFields; i++) {
-					if (fields[i] != null) {
-						Object value = fields[i].get(from);
-						if (value != null) {
-							Object reuseValue = fields[i].get(reuse);
-							Object copy;
-							if (reuseValue != null) {
-								copy = fieldSerializers[i].copy(value, reuseValue);
-							} else {
-								copy = fieldSerializers[i].copy(value);
-							}
-							fields[i].set(reuse, copy);
-						} else {
-							fields[i].set(reuse, null);
-						}
-					}
+			for (int i = 0; i < numFields; i++) {
+				if (fieldAccessors[i] != null) {
+					fieldAccessors[i].copy(from, reuse, fieldSerializers[i], true);
 				}
-			} catch (IllegalAccessException e) {
-				throw new RuntimeException("Error during POJO copy, this should not happen since we check the fields before.", e);
 			}
 		} else {
 			TypeSerializer subclassSerializer = getSubclassSerializer(actualType);
@@ -343,18 +320,12 @@ public final class PojoSerializer<T> extends TypeSerializer<T> {
 		// if its a subclass, use the corresponding subclass serializer,
 		// otherwise serialize each field with our field serializers
 		if ((flags & NO_SUBCLASS) != 0) {
-			try {
-				for (int i = 0; i < numFields; i++) {
-					Object o = (fields[i] != null) ? fields[i].get(value) : null;
-					if (o == null) {
-						target.writeBoolean(true); // null field handling
-					} else {
-						target.writeBoolean(false);
-						fieldSerializers[i].serialize(o, target);
-					}
+			for (int i = 0; i < numFields; i++) {
+				if (fieldAccessors[i] != null) {
+					fieldAccessors[i].serialize(value, fieldSerializers[i], target);
+				} else {
+					target.writeBoolean(true); // null field handling
 				}
-			} catch (IllegalAccessException e) {
-				throw new RuntimeException("Error during POJO copy, this should not happen since we check the fields before.", e);
 			}
 		} else {
 			// subclass
@@ -400,24 +371,19 @@ public final class PojoSerializer<T> extends TypeSerializer<T> {
 		}
 
 		if ((flags & NO_SUBCLASS) != 0) {
-			try {
-				for (int i = 0; i < numFields; i++) {
-					boolean isNull = source.readBoolean();
-
-					if (fields[i] != null) {
-						if (isNull) {
-							fields[i].set(target, null);
-						} else {
-							Object field = fieldSerializers[i].deserialize(source);
-							fields[i].set(target, field);
-						}
-					} else if (!isNull) {
-						// read and dump a pre-existing field value
-						fieldSerializers[i].deserialize(source);
+			for (int i = 0; i < numFields; i++) {
+				boolean isNull = source.readBoolean();
+
+				if (fieldAccessors[i] != null) {
+					if (isNull) {
+						fieldAccessors[i].set(target, null);
+					} else {
+						fieldAccessors[i].deserialize(target, fieldSerializers[i], false, source);
 					}
+				} else if (!isNull) {
+					// read and dump a pre-existing field value
+					fieldSerializers[i].deserialize(source);
 				}
-			} catch (IllegalAccessException e) {
-				throw new RuntimeException("Error during POJO copy, this should not happen since we check the fields before.", e);
 			}
 		} else {
 			if (subclassSerializer != null) {
@@ -471,32 +437,19 @@ public final class PojoSerializer<T> extends TypeSerializer<T> {
 		}
 
 		if ((flags & NO_SUBCLASS) != 0) {
-			try {
-				for (int i = 0; i < numFields; i++) {
-					boolean isNull = source.readBoolean();
-
-					if (fields[i] != null) {
-						if (isNull) {
-							fields[i].set(reuse, null);
-						} else {
-							Object field;
-
-							Object reuseField = fields[i].get(reuse);
-							if (reuseField != null) {
-								field = fieldSerializers[i].deserialize(reuseField, source);
-							} else {
-								field = fieldSerializers[i].deserialize(source);
-							}
-
-							fields[i].set(reuse, field);
-						}
-					} else if (!isNull) {
-						// read and dump a pre-existing field value
-						fieldSerializers[i].deserialize(source);
+			for (int i = 0; i < numFields; i++) {
+				boolean isNull = source.readBoolean();
+
+				if (fieldAccessors[i] != null) {
+					if (isNull) {
+						fieldAccessors[i].set(reuse, null);
+					} else {
+						fieldAccessors[i].deserialize(reuse, fieldSerializers[i], true, source);
 					}
+				} else if (!isNull) {
+					// read and dump a pre-existing field value
+					fieldSerializers[i].deserialize(source);
 				}
-			} catch (IllegalAccessException e) {
-				throw new RuntimeException("Error during POJO copy, this should not happen since we check the fields before.", e);
 			}
 		} else {
 			if (subclassSerializer != null) {
@@ -941,6 +894,7 @@ public final class PojoSerializer<T> extends TypeSerializer<T> {
 			// instance, the missing fields will simply be skipped
 			fields[i] = FieldSerializer.deserializeField(in);
 		}
+		fieldAccessors = createFieldAccessors(fields, fieldSerializers);
 
 		cl = Thread.currentThread().getContextClassLoader();
 		subclassSerializerCache = new HashMap<Class<?>, TypeSerializer<?>>();
@@ -1096,6 +1050,16 @@ public final class PojoSerializer<T> extends TypeSerializer<T> {
 		return -1;
 	}
 
+	private static PojoFieldAccessor[] createFieldAccessors(Field[] fields, TypeSerializer<?>[] fieldSerializers) {
+		final PojoFieldAccessor[] accessors = new PojoFieldAccessor[fields.length];
+		for (int i = 0; i < fields.length; i++) {
+			if (fields[i] != null) {
+				accessors[i] = PojoFieldAccessor.create(fields[i], fieldSerializers[i]);
+			}
+		}
+		return accessors;
+	}
+
 	private void copyBaseFieldOrder(PojoSerializer<?> baseSerializer) {
 		// do nothing for now, but in the future, adapt subclass serializer to have same
 		// ordering as base class serializer so that binary comparison on base class fields
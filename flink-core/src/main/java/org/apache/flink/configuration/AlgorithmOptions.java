@@ -45,6 +45,15 @@ public class AlgorithmOptions {
 			.defaultValue(0.8f)
 			.withDescription("A sort operation starts spilling when this fraction of its memory budget is full.");
 
+	public static final ConfigOption<Integer> SORT_PARALLELISM =
+		key("taskmanager.runtime.sort-parallelism")
+			.defaultValue(1)
+			.withDescription("The number of threads a sort operation uses to sort its in-memory buffers and to merge" +
+				" its spilled runs. With more than one thread, buffers are sorted concurrently, keys that are fully" +
+				" normalized are sorted with a parallel radix sort, and intermediate merges run concurrently. The" +
+				" buffers of all sort operations of a TaskManager are sorted in one shared pool with one thread per" +
+				" CPU core.");
+
 	public static final ConfigOption<Boolean> USE_LARGE_RECORDS_HANDLER =
 		key("taskmanager.runtime.large-record-handler")
 			.defaultValue(false)
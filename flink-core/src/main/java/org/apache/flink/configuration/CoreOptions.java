@@ -289,6 +289,19 @@ public class CoreOptions {
 			.withDeprecatedKeys("taskmanager.tmp.dirs")
 			.withDescription("Directories for temporary files, separated by\",\", \"|\", or the system's java.io.File.pathSeparator.");
 
+	/**
+	 * The number of I/O threads per temporary directory, which bounds the number of outstanding spill
+	 * file requests per directory.
+	 */
+	public static final ConfigOption<Integer> TMP_DIR_IO_THREADS =
+		key("io.tmp.threads-per-dir")
+			.defaultValue(1)
+			.withDescription("The number of reader and writer threads the TaskManager uses per temporary directory for" +
+				" spill files of sorts, hash tables and blocking shuffles. Every thread has one outstanding request on" +
+				" the device, so fast SSDs may need several threads per directory to reach their bandwidth. Requests" +
+				" of the same file are always served in order by the same thread, and consecutive requests of a file" +
+				" are coalesced into one scattering read or gathering write.");
+
 	// ------------------------------------------------------------------------
 	//  program
 	// ------------------------------------------------------------------------
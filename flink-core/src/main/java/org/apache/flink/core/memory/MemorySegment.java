@@ -1322,38 +1322,66 @@ public abstract class MemorySegment {
 	/**
 	 * Compares two memory segment regions.
 	 *
+	 * <p>The bounds of both regions are checked once, before the regions are compared word by word.
+	 *
 	 * @param seg2 Segment to compare this segment with
 	 * @param offset1 Offset of this segment to start comparing
 	 * @param offset2 Offset of seg2 to start comparing
 	 * @param len Length of the compared memory region
 	 *
 	 * @return 0 if equal, -1 if seg1 &lt; seg2, 1 otherwise
+	 *
+	 * @throws IndexOutOfBoundsException If either of the offsets is invalid, or either segment does not
+	 *           contain the given number of bytes (starting from its offset).
 	 */
 	public final int compare(MemorySegment seg2, int offset1, int offset2, int len) {
-		while (len >= 8) {
-			long l1 = this.getLongBigEndian(offset1);
-			long l2 = seg2.getLongBigEndian(offset2);
-
-			if (l1 != l2) {
-				return (l1 < l2) ^ (l1 < 0) ^ (l2 < 0) ? -1 : 1;
+		final byte[] thisHeapRef = this.heapMemory;
+		final byte[] otherHeapRef = seg2.heapMemory;
+		long thisPos = this.address + offset1;
+		long otherPos = seg2.address + offset2;
+
+		if ((offset1 | offset2 | len) >= 0 &&
+				thisPos <= this.addressLimit - len && otherPos <= seg2.addressLimit - len) {
+			while (len >= 8) {
+				long l1 = UNSAFE.getLong(thisHeapRef, thisPos);
+				long l2 = UNSAFE.getLong(otherHeapRef, otherPos);
+
+				if (l1 != l2) {
+					if (LITTLE_ENDIAN) {
+						l1 = Long.reverseBytes(l1);
+						l2 = Long.reverseBytes(l2);
+					}
+					return (l1 < l2) ^ (l1 < 0) ^ (l2 < 0) ? -1 : 1;
+				}
+
+				thisPos += 8;
+				otherPos += 8;
+				len -= 8;
 			}
-
-			offset1 += 8;
-			offset2 += 8;
-			len -= 8;
-		}
-		while (len > 0) {
-			int b1 = this.get(offset1) & 0xff;
-			int b2 = seg2.get(offset2) & 0xff;
-			int cmp = b1 - b2;
-			if (cmp != 0) {
-				return cmp;
+			while (len > 0) {
+				int b1 = UNSAFE.getByte(thisHeapRef, thisPos) & 0xff;
+				int b2 = UNSAFE.getByte(otherHeapRef, otherPos) & 0xff;
+				int cmp = b1 - b2;
+				if (cmp != 0) {
+					return cmp;
+				}
+				thisPos++;
+				otherPos++;
+				len--;
 			}
-			offset1++;
-			offset2++;
-			len--;
+			return 0;
+		}
+		else if (this.address > this.addressLimit) {
+			throw new IllegalStateException("this memory segment has been freed.");
+		}
+		else if (seg2.address > seg2.addressLimit) {
+			throw new IllegalStateException("other memory segment has been freed.");
+		}
+		else {
+			throw new IndexOutOfBoundsException(
+					String.format("offset1=%d, offset2=%d, len=%d, address1=%d, address2=%d",
+							offset1, offset2, len, this.address, seg2.address));
 		}
-		return 0;
 	}
 
 	/**
@@ -1415,34 +1443,58 @@ public abstract class MemorySegment {
 	/**
 	 * Equals two memory segment regions.
 	 *
+	 * <p>The bounds of both regions are checked once, before the regions are compared word by word.
+	 *
 	 * @param seg2 Segment to equal this segment with
 	 * @param offset1 Offset of this segment to start equaling
 	 * @param offset2 Offset of seg2 to start equaling
 	 * @param length Length of the equaled memory region
 	 *
 	 * @return true if equal, false otherwise
+	 *
+	 * @throws IndexOutOfBoundsException If either of the offsets is invalid, or either segment does not
+	 *           contain the given number of bytes (starting from its offset).
 	 */
 	public final boolean equalTo(MemorySegment seg2, int offset1, int offset2, int length) {
-		int i = 0;
-
-		// we assume unaligned accesses are supported.
-		// Compare 8 bytes at a time.
-		while (i <= length - 8) {
-			if (getLong(offset1 + i) != seg2.getLong(offset2 + i)) {
-				return false;
+		final byte[] thisHeapRef = this.heapMemory;
+		final byte[] otherHeapRef = seg2.heapMemory;
+		final long thisPos = this.address + offset1;
+		final long otherPos = seg2.address + offset2;
+
+		if ((offset1 | offset2 | length) >= 0 &&
+				thisPos <= this.addressLimit - length && otherPos <= seg2.addressLimit - length) {
+			int i = 0;
+
+			// we assume unaligned accesses are supported.
+			// Compare 8 bytes at a time.
+			while (i <= length - 8) {
+				if (UNSAFE.getLong(thisHeapRef, thisPos + i) != UNSAFE.getLong(otherHeapRef, otherPos + i)) {
+					return false;
+				}
+				i += 8;
 			}
-			i += 8;
-		}
 
-		// cover the last (length % 8) elements.
-		while (i < length) {
-			if (get(offset1 + i) != seg2.get(offset2 + i)) {
-				return false;
+			// cover the last (length % 8) elements.
+			while (i < length) {
+				if (UNSAFE.getByte(thisHeapRef, thisPos + i) != UNSAFE.getByte(otherHeapRef, otherPos + i)) {
+					return false;
+				}
+				i += 1;
 			}
-			i += 1;
-		}
 
-		return true;
+			return true;
+		}
+		else if (this.address > this.addressLimit) {
+			throw new IllegalStateException("this memory segment has been freed.");
+		}
+		else if (seg2.address > seg2.addressLimit) {
+			throw new IllegalStateException("other memory segment has been freed.");
+		}
+		else {
+			throw new IndexOutOfBoundsException(
+					String.format("offset1=%d, offset2=%d, length=%d, address1=%d, address2=%d",
+							offset1, offset2, length, this.address, seg2.address));
+		}
 	}
 
 	/**
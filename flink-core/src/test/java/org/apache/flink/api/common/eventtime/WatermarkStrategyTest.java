@@ -145,6 +145,31 @@ public class WatermarkStrategyTest {
 				instanceOf(WatermarksWithIdleness.class));
 	}
 
+	@Test
+	public void testWatermarkAlignmentIsDisabledByDefault() {
+		WatermarkStrategy<String> wmStrategy = WatermarkStrategy.forMonotonousTimestamps();
+
+		assertThat(wmStrategy.getAlignmentParameters().isEnabled(), is(false));
+	}
+
+	@Test
+	public void testWatermarkAlignmentIsKeptByOtherHelpers() {
+		WatermarkStrategy<String> wmStrategy = WatermarkStrategy
+				.<String>forMonotonousTimestamps()
+				.withWatermarkAlignment(Duration.ofSeconds(10), Duration.ofMillis(500))
+				.withTimestampAssigner((event, timestamp) -> 42L)
+				.withIdleness(Duration.ofMinutes(1));
+
+		// ensure that the closure can be cleaned
+		ClosureCleaner.clean(wmStrategy, ExecutionConfig.ClosureCleanerLevel.RECURSIVE, true);
+
+		assertThat(wmStrategy.getAlignmentParameters(), is(new WatermarkAlignmentParams(10_000L, 500L)));
+		assertThat(wmStrategy.getAlignmentParameters().isEnabled(), is(true));
+		assertThat(wmStrategy.createTimestampAssigner(assignerContext()).extractTimestamp(null, 13L), is(42L));
+		assertThat(wmStrategy.createWatermarkGenerator(generatorContext()),
+				instanceOf(WatermarksWithIdleness.class));
+	}
+
 	static class TestTimestampAssigner implements TimestampAssigner<Object>, Serializable {
 
 		@Override
@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.flink.api.java.typeutils.runtime;
+
+import org.apache.flink.api.common.typeutils.SerializerTestBase;
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.api.common.typeutils.base.ListSerializer;
+import org.apache.flink.api.common.typeutils.base.StringSerializer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A test for the {@link OptionalSerializer}.
+ */
+public class OptionalSerializerTest extends SerializerTestBase<Optional<List<String>>> {
+
+	@Override
+	protected TypeSerializer<Optional<List<String>>> createSerializer() {
+		return new OptionalSerializer<>(new ListSerializer<>(StringSerializer.INSTANCE));
+	}
+
+	@Override
+	protected int getLength() {
+		return -1;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	protected Class<Optional<List<String>>> getTypeClass() {
+		return (Class<Optional<List<String>>>) (Class<?>) Optional.class;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	protected Optional<List<String>>[] getTestData() {
+		return (Optional<List<String>>[]) new Optional[] {
+				Optional.empty(),
+				Optional.of(new ArrayList<String>()),
+				Optional.of(Collections.singletonList("a")),
+				Optional.of(Arrays.asList("foo", "bar", "")),
+				Optional.empty()
+		};
+	}
+}
@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.api.java.typeutils.runtime;
+
+import org.apache.flink.api.common.ExecutionConfig;
+import org.apache.flink.api.common.typeutils.SerializerTestBase;
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.api.java.typeutils.TypeExtractor;
+import org.apache.flink.core.memory.DataInputDeserializer;
+import org.apache.flink.core.memory.DataOutputSerializer;
+import org.apache.flink.types.StringValue;
+
+import org.junit.Test;
+
+import java.util.Objects;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests the {@link PojoSerializer} for POJOs whose fields are accessed without reflection.
+ */
+public class PojoSerializerPrimitiveFieldsTest extends SerializerTestBase<PojoSerializerPrimitiveFieldsTest.PrimitiveFieldsPojo> {
+
+	@Override
+	protected TypeSerializer<PrimitiveFieldsPojo> createSerializer() {
+		TypeSerializer<PrimitiveFieldsPojo> serializer =
+				TypeExtractor.getForClass(PrimitiveFieldsPojo.class).createSerializer(new ExecutionConfig());
+		assert(serializer instanceof PojoSerializer);
+		return serializer;
+	}
+
+	@Override
+	protected int getLength() {
+		return -1;
+	}
+
+	@Override
+	protected Class<PrimitiveFieldsPojo> getTypeClass() {
+		return PrimitiveFieldsPojo.class;
+	}
+
+	@Override
+	protected PrimitiveFieldsPojo[] getTestData() {
+		return new PrimitiveFieldsPojo[] {
+				new PrimitiveFieldsPojo(),
+				new PrimitiveFieldsPojo(true, (byte) 1, 'c', 4.2, 1.7f, 42, 23L, (short) 7, 5, "foo", 11L),
+				new PrimitiveFieldsPojo(false, Byte.MIN_VALUE, Character.MAX_VALUE, Double.NaN, Float.MAX_VALUE,
+						Integer.MIN_VALUE, Long.MAX_VALUE, Short.MIN_VALUE, null, null, -1L)
+		};
+	}
+
+	/**
+	 * The fields must be written in the format of their field serializers, each preceded by its null flag.
+	 */
+	@Test
+	public void testSerializedFormat() throws Exception {
+		PrimitiveFieldsPojo pojo = new PrimitiveFieldsPojo(
+				true, (byte) 1, 'c', 4.2, 1.7f, 42, 23L, (short) 7, null, "foo", 11L);
+
+		DataOutputSerializer out = new DataOutputSerializer(128);
+		createSerializer().serialize(pojo, out);
+
+		DataInputDeserializer in = new DataInputDeserializer(out.getCopyOfBuffer());
+		// no subclass
+		assertEquals(2, in.readByte());
+		// the fields are ordered by their names
+		assertEquals(false, in.readBoolean());
+		assertEquals(true, in.readBoolean());
+		assertEquals(false, in.readBoolean());
+		assertEquals(1, in.readByte());
+		assertEquals(false, in.readBoolean());
+		assertEquals('c', in.readChar());
+		assertEquals(false, in.readBoolean());
+		assertEquals(4.2, in.readDouble(), 0.0);
+		assertEquals(false, in.readBoolean());
+		assertEquals(1.7f, in.readFloat(), 0.0f);
+		assertEquals(false, in.readBoolean());
+		assertEquals(42, in.readInt());
+		assertEquals(false, in.readBoolean());
+		assertEquals(23L, in.readLong());
+		assertEquals(false, in.readBoolean());
+		assertEquals(7, in.readShort());
+		// null boxed field
+		assertEquals(true, in.readBoolean());
+		assertEquals(false, in.readBoolean());
+		assertEquals("foo", StringValue.readString(in));
+		assertEquals(false, in.readBoolean());
+		assertEquals(11L, in.readLong());
+		assertEquals(0, in.available());
+	}
+
+	/**
+	 * A POJO with fields of all primitive types, a boxed field, a reference field and a volatile field.
+	 */
+	public static class PrimitiveFieldsPojo {
+		public boolean aBoolean;
+		public byte bByte;
+		public char cChar;
+		public double dDouble;
+		public float eFloat;
+		public int fInt;
+		public long gLong;
+		public short hShort;
+		public Integer iBoxed;
+		public String jString;
+		public volatile long kVolatile;
+
+		public PrimitiveFieldsPojo() {
+		}
+
+		public PrimitiveFieldsPojo(
+				boolean aBoolean, byte bByte, char cChar, double dDouble, float eFloat, int fInt, long gLong,
+				short hShort, Integer iBoxed, String jString, long kVolatile) {
+			this.aBoolean = aBoolean;
+			this.bByte = bByte;
+			this.cChar = cChar;
+			this.dDouble = dDouble;
+			this.eFloat = eFloat;
+			this.fInt = fInt;
+			this.gLong = gLong;
+			this.hShort = hShort;
+			this.iBoxed = iBoxed;
+			this.jString = jString;
+			this.kVolatile = kVolatile;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (o == null || getClass() != o.getClass()) {
+				return false;
+			}
+			PrimitiveFieldsPojo that = (PrimitiveFieldsPojo) o;
+			return aBoolean == that.aBoolean &&
+					bByte == that.bByte &&
+					cChar == that.cChar &&
+					Double.compare(that.dDouble, dDouble) == 0 &&
+					Float.compare(that.eFloat, eFloat) == 0 &&
+					fInt == that.fInt &&
+					gLong == that.gLong &&
+					hShort == that.hShort &&
+					Objects.equals(iBoxed, that.iBoxed) &&
+					Objects.equals(jString, that.jString) &&
+					kVolatile == that.kVolatile;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(aBoolean, bByte, cChar, dDouble, eFloat, fInt, gLong, hShort, iBoxed, jString, kVolatile);
+		}
+	}
+}
@@ -346,6 +346,55 @@ public abstract class MemorySegmentTestBase {
 		assertFalse(seg1.equalTo(seg2, i, i, 9));
 	}
 
+	@Test
+	public void testCompareAndEqualToOutOfBounds() {
+		MemorySegment seg1 = createSegment(pageSize);
+		MemorySegment seg2 = createSegment(pageSize);
+
+		int[] invalidRanges = {
+			-1, 8,
+			pageSize - 7, 8,
+			pageSize, 1,
+			0, pageSize + 1,
+			0, -1,
+			Integer.MAX_VALUE, 8,
+			8, Integer.MAX_VALUE
+		};
+
+		for (int i = 0; i < invalidRanges.length; i += 2) {
+			int offset = invalidRanges[i];
+			int length = invalidRanges[i + 1];
+
+			try {
+				seg1.compare(seg2, offset, 0, length);
+				fail("should fail with an IndexOutOfBoundsException");
+			}
+			catch (IndexOutOfBoundsException ignored) {}
+
+			try {
+				seg1.compare(seg2, 0, offset, length);
+				fail("should fail with an IndexOutOfBoundsException");
+			}
+			catch (IndexOutOfBoundsException ignored) {}
+
+			try {
+				seg1.equalTo(seg2, offset, 0, length);
+				fail("should fail with an IndexOutOfBoundsException");
+			}
+			catch (IndexOutOfBoundsException ignored) {}
+
+			try {
+				seg1.equalTo(seg2, 0, offset, length);
+				fail("should fail with an IndexOutOfBoundsException");
+			}
+			catch (IndexOutOfBoundsException ignored) {}
+		}
+
+		// empty regions at the end of the segments are valid
+		assertEquals(0, seg1.compare(seg2, pageSize, pageSize, 0));
+		assertTrue(seg1.equalTo(seg2, pageSize, pageSize, 0));
+	}
+
 	@Test
 	public void testCharAccess() {
 		final MemorySegment segment = createSegment(pageSize);
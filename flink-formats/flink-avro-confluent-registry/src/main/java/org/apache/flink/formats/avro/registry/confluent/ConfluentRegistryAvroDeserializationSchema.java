@@ -36,7 +36,7 @@ import javax.annotation.Nullable;
  */
 public class ConfluentRegistryAvroDeserializationSchema<T> extends RegistryAvroDeserializationSchema<T> {
 
-	private static final int DEFAULT_IDENTITY_MAP_CAPACITY = 1000;
+	static final int DEFAULT_IDENTITY_MAP_CAPACITY = 1000;
 
 	private static final long serialVersionUID = -1671641202177852775L;
 
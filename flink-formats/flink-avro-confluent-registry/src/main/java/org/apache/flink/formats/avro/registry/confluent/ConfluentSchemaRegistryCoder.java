@@ -41,6 +41,9 @@ public class ConfluentSchemaRegistryCoder implements SchemaCoder {
 	private String subject;
 	private static final int CONFLUENT_MAGIC_BYTE = 0;
 
+	/** The length of the header of a serialized record, the magic byte and the schema id. */
+	static final int HEADER_LENGTH = 5;
+
 	/**
 	 * Creates {@link SchemaCoder} that uses provided {@link SchemaRegistryClient} to connect to
 	 * schema registry.
@@ -71,12 +74,28 @@ public class ConfluentSchemaRegistryCoder implements SchemaCoder {
 			throw new IOException("Unknown data format. Magic number does not match");
 		} else {
 			int schemaId = dataInputStream.readInt();
+			return getSchemaById(schemaId);
+		}
+	}
 
-			try {
-				return schemaRegistryClient.getById(schemaId);
-			} catch (RestClientException e) {
-				throw new IOException(format("Could not find schema with id %s in registry", schemaId), e);
-			}
+	/**
+	 * Reads the id of the schema from the header of the given serialized record.
+	 */
+	static int readSchemaId(byte[] message) throws IOException {
+		if (message.length < HEADER_LENGTH || message[0] != CONFLUENT_MAGIC_BYTE) {
+			throw new IOException("Unknown data format. Magic number does not match");
+		}
+		return (message[1] & 0xff) << 24 | (message[2] & 0xff) << 16 | (message[3] & 0xff) << 8 | (message[4] & 0xff);
+	}
+
+	/**
+	 * Looks up the schema with the given id in the registry.
+	 */
+	Schema getSchemaById(int schemaId) throws IOException {
+		try {
+			return schemaRegistryClient.getById(schemaId);
+		} catch (RestClientException e) {
+			throw new IOException(format("Could not find schema with id %s in registry", schemaId), e);
 		}
 	}
 
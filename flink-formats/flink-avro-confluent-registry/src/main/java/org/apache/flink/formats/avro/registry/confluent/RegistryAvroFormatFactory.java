@@ -23,9 +23,7 @@ import org.apache.flink.api.common.serialization.SerializationSchema;
 import org.apache.flink.api.common.typeinfo.TypeInformation;
 import org.apache.flink.configuration.ConfigOption;
 import org.apache.flink.configuration.ReadableConfig;
-import org.apache.flink.formats.avro.AvroRowDataDeserializationSchema;
 import org.apache.flink.formats.avro.AvroRowDataSerializationSchema;
-import org.apache.flink.formats.avro.AvroToRowDataConverters;
 import org.apache.flink.formats.avro.RowDataToAvroConverters;
 import org.apache.flink.formats.avro.typeutils.AvroSchemaConverter;
 import org.apache.flink.table.api.ValidationException;
@@ -74,12 +72,10 @@ public class RegistryAvroFormatFactory implements
 				final RowType rowType = (RowType) producedDataType.getLogicalType();
 				final TypeInformation<RowData> rowDataTypeInfo =
 						context.createTypeInformation(producedDataType);
-				return new AvroRowDataDeserializationSchema(
-						ConfluentRegistryAvroDeserializationSchema.forGeneric(
-								AvroSchemaConverter.convertToSchema(rowType),
-								schemaRegistryURL),
-						AvroToRowDataConverters.createRowConverter(rowType),
-						rowDataTypeInfo);
+				return new RegistryAvroRowDataDeserializationSchema(
+						rowType,
+						rowDataTypeInfo,
+						schemaRegistryURL);
 			}
 
 			@Override
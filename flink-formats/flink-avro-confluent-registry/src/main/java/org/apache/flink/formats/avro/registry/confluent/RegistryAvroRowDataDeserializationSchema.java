@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.flink.formats.avro.registry.confluent;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.api.common.serialization.DeserializationSchema;
+import org.apache.flink.api.common.typeinfo.TypeInformation;
+import org.apache.flink.formats.avro.AvroRowDataDecoder;
+import org.apache.flink.formats.avro.SchemaCoder;
+import org.apache.flink.formats.avro.typeutils.AvroSchemaConverter;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.types.logical.RowType;
+
+import org.apache.avro.Schema;
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.avro.io.DecoderFactory;
+
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Deserialization schema from Avro bytes with the writer schema in Confluent Schema Registry to
+ * {@link RowData}.
+ *
+ * <p>The records are decoded straight into rows by an {@link AvroRowDataDecoder}, which is compiled
+ * once per writer schema. The decoders of the most recently used writer schemas are cached by the
+ * schema id of the record header, so a record neither looks up nor hashes its writer schema.
+ */
+@Internal
+public class RegistryAvroRowDataDeserializationSchema implements DeserializationSchema<RowData> {
+
+	private static final long serialVersionUID = 1L;
+
+	/** Maximum number of writer schemas for which decoders are kept. */
+	private static final int MAX_CACHED_DECODERS = 32;
+
+	private final RowType rowType;
+
+	private final TypeInformation<RowData> typeInfo;
+
+	/** Provider for the coder which looks up the writer schemas. */
+	private final SchemaCoder.SchemaCoderProvider schemaCoderProvider;
+
+	private transient ConfluentSchemaRegistryCoder schemaCoder;
+
+	private transient Schema readerSchema;
+
+	/** Decoders for the most recently used writer schemas, keyed by the schema id. */
+	private transient Map<Integer, AvroRowDataDecoder> decoders;
+
+	private transient BinaryDecoder binaryDecoder;
+
+	public RegistryAvroRowDataDeserializationSchema(
+			RowType rowType,
+			TypeInformation<RowData> typeInfo,
+			String url) {
+		this(
+			rowType,
+			typeInfo,
+			new CachedSchemaCoderProvider(url, ConfluentRegistryAvroDeserializationSchema.DEFAULT_IDENTITY_MAP_CAPACITY));
+	}
+
+	public RegistryAvroRowDataDeserializationSchema(
+			RowType rowType,
+			TypeInformation<RowData> typeInfo,
+			SchemaCoder.SchemaCoderProvider schemaCoderProvider) {
+		this.rowType = rowType;
+		this.typeInfo = typeInfo;
+		this.schemaCoderProvider = schemaCoderProvider;
+	}
+
+	@Override
+	public void open(InitializationContext context) throws Exception {
+		final SchemaCoder coder = schemaCoderProvider.get();
+		if (!(coder instanceof ConfluentSchemaRegistryCoder)) {
+			throw new IllegalStateException("Expected a ConfluentSchemaRegistryCoder, but got " + coder);
+		}
+		this.schemaCoder = (ConfluentSchemaRegistryCoder) coder;
+		this.readerSchema = AvroSchemaConverter.convertToSchema(rowType);
+		this.decoders = new LinkedHashMap<Integer, AvroRowDataDecoder>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Integer, AvroRowDataDecoder> eldest) {
+				return size() > MAX_CACHED_DECODERS;
+			}
+		};
+	}
+
+	@Override
+	public RowData deserialize(@Nullable byte[] message) throws IOException {
+		if (message == null) {
+			return null;
+		}
+		try {
+			final int schemaId = ConfluentSchemaRegistryCoder.readSchemaId(message);
+			AvroRowDataDecoder decoder = decoders.get(schemaId);
+			if (decoder == null) {
+				decoder = new AvroRowDataDecoder(schemaCoder.getSchemaById(schemaId), readerSchema, rowType);
+				decoders.put(schemaId, decoder);
+			}
+
+			final int headerLength = ConfluentSchemaRegistryCoder.HEADER_LENGTH;
+			binaryDecoder = DecoderFactory.get().binaryDecoder(
+				message,
+				headerLength,
+				message.length - headerLength,
+				binaryDecoder);
+			return decoder.decode(binaryDecoder);
+		} catch (Exception e) {
+			throw new IOException("Failed to deserialize Avro record.", e);
+		}
+	}
+
+	@Override
+	public boolean isEndOfStream(RowData nextElement) {
+		return false;
+	}
+
+	@Override
+	public TypeInformation<RowData> getProducedType() {
+		return typeInfo;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (o == null || getClass() != o.getClass()) {
+			return false;
+		}
+		RegistryAvroRowDataDeserializationSchema that = (RegistryAvroRowDataDeserializationSchema) o;
+		return rowType.equals(that.rowType) &&
+				typeInfo.equals(that.typeInfo) &&
+				schemaCoderProvider.equals(that.schemaCoderProvider);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(rowType, typeInfo, schemaCoderProvider);
+	}
+}
@@ -22,10 +22,7 @@ import org.apache.flink.annotation.Internal;
 import org.apache.flink.annotation.VisibleForTesting;
 import org.apache.flink.api.common.serialization.DeserializationSchema;
 import org.apache.flink.api.common.typeinfo.TypeInformation;
-import org.apache.flink.formats.avro.AvroRowDataDeserializationSchema;
-import org.apache.flink.formats.avro.AvroToRowDataConverters;
-import org.apache.flink.formats.avro.registry.confluent.ConfluentRegistryAvroDeserializationSchema;
-import org.apache.flink.formats.avro.typeutils.AvroSchemaConverter;
+import org.apache.flink.formats.avro.registry.confluent.RegistryAvroRowDataDeserializationSchema;
 import org.apache.flink.table.api.DataTypes;
 import org.apache.flink.table.data.GenericRowData;
 import org.apache.flink.table.data.RowData;
@@ -78,7 +75,7 @@ public final class DebeziumAvroDeserializationSchema implements DeserializationS
 	/**
 	 * The deserializer to deserialize Debezium Avro data.
 	 */
-	private final AvroRowDataDeserializationSchema avroDeserializer;
+	private final DeserializationSchema<RowData> avroDeserializer;
 
 	/**
 	 * TypeInformation of the produced {@link RowData}.
@@ -93,18 +90,16 @@ public final class DebeziumAvroDeserializationSchema implements DeserializationS
 		RowType debeziumAvroRowType = createDebeziumAvroRowType(
 			fromLogicalToDataType(rowType));
 
-		this.avroDeserializer = new AvroRowDataDeserializationSchema(
-			ConfluentRegistryAvroDeserializationSchema.forGeneric(
-				AvroSchemaConverter.convertToSchema(debeziumAvroRowType),
-				schemaRegistryUrl),
-			AvroToRowDataConverters.createRowConverter(debeziumAvroRowType),
-			producedTypeInfo);
+		this.avroDeserializer = new RegistryAvroRowDataDeserializationSchema(
+			debeziumAvroRowType,
+			producedTypeInfo,
+			schemaRegistryUrl);
 	}
 
 	@VisibleForTesting
 	DebeziumAvroDeserializationSchema(
 			TypeInformation<RowData> producedTypeInfo,
-			AvroRowDataDeserializationSchema avroDeserializer) {
+			DeserializationSchema<RowData> avroDeserializer) {
 		this.producedTypeInfo = producedTypeInfo;
 		this.avroDeserializer = avroDeserializer;
 	}
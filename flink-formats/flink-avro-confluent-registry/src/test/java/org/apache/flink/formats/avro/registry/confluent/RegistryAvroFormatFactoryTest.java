@@ -21,9 +21,7 @@ package org.apache.flink.formats.avro.registry.confluent;
 import org.apache.flink.api.common.serialization.DeserializationSchema;
 import org.apache.flink.api.common.serialization.SerializationSchema;
 import org.apache.flink.configuration.Configuration;
-import org.apache.flink.formats.avro.AvroRowDataDeserializationSchema;
 import org.apache.flink.formats.avro.AvroRowDataSerializationSchema;
-import org.apache.flink.formats.avro.AvroToRowDataConverters;
 import org.apache.flink.formats.avro.RowDataToAvroConverters;
 import org.apache.flink.formats.avro.typeutils.AvroSchemaConverter;
 import org.apache.flink.table.api.DataTypes;
@@ -71,13 +69,11 @@ public class RegistryAvroFormatFactoryTest {
 
 	@Test
 	public void testDeserializationSchema() {
-		final AvroRowDataDeserializationSchema expectedDeser =
-				new AvroRowDataDeserializationSchema(
-						ConfluentRegistryAvroDeserializationSchema.forGeneric(
-								AvroSchemaConverter.convertToSchema(ROW_TYPE),
-								REGISTRY_URL),
-						AvroToRowDataConverters.createRowConverter(ROW_TYPE),
-						InternalTypeInfo.of(ROW_TYPE));
+		final RegistryAvroRowDataDeserializationSchema expectedDeser =
+				new RegistryAvroRowDataDeserializationSchema(
+						ROW_TYPE,
+						InternalTypeInfo.of(ROW_TYPE),
+						REGISTRY_URL);
 
 		final DynamicTableSource actualSource = createTableSource(getDefaultOptions());
 		assertThat(actualSource, instanceOf(TestDynamicTableFactory.DynamicTableSourceMock.class));
@@ -18,10 +18,7 @@
 
 package org.apache.flink.formats.avro.registry.confluent;
 
-import org.apache.flink.formats.avro.AvroRowDataDeserializationSchema;
 import org.apache.flink.formats.avro.AvroRowDataSerializationSchema;
-import org.apache.flink.formats.avro.AvroToRowDataConverters;
-import org.apache.flink.formats.avro.RegistryAvroDeserializationSchema;
 import org.apache.flink.formats.avro.RegistryAvroSerializationSchema;
 import org.apache.flink.formats.avro.RowDataToAvroConverters;
 import org.apache.flink.formats.avro.generated.Address;
@@ -47,7 +44,9 @@ import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.apache.flink.core.testutils.FlinkMatchers.containsCause;
 import static org.apache.flink.formats.avro.utils.AvroTestUtils.writeRecord;
@@ -57,7 +56,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
 
 /**
- * Tests for {@link AvroRowDataDeserializationSchema} and
+ * Tests for {@link RegistryAvroRowDataDeserializationSchema} and
  * {@link AvroRowDataSerializationSchema} for schema registry avro.
  */
 public class RegistryAvroRowDataSeDeSchemaTest {
@@ -123,7 +122,7 @@ public class RegistryAvroRowDataSeDeSchemaTest {
 		DataType dataType = AvroSchemaConverter.convertToDataType(ADDRESS_SCHEMA.toString());
 		RowType rowType = (RowType) dataType.getLogicalType();
 
-		AvroRowDataDeserializationSchema deserializer = getDeserializationSchema(rowType, ADDRESS_SCHEMA);
+		RegistryAvroRowDataDeserializationSchema deserializer = getDeserializationSchema(rowType);
 
 		deserializer.open(null);
 
@@ -134,15 +133,55 @@ public class RegistryAvroRowDataSeDeSchemaTest {
 		deserializer.deserialize(oriBytes);
 	}
 
+	@Test
+	public void testRowDataReadWithMultipleWriterSchemas() throws Exception {
+		RowType fullRowType = (RowType) AvroSchemaConverter
+			.convertToDataType(ADDRESS_SCHEMA.toString()).getLogicalType();
+		RowType compatibleRowType = (RowType) AvroSchemaConverter
+			.convertToDataType(ADDRESS_SCHEMA_COMPATIBLE.toString()).getLogicalType();
+
+		AvroRowDataSerializationSchema fullSerializer = getSerializationSchema(fullRowType, ADDRESS_SCHEMA);
+		AvroRowDataSerializationSchema compatibleSerializer =
+				getSerializationSchema(compatibleRowType, ADDRESS_SCHEMA_COMPATIBLE);
+		fullSerializer.open(null);
+		compatibleSerializer.open(null);
+		byte[] fullRecord = fullSerializer.serialize(address2RowData(address));
+		byte[] compatibleRecord = compatibleSerializer.serialize(GenericRowData.of(
+				address.getNum(),
+				new BinaryStringData(address.getStreet().toString())));
+
+		// the writer schemas are only looked up once, the decoders are cached by schema id
+		AtomicInteger schemaLookups = new AtomicInteger();
+		ConfluentSchemaRegistryCoder registryCoder = new ConfluentSchemaRegistryCoder(SUBJECT, client) {
+			@Override
+			Schema getSchemaById(int schemaId) throws IOException {
+				schemaLookups.incrementAndGet();
+				return super.getSchemaById(schemaId);
+			}
+		};
+		RegistryAvroRowDataDeserializationSchema deserializer = new RegistryAvroRowDataDeserializationSchema(
+				compatibleRowType,
+				InternalTypeInfo.of(compatibleRowType),
+				() -> registryCoder);
+		deserializer.open(null);
+
+		for (int i = 0; i < 3; i++) {
+			for (byte[] record : Arrays.asList(fullRecord, compatibleRecord)) {
+				RowData rowData = deserializer.deserialize(record);
+				assertThat(rowData.getArity(), equalTo(2));
+				assertEquals(address.getNum(), rowData.getInt(0));
+				assertEquals(address.getStreet(), rowData.getString(1).toString());
+			}
+		}
+		assertEquals(2, schemaLookups.get());
+	}
+
 	private void testRowDataWriteReadWithSchema(Schema schema) throws Exception {
 		DataType dataType = AvroSchemaConverter.convertToDataType(schema.toString());
 		RowType rowType = (RowType) dataType.getLogicalType();
 
 		AvroRowDataSerializationSchema serializer = getSerializationSchema(rowType, schema);
-		Schema writeSchema = AvroSchemaConverter
-			.convertToSchema(dataType.getLogicalType());
-		AvroRowDataDeserializationSchema deserializer =
-				getDeserializationSchema(rowType, writeSchema);
+		RegistryAvroRowDataDeserializationSchema deserializer = getDeserializationSchema(rowType);
 
 		serializer.open(null);
 		deserializer.open(null);
@@ -177,17 +216,12 @@ public class RegistryAvroRowDataSeDeSchemaTest {
 				RowDataToAvroConverters.createConverter(rowType));
 	}
 
-	private static AvroRowDataDeserializationSchema getDeserializationSchema(
-			RowType rowType,
-			Schema avroSchema) {
+	private static RegistryAvroRowDataDeserializationSchema getDeserializationSchema(RowType rowType) {
 		ConfluentSchemaRegistryCoder registryCoder = new ConfluentSchemaRegistryCoder(SUBJECT, client);
-		return new AvroRowDataDeserializationSchema(
-				new RegistryAvroDeserializationSchema<GenericRecord>(
-						GenericRecord.class,
-						avroSchema,
-						() -> registryCoder),
-				AvroToRowDataConverters.createRowConverter(rowType),
-				InternalTypeInfo.of(rowType));
+		return new RegistryAvroRowDataDeserializationSchema(
+				rowType,
+				InternalTypeInfo.of(rowType),
+				() -> registryCoder);
 	}
 
 	private static RowData address2RowData(Address address) {
@@ -20,13 +20,11 @@ package org.apache.flink.formats.avro.registry.confluent.debezium;
 
 import org.apache.flink.api.common.serialization.DeserializationSchema;
 import org.apache.flink.api.common.serialization.SerializationSchema;
-import org.apache.flink.formats.avro.AvroRowDataDeserializationSchema;
 import org.apache.flink.formats.avro.AvroRowDataSerializationSchema;
-import org.apache.flink.formats.avro.AvroToRowDataConverters;
-import org.apache.flink.formats.avro.RegistryAvroDeserializationSchema;
 import org.apache.flink.formats.avro.RegistryAvroSerializationSchema;
 import org.apache.flink.formats.avro.RowDataToAvroConverters;
 import org.apache.flink.formats.avro.registry.confluent.ConfluentSchemaRegistryCoder;
+import org.apache.flink.formats.avro.registry.confluent.RegistryAvroRowDataDeserializationSchema;
 import org.apache.flink.formats.avro.typeutils.AvroSchemaConverter;
 import org.apache.flink.table.data.GenericRowData;
 import org.apache.flink.table.data.RowData;
@@ -157,18 +155,14 @@ public class DebeziumAvroSerDeSchemaTest {
 			.collect(Collectors.toList());
 	}
 
-	private AvroRowDataDeserializationSchema getDeserializationSchema(RowType rowType) {
+	private RegistryAvroRowDataDeserializationSchema getDeserializationSchema(RowType rowType) {
 
 		final ConfluentSchemaRegistryCoder registryCoder = new ConfluentSchemaRegistryCoder(SUBJECT, client);
 
-		return new AvroRowDataDeserializationSchema(
-			new RegistryAvroDeserializationSchema<>(
-				GenericRecord.class,
-				AvroSchemaConverter.convertToSchema(rowType),
-				() -> registryCoder
-			),
-			AvroToRowDataConverters.createRowConverter(rowType),
-			InternalTypeInfo.of(rowType));
+		return new RegistryAvroRowDataDeserializationSchema(
+			rowType,
+			InternalTypeInfo.of(rowType),
+			() -> registryCoder);
 	}
 
 	private AvroRowDataSerializationSchema getSerializationSchema(RowType rowType) {
@@ -88,6 +88,9 @@ public class AvroDeserializationSchema<T> implements DeserializationSchema<T> {
 	/** Avro schema for the reader. */
 	private transient Schema reader;
 
+	/** Avro data model of the records, used to create datum readers. */
+	private transient GenericData avroData;
+
 	/**
 	 * Creates a Avro deserialization schema.
 	 *
@@ -108,10 +111,6 @@ public class AvroDeserializationSchema<T> implements DeserializationSchema<T> {
 		}
 	}
 
-	GenericDatumReader<T> getDatumReader() {
-		return datumReader;
-	}
-
 	Schema getReaderSchema() {
 		return reader;
 	}
@@ -129,11 +128,6 @@ public class AvroDeserializationSchema<T> implements DeserializationSchema<T> {
 		// read record
 		checkAvroInitialized();
 		inputStream.setBuffer(message);
-		Schema readerSchema = getReaderSchema();
-		GenericDatumReader<T> datumReader = getDatumReader();
-
-		datumReader.setSchema(readerSchema);
-
 		return datumReader.read(null, decoder);
 	}
 
@@ -148,18 +142,33 @@ public class AvroDeserializationSchema<T> implements DeserializationSchema<T> {
 			SpecificData specificData = AvroFactory.getSpecificDataForClass(
 				(Class<? extends SpecificData>) recordClazz,
 				cl);
-			this.datumReader = new SpecificDatumReader<>(specificData);
+			this.avroData = specificData;
 			this.reader = AvroFactory.extractAvroSpecificSchema(recordClazz, specificData);
 		} else {
 			this.reader = new Schema.Parser().parse(schemaString);
-			GenericData genericData = new GenericData(cl);
-			this.datumReader = new GenericDatumReader<>(null, this.reader, genericData);
+			this.avroData = new GenericData(cl);
 		}
 
+		// the schemas are set only once, because setting them drops the reader's cached resolver
+		this.datumReader = createDatumReader();
+		this.datumReader.setSchema(reader);
+
 		this.inputStream = new MutableByteArrayInputStream();
 		this.decoder = DecoderFactory.get().binaryDecoder(inputStream, null);
 	}
 
+	/**
+	 * Creates a new datum reader for the records, with the reader's schema as expected schema. Must
+	 * only be called after {@link #checkAvroInitialized()}.
+	 */
+	GenericDatumReader<T> createDatumReader() {
+		if (SpecificRecord.class.isAssignableFrom(recordClazz)) {
+			return new SpecificDatumReader<>((SpecificData) avroData);
+		} else {
+			return new GenericDatumReader<>(null, reader, avroData);
+		}
+	}
+
 	@Override
 	public boolean isEndOfStream(T nextElement) {
 		return false;
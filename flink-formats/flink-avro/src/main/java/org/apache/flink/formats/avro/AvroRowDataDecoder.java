@@ -0,0 +1,240 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.formats.avro;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.formats.avro.typeutils.AvroSchemaConverter;
+import org.apache.flink.table.data.DecimalData;
+import org.apache.flink.table.data.GenericArrayData;
+import org.apache.flink.table.data.GenericMapData;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.data.TimestampData;
+import org.apache.flink.table.types.logical.ArrayType;
+import org.apache.flink.table.types.logical.DecimalType;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.RowType;
+import org.apache.flink.table.types.logical.utils.LogicalTypeUtils;
+
+import org.apache.avro.Schema;
+import org.apache.avro.io.Decoder;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.avro.io.ResolvingDecoder;
+import org.apache.avro.util.Utf8;
+
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.apache.flink.formats.avro.typeutils.AvroSchemaConverter.extractValueTypeToAvroMap;
+
+/**
+ * Decodes Avro binary data of a writer schema straight into {@link RowData}, without the
+ * intermediate {@link org.apache.avro.generic.GenericRecord} of a datum reader.
+ *
+ * <p>The decoder is compiled once for a pair of a writer schema and a {@link RowType}: the
+ * resolution of the writer schema against the reader schema of the row type, see
+ * {@link AvroSchemaConverter#convertToSchema(LogicalType)}, is done upfront by a
+ * {@link ResolvingDecoder}, and the reader schema is turned into a tree of field readers which
+ * write the decoded values into the internal data structures of the row type. Decoding a record
+ * then only walks that tree. The produced rows are the same as those of a
+ * {@link org.apache.avro.generic.GenericDatumReader} followed by
+ * {@link AvroToRowDataConverters#createRowConverter(RowType)}.
+ *
+ * <p>A decoder keeps state between records, so it must not be used by multiple threads.
+ */
+@Internal
+public final class AvroRowDataDecoder {
+
+	private final ResolvingDecoder resolvingDecoder;
+
+	private final FieldReader rowReader;
+
+	/** Reused for the strings of all records, their bytes are copied into the rows. */
+	private final Utf8 scratchString = new Utf8();
+
+	/**
+	 * Creates a decoder for the records of the given writer schema.
+	 *
+	 * @param writerSchema The schema the records were written with.
+	 * @param readerSchema The reader schema of the row type.
+	 * @param rowType The type of the decoded rows.
+	 */
+	public AvroRowDataDecoder(Schema writerSchema, Schema readerSchema, RowType rowType) throws IOException {
+		this.resolvingDecoder = DecoderFactory.get().resolvingDecoder(
+			Schema.applyAliases(writerSchema, readerSchema),
+			readerSchema,
+			null);
+		this.rowReader = createNullableReader(rowType, readerSchema);
+	}
+
+	/**
+	 * Decodes the next record of the given decoder.
+	 */
+	public RowData decode(Decoder in) throws IOException {
+		resolvingDecoder.configure(in);
+		final RowData row = (RowData) rowReader.read(resolvingDecoder);
+		resolvingDecoder.drain();
+		return row;
+	}
+
+	// ------------------------------------------------------------------------
+
+	/**
+	 * Reads a value of the reader schema from the resolving decoder and returns it as an object of
+	 * the internal data structures.
+	 */
+	@FunctionalInterface
+	private interface FieldReader {
+		Object read(ResolvingDecoder in) throws IOException;
+	}
+
+	private FieldReader createNullableReader(LogicalType type, Schema schema) {
+		if (schema.getType() != Schema.Type.UNION) {
+			return createReader(type, schema);
+		}
+		// the reader schemas of nullable types are unions of null and the non null type
+		final List<Schema> branches = schema.getTypes();
+		final FieldReader[] branchReaders = new FieldReader[branches.size()];
+		for (int i = 0; i < branchReaders.length; i++) {
+			final Schema branch = branches.get(i);
+			branchReaders[i] = branch.getType() == Schema.Type.NULL ?
+				in -> {
+					in.readNull();
+					return null;
+				} :
+				createReader(type, branch);
+		}
+		return in -> branchReaders[in.readIndex()].read(in);
+	}
+
+	private FieldReader createReader(LogicalType type, Schema schema) {
+		switch (type.getTypeRoot()) {
+			case NULL:
+				return in -> {
+					in.readNull();
+					return null;
+				};
+			case BOOLEAN:
+				return ResolvingDecoder::readBoolean;
+			case TINYINT:
+				return in -> (byte) in.readInt();
+			case SMALLINT:
+				return in -> (short) in.readInt();
+			case INTEGER:
+			case DATE:
+			case TIME_WITHOUT_TIME_ZONE:
+				return ResolvingDecoder::readInt;
+			case BIGINT:
+				return ResolvingDecoder::readLong;
+			case TIMESTAMP_WITHOUT_TIME_ZONE:
+				return in -> TimestampData.fromEpochMillis(in.readLong());
+			case FLOAT:
+				return ResolvingDecoder::readFloat;
+			case DOUBLE:
+				return ResolvingDecoder::readDouble;
+			case CHAR:
+			case VARCHAR:
+				return this::readString;
+			case BINARY:
+			case VARBINARY:
+				return AvroRowDataDecoder::readBytes;
+			case DECIMAL:
+				final DecimalType decimalType = (DecimalType) type;
+				final int precision = decimalType.getPrecision();
+				final int scale = decimalType.getScale();
+				return in -> DecimalData.fromUnscaledBytes(readBytes(in), precision, scale);
+			case ARRAY:
+				return createArrayReader((ArrayType) type, schema);
+			case MAP:
+			case MULTISET:
+				return createMapReader(type, schema);
+			case ROW:
+				return createRowReader((RowType) type, schema);
+			case RAW:
+			default:
+				throw new UnsupportedOperationException("Unsupported type: " + type);
+		}
+	}
+
+	private FieldReader createArrayReader(ArrayType arrayType, Schema schema) {
+		final FieldReader elementReader = createNullableReader(arrayType.getElementType(), schema.getElementType());
+		final Class<?> elementClass = LogicalTypeUtils.toInternalConversionClass(arrayType.getElementType());
+		return in -> {
+			final List<Object> elements = new ArrayList<>();
+			for (long n = in.readArrayStart(); n != 0; n = in.arrayNext()) {
+				for (long i = 0; i < n; i++) {
+					elements.add(elementReader.read(in));
+				}
+			}
+			final Object[] array = (Object[]) Array.newInstance(elementClass, elements.size());
+			return new GenericArrayData(elements.toArray(array));
+		};
+	}
+
+	private FieldReader createMapReader(LogicalType type, Schema schema) {
+		final FieldReader valueReader = createNullableReader(extractValueTypeToAvroMap(type), schema.getValueType());
+		return in -> {
+			final Map<Object, Object> map = new HashMap<>();
+			for (long n = in.readMapStart(); n != 0; n = in.mapNext()) {
+				for (long i = 0; i < n; i++) {
+					final Object key = readString(in);
+					map.put(key, valueReader.read(in));
+				}
+			}
+			return new GenericMapData(map);
+		};
+	}
+
+	private FieldReader createRowReader(RowType rowType, Schema schema) {
+		final List<Schema.Field> fields = schema.getFields();
+		final FieldReader[] fieldReaders = new FieldReader[fields.size()];
+		for (int i = 0; i < fieldReaders.length; i++) {
+			fieldReaders[i] = createNullableReader(rowType.getTypeAt(i), fields.get(i).schema());
+		}
+		final int arity = rowType.getFieldCount();
+		return in -> {
+			final GenericRowData row = new GenericRowData(arity);
+			// the fields of the writer are read in their order, missing fields get their defaults
+			for (Schema.Field field : in.readFieldOrder()) {
+				row.setField(field.pos(), fieldReaders[field.pos()].read(in));
+			}
+			return row;
+		};
+	}
+
+	private StringData readString(ResolvingDecoder in) throws IOException {
+		final Utf8 utf8 = in.readString(scratchString);
+		final byte[] bytes = new byte[utf8.getByteLength()];
+		System.arraycopy(utf8.getBytes(), 0, bytes, 0, bytes.length);
+		return StringData.fromBytes(bytes);
+	}
+
+	private static byte[] readBytes(ResolvingDecoder in) throws IOException {
+		final ByteBuffer buffer = in.readBytes(null);
+		final byte[] bytes = new byte[buffer.remaining()];
+		buffer.get(bytes);
+		return bytes;
+	}
+}
@@ -26,6 +26,8 @@ import org.apache.avro.specific.SpecificRecord;
 import javax.annotation.Nullable;
 
 import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -37,12 +39,21 @@ public class RegistryAvroDeserializationSchema<T> extends AvroDeserializationSch
 
 	private static final long serialVersionUID = -884738268437806062L;
 
+	/** Maximum number of writer schemas for which datum readers are kept. */
+	private static final int MAX_CACHED_DATUM_READERS = 32;
+
 	/** Provider for schema coder. Used for initializing in each task. */
 	private final SchemaCoder.SchemaCoderProvider schemaCoderProvider;
 
 	/** Coder used for reading schema from incoming stream. */
 	private transient SchemaCoder schemaCoder;
 
+	/**
+	 * Datum readers for the most recently used writer schemas. A reader keeps the resolver of its
+	 * writer and reader schema, so it is set up only once per writer schema.
+	 */
+	private transient Map<Schema, GenericDatumReader<T>> datumReaders;
+
 	/**
 	 * Creates Avro deserialization schema that reads schema from input stream using provided {@link SchemaCoder}.
 	 *
@@ -65,12 +76,14 @@ public class RegistryAvroDeserializationSchema<T> extends AvroDeserializationSch
 			checkAvroInitialized();
 			getInputStream().setBuffer(message);
 			Schema writerSchema = schemaCoder.readSchema(getInputStream());
-			Schema readerSchema = getReaderSchema();
-
-			GenericDatumReader<T> datumReader = getDatumReader();
 
-			datumReader.setSchema(writerSchema);
-			datumReader.setExpected(readerSchema);
+			GenericDatumReader<T> datumReader = datumReaders.get(writerSchema);
+			if (datumReader == null) {
+				datumReader = createDatumReader();
+				datumReader.setSchema(writerSchema);
+				datumReader.setExpected(getReaderSchema());
+				datumReaders.put(writerSchema, datumReader);
+			}
 
 			return datumReader.read(null, getDecoder());
 	}
@@ -81,6 +94,16 @@ public class RegistryAvroDeserializationSchema<T> extends AvroDeserializationSch
 		if (schemaCoder == null) {
 			this.schemaCoder = schemaCoderProvider.get();
 		}
+		if (datumReaders == null) {
+			this.datumReaders = new LinkedHashMap<Schema, GenericDatumReader<T>>(16, 0.75f, true) {
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<Schema, GenericDatumReader<T>> eldest) {
+					return size() > MAX_CACHED_DATUM_READERS;
+				}
+			};
+		}
 	}
 
 	@Override
@@ -0,0 +1,203 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.formats.avro;
+
+import org.apache.flink.formats.avro.typeutils.AvroSchemaConverter;
+import org.apache.flink.table.data.DecimalData;
+import org.apache.flink.table.data.GenericArrayData;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.data.TimestampData;
+import org.apache.flink.table.types.logical.RowType;
+
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.avro.io.Encoder;
+import org.apache.avro.io.EncoderFactory;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.apache.flink.table.api.DataTypes.ARRAY;
+import static org.apache.flink.table.api.DataTypes.BIGINT;
+import static org.apache.flink.table.api.DataTypes.BOOLEAN;
+import static org.apache.flink.table.api.DataTypes.BYTES;
+import static org.apache.flink.table.api.DataTypes.DATE;
+import static org.apache.flink.table.api.DataTypes.DECIMAL;
+import static org.apache.flink.table.api.DataTypes.DOUBLE;
+import static org.apache.flink.table.api.DataTypes.FIELD;
+import static org.apache.flink.table.api.DataTypes.FLOAT;
+import static org.apache.flink.table.api.DataTypes.INT;
+import static org.apache.flink.table.api.DataTypes.MAP;
+import static org.apache.flink.table.api.DataTypes.ROW;
+import static org.apache.flink.table.api.DataTypes.SMALLINT;
+import static org.apache.flink.table.api.DataTypes.STRING;
+import static org.apache.flink.table.api.DataTypes.TIME;
+import static org.apache.flink.table.api.DataTypes.TIMESTAMP;
+import static org.apache.flink.table.api.DataTypes.TINYINT;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the {@link AvroRowDataDecoder}.
+ */
+public class AvroRowDataDecoderTest {
+
+	private static final RowType ROW_TYPE = (RowType) ROW(
+		FIELD("bool", BOOLEAN()),
+		FIELD("tinyint", TINYINT()),
+		FIELD("smallint", SMALLINT()),
+		FIELD("int", INT().notNull()),
+		FIELD("bigint", BIGINT()),
+		FIELD("float", FLOAT()),
+		FIELD("double", DOUBLE()),
+		FIELD("name", STRING()),
+		FIELD("bytes", BYTES()),
+		FIELD("decimal", DECIMAL(19, 6)),
+		FIELD("doubles", ARRAY(DOUBLE())),
+		FIELD("time", TIME(0)),
+		FIELD("date", DATE()),
+		FIELD("timestamp3", TIMESTAMP(3)),
+		FIELD("map", MAP(STRING(), BIGINT())),
+		FIELD("map2array", MAP(STRING(), ARRAY(INT()))),
+		FIELD("nested", ROW(
+			FIELD("id", BIGINT().notNull()),
+			FIELD("tags", ARRAY(STRING())))))
+		.notNull()
+		.getLogicalType();
+
+	private static final Schema SCHEMA = AvroSchemaConverter.convertToSchema(ROW_TYPE);
+
+	@Test
+	public void testDecodesSameRowsAsDatumReader() throws Exception {
+		final Schema nestedSchema = SCHEMA.getField("nested").schema().getTypes().get(1);
+		final GenericRecord nested = new GenericData.Record(nestedSchema);
+		nested.put(0, 42L);
+		nested.put(1, Arrays.asList("a", null, "c"));
+
+		final Map<String, Long> map = new HashMap<>();
+		map.put("flink", 12L);
+		map.put("avro", null);
+		final Map<String, Object> map2array = Collections.singletonMap("list", Arrays.asList(1, 2, 3));
+
+		final GenericRecord full = new GenericData.Record(SCHEMA);
+		full.put(0, true);
+		full.put(1, (int) Byte.MAX_VALUE);
+		full.put(2, (int) Short.MAX_VALUE);
+		full.put(3, 33);
+		full.put(4, 44L);
+		full.put(5, 12.34F);
+		full.put(6, 23.45);
+		full.put(7, "hello avro");
+		full.put(8, ByteBuffer.wrap(new byte[]{1, 2, 4, 5, 6, 7, 8, 12}));
+		full.put(9, ByteBuffer.wrap(BigDecimal.valueOf(123456789, 6).unscaledValue().toByteArray()));
+		full.put(10, Arrays.asList(1.2, null, 567.8901));
+		full.put(11, 10087);
+		full.put(12, 18397);
+		full.put(13, 1589530213123L);
+		full.put(14, map);
+		full.put(15, map2array);
+		full.put(16, nested);
+
+		// only the not null field is set
+		final GenericRecord sparse = new GenericData.Record(SCHEMA);
+		sparse.put(3, -1);
+
+		final AvroRowDataDecoder decoder = new AvroRowDataDecoder(SCHEMA, SCHEMA, ROW_TYPE);
+		for (GenericRecord record : Arrays.asList(full, sparse, full)) {
+			final byte[] bytes = write(SCHEMA, record);
+			assertEquals(readWithDatumReader(SCHEMA, SCHEMA, bytes), decode(decoder, bytes));
+		}
+
+		final RowData row = decode(decoder, write(SCHEMA, full));
+		assertEquals(StringData.fromString("hello avro"), row.getString(7));
+		assertEquals(
+			DecimalData.fromBigDecimal(BigDecimal.valueOf(123456789, 6), 19, 6),
+			row.getDecimal(9, 19, 6));
+		assertEquals(TimestampData.fromEpochMillis(1589530213123L), row.getTimestamp(13, 3));
+		assertEquals(
+			GenericRowData.of(
+				42L,
+				new GenericArrayData(new Object[]{
+					StringData.fromString("a"), null, StringData.fromString("c")})),
+			row.getRow(16, 2));
+	}
+
+	@Test
+	public void testDecodesRecordsOfEvolvedWriterSchema() throws Exception {
+		// the writer has the fields in another order, writes an int for a bigint field, is
+		// missing the nullable fields of the reader and has a field unknown to the reader
+		final Schema writerSchema = new Schema.Parser().parse(
+			"{\"type\": \"record\", \"name\": \"record\", \"fields\": [" +
+				"{\"name\": \"name\", \"type\": [\"null\", \"string\"]}," +
+				"{\"name\": \"unknown\", \"type\": {\"type\": \"array\", \"items\": \"string\"}}," +
+				"{\"name\": \"bigint\", \"type\": \"int\"}," +
+				"{\"name\": \"int\", \"type\": \"int\"}]}");
+		final GenericRecord record = new GenericData.Record(writerSchema);
+		record.put("name", "evolved");
+		record.put("unknown", Arrays.asList("x", "y"));
+		record.put("bigint", 7);
+		record.put("int", 8);
+
+		final AvroRowDataDecoder decoder = new AvroRowDataDecoder(writerSchema, SCHEMA, ROW_TYPE);
+		final byte[] bytes = write(writerSchema, record);
+		final RowData row = decode(decoder, bytes);
+
+		assertEquals(readWithDatumReader(writerSchema, SCHEMA, bytes), row);
+		assertEquals(StringData.fromString("evolved"), row.getString(7));
+		assertEquals(7L, row.getLong(4));
+		assertEquals(8, row.getInt(3));
+		assertTrue(row.isNullAt(0));
+		assertTrue(row.isNullAt(16));
+	}
+
+	// ------------------------------------------------------------------------
+
+	private static byte[] write(Schema schema, GenericRecord record) throws IOException {
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		final Encoder encoder = EncoderFactory.get().binaryEncoder(out, null);
+		new GenericDatumWriter<GenericRecord>(schema).write(record, encoder);
+		encoder.flush();
+		return out.toByteArray();
+	}
+
+	private static RowData decode(AvroRowDataDecoder decoder, byte[] bytes) throws IOException {
+		final BinaryDecoder in = DecoderFactory.get().binaryDecoder(bytes, null);
+		return decoder.decode(in);
+	}
+
+	private static RowData readWithDatumReader(Schema writerSchema, Schema readerSchema, byte[] bytes) throws IOException {
+		final GenericDatumReader<GenericRecord> datumReader = new GenericDatumReader<>(writerSchema, readerSchema);
+		final GenericRecord record = datumReader.read(null, DecoderFactory.get().binaryDecoder(bytes, null));
+		return (RowData) AvroToRowDataConverters.createRowConverter(ROW_TYPE).convert(record);
+	}
+}
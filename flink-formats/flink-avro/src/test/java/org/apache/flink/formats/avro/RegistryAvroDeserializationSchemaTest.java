@@ -76,6 +76,56 @@ public class RegistryAvroDeserializationSchemaTest {
 		assertNull(genericRecord.get("country"));
 	}
 
+	@Test
+	public void testGenericRecordReadWithChangingWriterSchemas() throws IOException {
+		Schema streetOnlySchema = SchemaBuilder.record("Address")
+			.namespace("org.apache.flink.formats.avro.generated")
+			.fields()
+			.requiredString("street")
+			.endRecord();
+		Schema[] writerSchemas = {Address.getClassSchema(), streetOnlySchema};
+		int[] messageCount = {0};
+
+		RegistryAvroDeserializationSchema<GenericRecord> deserializer = new RegistryAvroDeserializationSchema<>(
+			GenericRecord.class,
+			SchemaBuilder.record("Address")
+				.fields()
+				.requiredString("street")
+				.optionalInt("num")
+				.endRecord(),
+			() -> new SchemaCoder() {
+				@Override
+				public Schema readSchema(InputStream in) {
+					return writerSchemas[messageCount[0]++ % writerSchemas.length];
+				}
+
+				@Override
+				public void writeSchema(Schema schema, OutputStream out) throws IOException {
+					//do nothing
+				}
+			}
+		);
+
+		GenericData.Record streetOnly = new GenericRecordBuilder(streetOnlySchema)
+			.set("street", "someStreet")
+			.build();
+
+		// alternate between the writer schemas to switch between the cached datum readers
+		for (int i = 0; i < 2; i++) {
+			GenericRecord genericRecord = deserializer.deserialize(writeRecord(
+				address,
+				Address.getClassSchema()));
+			assertEquals(address.getNum(), genericRecord.get("num"));
+			assertEquals(address.getStreet(), genericRecord.get("street").toString());
+
+			genericRecord = deserializer.deserialize(writeRecord(
+				streetOnly,
+				streetOnlySchema));
+			assertNull(genericRecord.get("num"));
+			assertEquals("someStreet", genericRecord.get("street").toString());
+		}
+	}
+
 	@Test
 	public void testSpecificRecordReadMoreFieldsThanWereWritten() throws IOException {
 		Schema smallerUserSchema = new Schema.Parser().parse(
@@ -26,6 +26,7 @@ import org.apache.flink.table.types.logical.DecimalType;
 import org.apache.flink.table.types.logical.RowType;
 import org.apache.flink.table.types.logical.utils.LogicalTypeChecks;
 
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.core.JsonParser;
 import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.databind.DeserializationFeature;
 import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.databind.JsonNode;
 import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.databind.ObjectMapper;
@@ -40,7 +41,8 @@ import static org.apache.flink.util.Preconditions.checkNotNull;
  * Deserialization schema from JSON to Flink Table/SQL internal data structure {@link RowData}.
  *
  * <p>Deserializes a <code>byte[]</code> message as a JSON object and reads
- * the specified fields.
+ * the specified fields. The values of all other fields are skipped without
+ * building a {@link JsonNode} tree for them.
  *
  * <p>Failures during deserialization are forwarded as wrapped IOExceptions.
  */
@@ -67,6 +69,11 @@ public class JsonRowDataDeserializationSchema implements DeserializationSchema<R
 	 **/
 	private final JsonToRowDataConverters.JsonToRowDataConverter runtimeConverter;
 
+	/**
+	 * Reader that builds the {@link JsonNode} tree of the fields to convert.
+	 */
+	private final JsonRowTreeReader treeReader;
+
 	/**
 	 * Object mapper for parsing the JSON.
 	 */
@@ -90,6 +97,7 @@ public class JsonRowDataDeserializationSchema implements DeserializationSchema<R
 		this.ignoreParseErrors = ignoreParseErrors;
 		this.runtimeConverter = new JsonToRowDataConverters(failOnMissingField, ignoreParseErrors, timestampFormat)
 			.createRowConverter(checkNotNull(rowType));
+		this.treeReader = new JsonRowTreeReader(rowType);
 		this.timestampFormat = timestampFormat;
 		boolean hasDecimalType = LogicalTypeChecks.hasNested(rowType, t -> t instanceof DecimalType);
 		if (hasDecimalType) {
@@ -100,7 +108,10 @@ public class JsonRowDataDeserializationSchema implements DeserializationSchema<R
 	@Override
 	public RowData deserialize(byte[] message) throws IOException {
 		try {
-			final JsonNode root = objectMapper.readTree(message);
+			final JsonNode root;
+			try (JsonParser parser = objectMapper.getFactory().createParser(message)) {
+				root = treeReader.read(objectMapper, parser);
+			}
 			return (RowData) runtimeConverter.convert(root);
 		} catch (Throwable t) {
 			if (ignoreParseErrors) {
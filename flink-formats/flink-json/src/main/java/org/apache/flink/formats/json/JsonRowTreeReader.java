@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.flink.formats.json;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.RowType;
+
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.core.JsonParser;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.core.JsonToken;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.databind.JsonNode;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reads the {@link JsonNode} tree of a JSON object for a {@link RowType} from a streaming
+ * {@link JsonParser}.
+ *
+ * <p>Only the fields of the row type are added to the tree. The values of all other fields are
+ * skipped by the parser without creating any nodes for them, which is the bulk of the work when a
+ * message has many more fields than the table reads. Nested objects of {@link RowType} fields are
+ * read the same way, the values of all other fields are read completely.
+ */
+@Internal
+public class JsonRowTreeReader implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * The readers for the fields of the row, by field name. The reader is null for fields that are
+	 * not of a row type.
+	 */
+	private final Map<String, JsonRowTreeReader> fieldReaders;
+
+	public JsonRowTreeReader(RowType rowType) {
+		this.fieldReaders = new HashMap<>();
+		for (RowType.RowField field : rowType.getFields()) {
+			LogicalType fieldType = field.getType();
+			fieldReaders.put(
+				field.getName(),
+				fieldType instanceof RowType ? new JsonRowTreeReader((RowType) fieldType) : null);
+		}
+	}
+
+	/**
+	 * Reads the tree of the next value of the parser. The parser is left on the last token of the
+	 * value.
+	 *
+	 * @return The tree of the value, or null if the parser has no more content.
+	 */
+	public JsonNode read(ObjectMapper objectMapper, JsonParser parser) throws IOException {
+		if (parser.currentToken() == null) {
+			parser.nextToken();
+		}
+		if (parser.currentToken() != JsonToken.START_OBJECT) {
+			// let the converters deal with values of unexpected types
+			return objectMapper.readTree(parser);
+		}
+
+		final ObjectNode node = objectMapper.createObjectNode();
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			final String fieldName = parser.getCurrentName();
+			parser.nextToken();
+			if (!fieldReaders.containsKey(fieldName)) {
+				parser.skipChildren();
+				continue;
+			}
+
+			final JsonRowTreeReader fieldReader = fieldReaders.get(fieldName);
+			node.set(
+				fieldName,
+				fieldReader == null ? objectMapper.readTree(parser) : fieldReader.read(objectMapper, parser));
+		}
+		return node;
+	}
+}
@@ -36,6 +36,7 @@ import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.databind.node.Obje
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.sql.Timestamp;
 import java.time.Instant;
@@ -398,6 +399,41 @@ public class JsonRowDataSerDeSchemaTest {
 		}
 	}
 
+	@Test
+	public void testDeserializationSkipsUnknownFields() throws Exception {
+		String json = "{\"unknownObject\": {\"a\": [1, {\"b\": null}], \"name\": \"skipped\"}," +
+			"\"id\": 1," +
+			"\"unknownArray\": [[\"x\"], {\"id\": 2}]," +
+			"\"nested\": {\"unknown\": {\"name\": \"skipped\"}, \"name\": \"flink\", \"tags\": {\"k\": 3}}," +
+			"\"unknownNull\": null," +
+			"\"missing\": null}";
+
+		DataType dataType = ROW(
+			FIELD("id", INT()),
+			FIELD("nested", ROW(
+				FIELD("name", STRING()),
+				FIELD("tags", MAP(STRING(), INT())))),
+			FIELD("missing", STRING()));
+		RowType rowType = (RowType) dataType.getLogicalType();
+
+		JsonRowDataDeserializationSchema deserializationSchema = new JsonRowDataDeserializationSchema(
+			rowType, InternalTypeInfo.of(rowType), true, false, TimestampFormat.ISO_8601);
+
+		Map<String, Integer> tags = new HashMap<>();
+		tags.put("k", 3);
+		Row expected = Row.of(1, Row.of("flink", tags), null);
+		Row actual = convertToExternal(deserializationSchema.deserialize(json.getBytes()), dataType);
+		assertEquals(expected, actual);
+
+		// malformed JSON in skipped fields still fails
+		try {
+			deserializationSchema.deserialize("{\"id\": 1, \"unknown\": [1, 2}".getBytes());
+			fail("expecting a parse failure");
+		} catch (IOException e) {
+			assertEquals("Failed to deserialize JSON '{\"id\": 1, \"unknown\": [1, 2}'.", e.getMessage());
+		}
+	}
+
 	@Test
 	public void testSerDeSQLTimestampFormat() throws Exception {
 		RowType rowType = (RowType) ROW(
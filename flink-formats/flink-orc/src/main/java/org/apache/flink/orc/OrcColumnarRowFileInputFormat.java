@@ -31,6 +31,7 @@ import org.apache.flink.table.data.vector.VectorizedColumnBatch;
 import org.apache.flink.table.filesystem.ColumnarRowIterator;
 import org.apache.flink.table.filesystem.PartitionFieldExtractor;
 import org.apache.flink.table.runtime.typeutils.InternalTypeInfo;
+import org.apache.flink.table.runtime.vector.VectorizedPredicate;
 import org.apache.flink.table.types.logical.LogicalType;
 import org.apache.flink.table.types.logical.RowType;
 
@@ -38,6 +39,8 @@ import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.hive.ql.exec.vector.VectorizedRowBatch;
 import org.apache.orc.TypeDescription;
 
+import javax.annotation.Nullable;
+
 import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -62,19 +65,48 @@ public class OrcColumnarRowFileInputFormat<BatchT, SplitT extends FileSourceSpli
 
 	private final ColumnBatchFactory<BatchT, SplitT> batchFactory;
 	private final RowType projectedOutputType;
+	@Nullable private final VectorizedPredicate filter;
+
+	public OrcColumnarRowFileInputFormat(
+			final OrcShim<BatchT> shim,
+			final Configuration hadoopConfig,
+			final TypeDescription schema,
+			final int[] selectedFields,
+			final List<OrcFilters.Predicate> conjunctPredicates,
+			final int batchSize,
+			final ColumnBatchFactory<BatchT, SplitT> batchFactory,
+			final RowType projectedOutputType) {
+		this(
+				shim,
+				hadoopConfig,
+				schema,
+				selectedFields,
+				conjunctPredicates,
+				null,
+				batchSize,
+				batchFactory,
+				projectedOutputType);
+	}
 
+	/**
+	 * Creates an ORC reader which additionally skips the rows of a batch that don't satisfy the
+	 * given vectorized filter, which is evaluated on the projected output type. The conjunct
+	 * predicates are pushed into the ORC reader and only skip row groups.
+	 */
 	public OrcColumnarRowFileInputFormat(
 			final OrcShim<BatchT> shim,
 			final Configuration hadoopConfig,
 			final TypeDescription schema,
 			final int[] selectedFields,
 			final List<OrcFilters.Predicate> conjunctPredicates,
+			@Nullable final VectorizedPredicate filter,
 			final int batchSize,
 			final ColumnBatchFactory<BatchT, SplitT> batchFactory,
 			final RowType projectedOutputType) {
 		super(shim, hadoopConfig, schema, selectedFields, conjunctPredicates, batchSize);
 		this.batchFactory = batchFactory;
 		this.projectedOutputType = projectedOutputType;
+		this.filter = filter;
 	}
 
 	@Override
@@ -85,7 +117,7 @@ public class OrcColumnarRowFileInputFormat<BatchT, SplitT extends FileSourceSpli
 			final int batchSize) {
 
 		final VectorizedColumnBatch flinkColumnBatch = batchFactory.create(split, orcBatch.getBatch());
-		return new VectorizedColumnReaderBatch<>(orcBatch, flinkColumnBatch, recycler);
+		return new VectorizedColumnReaderBatch<>(orcBatch, flinkColumnBatch, filter, recycler);
 	}
 
 	@Override
@@ -106,10 +138,12 @@ public class OrcColumnarRowFileInputFormat<BatchT, SplitT extends FileSourceSpli
 		VectorizedColumnReaderBatch(
 				final OrcVectorizedBatchWrapper<BatchT> orcBatch,
 				final VectorizedColumnBatch flinkColumnBatch,
+				@Nullable final VectorizedPredicate filter,
 				final Pool.Recycler<OrcReaderBatch<RowData, BatchT>> recycler) {
 			super(orcBatch, recycler);
 			this.flinkColumnBatch = flinkColumnBatch;
-			this.result = new ColumnarRowIterator(new ColumnarRowData(flinkColumnBatch), this::recycle);
+			this.result = new ColumnarRowIterator(
+					new ColumnarRowData(flinkColumnBatch), flinkColumnBatch, filter, this::recycle);
 		}
 
 		@Override
@@ -138,6 +172,32 @@ public class OrcColumnarRowFileInputFormat<BatchT, SplitT extends FileSourceSpli
 			int[] selectedFields,
 			List<OrcFilters.Predicate> conjunctPredicates,
 			int batchSize) {
+		return createPartitionedFormat(
+				shim,
+				hadoopConfig,
+				tableType,
+				partitionKeys,
+				extractor,
+				selectedFields,
+				conjunctPredicates,
+				null,
+				batchSize);
+	}
+
+	/**
+	 * Create a partitioned {@link OrcColumnarRowFileInputFormat}, the partition columns can be
+	 * generated by split. Rows which don't satisfy the given vectorized filter are skipped.
+	 */
+	public static <SplitT extends FileSourceSplit> OrcColumnarRowFileInputFormat<VectorizedRowBatch, SplitT> createPartitionedFormat(
+			OrcShim<VectorizedRowBatch> shim,
+			Configuration hadoopConfig,
+			RowType tableType,
+			List<String> partitionKeys,
+			PartitionFieldExtractor<SplitT> extractor,
+			int[] selectedFields,
+			List<OrcFilters.Predicate> conjunctPredicates,
+			@Nullable VectorizedPredicate filter,
+			int batchSize) {
 		String[] tableFieldNames = tableType.getFieldNames().toArray(new String[0]);
 		LogicalType[] tableFieldTypes = tableType.getChildren().toArray(new LogicalType[0]);
 		List<String> orcFieldNames = getNonPartNames(tableFieldNames, partitionKeys);
@@ -163,6 +223,7 @@ public class OrcColumnarRowFileInputFormat<BatchT, SplitT extends FileSourceSpli
 				convertToOrcTypeWithPart(tableFieldNames, tableFieldTypes, partitionKeys),
 				orcSelectedFields,
 				conjunctPredicates,
+				filter,
 				batchSize,
 				batchGenerator,
 				new RowType(Arrays.stream(selectedFields).mapToObj(i ->
@@ -40,6 +40,7 @@ import org.apache.flink.table.factories.BulkWriterFormatFactory;
 import org.apache.flink.table.factories.DynamicTableFactory;
 import org.apache.flink.table.filesystem.FileSystemOptions;
 import org.apache.flink.table.filesystem.PartitionFieldExtractor;
+import org.apache.flink.table.runtime.vector.VectorizedFilters;
 import org.apache.flink.table.types.DataType;
 import org.apache.flink.table.types.logical.LogicalType;
 import org.apache.flink.table.types.logical.RowType;
@@ -130,6 +131,8 @@ public class OrcFileFormatFactory implements BulkReaderFormatFactory, BulkWriter
 						PartitionFieldExtractor.forFileSystem(defaultPartName),
 						selectedFields,
 						orcPredicates,
+						// the filters are evaluated by the planner again, this only skips rows early
+						filters == null ? null : VectorizedFilters.toPredicate(filters, projectedType),
 						VectorizedColumnBatch.DEFAULT_SIZE);
 			}
 
@@ -20,6 +20,7 @@ package org.apache.flink.formats.parquet;
 
 import org.apache.flink.api.common.typeinfo.TypeInformation;
 import org.apache.flink.connector.file.src.FileSourceSplit;
+import org.apache.flink.connector.file.src.util.CheckpointedPosition;
 import org.apache.flink.connector.file.src.util.Pool;
 import org.apache.flink.core.fs.Path;
 import org.apache.flink.formats.parquet.utils.SerializableConfiguration;
@@ -32,12 +33,18 @@ import org.apache.flink.table.data.vector.writable.WritableColumnVector;
 import org.apache.flink.table.filesystem.ColumnarRowIterator;
 import org.apache.flink.table.filesystem.PartitionFieldExtractor;
 import org.apache.flink.table.runtime.typeutils.InternalTypeInfo;
+import org.apache.flink.table.runtime.vector.SelectionVector;
+import org.apache.flink.table.runtime.vector.VectorizedPredicate;
 import org.apache.flink.table.types.logical.RowType;
 
 import org.apache.hadoop.conf.Configuration;
 
+import javax.annotation.Nullable;
+
+import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.apache.flink.formats.parquet.vector.ParquetSplitReaderUtil.createVectorFromConstant;
 
@@ -52,6 +59,10 @@ public class ParquetColumnarRowInputFormat<SplitT extends FileSourceSplit> exten
 
 	private final RowType producedType;
 
+	@Nullable private final VectorizedPredicate filter;
+
+	@Nullable private final int[] filterColumns;
+
 	/**
 	 * Constructor to create parquet format without extra fields.
 	 */
@@ -86,6 +97,41 @@ public class ParquetColumnarRowInputFormat<SplitT extends FileSourceSplit> exten
 			int batchSize,
 			boolean isUtcTimestamp,
 			boolean isCaseSensitive) {
+		this(
+				hadoopConfig,
+				projectedType,
+				producedType,
+				batchFactory,
+				null,
+				null,
+				batchSize,
+				isUtcTimestamp,
+				isCaseSensitive);
+	}
+
+	/**
+	 * Constructor to create parquet format with extra fields created by {@link ColumnBatchFactory}
+	 * and a vectorized filter.
+	 *
+	 * @param projectedType the projected row type for parquet format, excludes extra fields.
+	 * @param producedType the produced row type for this input format, includes extra fields.
+	 * @param batchFactory factory for creating column batch, can cram in extra fields.
+	 * @param filter the predicate on the produced row type, rows of a batch which don't satisfy
+	 *               it are skipped.
+	 * @param filterFields the fields referenced by the filter, or null if unknown. These columns
+	 *                     are decoded first, the other columns of a batch are only decoded if
+	 *                     the filter selects a row of it.
+	 */
+	public ParquetColumnarRowInputFormat(
+			Configuration hadoopConfig,
+			RowType projectedType,
+			RowType producedType,
+			ColumnBatchFactory<SplitT> batchFactory,
+			@Nullable VectorizedPredicate filter,
+			@Nullable Collection<String> filterFields,
+			int batchSize,
+			boolean isUtcTimestamp,
+			boolean isCaseSensitive) {
 		super(
 				new SerializableConfiguration(hadoopConfig),
 				projectedType,
@@ -94,6 +140,21 @@ public class ParquetColumnarRowInputFormat<SplitT extends FileSourceSplit> exten
 				isUtcTimestamp,
 				isCaseSensitive);
 		this.producedType = producedType;
+		this.filter = filter;
+		if (filter == null) {
+			this.filterColumns = null;
+		} else {
+			List<String> projectedFields = projectedType.getFieldNames();
+			this.filterColumns = IntStream.range(0, projectedFields.size())
+					.filter(i -> filterFields == null || filterFields.contains(projectedFields.get(i)))
+					.toArray();
+		}
+	}
+
+	@Nullable
+	@Override
+	protected int[] getFilterColumns() {
+		return filterColumns;
 	}
 
 	@Override
@@ -101,7 +162,7 @@ public class ParquetColumnarRowInputFormat<SplitT extends FileSourceSplit> exten
 			WritableColumnVector[] writableVectors,
 			VectorizedColumnBatch columnarBatch,
 			Pool.Recycler<ParquetReaderBatch<RowData>> recycler) {
-		return new ColumnarRowReaderBatch(writableVectors, columnarBatch, recycler);
+		return new ColumnarRowReaderBatch(writableVectors, columnarBatch, filter, recycler);
 	}
 
 	@Override
@@ -113,17 +174,37 @@ public class ParquetColumnarRowInputFormat<SplitT extends FileSourceSplit> exten
 
 		private final ColumnarRowIterator result;
 
+		@Nullable private final VectorizedPredicate filter;
+
+		@Nullable private SelectionVector selection;
+
 		private ColumnarRowReaderBatch(
 				WritableColumnVector[] writableVectors,
 				VectorizedColumnBatch columnarBatch,
+				@Nullable VectorizedPredicate filter,
 				Pool.Recycler<ParquetReaderBatch<RowData>> recycler) {
 			super(writableVectors, columnarBatch, recycler);
+			this.filter = filter;
 			this.result = new ColumnarRowIterator(new ColumnarRowData(columnarBatch), this::recycle);
 		}
 
+		@Override
+		protected boolean selectRows(int numRows) {
+			if (filter == null) {
+				return true;
+			}
+			if (selection == null || selection.capacity() < numRows) {
+				selection = new SelectionVector(Math.max(numRows, VectorizedColumnBatch.DEFAULT_SIZE));
+			}
+			selection.selectAll(numRows);
+			filter.filter(columnarBatch, selection);
+			return selection.size() > 0;
+		}
+
 		@Override
 		public RecordIterator<RowData> convertAndGetIterator(long rowsReturned) {
-			result.set(columnarBatch.getNumRows(), rowsReturned);
+			// the rows were selected by the reader when the batch was read
+			result.set(columnarBatch.getNumRows(), CheckpointedPosition.NO_OFFSET, rowsReturned, selection);
 			return result;
 		}
 	}
@@ -140,6 +221,33 @@ public class ParquetColumnarRowInputFormat<SplitT extends FileSourceSplit> exten
 			int batchSize,
 			boolean isUtcTimestamp,
 			boolean isCaseSensitive) {
+		return createPartitionedFormat(
+				hadoopConfig,
+				producedRowType,
+				partitionKeys,
+				extractor,
+				null,
+				null,
+				batchSize,
+				isUtcTimestamp,
+				isCaseSensitive);
+	}
+
+	/**
+	 * Create a partitioned {@link ParquetColumnarRowInputFormat}, the partition columns can be
+	 * generated by {@link Path}. Rows which don't satisfy the given filter are skipped, the columns
+	 * of the given filter fields are decoded first.
+	 */
+	public static <SplitT extends FileSourceSplit> ParquetColumnarRowInputFormat<SplitT> createPartitionedFormat(
+			Configuration hadoopConfig,
+			RowType producedRowType,
+			List<String> partitionKeys,
+			PartitionFieldExtractor<SplitT> extractor,
+			@Nullable VectorizedPredicate filter,
+			@Nullable Collection<String> filterFields,
+			int batchSize,
+			boolean isUtcTimestamp,
+			boolean isCaseSensitive) {
 		RowType projectedRowType = new RowType(producedRowType.getFields().stream()
 				.filter(field -> !partitionKeys.contains(field.getName()))
 				.collect(Collectors.toList()));
@@ -166,6 +274,8 @@ public class ParquetColumnarRowInputFormat<SplitT extends FileSourceSplit> exten
 				projectedRowType,
 				producedRowType,
 				factory,
+				filter,
+				filterFields,
 				batchSize,
 				isUtcTimestamp,
 				isCaseSensitive);
@@ -31,21 +31,28 @@ import org.apache.flink.table.connector.sink.DynamicTableSink;
 import org.apache.flink.table.connector.source.DynamicTableSource;
 import org.apache.flink.table.data.RowData;
 import org.apache.flink.table.data.vector.VectorizedColumnBatch;
+import org.apache.flink.table.expressions.ResolvedExpression;
 import org.apache.flink.table.factories.BulkReaderFormatFactory;
 import org.apache.flink.table.factories.BulkWriterFormatFactory;
 import org.apache.flink.table.factories.DynamicTableFactory;
 import org.apache.flink.table.filesystem.FileSystemOptions;
 import org.apache.flink.table.filesystem.PartitionFieldExtractor;
+import org.apache.flink.table.runtime.vector.VectorizedFilters;
+import org.apache.flink.table.runtime.vector.VectorizedPredicate;
 import org.apache.flink.table.types.DataType;
 import org.apache.flink.table.types.logical.RowType;
 
 import org.apache.hadoop.conf.Configuration;
+import org.apache.parquet.filter2.predicate.FilterPredicate;
 
 import java.util.HashSet;
+import java.util.List;
 import java.util.Properties;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import static org.apache.flink.configuration.ConfigOptions.key;
+import static org.apache.parquet.hadoop.ParquetInputFormat.setFilterPredicate;
 
 /**
  * Parquet format factory for file system.
@@ -65,6 +72,9 @@ public class ParquetFileFormatFactory implements BulkReaderFormatFactory, BulkWr
 	public BulkDecodingFormat<RowData> createDecodingFormat(
 			DynamicTableFactory.Context context, ReadableConfig formatOptions) {
 		return new BulkDecodingFormat<RowData>() {
+
+			private List<ResolvedExpression> filters;
+
 			@Override
 			public BulkFormat<RowData, FileSourceSplit> createRuntimeDecoder(
 					DynamicTableSource.Context sourceContext,
@@ -72,11 +82,32 @@ public class ParquetFileFormatFactory implements BulkReaderFormatFactory, BulkWr
 				String defaultPartName = context.getCatalogTable().getOptions().getOrDefault(
 						FileSystemOptions.PARTITION_DEFAULT_NAME.key(),
 						FileSystemOptions.PARTITION_DEFAULT_NAME.defaultValue());
+				RowType producedType = (RowType) producedDataType.getLogicalType();
+				List<String> partitionKeys = context.getCatalogTable().getPartitionKeys();
+				Configuration conf = getParquetConfiguration(formatOptions);
+				// the filters are evaluated by the planner again, the vectorized filter only
+				// skips rows early while they are still in columnar batches and the Parquet
+				// predicate skips whole row groups
+				VectorizedPredicate filter = null;
+				Set<String> filterFields = null;
+				if (filters != null) {
+					filter = VectorizedFilters.toPredicate(filters, producedType);
+					filterFields = ParquetFilters.getReferencedFields(filters);
+					RowType fileType = new RowType(producedType.getFields().stream()
+							.filter(field -> !partitionKeys.contains(field.getName()))
+							.collect(Collectors.toList()));
+					FilterPredicate predicate = ParquetFilters.toParquetPredicate(filters, fileType);
+					if (predicate != null) {
+						setFilterPredicate(conf, predicate);
+					}
+				}
 				return ParquetColumnarRowInputFormat.createPartitionedFormat(
-						getParquetConfiguration(formatOptions),
-						(RowType) producedDataType.getLogicalType(),
-						context.getCatalogTable().getPartitionKeys(),
+						conf,
+						producedType,
+						partitionKeys,
 						PartitionFieldExtractor.forFileSystem(defaultPartName),
+						filter,
+						filterFields,
 						VectorizedColumnBatch.DEFAULT_SIZE,
 						formatOptions.get(UTC_TIMEZONE),
 						true);
@@ -86,6 +117,11 @@ public class ParquetFileFormatFactory implements BulkReaderFormatFactory, BulkWr
 			public ChangelogMode getChangelogMode() {
 				return ChangelogMode.insertOnly();
 			}
+
+			@Override
+			public void applyFilters(List<ResolvedExpression> filters) {
+				this.filters = filters;
+			}
 		};
 	}
 
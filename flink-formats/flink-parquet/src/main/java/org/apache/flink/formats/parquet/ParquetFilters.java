@@ -0,0 +1,301 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.formats.parquet;
+
+import org.apache.flink.table.expressions.CallExpression;
+import org.apache.flink.table.expressions.Expression;
+import org.apache.flink.table.expressions.FieldReferenceExpression;
+import org.apache.flink.table.expressions.ValueLiteralExpression;
+import org.apache.flink.table.functions.BuiltInFunctionDefinitions;
+import org.apache.flink.table.functions.FunctionDefinition;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.LogicalTypeRoot;
+import org.apache.flink.table.types.logical.RowType;
+
+import org.apache.parquet.filter2.predicate.FilterApi;
+import org.apache.parquet.filter2.predicate.FilterPredicate;
+import org.apache.parquet.filter2.predicate.Operators;
+import org.apache.parquet.io.api.Binary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Utility class to convert the filters pushed into the Parquet format to a Parquet
+ * {@link FilterPredicate}. The predicate is used to skip whole row groups by their statistics
+ * and dictionaries, the filters are evaluated by the planner again.
+ *
+ * <p>Supported are comparisons between a column and a literal, null checks and their
+ * combinations with AND, OR and NOT on columns of type BOOLEAN, TINYINT, SMALLINT, INT, BIGINT,
+ * FLOAT, DOUBLE, DATE and VARCHAR.
+ */
+public class ParquetFilters {
+
+	private static final Logger LOG = LoggerFactory.getLogger(ParquetFilters.class);
+
+	/**
+	 * Converts the conjunction of the given filters to a Parquet {@link FilterPredicate}. Filters
+	 * which can't be converted are left out, returns null if none of them can be converted.
+	 *
+	 * @param filters the filters, which are combined with AND
+	 * @param rowType the type of the columns stored in the Parquet files
+	 */
+	@Nullable
+	public static FilterPredicate toParquetPredicate(List<? extends Expression> filters, RowType rowType) {
+		FilterPredicate result = null;
+		for (Expression filter : filters) {
+			FilterPredicate predicate = convert(filter, rowType);
+			if (predicate == null) {
+				LOG.debug("Unsupported predicate [{}] cannot be pushed into the Parquet reader.", filter);
+			} else {
+				result = result == null ? predicate : FilterApi.and(result, predicate);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the names of all fields which are referenced by the given filters.
+	 */
+	public static Set<String> getReferencedFields(List<? extends Expression> filters) {
+		Set<String> fields = new HashSet<>();
+		for (Expression filter : filters) {
+			collectReferencedFields(filter, fields);
+		}
+		return fields;
+	}
+
+	private static void collectReferencedFields(Expression expression, Set<String> fields) {
+		if (expression instanceof FieldReferenceExpression) {
+			fields.add(((FieldReferenceExpression) expression).getName());
+		}
+		for (Expression child : expression.getChildren()) {
+			collectReferencedFields(child, fields);
+		}
+	}
+
+	@Nullable
+	private static FilterPredicate convert(Expression expression, RowType rowType) {
+		if (!(expression instanceof CallExpression)) {
+			return null;
+		}
+		CallExpression call = (CallExpression) expression;
+		FunctionDefinition function = call.getFunctionDefinition();
+		List<Expression> children = call.getChildren();
+
+		if (function == BuiltInFunctionDefinitions.AND || function == BuiltInFunctionDefinitions.OR) {
+			// both sides are required, a partial predicate may be negated by an enclosing NOT
+			FilterPredicate result = null;
+			for (Expression child : children) {
+				FilterPredicate predicate = convert(child, rowType);
+				if (predicate == null) {
+					return null;
+				}
+				if (result == null) {
+					result = predicate;
+				} else if (function == BuiltInFunctionDefinitions.AND) {
+					result = FilterApi.and(result, predicate);
+				} else {
+					result = FilterApi.or(result, predicate);
+				}
+			}
+			return result;
+		} else if (function == BuiltInFunctionDefinitions.NOT) {
+			FilterPredicate predicate = children.size() == 1 ? convert(children.get(0), rowType) : null;
+			return predicate == null ? null : FilterApi.not(predicate);
+		} else if (function == BuiltInFunctionDefinitions.IS_NULL
+				|| function == BuiltInFunctionDefinitions.IS_NOT_NULL) {
+			if (children.size() != 1 || !(children.get(0) instanceof FieldReferenceExpression)) {
+				return null;
+			}
+			return convertNullCheck(
+					function == BuiltInFunctionDefinitions.IS_NULL,
+					((FieldReferenceExpression) children.get(0)).getName(),
+					rowType);
+		} else if (children.size() == 2) {
+			if (children.get(0) instanceof FieldReferenceExpression
+					&& children.get(1) instanceof ValueLiteralExpression) {
+				return convertComparison(
+						function,
+						((FieldReferenceExpression) children.get(0)).getName(),
+						(ValueLiteralExpression) children.get(1),
+						rowType);
+			} else if (children.get(0) instanceof ValueLiteralExpression
+					&& children.get(1) instanceof FieldReferenceExpression) {
+				FunctionDefinition swapped = swap(function);
+				return swapped == null ? null : convertComparison(
+						swapped,
+						((FieldReferenceExpression) children.get(1)).getName(),
+						(ValueLiteralExpression) children.get(0),
+						rowType);
+			}
+		}
+		return null;
+	}
+
+	@Nullable
+	private static FilterPredicate convertNullCheck(boolean isNull, String fieldName, RowType rowType) {
+		LogicalType type = getFieldType(fieldName, rowType);
+		if (type == null) {
+			return null;
+		}
+		FunctionDefinition function = isNull ?
+				BuiltInFunctionDefinitions.EQUALS : BuiltInFunctionDefinitions.NOT_EQUALS;
+		switch (type.getTypeRoot()) {
+			case BOOLEAN:
+				return compare(function, FilterApi.booleanColumn(fieldName), null);
+			case TINYINT:
+			case SMALLINT:
+			case INTEGER:
+			case DATE:
+				return compare(function, FilterApi.intColumn(fieldName), null);
+			case BIGINT:
+				return compare(function, FilterApi.longColumn(fieldName), null);
+			case FLOAT:
+				return compare(function, FilterApi.floatColumn(fieldName), null);
+			case DOUBLE:
+				return compare(function, FilterApi.doubleColumn(fieldName), null);
+			case VARCHAR:
+				return compare(function, FilterApi.binaryColumn(fieldName), null);
+			default:
+				return null;
+		}
+	}
+
+	@Nullable
+	private static FilterPredicate convertComparison(
+			FunctionDefinition function,
+			String fieldName,
+			ValueLiteralExpression literal,
+			RowType rowType) {
+		LogicalType type = getFieldType(fieldName, rowType);
+		if (type == null) {
+			return null;
+		}
+		Object value = literal.getValueAs(literal.getOutputDataType().getConversionClass()).orElse(null);
+		if (value == null) {
+			// comparisons with null are never true, they are left to the planner
+			return null;
+		}
+		LogicalTypeRoot literalType = literal.getOutputDataType().getLogicalType().getTypeRoot();
+		switch (type.getTypeRoot()) {
+			case BOOLEAN:
+				return literalType == LogicalTypeRoot.BOOLEAN ?
+						compare(function, FilterApi.booleanColumn(fieldName), (Boolean) value) : null;
+			case TINYINT:
+			case SMALLINT:
+			case INTEGER:
+				if (isIntegral(literalType)) {
+					long longValue = ((Number) value).longValue();
+					if (longValue >= Integer.MIN_VALUE && longValue <= Integer.MAX_VALUE) {
+						return compare(function, FilterApi.intColumn(fieldName), (int) longValue);
+					}
+				}
+				return null;
+			case DATE:
+				return literalType == LogicalTypeRoot.DATE && value instanceof LocalDate ?
+						compare(function, FilterApi.intColumn(fieldName), (int) ((LocalDate) value).toEpochDay()) :
+						null;
+			case BIGINT:
+				return isIntegral(literalType) ?
+						compare(function, FilterApi.longColumn(fieldName), ((Number) value).longValue()) : null;
+			case FLOAT:
+				return literalType == LogicalTypeRoot.FLOAT ?
+						compare(function, FilterApi.floatColumn(fieldName), ((Number) value).floatValue()) : null;
+			case DOUBLE:
+				return literalType == LogicalTypeRoot.FLOAT || literalType == LogicalTypeRoot.DOUBLE ?
+						compare(function, FilterApi.doubleColumn(fieldName), ((Number) value).doubleValue()) :
+						null;
+			case VARCHAR:
+				return literalType == LogicalTypeRoot.CHAR || literalType == LogicalTypeRoot.VARCHAR ?
+						compare(function, FilterApi.binaryColumn(fieldName), Binary.fromString((String) value)) :
+						null;
+			default:
+				return null;
+		}
+	}
+
+	@Nullable
+	private static <T extends Comparable<T>, C extends Operators.Column<T> & Operators.SupportsLtGt>
+			FilterPredicate compare(FunctionDefinition function, C column, @Nullable T value) {
+		if (function == BuiltInFunctionDefinitions.EQUALS) {
+			return FilterApi.eq(column, value);
+		} else if (function == BuiltInFunctionDefinitions.NOT_EQUALS) {
+			return FilterApi.notEq(column, value);
+		} else if (function == BuiltInFunctionDefinitions.LESS_THAN) {
+			return FilterApi.lt(column, value);
+		} else if (function == BuiltInFunctionDefinitions.LESS_THAN_OR_EQUAL) {
+			return FilterApi.ltEq(column, value);
+		} else if (function == BuiltInFunctionDefinitions.GREATER_THAN) {
+			return FilterApi.gt(column, value);
+		} else if (function == BuiltInFunctionDefinitions.GREATER_THAN_OR_EQUAL) {
+			return FilterApi.gtEq(column, value);
+		}
+		return null;
+	}
+
+	@Nullable
+	private static FilterPredicate compare(
+			FunctionDefinition function,
+			Operators.BooleanColumn column,
+			@Nullable Boolean value) {
+		if (function == BuiltInFunctionDefinitions.EQUALS) {
+			return FilterApi.eq(column, value);
+		} else if (function == BuiltInFunctionDefinitions.NOT_EQUALS) {
+			return FilterApi.notEq(column, value);
+		}
+		return null;
+	}
+
+	@Nullable
+	private static FunctionDefinition swap(FunctionDefinition function) {
+		if (function == BuiltInFunctionDefinitions.EQUALS || function == BuiltInFunctionDefinitions.NOT_EQUALS) {
+			return function;
+		} else if (function == BuiltInFunctionDefinitions.LESS_THAN) {
+			return BuiltInFunctionDefinitions.GREATER_THAN;
+		} else if (function == BuiltInFunctionDefinitions.LESS_THAN_OR_EQUAL) {
+			return BuiltInFunctionDefinitions.GREATER_THAN_OR_EQUAL;
+		} else if (function == BuiltInFunctionDefinitions.GREATER_THAN) {
+			return BuiltInFunctionDefinitions.LESS_THAN;
+		} else if (function == BuiltInFunctionDefinitions.GREATER_THAN_OR_EQUAL) {
+			return BuiltInFunctionDefinitions.LESS_THAN_OR_EQUAL;
+		}
+		return null;
+	}
+
+	private static boolean isIntegral(LogicalTypeRoot typeRoot) {
+		return typeRoot == LogicalTypeRoot.TINYINT
+				|| typeRoot == LogicalTypeRoot.SMALLINT
+				|| typeRoot == LogicalTypeRoot.INTEGER
+				|| typeRoot == LogicalTypeRoot.BIGINT;
+	}
+
+	@Nullable
+	private static LogicalType getFieldType(String fieldName, RowType rowType) {
+		// a dot would be interpreted as a path into a nested column
+		int index = rowType.getFieldIndex(fieldName);
+		return index < 0 || fieldName.contains(".") ? null : rowType.getTypeAt(index);
+	}
+}
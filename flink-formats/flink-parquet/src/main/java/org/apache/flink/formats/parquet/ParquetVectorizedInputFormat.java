@@ -41,7 +41,6 @@ import org.apache.flink.util.Preconditions;
 
 import org.apache.parquet.column.ColumnDescriptor;
 import org.apache.parquet.column.page.PageReadStore;
-import org.apache.parquet.filter2.compat.FilterCompat;
 import org.apache.parquet.hadoop.ParquetFileReader;
 import org.apache.parquet.hadoop.metadata.BlockMetaData;
 import org.apache.parquet.hadoop.metadata.ParquetMetadata;
@@ -58,13 +57,13 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.stream.IntStream;
 
 import static org.apache.flink.formats.parquet.vector.ParquetSplitReaderUtil.createColumnReader;
 import static org.apache.flink.formats.parquet.vector.ParquetSplitReaderUtil.createWritableColumnVector;
-import static org.apache.parquet.filter2.compat.RowGroupFilter.filterRowGroups;
 import static org.apache.parquet.format.converter.ParquetMetadataConverter.range;
 import static org.apache.parquet.hadoop.ParquetFileReader.readFooter;
-import static org.apache.parquet.hadoop.ParquetInputFormat.getFilter;
+import static org.apache.parquet.hadoop.ParquetInputFormat.FILTER_PREDICATE;
 
 /**
  * Parquet {@link BulkFormat} that reads data from the file to {@link VectorizedColumnBatch} in
@@ -111,16 +110,13 @@ public abstract class ParquetVectorizedInputFormat<T, SplitT extends FileSourceS
 		ParquetMetadata footer = readFooter(
 				hadoopConfig.conf(), hadoopPath, range(splitOffset, splitOffset + splitLength));
 		MessageType fileSchema = footer.getFileMetaData().getSchema();
-		FilterCompat.Filter filter = getFilter(hadoopConfig.conf());
-		List<BlockMetaData> blocks = filterRowGroups(filter, footer.getBlocks(), fileSchema);
 
 		MessageType requestedSchema = clipParquetSchema(fileSchema);
-		ParquetFileReader reader = new ParquetFileReader(
-				hadoopConfig.conf(),
-				footer.getFileMetaData(),
-				hadoopPath,
-				blocks,
-				requestedSchema.getColumns());
+		// the reader skips the row groups which can't match the filter predicate of the
+		// configuration by their statistics and dictionaries
+		ParquetFileReader reader = new ParquetFileReader(getReaderConfig(requestedSchema), hadoopPath, footer);
+		reader.setRequestedSchema(requestedSchema);
+		List<BlockMetaData> blocks = reader.getRowGroups();
 
 		long totalRowCount = 0;
 		for (BlockMetaData block : blocks) {
@@ -133,7 +129,7 @@ public abstract class ParquetVectorizedInputFormat<T, SplitT extends FileSourceS
 		final Pool<ParquetReaderBatch<T>> poolOfBatches =
 				createPoolOfBatches(split, requestedSchema, numBatchesToCirculate);
 
-		return new ParquetReader(reader, requestedSchema, totalRowCount, poolOfBatches);
+		return new ParquetReader(reader, requestedSchema, totalRowCount, getFilterColumns(), poolOfBatches);
 	}
 
 	@Override
@@ -157,6 +153,38 @@ public abstract class ParquetVectorizedInputFormat<T, SplitT extends FileSourceS
 		return true;
 	}
 
+	/**
+	 * Returns the indices of the projected columns which are needed to filter the rows of a
+	 * batch, or null if the rows are not filtered while reading. These columns are decoded first,
+	 * the other columns are only decoded if {@link ParquetReaderBatch#selectRows(int)} selects
+	 * a row of the batch.
+	 */
+	@Nullable
+	protected int[] getFilterColumns() {
+		return null;
+	}
+
+	/**
+	 * Returns the configuration to read a file with the given requested schema. The filter
+	 * predicate refers to the columns by the projected field names, it would take a column
+	 * which is only matched case insensitively for a missing one. It is removed for such a file,
+	 * whose rows are then only filtered after they were read.
+	 */
+	private org.apache.hadoop.conf.Configuration getReaderConfig(MessageType requestedSchema) {
+		org.apache.hadoop.conf.Configuration conf = hadoopConfig.conf();
+		if (isCaseSensitive || conf.get(FILTER_PREDICATE) == null) {
+			return conf;
+		}
+		for (int i = 0; i < projectedFields.length; ++i) {
+			if (!projectedFields[i].equals(requestedSchema.getFieldName(i))) {
+				conf = new org.apache.hadoop.conf.Configuration(conf);
+				conf.unset(FILTER_PREDICATE);
+				return conf;
+			}
+		}
+		return conf;
+	}
+
 	/**
 	 * Clips `parquetSchema` according to `fieldNames`.
 	 */
@@ -303,12 +331,27 @@ public abstract class ParquetVectorizedInputFormat<T, SplitT extends FileSourceS
 		@SuppressWarnings("rawtypes")
 		private ColumnReader[] columnReaders;
 
+		/**
+		 * The columns which are read before the rows of a batch are selected, null if all
+		 * columns are read eagerly.
+		 */
+		@Nullable
+		private final int[] filterColumns;
+
+		/**
+		 * The columns which are only read if a row of the batch is selected.
+		 */
+		private final int[] lazyColumns;
+
+		private final int[] allColumns;
+
 		private long recordsToSkip;
 
 		private ParquetReader(
 				ParquetFileReader reader,
 				MessageType requestedSchema,
 				long totalRowCount,
+				@Nullable int[] filterColumns,
 				Pool<ParquetReaderBatch<T>> pool) {
 			this.reader = reader;
 			this.requestedSchema = requestedSchema;
@@ -317,6 +360,13 @@ public abstract class ParquetVectorizedInputFormat<T, SplitT extends FileSourceS
 			this.rowsReturned = 0;
 			this.totalCountLoadedSoFar = 0;
 			this.recordsToSkip = 0;
+			this.allColumns = IntStream.range(0, requestedSchema.getFieldCount()).toArray();
+			this.filterColumns = filterColumns;
+			this.lazyColumns = filterColumns == null ?
+					new int[0] :
+					Arrays.stream(allColumns)
+							.filter(i -> Arrays.stream(filterColumns).noneMatch(c -> c == i))
+							.toArray();
 		}
 
 		@Nullable
@@ -324,43 +374,73 @@ public abstract class ParquetVectorizedInputFormat<T, SplitT extends FileSourceS
 		public RecordIterator<T> readBatch() throws IOException {
 			final ParquetReaderBatch<T> batch = getCachedEntry();
 
-			final long rowsReturnedBefore = rowsReturned;
 			if (!nextBatch(batch)) {
 				batch.recycle();
 				return null;
 			}
 
-			final RecordIterator<T> records = batch.convertAndGetIterator(rowsReturnedBefore);
-
-			// this may leave an exhausted iterator, which is a valid result for this method
-			// and is not interpreted as end-of-input or anything
-			skipRecord(records);
-			return records;
+			// skipped rows before this batch still count for the position of its records
+			final long rowsReturnedBefore = rowsReturned - batch.columnarBatch.getNumRows();
+			return batch.convertAndGetIterator(rowsReturnedBefore);
 		}
 
 		/**
 		 * Advances to the next batch of rows. Returns false if there are no more.
+		 *
+		 * <p>Rows before a restored position and batches without any selected row are skipped
+		 * without decoding their values.
 		 */
 		private boolean nextBatch(ParquetReaderBatch<T> batch) throws IOException {
-			for (WritableColumnVector v : batch.writableVectors) {
-				v.reset();
-			}
-			batch.columnarBatch.setNumRows(0);
-			if (rowsReturned >= totalRowCount) {
-				return false;
-			}
-			if (rowsReturned == totalCountLoadedSoFar) {
-				readNextRowGroup();
+			while (true) {
+				for (WritableColumnVector v : batch.writableVectors) {
+					v.reset();
+				}
+				batch.columnarBatch.setNumRows(0);
+				if (rowsReturned >= totalRowCount) {
+					return false;
+				}
+				if (rowsReturned == totalCountLoadedSoFar) {
+					readNextRowGroup();
+				}
+
+				int num = (int) Math.min(batchSize, totalCountLoadedSoFar - rowsReturned);
+				if (recordsToSkip > 0) {
+					num = (int) Math.min(num, recordsToSkip);
+					skipColumns(allColumns, num);
+					recordsToSkip -= num;
+					rowsReturned += num;
+					continue;
+				}
+
+				if (filterColumns == null) {
+					readColumns(allColumns, num, batch);
+				} else {
+					readColumns(filterColumns, num, batch);
+					batch.columnarBatch.setNumRows(num);
+					if (!batch.selectRows(num)) {
+						skipColumns(lazyColumns, num);
+						rowsReturned += num;
+						continue;
+					}
+					readColumns(lazyColumns, num, batch);
+				}
+				rowsReturned += num;
+				batch.columnarBatch.setNumRows(num);
+				return true;
 			}
+		}
 
-			int num = (int) Math.min(batchSize, totalCountLoadedSoFar - rowsReturned);
-			for (int i = 0; i < columnReaders.length; ++i) {
-				//noinspection unchecked
+		@SuppressWarnings("unchecked")
+		private void readColumns(int[] columns, int num, ParquetReaderBatch<T> batch) throws IOException {
+			for (int i : columns) {
 				columnReaders[i].readToVector(num, batch.writableVectors[i]);
 			}
-			rowsReturned += num;
-			batch.columnarBatch.setNumRows(num);
-			return true;
+		}
+
+		private void skipColumns(int[] columns, int num) throws IOException {
+			for (int i : columns) {
+				columnReaders[i].skip(num);
+			}
 		}
 
 		private void readNextRowGroup() throws IOException {
@@ -411,12 +491,6 @@ public abstract class ParquetVectorizedInputFormat<T, SplitT extends FileSourceS
 			}
 		}
 
-		private void skipRecord(RecordIterator<T> records) {
-			while (recordsToSkip > 0 && records.next() != null) {
-				recordsToSkip--;
-			}
-		}
-
 		@Override
 		public void close() throws IOException {
 			if (reader != null) {
@@ -461,6 +535,17 @@ public abstract class ParquetVectorizedInputFormat<T, SplitT extends FileSourceS
 			recycler.recycle(this);
 		}
 
+		/**
+		 * Selects the rows of the batch after the filter columns were read, see
+		 * {@link ParquetVectorizedInputFormat#getFilterColumns()}. Returns false if no row is
+		 * selected, the other columns of the batch are skipped then.
+		 *
+		 * @param numRows The number of rows in the batch.
+		 */
+		protected boolean selectRows(int numRows) {
+			return true;
+		}
+
 		/**
 		 * Provides reading iterator after the records are written to the {@link #columnarBatch}.
 		 *
@@ -166,19 +166,7 @@ public abstract class AbstractColumnReader<VECTOR extends WritableColumnVector>
 		}
 		while (readNumber > 0) {
 			// Compute the number of values we want to read in this page.
-			int leftInPage = (int) (endOfPageValueCount - valuesRead);
-			if (leftInPage == 0) {
-				DataPage page = pageReader.readPage();
-				if (page instanceof DataPageV1) {
-					readPageV1((DataPageV1) page);
-				} else if (page instanceof DataPageV2) {
-					readPageV2((DataPageV2) page);
-				} else {
-					throw new RuntimeException("Unsupported page type: " + page.getClass());
-				}
-				leftInPage = (int) (endOfPageValueCount - valuesRead);
-			}
-			int num = Math.min(readNumber, leftInPage);
+			int num = Math.min(readNumber, leftInPage());
 			if (isCurrentPageDictionaryEncoded) {
 				// Read and decode dictionary ids.
 				runLenDecoder.readDictionaryIds(
@@ -208,6 +196,45 @@ public abstract class AbstractColumnReader<VECTOR extends WritableColumnVector>
 		}
 	}
 
+	/**
+	 * Skips `skipNumber` values of this column. Only the definition levels and, for dictionary
+	 * encoded pages, the dictionary ids are decoded, the values themselves are skipped.
+	 */
+	@Override
+	public final void skip(int skipNumber) throws IOException {
+		while (skipNumber > 0) {
+			int num = Math.min(skipNumber, leftInPage());
+			int numValues = runLenDecoder.skipLevels(num, maxDefLevel);
+			if (isCurrentPageDictionaryEncoded) {
+				dictionaryIdsDecoder.skipValues(numValues);
+			} else if (numValues > 0) {
+				skipValues(numValues);
+			}
+			valuesRead += num;
+			skipNumber -= num;
+		}
+	}
+
+	/**
+	 * Returns the number of values left in the current page, reads the next page if the current
+	 * page is exhausted.
+	 */
+	private int leftInPage() throws IOException {
+		int leftInPage = (int) (endOfPageValueCount - valuesRead);
+		if (leftInPage == 0) {
+			DataPage page = pageReader.readPage();
+			if (page instanceof DataPageV1) {
+				readPageV1((DataPageV1) page);
+			} else if (page instanceof DataPageV2) {
+				readPageV2((DataPageV2) page);
+			} else {
+				throw new RuntimeException("Unsupported page type: " + page.getClass());
+			}
+			leftInPage = (int) (endOfPageValueCount - valuesRead);
+		}
+		return leftInPage;
+	}
+
 	private void readPageV1(DataPageV1 page) throws IOException {
 		this.pageValueCount = page.getValueCount();
 		ValuesReader rlReader = page.getRlEncoding().getValuesReader(descriptor, REPETITION_LEVEL);
@@ -293,6 +320,36 @@ public abstract class AbstractColumnReader<VECTOR extends WritableColumnVector>
 	 */
 	protected void afterReadPage() {}
 
+	/**
+	 * Skips `num` non-null values of a plain encoded page in {@link #dataInputStream}.
+	 */
+	protected void skipValues(int num) {
+		PrimitiveType type = descriptor.getPrimitiveType();
+		switch (type.getPrimitiveTypeName()) {
+			case INT32:
+			case FLOAT:
+				readDataBuffer(4 * num);
+				break;
+			case INT64:
+			case DOUBLE:
+				readDataBuffer(8 * num);
+				break;
+			case INT96:
+				readDataBuffer(12 * num);
+				break;
+			case FIXED_LEN_BYTE_ARRAY:
+				readDataBuffer(type.getTypeLength() * num);
+				break;
+			case BINARY:
+				for (int i = 0; i < num; i++) {
+					readDataBuffer(readDataBuffer(4).getInt());
+				}
+				break;
+			default:
+				throw new UnsupportedOperationException("Unsupported type: " + type);
+		}
+	}
+
 	/**
 	 * Support lazy dictionary ids decode. See more in {@link ParquetDictionary}.
 	 * If return false, we will decode all the data first.
@@ -31,4 +31,9 @@ public interface ColumnReader<VECTOR extends WritableColumnVector> {
 	 * @param vector vector to write.
 	 */
 	void readToVector(int readNumber, VECTOR vector) throws IOException;
+
+	/**
+	 * @param skipNumber number of values to skip without decoding them.
+	 */
+	void skip(int skipNumber) throws IOException;
 }
@@ -197,6 +197,56 @@ final class RunLengthDecoder {
 		}
 	}
 
+	/**
+	 * Skips the next `total` levels. Returns the number of skipped levels which are equal to
+	 * `level`, i.e. the number of non-null values to skip in the data stream.
+	 */
+	int skipLevels(int total, int level) {
+		int numValues = 0;
+		int left = total;
+		while (left > 0) {
+			if (this.currentCount == 0) {
+				this.readNextGroup();
+			}
+			int n = Math.min(left, this.currentCount);
+			switch (mode) {
+				case RLE:
+					if (currentValue == level) {
+						numValues += n;
+					}
+					break;
+				case PACKED:
+					for (int i = 0; i < n; ++i) {
+						if (currentBuffer[currentBufferIdx++] == level) {
+							numValues++;
+						}
+					}
+					break;
+			}
+			left -= n;
+			currentCount -= n;
+		}
+		return numValues;
+	}
+
+	/**
+	 * Skips the next `total` values, it is used to skip dictionary IDs.
+	 */
+	void skipValues(int total) {
+		int left = total;
+		while (left > 0) {
+			if (this.currentCount == 0) {
+				this.readNextGroup();
+			}
+			int n = Math.min(left, this.currentCount);
+			if (mode == MODE.PACKED) {
+				currentBufferIdx += n;
+			}
+			left -= n;
+			currentCount -= n;
+		}
+	}
+
 	/**
 	 * Reads the next varint encoded int.
 	 */
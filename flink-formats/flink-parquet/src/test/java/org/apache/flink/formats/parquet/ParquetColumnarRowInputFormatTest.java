@@ -22,10 +22,14 @@ import org.apache.flink.connector.file.src.FileSourceSplit;
 import org.apache.flink.connector.file.src.reader.BulkFormat;
 import org.apache.flink.connector.file.src.util.CheckpointedPosition;
 import org.apache.flink.core.fs.Path;
+import org.apache.flink.formats.parquet.vector.ColumnBatchFactory;
 import org.apache.flink.table.data.DecimalData;
 import org.apache.flink.table.data.RowData;
 import org.apache.flink.table.filesystem.PartitionFieldExtractor;
 import org.apache.flink.table.runtime.functions.SqlDateTimeUtils;
+import org.apache.flink.table.runtime.vector.VectorizedPredicate;
+import org.apache.flink.table.runtime.vector.VectorizedPredicates;
+import org.apache.flink.table.runtime.vector.VectorizedPredicates.Comparison;
 import org.apache.flink.table.types.logical.BigIntType;
 import org.apache.flink.table.types.logical.BooleanType;
 import org.apache.flink.table.types.logical.DateType;
@@ -43,6 +47,8 @@ import org.apache.flink.types.Row;
 import org.apache.flink.util.InstantiationUtil;
 
 import org.apache.hadoop.conf.Configuration;
+import org.apache.parquet.filter2.predicate.FilterApi;
+import org.apache.parquet.filter2.predicate.FilterPredicate;
 import org.apache.parquet.schema.MessageType;
 import org.apache.parquet.schema.OriginalType;
 import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
@@ -61,6 +67,7 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Random;
@@ -71,6 +78,7 @@ import java.util.stream.IntStream;
 import static org.apache.flink.connector.file.src.util.Utils.forEachRemaining;
 import static org.apache.flink.formats.parquet.utils.ParquetWriterUtil.createTempParquetFile;
 import static org.apache.flink.table.utils.PartitionPathUtils.generatePartitionPath;
+import static org.apache.parquet.hadoop.ParquetInputFormat.setFilterPredicate;
 import static org.apache.parquet.schema.Types.primitive;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
@@ -109,6 +117,27 @@ public class ParquetColumnarRowInputFormatTest {
 			primitive(PrimitiveTypeName.FIXED_LEN_BYTE_ARRAY, Repetition.OPTIONAL)
 					.length(16).precision(20).as(OriginalType.DECIMAL).named("f14"));
 
+	private static final LogicalType[] FIELD_TYPES = new LogicalType[]{
+			new VarCharType(VarCharType.MAX_LENGTH),
+			new BooleanType(),
+			new TinyIntType(),
+			new SmallIntType(),
+			new IntType(),
+			new BigIntType(),
+			new FloatType(),
+			new DoubleType(),
+			new TimestampType(9),
+			new DecimalType(5, 0),
+			new DecimalType(15, 0),
+			new DecimalType(20, 0),
+			new DecimalType(5, 0),
+			new DecimalType(15, 0),
+			new DecimalType(20, 0)};
+
+	private static final String[] FIELD_NAMES = new String[] {
+			"f0", "f1", "f2", "f3", "f4", "f5", "f6", "f7",
+			"f8", "f9", "f10", "f11", "f12", "f13", "f14"};
+
 	@ClassRule
 	public static final TemporaryFolder TEMPORARY_FOLDER = new TemporaryFolder();
 
@@ -235,6 +264,157 @@ public class ParquetColumnarRowInputFormatTest {
 		});
 	}
 
+	@Test
+	public void testVectorizedFilter() throws IOException {
+		int number = 1000;
+		List<Row> records = new ArrayList<>(number);
+		for (int i = 0; i < number; i++) {
+			Integer v = i;
+			records.add(newRow(v));
+		}
+
+		Path testPath = createTempParquetFile(
+				TEMPORARY_FOLDER.newFolder(), PARQUET_SCHEMA, records, rowGroupSize);
+
+		// f4 < 3 OR f4 >= 990
+		VectorizedPredicate filter = VectorizedPredicates.or(Arrays.asList(
+				VectorizedPredicates.compare(1, new IntType(), Comparison.LESS_THAN, 3),
+				VectorizedPredicates.compare(1, new IntType(), Comparison.GREATER_THAN_OR_EQUAL, 990)));
+		RowType rowType = RowType.of(
+				new LogicalType[]{new DoubleType(), new IntType()}, new String[] {"f7", "f4"});
+		ParquetColumnarRowInputFormat<FileSourceSplit> format = new ParquetColumnarRowInputFormat<>(
+				new Configuration(),
+				rowType,
+				rowType,
+				ColumnBatchFactory.withoutExtraFields(),
+				filter,
+				Collections.singleton("f4"),
+				500,
+				false,
+				true);
+
+		List<Integer> expected = IntStream.concat(IntStream.range(0, 3), IntStream.range(990, 1000))
+				.boxed()
+				.collect(Collectors.toList());
+		List<Integer> values = new ArrayList<>();
+		forEachRemaining(
+				format.createReader(EMPTY_CONF, new FileSourceSplit("id", testPath, 0, Long.MAX_VALUE)),
+				row -> values.add(row.getInt(1)));
+		assertEquals(expected, values);
+
+		// the skipped rows are counted in the position, a restored reader continues after them
+		values.clear();
+		forEachRemaining(
+				format.restoreReader(
+						EMPTY_CONF,
+						new FileSourceSplit(
+								"id",
+								testPath,
+								0,
+								Long.MAX_VALUE,
+								new String[0],
+								new CheckpointedPosition(CheckpointedPosition.NO_OFFSET, 500))),
+				row -> values.add(row.getInt(1)));
+		assertEquals(expected.subList(3, expected.size()), values);
+	}
+
+	@Test
+	public void testLazyDecoding() throws IOException {
+		int number = 5000;
+		List<Integer> values = new ArrayList<>(number);
+		for (int i = 0; i < number; i++) {
+			// dictionary encoded values first, then plain encoded values
+			int v = i < number / 2 ? i % 20 : i;
+			values.add(v == 0 ? null : v);
+		}
+		List<Row> records = values.stream().map(this::newRow).collect(Collectors.toList());
+		Path testPath = createTempParquetFile(
+				TEMPORARY_FOLDER.newFolder(), PARQUET_SCHEMA, records, rowGroupSize);
+
+		// f4 >= 4900, the other columns of all batches before are skipped without decoding them
+		VectorizedPredicate filter = VectorizedPredicates.compare(
+				4, new IntType(), Comparison.GREATER_THAN_OR_EQUAL, 4900);
+		RowType rowType = RowType.of(FIELD_TYPES, FIELD_NAMES);
+		ParquetColumnarRowInputFormat<FileSourceSplit> format = new ParquetColumnarRowInputFormat<>(
+				new Configuration(),
+				rowType,
+				rowType,
+				ColumnBatchFactory.withoutExtraFields(),
+				filter,
+				Collections.singleton("f4"),
+				100,
+				false,
+				true);
+
+		AtomicInteger cnt = new AtomicInteger(0);
+		forEachRemaining(
+				format.createReader(EMPTY_CONF, new FileSourceSplit("id", testPath, 0, Long.MAX_VALUE)),
+				row -> assertRow(4900 + cnt.getAndIncrement(), row));
+		assertEquals(100, cnt.get());
+
+		// the rows before the restored position are skipped as well
+		cnt.set(0);
+		forEachRemaining(
+				format.restoreReader(
+						EMPTY_CONF,
+						new FileSourceSplit(
+								"id",
+								testPath,
+								0,
+								Long.MAX_VALUE,
+								new String[0],
+								new CheckpointedPosition(CheckpointedPosition.NO_OFFSET, 4950))),
+				row -> assertRow(4950 + cnt.getAndIncrement(), row));
+		assertEquals(50, cnt.get());
+	}
+
+	@Test
+	public void testRowGroupFilter() throws IOException {
+		int number = 1000;
+		RowType rowType = RowType.of(new LogicalType[]{new IntType()}, new String[] {"f4"});
+
+		// the row groups without values >= 990 are skipped by their statistics
+		Path testPath = createTempParquetFile(
+				TEMPORARY_FOLDER.newFolder(),
+				PARQUET_SCHEMA,
+				IntStream.range(0, number).mapToObj(this::newRow).collect(Collectors.toList()),
+				rowGroupSize);
+		List<Integer> values = readWithFilterPredicate(
+				testPath, rowType, FilterApi.gtEq(FilterApi.intColumn("f4"), 990));
+		assertTrue(values.size() < number);
+		assertEquals(
+				IntStream.range(990, number).boxed().collect(Collectors.toList()),
+				values.stream().filter(v -> v >= 990).collect(Collectors.toList()));
+
+		// an odd value is within the statistics of all row groups, but not in their dictionaries
+		testPath = createTempParquetFile(
+				TEMPORARY_FOLDER.newFolder(),
+				PARQUET_SCHEMA,
+				IntStream.range(0, number).mapToObj(i -> newRow(i % 10 * 2)).collect(Collectors.toList()),
+				rowGroupSize);
+		assertEquals(
+				Collections.emptyList(),
+				readWithFilterPredicate(testPath, rowType, FilterApi.eq(FilterApi.intColumn("f4"), 5)));
+		assertEquals(
+				number,
+				readWithFilterPredicate(testPath, rowType, FilterApi.eq(FilterApi.intColumn("f4"), 4)).size());
+	}
+
+	private List<Integer> readWithFilterPredicate(
+			Path path,
+			RowType rowType,
+			FilterPredicate predicate) throws IOException {
+		Configuration conf = new Configuration();
+		setFilterPredicate(conf, predicate);
+		ParquetColumnarRowInputFormat<FileSourceSplit> format =
+				new ParquetColumnarRowInputFormat<>(conf, rowType, 500, false, true);
+		List<Integer> values = new ArrayList<>();
+		forEachRemaining(
+				format.createReader(EMPTY_CONF, new FileSourceSplit("id", path, 0, Long.MAX_VALUE)),
+				row -> values.add(row.getInt(0)));
+		return values;
+	}
+
 	@Test
 	public void testPartitionValues() throws IOException {
 		// prepare parquet file
@@ -318,28 +498,9 @@ public class ParquetColumnarRowInputFormatTest {
 			long splitStart,
 			long splitLength,
 			long seekToRow) throws IOException {
-		LogicalType[] fieldTypes = new LogicalType[]{
-				new VarCharType(VarCharType.MAX_LENGTH),
-				new BooleanType(),
-				new TinyIntType(),
-				new SmallIntType(),
-				new IntType(),
-				new BigIntType(),
-				new FloatType(),
-				new DoubleType(),
-				new TimestampType(9),
-				new DecimalType(5, 0),
-				new DecimalType(15, 0),
-				new DecimalType(20, 0),
-				new DecimalType(5, 0),
-				new DecimalType(15, 0),
-				new DecimalType(20, 0)};
-
 		ParquetColumnarRowInputFormat format = new ParquetColumnarRowInputFormat(
 				new Configuration(),
-				RowType.of(fieldTypes, new String[] {
-						"f0", "f1", "f2", "f3", "f4", "f5", "f6", "f7",
-						"f8", "f9", "f10", "f11", "f12", "f13", "f14"}),
+				RowType.of(FIELD_TYPES, FIELD_NAMES),
 				500,
 				false,
 				true);
@@ -363,48 +524,51 @@ public class ParquetColumnarRowInputFormatTest {
 
 		AtomicInteger cnt = new AtomicInteger(0);
 		forEachRemaining(reader, row -> {
-			Integer v = expected.get(cnt.get());
-			if (v == null) {
-				assertTrue(row.isNullAt(0));
-				assertTrue(row.isNullAt(1));
-				assertTrue(row.isNullAt(2));
-				assertTrue(row.isNullAt(3));
-				assertTrue(row.isNullAt(4));
-				assertTrue(row.isNullAt(5));
-				assertTrue(row.isNullAt(6));
-				assertTrue(row.isNullAt(7));
-				assertTrue(row.isNullAt(8));
-				assertTrue(row.isNullAt(9));
-				assertTrue(row.isNullAt(10));
-				assertTrue(row.isNullAt(11));
-				assertTrue(row.isNullAt(12));
-				assertTrue(row.isNullAt(13));
-				assertTrue(row.isNullAt(14));
-			} else {
-				assertEquals("" + v, row.getString(0).toString());
-				assertEquals(v % 2 == 0, row.getBoolean(1));
-				assertEquals(v.byteValue(), row.getByte(2));
-				assertEquals(v.shortValue(), row.getShort(3));
-				assertEquals(v.intValue(), row.getInt(4));
-				assertEquals(v.longValue(), row.getLong(5));
-				assertEquals(v.floatValue(), row.getFloat(6), 0);
-				assertEquals(v.doubleValue(), row.getDouble(7), 0);
-				assertEquals(
-						toDateTime(v),
-						row.getTimestamp(8, 9).toLocalDateTime());
-				assertEquals(BigDecimal.valueOf(v), row.getDecimal(9, 5, 0).toBigDecimal());
-				assertEquals(BigDecimal.valueOf(v), row.getDecimal(10, 15, 0).toBigDecimal());
-				assertEquals(BigDecimal.valueOf(v), row.getDecimal(11, 20, 0).toBigDecimal());
-				assertEquals(BigDecimal.valueOf(v), row.getDecimal(12, 5, 0).toBigDecimal());
-				assertEquals(BigDecimal.valueOf(v), row.getDecimal(13, 15, 0).toBigDecimal());
-				assertEquals(BigDecimal.valueOf(v), row.getDecimal(14, 20, 0).toBigDecimal());
-			}
+			assertRow(expected.get(cnt.get()), row);
 			cnt.incrementAndGet();
 		});
 
 		return cnt.get();
 	}
 
+	private void assertRow(Integer v, RowData row) {
+		if (v == null) {
+			assertTrue(row.isNullAt(0));
+			assertTrue(row.isNullAt(1));
+			assertTrue(row.isNullAt(2));
+			assertTrue(row.isNullAt(3));
+			assertTrue(row.isNullAt(4));
+			assertTrue(row.isNullAt(5));
+			assertTrue(row.isNullAt(6));
+			assertTrue(row.isNullAt(7));
+			assertTrue(row.isNullAt(8));
+			assertTrue(row.isNullAt(9));
+			assertTrue(row.isNullAt(10));
+			assertTrue(row.isNullAt(11));
+			assertTrue(row.isNullAt(12));
+			assertTrue(row.isNullAt(13));
+			assertTrue(row.isNullAt(14));
+		} else {
+			assertEquals("" + v, row.getString(0).toString());
+			assertEquals(v % 2 == 0, row.getBoolean(1));
+			assertEquals(v.byteValue(), row.getByte(2));
+			assertEquals(v.shortValue(), row.getShort(3));
+			assertEquals(v.intValue(), row.getInt(4));
+			assertEquals(v.longValue(), row.getLong(5));
+			assertEquals(v.floatValue(), row.getFloat(6), 0);
+			assertEquals(v.doubleValue(), row.getDouble(7), 0);
+			assertEquals(
+					toDateTime(v),
+					row.getTimestamp(8, 9).toLocalDateTime());
+			assertEquals(BigDecimal.valueOf(v), row.getDecimal(9, 5, 0).toBigDecimal());
+			assertEquals(BigDecimal.valueOf(v), row.getDecimal(10, 15, 0).toBigDecimal());
+			assertEquals(BigDecimal.valueOf(v), row.getDecimal(11, 20, 0).toBigDecimal());
+			assertEquals(BigDecimal.valueOf(v), row.getDecimal(12, 5, 0).toBigDecimal());
+			assertEquals(BigDecimal.valueOf(v), row.getDecimal(13, 15, 0).toBigDecimal());
+			assertEquals(BigDecimal.valueOf(v), row.getDecimal(14, 20, 0).toBigDecimal());
+		}
+	}
+
 	private Row newRow(Integer v) {
 		if (v == null) {
 			return new Row(PARQUET_SCHEMA.getFieldCount());
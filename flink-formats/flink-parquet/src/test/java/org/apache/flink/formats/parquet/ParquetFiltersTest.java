@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.formats.parquet;
+
+import org.apache.flink.table.api.DataTypes;
+import org.apache.flink.table.expressions.CallExpression;
+import org.apache.flink.table.expressions.FieldReferenceExpression;
+import org.apache.flink.table.expressions.ResolvedExpression;
+import org.apache.flink.table.expressions.ValueLiteralExpression;
+import org.apache.flink.table.functions.BuiltInFunctionDefinitions;
+import org.apache.flink.table.functions.FunctionDefinition;
+import org.apache.flink.table.types.logical.BigIntType;
+import org.apache.flink.table.types.logical.DateType;
+import org.apache.flink.table.types.logical.DecimalType;
+import org.apache.flink.table.types.logical.IntType;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.RowType;
+import org.apache.flink.table.types.logical.VarCharType;
+
+import org.apache.parquet.filter2.predicate.FilterApi;
+import org.apache.parquet.filter2.predicate.FilterPredicate;
+import org.apache.parquet.io.api.Binary;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Tests for {@link ParquetFilters}.
+ */
+public class ParquetFiltersTest {
+
+	private static final RowType ROW_TYPE = RowType.of(
+			new LogicalType[] {
+					new IntType(),
+					new BigIntType(),
+					new VarCharType(VarCharType.MAX_LENGTH),
+					new DateType(),
+					new DecimalType(10, 2)},
+			new String[] {"i", "l", "s", "d", "dec"});
+
+	private static final FieldReferenceExpression INT_REF =
+			new FieldReferenceExpression("i", DataTypes.INT(), 0, 0);
+	private static final FieldReferenceExpression LONG_REF =
+			new FieldReferenceExpression("l", DataTypes.BIGINT(), 0, 1);
+	private static final FieldReferenceExpression STRING_REF =
+			new FieldReferenceExpression("s", DataTypes.STRING(), 0, 2);
+
+	@Test
+	public void testComparisons() {
+		assertEquals(
+				FilterApi.eq(FilterApi.intColumn("i"), 10),
+				convert(call(BuiltInFunctionDefinitions.EQUALS, INT_REF, new ValueLiteralExpression(10))));
+		assertEquals(
+				FilterApi.gt(FilterApi.longColumn("l"), 10L),
+				convert(call(BuiltInFunctionDefinitions.GREATER_THAN, LONG_REF, new ValueLiteralExpression(10))));
+		assertEquals(
+				FilterApi.ltEq(FilterApi.binaryColumn("s"), Binary.fromString("b")),
+				convert(call(BuiltInFunctionDefinitions.LESS_THAN_OR_EQUAL, STRING_REF, new ValueLiteralExpression("b"))));
+		assertEquals(
+				FilterApi.eq(FilterApi.intColumn("d"), (int) LocalDate.of(2020, 1, 1).toEpochDay()),
+				convert(call(
+						BuiltInFunctionDefinitions.EQUALS,
+						new FieldReferenceExpression("d", DataTypes.DATE(), 0, 3),
+						new ValueLiteralExpression(LocalDate.of(2020, 1, 1)))));
+	}
+
+	@Test
+	public void testLiteralOnTheLeft() {
+		// 10 < i is i > 10
+		assertEquals(
+				FilterApi.gt(FilterApi.intColumn("i"), 10),
+				convert(call(BuiltInFunctionDefinitions.LESS_THAN, new ValueLiteralExpression(10), INT_REF)));
+	}
+
+	@Test
+	public void testNullChecksAndLogicalOperators() {
+		CallExpression isNull = call(BuiltInFunctionDefinitions.IS_NULL, INT_REF);
+		CallExpression lessThan = call(BuiltInFunctionDefinitions.LESS_THAN, LONG_REF, new ValueLiteralExpression(5L));
+		assertEquals(
+				FilterApi.or(
+						FilterApi.eq(FilterApi.intColumn("i"), null),
+						FilterApi.not(FilterApi.lt(FilterApi.longColumn("l"), 5L))),
+				convert(call(
+						BuiltInFunctionDefinitions.OR,
+						isNull,
+						call(BuiltInFunctionDefinitions.NOT, lessThan))));
+		assertEquals(
+				FilterApi.notEq(FilterApi.binaryColumn("s"), null),
+				convert(call(BuiltInFunctionDefinitions.IS_NOT_NULL, STRING_REF)));
+	}
+
+	@Test
+	public void testUnsupportedFilters() {
+		// decimals are not supported
+		assertNull(convert(call(
+				BuiltInFunctionDefinitions.EQUALS,
+				new FieldReferenceExpression("dec", DataTypes.DECIMAL(10, 2), 0, 4),
+				new ValueLiteralExpression(BigDecimal.ONE))));
+		// a decimal literal can't be compared with an int column exactly
+		assertNull(convert(call(
+				BuiltInFunctionDefinitions.LESS_THAN, INT_REF, new ValueLiteralExpression(new BigDecimal("2.5")))));
+		// fields which are not stored in the file, e.g. partition fields
+		assertNull(convert(call(
+				BuiltInFunctionDefinitions.EQUALS,
+				new FieldReferenceExpression("p", DataTypes.INT(), 0, 5),
+				new ValueLiteralExpression(1))));
+		// an OR can only be converted as a whole
+		assertNull(convert(call(
+				BuiltInFunctionDefinitions.OR,
+				call(BuiltInFunctionDefinitions.EQUALS, INT_REF, new ValueLiteralExpression(1)),
+				call(BuiltInFunctionDefinitions.LIKE, STRING_REF, new ValueLiteralExpression("a%")))));
+	}
+
+	@Test
+	public void testConjunctionOfConvertibleFilters() {
+		FilterPredicate predicate = ParquetFilters.toParquetPredicate(
+				Arrays.asList(
+						call(BuiltInFunctionDefinitions.GREATER_THAN_OR_EQUAL, INT_REF, new ValueLiteralExpression(1)),
+						call(BuiltInFunctionDefinitions.LIKE, STRING_REF, new ValueLiteralExpression("a%")),
+						call(BuiltInFunctionDefinitions.NOT_EQUALS, LONG_REF, new ValueLiteralExpression(3L))),
+				ROW_TYPE);
+		assertEquals(
+				FilterApi.and(
+						FilterApi.gtEq(FilterApi.intColumn("i"), 1),
+						FilterApi.notEq(FilterApi.longColumn("l"), 3L)),
+				predicate);
+		assertEquals(
+				new HashSet<>(Arrays.asList("i", "l", "s")),
+				ParquetFilters.getReferencedFields(Arrays.asList(
+						call(BuiltInFunctionDefinitions.GREATER_THAN_OR_EQUAL, INT_REF, new ValueLiteralExpression(1)),
+						call(BuiltInFunctionDefinitions.LIKE, STRING_REF, new ValueLiteralExpression("a%")),
+						call(BuiltInFunctionDefinitions.NOT_EQUALS, LONG_REF, new ValueLiteralExpression(3L)))));
+	}
+
+	private static FilterPredicate convert(ResolvedExpression expression) {
+		return ParquetFilters.toParquetPredicate(Collections.singletonList(expression), ROW_TYPE);
+	}
+
+	private static CallExpression call(FunctionDefinition function, ResolvedExpression... args) {
+		return new CallExpression(function, Arrays.asList(args), DataTypes.BOOLEAN());
+	}
+}
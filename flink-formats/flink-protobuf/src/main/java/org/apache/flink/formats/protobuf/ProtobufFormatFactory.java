@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.formats.protobuf;
+
+import org.apache.flink.api.common.serialization.DeserializationSchema;
+import org.apache.flink.api.common.serialization.SerializationSchema;
+import org.apache.flink.api.common.typeinfo.TypeInformation;
+import org.apache.flink.configuration.ConfigOption;
+import org.apache.flink.configuration.ReadableConfig;
+import org.apache.flink.table.connector.ChangelogMode;
+import org.apache.flink.table.connector.format.DecodingFormat;
+import org.apache.flink.table.connector.format.EncodingFormat;
+import org.apache.flink.table.connector.sink.DynamicTableSink;
+import org.apache.flink.table.connector.source.DynamicTableSource;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.factories.DeserializationFormatFactory;
+import org.apache.flink.table.factories.DynamicTableFactory;
+import org.apache.flink.table.factories.FactoryUtil;
+import org.apache.flink.table.factories.SerializationFormatFactory;
+import org.apache.flink.table.types.DataType;
+import org.apache.flink.table.types.logical.RowType;
+
+import com.google.protobuf.Descriptors.Descriptor;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.apache.flink.formats.protobuf.ProtobufOptions.IGNORE_PARSE_ERRORS;
+import static org.apache.flink.formats.protobuf.ProtobufOptions.MESSAGE_CLASS_NAME;
+
+/**
+ * Table format factory for providing configured instances of protobuf to RowData
+ * {@link SerializationSchema} and {@link DeserializationSchema}.
+ */
+public class ProtobufFormatFactory implements
+		DeserializationFormatFactory,
+		SerializationFormatFactory {
+
+	public static final String IDENTIFIER = "protobuf";
+
+	@Override
+	public DecodingFormat<DeserializationSchema<RowData>> createDecodingFormat(
+			DynamicTableFactory.Context context,
+			ReadableConfig formatOptions) {
+		FactoryUtil.validateFactoryOptions(this, formatOptions);
+
+		final String messageClassName = formatOptions.get(MESSAGE_CLASS_NAME);
+		final boolean ignoreParseErrors = formatOptions.get(IGNORE_PARSE_ERRORS);
+		final ClassLoader classLoader = context.getClassLoader();
+
+		return new DecodingFormat<DeserializationSchema<RowData>>() {
+			@Override
+			public DeserializationSchema<RowData> createRuntimeDecoder(
+					DynamicTableSource.Context context,
+					DataType producedDataType) {
+				final RowType rowType = (RowType) producedDataType.getLogicalType();
+				// fails early if the row type does not match the message
+				final Descriptor descriptor = ProtobufUtils.getDescriptor(messageClassName, classLoader);
+				ProtobufToRowDataDecoders.createMessageDecoder(descriptor, rowType);
+
+				final TypeInformation<RowData> rowDataTypeInfo =
+						context.createTypeInformation(producedDataType);
+				return new ProtobufRowDataDeserializationSchema(
+						rowType,
+						rowDataTypeInfo,
+						messageClassName,
+						ignoreParseErrors);
+			}
+
+			@Override
+			public ChangelogMode getChangelogMode() {
+				return ChangelogMode.insertOnly();
+			}
+		};
+	}
+
+	@Override
+	public EncodingFormat<SerializationSchema<RowData>> createEncodingFormat(
+			DynamicTableFactory.Context context,
+			ReadableConfig formatOptions) {
+		FactoryUtil.validateFactoryOptions(this, formatOptions);
+
+		final String messageClassName = formatOptions.get(MESSAGE_CLASS_NAME);
+		final ClassLoader classLoader = context.getClassLoader();
+
+		return new EncodingFormat<SerializationSchema<RowData>>() {
+			@Override
+			public SerializationSchema<RowData> createRuntimeEncoder(
+					DynamicTableSink.Context context,
+					DataType consumedDataType) {
+				final RowType rowType = (RowType) consumedDataType.getLogicalType();
+				// fails early if the row type does not match the message
+				final Descriptor descriptor = ProtobufUtils.getDescriptor(messageClassName, classLoader);
+				RowDataToProtobufEncoders.createMessageEncoder(descriptor, rowType);
+
+				return new ProtobufRowDataSerializationSchema(rowType, messageClassName);
+			}
+
+			@Override
+			public ChangelogMode getChangelogMode() {
+				return ChangelogMode.insertOnly();
+			}
+		};
+	}
+
+	@Override
+	public String factoryIdentifier() {
+		return IDENTIFIER;
+	}
+
+	@Override
+	public Set<ConfigOption<?>> requiredOptions() {
+		return Collections.singleton(MESSAGE_CLASS_NAME);
+	}
+
+	@Override
+	public Set<ConfigOption<?>> optionalOptions() {
+		Set<ConfigOption<?>> options = new HashSet<>();
+		options.add(IGNORE_PARSE_ERRORS);
+		return options;
+	}
+}
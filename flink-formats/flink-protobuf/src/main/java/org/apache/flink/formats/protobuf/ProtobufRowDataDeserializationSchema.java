@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.formats.protobuf;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.api.common.serialization.DeserializationSchema;
+import org.apache.flink.api.common.typeinfo.TypeInformation;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.types.logical.RowType;
+
+import com.google.protobuf.CodedInputStream;
+
+import java.io.IOException;
+import java.util.Objects;
+
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * Deserialization schema from protobuf to Flink Table/SQL internal data structure {@link RowData}.
+ *
+ * <p>Deserializes a <code>byte[]</code> message in the protobuf wire format of the configured
+ * message class and reads the specified fields. The fields of the message that are not part of the
+ * row type are skipped without decoding them.
+ *
+ * <p>Failures during deserialization are forwarded as wrapped IOExceptions.
+ */
+@Internal
+public class ProtobufRowDataDeserializationSchema implements DeserializationSchema<RowData> {
+	private static final long serialVersionUID = 1L;
+
+	/** Logical type describing the produced rows. */
+	private final RowType rowType;
+
+	/** TypeInformation of the produced {@link RowData}. */
+	private final TypeInformation<RowData> resultTypeInfo;
+
+	/** Full name of the Java class generated by protoc for the message. */
+	private final String messageClassName;
+
+	/** Flag indicating whether to ignore invalid rows (default: throw an exception). */
+	private final boolean ignoreParseErrors;
+
+	/** Decoder that decodes the messages into rows, created from the message descriptor. */
+	private transient ProtobufToRowDataDecoders.MessageDecoder decoder;
+
+	public ProtobufRowDataDeserializationSchema(
+			RowType rowType,
+			TypeInformation<RowData> resultTypeInfo,
+			String messageClassName,
+			boolean ignoreParseErrors) {
+		this.rowType = checkNotNull(rowType);
+		this.resultTypeInfo = checkNotNull(resultTypeInfo);
+		this.messageClassName = checkNotNull(messageClassName);
+		this.ignoreParseErrors = ignoreParseErrors;
+	}
+
+	@Override
+	public void open(InitializationContext context) {
+		this.decoder = createDecoder(context.getUserCodeClassLoader().asClassLoader());
+	}
+
+	private ProtobufToRowDataDecoders.MessageDecoder createDecoder(ClassLoader classLoader) {
+		return ProtobufToRowDataDecoders.createMessageDecoder(
+			ProtobufUtils.getDescriptor(messageClassName, classLoader),
+			rowType);
+	}
+
+	@Override
+	public RowData deserialize(byte[] message) throws IOException {
+		if (decoder == null) {
+			decoder = createDecoder(Thread.currentThread().getContextClassLoader());
+		}
+
+		try {
+			return decoder.decode(CodedInputStream.newInstance(message));
+		} catch (Throwable t) {
+			if (ignoreParseErrors) {
+				return null;
+			}
+			throw new IOException("Failed to deserialize protobuf message.", t);
+		}
+	}
+
+	@Override
+	public boolean isEndOfStream(RowData nextElement) {
+		return false;
+	}
+
+	@Override
+	public TypeInformation<RowData> getProducedType() {
+		return resultTypeInfo;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (o == null || getClass() != o.getClass()) {
+			return false;
+		}
+		ProtobufRowDataDeserializationSchema that = (ProtobufRowDataDeserializationSchema) o;
+		return ignoreParseErrors == that.ignoreParseErrors &&
+			rowType.equals(that.rowType) &&
+			resultTypeInfo.equals(that.resultTypeInfo) &&
+			messageClassName.equals(that.messageClassName);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(rowType, resultTypeInfo, messageClassName, ignoreParseErrors);
+	}
+}
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.formats.protobuf;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.api.common.serialization.SerializationSchema;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.types.logical.RowType;
+
+import java.util.Objects;
+
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * Serialization schema that serializes an object of Flink internal data structure {@link RowData}
+ * into the protobuf wire format of the configured message class.
+ *
+ * <p>Serializes the input Flink object into a protobuf message and converts it into <code>byte[]</code>.
+ * Fields that are null are not written.
+ *
+ * <p>Result <code>byte[]</code> messages can be deserialized using {@link ProtobufRowDataDeserializationSchema}.
+ */
+@Internal
+public class ProtobufRowDataSerializationSchema implements SerializationSchema<RowData> {
+	private static final long serialVersionUID = 1L;
+
+	/** Logical type describing the consumed rows. */
+	private final RowType rowType;
+
+	/** Full name of the Java class generated by protoc for the message. */
+	private final String messageClassName;
+
+	/** Encoder that encodes the rows into messages, created from the message descriptor. */
+	private transient RowDataToProtobufEncoders.MessageEncoder encoder;
+
+	public ProtobufRowDataSerializationSchema(RowType rowType, String messageClassName) {
+		this.rowType = checkNotNull(rowType);
+		this.messageClassName = checkNotNull(messageClassName);
+	}
+
+	@Override
+	public void open(InitializationContext context) {
+		this.encoder = createEncoder(context.getUserCodeClassLoader().asClassLoader());
+	}
+
+	private RowDataToProtobufEncoders.MessageEncoder createEncoder(ClassLoader classLoader) {
+		return RowDataToProtobufEncoders.createMessageEncoder(
+			ProtobufUtils.getDescriptor(messageClassName, classLoader),
+			rowType);
+	}
+
+	@Override
+	public byte[] serialize(RowData row) {
+		if (encoder == null) {
+			encoder = createEncoder(Thread.currentThread().getContextClassLoader());
+		}
+
+		try {
+			return encoder.encode(row);
+		} catch (Throwable t) {
+			throw new RuntimeException("Could not serialize row '" + row + "'. ", t);
+		}
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (o == null || getClass() != o.getClass()) {
+			return false;
+		}
+		ProtobufRowDataSerializationSchema that = (ProtobufRowDataSerializationSchema) o;
+		return rowType.equals(that.rowType) &&
+			messageClassName.equals(that.messageClassName);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(rowType, messageClassName);
+	}
+}
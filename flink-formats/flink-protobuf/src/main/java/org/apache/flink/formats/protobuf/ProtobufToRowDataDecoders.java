@@ -0,0 +1,500 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.formats.protobuf;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.table.data.GenericArrayData;
+import org.apache.flink.table.data.GenericMapData;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.types.logical.ArrayType;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.LogicalTypeRoot;
+import org.apache.flink.table.types.logical.MapType;
+import org.apache.flink.table.types.logical.RowType;
+import org.apache.flink.table.types.logical.utils.LogicalTypeUtils;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.Descriptors.Descriptor;
+import com.google.protobuf.Descriptors.EnumValueDescriptor;
+import com.google.protobuf.Descriptors.FieldDescriptor;
+import com.google.protobuf.WireFormat;
+
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.apache.flink.formats.protobuf.ProtobufUtils.checkFieldType;
+import static org.apache.flink.formats.protobuf.ProtobufUtils.getDefaultValue;
+import static org.apache.flink.formats.protobuf.ProtobufUtils.getField;
+import static org.apache.flink.formats.protobuf.ProtobufUtils.getMapKeyField;
+import static org.apache.flink.formats.protobuf.ProtobufUtils.getMapValueField;
+import static org.apache.flink.formats.protobuf.ProtobufUtils.hasPresence;
+
+/**
+ * Tool class used to decode the protobuf wire format into {@link RowData}.
+ *
+ * <p>The decoders are created once per message type from its descriptor and read the fields of a
+ * message straight from the {@link CodedInputStream}, without building a protobuf message object
+ * first. Fields of the message that are not part of the row type are skipped without decoding them.
+ */
+@Internal
+public class ProtobufToRowDataDecoders {
+
+	/**
+	 * Field numbers up to this one are looked up in an array, larger ones in a map.
+	 */
+	private static final int MAX_DENSE_FIELD_NUMBER = 1024;
+
+	/**
+	 * Decoder that decodes a value of a field from the protobuf wire format, after its tag has
+	 * been read.
+	 */
+	@FunctionalInterface
+	private interface ValueDecoder {
+		Object decode(CodedInputStream input) throws IOException;
+	}
+
+	/**
+	 * Creates a decoder for messages of the given descriptor into rows of the given type.
+	 */
+	public static MessageDecoder createMessageDecoder(Descriptor descriptor, RowType rowType) {
+		final List<RowType.RowField> rowFields = rowType.getFields();
+		final FieldDecoder[] fields = new FieldDecoder[rowFields.size()];
+		for (int i = 0; i < fields.length; i++) {
+			final RowType.RowField rowField = rowFields.get(i);
+			final FieldDescriptor field = getField(descriptor, rowField.getName());
+			checkFieldType(field, rowField.getType());
+			fields[i] = createFieldDecoder(field, rowField.getType(), i);
+		}
+		return new MessageDecoder(fields);
+	}
+
+	private static FieldDecoder createFieldDecoder(FieldDescriptor field, LogicalType type, int pos) {
+		if (field.isMapField()) {
+			final MapType mapType = (MapType) type;
+			final FieldDescriptor keyField = getMapKeyField(field);
+			final FieldDescriptor valueField = getMapValueField(field);
+			return new MapFieldDecoder(
+				field.getNumber(),
+				pos,
+				createValueDecoder(keyField, mapType.getKeyType()),
+				getWireType(keyField),
+				getDefaultValue(keyField, mapType.getKeyType()),
+				createValueDecoder(valueField, mapType.getValueType()),
+				getWireType(valueField),
+				getDefaultValue(valueField, mapType.getValueType()));
+		} else if (field.isRepeated()) {
+			final LogicalType elementType = ((ArrayType) type).getElementType();
+			return new RepeatedFieldDecoder(
+				field.getNumber(),
+				pos,
+				createValueDecoder(field, elementType),
+				getWireType(field),
+				field.isPackable(),
+				LogicalTypeUtils.toInternalConversionClass(elementType));
+		} else {
+			return new SingularFieldDecoder(
+				field.getNumber(),
+				pos,
+				createValueDecoder(field, type),
+				getWireType(field),
+				hasPresence(field) ? null : getDefaultValue(field, type));
+		}
+	}
+
+	private static ValueDecoder createValueDecoder(FieldDescriptor field, LogicalType type) {
+		switch (field.getType()) {
+			case INT32:
+				return CodedInputStream::readInt32;
+			case SINT32:
+				return CodedInputStream::readSInt32;
+			case SFIXED32:
+				return CodedInputStream::readSFixed32;
+			case UINT32:
+				return CodedInputStream::readUInt32;
+			case FIXED32:
+				return CodedInputStream::readFixed32;
+			case INT64:
+				return CodedInputStream::readInt64;
+			case SINT64:
+				return CodedInputStream::readSInt64;
+			case SFIXED64:
+				return CodedInputStream::readSFixed64;
+			case UINT64:
+				return CodedInputStream::readUInt64;
+			case FIXED64:
+				return CodedInputStream::readFixed64;
+			case FLOAT:
+				return CodedInputStream::readFloat;
+			case DOUBLE:
+				return CodedInputStream::readDouble;
+			case BOOL:
+				return CodedInputStream::readBool;
+			case STRING:
+				// the UTF-8 bytes are kept as they are, they are only decoded if the string is used
+				return input -> StringData.fromBytes(input.readByteArray());
+			case BYTES:
+				return CodedInputStream::readByteArray;
+			case ENUM:
+				return createEnumDecoder(field, type);
+			case MESSAGE:
+				return createNestedMessageDecoder(field, (RowType) type);
+			default:
+				throw new UnsupportedOperationException("Unsupported protobuf type: " + field.getType());
+		}
+	}
+
+	private static ValueDecoder createEnumDecoder(FieldDescriptor field, LogicalType type) {
+		if (type.getTypeRoot() == LogicalTypeRoot.INTEGER) {
+			return CodedInputStream::readEnum;
+		}
+
+		final Map<Integer, StringData> names = new HashMap<>();
+		for (EnumValueDescriptor value : field.getEnumType().getValues()) {
+			names.putIfAbsent(value.getNumber(), StringData.fromString(value.getName()));
+		}
+		return input -> {
+			final int number = input.readEnum();
+			final StringData name = names.get(number);
+			// values that are unknown to the descriptor are kept as their numbers
+			return name != null ? name : StringData.fromString(String.valueOf(number));
+		};
+	}
+
+	private static ValueDecoder createNestedMessageDecoder(FieldDescriptor field, RowType rowType) {
+		final MessageDecoder messageDecoder = createMessageDecoder(field.getMessageType(), rowType);
+		return input -> {
+			final int length = input.readRawVarint32();
+			final int oldLimit = input.pushLimit(length);
+			final RowData row = messageDecoder.decode(input);
+			input.popLimit(oldLimit);
+			return row;
+		};
+	}
+
+	private static int getWireType(FieldDescriptor field) {
+		return field.getLiteType().getWireType();
+	}
+
+	// --------------------------------------------------------------------------------------------
+
+	/**
+	 * Decoder of the protobuf wire format of a message into a {@link RowData}.
+	 */
+	public static final class MessageDecoder {
+
+		/** The decoders of the fields, in the order of the row. */
+		private final FieldDecoder[] fields;
+
+		/** The decoders of the fields by field number, if all field numbers are small. */
+		private final FieldDecoder[] denseFieldsByNumber;
+
+		/** The decoders of the fields by field number, if some field numbers are large. */
+		private final Map<Integer, FieldDecoder> sparseFieldsByNumber;
+
+		/** Whether some fields collect their values while the message is decoded. */
+		private final boolean hasCollectingFields;
+
+		private MessageDecoder(FieldDecoder[] fields) {
+			this.fields = fields;
+
+			int maxFieldNumber = 0;
+			boolean hasCollectingFields = false;
+			for (FieldDecoder field : fields) {
+				maxFieldNumber = Math.max(maxFieldNumber, field.number);
+				hasCollectingFields |= !(field instanceof SingularFieldDecoder);
+			}
+			this.hasCollectingFields = hasCollectingFields;
+
+			if (maxFieldNumber <= MAX_DENSE_FIELD_NUMBER) {
+				this.denseFieldsByNumber = new FieldDecoder[maxFieldNumber + 1];
+				this.sparseFieldsByNumber = null;
+				for (FieldDecoder field : fields) {
+					denseFieldsByNumber[field.number] = field;
+				}
+			} else {
+				this.denseFieldsByNumber = null;
+				this.sparseFieldsByNumber = new HashMap<>();
+				for (FieldDecoder field : fields) {
+					sparseFieldsByNumber.put(field.number, field);
+				}
+			}
+		}
+
+		/**
+		 * Decodes a message from the input, until the end of the input or its current limit.
+		 */
+		public RowData decode(CodedInputStream input) throws IOException {
+			final GenericRowData row = new GenericRowData(fields.length);
+			final Object[] collectedValues = hasCollectingFields ? new Object[fields.length] : null;
+
+			int tag;
+			while ((tag = input.readTag()) != 0) {
+				final FieldDecoder field = getField(WireFormat.getTagFieldNumber(tag));
+				if (field == null || !field.decode(tag, input, row, collectedValues)) {
+					// fields that are not part of the row, or that have an unexpected wire type
+					input.skipField(tag);
+				}
+			}
+
+			for (FieldDecoder field : fields) {
+				field.finish(row, collectedValues);
+			}
+			return row;
+		}
+
+		private FieldDecoder getField(int number) {
+			if (denseFieldsByNumber != null) {
+				return number < denseFieldsByNumber.length ? denseFieldsByNumber[number] : null;
+			} else {
+				return sparseFieldsByNumber.get(number);
+			}
+		}
+	}
+
+	/**
+	 * Decoder of the values of a field into a field of a row.
+	 */
+	private abstract static class FieldDecoder {
+
+		/** The number of the field in the message. */
+		final int number;
+
+		/** The position of the field in the row. */
+		final int pos;
+
+		FieldDecoder(int number, int pos) {
+			this.number = number;
+			this.pos = pos;
+		}
+
+		/**
+		 * Decodes a value of the field, after its tag has been read.
+		 *
+		 * @return False, if the value has a wire type that the field does not expect and has not
+		 * been read.
+		 */
+		abstract boolean decode(
+			int tag,
+			CodedInputStream input,
+			GenericRowData row,
+			Object[] collectedValues) throws IOException;
+
+		/**
+		 * Sets the field of the row after all values of the message have been decoded.
+		 */
+		abstract void finish(GenericRowData row, Object[] collectedValues);
+	}
+
+	/**
+	 * Decoder of a singular field. The last value of the field wins, like for the fields of
+	 * protobuf messages. Nested messages that occur several times are not merged.
+	 */
+	private static final class SingularFieldDecoder extends FieldDecoder {
+
+		private final ValueDecoder valueDecoder;
+
+		private final int wireType;
+
+		/** The value of the field if it is not set, null if the field tracks its presence. */
+		private final Object defaultValue;
+
+		SingularFieldDecoder(int number, int pos, ValueDecoder valueDecoder, int wireType, Object defaultValue) {
+			super(number, pos);
+			this.valueDecoder = valueDecoder;
+			this.wireType = wireType;
+			this.defaultValue = defaultValue;
+		}
+
+		@Override
+		boolean decode(
+				int tag,
+				CodedInputStream input,
+				GenericRowData row,
+				Object[] collectedValues) throws IOException {
+			if (WireFormat.getTagWireType(tag) != wireType) {
+				return false;
+			}
+			row.setField(pos, valueDecoder.decode(input));
+			return true;
+		}
+
+		@Override
+		void finish(GenericRowData row, Object[] collectedValues) {
+			if (defaultValue != null && row.isNullAt(pos)) {
+				row.setField(pos, defaultValue);
+			}
+		}
+	}
+
+	/**
+	 * Decoder of a repeated field, whose values may be packed.
+	 */
+	private static final class RepeatedFieldDecoder extends FieldDecoder {
+
+		private final ValueDecoder valueDecoder;
+
+		private final int wireType;
+
+		private final boolean packable;
+
+		private final Class<?> elementClass;
+
+		RepeatedFieldDecoder(
+				int number,
+				int pos,
+				ValueDecoder valueDecoder,
+				int wireType,
+				boolean packable,
+				Class<?> elementClass) {
+			super(number, pos);
+			this.valueDecoder = valueDecoder;
+			this.wireType = wireType;
+			this.packable = packable;
+			this.elementClass = elementClass;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		boolean decode(
+				int tag,
+				CodedInputStream input,
+				GenericRowData row,
+				Object[] collectedValues) throws IOException {
+			final int tagWireType = WireFormat.getTagWireType(tag);
+			final boolean packed = packable && tagWireType == WireFormat.WIRETYPE_LENGTH_DELIMITED;
+			if (tagWireType != wireType && !packed) {
+				return false;
+			}
+
+			List<Object> values = (List<Object>) collectedValues[pos];
+			if (values == null) {
+				values = new ArrayList<>();
+				collectedValues[pos] = values;
+			}
+
+			if (packed) {
+				final int length = input.readRawVarint32();
+				final int oldLimit = input.pushLimit(length);
+				while (input.getBytesUntilLimit() > 0) {
+					values.add(valueDecoder.decode(input));
+				}
+				input.popLimit(oldLimit);
+			} else {
+				values.add(valueDecoder.decode(input));
+			}
+			return true;
+		}
+
+		@Override
+		void finish(GenericRowData row, Object[] collectedValues) {
+			final List<?> values = (List<?>) collectedValues[pos];
+			// the array has the internal class of the elements, as the converters of the elements expect
+			final Object[] array = (Object[]) Array.newInstance(elementClass, values == null ? 0 : values.size());
+			row.setField(pos, new GenericArrayData(values == null ? array : values.toArray(array)));
+		}
+	}
+
+	/**
+	 * Decoder of a map field, whose entries are messages with the key as field 1 and the value
+	 * as field 2.
+	 */
+	private static final class MapFieldDecoder extends FieldDecoder {
+
+		private final ValueDecoder keyDecoder;
+
+		private final int keyWireType;
+
+		private final Object defaultKey;
+
+		private final ValueDecoder valueDecoder;
+
+		private final int valueWireType;
+
+		private final Object defaultValue;
+
+		MapFieldDecoder(
+				int number,
+				int pos,
+				ValueDecoder keyDecoder,
+				int keyWireType,
+				Object defaultKey,
+				ValueDecoder valueDecoder,
+				int valueWireType,
+				Object defaultValue) {
+			super(number, pos);
+			this.keyDecoder = keyDecoder;
+			this.keyWireType = keyWireType;
+			this.defaultKey = defaultKey;
+			this.valueDecoder = valueDecoder;
+			this.valueWireType = valueWireType;
+			this.defaultValue = defaultValue;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		boolean decode(
+				int tag,
+				CodedInputStream input,
+				GenericRowData row,
+				Object[] collectedValues) throws IOException {
+			if (WireFormat.getTagWireType(tag) != WireFormat.WIRETYPE_LENGTH_DELIMITED) {
+				return false;
+			}
+
+			Map<Object, Object> entries = (Map<Object, Object>) collectedValues[pos];
+			if (entries == null) {
+				entries = new HashMap<>();
+				collectedValues[pos] = entries;
+			}
+
+			Object key = defaultKey;
+			Object value = defaultValue;
+			final int length = input.readRawVarint32();
+			final int oldLimit = input.pushLimit(length);
+			int entryTag;
+			while ((entryTag = input.readTag()) != 0) {
+				final int entryWireType = WireFormat.getTagWireType(entryTag);
+				final int entryFieldNumber = WireFormat.getTagFieldNumber(entryTag);
+				if (entryFieldNumber == 1 && entryWireType == keyWireType) {
+					key = keyDecoder.decode(input);
+				} else if (entryFieldNumber == 2 && entryWireType == valueWireType) {
+					value = valueDecoder.decode(input);
+				} else {
+					input.skipField(entryTag);
+				}
+			}
+			input.popLimit(oldLimit);
+
+			entries.put(key, value);
+			return true;
+		}
+
+		@Override
+		void finish(GenericRowData row, Object[] collectedValues) {
+			final Map<?, ?> entries = (Map<?, ?>) collectedValues[pos];
+			row.setField(pos, new GenericMapData(entries == null ? new HashMap<>() : entries));
+		}
+	}
+}
@@ -0,0 +1,194 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.formats.protobuf;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.table.api.ValidationException;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.types.logical.ArrayType;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.LogicalTypeRoot;
+import org.apache.flink.table.types.logical.MapType;
+import org.apache.flink.table.types.logical.RowType;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.Descriptors.Descriptor;
+import com.google.protobuf.Descriptors.EnumValueDescriptor;
+import com.google.protobuf.Descriptors.FieldDescriptor;
+import com.google.protobuf.Descriptors.FileDescriptor;
+import com.google.protobuf.Message;
+
+import javax.annotation.Nullable;
+
+import java.lang.reflect.Method;
+
+/**
+ * Utilities for mapping protobuf messages to Flink's Table & SQL internal data structures.
+ *
+ * <p>A message maps to a {@link RowType} whose fields are a subset of the message's fields, matched
+ * by name. The protobuf types map to logical types as follows:
+ * <ul>
+ *     <li>int32, sint32, sfixed32, uint32 and fixed32 to INT, the unsigned types without conversion</li>
+ *     <li>int64, sint64, sfixed64, uint64 and fixed64 to BIGINT, the unsigned types without conversion</li>
+ *     <li>float to FLOAT, double to DOUBLE and bool to BOOLEAN</li>
+ *     <li>string to CHAR or VARCHAR, bytes to BINARY or VARBINARY</li>
+ *     <li>enum to CHAR or VARCHAR for the names, or to INT for the numbers of the values</li>
+ *     <li>message to ROW, repeated fields to ARRAY and map fields to MAP</li>
+ * </ul>
+ * The members of a oneof are separate fields, the ones that are not set are null.
+ */
+@Internal
+public class ProtobufUtils {
+
+	/**
+	 * Gets the descriptor of the message of the given class generated by protoc.
+	 */
+	public static Descriptor getDescriptor(String messageClassName, ClassLoader classLoader) {
+		final Class<?> messageClass;
+		try {
+			messageClass = Class.forName(messageClassName, true, classLoader);
+		} catch (ClassNotFoundException e) {
+			throw new ValidationException(
+				String.format("Could not find the protobuf message class '%s'.", messageClassName), e);
+		}
+		if (!Message.class.isAssignableFrom(messageClass)) {
+			throw new ValidationException(
+				String.format("Class '%s' is not a protobuf message class.", messageClassName));
+		}
+
+		try {
+			Method getDescriptor = messageClass.getMethod("getDescriptor");
+			return (Descriptor) getDescriptor.invoke(null);
+		} catch (ReflectiveOperationException e) {
+			throw new ValidationException(
+				String.format("Could not get the descriptor of protobuf message class '%s'.", messageClassName), e);
+		}
+	}
+
+	/**
+	 * Gets the field of the message for the field of the row type with the given name.
+	 */
+	static FieldDescriptor getField(Descriptor descriptor, String fieldName) {
+		FieldDescriptor field = descriptor.findFieldByName(fieldName);
+		if (field == null) {
+			throw new ValidationException(String.format(
+				"Field '%s' is not a field of protobuf message '%s'.", fieldName, descriptor.getFullName()));
+		}
+		return field;
+	}
+
+	/**
+	 * Checks that the given field of a message can be mapped to the given logical type. Message
+	 * types are checked when their fields are mapped.
+	 */
+	static void checkFieldType(FieldDescriptor field, LogicalType type) {
+		final boolean compatible;
+		if (field.isMapField()) {
+			compatible = type.getTypeRoot() == LogicalTypeRoot.MAP
+				&& isCompatible(getMapKeyField(field), ((MapType) type).getKeyType())
+				&& isCompatible(getMapValueField(field), ((MapType) type).getValueType());
+		} else if (field.isRepeated()) {
+			compatible = type.getTypeRoot() == LogicalTypeRoot.ARRAY
+				&& isCompatible(field, ((ArrayType) type).getElementType());
+		} else {
+			compatible = isCompatible(field, type);
+		}
+
+		if (!compatible) {
+			throw new ValidationException(String.format(
+				"Protobuf field '%s' of type %s can not be mapped to type %s.",
+				field.getFullName(),
+				field.isMapField() ? "map" : (field.isRepeated() ? "repeated " : "") + field.getType(),
+				type.asSummaryString()));
+		}
+	}
+
+	private static boolean isCompatible(FieldDescriptor field, LogicalType type) {
+		final LogicalTypeRoot root = type.getTypeRoot();
+		switch (field.getJavaType()) {
+			case INT:
+				return root == LogicalTypeRoot.INTEGER;
+			case LONG:
+				return root == LogicalTypeRoot.BIGINT;
+			case FLOAT:
+				return root == LogicalTypeRoot.FLOAT;
+			case DOUBLE:
+				return root == LogicalTypeRoot.DOUBLE;
+			case BOOLEAN:
+				return root == LogicalTypeRoot.BOOLEAN;
+			case STRING:
+				return root == LogicalTypeRoot.CHAR || root == LogicalTypeRoot.VARCHAR;
+			case BYTE_STRING:
+				return root == LogicalTypeRoot.BINARY || root == LogicalTypeRoot.VARBINARY;
+			case ENUM:
+				return root == LogicalTypeRoot.CHAR || root == LogicalTypeRoot.VARCHAR
+					|| root == LogicalTypeRoot.INTEGER;
+			case MESSAGE:
+				// groups are deprecated and not supported
+				return root == LogicalTypeRoot.ROW && field.getType() == FieldDescriptor.Type.MESSAGE;
+			default:
+				return false;
+		}
+	}
+
+	static FieldDescriptor getMapKeyField(FieldDescriptor mapField) {
+		return mapField.getMessageType().findFieldByNumber(1);
+	}
+
+	static FieldDescriptor getMapValueField(FieldDescriptor mapField) {
+		return mapField.getMessageType().findFieldByNumber(2);
+	}
+
+	/**
+	 * Returns whether a field tracks if it is set. Such fields are null if they are not set, all
+	 * other fields have their default value.
+	 */
+	static boolean hasPresence(FieldDescriptor field) {
+		return field.getJavaType() == FieldDescriptor.JavaType.MESSAGE
+			|| field.getContainingOneof() != null
+			|| field.getFile().getSyntax() != FileDescriptor.Syntax.PROTO3;
+	}
+
+	/**
+	 * Gets the default value of a singular field that is not set, in the internal data structure
+	 * of the given logical type.
+	 */
+	@Nullable
+	static Object getDefaultValue(FieldDescriptor field, LogicalType type) {
+		switch (field.getJavaType()) {
+			case MESSAGE:
+				return null;
+			case STRING:
+				return StringData.fromString((String) field.getDefaultValue());
+			case BYTE_STRING:
+				return ((ByteString) field.getDefaultValue()).toByteArray();
+			case ENUM:
+				EnumValueDescriptor value = (EnumValueDescriptor) field.getDefaultValue();
+				return type.getTypeRoot() == LogicalTypeRoot.INTEGER
+					? (Object) value.getNumber()
+					: StringData.fromString(value.getName());
+			default:
+				// the boxed primitives are the internal data structures
+				return field.getDefaultValue();
+		}
+	}
+
+	private ProtobufUtils() {
+	}
+}
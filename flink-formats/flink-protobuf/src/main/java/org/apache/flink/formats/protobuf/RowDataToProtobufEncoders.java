@@ -0,0 +1,491 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.formats.protobuf;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.table.data.ArrayData;
+import org.apache.flink.table.data.MapData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.data.binary.BinaryStringData;
+import org.apache.flink.table.types.logical.ArrayType;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.LogicalTypeRoot;
+import org.apache.flink.table.types.logical.MapType;
+import org.apache.flink.table.types.logical.RowType;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.Descriptors.Descriptor;
+import com.google.protobuf.Descriptors.EnumDescriptor;
+import com.google.protobuf.Descriptors.EnumValueDescriptor;
+import com.google.protobuf.Descriptors.FieldDescriptor;
+import com.google.protobuf.WireFormat;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+import static org.apache.flink.formats.protobuf.ProtobufUtils.checkFieldType;
+import static org.apache.flink.formats.protobuf.ProtobufUtils.getField;
+import static org.apache.flink.formats.protobuf.ProtobufUtils.getMapKeyField;
+import static org.apache.flink.formats.protobuf.ProtobufUtils.getMapValueField;
+
+/**
+ * Tool class used to encode {@link RowData} into the protobuf wire format.
+ *
+ * <p>The encoders are created once per message type from its descriptor and write the fields of a
+ * row straight to a {@link CodedOutputStream}, without building a protobuf message object first.
+ * Fields that are null are not written.
+ *
+ * <p>Like {@code getSerializedSize()} of a protobuf message, a row is encoded in two passes: the
+ * first pass computes the size of the message and remembers the sizes of its length-delimited
+ * content, i.e. nested messages, map entries and packed repeated fields, in a {@link SizeCache}.
+ * The second pass writes the message into a single array of the computed size, prefixing the
+ * length-delimited content with the remembered sizes, so no intermediate buffers are needed.
+ */
+@Internal
+public class RowDataToProtobufEncoders {
+
+	/**
+	 * Encoder that encodes a value of a field into the protobuf wire format, after its tag has
+	 * been written.
+	 */
+	private interface ValueEncoder {
+
+		/**
+		 * Computes the size of the encoded value and adds the sizes of its length-delimited
+		 * content to the cache, in the order in which they are written.
+		 */
+		int computeSize(Object value, SizeCache sizes);
+
+		/**
+		 * Encodes the value, taking the sizes of its length-delimited content from the cache.
+		 */
+		void encode(CodedOutputStream output, Object value, SizeCache sizes) throws IOException;
+	}
+
+	/**
+	 * Computes the size of a scalar value, see {@link #createScalarEncoder(ScalarSizer, ScalarWriter)}.
+	 */
+	@FunctionalInterface
+	private interface ScalarSizer {
+		int computeSize(Object value);
+	}
+
+	/**
+	 * Writes a scalar value, see {@link #createScalarEncoder(ScalarSizer, ScalarWriter)}.
+	 */
+	@FunctionalInterface
+	private interface ScalarWriter {
+		void write(CodedOutputStream output, Object value) throws IOException;
+	}
+
+	/**
+	 * Creates an encoder for rows of the given type into messages of the given descriptor.
+	 */
+	public static MessageEncoder createMessageEncoder(Descriptor descriptor, RowType rowType) {
+		final List<RowType.RowField> rowFields = rowType.getFields();
+		final FieldEncoder[] fields = new FieldEncoder[rowFields.size()];
+		for (int i = 0; i < fields.length; i++) {
+			final RowType.RowField rowField = rowFields.get(i);
+			final FieldDescriptor field = getField(descriptor, rowField.getName());
+			checkFieldType(field, rowField.getType());
+			fields[i] = createFieldEncoder(field, rowField.getType(), i);
+		}
+		return new MessageEncoder(fields);
+	}
+
+	private static FieldEncoder createFieldEncoder(FieldDescriptor field, LogicalType type, int pos) {
+		final RowData.FieldGetter fieldGetter = RowData.createFieldGetter(type, pos);
+		final int number = field.getNumber();
+		final int tagSize = CodedOutputStream.computeTagSize(number);
+
+		if (field.isMapField()) {
+			final MapType mapType = (MapType) type;
+			final FieldDescriptor keyField = getMapKeyField(field);
+			final FieldDescriptor valueField = getMapValueField(field);
+			final ArrayData.ElementGetter keyGetter = ArrayData.createElementGetter(mapType.getKeyType());
+			final ArrayData.ElementGetter valueGetter = ArrayData.createElementGetter(mapType.getValueType());
+			final ValueEncoder keyEncoder = createValueEncoder(keyField, mapType.getKeyType());
+			final ValueEncoder valueEncoder = createValueEncoder(valueField, mapType.getValueType());
+			final int keyWireType = getWireType(keyField);
+			final int valueWireType = getWireType(valueField);
+			final int keyTagSize = CodedOutputStream.computeTagSize(1);
+			final int valueTagSize = CodedOutputStream.computeTagSize(2);
+
+			return new FieldEncoder() {
+				@Override
+				public int computeSize(RowData row, SizeCache sizes) {
+					final MapData map = (MapData) fieldGetter.getFieldOrNull(row);
+					if (map == null) {
+						return 0;
+					}
+					final ArrayData keys = map.keyArray();
+					final ArrayData values = map.valueArray();
+					int size = 0;
+					for (int i = 0; i < map.size(); i++) {
+						final Object key = keyGetter.getElementOrNull(keys, i);
+						final Object value = valueGetter.getElementOrNull(values, i);
+						if (key == null) {
+							throw new IllegalArgumentException(
+								"Protobuf does not support null keys in map field '" + field.getFullName() + "'.");
+						}
+						final int slot = sizes.reserve();
+						int entrySize = keyTagSize + keyEncoder.computeSize(key, sizes);
+						if (value != null) {
+							entrySize += valueTagSize + valueEncoder.computeSize(value, sizes);
+						}
+						sizes.set(slot, entrySize);
+						size += tagSize + computeLengthDelimitedSize(entrySize);
+					}
+					return size;
+				}
+
+				@Override
+				public void encode(RowData row, CodedOutputStream output, SizeCache sizes) throws IOException {
+					final MapData map = (MapData) fieldGetter.getFieldOrNull(row);
+					if (map == null) {
+						return;
+					}
+					final ArrayData keys = map.keyArray();
+					final ArrayData values = map.valueArray();
+					for (int i = 0; i < map.size(); i++) {
+						final Object value = valueGetter.getElementOrNull(values, i);
+						output.writeTag(number, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+						output.writeUInt32NoTag(sizes.next());
+						output.writeTag(1, keyWireType);
+						keyEncoder.encode(output, keyGetter.getElementOrNull(keys, i), sizes);
+						// a missing value is read as the default value
+						if (value != null) {
+							output.writeTag(2, valueWireType);
+							valueEncoder.encode(output, value, sizes);
+						}
+					}
+				}
+			};
+		} else if (field.isRepeated()) {
+			final LogicalType elementType = ((ArrayType) type).getElementType();
+			final ArrayData.ElementGetter elementGetter = ArrayData.createElementGetter(elementType);
+			final ValueEncoder elementEncoder = createValueEncoder(field, elementType);
+			final int wireType = getWireType(field);
+			final boolean packed = field.isPacked();
+
+			return new FieldEncoder() {
+				@Override
+				public int computeSize(RowData row, SizeCache sizes) {
+					final ArrayData array = (ArrayData) fieldGetter.getFieldOrNull(row);
+					if (array == null || array.size() == 0) {
+						return 0;
+					}
+					final int slot = packed ? sizes.reserve() : -1;
+					int elementsSize = 0;
+					for (int i = 0; i < array.size(); i++) {
+						final Object element = elementGetter.getElementOrNull(array, i);
+						if (element == null) {
+							throw new IllegalArgumentException(
+								"Protobuf does not support null elements in repeated field '" + field.getFullName() + "'.");
+						}
+						elementsSize += elementEncoder.computeSize(element, sizes);
+					}
+					if (packed) {
+						sizes.set(slot, elementsSize);
+						return tagSize + computeLengthDelimitedSize(elementsSize);
+					} else {
+						return tagSize * array.size() + elementsSize;
+					}
+				}
+
+				@Override
+				public void encode(RowData row, CodedOutputStream output, SizeCache sizes) throws IOException {
+					final ArrayData array = (ArrayData) fieldGetter.getFieldOrNull(row);
+					if (array == null || array.size() == 0) {
+						return;
+					}
+					if (packed) {
+						output.writeTag(number, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+						output.writeUInt32NoTag(sizes.next());
+					}
+					for (int i = 0; i < array.size(); i++) {
+						if (!packed) {
+							output.writeTag(number, wireType);
+						}
+						elementEncoder.encode(output, elementGetter.getElementOrNull(array, i), sizes);
+					}
+				}
+			};
+		} else {
+			final ValueEncoder valueEncoder = createValueEncoder(field, type);
+			final int wireType = getWireType(field);
+
+			return new FieldEncoder() {
+				@Override
+				public int computeSize(RowData row, SizeCache sizes) {
+					final Object value = fieldGetter.getFieldOrNull(row);
+					return value == null ? 0 : tagSize + valueEncoder.computeSize(value, sizes);
+				}
+
+				@Override
+				public void encode(RowData row, CodedOutputStream output, SizeCache sizes) throws IOException {
+					final Object value = fieldGetter.getFieldOrNull(row);
+					if (value != null) {
+						output.writeTag(number, wireType);
+						valueEncoder.encode(output, value, sizes);
+					}
+				}
+			};
+		}
+	}
+
+	private static ValueEncoder createValueEncoder(FieldDescriptor field, LogicalType type) {
+		switch (field.getType()) {
+			case INT32:
+				return createScalarEncoder(
+					value -> CodedOutputStream.computeInt32SizeNoTag((Integer) value),
+					(output, value) -> output.writeInt32NoTag((Integer) value));
+			case SINT32:
+				return createScalarEncoder(
+					value -> CodedOutputStream.computeSInt32SizeNoTag((Integer) value),
+					(output, value) -> output.writeSInt32NoTag((Integer) value));
+			case SFIXED32:
+				return createScalarEncoder(
+					value -> CodedOutputStream.computeSFixed32SizeNoTag((Integer) value),
+					(output, value) -> output.writeSFixed32NoTag((Integer) value));
+			case UINT32:
+				return createScalarEncoder(
+					value -> CodedOutputStream.computeUInt32SizeNoTag((Integer) value),
+					(output, value) -> output.writeUInt32NoTag((Integer) value));
+			case FIXED32:
+				return createScalarEncoder(
+					value -> CodedOutputStream.computeFixed32SizeNoTag((Integer) value),
+					(output, value) -> output.writeFixed32NoTag((Integer) value));
+			case INT64:
+				return createScalarEncoder(
+					value -> CodedOutputStream.computeInt64SizeNoTag((Long) value),
+					(output, value) -> output.writeInt64NoTag((Long) value));
+			case SINT64:
+				return createScalarEncoder(
+					value -> CodedOutputStream.computeSInt64SizeNoTag((Long) value),
+					(output, value) -> output.writeSInt64NoTag((Long) value));
+			case SFIXED64:
+				return createScalarEncoder(
+					value -> CodedOutputStream.computeSFixed64SizeNoTag((Long) value),
+					(output, value) -> output.writeSFixed64NoTag((Long) value));
+			case UINT64:
+				return createScalarEncoder(
+					value -> CodedOutputStream.computeUInt64SizeNoTag((Long) value),
+					(output, value) -> output.writeUInt64NoTag((Long) value));
+			case FIXED64:
+				return createScalarEncoder(
+					value -> CodedOutputStream.computeFixed64SizeNoTag((Long) value),
+					(output, value) -> output.writeFixed64NoTag((Long) value));
+			case FLOAT:
+				return createScalarEncoder(
+					value -> CodedOutputStream.computeFloatSizeNoTag((Float) value),
+					(output, value) -> output.writeFloatNoTag((Float) value));
+			case DOUBLE:
+				return createScalarEncoder(
+					value -> CodedOutputStream.computeDoubleSizeNoTag((Double) value),
+					(output, value) -> output.writeDoubleNoTag((Double) value));
+			case BOOL:
+				return createScalarEncoder(
+					value -> CodedOutputStream.computeBoolSizeNoTag((Boolean) value),
+					(output, value) -> output.writeBoolNoTag((Boolean) value));
+			case STRING:
+				return createScalarEncoder(
+					value -> computeLengthDelimitedSize(((BinaryStringData) value).getSizeInBytes()),
+					(output, value) -> output.writeByteArrayNoTag(((StringData) value).toBytes()));
+			case BYTES:
+				return createScalarEncoder(
+					value -> CodedOutputStream.computeByteArraySizeNoTag((byte[]) value),
+					(output, value) -> output.writeByteArrayNoTag((byte[]) value));
+			case ENUM:
+				return createEnumEncoder(field, type);
+			case MESSAGE:
+				return createNestedMessageEncoder(createMessageEncoder(field.getMessageType(), (RowType) type));
+			default:
+				throw new UnsupportedOperationException("Unsupported protobuf type: " + field.getType());
+		}
+	}
+
+	private static ValueEncoder createScalarEncoder(ScalarSizer sizer, ScalarWriter writer) {
+		return new ValueEncoder() {
+			@Override
+			public int computeSize(Object value, SizeCache sizes) {
+				return sizer.computeSize(value);
+			}
+
+			@Override
+			public void encode(CodedOutputStream output, Object value, SizeCache sizes) throws IOException {
+				writer.write(output, value);
+			}
+		};
+	}
+
+	private static ValueEncoder createEnumEncoder(FieldDescriptor field, LogicalType type) {
+		if (type.getTypeRoot() == LogicalTypeRoot.INTEGER) {
+			return createScalarEncoder(
+				value -> CodedOutputStream.computeEnumSizeNoTag((Integer) value),
+				(output, value) -> output.writeEnumNoTag((Integer) value));
+		}
+
+		final EnumDescriptor enumType = field.getEnumType();
+		final ToIntFunction<Object> enumNumber = value -> {
+			final String name = value.toString();
+			final EnumValueDescriptor enumValue = enumType.findValueByName(name);
+			if (enumValue != null) {
+				return enumValue.getNumber();
+			}
+			// values that are unknown to the descriptor are decoded as their numbers,
+			// enum value names can't start with a digit or a sign
+			try {
+				return Integer.parseInt(name);
+			} catch (NumberFormatException e) {
+				throw new IllegalArgumentException(
+					"Value '" + name + "' is not a value of protobuf enum '" + enumType.getFullName() + "'.");
+			}
+		};
+		return createScalarEncoder(
+			value -> CodedOutputStream.computeEnumSizeNoTag(enumNumber.applyAsInt(value)),
+			(output, value) -> output.writeEnumNoTag(enumNumber.applyAsInt(value)));
+	}
+
+	private static ValueEncoder createNestedMessageEncoder(MessageEncoder messageEncoder) {
+		return new ValueEncoder() {
+			@Override
+			public int computeSize(Object value, SizeCache sizes) {
+				final int slot = sizes.reserve();
+				final int size = messageEncoder.computeSize((RowData) value, sizes);
+				sizes.set(slot, size);
+				return computeLengthDelimitedSize(size);
+			}
+
+			@Override
+			public void encode(CodedOutputStream output, Object value, SizeCache sizes) throws IOException {
+				output.writeUInt32NoTag(sizes.next());
+				messageEncoder.encode((RowData) value, output, sizes);
+			}
+		};
+	}
+
+	/**
+	 * Computes the size of length-delimited content of the given size, including its length.
+	 */
+	private static int computeLengthDelimitedSize(int size) {
+		return CodedOutputStream.computeUInt32SizeNoTag(size) + size;
+	}
+
+	private static int getWireType(FieldDescriptor field) {
+		return field.getLiteType().getWireType();
+	}
+
+	// --------------------------------------------------------------------------------------------
+
+	/**
+	 * Encoder of a {@link RowData} into the protobuf wire format of a message.
+	 *
+	 * <p>The encoder reuses its {@link SizeCache} for all rows, so it must not be used by multiple
+	 * threads.
+	 */
+	public static final class MessageEncoder {
+
+		/** The encoders of the fields, in the order of the row. */
+		private final FieldEncoder[] fields;
+
+		/** The sizes of the length-delimited content of the encoded row. */
+		private final SizeCache sizes = new SizeCache();
+
+		private MessageEncoder(FieldEncoder[] fields) {
+			this.fields = fields;
+		}
+
+		/**
+		 * Encodes a row into the serialized message.
+		 */
+		public byte[] encode(RowData row) throws IOException {
+			sizes.clear();
+			final byte[] message = new byte[computeSize(row, sizes)];
+			final CodedOutputStream output = CodedOutputStream.newInstance(message);
+			encode(row, output, sizes);
+			output.checkNoSpaceLeft();
+			return message;
+		}
+
+		private int computeSize(RowData row, SizeCache sizes) {
+			int size = 0;
+			for (FieldEncoder field : fields) {
+				size += field.computeSize(row, sizes);
+			}
+			return size;
+		}
+
+		private void encode(RowData row, CodedOutputStream output, SizeCache sizes) throws IOException {
+			for (FieldEncoder field : fields) {
+				field.encode(row, output, sizes);
+			}
+		}
+	}
+
+	/**
+	 * Encoder of a field of a row into the values of a field of a message, including their tags.
+	 * See {@link ValueEncoder} for the two passes.
+	 */
+	private interface FieldEncoder {
+
+		int computeSize(RowData row, SizeCache sizes);
+
+		void encode(RowData row, CodedOutputStream output, SizeCache sizes) throws IOException;
+	}
+
+	/**
+	 * The sizes of the length-delimited content of a message, in the order in which the content
+	 * is written. The size of an enclosing content is reserved before the sizes of the content
+	 * inside of it are added, so that the sizes are taken in the same order while writing.
+	 */
+	private static final class SizeCache {
+
+		private int[] sizes = new int[16];
+
+		/** The number of reserved sizes. */
+		private int count;
+
+		/** The position of the next size to take while writing. */
+		private int next;
+
+		void clear() {
+			count = 0;
+			next = 0;
+		}
+
+		int reserve() {
+			if (count == sizes.length) {
+				sizes = Arrays.copyOf(sizes, count * 2);
+			}
+			return count++;
+		}
+
+		void set(int slot, int size) {
+			sizes[slot] = size;
+		}
+
+		int next() {
+			return sizes[next++];
+		}
+	}
+}
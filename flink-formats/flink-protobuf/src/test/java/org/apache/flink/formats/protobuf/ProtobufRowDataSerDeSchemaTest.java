@@ -0,0 +1,351 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.formats.protobuf;
+
+import org.apache.flink.formats.protobuf.testproto.TestMessage;
+import org.apache.flink.table.api.ValidationException;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.data.util.DataFormatConverters;
+import org.apache.flink.table.runtime.typeutils.InternalTypeInfo;
+import org.apache.flink.table.types.DataType;
+import org.apache.flink.table.types.logical.RowType;
+import org.apache.flink.types.Row;
+
+import com.google.protobuf.ByteString;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.apache.flink.table.api.DataTypes.ARRAY;
+import static org.apache.flink.table.api.DataTypes.BIGINT;
+import static org.apache.flink.table.api.DataTypes.BOOLEAN;
+import static org.apache.flink.table.api.DataTypes.BYTES;
+import static org.apache.flink.table.api.DataTypes.DOUBLE;
+import static org.apache.flink.table.api.DataTypes.FIELD;
+import static org.apache.flink.table.api.DataTypes.FLOAT;
+import static org.apache.flink.table.api.DataTypes.INT;
+import static org.apache.flink.table.api.DataTypes.MAP;
+import static org.apache.flink.table.api.DataTypes.ROW;
+import static org.apache.flink.table.api.DataTypes.STRING;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for {@link ProtobufRowDataDeserializationSchema} and {@link ProtobufRowDataSerializationSchema}.
+ */
+public class ProtobufRowDataSerDeSchemaTest {
+
+	private static final String MESSAGE_CLASS_NAME = TestMessage.class.getName();
+
+	private static final DataType NESTED_TYPE = ROW(
+		FIELD("name", STRING()),
+		FIELD("values", ARRAY(BIGINT())));
+
+	private static final DataType FULL_TYPE = ROW(
+		FIELD("a_int", INT()),
+		FIELD("a_long", BIGINT()),
+		FIELD("a_float", FLOAT()),
+		FIELD("a_double", DOUBLE()),
+		FIELD("a_bool", BOOLEAN()),
+		FIELD("a_string", STRING()),
+		FIELD("a_bytes", BYTES()),
+		FIELD("a_sint", INT()),
+		FIELD("a_fixed", BIGINT()),
+		FIELD("color", STRING()),
+		FIELD("nested", NESTED_TYPE),
+		FIELD("ints", ARRAY(INT())),
+		FIELD("strings", ARRAY(STRING())),
+		FIELD("nesteds", ARRAY(NESTED_TYPE)),
+		FIELD("counts", MAP(STRING(), BIGINT())),
+		FIELD("nested_by_id", MAP(INT(), NESTED_TYPE)),
+		FIELD("text", STRING()),
+		FIELD("number", BIGINT()));
+
+	@Test
+	public void testSerDe() throws Exception {
+		TestMessage message = TestMessage.newBuilder()
+			.setAInt(1)
+			.setALong(Long.MAX_VALUE)
+			.setAFloat(3.5f)
+			.setADouble(-4.25)
+			.setABool(true)
+			.setAString("föö")
+			.setABytes(ByteString.copyFrom(new byte[] {1, 2, 3}))
+			.setASint(-7)
+			.setAFixed(-1L)
+			.setColor(TestMessage.Color.BLUE)
+			.setNested(nested("nested", 1L, 2L))
+			.addAllInts(Arrays.asList(1, -2, 3))
+			.addStrings("x")
+			.addStrings("")
+			.addNesteds(nested("a"))
+			.addNesteds(nested("b", 5L))
+			.putCounts("one", 1L)
+			.putCounts("two", 2L)
+			.putNestedById(42, nested("c", 3L))
+			.setText("hello")
+			.build();
+
+		Map<String, Long> counts = new HashMap<>();
+		counts.put("one", 1L);
+		counts.put("two", 2L);
+		Map<Integer, Row> nestedById = new HashMap<>();
+		nestedById.put(42, Row.of("c", new Long[] {3L}));
+		Row expected = Row.of(
+			1,
+			Long.MAX_VALUE,
+			3.5f,
+			-4.25,
+			true,
+			"föö",
+			new byte[] {1, 2, 3},
+			-7,
+			-1L,
+			"BLUE",
+			Row.of("nested", new Long[] {1L, 2L}),
+			new Integer[] {1, -2, 3},
+			new String[] {"x", ""},
+			new Row[] {Row.of("a", new Long[0]), Row.of("b", new Long[] {5L})},
+			counts,
+			nestedById,
+			"hello",
+			null);
+
+		RowType rowType = (RowType) FULL_TYPE.getLogicalType();
+		ProtobufRowDataDeserializationSchema deserializationSchema = new ProtobufRowDataDeserializationSchema(
+			rowType, InternalTypeInfo.of(rowType), MESSAGE_CLASS_NAME, false);
+		RowData rowData = deserializationSchema.deserialize(message.toByteArray());
+		assertEquals(expected, convertToExternal(rowData, FULL_TYPE));
+
+		// serialize the row back into the same message
+		ProtobufRowDataSerializationSchema serializationSchema =
+			new ProtobufRowDataSerializationSchema(rowType, MESSAGE_CLASS_NAME);
+		byte[] serialized = serializationSchema.serialize(rowData);
+		assertEquals(message, TestMessage.parseFrom(serialized));
+		assertEquals(expected, convertToExternal(deserializationSchema.deserialize(serialized), FULL_TYPE));
+	}
+
+	@Test
+	public void testSerializeSameBytesAsProtobuf() throws Exception {
+		// all scalars are set, as fields with default values are written by the serialization schema
+		TestMessage.Builder builder = TestMessage.newBuilder()
+			.setAInt(-1)
+			.setALong(1L << 40)
+			.setAFloat(3.5f)
+			.setADouble(-4.25)
+			.setABool(true)
+			.setAString("föö")
+			.setABytes(ByteString.copyFrom(new byte[] {1, 2, 3}))
+			.setASint(-7)
+			.setAFixed(-1L)
+			.setColor(TestMessage.Color.GREEN)
+			.setNested(nested("nested", 1L, 300L, -1L))
+			.addAllInts(Arrays.asList(1, -2, 3))
+			.addStrings("")
+			.putCounts("one", 1L)
+			.putNestedById(42, nested("c", 3L))
+			.setNumber(18L);
+		// more nested messages than the initial capacity of the cached sizes
+		for (long i = 0; i < 40; i++) {
+			builder.addNesteds(nested("n" + i, i, i * i));
+		}
+		TestMessage message = builder.build();
+
+		RowType rowType = (RowType) FULL_TYPE.getLogicalType();
+		ProtobufRowDataDeserializationSchema deserializationSchema = new ProtobufRowDataDeserializationSchema(
+			rowType, InternalTypeInfo.of(rowType), MESSAGE_CLASS_NAME, false);
+		RowData rowData = deserializationSchema.deserialize(message.toByteArray());
+		RowData defaultRowData = deserializationSchema.deserialize(TestMessage.getDefaultInstance().toByteArray());
+
+		// the encoder of the schema is reused for rows of different shapes
+		ProtobufRowDataSerializationSchema serializationSchema =
+			new ProtobufRowDataSerializationSchema(rowType, MESSAGE_CLASS_NAME);
+		assertArrayEquals(message.toByteArray(), serializationSchema.serialize(rowData));
+		assertEquals(
+			TestMessage.getDefaultInstance(),
+			TestMessage.parseFrom(serializationSchema.serialize(defaultRowData)));
+		assertArrayEquals(message.toByteArray(), serializationSchema.serialize(rowData));
+	}
+
+	@Test
+	public void testDefaultValues() throws Exception {
+		RowType rowType = (RowType) FULL_TYPE.getLogicalType();
+		ProtobufRowDataDeserializationSchema deserializationSchema = new ProtobufRowDataDeserializationSchema(
+			rowType, InternalTypeInfo.of(rowType), MESSAGE_CLASS_NAME, false);
+
+		// scalars that are not set have their default values, messages and oneofs are null
+		Row expected = Row.of(
+			0,
+			0L,
+			0.0f,
+			0.0,
+			false,
+			"",
+			new byte[0],
+			0,
+			0L,
+			"RED",
+			null,
+			new Integer[0],
+			new String[0],
+			new Row[0],
+			new HashMap<>(),
+			new HashMap<>(),
+			null,
+			null);
+		RowData rowData = deserializationSchema.deserialize(TestMessage.getDefaultInstance().toByteArray());
+		assertEquals(expected, convertToExternal(rowData, FULL_TYPE));
+	}
+
+	@Test
+	public void testSkipFieldsNotInRowType() throws Exception {
+		TestMessage message = TestMessage.newBuilder()
+			.setAInt(1)
+			.setUnused("unused")
+			.setUnusedNested(nested("unused", 1L))
+			.addAllInts(Arrays.asList(1, 2, 3))
+			.setNested(nested("nested", 1L, 2L))
+			.putCounts("one", 1L)
+			.setNumber(18L)
+			.setFar(5000)
+			.build();
+
+		// a projection of the message, including a field with a large field number
+		DataType dataType = ROW(
+			FIELD("far", INT()),
+			FIELD("nested", ROW(FIELD("name", STRING()))),
+			FIELD("number", BIGINT()));
+		RowType rowType = (RowType) dataType.getLogicalType();
+		ProtobufRowDataDeserializationSchema deserializationSchema = new ProtobufRowDataDeserializationSchema(
+			rowType, InternalTypeInfo.of(rowType), MESSAGE_CLASS_NAME, false);
+
+		Row expected = Row.of(5000, Row.of("nested"), 18L);
+		RowData rowData = deserializationSchema.deserialize(message.toByteArray());
+		assertEquals(expected, convertToExternal(rowData, dataType));
+	}
+
+	@Test
+	public void testEnumNumbers() throws Exception {
+		DataType dataType = ROW(FIELD("color", INT()));
+		RowType rowType = (RowType) dataType.getLogicalType();
+		ProtobufRowDataDeserializationSchema deserializationSchema = new ProtobufRowDataDeserializationSchema(
+			rowType, InternalTypeInfo.of(rowType), MESSAGE_CLASS_NAME, false);
+
+		TestMessage message = TestMessage.newBuilder().setColor(TestMessage.Color.GREEN).build();
+		RowData rowData = deserializationSchema.deserialize(message.toByteArray());
+		assertEquals(Row.of(1), convertToExternal(rowData, dataType));
+
+		ProtobufRowDataSerializationSchema serializationSchema =
+			new ProtobufRowDataSerializationSchema(rowType, MESSAGE_CLASS_NAME);
+		assertEquals(message, TestMessage.parseFrom(serializationSchema.serialize(rowData)));
+	}
+
+	@Test
+	public void testUnknownEnumNames() throws Exception {
+		DataType dataType = ROW(FIELD("color", STRING()));
+		RowType rowType = (RowType) dataType.getLogicalType();
+		ProtobufRowDataDeserializationSchema deserializationSchema = new ProtobufRowDataDeserializationSchema(
+			rowType, InternalTypeInfo.of(rowType), MESSAGE_CLASS_NAME, false);
+		ProtobufRowDataSerializationSchema serializationSchema =
+			new ProtobufRowDataSerializationSchema(rowType, MESSAGE_CLASS_NAME);
+
+		// a value unknown to the descriptor is kept as its number
+		TestMessage message = TestMessage.newBuilder().setColorValue(5).build();
+		RowData rowData = deserializationSchema.deserialize(message.toByteArray());
+		assertEquals(Row.of("5"), convertToExternal(rowData, dataType));
+		assertEquals(message, TestMessage.parseFrom(serializationSchema.serialize(rowData)));
+
+		try {
+			serializationSchema.serialize(GenericRowData.of(StringData.fromString("PURPLE")));
+			fail("expecting a failure for a name which is not a value of the enum");
+		} catch (Exception e) {
+			assertEquals(
+				"Value 'PURPLE' is not a value of protobuf enum 'org.apache.flink.formats.protobuf.testproto.TestMessage.Color'.",
+				e.getCause().getMessage());
+		}
+	}
+
+	@Test
+	public void testParseErrors() throws Exception {
+		RowType rowType = (RowType) FULL_TYPE.getLogicalType();
+		// a truncated length-delimited field
+		byte[] invalidMessage = new byte[] {0x32, 0x05, 'a'};
+
+		ProtobufRowDataDeserializationSchema deserializationSchema = new ProtobufRowDataDeserializationSchema(
+			rowType, InternalTypeInfo.of(rowType), MESSAGE_CLASS_NAME, false);
+		try {
+			deserializationSchema.deserialize(invalidMessage);
+			fail("expecting a parse failure");
+		} catch (Exception e) {
+			assertEquals("Failed to deserialize protobuf message.", e.getMessage());
+		}
+
+		deserializationSchema = new ProtobufRowDataDeserializationSchema(
+			rowType, InternalTypeInfo.of(rowType), MESSAGE_CLASS_NAME, true);
+		assertNull(deserializationSchema.deserialize(invalidMessage));
+	}
+
+	@Test
+	public void testValidation() {
+		assertValidationError(
+			ROW(FIELD("a_int", STRING())),
+			"Protobuf field 'org.apache.flink.formats.protobuf.testproto.TestMessage.a_int' of type INT32 " +
+				"can not be mapped to type STRING.");
+		assertValidationError(
+			ROW(FIELD("ints", INT())),
+			"Protobuf field 'org.apache.flink.formats.protobuf.testproto.TestMessage.ints' of type repeated INT32 " +
+				"can not be mapped to type INT.");
+		assertValidationError(
+			ROW(FIELD("missing", INT())),
+			"Field 'missing' is not a field of protobuf message 'org.apache.flink.formats.protobuf.testproto.TestMessage'.");
+		assertValidationError(
+			ROW(FIELD("nested", ROW(FIELD("name", INT())))),
+			"Protobuf field 'org.apache.flink.formats.protobuf.testproto.TestMessage.Nested.name' of type STRING " +
+				"can not be mapped to type INT.");
+	}
+
+	private static void assertValidationError(DataType dataType, String errorMessage) {
+		try {
+			ProtobufToRowDataDecoders.createMessageDecoder(
+				TestMessage.getDescriptor(),
+				(RowType) dataType.getLogicalType());
+			fail("expecting exception message: " + errorMessage);
+		} catch (ValidationException e) {
+			assertEquals(errorMessage, e.getMessage());
+		}
+	}
+
+	private static TestMessage.Nested nested(String name, Long... values) {
+		return TestMessage.Nested.newBuilder()
+			.setName(name)
+			.addAllValues(Arrays.asList(values))
+			.build();
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Row convertToExternal(RowData rowData, DataType dataType) {
+		return (Row) DataFormatConverters.getConverterForDataType(dataType).toExternal(rowData);
+	}
+}
@@ -32,6 +32,8 @@ import org.apache.flink.util.Preconditions;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
+import java.util.OptionalLong;
+
 /**
  * A minimally implemented {@link TaskStateManager} that provides the functionality required to run
  * the {@code state-processor-api}.
@@ -72,6 +74,11 @@ final class SavepointTaskStateManager implements TaskStateManager {
 		return SequentialChannelStateReader.NO_OP;
 	}
 
+	@Override
+	public OptionalLong getRestoreCheckpointId() {
+		return OptionalLong.empty();
+	}
+
 	@Override
 	public void notifyCheckpointComplete(long checkpointId) {
 		throw new UnsupportedOperationException(MSG);
@@ -26,6 +26,7 @@ import org.apache.flink.util.FileUtils;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -321,6 +322,38 @@ final class SegmentReadRequest implements ReadRequest {
 	public void requestDone(IOException ioex) {
 		this.channel.handleProcessedBuffer(this.segment, ioex);
 	}
+
+	/**
+	 * Checks whether the given request reads the block following this request's block.
+	 */
+	boolean canCoalesce(IORequest next) {
+		return next instanceof SegmentReadRequest && ((SegmentReadRequest) next).channel == this.channel;
+	}
+
+	/**
+	 * Reads the blocks of consecutive requests of one channel with a single scattering read.
+	 */
+	static void readCoalesced(List<SegmentReadRequest> requests) throws IOException {
+		final FileChannel c = requests.get(0).channel.fileChannel;
+		final ByteBuffer[] wrappers = new ByteBuffer[requests.size()];
+		try {
+			for (int i = 0; i < wrappers.length; i++) {
+				final MemorySegment segment = requests.get(i).segment;
+				wrappers[i] = segment.wrap(0, segment.size());
+			}
+		}
+		catch (NullPointerException npex) {
+			throw new IOException("Memory segment has been released.");
+		}
+
+		// blocks beyond the end of the file are left untouched, as in a single read
+		int first = 0;
+		while (first < wrappers.length && c.read(wrappers, first, wrappers.length - first) > 0) {
+			while (first < wrappers.length && !wrappers[first].hasRemaining()) {
+				first++;
+			}
+		}
+	}
 }
 
 //--------------------------------------------------------------------------------------------
@@ -353,6 +386,38 @@ final class SegmentWriteRequest implements WriteRequest {
 	public void requestDone(IOException ioex) {
 		this.channel.handleProcessedBuffer(this.segment, ioex);
 	}
+
+	/**
+	 * Checks whether the given request writes the block following this request's block.
+	 */
+	boolean canCoalesce(IORequest next) {
+		return next instanceof SegmentWriteRequest && ((SegmentWriteRequest) next).channel == this.channel;
+	}
+
+	/**
+	 * Writes the blocks of consecutive requests of one channel with a single gathering write.
+	 */
+	static void writeCoalesced(List<SegmentWriteRequest> requests) throws IOException {
+		final FileChannel c = requests.get(0).channel.fileChannel;
+		final ByteBuffer[] wrappers = new ByteBuffer[requests.size()];
+		try {
+			for (int i = 0; i < wrappers.length; i++) {
+				final MemorySegment segment = requests.get(i).segment;
+				wrappers[i] = segment.wrap(0, segment.size());
+			}
+		}
+		catch (NullPointerException npex) {
+			throw new IOException("Memory segment has been released.");
+		}
+
+		int first = 0;
+		while (first < wrappers.length) {
+			c.write(wrappers, first, wrappers.length - first);
+			while (first < wrappers.length && !wrappers[first].hasRemaining()) {
+				first++;
+			}
+		}
+	}
 }
 
 final class BufferWriteRequest implements WriteRequest {
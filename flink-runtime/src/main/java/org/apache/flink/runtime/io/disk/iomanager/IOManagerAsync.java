@@ -22,22 +22,38 @@ import org.apache.flink.core.memory.MemorySegment;
 import org.apache.flink.runtime.io.network.buffer.Buffer;
 import org.apache.flink.runtime.util.EnvironmentInformation;
 import org.apache.flink.util.IOUtils;
+import org.apache.flink.util.MathUtils;
 import org.apache.flink.util.ShutdownHookUtil;
 
+import javax.annotation.Nullable;
+
 import java.io.IOException;
 import java.lang.Thread.UncaughtExceptionHandler;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiPredicate;
 
+import static org.apache.flink.util.Preconditions.checkArgument;
 import static org.apache.flink.util.Preconditions.checkState;
 
 /**
  * A version of the {@link IOManager} that uses asynchronous I/O.
+ *
+ * <p>Every directory is served by a configurable number of reader and writer threads, so that as many
+ * requests per directory are outstanding on the device at once. The requests of one channel always go
+ * to the same thread and are served in order. Consecutive block requests of the same channel that are
+ * queued at the same time are coalesced into one scattering read or gathering write.
  */
 public class IOManagerAsync extends IOManager implements UncaughtExceptionHandler {
-	
+
+	/** The maximal number of block requests that are coalesced into one read or write. */
+	private static final int MAX_COALESCED_REQUESTS = 32;
+
+	/** The number of reader and writer threads per directory. */
+	private final int threadsPerDirectory;
+
 	/** The writer threads used for asynchronous block oriented channel writing. */
 	private final WriterThread[] writers;
 
@@ -77,10 +93,22 @@ public class IOManagerAsync extends IOManager implements UncaughtExceptionHandle
 	 * @param tempDirs The directories to write temporary files to.
 	 */
 	public IOManagerAsync(String[] tempDirs) {
+		this(tempDirs, 1);
+	}
+
+	/**
+	 * Constructs a new asynchronous I/O manager, writing file round robin across the given directories.
+	 *
+	 * @param tempDirs The directories to write temporary files to.
+	 * @param threadsPerDirectory The number of reader and writer threads for each directory.
+	 */
+	public IOManagerAsync(String[] tempDirs, int threadsPerDirectory) {
 		super(tempDirs);
-		
-		// start a write worker thread for each directory
-		this.writers = new WriterThread[tempDirs.length];
+		checkArgument(threadsPerDirectory > 0, "The number of I/O threads per directory must be positive.");
+		this.threadsPerDirectory = threadsPerDirectory;
+
+		// start the write worker threads for each directory
+		this.writers = new WriterThread[tempDirs.length * threadsPerDirectory];
 		for (int i = 0; i < this.writers.length; i++) {
 			final WriterThread t = new WriterThread();
 			this.writers[i] = t;
@@ -90,8 +118,8 @@ public class IOManagerAsync extends IOManager implements UncaughtExceptionHandle
 			t.start();
 		}
 
-		// start a reader worker thread for each directory
-		this.readers = new ReaderThread[tempDirs.length];
+		// start the reader worker threads for each directory
+		this.readers = new ReaderThread[tempDirs.length * threadsPerDirectory];
 		for (int i = 0; i < this.readers.length; i++) {
 			final ReaderThread t = new ReaderThread();
 			this.readers[i] = t;
@@ -197,13 +225,13 @@ public class IOManagerAsync extends IOManager implements UncaughtExceptionHandle
 								LinkedBlockingQueue<MemorySegment> returnQueue) throws IOException
 	{
 		checkState(!isShutdown.get(), "I/O-Manager is shut down.");
-		return new AsynchronousBlockWriter(channelID, this.writers[channelID.getThreadNum()].requestQueue, returnQueue);
+		return new AsynchronousBlockWriter(channelID, this.writers[getThreadIndex(channelID)].requestQueue, returnQueue);
 	}
 	
 	@Override
 	public BlockChannelWriterWithCallback<MemorySegment> createBlockChannelWriter(FileIOChannel.ID channelID, RequestDoneCallback<MemorySegment> callback) throws IOException {
 		checkState(!isShutdown.get(), "I/O-Manager is shut down.");
-		return new AsynchronousBlockWriterWithCallback(channelID, this.writers[channelID.getThreadNum()].requestQueue, callback);
+		return new AsynchronousBlockWriterWithCallback(channelID, this.writers[getThreadIndex(channelID)].requestQueue, callback);
 	}
 	
 	/**
@@ -221,28 +249,28 @@ public class IOManagerAsync extends IOManager implements UncaughtExceptionHandle
 										LinkedBlockingQueue<MemorySegment> returnQueue) throws IOException
 	{
 		checkState(!isShutdown.get(), "I/O-Manager is shut down.");
-		return new AsynchronousBlockReader(channelID, this.readers[channelID.getThreadNum()].requestQueue, returnQueue);
+		return new AsynchronousBlockReader(channelID, this.readers[getThreadIndex(channelID)].requestQueue, returnQueue);
 	}
 
 	@Override
 	public BufferFileWriter createBufferFileWriter(FileIOChannel.ID channelID) throws IOException {
 		checkState(!isShutdown.get(), "I/O-Manager is shut down.");
 
-		return new AsynchronousBufferFileWriter(channelID, writers[channelID.getThreadNum()].requestQueue);
+		return new AsynchronousBufferFileWriter(channelID, writers[getThreadIndex(channelID)].requestQueue);
 	}
 
 	@Override
 	public BufferFileReader createBufferFileReader(FileIOChannel.ID channelID, RequestDoneCallback<Buffer> callback) throws IOException {
 		checkState(!isShutdown.get(), "I/O-Manager is shut down.");
 
-		return new AsynchronousBufferFileReader(channelID, readers[channelID.getThreadNum()].requestQueue, callback);
+		return new AsynchronousBufferFileReader(channelID, readers[getThreadIndex(channelID)].requestQueue, callback);
 	}
 
 	@Override
 	public BufferFileSegmentReader createBufferFileSegmentReader(FileIOChannel.ID channelID, RequestDoneCallback<FileSegment> callback) throws IOException {
 		checkState(!isShutdown.get(), "I/O-Manager is shut down.");
 
-		return new AsynchronousBufferFileSegmentReader(channelID, readers[channelID.getThreadNum()].requestQueue, callback);
+		return new AsynchronousBufferFileSegmentReader(channelID, readers[getThreadIndex(channelID)].requestQueue, callback);
 	}
 
 	/**
@@ -265,24 +293,70 @@ public class IOManagerAsync extends IOManager implements UncaughtExceptionHandle
 			List<MemorySegment> targetSegments, int numBlocks) throws IOException
 	{
 		checkState(!isShutdown.get(), "I/O-Manager is shut down.");
-		return new AsynchronousBulkBlockReader(channelID, this.readers[channelID.getThreadNum()].requestQueue, targetSegments, numBlocks);
+		return new AsynchronousBulkBlockReader(channelID, this.readers[getThreadIndex(channelID)].requestQueue, targetSegments, numBlocks);
 	}
 	
+	/**
+	 * Gets the index of the thread that serves the given channel. The channels of a directory are spread
+	 * over the threads of that directory by their path.
+	 */
+	private int getThreadIndex(FileIOChannel.ID channelID) {
+		return channelID.getThreadNum() * threadsPerDirectory
+			+ MathUtils.murmurHash(channelID.hashCode()) % threadsPerDirectory;
+	}
+
 	// -------------------------------------------------------------------------
 	//                             For Testing
 	// -------------------------------------------------------------------------
 	
 	RequestQueue<ReadRequest> getReadRequestQueue(FileIOChannel.ID channelID) {
-		return this.readers[channelID.getThreadNum()].requestQueue;
+		return this.readers[getThreadIndex(channelID)].requestQueue;
 	}
 	
 	RequestQueue<WriteRequest> getWriteRequestQueue(FileIOChannel.ID channelID) {
-		return this.writers[channelID.getThreadNum()].requestQueue;
+		return this.writers[getThreadIndex(channelID)].requestQueue;
 	}
 
 	// -------------------------------------------------------------------------
 	//                           I/O Worker Threads
 	// -------------------------------------------------------------------------
+
+	/**
+	 * Takes the requests which directly follow the given request in the queue and can be coalesced with it.
+	 *
+	 * @return The given request and its followers, or null if no request follows that can be coalesced.
+	 */
+	@Nullable
+	private static <R extends IORequest, T extends R> List<T> coalesce(
+			T first,
+			RequestQueue<R> requestQueue,
+			BiPredicate<T, IORequest> canCoalesce) {
+		List<T> coalesced = null;
+		R next;
+		while ((coalesced == null || coalesced.size() < MAX_COALESCED_REQUESTS)
+				&& (next = requestQueue.peek()) != null
+				&& canCoalesce.test(first, next)
+				// the queue is only drained concurrently on shutdown
+				&& requestQueue.remove(next)) {
+			if (coalesced == null) {
+				coalesced = new ArrayList<>();
+				coalesced.add(first);
+			}
+			@SuppressWarnings("unchecked")
+			final T nextRequest = (T) next;
+			coalesced.add(nextRequest);
+		}
+		return coalesced;
+	}
+
+	private static void requestDone(IORequest request, IOException ioex) {
+		try {
+			request.requestDone(ioex);
+		}
+		catch (Throwable t) {
+			IOManagerAsync.LOG.error("The handler of the request-complete-callback threw an exception" + (t.getMessage() == null ? "." : ": " + t.getMessage()), t);
+		}
+	}
 	
 	/**
 	 * A worker thread for asynchronous reads.
@@ -362,12 +436,20 @@ public class IOManagerAsync extends IOManager implements UncaughtExceptionHandle
 					}
 				}
 				
+				// coalesce the block reads of the same channel that directly follow in the queue
+				final List<SegmentReadRequest> coalesced = request instanceof SegmentReadRequest ?
+					coalesce((SegmentReadRequest) request, requestQueue, SegmentReadRequest::canCoalesce) : null;
+
 				// remember any IO exception that occurs, so it can be reported to the writer
 				IOException ioex = null;
 
 				try {
 					// read buffer from the specified channel
-					request.read();
+					if (coalesced == null) {
+						request.read();
+					} else {
+						SegmentReadRequest.readCoalesced(coalesced);
+					}
 				}
 				catch (IOException e) {
 					ioex = e;
@@ -378,11 +460,12 @@ public class IOManagerAsync extends IOManager implements UncaughtExceptionHandle
 				}
 
 				// invoke the processed buffer handler of the request issuing reader object
-				try {
-					request.requestDone(ioex);
-				}
-				catch (Throwable t) {
-					IOManagerAsync.LOG.error("The handler of the request-complete-callback threw an exception" + (t.getMessage() == null ? "." : ": " + t.getMessage()), t);
+				if (coalesced == null) {
+					requestDone(request, ioex);
+				} else {
+					for (SegmentReadRequest coalescedRequest : coalesced) {
+						requestDone(coalescedRequest, ioex);
+					}
 				}
 			} // end while alive
 		}
@@ -468,12 +551,20 @@ public class IOManagerAsync extends IOManager implements UncaughtExceptionHandle
 					}
 				}
 				
+				// coalesce the block writes of the same channel that directly follow in the queue
+				final List<SegmentWriteRequest> coalesced = request instanceof SegmentWriteRequest ?
+					coalesce((SegmentWriteRequest) request, requestQueue, SegmentWriteRequest::canCoalesce) : null;
+
 				// remember any IO exception that occurs, so it can be reported to the writer
 				IOException ioex = null;
 				
 				try {
 					// write buffer to the specified channel
-					request.write();
+					if (coalesced == null) {
+						request.write();
+					} else {
+						SegmentWriteRequest.writeCoalesced(coalesced);
+					}
 				}
 				catch (IOException e) {
 					ioex = e;
@@ -484,11 +575,12 @@ public class IOManagerAsync extends IOManager implements UncaughtExceptionHandle
 				}
 
 				// invoke the processed buffer handler of the request issuing writer object
-				try {
-					request.requestDone(ioex);
-				}
-				catch (Throwable t) {
-					IOManagerAsync.LOG.error("The handler of the request-complete-callback threw an exception" + (t.getMessage() == null ? "." : ": " + t.getMessage()), t);
+				if (coalesced == null) {
+					requestDone(request, ioex);
+				} else {
+					for (SegmentWriteRequest coalescedRequest : coalesced) {
+						requestDone(coalescedRequest, ioex);
+					}
 				}
 			} // end while alive
 		}
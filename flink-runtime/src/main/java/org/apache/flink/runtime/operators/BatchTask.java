@@ -28,6 +28,7 @@ import org.apache.flink.api.common.functions.util.FunctionUtils;
 import org.apache.flink.api.common.typeutils.TypeComparator;
 import org.apache.flink.api.common.typeutils.TypeComparatorFactory;
 import org.apache.flink.api.common.typeutils.TypeSerializerFactory;
+import org.apache.flink.configuration.AlgorithmOptions;
 import org.apache.flink.configuration.Configuration;
 import org.apache.flink.core.memory.MemorySegment;
 import org.apache.flink.metrics.MetricGroup;
@@ -959,6 +960,7 @@ public class BatchTask<S extends Function, OT> extends AbstractInvokable impleme
 						.memoryFraction(this.config.getRelativeMemoryInput(inputNum))
 						.objectReuse(this.getExecutionConfig().isObjectReuseEnabled())
 						.largeRecords(this.getTaskConfig().getUseLargeRecordHandler())
+						.sortParallelism(getTaskManagerInfo().getConfiguration().getInteger(AlgorithmOptions.SORT_PARALLELISM))
 						.build((MutableObjectIterator) this.inputIterators[inputNum]);
 				// set the input to null such that it will be lazily fetched from the input strategy
 				this.inputs[inputNum] = null;
@@ -1003,6 +1005,7 @@ public class BatchTask<S extends Function, OT> extends AbstractInvokable impleme
 						.memoryFraction(this.config.getRelativeMemoryInput(inputNum))
 						.objectReuse(this.getExecutionConfig().isObjectReuseEnabled())
 						.largeRecords(this.getTaskConfig().getUseLargeRecordHandler())
+						.sortParallelism(getTaskManagerInfo().getConfiguration().getInteger(AlgorithmOptions.SORT_PARALLELISM))
 						.build(this.inputIterators[inputNum]);
 
 				// set the input to null such that it will be lazily fetched from the input strategy
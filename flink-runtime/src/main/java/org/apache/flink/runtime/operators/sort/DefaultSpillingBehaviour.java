@@ -63,4 +63,9 @@ final class DefaultSpillingBehaviour<R> implements SpillingThread.SpillingBehavi
 			}
 		}
 	}
+
+	@Override
+	public SpillingThread.SpillingBehaviour<R> duplicateForConcurrentMerging() {
+		return new DefaultSpillingBehaviour<>(objectReuseEnabled, serializer.duplicate());
+	}
 }
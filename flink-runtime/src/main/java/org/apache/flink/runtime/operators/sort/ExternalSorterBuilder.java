@@ -75,6 +75,7 @@ public final class ExternalSorterBuilder<T> {
 	private double memoryFraction = 1.0;
 	private int numSortBuffers = -1;
 	private double startSpillingFraction = AlgorithmOptions.SORT_SPILLING_THRESHOLD.defaultValue();
+	private int sortParallelism = AlgorithmOptions.SORT_PARALLELISM.defaultValue();
 	private IOManager ioManager;
 	private boolean noSpillingMemory = true;
 	private GroupCombineFunction<T, T> combineFunction;
@@ -140,6 +141,19 @@ public final class ExternalSorterBuilder<T> {
 		return this;
 	}
 
+	/**
+	 * Sets the number of threads that sort the in-memory buffers and merge the spilled runs. With more
+	 * than one thread, filled buffers are sorted concurrently, buffers with fully normalized keys are radix
+	 * sorted in parallel and, unless a combiner is set, the intermediate merges of a round run concurrently.
+	 */
+	public ExternalSorterBuilder<T> sortParallelism(int sortParallelism) {
+		if (sortParallelism < 1) {
+			throw new IllegalArgumentException("The sort parallelism must be at least one.");
+		}
+		this.sortParallelism = sortParallelism;
+		return this;
+	}
+
 	public ExternalSorterBuilder<T> withCombiner(GroupCombineFunction<T, T> combineFunction, Configuration udfConfig) {
 		this.combineFunction = checkNotNull(combineFunction);
 		this.udfConfig = checkNotNull(udfConfig);
@@ -372,7 +386,7 @@ public final class ExternalSorterBuilder<T> {
 			((long) (startSpillingFraction * sortMemory)));
 
 		// start the thread that sorts the buffers
-		StageRunner sortingStage = new SortingThread<>(exceptionHandler, circularQueues);
+		StageRunner sortingStage = new SortingThread<>(exceptionHandler, circularQueues, sortParallelism);
 
 		// start the thread that handles spilling to secondary storage
 		final SpillingThread.SpillingBehaviour<T> spillingBehaviour;
@@ -401,7 +415,8 @@ public final class ExternalSorterBuilder<T> {
 			largeRecordHandler,
 			spillingBehaviour,
 			MIN_NUM_WRITE_BUFFERS,
-			MAX_NUM_WRITE_BUFFERS);
+			MAX_NUM_WRITE_BUFFERS,
+			sortParallelism);
 
 		return new ExternalSorter<>(
 			readingThread,
@@ -35,7 +35,7 @@ import java.util.List;
 /**
  * 
  */
-public final class FixedLengthRecordSorter<T> implements InMemorySorter<T> {
+public final class FixedLengthRecordSorter<T> implements InMemorySorter<T>, NormalizedKeySortable {
 	
 	private static final int MIN_REQUIRED_BUFFERS = 3;
 
@@ -302,6 +302,33 @@ public final class FixedLengthRecordSorter<T> implements InMemorySorter<T> {
 		segI.swapBytes(this.swapBuffer, segJ, segmentOffsetI, segmentOffsetJ, this.recordSize);
 	}
 
+	@Override
+	public void swap(int i, int j, byte[] swapBuffer) {
+		final MemorySegment segI = this.sortBuffer.get(i / this.recordsPerSegment);
+		final MemorySegment segJ = this.sortBuffer.get(j / this.recordsPerSegment);
+
+		segI.swapBytes(swapBuffer, segJ, (i % this.recordsPerSegment) * this.recordSize,
+			(j % this.recordsPerSegment) * this.recordSize, this.recordSize);
+	}
+
+	@Override
+	public boolean isNormalizedKeyFullyDetermining() {
+		// the records are serialized with their key normalized, the key bytes are all we compare
+		return true;
+	}
+
+	@Override
+	public int getNormalizedKeyLength() {
+		return this.numKeyBytes;
+	}
+
+	@Override
+	public int getNormalizedKeyByte(int i, int keyByte) {
+		final MemorySegment seg = this.sortBuffer.get(i / this.recordsPerSegment);
+		final int value = seg.get((i % this.recordsPerSegment) * this.recordSize + keyByte) & 0xff;
+		return this.useNormKeyUninverted ? value : 0xff - value;
+	}
+
 	@Override
 	public int size() {
 		return this.numRecords;
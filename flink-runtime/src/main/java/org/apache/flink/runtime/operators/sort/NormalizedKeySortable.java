@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.operators.sort;
+
+/**
+ * An {@link IndexedSortable} that keeps a binary comparable normalized key per element. If the
+ * normalized keys fully determine the order of the elements, the sortable can be sorted by
+ * {@link RadixSort} without ever comparing the actual records.
+ *
+ * <p>The key access and the swap with an external buffer must be safe to call concurrently for
+ * disjoint ranges of elements, which allows sorting parts of the sortable in parallel.
+ */
+public interface NormalizedKeySortable extends IndexedSortable {
+
+	/**
+	 * Checks whether the normalized keys fully determine the order of the elements, i.e. whether
+	 * {@link #compare(int, int)} only compares the normalized keys.
+	 */
+	boolean isNormalizedKeyFullyDetermining();
+
+	/**
+	 * Gets the number of bytes of the normalized key of each element.
+	 */
+	int getNormalizedKeyLength();
+
+	/**
+	 * Gets a byte of the normalized key of an element as an unsigned value, such that the unsigned
+	 * values order the elements ascending, also if the comparator inverts the normalized key.
+	 *
+	 * @param i The logical position of the element.
+	 * @param keyByte The position of the byte within the normalized key.
+	 * @return The byte, between 0 and 255.
+	 */
+	int getNormalizedKeyByte(int i, int keyByte);
+
+	/**
+	 * Swaps the elements at the given positions, using the given buffer of at least
+	 * {@link #recordSize()} bytes instead of a buffer shared by the sortable.
+	 */
+	void swap(int i, int j, byte[] swapBuffer);
+}
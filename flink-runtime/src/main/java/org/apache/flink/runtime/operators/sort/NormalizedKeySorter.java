@@ -37,7 +37,7 @@ import java.util.List;
 /**
  * 
  */
-public final class NormalizedKeySorter<T> implements InMemorySorter<T> {
+public final class NormalizedKeySorter<T> implements InMemorySorter<T>, NormalizedKeySortable {
 	
 	private static final Logger LOG = LoggerFactory.getLogger(NormalizedKeySorter.class);
 	
@@ -400,6 +400,32 @@ public final class NormalizedKeySorter<T> implements InMemorySorter<T> {
 		segI.swapBytes(this.swapBuffer, segJ, segmentOffsetI, segmentOffsetJ, this.indexEntrySize);
 	}
 
+	@Override
+	public void swap(int i, int j, byte[] swapBuffer) {
+		final MemorySegment segI = this.sortIndex.get(i / this.indexEntriesPerSegment);
+		final MemorySegment segJ = this.sortIndex.get(j / this.indexEntriesPerSegment);
+
+		segI.swapBytes(swapBuffer, segJ, (i % this.indexEntriesPerSegment) * this.indexEntrySize,
+			(j % this.indexEntriesPerSegment) * this.indexEntrySize, this.indexEntrySize);
+	}
+
+	@Override
+	public boolean isNormalizedKeyFullyDetermining() {
+		return this.normalizedKeyFullyDetermines;
+	}
+
+	@Override
+	public int getNormalizedKeyLength() {
+		return this.numKeyBytes;
+	}
+
+	@Override
+	public int getNormalizedKeyByte(int i, int keyByte) {
+		final MemorySegment seg = this.sortIndex.get(i / this.indexEntriesPerSegment);
+		final int value = seg.get((i % this.indexEntriesPerSegment) * this.indexEntrySize + OFFSET_LEN + keyByte) & 0xff;
+		return this.useNormKeyUninverted ? value : 0xff - value;
+	}
+
 	@Override
 	public int size() {
 		return this.numRecords;
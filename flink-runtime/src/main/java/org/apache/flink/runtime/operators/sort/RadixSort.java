@@ -0,0 +1,212 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.operators.sort;
+
+import javax.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * An in-place MSD radix sort (American flag sort) over the normalized keys of a
+ * {@link NormalizedKeySortable}. It distributes the elements into 256 buckets by one key byte at a
+ * time and recurses into the buckets with the next byte, finishing small buckets with an insertion
+ * sort. It never touches the records themselves.
+ *
+ * <p>If a {@link ForkJoinPool} is given, large buckets are sorted as separate tasks, so that the
+ * sort of one buffer is spread over the threads of the pool.
+ *
+ * <p>Sortables whose normalized keys do not fully determine the order are sorted with the
+ * {@link QuickSort}.
+ */
+public final class RadixSort implements IndexedSorter {
+
+	private static final int RADIX = 256;
+
+	/** Ranges up to this size are sorted with an insertion sort. */
+	private static final int INSERTION_SORT_THRESHOLD = 32;
+
+	/** Ranges of at least this size are sorted as separate tasks, if a pool is given. */
+	static final int MIN_PARALLEL_RANGE = 1 << 13;
+
+	private final IndexedSorter fallback = new QuickSort();
+
+	@Nullable
+	private final ForkJoinPool pool;
+
+	public RadixSort() {
+		this(null);
+	}
+
+	public RadixSort(@Nullable ForkJoinPool pool) {
+		this.pool = pool;
+	}
+
+	/**
+	 * Checks whether the given sortable is sorted by its normalized keys, rather than by the
+	 * fallback sort.
+	 */
+	public static boolean canRadixSort(IndexedSortable s) {
+		if (!(s instanceof NormalizedKeySortable)) {
+			return false;
+		}
+		final NormalizedKeySortable sortable = (NormalizedKeySortable) s;
+		return sortable.isNormalizedKeyFullyDetermining() && sortable.getNormalizedKeyLength() > 0;
+	}
+
+	@Override
+	public void sort(IndexedSortable s, int l, int r) {
+		if (!canRadixSort(s)) {
+			fallback.sort(s, l, r);
+			return;
+		}
+
+		final NormalizedKeySortable sortable = (NormalizedKeySortable) s;
+		if (pool == null || r - l < MIN_PARALLEL_RANGE) {
+			sortRange(sortable, l, r, 0, new byte[s.recordSize()]);
+			return;
+		}
+
+		final RadixSortTask task = new RadixSortTask(sortable, l, r, 0);
+		if (ForkJoinTask.inForkJoinPool()) {
+			task.invoke();
+		} else {
+			pool.invoke(task);
+		}
+	}
+
+	@Override
+	public void sort(IndexedSortable s) {
+		sort(s, 0, s.size());
+	}
+
+	// ------------------------------------------------------------------------
+
+	private static void sortRange(NormalizedKeySortable s, int l, int r, int keyByte, byte[] swapBuffer) {
+		if (r - l <= INSERTION_SORT_THRESHOLD) {
+			insertionSort(s, l, r, swapBuffer);
+			return;
+		}
+		if (keyByte == s.getNormalizedKeyLength()) {
+			// all keys in this range are equal
+			return;
+		}
+
+		final int[] bucketBounds = distribute(s, l, r, keyByte, swapBuffer);
+		for (int b = 0; b < RADIX; b++) {
+			if (bucketBounds[b + 1] - bucketBounds[b] > 1) {
+				sortRange(s, bucketBounds[b], bucketBounds[b + 1], keyByte + 1, swapBuffer);
+			}
+		}
+	}
+
+	/**
+	 * Permutes the range in place such that the elements are grouped by the given key byte.
+	 *
+	 * @return The bounds of the buckets, bucket {@code b} ranges from {@code bounds[b]} inclusive
+	 *         to {@code bounds[b + 1]} exclusive.
+	 */
+	private static int[] distribute(NormalizedKeySortable s, int l, int r, int keyByte, byte[] swapBuffer) {
+		final int[] bounds = new int[RADIX + 1];
+		for (int i = l; i < r; i++) {
+			bounds[s.getNormalizedKeyByte(i, keyByte) + 1]++;
+		}
+		bounds[0] = l;
+		for (int b = 0; b < RADIX; b++) {
+			bounds[b + 1] += bounds[b];
+		}
+
+		final int[] next = new int[RADIX];
+		System.arraycopy(bounds, 0, next, 0, RADIX);
+		for (int b = 0; b < RADIX; b++) {
+			final int end = bounds[b + 1];
+			while (next[b] < end) {
+				final int value = s.getNormalizedKeyByte(next[b], keyByte);
+				if (value == b) {
+					next[b]++;
+				} else {
+					// move the element to its bucket and look at the element swapped in
+					s.swap(next[b], next[value]++, swapBuffer);
+				}
+			}
+		}
+		return bounds;
+	}
+
+	private static void insertionSort(NormalizedKeySortable s, int l, int r, byte[] swapBuffer) {
+		for (int i = l + 1; i < r; i++) {
+			for (int j = i; j > l && s.compare(j - 1, j) > 0; j--) {
+				s.swap(j - 1, j, swapBuffer);
+			}
+		}
+	}
+
+	/**
+	 * Sorts a range and forks the sort of its large buckets.
+	 */
+	private static final class RadixSortTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final NormalizedKeySortable sortable;
+		private final int l;
+		private final int r;
+		private final int keyByte;
+
+		RadixSortTask(NormalizedKeySortable sortable, int l, int r, int keyByte) {
+			this.sortable = sortable;
+			this.l = l;
+			this.r = r;
+			this.keyByte = keyByte;
+		}
+
+		@Override
+		protected void compute() {
+			if (keyByte == sortable.getNormalizedKeyLength()) {
+				return;
+			}
+			final byte[] swapBuffer = new byte[sortable.recordSize()];
+
+			final int[] bucketBounds = distribute(sortable, l, r, keyByte, swapBuffer);
+			// fork the large buckets first, so that other threads can steal them while this
+			// thread sorts the small buckets
+			final List<RadixSortTask> subTasks = new ArrayList<>();
+			for (int b = 0; b < RADIX; b++) {
+				if (bucketBounds[b + 1] - bucketBounds[b] >= MIN_PARALLEL_RANGE) {
+					final RadixSortTask subTask =
+						new RadixSortTask(sortable, bucketBounds[b], bucketBounds[b + 1], keyByte + 1);
+					subTask.fork();
+					subTasks.add(subTask);
+				}
+			}
+			for (int b = 0; b < RADIX; b++) {
+				final int size = bucketBounds[b + 1] - bucketBounds[b];
+				if (size > 1 && size < MIN_PARALLEL_RANGE) {
+					sortRange(sortable, bucketBounds[b], bucketBounds[b + 1], keyByte + 1, swapBuffer);
+				}
+			}
+			for (RadixSortTask subTask : subTasks) {
+				subTask.join();
+			}
+		}
+	}
+}
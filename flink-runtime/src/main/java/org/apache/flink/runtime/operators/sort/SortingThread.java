@@ -18,18 +18,37 @@
 
 package org.apache.flink.runtime.operators.sort;
 
+import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.runtime.util.Hardware;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nullable;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 
 import static org.apache.flink.runtime.operators.sort.CircularElement.EOF_MARKER;
 import static org.apache.flink.runtime.operators.sort.CircularElement.SPILLING_MARKER;
 
 /**
  * The thread that sorts filled buffers.
+ *
+ * <p>With a sort parallelism larger than one, the buffers are sorted in a work-stealing pool: up to
+ * the sort parallelism many filled buffers are sorted concurrently, and each buffer whose normalized
+ * keys fully determine the order is sorted with a parallel {@link RadixSort}. Sorted buffers may then
+ * be passed on to the spilling stage in a different order than they were filled, but always before
+ * the next marker.
+ *
+ * <p>The pool is shared by all sorters of the process and has one thread per CPU core, so that
+ * concurrently running sorters of a TaskManager don't start more sorting threads than there are
+ * cores.
  */
 class SortingThread<E> extends ThreadBase<E> {
 
@@ -38,6 +57,22 @@ class SortingThread<E> extends ThreadBase<E> {
 
 	private final IndexedSorter sorter;
 
+	/** The pool that sorts the buffers, null if the buffers are sorted by this thread. */
+	@Nullable
+	private final ForkJoinPool sortPool;
+
+	/** The maximum number of buffers which are sorted in the pool at the same time. */
+	private final int sortParallelism;
+
+	/** The sorts which were started in the pool and may not have been passed on yet. */
+	private final List<CompletableFuture<Void>> pendingSorts = new ArrayList<>();
+
+	/** The sorts which were started in the pool and may still be running. */
+	private final List<CompletableFuture<Void>> startedSorts = new ArrayList<>();
+
+	/** Set once the thread is closed, so that sorts which did not start yet are skipped. */
+	private volatile boolean closed;
+
 	/**
 	 * Creates a new sorting thread.
 	 *
@@ -47,17 +82,38 @@ class SortingThread<E> extends ThreadBase<E> {
 	public SortingThread(
 			@Nullable ExceptionHandler<IOException> exceptionHandler,
 			StageMessageDispatcher<E> dispatcher) {
+		this(exceptionHandler, dispatcher, 1);
+	}
+
+	/**
+	 * Creates a new sorting thread.
+	 *
+	 * @param exceptionHandler The exception handler to call for all exceptions.
+	 * @param dispatcher The queues used to pass buffers between the threads.
+	 * @param sortParallelism The number of threads to sort with, one sorts all buffers in this thread.
+	 */
+	public SortingThread(
+			@Nullable ExceptionHandler<IOException> exceptionHandler,
+			StageMessageDispatcher<E> dispatcher,
+			int sortParallelism) {
 		super(exceptionHandler, "SortMerger sorting thread", dispatcher);
 
 		// members
-		this.sorter = new QuickSort();
+		this.sortParallelism = sortParallelism;
+		if (sortParallelism > 1) {
+			this.sortPool = SharedSortPool.INSTANCE;
+			this.sorter = new RadixSort(sortPool);
+		} else {
+			this.sortPool = null;
+			this.sorter = new QuickSort();
+		}
 	}
 
 	/**
 	 * Entry point of the thread.
 	 */
 	@Override
-	public void go() throws InterruptedException {
+	public void go() throws IOException, InterruptedException {
 		boolean alive = true;
 
 		// loop as long as the thread is marked alive
@@ -72,15 +128,108 @@ class SortingThread<E> extends ThreadBase<E> {
 					continue;
 				}
 
+				if (sortPool != null) {
+					sortAsync(element);
+					continue;
+				}
+
 				LOG.debug("Sorting buffer {}.", element.getId());
 				this.sorter.sort(element.getBuffer());
 
 				LOG.debug("Sorted buffer {}.", element.getId());
-			} else if (element == EOF_MARKER) {
-				LOG.debug("Sorting thread done.");
-				alive = false;
+			} else {
+				// all buffers before the marker must reach the spilling stage before the marker
+				waitForPendingSorts();
+				if (element == EOF_MARKER) {
+					LOG.debug("Sorting thread done.");
+					alive = false;
+				}
 			}
 			this.dispatcher.send(SortStage.SPILL, element);
 		}
 	}
+
+	@Override
+	public void close() throws InterruptedException {
+		this.closed = true;
+		super.close();
+		// the memory of the buffers is released after the close, so no sort may still be running
+		for (CompletableFuture<Void> startedSort : startedSorts) {
+			try {
+				startedSort.get();
+			} catch (ExecutionException ignored) {
+				// the failure has been reported by the sort itself
+			}
+		}
+		startedSorts.clear();
+		pendingSorts.clear();
+	}
+
+	private void sortAsync(CircularElement<E> element) throws IOException, InterruptedException {
+		pendingSorts.removeIf(CompletableFuture::isDone);
+		while (pendingSorts.size() >= sortParallelism) {
+			waitForPendingSort(pendingSorts.remove(0));
+			pendingSorts.removeIf(CompletableFuture::isDone);
+		}
+		startedSorts.removeIf(CompletableFuture::isDone);
+
+		LOG.debug("Sorting buffer {} asynchronously.", element.getId());
+		final CompletableFuture<Void> sortFuture = CompletableFuture.runAsync(
+			() -> {
+				if (!closed) {
+					this.sorter.sort(element.getBuffer());
+				}
+			},
+			sortPool);
+		startedSorts.add(sortFuture);
+		pendingSorts.add(sortFuture.whenComplete((ignored, throwable) -> {
+			if (closed) {
+				return;
+			}
+			if (throwable == null) {
+				LOG.debug("Sorted buffer {}.", element.getId());
+				this.dispatcher.send(SortStage.SPILL, element);
+			} else {
+				internalHandleException(new IOException("Sorting buffer " + element.getId() + " failed.", throwable));
+			}
+		}));
+	}
+
+	private void waitForPendingSorts() throws IOException, InterruptedException {
+		for (CompletableFuture<Void> pendingSort : pendingSorts) {
+			waitForPendingSort(pendingSort);
+		}
+		pendingSorts.clear();
+	}
+
+	private static void waitForPendingSort(CompletableFuture<Void> pendingSort) throws IOException, InterruptedException {
+		try {
+			pendingSort.get();
+		} catch (ExecutionException e) {
+			throw new IOException("Sorting a buffer failed.", e.getCause());
+		}
+	}
+
+	@VisibleForTesting
+	static ForkJoinPool getSharedSortPool() {
+		return SharedSortPool.INSTANCE;
+	}
+
+	/**
+	 * Holds the pool which is shared by all sorting threads, it is created when the first sorter with
+	 * a sort parallelism larger than one is started. The worker threads are daemon threads, so the
+	 * pool is never shut down.
+	 */
+	private static final class SharedSortPool {
+
+		static final ForkJoinPool INSTANCE = new ForkJoinPool(
+			Hardware.getNumberCPUCores(),
+			pool -> {
+				final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+				thread.setName("SortMerger sorting pool worker-" + thread.getPoolIndex());
+				return thread;
+			},
+			null,
+			false);
+	}
 }
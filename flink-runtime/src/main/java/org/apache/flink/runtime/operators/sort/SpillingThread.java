@@ -30,6 +30,7 @@ import org.apache.flink.runtime.io.disk.iomanager.FileIOChannel;
 import org.apache.flink.runtime.io.disk.iomanager.IOManager;
 import org.apache.flink.runtime.memory.MemoryManager;
 import org.apache.flink.runtime.util.EmptyMutableObjectIterator;
+import org.apache.flink.runtime.util.ExecutorThreadFactory;
 import org.apache.flink.util.MutableObjectIterator;
 
 import org.slf4j.Logger;
@@ -44,6 +45,11 @@ import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.apache.flink.runtime.operators.sort.CircularElement.EOF_MARKER;
 import static org.apache.flink.runtime.operators.sort.CircularElement.SPILLING_MARKER;
@@ -74,6 +80,15 @@ final class SpillingThread<E> extends ThreadBase<E> {
 		 * A method that allows adjusting the merging phase. We can inject e.g. combining the spilled elements.
 		 */
 		void mergeRecords(MergeIterator<E> mergeIterator, ChannelWriterOutputView output) throws IOException;
+
+		/**
+		 * Creates a behaviour that can merge records concurrently to this one. Returns null, if the
+		 * merges must not run concurrently, e.g. because they call a user function.
+		 */
+		@Nullable
+		default SpillingBehaviour<E> duplicateForConcurrentMerging() {
+			return null;
+		}
 	}
 
 	/** Logging. */
@@ -105,6 +120,10 @@ final class SpillingThread<E> extends ThreadBase<E> {
 
 	private final int maxNumWriteBuffers;
 
+	private final int mergeParallelism;
+
+	private final boolean concurrentMerging;
+
 	SpillingThread(
 			@Nullable ExceptionHandler<IOException> exceptionHandler,
 			StageMessageDispatcher<E> dispatcher,
@@ -119,7 +138,8 @@ final class SpillingThread<E> extends ThreadBase<E> {
 			@Nullable LargeRecordHandler<E> largeRecordHandler,
 			SpillingBehaviour<E> spillingBehaviour,
 			int minNumWriteBuffers,
-			int maxNumWriteBuffers) {
+			int maxNumWriteBuffers,
+			int mergeParallelism) {
 		super(exceptionHandler, "SortMerger spilling thread", dispatcher);
 		this.memManager = checkNotNull(memManager);
 		this.ioManager = checkNotNull(ioManager);
@@ -133,6 +153,8 @@ final class SpillingThread<E> extends ThreadBase<E> {
 		this.spillingBehaviour = checkNotNull(spillingBehaviour);
 		this.minNumWriteBuffers = minNumWriteBuffers;
 		this.maxNumWriteBuffers = maxNumWriteBuffers;
+		this.mergeParallelism = mergeParallelism;
+		this.concurrentMerging = mergeParallelism > 1 && spillingBehaviour.duplicateForConcurrentMerging() != null;
 	}
 
 	/**
@@ -210,7 +232,7 @@ final class SpillingThread<E> extends ThreadBase<E> {
 		return false;
 	}
 
-	private void mergeOnDisk(List<ChannelWithBlockCount> channelIDs) throws IOException {
+	private void mergeOnDisk(List<ChannelWithBlockCount> channelIDs) throws IOException, InterruptedException {
 		// make sure we have enough memory to merge and for large record handling
 		List<MemorySegment> mergeReadMemory;
 		MutableObjectIterator<E> largeRecords = null;
@@ -280,7 +302,7 @@ final class SpillingThread<E> extends ThreadBase<E> {
 
 			// get the readers and register them to be released
 			this.dispatcher.sendResult(getMergingIterator(channelIDs, readBuffers,
-				new ArrayList<>(channelIDs.size()), largeRecords));
+				new ArrayList<>(channelIDs.size()), largeRecords, this.serializer, this.comparator));
 		}
 
 		// done
@@ -408,7 +430,8 @@ final class SpillingThread<E> extends ThreadBase<E> {
 	 * @throws IOException Thrown, if the readers encounter an I/O problem.
 	 */
 	private MergeIterator<E> getMergingIterator(final List<ChannelWithBlockCount> channelIDs,
-			final List<List<MemorySegment>> inputSegments, List<FileIOChannel> readerList, MutableObjectIterator<E> largeRecords)
+			final List<List<MemorySegment>> inputSegments, List<FileIOChannel> readerList, MutableObjectIterator<E> largeRecords,
+			TypeSerializer<E> serializer, TypeComparator<E> comparator)
 		throws IOException
 	{
 		// create one iterator per channel id
@@ -430,21 +453,23 @@ final class SpillingThread<E> extends ThreadBase<E> {
 			// wrap channel reader as a view, to get block spanning record deserialization
 			final ChannelReaderInputView inView = new ChannelReaderInputView(reader, segsForChannel,
 																		channel.getBlockCount(), false);
-			iterators.add(new ChannelReaderInputViewIterator<>(inView, null, this.serializer));
+			iterators.add(new ChannelReaderInputViewIterator<>(inView, null, serializer));
 		}
 
 		if (largeRecords != null) {
 			iterators.add(largeRecords);
 		}
 
-		return new MergeIterator<>(iterators, this.comparator);
+		return new MergeIterator<>(iterators, comparator);
 	}
 
 	/**
 	 * Merges the given sorted runs to a smaller number of sorted runs.
 	 *
+	 * <p>If the spilling behaviour allows it and there is enough memory, the merges of a round run concurrently.
+	 *
 	 * @param channelIDs The IDs of the sorted runs that need to be merged.
-	 * @param allReadBuffers
+	 * @param allReadBuffers The buffers to be divided among the readers.
 	 * @param writeBuffers The buffers to be used by the writers.
 	 * @return A list of the IDs of the merged channels.
 	 * @throws IOException Thrown, if the readers or writers encountered an I/O problem.
@@ -452,7 +477,7 @@ final class SpillingThread<E> extends ThreadBase<E> {
 	private List<ChannelWithBlockCount> mergeChannelList(
 			final List<ChannelWithBlockCount> channelIDs,
 			final List<MemorySegment> allReadBuffers,
-			final List<MemorySegment> writeBuffers) throws IOException {
+			final List<MemorySegment> writeBuffers) throws IOException, InterruptedException {
 		// A channel list with length maxFanIn<sup>i</sup> can be merged to maxFanIn files in i-1 rounds where every merge
 		// is a full merge with maxFanIn input channels. A partial round includes merges with fewer than maxFanIn
 		// inputs. It is most efficient to perform the partial round first.
@@ -472,12 +497,27 @@ final class SpillingThread<E> extends ThreadBase<E> {
 
 		final int channelsToMergePerStep = (int) Math.ceil(numToMerge / (double) numMerges);
 
+		final int numConcurrentMerges = getNumConcurrentMerges(
+			numMerges, channelsToMergePerStep, allReadBuffers.size(), writeBuffers.size());
+		if (numConcurrentMerges > 1) {
+			final Queue<List<ChannelWithBlockCount>> mergeSteps = new ConcurrentLinkedQueue<>();
+			for (int channelNum = numNotMerged; channelNum < channelIDs.size(); channelNum += channelsToMergePerStep) {
+				mergeSteps.add(new ArrayList<>(channelIDs.subList(
+					channelNum,
+					Math.min(channelNum + channelsToMergePerStep, channelIDs.size()))));
+			}
+			mergedChannelIDs.addAll(mergeConcurrently(
+				mergeSteps, numConcurrentMerges, channelsToMergePerStep, allReadBuffers, writeBuffers));
+			return mergedChannelIDs;
+		}
+
 		// allocate the memory for the merging step
 		final List<List<MemorySegment>> readBuffers = new ArrayList<>(channelsToMergePerStep);
 		getSegmentsForReaders(readBuffers, allReadBuffers, channelsToMergePerStep);
 
 		final List<ChannelWithBlockCount> channelsToMergeThisStep = new ArrayList<>(channelsToMergePerStep);
 		int channelNum = numNotMerged;
+		openSpillingBehaviour();
 		while (isRunning() && channelNum < channelIDs.size()) {
 			channelsToMergeThisStep.clear();
 
@@ -485,12 +525,97 @@ final class SpillingThread<E> extends ThreadBase<E> {
 				channelsToMergeThisStep.add(channelIDs.get(channelNum));
 			}
 
-			mergedChannelIDs.add(mergeChannels(channelsToMergeThisStep, readBuffers, writeBuffers));
+			mergedChannelIDs.add(mergeChannels(
+				channelsToMergeThisStep,
+				readBuffers,
+				writeBuffers,
+				this.serializer,
+				this.comparator,
+				this.spillingBehaviour));
 		}
 
 		return mergedChannelIDs;
 	}
 
+	/**
+	 * Determines how many merges of a round run concurrently. Each concurrent merge needs its own share
+	 * of the write buffers and at least one read buffer per merged channel.
+	 */
+	private int getNumConcurrentMerges(int numMerges, int channelsPerMerge, int numReadBuffers, int numWriteBuffers) {
+		if (!concurrentMerging || numMerges <= 1) {
+			return 1;
+		}
+		final int byMemory = Math.min(numWriteBuffers / minNumWriteBuffers, numReadBuffers / channelsPerMerge);
+		return Math.max(1, Math.min(Math.min(mergeParallelism, numMerges), byMemory));
+	}
+
+	/**
+	 * Runs the given merge steps in a pool of merging threads. Every thread gets a disjoint share of the read
+	 * and write buffers, duplicates of the serializer and comparator and its own spilling behaviour, and runs
+	 * merge steps until none are left.
+	 *
+	 * @return The IDs of the merged channels, in no particular order.
+	 */
+	private List<ChannelWithBlockCount> mergeConcurrently(
+			Queue<List<ChannelWithBlockCount>> mergeSteps,
+			int numConcurrentMerges,
+			int channelsPerMerge,
+			List<MemorySegment> allReadBuffers,
+			List<MemorySegment> writeBuffers) throws IOException, InterruptedException {
+		LOG.debug("Merging {} groups of sorted runs with {} concurrent merges.", mergeSteps.size(), numConcurrentMerges);
+
+		final int readBuffersPerMerge = allReadBuffers.size() / numConcurrentMerges;
+		final int writeBuffersPerMerge = writeBuffers.size() / numConcurrentMerges;
+
+		final ExecutorService executor = Executors.newFixedThreadPool(
+			numConcurrentMerges,
+			new ExecutorThreadFactory("SortMerger merging thread"));
+		try {
+			final List<Future<List<ChannelWithBlockCount>>> merges = new ArrayList<>(numConcurrentMerges);
+			for (int i = 0; i < numConcurrentMerges; i++) {
+				final List<MemorySegment> readMemory =
+					allReadBuffers.subList(i * readBuffersPerMerge, (i + 1) * readBuffersPerMerge);
+				final List<MemorySegment> writeMemory =
+					writeBuffers.subList(i * writeBuffersPerMerge, (i + 1) * writeBuffersPerMerge);
+				final SpillingBehaviour<E> behaviour = checkNotNull(spillingBehaviour.duplicateForConcurrentMerging());
+				final TypeSerializer<E> serializer = this.serializer.duplicate();
+				final TypeComparator<E> comparator = this.comparator.duplicate();
+
+				merges.add(executor.submit(() -> {
+					final List<List<MemorySegment>> readBuffers = new ArrayList<>(channelsPerMerge);
+					getSegmentsForReaders(readBuffers, readMemory, channelsPerMerge);
+
+					final List<ChannelWithBlockCount> mergedChannelIDs = new ArrayList<>();
+					behaviour.open();
+					try {
+						List<ChannelWithBlockCount> channelsToMerge;
+						while (isRunning() && (channelsToMerge = mergeSteps.poll()) != null) {
+							mergedChannelIDs.add(mergeChannels(
+								channelsToMerge, readBuffers, writeMemory, serializer, comparator, behaviour));
+						}
+					} finally {
+						behaviour.close();
+					}
+					return mergedChannelIDs;
+				}));
+			}
+
+			final List<ChannelWithBlockCount> mergedChannelIDs = new ArrayList<>();
+			for (Future<List<ChannelWithBlockCount>> merge : merges) {
+				try {
+					mergedChannelIDs.addAll(merge.get());
+				} catch (ExecutionException e) {
+					final Throwable cause = e.getCause();
+					throw cause instanceof IOException ?
+						(IOException) cause : new IOException("Merging sorted runs failed.", cause);
+				}
+			}
+			return mergedChannelIDs;
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
 	/**
 	 * Merges the sorted runs described by the given Channel IDs into a single sorted run. The merging process
 	 * uses the given read and write buffers.
@@ -498,17 +623,24 @@ final class SpillingThread<E> extends ThreadBase<E> {
 	 * @param channelIDs The IDs of the runs' channels.
 	 * @param readBuffers The buffers for the readers that read the sorted runs.
 	 * @param writeBuffers The buffers for the writer that writes the merged channel.
+	 * @param serializer The serializer to read the records with.
+	 * @param comparator The comparator to merge the records with.
+	 * @param behaviour The opened spilling behaviour that writes the merged records.
 	 * @return The ID and number of blocks of the channel that describes the merged run.
 	 */
 	private ChannelWithBlockCount mergeChannels(
 			List<ChannelWithBlockCount> channelIDs,
 			List<List<MemorySegment>> readBuffers,
-			List<MemorySegment> writeBuffers) throws IOException {
+			List<MemorySegment> writeBuffers,
+			TypeSerializer<E> serializer,
+			TypeComparator<E> comparator,
+			SpillingBehaviour<E> behaviour) throws IOException {
 		// the list with the readers, to be closed at shutdown
 		final List<FileIOChannel> channelAccesses = new ArrayList<>(channelIDs.size());
 
 		// the list with the target iterators
-		final MergeIterator<E> mergeIterator = getMergingIterator(channelIDs, readBuffers, channelAccesses, null);
+		final MergeIterator<E> mergeIterator =
+			getMergingIterator(channelIDs, readBuffers, channelAccesses, null, serializer, comparator);
 
 		// create a new channel writer
 		final FileIOChannel.ID mergedChannelID = this.ioManager.createChannel();
@@ -520,8 +652,7 @@ final class SpillingThread<E> extends ThreadBase<E> {
 			writeBuffers,
 			this.memManager.getPageSize());
 
-		openSpillingBehaviour();
-		spillingBehaviour.mergeRecords(mergeIterator, output);
+		behaviour.mergeRecords(mergeIterator, output);
 		output.close();
 		final int numBlocksWritten = output.getBlockCount();
 
@@ -20,6 +20,7 @@ package org.apache.flink.runtime.source.coordinator;
 
 import org.apache.flink.annotation.Internal;
 import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.api.common.eventtime.WatermarkAlignmentParams;
 import org.apache.flink.api.connector.source.ReaderInfo;
 import org.apache.flink.api.connector.source.Source;
 import org.apache.flink.api.connector.source.SourceSplit;
@@ -29,9 +30,12 @@ import org.apache.flink.core.memory.DataInputViewStreamWrapper;
 import org.apache.flink.core.memory.DataOutputViewStreamWrapper;
 import org.apache.flink.runtime.operators.coordination.OperatorCoordinator;
 import org.apache.flink.runtime.operators.coordination.OperatorEvent;
+import org.apache.flink.runtime.operators.coordination.TaskNotRunningException;
 import org.apache.flink.runtime.source.event.ReaderRegistrationEvent;
+import org.apache.flink.runtime.source.event.ReportedWatermarkEvent;
 import org.apache.flink.runtime.source.event.RequestSplitEvent;
 import org.apache.flink.runtime.source.event.SourceEventWrapper;
+import org.apache.flink.runtime.source.event.WatermarkAlignmentEvent;
 import org.apache.flink.util.ExceptionUtils;
 import org.apache.flink.util.FlinkException;
 import org.apache.flink.util.TemporaryClassLoaderContext;
@@ -46,7 +50,9 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutorService;
@@ -69,6 +75,10 @@ import static org.apache.flink.util.Preconditions.checkState;
  * SplitEnumeratorContxt} and shares it with the enumerator. When the coordinator receives an action
  * request from the Flink runtime, it sets up the context, and calls corresponding method of the
  * SplitEnumerator to take actions.
+ *
+ * <p>If watermark alignment is enabled, the coordinator collects the watermarks reported by the
+ * source readers and announces the maximum watermark the readers may advance to, i.e. the minimum
+ * of the reported watermarks plus the maximum allowed drift.
  */
 @Internal
 public class SourceCoordinator<SplitT extends SourceSplit, EnumChkT> implements OperatorCoordinator {
@@ -92,18 +102,34 @@ public class SourceCoordinator<SplitT extends SourceSplit, EnumChkT> implements
 	private SplitEnumerator<SplitT, EnumChkT> enumerator;
 	/** A flag marking whether the coordinator has started. */
 	private boolean started;
+	/** The parameters of the watermark alignment among the source readers. */
+	private final WatermarkAlignmentParams alignmentParams;
+	/** The latest watermark reported by each source reader, only used if the alignment is enabled. */
+	private final Map<Integer, Long> reportedWatermarks = new HashMap<>();
+	/** The maximum watermark the source readers have last been told to advance to. */
+	private long maxAllowedWatermark = Long.MAX_VALUE;
 
 	public SourceCoordinator(
 			String operatorName,
 			ExecutorService coordinatorExecutor,
 			Source<?, SplitT, EnumChkT> source,
 			SourceCoordinatorContext<SplitT> context) {
+		this(operatorName, coordinatorExecutor, source, context, WatermarkAlignmentParams.WATERMARK_ALIGNMENT_DISABLED);
+	}
+
+	public SourceCoordinator(
+			String operatorName,
+			ExecutorService coordinatorExecutor,
+			Source<?, SplitT, EnumChkT> source,
+			SourceCoordinatorContext<SplitT> context,
+			WatermarkAlignmentParams alignmentParams) {
 		this.operatorName = operatorName;
 		this.coordinatorExecutor = coordinatorExecutor;
 		this.source = source;
 		this.enumCheckpointSerializer = source.getEnumeratorCheckpointSerializer();
 		this.splitSerializer = source.getSplitSerializer();
 		this.context = context;
+		this.alignmentParams = alignmentParams;
 	}
 
 	@Override
@@ -160,6 +186,8 @@ public class SourceCoordinator<SplitT extends SourceSplit, EnumChkT> implements
 					enumerator.handleSourceEvent(subtask, ((SourceEventWrapper) event).getSourceEvent());
 				} else if (event instanceof ReaderRegistrationEvent) {
 					handleReaderRegistrationEvent((ReaderRegistrationEvent) event);
+				} else if (event instanceof ReportedWatermarkEvent) {
+					handleReportedWatermark(subtask, ((ReportedWatermarkEvent) event).getWatermark());
 				} else {
 					throw new FlinkException("Unrecognized Operator Event: " + event);
 				}
@@ -174,6 +202,7 @@ public class SourceCoordinator<SplitT extends SourceSplit, EnumChkT> implements
 			() -> {
 				LOG.info("Removing registered reader after failure for subtask {} of source {}.", subtaskId, operatorName);
 				context.unregisterSourceReader(subtaskId);
+				reportedWatermarks.remove(subtaskId);
 			},
 			"handling subtask %d failure", subtaskId
 		);
@@ -291,6 +320,11 @@ public class SourceCoordinator<SplitT extends SourceSplit, EnumChkT> implements
 		return context;
 	}
 
+	@VisibleForTesting
+	long getMaxAllowedWatermark() {
+		return maxAllowedWatermark;
+	}
+
 	// --------------------- Serde -----------------------
 
 	/**
@@ -355,6 +389,43 @@ public class SourceCoordinator<SplitT extends SourceSplit, EnumChkT> implements
 	private void handleReaderRegistrationEvent(ReaderRegistrationEvent event) {
 		context.registerSourceReader(new ReaderInfo(event.subtaskId(), event.location()));
 		enumerator.addReader(event.subtaskId());
+		if (alignmentParams.isEnabled() && maxAllowedWatermark != Long.MAX_VALUE) {
+			sendWatermarkAlignmentEvent(event.subtaskId());
+		}
+	}
+
+	private void handleReportedWatermark(int subtask, long watermark) {
+		if (!alignmentParams.isEnabled()) {
+			return;
+		}
+		reportedWatermarks.put(subtask, watermark);
+
+		// readers without active splits report Long.MAX_VALUE and don't hold back the others
+		long minWatermark = Long.MAX_VALUE;
+		for (long reportedWatermark : reportedWatermarks.values()) {
+			minWatermark = Math.min(minWatermark, reportedWatermark);
+		}
+		long newMaxAllowedWatermark = saturatedAdd(minWatermark, alignmentParams.getMaxAllowedWatermarkDrift());
+		if (newMaxAllowedWatermark != maxAllowedWatermark) {
+			maxAllowedWatermark = newMaxAllowedWatermark;
+			for (int readerSubtask : context.registeredReaders().keySet()) {
+				sendWatermarkAlignmentEvent(readerSubtask);
+			}
+		}
+	}
+
+	private void sendWatermarkAlignmentEvent(int subtask) {
+		try {
+			context.getCoordinatorContext().sendEvent(new WatermarkAlignmentEvent(maxAllowedWatermark), subtask);
+		} catch (TaskNotRunningException e) {
+			// the reader will receive the next announcement once it has registered again
+			LOG.debug("Could not send the watermark alignment to subtask {} of source {}.", subtask, operatorName, e);
+		}
+	}
+
+	private static long saturatedAdd(long value, long increment) {
+		long result = value + increment;
+		return result < value ? Long.MAX_VALUE : result;
 	}
 
 	private void ensureStarted() {
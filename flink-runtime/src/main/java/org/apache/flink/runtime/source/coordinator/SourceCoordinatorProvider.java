@@ -19,6 +19,7 @@
 package org.apache.flink.runtime.source.coordinator;
 
 import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.api.common.eventtime.WatermarkAlignmentParams;
 import org.apache.flink.api.connector.source.Source;
 import org.apache.flink.api.connector.source.SourceSplit;
 import org.apache.flink.core.io.SimpleVersionedSerializer;
@@ -41,6 +42,7 @@ public class SourceCoordinatorProvider<SplitT extends SourceSplit> extends Recre
 	private final String operatorName;
 	private final Source<?, SplitT, ?> source;
 	private final int numWorkerThreads;
+	private final WatermarkAlignmentParams alignmentParams;
 
 	/**
 	 * Construct the {@link SourceCoordinatorProvider}.
@@ -58,10 +60,30 @@ public class SourceCoordinatorProvider<SplitT extends SourceSplit> extends Recre
 			OperatorID operatorID,
 			Source<?, SplitT, ?> source,
 			int numWorkerThreads) {
+		this(operatorName, operatorID, source, numWorkerThreads, WatermarkAlignmentParams.WATERMARK_ALIGNMENT_DISABLED);
+	}
+
+	/**
+	 * Construct the {@link SourceCoordinatorProvider} for a source whose watermarks are aligned.
+	 *
+	 * @param operatorName the name of the operator.
+	 * @param operatorID the ID of the operator this coordinator corresponds to.
+	 * @param source the Source that will be used for this coordinator.
+	 * @param numWorkerThreads the number of threads the should provide to the SplitEnumerator
+	 *                         for doing async calls.
+	 * @param alignmentParams the parameters of the watermark alignment among the source readers.
+	 */
+	public SourceCoordinatorProvider(
+			String operatorName,
+			OperatorID operatorID,
+			Source<?, SplitT, ?> source,
+			int numWorkerThreads,
+			WatermarkAlignmentParams alignmentParams) {
 		super(operatorID);
 		this.operatorName = operatorName;
 		this.source = source;
 		this.numWorkerThreads = numWorkerThreads;
+		this.alignmentParams = alignmentParams;
 	}
 
 	@Override
@@ -75,7 +97,8 @@ public class SourceCoordinatorProvider<SplitT extends SourceSplit> extends Recre
 		SourceCoordinatorContext<SplitT> sourceCoordinatorContext =
 				new SourceCoordinatorContext<>(coordinatorExecutor, coordinatorThreadFactory, numWorkerThreads,
 						context, splitSerializer);
-		return new SourceCoordinator<>(operatorName, coordinatorExecutor, source, sourceCoordinatorContext);
+		return new SourceCoordinator<>(
+				operatorName, coordinatorExecutor, source, sourceCoordinatorContext, alignmentParams);
 	}
 
 	/**
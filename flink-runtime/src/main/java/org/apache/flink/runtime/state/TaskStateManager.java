@@ -29,6 +29,8 @@ import org.apache.flink.runtime.jobgraph.OperatorID;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
+import java.util.OptionalLong;
+
 /**
  * This interface provides methods to report and retrieve state for a task.
  *
@@ -73,4 +75,10 @@ public interface TaskStateManager extends CheckpointListener, AutoCloseable {
 	LocalRecoveryConfig createLocalRecoveryConfig();
 
 	SequentialChannelStateReader getSequentialChannelStateReader();
+
+	/**
+	 * Returns the id of the checkpoint or savepoint the owning task is restored from, or an empty
+	 * optional if the task is not restored.
+	 */
+	OptionalLong getRestoreCheckpointId();
 }
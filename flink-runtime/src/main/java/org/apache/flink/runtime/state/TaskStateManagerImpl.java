@@ -39,6 +39,7 @@ import javax.annotation.Nullable;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.OptionalLong;
 
 /**
  * This class is the default implementation of {@link TaskStateManager} and collaborates with the job manager
@@ -178,6 +179,13 @@ public class TaskStateManagerImpl implements TaskStateManager {
 		return sequentialChannelStateReader;
 	}
 
+	@Override
+	public OptionalLong getRestoreCheckpointId() {
+		return jobManagerTaskRestore == null ?
+			OptionalLong.empty() :
+			OptionalLong.of(jobManagerTaskRestore.getRestoreCheckpointId());
+	}
+
 	/**
 	 * Tracking when local state can be confirmed and disposed.
 	 */
@@ -265,7 +265,9 @@ public class TaskManagerServices {
 		final TaskEventDispatcher taskEventDispatcher = new TaskEventDispatcher();
 
 		// start the I/O manager, it will create some temp directories.
-		final IOManager ioManager = new IOManagerAsync(taskManagerServicesConfiguration.getTmpDirPaths());
+		final IOManager ioManager = new IOManagerAsync(
+			taskManagerServicesConfiguration.getTmpDirPaths(),
+			taskManagerServicesConfiguration.getTmpDirIoThreads());
 
 		final ShuffleEnvironment<?, ?> shuffleEnvironment = createShuffleEnvironment(
 			taskManagerServicesConfiguration,
@@ -87,6 +87,8 @@ public class TaskManagerServicesConfiguration {
 
 	private final int numIoThreads;
 
+	private final int tmpDirIoThreads;
+
 	private TaskManagerServicesConfiguration(
 			Configuration configuration,
 			ResourceID resourceID,
@@ -106,7 +108,8 @@ public class TaskManagerServicesConfiguration {
 			Optional<Time> systemResourceMetricsProbingInterval,
 			FlinkUserCodeClassLoaders.ResolveOrder classLoaderResolveOrder,
 			String[] alwaysParentFirstLoaderPatterns,
-			int numIoThreads) {
+			int numIoThreads,
+			int tmpDirIoThreads) {
 		this.configuration = checkNotNull(configuration);
 		this.resourceID = checkNotNull(resourceID);
 
@@ -126,6 +129,7 @@ public class TaskManagerServicesConfiguration {
 		this.classLoaderResolveOrder = classLoaderResolveOrder;
 		this.alwaysParentFirstLoaderPatterns = alwaysParentFirstLoaderPatterns;
 		this.numIoThreads = numIoThreads;
+		this.tmpDirIoThreads = tmpDirIoThreads;
 
 		checkArgument(timerServiceShutdownTimeout >= 0L, "The timer " +
 			"service shutdown timeout must be greater or equal to 0.");
@@ -167,6 +171,10 @@ public class TaskManagerServicesConfiguration {
 		return tmpDirPaths;
 	}
 
+	int getTmpDirIoThreads() {
+		return tmpDirIoThreads;
+	}
+
 	String[] getLocalRecoveryStateRootDirectories() {
 		return localRecoveryStateRootDirectories;
 	}
@@ -292,6 +300,7 @@ public class TaskManagerServicesConfiguration {
 			ConfigurationUtils.getSystemResourceMetricsProbingInterval(configuration),
 			FlinkUserCodeClassLoaders.ResolveOrder.fromString(classLoaderResolveOrder),
 			alwaysParentFirstLoaderPatterns,
-			numIoThreads);
+			numIoThreads,
+			configuration.getInteger(CoreOptions.TMP_DIR_IO_THREADS));
 	}
 }
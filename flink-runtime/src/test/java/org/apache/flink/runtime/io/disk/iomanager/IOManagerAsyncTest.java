@@ -297,6 +297,72 @@ public class IOManagerAsyncTest {
 		}
 	}
 	
+	@Test
+	public void testCoalescedReadWriteWithMultipleThreadsPerDirectory() throws Exception {
+		final int numChannels = 8;
+		final int numBlocks = 100;
+		final int numSegments = 16;
+
+		final List<MemorySegment> memSegs = new ArrayList<>();
+		for (int i = 0; i < numSegments; i++) {
+			memSegs.add(MemorySegmentFactory.allocateUnpooledSegment(4 * 1024));
+		}
+
+		try (IOManagerAsync multiThreadedIOManager =
+				new IOManagerAsync(ioManager.getSpillingDirectoriesPaths(), 4)) {
+			final List<FileIOChannel.ID> channelIDs = new ArrayList<>();
+			final List<BlockChannelWriter<MemorySegment>> writers = new ArrayList<>();
+			for (int c = 0; c < numChannels; c++) {
+				final FileIOChannel.ID channelID = multiThreadedIOManager.createChannel();
+				channelIDs.add(channelID);
+				writers.add(multiThreadedIOManager.createBlockChannelWriter(channelID));
+			}
+
+			// interleave the channels, every channel has all segments in flight at once
+			for (int c = 0; c < numChannels; c++) {
+				final BlockChannelWriter<MemorySegment> writer = writers.get(c);
+				for (int i = 0; i < numBlocks; i++) {
+					final MemorySegment memSeg = i < numSegments ? memSegs.get(i) : writer.getNextReturnedBlock();
+					for (int pos = 0; pos < memSeg.size(); pos += 8) {
+						memSeg.putInt(pos, c);
+						memSeg.putInt(pos + 4, i);
+					}
+					writer.writeBlock(memSeg);
+				}
+				writer.close();
+				memSegs.clear();
+				while (memSegs.size() < numSegments) {
+					memSegs.add(writer.getNextReturnedBlock());
+				}
+			}
+
+			for (int c = 0; c < numChannels; c++) {
+				final BlockChannelReader<MemorySegment> reader =
+					multiThreadedIOManager.createBlockChannelReader(channelIDs.get(c));
+				int requested = 0;
+				for (; requested < numSegments; requested++) {
+					reader.readBlock(memSegs.get(requested));
+				}
+				memSegs.clear();
+				for (int i = 0; i < numBlocks; i++) {
+					final MemorySegment memSeg = reader.getNextReturnedBlock();
+					for (int pos = 0; pos < memSeg.size(); pos += 8) {
+						if (memSeg.getInt(pos) != c || memSeg.getInt(pos + 4) != i) {
+							fail("Read memory segment contains invalid data.");
+						}
+					}
+					if (requested < numBlocks) {
+						reader.readBlock(memSeg);
+						requested++;
+					} else {
+						memSegs.add(memSeg);
+					}
+				}
+				reader.closeAndDelete();
+			}
+		}
+	}
+
 	@Test
 	public void testExceptionInCallbackWrite() {
 		try {
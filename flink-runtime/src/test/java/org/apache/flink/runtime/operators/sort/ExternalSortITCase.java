@@ -35,6 +35,7 @@ import org.apache.flink.runtime.operators.testutils.TestData.TupleGenerator.KeyM
 import org.apache.flink.runtime.operators.testutils.TestData.TupleGenerator.ValueMode;
 import org.apache.flink.runtime.operators.testutils.types.IntPair;
 import org.apache.flink.runtime.operators.testutils.types.IntPairSerializer;
+import org.apache.flink.runtime.util.Hardware;
 import org.apache.flink.util.MutableObjectIterator;
 import org.apache.flink.util.TestLogger;
 import org.junit.After;
@@ -44,6 +45,9 @@ import org.junit.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.List;
+
 
 public class ExternalSortITCase extends TestLogger {
 	
@@ -409,4 +413,95 @@ public class ExternalSortITCase extends TestLogger {
 			Assert.fail(e.getMessage());
 		}
 	}
+
+	@Test
+	public void testParallelSpillingSortWithIntermediateMerge() throws Exception {
+		// enough pairs for more spilled runs than merged at once
+		final int pairs = 20000000;
+
+		final RandomIntPairGenerator generator = new RandomIntPairGenerator(12345678, pairs);
+
+		final TypeSerializerFactory<IntPair> serializerFactory = new IntPairSerializer.IntPairSerializerFactory();
+		final TypeComparator<IntPair> comparator = new TestData.IntPairComparator();
+
+		Sorter<IntPair> merger =
+			ExternalSorter.newBuilder(
+					this.memoryManager,
+					this.parentTask,
+					serializerFactory.getSerializer(),
+					comparator)
+				.maxNumFileHandles(4)
+				.enableSpilling(ioManager, 0.7f)
+				.memoryFraction((double) 64 / 78)
+				.sortBuffers(4)
+				.sortParallelism(4)
+				.objectReuse(true)
+				.build(generator);
+
+		MutableObjectIterator<IntPair> iterator = merger.getIterator();
+
+		int pairsRead = 1;
+		IntPair rec1 = new IntPair();
+		IntPair rec2 = new IntPair();
+
+		Assert.assertTrue((rec1 = iterator.next(rec1)) != null);
+		while ((rec2 = iterator.next(rec2)) != null) {
+			pairsRead++;
+			Assert.assertTrue(rec1.getKey() <= rec2.getKey());
+
+			IntPair tmp = rec1;
+			rec1 = rec2;
+			rec2 = tmp;
+		}
+		Assert.assertEquals("Not all pairs were read back in.", pairs, pairsRead);
+		merger.close();
+		testSuccess = true;
+	}
+
+	@Test
+	public void testConcurrentParallelSortsShareOneBoundedPool() throws Exception {
+		final int pairs = 2000000;
+		final int numSorters = Hardware.getNumberCPUCores() + 1;
+
+		final TypeSerializerFactory<IntPair> serializerFactory = new IntPairSerializer.IntPairSerializerFactory();
+		final TypeComparator<IntPair> comparator = new TestData.IntPairComparator();
+
+		final List<Sorter<IntPair>> sorters = new ArrayList<>();
+		for (int i = 0; i < numSorters; i++) {
+			sorters.add(ExternalSorter.newBuilder(
+					this.memoryManager,
+					this.parentTask,
+					serializerFactory.getSerializer(),
+					comparator)
+				.maxNumFileHandles(4)
+				.enableSpilling(ioManager, 0.7f)
+				.memoryFraction(0.9 / numSorters)
+				.sortBuffers(2)
+				.sortParallelism(4)
+				.objectReuse(true)
+				.build(new RandomIntPairGenerator(12345678 + i, pairs)));
+		}
+
+		for (Sorter<IntPair> sorter : sorters) {
+			MutableObjectIterator<IntPair> iterator = sorter.getIterator();
+			int pairsRead = 0;
+			int previousKey = Integer.MIN_VALUE;
+			IntPair rec = new IntPair();
+			while ((rec = iterator.next(rec)) != null) {
+				pairsRead++;
+				Assert.assertTrue(previousKey <= rec.getKey());
+				previousKey = rec.getKey();
+			}
+			Assert.assertEquals("Not all pairs were read back in.", pairs, pairsRead);
+		}
+
+		// the sorters together don't start more sorting threads than there are cores
+		Assert.assertEquals(Hardware.getNumberCPUCores(), SortingThread.getSharedSortPool().getParallelism());
+		Assert.assertTrue(SortingThread.getSharedSortPool().getPoolSize() <= Hardware.getNumberCPUCores());
+
+		for (Sorter<IntPair> sorter : sorters) {
+			sorter.close();
+		}
+		testSuccess = true;
+	}
 }
@@ -0,0 +1,212 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.operators.sort;
+
+import org.apache.flink.api.common.typeutils.TypeComparator;
+import org.apache.flink.api.java.tuple.Tuple2;
+import org.apache.flink.core.memory.MemorySegment;
+import org.apache.flink.runtime.memory.MemoryManager;
+import org.apache.flink.runtime.memory.MemoryManagerBuilder;
+import org.apache.flink.runtime.operators.testutils.DummyInvokable;
+import org.apache.flink.runtime.operators.testutils.RandomIntPairGenerator;
+import org.apache.flink.runtime.operators.testutils.TestData;
+import org.apache.flink.runtime.operators.testutils.TestData.TupleGenerator.KeyMode;
+import org.apache.flink.runtime.operators.testutils.TestData.TupleGenerator.ValueMode;
+import org.apache.flink.runtime.operators.testutils.types.IntPair;
+import org.apache.flink.runtime.operators.testutils.types.IntPairComparator;
+import org.apache.flink.runtime.operators.testutils.types.IntPairSerializer;
+import org.apache.flink.util.MutableObjectIterator;
+import org.apache.flink.util.TestLogger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link RadixSort}.
+ */
+public class RadixSortTest extends TestLogger {
+
+	private static final long SEED = 649180756312423613L;
+
+	private static final int VALUE_LENGTH = 20;
+
+	private static final int MEMORY_SIZE = 1024 * 1024 * 16;
+
+	private static final int MEMORY_PAGE_SIZE = 32 * 1024;
+
+	private MemoryManager memoryManager;
+
+	private ForkJoinPool pool;
+
+	@Before
+	public void beforeTest() {
+		this.memoryManager = MemoryManagerBuilder
+			.newBuilder()
+			.setMemorySize(MEMORY_SIZE)
+			.setPageSize(MEMORY_PAGE_SIZE)
+			.build();
+		this.pool = new ForkJoinPool(4);
+	}
+
+	@After
+	public void afterTest() {
+		pool.shutdownNow();
+		assertTrue("Memory Leak: Some memory has not been returned to the memory manager.",
+			memoryManager.verifyEmpty());
+		memoryManager.shutdown();
+	}
+
+	@Test
+	public void testSortNormalizedKeys() throws Exception {
+		testSortIntKeys(new RadixSort(), TestData.getIntStringTupleComparator(), Integer.MAX_VALUE, true);
+	}
+
+	@Test
+	public void testSortNormalizedKeysInParallel() throws Exception {
+		testSortIntKeys(new RadixSort(pool), TestData.getIntStringTupleComparator(), Integer.MAX_VALUE, true);
+	}
+
+	@Test
+	public void testSortFewDistinctKeysInParallel() throws Exception {
+		testSortIntKeys(new RadixSort(pool), TestData.getIntStringTupleComparator(), 100, true);
+	}
+
+	@Test
+	public void testSortInvertedNormalizedKeys() throws Exception {
+		@SuppressWarnings("unchecked")
+		TypeComparator<Tuple2<Integer, String>> descending = TestData.getIntStringTupleTypeInfo()
+			.createComparator(new int[]{0}, new boolean[]{false}, 0, null);
+		testSortIntKeys(new RadixSort(pool), descending, Integer.MAX_VALUE, false);
+	}
+
+	@Test
+	public void testFallbackForPrefixKeys() throws Exception {
+		final List<MemorySegment> memory = allocateMemory();
+		@SuppressWarnings("unchecked")
+		TypeComparator<Tuple2<Integer, String>> stringComparator = TestData.getIntStringTupleTypeInfo()
+			.createComparator(new int[]{1}, new boolean[]{true}, 0, null);
+		final NormalizedKeySorter<Tuple2<Integer, String>> sorter =
+			new NormalizedKeySorter<>(TestData.getIntStringTupleSerializer(), stringComparator, memory);
+		assertFalse(RadixSort.canRadixSort(sorter));
+
+		final int numRecords = fill(sorter, Integer.MAX_VALUE);
+		new RadixSort(pool).sort(sorter);
+
+		final MutableObjectIterator<Tuple2<Integer, String>> iterator = sorter.getIterator();
+		Tuple2<Integer, String> previous = iterator.next(new Tuple2<>());
+		Tuple2<Integer, String> current = new Tuple2<>();
+		int count = 1;
+		while ((current = iterator.next(current)) != null) {
+			assertTrue(previous.f1.compareTo(current.f1) <= 0);
+			previous.f1 = current.f1;
+			count++;
+		}
+		assertEquals(numRecords, count);
+
+		sorter.dispose();
+		memoryManager.release(memory);
+	}
+
+	@Test
+	public void testSortFixedLengthRecordsInParallel() throws Exception {
+		final List<MemorySegment> memory = allocateMemory();
+		final FixedLengthRecordSorter<IntPair> sorter =
+			new FixedLengthRecordSorter<>(new IntPairSerializer(), new IntPairComparator(), memory);
+		assertTrue(RadixSort.canRadixSort(sorter));
+
+		final RandomIntPairGenerator generator = new RandomIntPairGenerator(SEED);
+		final IntPair record = new IntPair();
+		int numRecords = 0;
+		while (generator.next(record) != null && sorter.write(record)) {
+			numRecords++;
+		}
+		assertTrue(numRecords > RadixSort.MIN_PARALLEL_RANGE);
+
+		new RadixSort(pool).sort(sorter);
+
+		final MutableObjectIterator<IntPair> iterator = sorter.getIterator();
+		IntPair current = iterator.next(new IntPair());
+		int last = current.getKey();
+		int count = 1;
+		while ((current = iterator.next(current)) != null) {
+			assertTrue(last <= current.getKey());
+			last = current.getKey();
+			count++;
+		}
+		assertEquals(numRecords, count);
+
+		sorter.dispose();
+		memoryManager.release(memory);
+	}
+
+	// ------------------------------------------------------------------------
+
+	private void testSortIntKeys(
+			RadixSort radixSort,
+			TypeComparator<Tuple2<Integer, String>> comparator,
+			int maxKey,
+			boolean ascending) throws Exception {
+		final List<MemorySegment> memory = allocateMemory();
+		final NormalizedKeySorter<Tuple2<Integer, String>> sorter =
+			new NormalizedKeySorter<>(TestData.getIntStringTupleSerializer(), comparator, memory);
+		assertTrue(RadixSort.canRadixSort(sorter));
+
+		final int numRecords = fill(sorter, maxKey);
+		assertTrue(numRecords > RadixSort.MIN_PARALLEL_RANGE);
+
+		radixSort.sort(sorter);
+
+		final MutableObjectIterator<Tuple2<Integer, String>> iterator = sorter.getIterator();
+		Tuple2<Integer, String> current = iterator.next(new Tuple2<>());
+		int last = current.f0;
+		int count = 1;
+		while ((current = iterator.next(current)) != null) {
+			assertTrue("Keys are not sorted.", ascending ? last <= current.f0 : last >= current.f0);
+			last = current.f0;
+			count++;
+		}
+		assertEquals(numRecords, count);
+
+		sorter.dispose();
+		memoryManager.release(memory);
+	}
+
+	private int fill(NormalizedKeySorter<Tuple2<Integer, String>> sorter, int maxKey) throws Exception {
+		final TestData.TupleGenerator generator =
+			new TestData.TupleGenerator(SEED, maxKey, VALUE_LENGTH, KeyMode.RANDOM, ValueMode.RANDOM_LENGTH);
+		final Tuple2<Integer, String> record = new Tuple2<>();
+		int numRecords = 0;
+		while (sorter.write(generator.next(record))) {
+			numRecords++;
+		}
+		return numRecords;
+	}
+
+	private List<MemorySegment> allocateMemory() throws Exception {
+		return memoryManager.allocatePages(new DummyInvokable(), MEMORY_SIZE / MEMORY_PAGE_SIZE);
+	}
+}
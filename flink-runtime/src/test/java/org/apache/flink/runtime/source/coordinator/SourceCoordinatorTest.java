@@ -18,6 +18,7 @@
 
 package org.apache.flink.runtime.source.coordinator;
 
+import org.apache.flink.api.common.eventtime.WatermarkAlignmentParams;
 import org.apache.flink.api.connector.source.Boundedness;
 import org.apache.flink.api.connector.source.Source;
 import org.apache.flink.api.connector.source.SourceEvent;
@@ -25,6 +26,7 @@ import org.apache.flink.api.connector.source.SourceReader;
 import org.apache.flink.api.connector.source.SourceReaderContext;
 import org.apache.flink.api.connector.source.SplitEnumerator;
 import org.apache.flink.api.connector.source.SplitEnumeratorContext;
+import org.apache.flink.api.connector.source.mocks.MockSource;
 import org.apache.flink.api.connector.source.mocks.MockSourceSplit;
 import org.apache.flink.api.connector.source.mocks.MockSourceSplitSerializer;
 import org.apache.flink.api.connector.source.mocks.MockSplitEnumerator;
@@ -38,7 +40,9 @@ import org.apache.flink.runtime.operators.coordination.OperatorCoordinator;
 import org.apache.flink.runtime.operators.coordination.OperatorEvent;
 import org.apache.flink.runtime.source.event.AddSplitEvent;
 import org.apache.flink.runtime.source.event.ReaderRegistrationEvent;
+import org.apache.flink.runtime.source.event.ReportedWatermarkEvent;
 import org.apache.flink.runtime.source.event.SourceEventWrapper;
+import org.apache.flink.runtime.source.event.WatermarkAlignmentEvent;
 
 import org.junit.Test;
 
@@ -134,6 +138,39 @@ public class SourceCoordinatorTest extends SourceCoordinatorTestBase {
 		});
 	}
 
+	@Test
+	public void testWatermarkAlignment() throws Exception {
+		final SourceCoordinator<MockSourceSplit, Set<MockSourceSplit>> coordinator = new SourceCoordinator<>(
+				OPERATOR_NAME,
+				coordinatorExecutor,
+				new MockSource(Boundedness.CONTINUOUS_UNBOUNDED, NUM_SUBTASKS * 2),
+				context,
+				new WatermarkAlignmentParams(100L, 10L));
+		coordinator.start();
+		coordinator.handleEventFromOperator(0, new ReaderRegistrationEvent(0, "location_0"));
+		coordinator.handleEventFromOperator(1, new ReaderRegistrationEvent(1, "location_1"));
+
+		// a reader without active splits does not hold back the others
+		coordinator.handleEventFromOperator(0, new ReportedWatermarkEvent(1000L));
+		coordinator.handleEventFromOperator(1, new ReportedWatermarkEvent(Long.MAX_VALUE));
+		check(() -> assertEquals(1100L, coordinator.getMaxAllowedWatermark()));
+
+		coordinator.handleEventFromOperator(1, new ReportedWatermarkEvent(900L));
+		check(() -> {
+			assertEquals(1000L, coordinator.getMaxAllowedWatermark());
+			for (int subtask = 0; subtask < 2; subtask++) {
+				List<OperatorEvent> events = operatorCoordinatorContext.getEventsToOperatorBySubtaskId(subtask);
+				assertEquals(new WatermarkAlignmentEvent(1000L), events.get(events.size() - 1));
+			}
+		});
+
+		// the watermark of a failed reader is not considered anymore
+		coordinator.subtaskFailed(1, null);
+		coordinator.handleEventFromOperator(0, new ReportedWatermarkEvent(1200L));
+		check(() -> assertEquals(1300L, coordinator.getMaxAllowedWatermark()));
+		coordinator.close();
+	}
+
 	@Test
 	public void testCheckpointCoordinatorAndRestore() throws Exception {
 		sourceCoordinator.start();
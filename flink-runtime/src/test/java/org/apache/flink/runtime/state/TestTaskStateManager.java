@@ -39,6 +39,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.OptionalLong;
 
 /**
  * Implementation of {@link TaskStateManager} for tests.
@@ -168,6 +169,13 @@ public class TestTaskStateManager implements TaskStateManager {
 		return SequentialChannelStateReader.NO_OP;
 	}
 
+	@Override
+	public OptionalLong getRestoreCheckpointId() {
+		return getLastJobManagerTaskStateSnapshot() == null ?
+			OptionalLong.empty() :
+			OptionalLong.of(reportedCheckpointId);
+	}
+
 	public void setLocalRecoveryConfig(LocalRecoveryConfig recoveryDirectoryProvider) {
 		this.localRecoveryDirectoryProvider = recoveryDirectoryProvider;
 	}
@@ -60,8 +60,7 @@ abstract class AbstractRocksDBAppendingState <K, N, IN, SV, OUT>
 			if (valueBytes == null) {
 				return null;
 			}
-			dataInputView.setBuffer(valueBytes);
-			return valueSerializer.deserialize(dataInputView);
+			return deserializeValue(dataInputView, valueBytes, 0, valueSerializer);
 		} catch (IOException | RocksDBException e) {
 			throw new FlinkRuntimeException("Error while retrieving data from RocksDB", e);
 		}
@@ -18,6 +18,7 @@
 package org.apache.flink.contrib.streaming.state;
 
 import org.apache.flink.api.common.state.State;
+import org.apache.flink.api.common.typeutils.ByteArrayViewDeserializer;
 import org.apache.flink.api.common.typeutils.TypeSerializer;
 import org.apache.flink.api.java.tuple.Tuple2;
 import org.apache.flink.core.memory.DataInputDeserializer;
@@ -154,6 +155,24 @@ public abstract class AbstractRocksDBState<K, N, V> implements InternalKvState<K
 		);
 	}
 
+	/**
+	 * Deserializes a value from the given bytes, starting at the given offset. Serializers of binary
+	 * formats read the value as a view over the bytes, so the bytes must not be reused afterwards.
+	 */
+	@SuppressWarnings("unchecked")
+	static <T> T deserializeValue(
+		DataInputDeserializer dataInputView,
+		byte[] bytes,
+		int offset,
+		TypeSerializer<T> serializer) throws IOException {
+
+		if (serializer instanceof ByteArrayViewDeserializer) {
+			return ((ByteArrayViewDeserializer<T>) serializer).deserializeView(bytes, offset, bytes.length - offset);
+		}
+		dataInputView.setBuffer(bytes, offset, bytes.length - offset);
+		return serializer.deserialize(dataInputView);
+	}
+
 	private <T> byte[] serializeValueInternal(T value, TypeSerializer<T> serializer) throws IOException {
 		serializer.serialize(value, dataOutputView);
 		return dataOutputView.getCopyOfBuffer();
@@ -346,7 +346,7 @@ class RocksDBMapState<K, N, UK, UV>
 
 		boolean isNull = dataInputView.readBoolean();
 
-		return isNull ? null : valueSerializer.deserialize(dataInputView);
+		return isNull ? null : deserializeValue(dataInputView, rawValueBytes, 1, valueSerializer);
 	}
 
 	private boolean startWithKeyPrefix(byte[] keyPrefixBytes, byte[] rawKeyBytes) {
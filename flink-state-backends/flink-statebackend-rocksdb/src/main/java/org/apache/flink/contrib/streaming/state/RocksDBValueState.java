@@ -86,8 +86,7 @@ class RocksDBValueState<K, N, V>
 			if (valueBytes == null) {
 				return getDefaultValue();
 			}
-			dataInputView.setBuffer(valueBytes);
-			return valueSerializer.deserialize(dataInputView);
+			return deserializeValue(dataInputView, valueBytes, 0, valueSerializer);
 		} catch (IOException | RocksDBException e) {
 			throw new FlinkRuntimeException("Error while retrieving data from RocksDB.", e);
 		}
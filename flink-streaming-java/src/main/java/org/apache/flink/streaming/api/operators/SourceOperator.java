@@ -19,6 +19,7 @@ package org.apache.flink.streaming.api.operators;
 
 import org.apache.flink.annotation.Internal;
 import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.api.common.eventtime.WatermarkAlignmentParams;
 import org.apache.flink.api.common.eventtime.WatermarkStrategy;
 import org.apache.flink.api.common.state.ListState;
 import org.apache.flink.api.common.state.ListStateDescriptor;
@@ -38,8 +39,10 @@ import org.apache.flink.runtime.operators.coordination.OperatorEventHandler;
 import org.apache.flink.runtime.source.event.AddSplitEvent;
 import org.apache.flink.runtime.source.event.NoMoreSplitsEvent;
 import org.apache.flink.runtime.source.event.ReaderRegistrationEvent;
+import org.apache.flink.runtime.source.event.ReportedWatermarkEvent;
 import org.apache.flink.runtime.source.event.RequestSplitEvent;
 import org.apache.flink.runtime.source.event.SourceEventWrapper;
+import org.apache.flink.runtime.source.event.WatermarkAlignmentEvent;
 import org.apache.flink.runtime.state.StateInitializationContext;
 import org.apache.flink.runtime.state.StateSnapshotContext;
 import org.apache.flink.streaming.api.operators.source.TimestampsAndWatermarks;
@@ -51,8 +54,13 @@ import org.apache.flink.util.FlinkRuntimeException;
 import org.apache.flink.util.function.FunctionWithException;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
 
 import static org.apache.flink.util.Preconditions.checkNotNull;
 
@@ -65,6 +73,10 @@ import static org.apache.flink.util.Preconditions.checkNotNull;
  * interface from the StreamOperator, but is in fact NOT serializable. The operator must only be instantiates
  * in the StreamTask from its factory.
  *
+ * <p>If the watermark strategy enables watermark alignment, the operator periodically reports the
+ * watermark of its splits to the coordinator and pauses the splits whose watermark is ahead of the
+ * maximum watermark announced by the coordinator, until the other readers have caught up.
+ *
  * @param <OUT> The output type of the operator.
  */
 @Internal
@@ -103,6 +115,9 @@ public class SourceOperator<OUT, SplitT extends SourceSplit>
 	 */
 	private final boolean emitProgressiveWatermarks;
 
+	/** The parameters of the watermark alignment among the source readers. */
+	private final WatermarkAlignmentParams alignmentParams;
+
 	// ---- lazily initialized fields (these fields are the "hot" fields) ----
 
 	/** The source reader that does most of the work. */
@@ -119,6 +134,18 @@ public class SourceOperator<OUT, SplitT extends SourceSplit>
 	 * but we currently need to instantiate this lazily, because the metric groups exist only later. */
 	private TimestampsAndWatermarks<OUT> eventTimeLogic;
 
+	/** The handle of the periodic watermark report to the coordinator, if watermarks are aligned. */
+	private ScheduledFuture<?> watermarkAlignmentHandle;
+
+	/** The maximum watermark the splits may advance to, as last announced by the coordinator. */
+	private long maxAllowedWatermark = Long.MAX_VALUE;
+
+	/** The splits which are currently paused because their watermark is ahead. */
+	private final Set<String> pausedSplits = new HashSet<>();
+
+	/** Whether the source reader supports pausing splits, the splits are only aligned if it does. */
+	private boolean splitPausingSupported = true;
+
 	public SourceOperator(
 			FunctionWithException<SourceReaderContext, SourceReader<OUT, SplitT>, Exception> readerFactory,
 			OperatorEventGateway operatorEventGateway,
@@ -137,6 +164,7 @@ public class SourceOperator<OUT, SplitT extends SourceSplit>
 		this.configuration = checkNotNull(configuration);
 		this.localHostname = checkNotNull(localHostname);
 		this.emitProgressiveWatermarks = emitProgressiveWatermarks;
+		this.alignmentParams = watermarkStrategy.getAlignmentParameters();
 	}
 
 	/**
@@ -227,10 +255,18 @@ public class SourceOperator<OUT, SplitT extends SourceSplit>
 		sourceReader.start();
 
 		eventTimeLogic.startPeriodicWatermarkEmits();
+
+		if (emitProgressiveWatermarks && alignmentParams.isEnabled()) {
+			watermarkAlignmentHandle = getProcessingTimeService().scheduleWithFixedDelay(
+					this::emitLatestWatermark,
+					alignmentParams.getUpdateInterval(),
+					alignmentParams.getUpdateInterval());
+		}
 	}
 
 	@Override
 	public void close() throws Exception {
+		stopWatermarkAlignment();
 		if (sourceReader != null) {
 			sourceReader.close();
 		}
@@ -300,11 +336,69 @@ public class SourceOperator<OUT, SplitT extends SourceSplit>
 			sourceReader.handleSourceEvents(((SourceEventWrapper) event).getSourceEvent());
 		} else if (event instanceof NoMoreSplitsEvent) {
 			sourceReader.notifyNoMoreSplits();
+		} else if (event instanceof WatermarkAlignmentEvent) {
+			maxAllowedWatermark = ((WatermarkAlignmentEvent) event).getMaxWatermark();
+			checkSplitWatermarkAlignment();
 		} else {
 			throw new IllegalStateException("Received unexpected operator event " + event);
 		}
 	}
 
+	private void emitLatestWatermark(@SuppressWarnings("unused") long timestamp) {
+		// idle splits don't hold back the other readers, a reader without active splits reports
+		// Long.MAX_VALUE
+		long minWatermark = Long.MAX_VALUE;
+		for (long watermark : eventTimeLogic.getActiveSplitWatermarks().values()) {
+			minWatermark = Math.min(minWatermark, watermark);
+		}
+		operatorEventGateway.sendEventToCoordinator(new ReportedWatermarkEvent(minWatermark));
+		checkSplitWatermarkAlignment();
+	}
+
+	private void checkSplitWatermarkAlignment() {
+		if (watermarkAlignmentHandle == null || !splitPausingSupported) {
+			return;
+		}
+
+		final Map<String, Long> splitWatermarks = eventTimeLogic.getSplitWatermarks();
+		// splits which have been released while they were paused are gone from the reader as well
+		pausedSplits.retainAll(splitWatermarks.keySet());
+
+		final List<String> splitsToPause = new ArrayList<>();
+		final List<String> splitsToResume = new ArrayList<>();
+		for (Map.Entry<String, Long> splitWatermark : splitWatermarks.entrySet()) {
+			final String splitId = splitWatermark.getKey();
+			final boolean ahead = splitWatermark.getValue() > maxAllowedWatermark;
+			if (ahead && !pausedSplits.contains(splitId)) {
+				splitsToPause.add(splitId);
+			} else if (!ahead && pausedSplits.contains(splitId)) {
+				splitsToResume.add(splitId);
+			}
+		}
+		if (splitsToPause.isEmpty() && splitsToResume.isEmpty()) {
+			return;
+		}
+
+		try {
+			sourceReader.pauseOrResumeSplits(splitsToPause, splitsToResume);
+		} catch (UnsupportedOperationException e) {
+			// the reader keeps reporting its watermark, so it still holds back the other readers
+			LOG.warn("The source reader {} does not support pausing splits, the watermarks of its splits are not aligned.",
+					sourceReader.getClass().getName());
+			splitPausingSupported = false;
+			return;
+		}
+		pausedSplits.addAll(splitsToPause);
+		pausedSplits.removeAll(splitsToResume);
+	}
+
+	private void stopWatermarkAlignment() {
+		if (watermarkAlignmentHandle != null) {
+			watermarkAlignmentHandle.cancel(false);
+			watermarkAlignmentHandle = null;
+		}
+	}
+
 	private void registerReader() {
 		operatorEventGateway.sendEventToCoordinator(new ReaderRegistrationEvent(
 				getRuntimeContext().getIndexOfThisSubtask(), localHostname));
@@ -321,4 +415,9 @@ public class SourceOperator<OUT, SplitT extends SourceSplit>
 	ListState<SplitT> getReaderState() {
 		return readerState;
 	}
+
+	@VisibleForTesting
+	Set<String> getPausedSplits() {
+		return pausedSplits;
+	}
 }
@@ -114,7 +114,12 @@ public class SourceOperatorFactory<OUT> extends AbstractStreamOperatorFactory<OU
 
 	@Override
 	public OperatorCoordinator.Provider getCoordinatorProvider(String operatorName, OperatorID operatorID) {
-		return new SourceCoordinatorProvider<>(operatorName, operatorID, source, numCoordinatorWorkerThread);
+		return new SourceCoordinatorProvider<>(
+				operatorName,
+				operatorID,
+				source,
+				numCoordinatorWorkerThread,
+				watermarkStrategy.getAlignmentParameters());
 	}
 
 	@SuppressWarnings("rawtypes")
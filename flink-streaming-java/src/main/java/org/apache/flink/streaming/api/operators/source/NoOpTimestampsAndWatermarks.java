@@ -27,6 +27,9 @@ import org.apache.flink.streaming.runtime.io.PushingAsyncDataInput;
 import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
 import org.apache.flink.streaming.runtime.tasks.ExceptionInChainedOperatorException;
 
+import java.util.Collections;
+import java.util.Map;
+
 import static org.apache.flink.util.Preconditions.checkNotNull;
 
 /**
@@ -64,6 +67,18 @@ public class NoOpTimestampsAndWatermarks<T> implements TimestampsAndWatermarks<T
 		// no periodic watermarks
 	}
 
+	@Override
+	public Map<String, Long> getSplitWatermarks() {
+		// no per-split watermarks
+		return Collections.emptyMap();
+	}
+
+	@Override
+	public Map<String, Long> getActiveSplitWatermarks() {
+		// no per-split watermarks
+		return Collections.emptyMap();
+	}
+
 	// ------------------------------------------------------------------------
 
 	/**
@@ -32,6 +32,8 @@ import org.apache.flink.streaming.runtime.tasks.ProcessingTimeService;
 import javax.annotation.Nullable;
 
 import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.concurrent.ScheduledFuture;
@@ -141,6 +143,20 @@ public class ProgressiveTimestampsAndWatermarks<T> implements TimestampsAndWater
 		}
 	}
 
+	@Override
+	public Map<String, Long> getSplitWatermarks() {
+		return currentPerSplitOutputs == null
+			? Collections.emptyMap()
+			: currentPerSplitOutputs.getSplitWatermarks(true);
+	}
+
+	@Override
+	public Map<String, Long> getActiveSplitWatermarks() {
+		return currentPerSplitOutputs == null
+			? Collections.emptyMap()
+			: currentPerSplitOutputs.getSplitWatermarks(false);
+	}
+
 	void triggerPeriodicEmit(@SuppressWarnings("unused") long wallClockTimestamp) {
 		if (currentPerSplitOutputs != null) {
 			currentPerSplitOutputs.emitPeriodicWatermark();
@@ -245,5 +261,15 @@ public class ProgressiveTimestampsAndWatermarks<T> implements TimestampsAndWater
 			}
 			watermarkMultiplexer.onPeriodicEmit();
 		}
+
+		Map<String, Long> getSplitWatermarks(boolean includeIdleSplits) {
+			final Map<String, Long> watermarks = new HashMap<>();
+			for (String splitId : localOutputs.keySet()) {
+				if (includeIdleSplits || !watermarkMultiplexer.isIdle(splitId)) {
+					watermarks.put(splitId, watermarkMultiplexer.getWatermark(splitId));
+				}
+			}
+			return watermarks;
+		}
 	}
 }
@@ -28,6 +28,7 @@ import org.apache.flink.streaming.runtime.io.PushingAsyncDataInput;
 import org.apache.flink.streaming.runtime.tasks.ProcessingTimeService;
 
 import java.time.Duration;
+import java.util.Map;
 
 /**
  * Basic interface for the timestamp extraction and watermark generation logic for the
@@ -63,6 +64,18 @@ public interface TimestampsAndWatermarks<T> {
 	 */
 	void stopPeriodicWatermarkEmits();
 
+	/**
+	 * Returns the latest watermark of each split which currently has a split-local output, by
+	 * split id. This includes the splits which are currently idle.
+	 */
+	Map<String, Long> getSplitWatermarks();
+
+	/**
+	 * Returns the watermarks of the splits which currently have a split-local output and are not
+	 * idle, by split id.
+	 */
+	Map<String, Long> getActiveSplitWatermarks();
+
 	// ------------------------------------------------------------------------
 	//  factories
 	// ------------------------------------------------------------------------
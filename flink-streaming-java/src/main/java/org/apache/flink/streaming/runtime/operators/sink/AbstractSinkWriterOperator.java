@@ -31,6 +31,7 @@ import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
 import org.apache.flink.streaming.runtime.tasks.ProcessingTimeService;
 
 import java.util.List;
+import java.util.OptionalLong;
 
 import static org.apache.flink.util.Preconditions.checkNotNull;
 
@@ -106,6 +107,8 @@ abstract class AbstractSinkWriterOperator<InputT, CommT> extends AbstractStreamO
 	protected Sink.InitContext createInitContext() {
 		return new InitContextImpl(
 				getRuntimeContext().getIndexOfThisSubtask(),
+				getRuntimeContext().getNumberOfParallelSubtasks(),
+				getContainingTask().getEnvironment().getTaskStateManager().getRestoreCheckpointId(),
 				processingTimeService,
 				getMetricGroup());
 	}
@@ -145,15 +148,23 @@ abstract class AbstractSinkWriterOperator<InputT, CommT> extends AbstractStreamO
 
 		private final int subtaskIdx;
 
+		private final int numberOfParallelSubtasks;
+
+		private final OptionalLong restoredCheckpointId;
+
 		private final ProcessingTimeService processingTimeService;
 
 		private final MetricGroup metricGroup;
 
 		public InitContextImpl(
 				int subtaskIdx,
+				int numberOfParallelSubtasks,
+				OptionalLong restoredCheckpointId,
 				ProcessingTimeService processingTimeService,
 				MetricGroup metricGroup) {
 			this.subtaskIdx = subtaskIdx;
+			this.numberOfParallelSubtasks = numberOfParallelSubtasks;
+			this.restoredCheckpointId = checkNotNull(restoredCheckpointId);
 			this.processingTimeService = checkNotNull(processingTimeService);
 			this.metricGroup = checkNotNull(metricGroup);
 		}
@@ -168,6 +179,16 @@ abstract class AbstractSinkWriterOperator<InputT, CommT> extends AbstractStreamO
 			return subtaskIdx;
 		}
 
+		@Override
+		public int getNumberOfParallelSubtasks() {
+			return numberOfParallelSubtasks;
+		}
+
+		@Override
+		public OptionalLong getRestoredCheckpointId() {
+			return restoredCheckpointId;
+		}
+
 		@Override
 		public MetricGroup metricGroup() {
 			return metricGroup;
@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.streaming.api.operators.source;
+
+import org.apache.flink.api.common.eventtime.WatermarkStrategy;
+import org.apache.flink.api.common.state.OperatorStateStore;
+import org.apache.flink.api.connector.source.ReaderOutput;
+import org.apache.flink.api.connector.source.SourceReader;
+import org.apache.flink.api.connector.source.mocks.MockSourceSplit;
+import org.apache.flink.core.fs.CloseableRegistry;
+import org.apache.flink.core.io.InputStatus;
+import org.apache.flink.runtime.operators.coordination.MockOperatorEventGateway;
+import org.apache.flink.runtime.operators.coordination.OperatorEvent;
+import org.apache.flink.runtime.operators.testutils.MockEnvironmentBuilder;
+import org.apache.flink.runtime.source.event.ReportedWatermarkEvent;
+import org.apache.flink.runtime.source.event.WatermarkAlignmentEvent;
+import org.apache.flink.runtime.state.StateInitializationContextImpl;
+import org.apache.flink.runtime.state.memory.MemoryStateBackend;
+import org.apache.flink.streaming.api.operators.SourceOperator;
+import org.apache.flink.streaming.runtime.tasks.TestProcessingTimeService;
+
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that the {@link SourceOperator} pauses and resumes splits according to the watermark
+ * alignment announced by the coordinator.
+ */
+public class SourceOperatorWatermarkAlignmentTest {
+
+	@Test
+	public void testPausesAndResumesSplitsAheadOfMaxWatermark() throws Exception {
+		final PausingSourceReader reader = new PausingSourceReader();
+		final MockOperatorEventGateway eventGateway = new MockOperatorEventGateway();
+		final TestProcessingTimeService timeService = new TestProcessingTimeService();
+		final SourceOperator<Integer, MockSourceSplit> operator = createTestOperator(reader, eventGateway, timeService);
+
+		operator.emitNext(new CollectingDataOutput<>());
+
+		// split B is ahead of the maximum watermark
+		operator.handleOperatorEvent(new WatermarkAlignmentEvent(200L));
+		assertEquals(Collections.singleton("B"), reader.pausedSplits);
+
+		// the reader reports the minimum watermark of its splits
+		timeService.setCurrentTime(10L);
+		assertEquals(new ReportedWatermarkEvent(100L), lastEvent(eventGateway));
+
+		operator.handleOperatorEvent(new WatermarkAlignmentEvent(400L));
+		assertTrue(reader.pausedSplits.isEmpty());
+		operator.close();
+	}
+
+	@Test
+	public void testReaderWithoutSplitsDoesNotHoldBackOthers() throws Exception {
+		final MockOperatorEventGateway eventGateway = new MockOperatorEventGateway();
+		final TestProcessingTimeService timeService = new TestProcessingTimeService();
+		final SourceOperator<Integer, MockSourceSplit> operator =
+				createTestOperator(new PausingSourceReader(), eventGateway, timeService);
+
+		timeService.setCurrentTime(10L);
+		assertEquals(new ReportedWatermarkEvent(Long.MAX_VALUE), lastEvent(eventGateway));
+		operator.close();
+	}
+
+	// ------------------------------------------------------------------------
+	//   test setup helpers
+	// ------------------------------------------------------------------------
+
+	private static SourceOperator<Integer, MockSourceSplit> createTestOperator(
+			SourceReader<Integer, MockSourceSplit> reader,
+			MockOperatorEventGateway eventGateway,
+			TestProcessingTimeService timeService) throws Exception {
+
+		timeService.setCurrentTime(0L);
+
+		final WatermarkStrategy<Integer> watermarkStrategy = WatermarkStrategy
+				.<Integer>forGenerator((ctx) -> new OnEventTestWatermarkGenerator<>())
+				.withWatermarkAlignment(Duration.ofMillis(100L), Duration.ofMillis(10L));
+
+		final OperatorStateStore operatorStateStore =
+				new MemoryStateBackend().createOperatorStateBackend(
+						new MockEnvironmentBuilder().build(),
+						"test-operator",
+						Collections.emptyList(),
+						new CloseableRegistry());
+
+		final SourceOperator<Integer, MockSourceSplit> sourceOperator = new TestingSourceOperator<>(
+				reader, watermarkStrategy, timeService, eventGateway, 1, 5, true);
+		sourceOperator.initializeState(new StateInitializationContextImpl(
+				false, operatorStateStore, null, null, null));
+		sourceOperator.open();
+		return sourceOperator;
+	}
+
+	private static OperatorEvent lastEvent(MockOperatorEventGateway eventGateway) {
+		final List<OperatorEvent> events = eventGateway.getEventsSent();
+		return events.get(events.size() - 1);
+	}
+
+	// ------------------------------------------------------------------------
+	//   test mocks
+	// ------------------------------------------------------------------------
+
+	/**
+	 * A reader which emits one record for split A and one further ahead for split B and keeps
+	 * track of the paused splits.
+	 */
+	private static final class PausingSourceReader implements SourceReader<Integer, MockSourceSplit> {
+
+		private final Set<String> pausedSplits = new HashSet<>();
+
+		@Override
+		public void start() {}
+
+		@Override
+		public InputStatus pollNext(ReaderOutput<Integer> output) {
+			output.createOutputForSplit("A").collect(0, 100L);
+			output.createOutputForSplit("B").collect(0, 300L);
+			return InputStatus.NOTHING_AVAILABLE;
+		}
+
+		@Override
+		public List<MockSourceSplit> snapshotState(long checkpointId) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public CompletableFuture<Void> isAvailable() {
+			return new CompletableFuture<>();
+		}
+
+		@Override
+		public void addSplits(List<MockSourceSplit> splits) {}
+
+		@Override
+		public void notifyNoMoreSplits() {}
+
+		@Override
+		public void pauseOrResumeSplits(Collection<String> splitsToPause, Collection<String> splitsToResume) {
+			pausedSplits.addAll(splitsToPause);
+			pausedSplits.removeAll(splitsToResume);
+		}
+
+		@Override
+		public void close() {}
+	}
+}
@@ -238,6 +238,63 @@ public class ExecutionConfigOptions {
 			.defaultValue(Duration.ofMinutes(3))
 			.withDescription("The async timeout for the asynchronous operation to complete.");
 
+	// ------------------------------------------------------------------------
+	//  Lookup Cache Options
+	// ------------------------------------------------------------------------
+	@Documentation.TableOption(execMode = Documentation.ExecMode.BATCH_STREAMING)
+	public static final ConfigOption<LookupCacheMode> TABLE_EXEC_LOOKUP_CACHE =
+		key("table.exec.lookup.cache")
+			.enumType(LookupCacheMode.class)
+			.defaultValue(LookupCacheMode.NONE)
+			.withDescription("The cache used by lookup joins in front of the lookup functions of " +
+				"dynamic table sources. 'NONE' (default) calls the lookup function for every " +
+				"probe record. 'PARTIAL' caches the results of the lookup function per lookup key, " +
+				"see 'table.exec.lookup.partial-cache.*'. 'FULL' loads the whole table through " +
+				"the scan runtime provider of the source and reloads it in the background every " +
+				"'table.exec.lookup.full-cache.reload-interval'; this requires a synchronous lookup " +
+				"function and a source which can be scanned with an InputFormat.");
+
+	@Documentation.TableOption(execMode = Documentation.ExecMode.BATCH_STREAMING)
+	public static final ConfigOption<Long> TABLE_EXEC_LOOKUP_PARTIAL_CACHE_MAX_ROWS =
+		key("table.exec.lookup.partial-cache.max-rows")
+			.longType()
+			.defaultValue(10000L)
+			.withDescription("The max number of lookup keys kept in the partial lookup cache. " +
+				"The least recently used entries are evicted first.");
+
+	@Documentation.TableOption(execMode = Documentation.ExecMode.BATCH_STREAMING)
+	public static final ConfigOption<Duration> TABLE_EXEC_LOOKUP_PARTIAL_CACHE_EXPIRE_AFTER_WRITE =
+		key("table.exec.lookup.partial-cache.expire-after-write")
+			.durationType()
+			.noDefaultValue()
+			.withDescription("The duration after which an entry of the partial lookup cache " +
+				"expires once it has been loaded. By default entries do not expire.");
+
+	@Documentation.TableOption(execMode = Documentation.ExecMode.BATCH_STREAMING)
+	public static final ConfigOption<Duration> TABLE_EXEC_LOOKUP_PARTIAL_CACHE_EXPIRE_AFTER_ACCESS =
+		key("table.exec.lookup.partial-cache.expire-after-access")
+			.durationType()
+			.noDefaultValue()
+			.withDescription("The duration after which an entry of the partial lookup cache " +
+				"expires once it has been last accessed. By default entries do not expire.");
+
+	@Documentation.TableOption(execMode = Documentation.ExecMode.BATCH_STREAMING)
+	public static final ConfigOption<Boolean> TABLE_EXEC_LOOKUP_PARTIAL_CACHE_CACHE_MISSING_KEY =
+		key("table.exec.lookup.partial-cache.cache-missing-key")
+			.booleanType()
+			.defaultValue(true)
+			.withDescription("Whether lookup keys without any matching row are cached as well " +
+				"by the partial lookup cache.");
+
+	@Documentation.TableOption(execMode = Documentation.ExecMode.BATCH_STREAMING)
+	public static final ConfigOption<Duration> TABLE_EXEC_LOOKUP_FULL_CACHE_RELOAD_INTERVAL =
+		key("table.exec.lookup.full-cache.reload-interval")
+			.durationType()
+			.defaultValue(Duration.ofHours(1))
+			.withDescription("The interval in which the full lookup cache is reloaded in the " +
+				"background. Lookups are served from the previous snapshot until the new one " +
+				"has been loaded completely.");
+
 	// ------------------------------------------------------------------------
 	//  MiniBatch Options
 	// ------------------------------------------------------------------------
@@ -335,4 +392,22 @@ public class ExecutionConfigOptions {
 		 */
 		DROP
 	}
+
+	/**
+	 * The cache used by lookup joins in front of the lookup function.
+	 */
+	public enum LookupCacheMode {
+		/**
+		 * Calls the lookup function for every probe record.
+		 */
+		NONE,
+		/**
+		 * Caches the results of the lookup function per lookup key.
+		 */
+		PARTIAL,
+		/**
+		 * Loads the whole table into the cache and reloads it periodically.
+		 */
+		FULL
+	}
 }
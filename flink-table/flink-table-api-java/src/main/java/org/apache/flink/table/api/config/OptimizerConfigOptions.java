@@ -106,4 +106,12 @@ public class OptimizerConfigOptions {
 			.defaultValue(true)
 			.withDescription("When it is true, the optimizer will merge the operators with pipelined shuffling " +
 					"into a multiple input operator to reduce shuffling and improve performance. Default value is true.");
+
+	@Documentation.TableOption(execMode = Documentation.ExecMode.BATCH)
+	public static final ConfigOption<Boolean> TABLE_OPTIMIZER_OPERATOR_FUSION_CODEGEN_ENABLED =
+		key("table.optimizer.operator-fusion-codegen-enabled")
+			.defaultValue(false)
+			.withDescription("When it is true, the optimizer will fuse a Calc into the hash aggregate consuming it " +
+					"and generate a single operator for both, so that the projected fields are handed over to the " +
+					"aggregation without an extra operator in between. Default value is false.");
 }
@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.planner.plan.processors;
+
+import org.apache.flink.table.api.TableException;
+import org.apache.flink.table.planner.plan.nodes.exec.AbstractExecNodeExactlyOnceVisitor;
+import org.apache.flink.table.planner.plan.nodes.exec.BatchExecNode;
+import org.apache.flink.table.planner.plan.nodes.exec.ExecNode;
+import org.apache.flink.table.planner.plan.nodes.physical.batch.BatchExecCalc;
+import org.apache.flink.table.planner.plan.nodes.physical.batch.BatchExecHashAggregateBase;
+import org.apache.flink.table.planner.plan.nodes.process.DAGProcessContext;
+import org.apache.flink.table.planner.plan.nodes.process.DAGProcessor;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@link DAGProcessor} which fuses a {@link BatchExecCalc} into the hash aggregate consuming it,
+ * so that a single operator is generated for both of them.
+ *
+ * <p>The fused operator evaluates the filter of the calc first and only projects and aggregates the
+ * records passing it. The projected fields are handed over to the aggregation in local variables
+ * instead of passing a record to another chained operator.
+ *
+ * <p>A calc is only fused if the aggregate is its only consumer, otherwise it would be evaluated
+ * once per consumer.
+ *
+ * <p>NOTE: This processor can be only applied on {@link BatchExecNode} DAG.
+ */
+public class OperatorFusionCodegenProcessor implements DAGProcessor {
+
+	@Override
+	public List<ExecNode<?, ?>> process(List<ExecNode<?, ?>> rootNodes, DAGProcessContext context) {
+		if (!rootNodes.stream().allMatch(r -> r instanceof BatchExecNode)) {
+			throw new TableException("Only BatchExecNode DAG is supported now");
+		}
+
+		Map<ExecNode<?, ?>, Integer> numConsumers = new IdentityHashMap<>();
+		List<BatchExecHashAggregateBase> aggregates = new ArrayList<>();
+		AbstractExecNodeExactlyOnceVisitor visitor = new AbstractExecNodeExactlyOnceVisitor() {
+			@Override
+			protected void visitNode(ExecNode<?, ?> node) {
+				for (ExecNode<?, ?> input : node.getInputNodes()) {
+					numConsumers.merge(input, 1, Integer::sum);
+				}
+				if (node instanceof BatchExecHashAggregateBase) {
+					aggregates.add((BatchExecHashAggregateBase) node);
+				}
+				visitInputs(node);
+			}
+		};
+		rootNodes.forEach(r -> r.accept(visitor));
+
+		for (BatchExecHashAggregateBase aggregate : aggregates) {
+			ExecNode<?, ?> input = aggregate.getInputNodes().get(0);
+			if (aggregate.canFuseInputCalc() &&
+					input instanceof BatchExecCalc &&
+					numConsumers.get(input) == 1) {
+				aggregate.fuseInputCalc((BatchExecCalc) input);
+			}
+		}
+		return rootNodes;
+	}
+}
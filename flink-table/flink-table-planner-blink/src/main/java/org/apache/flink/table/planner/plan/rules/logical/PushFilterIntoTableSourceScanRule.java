@@ -42,6 +42,7 @@ import org.apache.calcite.rel.core.Filter;
 import org.apache.calcite.rel.core.TableScan;
 import org.apache.calcite.rel.logical.LogicalTableScan;
 import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.rex.RexUtil;
 import org.apache.calcite.tools.RelBuilder;
 
 import java.util.Arrays;
@@ -163,7 +164,10 @@ public class PushFilterIntoTableSourceScanRule extends RelOptRule {
 				.map(e -> e.accept(converter))
 				.collect(Collectors.toList());
 			remainingConditions.addAll(Arrays.asList(unconvertedRexNodes));
-			RexNode remainingCondition = relBuilder.and(remainingConditions);
+			// the converted conditions may contain nested ANDs and ORs, e.g. from an IN,
+			// which a filter does not accept
+			RexNode remainingCondition = RexUtil.flatten(
+				relBuilder.getRexBuilder(), relBuilder.and(remainingConditions));
 			Filter newFilter = filter.copy(filter.getTraitSet(), newScan, remainingCondition);
 			call.transformTo(newFilter);
 		}
@@ -70,6 +70,39 @@ object CalcCodeGenerator {
     new CodeGenOperatorFactory(genOperator)
   }
 
+  /**
+    * Generates code which evaluates the given calc program on the input of an operator and hands
+    * the result over to the code of the consuming operator instead of emitting it. The code of the
+    * consumer reads the result of the calc from the given term and is only executed for the
+    * records which pass the filter.
+    */
+  private[flink] def generateFusedProcessCode(
+      ctx: CodeGeneratorContext,
+      inputType: RowType,
+      outputType: RowType,
+      calcProgram: RexProgram,
+      consumerInputTerm: String,
+      consumerCode: String): String = {
+    val condition = if (calcProgram.getCondition != null) {
+      Some(calcProgram.expandLocalRef(calcProgram.getCondition))
+    } else {
+      None
+    }
+    generateProcessCode(
+      ctx,
+      inputType,
+      outputType,
+      classOf[BoxedWrapperRowData],
+      calcProgram,
+      condition,
+      eagerInputUnboxingCode = true,
+      consumer = Some(resultTerm =>
+        s"""
+           |${CodeGenUtils.ROW_DATA} $consumerInputTerm = $resultTerm;
+           |$consumerCode
+           |""".stripMargin))
+  }
+
   private[flink] def generateFunction[T <: Function](
       inputType: RowType,
       name: String,
@@ -116,7 +149,8 @@ object CalcCodeGenerator {
       eagerInputUnboxingCode: Boolean,
       retainHeader: Boolean = false,
       outputDirectly: Boolean = false,
-      allowSplit: Boolean = false): String = {
+      allowSplit: Boolean = false,
+      consumer: Option[String => String] = None): String = {
 
     val projection = calcProgram.getProjectList.map(calcProgram.expandLocalRef)
 
@@ -133,10 +167,10 @@ object CalcCodeGenerator {
         rexNode.isInstanceOf[RexInputRef] && rexNode.asInstanceOf[RexInputRef].getIndex == index
       }
 
-    def produceOutputCode(resultTerm: String) = if (outputDirectly) {
-      s"$collectorTerm.collect($resultTerm);"
-    } else {
-      s"${OperatorCodeGenerator.generateCollect(resultTerm)}"
+    def produceOutputCode(resultTerm: String) = consumer match {
+      case Some(consume) => consume(resultTerm)
+      case None if outputDirectly => s"$collectorTerm.collect($resultTerm);"
+      case None => s"${OperatorCodeGenerator.generateCollect(resultTerm)}"
     }
 
     def produceProjectionCode = {
@@ -168,7 +202,7 @@ object CalcCodeGenerator {
     } else if (condition.isEmpty) { // only projection
       val projectionCode = produceProjectionCode
       s"""
-         |${if (eagerInputUnboxingCode) ctx.reuseInputUnboxingCode() else ""}
+         |${if (eagerInputUnboxingCode) ctx.reuseInputUnboxingCode(inputTerm) else ""}
          |$projectionCode
          |""".stripMargin
     } else {
@@ -176,21 +210,21 @@ object CalcCodeGenerator {
       // only filter
       if (onlyFilter) {
         s"""
-           |${if (eagerInputUnboxingCode) ctx.reuseInputUnboxingCode() else ""}
+           |${if (eagerInputUnboxingCode) ctx.reuseInputUnboxingCode(inputTerm) else ""}
            |${filterCondition.code}
            |if (${filterCondition.resultTerm}) {
            |  ${produceOutputCode(inputTerm)}
            |}
            |""".stripMargin
       } else { // both filter and projection
-        val filterInputCode = ctx.reuseInputUnboxingCode()
+        val filterInputCode = ctx.reuseInputUnboxingCode(inputTerm)
         val filterInputSet = Set(ctx.reusableInputUnboxingExprs.keySet.toSeq: _*)
 
         // if any filter conditions, projection code will enter an new scope
         val projectionCode = produceProjectionCode
 
         val projectionInputCode = ctx.reusableInputUnboxingExprs
-          .filter(entry => !filterInputSet.contains(entry._1))
+          .filter(entry => entry._1._1 == inputTerm && !filterInputSet.contains(entry._1))
           .values.map(_.code).mkString("\n")
         s"""
            |${if (eagerInputUnboxingCode) filterInputCode else ""}
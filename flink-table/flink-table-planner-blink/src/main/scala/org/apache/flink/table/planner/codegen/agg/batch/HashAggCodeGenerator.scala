@@ -18,13 +18,14 @@
 
 package org.apache.flink.table.planner.codegen.agg.batch
 
+import org.apache.calcite.rex.RexProgram
 import org.apache.calcite.tools.RelBuilder
 import org.apache.flink.streaming.api.operators.OneInputStreamOperator
 import org.apache.flink.table.data.binary.BinaryRowData
 import org.apache.flink.table.data.utils.JoinedRowData
 import org.apache.flink.table.data.{GenericRowData, RowData}
 import org.apache.flink.table.functions.AggregateFunction
-import org.apache.flink.table.planner.codegen.{CodeGenUtils, CodeGeneratorContext, ProjectionCodeGenerator}
+import org.apache.flink.table.planner.codegen.{CalcCodeGenerator, CodeGenUtils, CodeGeneratorContext, ProjectionCodeGenerator}
 import org.apache.flink.table.planner.functions.aggfunctions.DeclarativeAggregateFunction
 import org.apache.flink.table.planner.plan.utils.{AggregateInfo, AggregateInfoList}
 import org.apache.flink.table.runtime.generated.GeneratedOperator
@@ -64,8 +65,21 @@ class HashAggCodeGenerator(
   private lazy val groupKeyRowType = AggCodeGenHelper.projectRowType(inputType, grouping)
   private lazy val aggBufferRowType = RowType.of(aggBufferTypes.flatten, aggBufferNames.flatten)
 
-  def genWithKeys(): GeneratedOperator[OneInputStreamOperator[RowData, RowData]] = {
-    val inputTerm = CodeGenUtils.DEFAULT_INPUT1_TERM
+  /**
+    * Generates the hash aggregate operator.
+    *
+    * @param fusedCalc the input type and the program of a calc which produces the input of this
+    *                  aggregate. If it is given, the calc is evaluated by the generated operator
+    *                  itself and the operator consumes the input of the calc.
+    */
+  def genWithKeys(
+      fusedCalc: Option[(RowType, RexProgram)] = None)
+    : GeneratedOperator[OneInputStreamOperator[RowData, RowData]] = {
+    val inputTerm = if (fusedCalc.isDefined) {
+      CodeGenUtils.newName("calcOutput")
+    } else {
+      CodeGenUtils.DEFAULT_INPUT1_TERM
+    }
     val className = if (isFinal) "HashAggregateWithKeys" else "LocalHashAggregateWithKeys"
 
     // add logger
@@ -195,6 +209,14 @@ class HashAggCodeGenerator(
          |${aggregate.code}
          |""".stripMargin.trim
 
+    val (operatorInputType, fusedProcessCode) = fusedCalc match {
+      case Some((calcInputType, calcProgram)) =>
+        val code = CalcCodeGenerator.generateFusedProcessCode(
+          ctx, calcInputType, inputType, calcProgram, inputTerm, processCode)
+        (calcInputType, code)
+      case None => (inputType, processCode)
+    }
+
     val endInputCode = if (isFinal) {
       val memPoolTypeTerm = classOf[BytesHashMapSpillMemorySegmentPool].getName
       s"""
@@ -221,8 +243,8 @@ class HashAggCodeGenerator(
       ctx,
       className,
       classOf[TableStreamOperator[RowData]].getCanonicalName,
-      processCode,
+      fusedProcessCode,
       endInputCode,
-      inputType)
+      operatorInputType)
   }
 }
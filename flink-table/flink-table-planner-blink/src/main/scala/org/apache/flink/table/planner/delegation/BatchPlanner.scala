@@ -29,7 +29,7 @@ import org.apache.flink.table.planner.plan.`trait`.FlinkRelDistributionTraitDef
 import org.apache.flink.table.planner.plan.nodes.exec.{BatchExecNode, ExecNode}
 import org.apache.flink.table.planner.plan.nodes.process.{DAGProcessContext, DAGProcessor}
 import org.apache.flink.table.planner.plan.optimize.{BatchCommonSubGraphBasedOptimizer, Optimizer}
-import org.apache.flink.table.planner.plan.processors.{DeadlockBreakupProcessor, MultipleInputNodeCreationProcessor}
+import org.apache.flink.table.planner.plan.processors.{DeadlockBreakupProcessor, MultipleInputNodeCreationProcessor, OperatorFusionCodegenProcessor}
 import org.apache.flink.table.planner.plan.utils.{ExecNodePlanDumper, FlinkRelOptUtil}
 import org.apache.flink.table.planner.sinks.{BatchSelectTableSink, SelectTableSinkBase}
 import org.apache.flink.table.planner.utils.{DummyStreamExecutionEnvironment, ExecutorUtils, PlanUtil}
@@ -65,6 +65,11 @@ class BatchPlanner(
     val context = new DAGProcessContext(this)
 
     val processors = new util.ArrayList[DAGProcessor]()
+    // operator fusion, before the other processors work on the operators of the DAG
+    if (getTableConfig.getConfiguration.getBoolean(
+        OptimizerConfigOptions.TABLE_OPTIMIZER_OPERATOR_FUSION_CODEGEN_ENABLED)) {
+      processors.add(new OperatorFusionCodegenProcessor())
+    }
     // deadlock breakup
     processors.add(new DeadlockBreakupProcessor())
     // multiple input creation
@@ -69,6 +69,19 @@ abstract class CommonCalc(
         calcProgram.getCondition != null)
   }
 
+  /**
+    * Returns the projection and the filter of this calc, e.g. to describe it when it is fused
+    * into the node consuming it.
+    */
+  def programToString(): String = {
+    val condition = if (calcProgram.getCondition != null) {
+      s", where=[${conditionToString(calcProgram, getExpressionString)}]"
+    } else {
+      ""
+    }
+    s"select=[${projectionToString()}]$condition"
+  }
+
   protected def projectionToString(
       expressionFormat: ExpressionFormat = ExpressionFormat.Prefix): String = {
     val projectList = calcProgram.getProjectList.toList
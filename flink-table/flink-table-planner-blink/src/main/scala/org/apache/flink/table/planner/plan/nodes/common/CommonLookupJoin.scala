@@ -25,9 +25,10 @@ import org.apache.flink.streaming.api.environment.StreamExecutionEnvironment
 import org.apache.flink.streaming.api.operators.async.AsyncWaitOperatorFactory
 import org.apache.flink.streaming.api.operators.{ProcessOperator, SimpleOperatorFactory}
 import org.apache.flink.table.api.config.ExecutionConfigOptions
+import org.apache.flink.table.api.config.ExecutionConfigOptions.LookupCacheMode
 import org.apache.flink.table.api.{TableConfig, TableException, TableSchema}
 import org.apache.flink.table.catalog.ObjectIdentifier
-import org.apache.flink.table.connector.source.{AsyncTableFunctionProvider, LookupTableSource, TableFunctionProvider}
+import org.apache.flink.table.connector.source.{AsyncTableFunctionProvider, InputFormatProvider, LookupTableSource, ScanTableSource, TableFunctionProvider}
 import org.apache.flink.table.data.RowData
 import org.apache.flink.table.functions.{AsyncTableFunction, TableFunction, UserDefinedFunction}
 import org.apache.flink.table.planner.calcite.FlinkTypeFactory
@@ -41,8 +42,9 @@ import org.apache.flink.table.planner.plan.utils.LookupJoinUtil._
 import org.apache.flink.table.planner.plan.utils.PythonUtil.containsPythonCall
 import org.apache.flink.table.planner.plan.utils.RelExplainUtil.preferExpressionFormat
 import org.apache.flink.table.planner.plan.utils.{JoinTypeUtil, RelExplainUtil}
-import org.apache.flink.table.runtime.connector.source.LookupRuntimeProviderContext
+import org.apache.flink.table.runtime.connector.source.{LookupRuntimeProviderContext, ScanRuntimeProviderContext}
 import org.apache.flink.table.runtime.operators.join.lookup.{AsyncLookupJoinRunner, AsyncLookupJoinWithCalcRunner, LookupJoinRunner, LookupJoinWithCalcRunner}
+import org.apache.flink.table.runtime.operators.join.lookup.cache.{CachingAsyncLookupFunction, CachingLookupFunction, FullCachingLookupFunction}
 import org.apache.flink.table.runtime.types.ClassLogicalTypeConverter
 import org.apache.flink.table.runtime.types.LogicalTypeDataTypeConverter.{fromDataTypeToLogicalType, fromLogicalTypeToDataType}
 import org.apache.flink.table.runtime.types.PlannerTypeUtils.isInteroperable
@@ -312,7 +314,8 @@ abstract class CommonLookupJoin(
         producedTypeInfo,
         lookupKeyIndicesInOrder,
         allLookupKeys,
-        asyncLookupFunction)
+        withLookupCache(config, tableSourceRowType, lookupFieldTypesInOrder, producedTypeInfo,
+          asyncLookupFunction))
 
       val asyncFunc = if (calcOnTemporalTable.isDefined) {
         // a projection or filter after table source scan
@@ -384,7 +387,8 @@ abstract class CommonLookupJoin(
         producedTypeInfo,
         lookupKeyIndicesInOrder,
         allLookupKeys,
-        syncLookupFunction,
+        withLookupCache(config, tableSourceRowType, lookupFieldTypesInOrder, producedTypeInfo,
+          syncLookupFunction),
         env.getConfig.isObjectReuseEnabled)
 
       val ctx = CodeGeneratorContext(config)
@@ -437,6 +441,90 @@ abstract class CommonLookupJoin(
       inputTransformation.getParallelism)
   }
 
+  /**
+    * Wraps the lookup function of a [[TableSourceTable]] with the lookup cache configured by
+    * [[ExecutionConfigOptions.TABLE_EXEC_LOOKUP_CACHE]]. Functions of legacy table sources and
+    * functions producing external [[Row]]s are not cached.
+    */
+  private def withLookupCache[T <: UserDefinedFunction](
+      config: TableConfig,
+      tableSourceRowType: RowType,
+      lookupFieldTypesInOrder: Array[LogicalType],
+      producedTypeInfo: TypeInformation[_],
+      function: T): T = {
+    val conf = config.getConfiguration
+    val cacheMode = conf.get(ExecutionConfigOptions.TABLE_EXEC_LOOKUP_CACHE)
+    if (cacheMode == LookupCacheMode.NONE ||
+        !temporalTable.isInstanceOf[TableSourceTable] ||
+        producedTypeInfo.isInstanceOf[RowTypeInfo]) {
+      return function
+    }
+
+    val keyType = RowType.of(lookupFieldTypesInOrder: _*)
+    val cachedFunction = cacheMode match {
+      case LookupCacheMode.PARTIAL =>
+        val maxRows = conf.get(ExecutionConfigOptions.TABLE_EXEC_LOOKUP_PARTIAL_CACHE_MAX_ROWS)
+        val expireAfterWrite = Option(
+          conf.get(ExecutionConfigOptions.TABLE_EXEC_LOOKUP_PARTIAL_CACHE_EXPIRE_AFTER_WRITE))
+          .map(_.toMillis).getOrElse(0L)
+        val expireAfterAccess = Option(
+          conf.get(ExecutionConfigOptions.TABLE_EXEC_LOOKUP_PARTIAL_CACHE_EXPIRE_AFTER_ACCESS))
+          .map(_.toMillis).getOrElse(0L)
+        val cacheMissingKey = conf.get(
+          ExecutionConfigOptions.TABLE_EXEC_LOOKUP_PARTIAL_CACHE_CACHE_MISSING_KEY)
+        function match {
+          case tf: TableFunction[_] =>
+            new CachingLookupFunction(
+              tf.asInstanceOf[TableFunction[RowData]],
+              tableSourceRowType,
+              keyType,
+              maxRows,
+              expireAfterWrite,
+              expireAfterAccess,
+              cacheMissingKey)
+          case atf: AsyncTableFunction[_] =>
+            new CachingAsyncLookupFunction(
+              atf.asInstanceOf[AsyncTableFunction[RowData]],
+              tableSourceRowType,
+              keyType,
+              maxRows,
+              expireAfterWrite,
+              expireAfterAccess,
+              cacheMissingKey)
+        }
+
+      case LookupCacheMode.FULL =>
+        if (function.isInstanceOf[AsyncTableFunction[_]]) {
+          throw new TableException(
+            s"The full lookup cache of table ${tableIdentifier.asSummaryString()} can only be " +
+              "used with a synchronous lookup function.")
+        }
+        val reloadInterval = conf.get(
+          ExecutionConfigOptions.TABLE_EXEC_LOOKUP_FULL_CACHE_RELOAD_INTERVAL).toMillis
+        val tableSource = temporalTable.asInstanceOf[TableSourceTable].tableSource
+        tableSource match {
+          case scan: ScanTableSource =>
+            scan.getScanRuntimeProvider(ScanRuntimeProviderContext.INSTANCE) match {
+              case provider: InputFormatProvider =>
+                new FullCachingLookupFunction(
+                  provider.createInputFormat(),
+                  tableSourceRowType,
+                  lookupKeyIndicesInOrder,
+                  reloadInterval)
+              case _ => throwFullCacheNotSupported()
+            }
+          case _ => throwFullCacheNotSupported()
+        }
+    }
+    cachedFunction.asInstanceOf[T]
+  }
+
+  private def throwFullCacheNotSupported(): Nothing = {
+    throw new TableException(
+      s"The full lookup cache requires table ${tableIdentifier.asSummaryString()} to be " +
+        "scannable through an InputFormat.")
+  }
+
   private def rowTypeEquals(expected: TypeInformation[_], actual: TypeInformation[_]): Boolean = {
     // check internal and external type, cause we will auto convert external class to internal
     // class (eg: Row => RowData).
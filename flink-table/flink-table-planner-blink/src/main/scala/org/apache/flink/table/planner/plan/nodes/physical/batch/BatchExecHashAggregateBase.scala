@@ -35,7 +35,7 @@ import org.apache.flink.table.runtime.operators.CodeGenOperatorFactory
 import org.apache.flink.table.runtime.typeutils.InternalTypeInfo
 
 import org.apache.calcite.plan.{RelOptCluster, RelOptCost, RelOptPlanner, RelTraitSet}
-import org.apache.calcite.rel.RelNode
+import org.apache.calcite.rel.{RelNode, RelWriter}
 import org.apache.calcite.rel.`type`.RelDataType
 import org.apache.calcite.rel.core.AggregateCall
 import org.apache.calcite.rel.metadata.RelMetadataQuery
@@ -78,6 +78,30 @@ abstract class BatchExecHashAggregateBase(
     isFinal)
   with BatchExecNode[RowData] {
 
+  // the calc which produced the input of this aggregate and is evaluated by its operator
+  private var fusedCalc: Option[BatchExecCalc] = None
+
+  /**
+    * Returns true if a calc producing the input of this aggregate can be fused into it.
+    */
+  def canFuseInputCalc: Boolean = !isMerge && grouping.nonEmpty && fusedCalc.isEmpty
+
+  /**
+    * Fuses the given calc, which is the input of this aggregate, into this aggregate. The input of
+    * the calc becomes the input of this aggregate and the generated operator evaluates the calc
+    * before aggregating its result.
+    */
+  def fuseInputCalc(calc: BatchExecCalc): Unit = {
+    require(canFuseInputCalc && (getInput eq calc))
+    replaceInput(0, calc.getInput)
+    fusedCalc = Some(calc)
+  }
+
+  override def explainTerms(pw: RelWriter): RelWriter = {
+    super.explainTerms(pw)
+      .itemIf("fusedCalc", fusedCalc.map(_.programToString()).orNull, fusedCalc.isDefined)
+  }
+
   override def computeSelfCost(planner: RelOptPlanner, mq: RelMetadataQuery): RelOptCost = {
     val numOfGroupKey = grouping.length
     val inputRowCnt = mq.getRowCount(getInput())
@@ -137,7 +161,8 @@ abstract class BatchExecHashAggregateBase(
         ExecutionConfigOptions.TABLE_EXEC_RESOURCE_HASH_AGG_MEMORY)).getBytes
       new HashAggCodeGenerator(
         ctx, relBuilder, aggInfos, inputType, outputType, grouping, auxGrouping, isMerge, isFinal
-      ).genWithKeys()
+      ).genWithKeys(fusedCalc.map(calc =>
+        (FlinkTypeFactory.toLogicalRowType(calc.getInput.getRowType), calc.getProgram)))
     }
     val operator = new CodeGenOperatorFactory[RowData](generatedOperator)
     ExecNode.createOneInputTransformation(
@@ -40,7 +40,7 @@ import org.apache.calcite.rel._
 import org.apache.calcite.rel.`type`.RelDataTypeField
 import org.apache.calcite.util.ImmutableBitSet
 
-import java.lang.{Long => JLong}
+import java.lang.{Boolean => JBoolean, Long => JLong}
 import java.util
 
 import scala.collection.JavaConversions._
@@ -185,23 +185,39 @@ class StreamExecRank(
       case RetractStrategy =>
         val equaliserCodeGen = new EqualiserCodeGenerator(inputRowTypeInfo.toRowFieldTypes)
         val generatedEqualiser = equaliserCodeGen.generateRecordEqualiser("RankValueEqualiser")
-        val comparator = new ComparableRecordComparator(
-          sortKeyComparator,
-          sortFields.indices.toArray,
-          sortKeyType.toRowFieldTypes,
-          sortDirections,
-          nullsIsLast)
-        new RetractableTopNFunction(
-          minIdleStateRetentionTime,
-          maxIdleStateRetentionTime,
-          inputRowTypeInfo,
-          comparator,
-          sortKeySelector,
-          rankType,
-          rankRange,
-          generatedEqualiser,
-          generateUpdateBefore,
-          outputRankNumber)
+        if (tableConfig.getConfiguration.getBoolean(
+            StreamExecRank.TABLE_EXEC_TOPN_RETRACT_CACHE_ENABLED)) {
+          new CachedRetractableTopNFunction(
+            minIdleStateRetentionTime,
+            maxIdleStateRetentionTime,
+            inputRowTypeInfo,
+            sortKeyComparator,
+            sortKeySelector,
+            rankType,
+            rankRange,
+            generatedEqualiser,
+            generateUpdateBefore,
+            outputRankNumber,
+            cacheSize)
+        } else {
+          val comparator = new ComparableRecordComparator(
+            sortKeyComparator,
+            sortFields.indices.toArray,
+            sortKeyType.toRowFieldTypes,
+            sortDirections,
+            nullsIsLast)
+          new RetractableTopNFunction(
+            minIdleStateRetentionTime,
+            maxIdleStateRetentionTime,
+            inputRowTypeInfo,
+            comparator,
+            sortKeySelector,
+            rankType,
+            rankRange,
+            generatedEqualiser,
+            generateUpdateBefore,
+            outputRankNumber)
+        }
     }
     val operator = new KeyedProcessOperator(processFunction)
     processFunction.setKeyContext(operator)
@@ -237,4 +253,15 @@ object StreamExecRank {
       .defaultValue(JLong.valueOf(10000L))
       .withDescription("TopN operator has a cache which caches partial state contents to reduce" +
           " state access. Cache size is the number of records in each TopN task.")
+
+  // It is a experimental config, will may be removed later.
+  @Experimental
+  val TABLE_EXEC_TOPN_RETRACT_CACHE_ENABLED: ConfigOption[JBoolean] =
+  key("table.exec.topn.retract-cache.enabled")
+      .defaultValue(JBoolean.valueOf(false))
+      .withDescription("When it is true, a TopN operator on an updating input caches the first" +
+          " records of each partition and only reads a partition from state when its cache runs" +
+          " out of records, instead of reading and writing the sorted keys of the partition on" +
+          " every record. The cache size is configured by " + TABLE_EXEC_TOPN_CACHE_SIZE.key() +
+          ". Note that the state of both implementations is not compatible.")
 }
@@ -177,23 +177,39 @@ class StreamExecSortLimit(
       case RetractStrategy =>
         val equaliserCodeGen = new EqualiserCodeGenerator(inputRowTypeInfo.toRowFieldTypes)
         val generatedEqualiser = equaliserCodeGen.generateRecordEqualiser("RankValueEqualiser")
-        val comparator = new ComparableRecordComparator(
-          sortKeyComparator,
-          sortFields.indices.toArray,
-          sortKeyType.toRowFieldTypes,
-          sortDirections,
-          nullsIsLast)
-        new RetractableTopNFunction(
-          minIdleStateRetentionTime,
-          maxIdleStateRetentionTime,
-          inputRowTypeInfo,
-          comparator,
-          sortKeySelector,
-          rankType,
-          rankRange,
-          generatedEqualiser,
-          generateUpdateBefore,
-          outputRankNumber)
+        if (tableConfig.getConfiguration.getBoolean(
+            StreamExecRank.TABLE_EXEC_TOPN_RETRACT_CACHE_ENABLED)) {
+          new CachedRetractableTopNFunction(
+            minIdleStateRetentionTime,
+            maxIdleStateRetentionTime,
+            inputRowTypeInfo,
+            sortKeyComparator,
+            sortKeySelector,
+            rankType,
+            rankRange,
+            generatedEqualiser,
+            generateUpdateBefore,
+            outputRankNumber,
+            cacheSize)
+        } else {
+          val comparator = new ComparableRecordComparator(
+            sortKeyComparator,
+            sortFields.indices.toArray,
+            sortKeyType.toRowFieldTypes,
+            sortDirections,
+            nullsIsLast)
+          new RetractableTopNFunction(
+            minIdleStateRetentionTime,
+            maxIdleStateRetentionTime,
+            inputRowTypeInfo,
+            comparator,
+            sortKeySelector,
+            rankType,
+            rankRange,
+            generatedEqualiser,
+            generateUpdateBefore,
+            outputRankNumber)
+        }
     }
     val operator = new KeyedProcessOperator(processFunction)
     processFunction.setKeyContext(operator)
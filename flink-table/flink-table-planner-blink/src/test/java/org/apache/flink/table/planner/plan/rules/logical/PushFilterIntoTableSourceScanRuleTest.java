@@ -28,6 +28,7 @@ import org.apache.flink.table.planner.utils.TableConfigUtils;
 import org.apache.calcite.plan.hep.HepMatchOrder;
 import org.apache.calcite.rel.rules.CoreRules;
 import org.apache.calcite.tools.RuleSets;
+import org.junit.Test;
 
 /**
  * Test for {@link PushFilterIntoTableSourceScanRule}.
@@ -91,4 +92,10 @@ public class PushFilterIntoTableSourceScanRuleTest extends PushFilterIntoLegacyT
 		util().tableEnv().executeSql(ddl);
 		util().verifyPlan("SELECT * FROM MTable WHERE LOWER(a) = 'foo' AND UPPER(b) = 'bar'");
 	}
+
+	@Test
+	public void testCannotPushDownIn() {
+		// the remaining IN is converted back to nested ORs, which have to be flattened
+		util().verifyPlan("SELECT * FROM MyTable WHERE amount > 2 AND price IN (1, 3, 5)");
+	}
 }
@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.planner.runtime.batch.sql
+
+import org.apache.flink.table.api.config.{ExecutionConfigOptions, OptimizerConfigOptions}
+import org.apache.flink.table.planner.runtime.utils.BatchTestBase
+import org.apache.flink.table.planner.runtime.utils.TestData.{nullData3, nullablesOfNullData3, type3}
+
+import org.junit.Assert.assertTrue
+import org.junit.{Before, Test}
+
+/**
+ * IT cases for fusing a calc into the hash aggregate consuming it.
+ *
+ * <p>This test class works by comparing the results with and without operator fusion.
+ */
+class OperatorFusionCodegenITCase extends BatchTestBase {
+
+  @Before
+  override def before(): Unit = {
+    super.before()
+    registerCollection("NullTable3", nullData3, type3, "a, b, c", nullablesOfNullData3)
+
+    // the calc is fused into the local hash aggregate
+    tEnv.getConfig.getConfiguration.setString(
+      OptimizerConfigOptions.TABLE_OPTIMIZER_AGG_PHASE_STRATEGY, "TWO_PHASE")
+    tEnv.getConfig.getConfiguration.setString(
+      ExecutionConfigOptions.TABLE_EXEC_DISABLED_OPERATORS, "SortAgg")
+  }
+
+  @Test
+  def testFilterAndProjection(): Unit = {
+    checkFusionResult(
+      """
+        |SELECT b + 1, SUM(a), COUNT(c), MAX(CHAR_LENGTH(c))
+        |FROM NullTable3 WHERE a > 3 AND c LIKE '%o%'
+        |GROUP BY b + 1
+        |""".stripMargin)
+  }
+
+  @Test
+  def testFilterOnly(): Unit = {
+    checkFusionResult("SELECT b, SUM(a), MIN(a) FROM NullTable3 WHERE a < 15 GROUP BY b")
+  }
+
+  @Test
+  def testProjectionOnly(): Unit = {
+    checkFusionResult(
+      """
+        |SELECT MOD(a, 4), AVG(b * 2), COUNT(*)
+        |FROM NullTable3
+        |GROUP BY MOD(a, 4)
+        |""".stripMargin)
+  }
+
+  @Test
+  def testNullableKeys(): Unit = {
+    checkFusionResult(
+      """
+        |SELECT k, SUM(a) FROM
+        |  (SELECT CASE WHEN a > 10 THEN c ELSE NULL END AS k, a FROM NullTable3)
+        |GROUP BY k
+        |""".stripMargin)
+  }
+
+  @Test
+  def testFusionInExplain(): Unit = {
+    tEnv.getConfig.getConfiguration.setBoolean(
+      OptimizerConfigOptions.TABLE_OPTIMIZER_OPERATOR_FUSION_CODEGEN_ENABLED, true)
+    val explain = tEnv.explainSql(
+      "SELECT b, SUM(a) FROM NullTable3 WHERE a < 15 GROUP BY b")
+    assertTrue(explain, explain.contains("fusedCalc=[select=[a, b], where=[<(a, 15)]]"))
+  }
+
+  def checkFusionResult(sql: String): Unit = {
+    tEnv.getConfig.getConfiguration.setBoolean(
+      OptimizerConfigOptions.TABLE_OPTIMIZER_OPERATOR_FUSION_CODEGEN_ENABLED, false)
+    val expected = executeQuery(sql)
+    tEnv.getConfig.getConfiguration.setBoolean(
+      OptimizerConfigOptions.TABLE_OPTIMIZER_OPERATOR_FUSION_CODEGEN_ENABLED, true)
+    checkResult(sql, expected)
+  }
+}
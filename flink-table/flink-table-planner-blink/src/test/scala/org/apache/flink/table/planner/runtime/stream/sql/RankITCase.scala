@@ -25,6 +25,7 @@ import org.apache.flink.table.api._
 import org.apache.flink.table.api.bridge.scala._
 import org.apache.flink.table.api.internal.TableEnvironmentInternal
 import org.apache.flink.table.planner.factories.TestValuesTableFactory
+import org.apache.flink.table.planner.plan.nodes.physical.stream.StreamExecRank
 import org.apache.flink.table.planner.runtime.utils.StreamingWithStateTestBase.StateBackendMode
 import org.apache.flink.table.planner.runtime.utils._
 import org.apache.flink.table.runtime.types.TypeInfoDataTypeConverter.fromDataTypeToTypeInfo
@@ -491,6 +492,52 @@ class RankITCase(mode: StateBackendMode) extends StreamingWithStateTestBase(mode
     assertEquals(expected.sorted, sink.getRetractResults.sorted)
   }
 
+  @Test
+  def testTopNWithGroupByAndRetractWithCache(): Unit = {
+    tEnv.getConfig.getConfiguration.setBoolean(
+      StreamExecRank.TABLE_EXEC_TOPN_RETRACT_CACHE_ENABLED, true)
+    val data = List(
+      ("book", 1, 11),
+      ("book", 2, 19),
+      ("book", 3, 5),
+      ("book", 4, 13),
+      ("book", 1, 11),
+      ("book", 3, 30),
+      ("fruit", 4, 33),
+      ("fruit", 5, 12),
+      ("fruit", 3, 44),
+      ("fruit", 5, 22),
+      ("fruit", 6, 1))
+
+    val ds = failingDataSource(data).toTable(tEnv, 'category, 'shopId, 'num)
+    tEnv.registerTable("T", ds)
+
+    val sql =
+      """
+        |SELECT *
+        |FROM (
+        |  SELECT category, shopId, num, cnt,
+        |      ROW_NUMBER() OVER (PARTITION BY category ORDER BY num ASC) as rank_num
+        |  FROM (
+        |     SELECT category, shopId, sum(num) as num, count(num) as cnt
+        |     FROM T
+        |     GROUP BY category, shopId
+        |  ))
+        |WHERE rank_num <= 2
+      """.stripMargin
+
+    val sink = new TestingRetractSink
+    tEnv.sqlQuery(sql).toRetractStream[Row].addSink(sink).setParallelism(1)
+    env.execute()
+
+    val expected = List(
+      "book,4,13,1,1",
+      "book,2,19,1,2",
+      "fruit,6,1,1,1",
+      "fruit,4,33,1,2")
+    assertEquals(expected.sorted, sink.getRetractResults.sorted)
+  }
+
   @Test
   def testTopNWithGroupByCount(): Unit = {
     val data = List(
@@ -25,24 +25,56 @@ import org.apache.flink.connector.file.src.util.RecordAndPosition;
 import org.apache.flink.connector.file.src.util.RecyclableIterator;
 import org.apache.flink.table.data.ColumnarRowData;
 import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.vector.VectorizedColumnBatch;
+import org.apache.flink.table.runtime.vector.SelectionVector;
+import org.apache.flink.table.runtime.vector.VectorizedPredicate;
+import org.apache.flink.util.Preconditions;
 
 import javax.annotation.Nullable;
 
 /**
  * A {@link BulkFormat.RecordIterator} that returns {@link RowData}s.
  * The next row is set by {@link ColumnarRowData#setRowId}.
+ *
+ * <p>If a {@link VectorizedPredicate} is given, it is evaluated on the whole batch when the batch
+ * is set, and only the selected rows are returned. The positions of the returned rows still count
+ * all rows of the batch, so that a restored reader can skip rows of the file.
  */
 public class ColumnarRowIterator extends RecyclableIterator<RowData> {
 
 	private final ColumnarRowData rowData;
 	private final MutableRecordAndPosition<RowData> recordAndPosition;
 
+	@Nullable private final VectorizedColumnBatch batch;
+	@Nullable private final VectorizedPredicate predicate;
+	@Nullable private SelectionVector predicateSelection;
+	// the selected rows of the current batch, all rows are selected if this is null
+	@Nullable private SelectionVector selection;
+
 	private int num;
 	private int pos;
+	private long recordSkipCount;
 
 	public ColumnarRowIterator(ColumnarRowData rowData, @Nullable Runnable recycler) {
+		this(rowData, null, null, recycler);
+	}
+
+	/**
+	 * @param rowData the row view of the batch.
+	 * @param batch the batch viewed by the row, required if there is a predicate.
+	 * @param predicate the predicate to filter the rows of a batch with.
+	 */
+	public ColumnarRowIterator(
+			ColumnarRowData rowData,
+			@Nullable VectorizedColumnBatch batch,
+			@Nullable VectorizedPredicate predicate,
+			@Nullable Runnable recycler) {
 		super(recycler);
+		Preconditions.checkArgument(predicate == null || batch != null,
+				"The batch is required to evaluate the predicate.");
 		this.rowData = rowData;
+		this.batch = batch;
+		this.predicate = predicate;
 		this.recordAndPosition = new MutableRecordAndPosition<>();
 	}
 
@@ -58,17 +90,46 @@ public class ColumnarRowIterator extends RecyclableIterator<RowData> {
 	 * Set number rows in this batch and updates the position.
 	 */
 	public void set(final int num, final long offset, final long recordSkipCount) {
-		this.num = num;
+		if (predicate == null) {
+			set(num, offset, recordSkipCount, null);
+		} else {
+			if (predicateSelection == null || predicateSelection.capacity() < num) {
+				predicateSelection = new SelectionVector(Math.max(num, VectorizedColumnBatch.DEFAULT_SIZE));
+			}
+			predicateSelection.selectAll(num);
+			predicate.filter(batch, predicateSelection);
+			set(num, offset, recordSkipCount, predicateSelection);
+		}
+	}
+
+	/**
+	 * Set number rows in this batch and the rows to return, e.g. because the batch was already
+	 * filtered while it was read. All rows are returned if the selection is null.
+	 */
+	public void set(
+			final int num,
+			final long offset,
+			final long recordSkipCount,
+			@Nullable final SelectionVector selection) {
 		this.pos = 0;
+		this.recordSkipCount = recordSkipCount;
 		this.recordAndPosition.set(null, offset, recordSkipCount);
+		this.selection = selection;
+		this.num = selection == null ? num : selection.size();
 	}
 
 	@Nullable
 	@Override
 	public RecordAndPosition<RowData> next() {
 		if (pos < num) {
-			rowData.setRowId(pos++);
-			recordAndPosition.setNext(rowData);
+			if (selection == null) {
+				rowData.setRowId(pos++);
+				recordAndPosition.setNext(rowData);
+			} else {
+				int rowId = selection.get(pos++);
+				rowData.setRowId(rowId);
+				recordAndPosition.set(rowData, recordAndPosition.getOffset(), recordSkipCount + rowId + 1);
+			}
 			return recordAndPosition;
 		} else {
 			return null;
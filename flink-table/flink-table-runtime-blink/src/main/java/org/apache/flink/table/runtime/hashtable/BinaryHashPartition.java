@@ -71,6 +71,12 @@ public class BinaryHashPartition extends AbstractPagedInputView implements Seeka
 	private long buildSideRecordCounter; // number of build-side records in this partition
 	private int recursionLevel; // the recursion level on which this partition lives
 
+	// whether the partition holds probe side rows in its build side and build side rows in its probe side
+	boolean sidesSwapped;
+
+	// whether the build side of this spilled partition is dominated by keys that repartitioning can not split
+	boolean skewed;
+
 	// the channel writer for the build side, if partition is spilled
 	private BlockChannelWriter<MemorySegment> buildSideChannel;
 
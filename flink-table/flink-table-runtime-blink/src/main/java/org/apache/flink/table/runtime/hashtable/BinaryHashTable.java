@@ -22,7 +22,11 @@ import org.apache.flink.annotation.VisibleForTesting;
 import org.apache.flink.configuration.Configuration;
 import org.apache.flink.core.memory.MemorySegment;
 import org.apache.flink.runtime.io.disk.ChannelReaderInputViewIterator;
+import org.apache.flink.runtime.io.disk.SimpleCollectingOutputView;
+import org.apache.flink.runtime.io.disk.iomanager.AbstractChannelReaderInputView;
 import org.apache.flink.runtime.io.disk.iomanager.ChannelReaderInputView;
+import org.apache.flink.runtime.io.disk.iomanager.FileIOChannel;
+import org.apache.flink.runtime.io.disk.iomanager.HeaderlessChannelReaderInputView;
 import org.apache.flink.runtime.io.disk.iomanager.IOManager;
 import org.apache.flink.runtime.memory.MemoryManager;
 import org.apache.flink.runtime.operators.util.BitSet;
@@ -40,6 +44,7 @@ import org.apache.flink.table.runtime.typeutils.BinaryRowDataSerializer;
 import org.apache.flink.table.runtime.util.FileChannelUtil;
 import org.apache.flink.table.runtime.util.RowIterator;
 import org.apache.flink.util.MathUtils;
+import org.apache.flink.util.MutableObjectIterator;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -53,35 +58,66 @@ import static org.apache.flink.util.Preconditions.checkArgument;
  * priority how large the input will be.
  *
  * <p>The design of this class follows in many parts the design presented in
- * "Hash joins and hash teams in Microsoft SQL Server", by Goetz Graefe et al. In its current state,
- * the implementation lacks features like dynamic role reversal, partition tuning, or histogram
- * guided partitioning.</p>
+ * "Hash joins and hash teams in Microsoft SQL Server", by Goetz Graefe et al.</p>
+ *
+ * <p>Spilled partitions are processed with two runtime adaptions:</p>
+ * <ul>
+ *     <li>Role reversal: for inner joins, a spilled partition whose build side turns out much larger
+ *     than its probe side and does not fit into memory is processed with swapped sides. The table is
+ *     built from the probe side and probed with the build side.</li>
+ *     <li>Nested loop: a spilled partition that is dominated by keys which repartitioning can not split,
+ *     or that reaches the maximum recursion depth, is not partitioned further. Its build side is loaded
+ *     into memory block by block, and the probe side is read once for every block.</li>
+ * </ul>
+ *
+ * <p>The implementation lacks features like partition tuning, or histogram guided partitioning.</p>
  */
 public class BinaryHashTable extends BaseHybridHashTable {
 
 	/**
-	 * The utilities to serialize the build side data types.
+	 * The factor by which the build side of a spilled partition must be larger than its probe side,
+	 * before the sides of the partition are swapped.
+	 */
+	private static final int ROLE_REVERSAL_FACTOR = 2;
+
+	/**
+	 * The fraction of the build side records of a repartitioned partition that one of its new
+	 * partitions must still hold to be considered skewed. The records are distributed with a new hash
+	 * function, so a single key, or keys with the same hash code, must dominate such a partition, and
+	 * repartitioning it again would not split it either.
+	 */
+	private static final double SKEWED_PARTITION_FRACTION = 0.5;
+
+	/**
+	 * The minimum fan-out of a repartitioning for skewed partitions to be detected. With fewer
+	 * partitions, one of them may hold the fraction of the records by chance.
+	 */
+	private static final int MIN_SKEW_DETECTION_FAN_OUT = (int) (2 / SKEWED_PARTITION_FRACTION) + 1;
+
+	/**
+	 * The utilities to serialize the build side data types. Swapped with the probe side utilities
+	 * while a partition is processed with swapped sides.
 	 */
-	final BinaryRowDataSerializer binaryBuildSideSerializer;
+	BinaryRowDataSerializer binaryBuildSideSerializer;
 
 	private final AbstractRowDataSerializer originBuildSideSerializer;
 
 	/**
 	 * The utilities to serialize the probe side data types.
 	 */
-	private final BinaryRowDataSerializer binaryProbeSideSerializer;
+	private BinaryRowDataSerializer binaryProbeSideSerializer;
 
 	private final AbstractRowDataSerializer originProbeSideSerializer;
 
 	/**
 	 * The utilities to hash and compare the build side data types.
 	 */
-	private final Projection<RowData, BinaryRowData> buildSideProjection;
+	private Projection<RowData, BinaryRowData> buildSideProjection;
 
 	/**
 	 * The utilities to hash and compare the probe side data types.
 	 */
-	private final Projection<RowData, BinaryRowData> probeSideProjection;
+	private Projection<RowData, BinaryRowData> probeSideProjection;
 
 	final int bucketsPerSegment;
 
@@ -161,6 +197,74 @@ public class BinaryHashTable extends BaseHybridHashTable {
 
 	BinaryRowData reuseBuildRow;
 
+	/**
+	 * Whether the partitions that are currently processed are built from the probe side and probed
+	 * with the build side.
+	 */
+	private boolean sidesSwapped;
+
+	/**
+	 * Whether the lookup of the current build side row has further matches, while the sides are swapped.
+	 */
+	private boolean swappedLookupInProgress;
+
+	/**
+	 * The probe side row that matches the current build side row, while the sides are swapped.
+	 */
+	private BinaryRowData swappedProbeRow;
+
+	/**
+	 * Iterator over the current build side row, while the sides are swapped.
+	 */
+	private final SingleRowIterator swappedBuildSideIterator = new SingleRowIterator();
+
+	/**
+	 * The spilled partition that is currently joined block-wise in a nested loop.
+	 */
+	private BinaryHashPartition nestedLoopPartition;
+
+	/**
+	 * The channel of the side of the nested loop partition that is loaded block-wise into memory.
+	 */
+	private FileIOChannel nestedLoopBuildSideChannel;
+
+	/**
+	 * The rows of the side of the nested loop partition that is loaded block-wise into memory.
+	 */
+	private MutableObjectIterator<BinaryRowData> nestedLoopBuildSideInput;
+
+	/**
+	 * The first row of the next block of the nested loop partition, or null if all blocks are done.
+	 */
+	private BinaryRowData nestedLoopNextBuildRow;
+
+	/**
+	 * Marks the probe rows of the nested loop partition that matched a block. Only used for the join
+	 * types that output a probe row depending on whether it has any match.
+	 */
+	private java.util.BitSet nestedLoopMatchedProbeRows;
+
+	/**
+	 * The index of the next probe row of the nested loop partition.
+	 */
+	private int nestedLoopProbeRowIndex;
+
+	/**
+	 * Whether the probe side of the nested loop partition is read a last time, for the probe rows
+	 * without any match.
+	 */
+	private boolean nestedLoopUnmatchedPass;
+
+	/**
+	 * The number of partitions which have been joined in a nested loop.
+	 */
+	private int numNestedLoopPartitions;
+
+	/**
+	 * Iterator without rows, for the probe rows without any match.
+	 */
+	private final SingleRowIterator emptyBuildSideIterator = new SingleRowIterator();
+
 	public BinaryHashTable(
 			Configuration conf,
 			Object owner,
@@ -287,14 +391,22 @@ public class BinaryHashTable extends BaseHybridHashTable {
 
 	public RowData getCurrentProbeRow() {
 		if (this.probeMatchedPhase) {
-			return this.probeIterator.current();
+			return this.sidesSwapped ? this.swappedProbeRow : this.probeIterator.current();
 		} else {
 			return null;
 		}
 	}
 
 	public RowIterator<BinaryRowData> getBuildSideIterator() {
-		return probeMatchedPhase ? bucketIterator : buildIterator;
+		if (!probeMatchedPhase) {
+			return buildIterator;
+		} else if (sidesSwapped) {
+			return swappedBuildSideIterator;
+		} else if (nestedLoopUnmatchedPass) {
+			return emptyBuildSideIterator;
+		} else {
+			return bucketIterator;
+		}
 	}
 
 	// ================================ internal method ===========================================
@@ -313,6 +425,11 @@ public class BinaryHashTable extends BaseHybridHashTable {
 		return numIOBufs > 6 ? 6 : numIOBufs;
 	}
 
+	@VisibleForTesting
+	int getNumNestedLoopPartitions() {
+		return numNestedLoopPartitions;
+	}
+
 	private boolean processProbeIter() throws IOException {
 
 		// the prober's source is null at the begging.
@@ -323,6 +440,14 @@ public class BinaryHashTable extends BaseHybridHashTable {
 				return false;
 			}
 
+			if (this.sidesSwapped) {
+				return processSwappedProbeIter();
+			}
+
+			if (this.nestedLoopUnmatchedPass) {
+				return processUnmatchedProbeIter();
+			}
+
 			BinaryRowData next;
 			while ((next = probeIter.next()) != null) {
 				BinaryRowData probeKey = probeSideProjection.apply(next);
@@ -335,7 +460,9 @@ public class BinaryHashTable extends BaseHybridHashTable {
 					this.probeKey = probeKey;
 					this.probeRow = next;
 					p.bucketArea.startLookup(hash);
-					return true;
+					if (this.nestedLoopPartition == null || acceptNestedLoopProbeRow(p, hash)) {
+						return true;
+					}
 				} else {
 					p.insertIntoProbeBuffer(next);
 				}
@@ -348,6 +475,83 @@ public class BinaryHashTable extends BaseHybridHashTable {
 		}
 	}
 
+	/**
+	 * Probes the table with the build side rows, while the sides are swapped. Every match is returned
+	 * on its own: the matching probe side row as the current probe row, and the build side row as the
+	 * only row of the build side iterator.
+	 */
+	private boolean processSwappedProbeIter() throws IOException {
+		if (this.swappedLookupInProgress) {
+			if (this.bucketIterator.advanceNext()) {
+				this.swappedProbeRow = this.bucketIterator.getRow();
+				this.swappedBuildSideIterator.reset();
+				return true;
+			}
+			this.swappedLookupInProgress = false;
+		}
+
+		BinaryRowData next;
+		while ((next = this.probeIterator.next()) != null) {
+			BinaryRowData probeKey = probeSideProjection.apply(next);
+			final int hash = hash(probeKey.hashCode(), this.currentRecursionDepth);
+
+			final BinaryHashPartition p = this.partitionsBeingBuilt.get(hash % partitionsBeingBuilt.size());
+
+			if (p.isInMemory()) {
+				this.probeKey = probeKey;
+				this.probeRow = next;
+				p.bucketArea.startLookup(hash);
+				if (this.bucketIterator.advanceNext()) {
+					this.swappedLookupInProgress = true;
+					this.swappedProbeRow = this.bucketIterator.getRow();
+					this.swappedBuildSideIterator.set(next);
+					return true;
+				}
+			} else {
+				p.insertIntoProbeBuffer(next);
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Checks whether a probe row of a nested loop block is returned. The lookup of the row has been
+	 * started and is restarted if the row is returned.
+	 *
+	 * <p>A probe row without a match in the current block is skipped, because it may match another
+	 * block. If probe rows are output depending on whether they have any match, the matched rows are
+	 * marked, so that semi joins return them only once and anti joins never.
+	 */
+	private boolean acceptNestedLoopProbeRow(BinaryHashPartition p, int hash) {
+		final int index = this.nestedLoopProbeRowIndex++;
+		if (!this.bucketIterator.advanceNext()) {
+			return false;
+		}
+
+		if (this.nestedLoopMatchedProbeRows != null) {
+			final boolean matchedBefore = this.nestedLoopMatchedProbeRows.get(index);
+			this.nestedLoopMatchedProbeRows.set(index);
+			if (type == HashJoinType.ANTI || (type == HashJoinType.SEMI && matchedBefore)) {
+				return false;
+			}
+		}
+
+		p.bucketArea.startLookup(hash);
+		return true;
+	}
+
+	/**
+	 * Returns the probe rows of the nested loop partition that did not match any block.
+	 */
+	private boolean processUnmatchedProbeIter() throws IOException {
+		while (this.probeIterator.next() != null) {
+			if (!this.nestedLoopMatchedProbeRows.get(this.nestedLoopProbeRowIndex++)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	private boolean processBuildIter() throws IOException {
 		if (this.buildIterVisited) {
 			return false;
@@ -369,6 +573,11 @@ public class BinaryHashTable extends BaseHybridHashTable {
 
 		this.partitionsBeingBuilt.clear();
 
+		// a partition that is joined in a nested loop continues with its next pass
+		if (this.nestedLoopPartition != null && prepareNextNestedLoopPass()) {
+			return nextMatching();
+		}
+
 		if (this.currentSpilledBuildSide != null) {
 			this.currentSpilledBuildSide.getChannel().closeAndDelete();
 			this.currentSpilledBuildSide = null;
@@ -387,6 +596,7 @@ public class BinaryHashTable extends BaseHybridHashTable {
 		// there are pending partitions
 		final BinaryHashPartition p = this.partitionsPending.get(0);
 		LOG.info(String.format("Begin to process spilled partition [%d]", p.getPartitionNumber()));
+		setSidesSwapped(p.sidesSwapped);
 
 		if (p.probeSideRecordCounter == 0) {
 			// unprobed spilled partitions are only re-processed for a build-side outer join;
@@ -406,22 +616,10 @@ public class BinaryHashTable extends BaseHybridHashTable {
 		this.buildIterVisited = false;
 
 		// build the next table; memory must be allocated after this call
-		buildTableFromSpilledPartition(p);
+		final boolean reversed = buildTableFromSpilledPartition(p);
 
 		// set the probe side
-		ChannelWithMeta channelWithMeta = new ChannelWithMeta(
-				p.probeSideBuffer.getChannel().getChannelID(),
-				p.probeSideBuffer.getBlockCount(),
-				p.probeNumBytesInLastSeg);
-		this.currentSpilledProbeSide = FileChannelUtil.createInputView(
-				ioManager, channelWithMeta, new ArrayList<>(),
-				compressionEnable, compressionCodecFactory, compressionBlockSize, segmentSize);
-
-		ChannelReaderInputViewIterator<BinaryRowData> probeReader =
-				new ChannelReaderInputViewIterator(
-						this.currentSpilledProbeSide, new ArrayList<>(), this.binaryProbeSideSerializer);
-		this.probeIterator.set(probeReader);
-		this.probeIterator.setReuse(binaryProbeSideSerializer.createInstance());
+		setSpilledProbeSide(p, reversed);
 
 		// unregister the pending partition
 		this.partitionsPending.remove(0);
@@ -431,33 +629,33 @@ public class BinaryHashTable extends BaseHybridHashTable {
 		return nextMatching();
 	}
 
-	private void buildTableFromSpilledPartition(
+	/**
+	 * Builds the next table from a spilled partition, either from its build side, or from its probe
+	 * side if the roles of the sides are reversed.
+	 *
+	 * @return True, if the roles of the sides are reversed and the table is built from the probe side
+	 *         of the partition.
+	 */
+	private boolean buildTableFromSpilledPartition(
 			final BinaryHashPartition p) throws IOException {
 
 		final int nextRecursionLevel = p.getRecursionLevel() + 1;
 		if (nextRecursionLevel == 2) {
 			LOG.info("Recursive hash join: partition number is " + p.getPartitionNumber());
-		} else if (nextRecursionLevel > MAX_RECURSION_DEPTH) {
-			throw new RuntimeException("Hash join exceeded maximum number of recursions, without reducing "
-					+ "partitions enough to be memory resident. Probably cause: Too many duplicate keys.");
-		}
-
-		if (p.getBuildSideBlockCount() > p.getProbeSideBlockCount()) {
-			LOG.info(String.format(
-					"Hash join: Partition(%d) " +
-							"build side block [%d] more than probe side block [%d]",
-					p.getPartitionNumber(),
-					p.getBuildSideBlockCount(),
-					p.getProbeSideBlockCount()));
 		}
 
-		// we distinguish two cases here:
+		// we distinguish three cases here:
 		// 1) The partition fits entirely into main memory. That is the case if we have enough buffers for
 		//    all partition segments, plus enough buffers to hold the table structure.
 		//    --> We read the partition in as it is and create a hashtable that references only
 		//        that single partition.
 		// 2) We can not guarantee that enough memory segments are available and read the partition
 		//    in, distributing its data among newly created partitions.
+		// 3) The partition is skewed, i.e. it was left over from distributing the data of its parent
+		//    partition, or has reached the maximum recursion depth, so that distributing its data
+		//    would not make it fit into memory.
+		//    --> We join the partition in a nested loop, block by block.
+		// In the last two cases, the table is built from the probe side if the build side is much larger.
 		final int totalBuffersAvailable = this.internalPool.freePages() + this.buildSpillRetBufferNumbers;
 		if (totalBuffersAvailable != this.totalNumBuffers) {
 			throw new RuntimeException(String.format("Hash Join bug in memory management: Memory buffers leaked." +
@@ -465,46 +663,54 @@ public class BinaryHashTable extends BaseHybridHashTable {
 					internalPool.freePages(), buildSpillRetBufferNumbers, totalNumBuffers));
 		}
 
-		long numBuckets = p.getBuildSideRecordCount() / BinaryHashBucketArea.NUM_ENTRIES_PER_BUCKET + 1;
+		final long totalBuffersNeeded = getNumBuffersNeeded(p.getBuildSideRecordCount(), p.getBuildSideBlockCount());
 
-		// we need to consider the worst case where everything hashes to one bucket which needs to overflow by the same
-		// number of total buckets again. Also, one buffer needs to remain for the probing
-		int maxBucketAreaBuffers = Math.max((int) (2 * (numBuckets / (this.bucketsPerSegmentMask + 1))), 1);
-		final long totalBuffersNeeded = maxBucketAreaBuffers + p.getBuildSideBlockCount() + 2;
+		final boolean reversed = canSwapSides()
+				&& totalBuffersNeeded >= totalBuffersAvailable
+				&& p.getBuildSideBlockCount() > (long) ROLE_REVERSAL_FACTOR * p.getProbeSideBlockCount();
+		if (reversed) {
+			LOG.info(String.format(
+					"Hash join: Partition(%d) " +
+							"build side block [%d] more than %d times probe side block [%d], swap sides",
+					p.getPartitionNumber(),
+					p.getBuildSideBlockCount(),
+					ROLE_REVERSAL_FACTOR,
+					p.getProbeSideBlockCount()));
+			setSidesSwapped(!this.sidesSwapped);
+		} else if (p.getBuildSideBlockCount() > p.getProbeSideBlockCount()) {
+			LOG.info(String.format(
+					"Hash join: Partition(%d) " +
+							"build side block [%d] more than probe side block [%d]",
+					p.getPartitionNumber(),
+					p.getBuildSideBlockCount(),
+					p.getProbeSideBlockCount()));
+		}
 
-		if (totalBuffersNeeded < totalBuffersAvailable) {
+		if (p.skewed || nextRecursionLevel > MAX_RECURSION_DEPTH) {
+			startNestedLoop(p, reversed);
+		} else if (!reversed && totalBuffersNeeded < totalBuffersAvailable) {
 			LOG.info(String.format("Build in memory hash table from spilled partition [%d]", p.getPartitionNumber()));
 
 			// first read the partition in
 			final List<MemorySegment> partitionBuffers = readAllBuffers(p.getBuildSideChannel().getChannelID(), p.getBuildSideBlockCount());
-			BinaryHashBucketArea area = new BinaryHashBucketArea(this, (int) p.getBuildSideRecordCount(), maxBucketAreaBuffers, false);
-			final BinaryHashPartition newPart = new BinaryHashPartition(area, this.binaryBuildSideSerializer, this.binaryProbeSideSerializer,
-					0, nextRecursionLevel, partitionBuffers, p.getBuildSideRecordCount(), this.segmentSize, p.getLastSegmentLimit());
-			area.setPartition(newPart);
-
-			this.partitionsBeingBuilt.add(newPart);
-
-			// now, index the partition through a hash table
-			final BinaryHashPartition.PartitionIterator pIter = newPart.newPartitionIterator();
-
-			while (pIter.advanceNext()) {
-				final int hashCode = hash(buildSideProjection.apply(pIter.getRow()).hashCode(), nextRecursionLevel);
-				final int pointer = (int) pIter.getPointer();
-				area.insertToBucket(hashCode, pointer, true);
-			}
+			buildInMemoryPartition(partitionBuffers, p.getBuildSideRecordCount(), p.getLastSegmentLimit(), nextRecursionLevel);
 		} else {
 			// go over the complete input and insert every element into the hash table
 			// compute in how many splits, we'd need to partition the result
-			final int splits = (int) (totalBuffersNeeded / totalBuffersAvailable) + 1;
+			final long numRecords = reversed ? p.probeSideRecordCounter : p.getBuildSideRecordCount();
+			final long buffersNeeded = reversed ?
+					getNumBuffersNeeded(numRecords, p.getProbeSideBlockCount()) : totalBuffersNeeded;
+			final int splits = (int) (buffersNeeded / totalBuffersAvailable) + 1;
 			final int partitionFanOut = Math.min(Math.min(10 * splits, MAX_NUM_PARTITIONS), maxNumPartition());
 
 			createPartitions(partitionFanOut, nextRecursionLevel);
 			LOG.info(String.format("Build hybrid hash table from spilled partition [%d] with recursion level [%d]",
 					p.getPartitionNumber(), nextRecursionLevel));
 
-			ChannelReaderInputView inView = createInputView(p.getBuildSideChannel().getChannelID(), p.getBuildSideBlockCount(), p.getLastSegmentLimit());
-			final BinaryRowChannelInputViewIterator inIter =
-					new BinaryRowChannelInputViewIterator(inView, this.binaryBuildSideSerializer);
+			final AbstractChannelReaderInputView inView = reversed ?
+					createProbeSideInputView(p) : createBuildSideInputView(p);
+			final MutableObjectIterator<BinaryRowData> inIter =
+					createSpilledRowIterator(inView, !reversed, this.binaryBuildSideSerializer);
 			BinaryRowData rec = this.binaryBuildSideSerializer.createInstance();
 			while ((rec = inIter.next(rec)) != null) {
 				final int hashCode = hash(this.buildSideProjection.apply(rec).hashCode(), nextRecursionLevel);
@@ -519,7 +725,229 @@ public class BinaryHashTable extends BaseHybridHashTable {
 				buildWriteBuffers += part.finalizeBuildPhase(this.ioManager, this.currentEnumerator);
 			}
 			buildSpillRetBufferNumbers += buildWriteBuffers;
+			markSkewedPartitions(numRecords, partitionFanOut);
+		}
+		return reversed;
+	}
+
+	/**
+	 * Creates an in-memory partition from the given buffers and indexes its records in a bucket area.
+	 */
+	private void buildInMemoryPartition(
+			List<MemorySegment> buffers,
+			long numRecords,
+			int lastSegmentLimit,
+			int recursionLevel) throws IOException {
+		BinaryHashBucketArea area = new BinaryHashBucketArea(this, (int) numRecords, getMaxBucketAreaBuffers(numRecords), false);
+		final BinaryHashPartition newPart = new BinaryHashPartition(area, this.binaryBuildSideSerializer, this.binaryProbeSideSerializer,
+				0, recursionLevel, buffers, numRecords, this.segmentSize, lastSegmentLimit);
+		area.setPartition(newPart);
+
+		this.partitionsBeingBuilt.add(newPart);
+
+		// now, index the partition through a hash table
+		final BinaryHashPartition.PartitionIterator pIter = newPart.newPartitionIterator();
+
+		while (pIter.advanceNext()) {
+			final int hashCode = hash(buildSideProjection.apply(pIter.getRow()).hashCode(), recursionLevel);
+			final int pointer = (int) pIter.getPointer();
+			area.insertToBucket(hashCode, pointer, true);
+		}
+	}
+
+	/**
+	 * Gets the number of buffers that an in-memory table of the given records needs. We need to
+	 * consider the worst case where everything hashes to one bucket which needs to overflow by the
+	 * same number of total buckets again. Also, one buffer needs to remain for the probing.
+	 */
+	private long getNumBuffersNeeded(long numRecords, int numBlocks) {
+		return getMaxBucketAreaBuffers(numRecords) + numBlocks + 2;
+	}
+
+	private int getMaxBucketAreaBuffers(long numRecords) {
+		long numBuckets = numRecords / BinaryHashBucketArea.NUM_ENTRIES_PER_BUCKET + 1;
+		return Math.max((int) (2 * (numBuckets / (this.bucketsPerSegmentMask + 1))), 1);
+	}
+
+	/**
+	 * Marks the spilled partitions of the current table that still hold most of the given number of
+	 * build side records of the partition they were repartitioned from. Repartitioning did not split
+	 * their keys, so they are joined in a nested loop instead of being repartitioned again.
+	 */
+	private void markSkewedPartitions(long numBuildRecords, int partitionFanOut) {
+		if (partitionFanOut < MIN_SKEW_DETECTION_FAN_OUT) {
+			return;
+		}
+		for (BinaryHashPartition p : this.partitionsBeingBuilt) {
+			if (!p.isInMemory() && p.getBuildSideRecordCount() > SKEWED_PARTITION_FRACTION * numBuildRecords) {
+				LOG.info(String.format("Partition [%d] holds %d of %d build side records after repartitioning, it is skewed",
+						p.getPartitionNumber(), p.getBuildSideRecordCount(), numBuildRecords));
+				p.skewed = true;
+			}
+		}
+	}
+
+	/**
+	 * Only inner joins can swap sides, the other join types treat the rows of both sides differently.
+	 */
+	private boolean canSwapSides() {
+		return type == HashJoinType.INNER && !tryDistinctBuildRow;
+	}
+
+	/**
+	 * Swaps the build side and the probe side, if their roles are not as requested.
+	 */
+	private void setSidesSwapped(boolean swapped) {
+		if (swapped != this.sidesSwapped) {
+			final BinaryRowDataSerializer buildSerializer = this.binaryBuildSideSerializer;
+			this.binaryBuildSideSerializer = this.binaryProbeSideSerializer;
+			this.binaryProbeSideSerializer = buildSerializer;
+
+			final Projection<RowData, BinaryRowData> buildProjection = this.buildSideProjection;
+			this.buildSideProjection = this.probeSideProjection;
+			this.probeSideProjection = buildProjection;
+
+			this.reuseBuildRow = this.binaryBuildSideSerializer.createInstance();
+			this.bucketIterator = new LookupBucketIterator(this);
+			this.swappedLookupInProgress = false;
+			this.sidesSwapped = swapped;
+		}
+	}
+
+	/**
+	 * Sets the probe side to a side of the given spilled partition: its build side if the roles of the
+	 * sides are reversed, else its probe side.
+	 */
+	private void setSpilledProbeSide(BinaryHashPartition p, boolean reversed) throws IOException {
+		this.currentSpilledProbeSide = reversed ? createBuildSideInputView(p) : createProbeSideInputView(p);
+		this.probeIterator.set(
+				createSpilledRowIterator(this.currentSpilledProbeSide, reversed, this.binaryProbeSideSerializer));
+		this.probeIterator.setReuse(this.binaryProbeSideSerializer.createInstance());
+	}
+
+	private HeaderlessChannelReaderInputView createBuildSideInputView(BinaryHashPartition p) throws IOException {
+		return createInputView(p.getBuildSideChannel().getChannelID(), p.getBuildSideBlockCount(), p.getLastSegmentLimit());
+	}
+
+	private AbstractChannelReaderInputView createProbeSideInputView(BinaryHashPartition p) throws IOException {
+		ChannelWithMeta channelWithMeta = new ChannelWithMeta(
+				p.probeSideBuffer.getChannel().getChannelID(),
+				p.probeSideBuffer.getBlockCount(),
+				p.probeNumBytesInLastSeg);
+		return FileChannelUtil.createInputView(
+				ioManager, channelWithMeta, new ArrayList<>(),
+				compressionEnable, compressionCodecFactory, compressionBlockSize, segmentSize);
+	}
+
+	/**
+	 * Creates an iterator over the rows of a side of a spilled partition. The build side is written
+	 * in pages, while the probe side is written as a stream.
+	 */
+	private static MutableObjectIterator<BinaryRowData> createSpilledRowIterator(
+			AbstractChannelReaderInputView inView,
+			boolean buildSide,
+			BinaryRowDataSerializer serializer) {
+		if (buildSide) {
+			return new BinaryRowChannelInputViewIterator((ChannelReaderInputView) inView, serializer);
+		} else {
+			return new ChannelReaderInputViewIterator<>(inView, new ArrayList<>(), serializer);
+		}
+	}
+
+	// ================================ nested loop ===============================================
+
+	/**
+	 * Starts to join a spilled partition in a nested loop: the table is built from one block of the
+	 * partition after the other, and every block is probed with the complete probe side.
+	 */
+	private void startNestedLoop(BinaryHashPartition p, boolean reversed) throws IOException {
+		this.numNestedLoopPartitions++;
+		LOG.info(String.format("Join spilled partition [%d] with recursion level [%d] in a nested loop",
+				p.getPartitionNumber(), p.getRecursionLevel() + 1));
+
+		if (type.isProbeOuter() || type == HashJoinType.SEMI || type == HashJoinType.ANTI) {
+			if (p.probeSideRecordCounter > Integer.MAX_VALUE) {
+				throw new RuntimeException("Hash join exceeded maximum number of recursions, without reducing "
+						+ "partitions enough to be memory resident. Probably cause: Too many duplicate keys.");
+			}
+			this.nestedLoopMatchedProbeRows = new java.util.BitSet((int) p.probeSideRecordCounter);
+		}
+
+		final AbstractChannelReaderInputView inView = reversed ?
+				createProbeSideInputView(p) : createBuildSideInputView(p);
+		this.nestedLoopPartition = p;
+		this.nestedLoopBuildSideChannel = inView.getChannel();
+		this.nestedLoopBuildSideInput = createSpilledRowIterator(inView, !reversed, this.binaryBuildSideSerializer);
+		this.nestedLoopNextBuildRow = this.nestedLoopBuildSideInput.next(this.binaryBuildSideSerializer.createInstance());
+		this.nestedLoopProbeRowIndex = 0;
+		this.nestedLoopUnmatchedPass = false;
+
+		buildNestedLoopBlock();
+	}
+
+	/**
+	 * Loads the next block of the nested loop partition into memory and builds an in-memory partition
+	 * from it. A block takes as many rows as fit into memory together with the buckets indexing them.
+	 */
+	private void buildNestedLoopBlock() throws IOException {
+		final int totalBuffersAvailable = remainBuffers();
+		final List<MemorySegment> buffers = new ArrayList<>();
+		final SimpleCollectingOutputView outView =
+				new SimpleCollectingOutputView(buffers, this::getNextBuffer, this.segmentSize);
+
+		long numRecords = 0;
+		BinaryRowData row = this.nestedLoopNextBuildRow;
+		while (row != null) {
+			// a row takes at most one buffer more than its size, plus one for the alignment of its fixed part
+			final int rowBuffers = row.getSizeInBytes() / this.segmentSize + 2;
+			if (numRecords > 0 && (
+					buffers.size() + rowBuffers + getNumBuffersNeeded(numRecords + 1, 0) >= totalBuffersAvailable
+							|| ((long) buffers.size() + rowBuffers) * this.segmentSize > Integer.MAX_VALUE)) {
+				break;
+			}
+			this.binaryBuildSideSerializer.serializeToPages(row, outView);
+			numRecords++;
+			row = this.nestedLoopBuildSideInput.next(row);
+		}
+		this.nestedLoopNextBuildRow = row;
+
+		LOG.info(String.format("Build in memory hash table from %d records of nested loop partition [%d]",
+				numRecords, this.nestedLoopPartition.getPartitionNumber()));
+		buildInMemoryPartition(buffers, numRecords, outView.getCurrentPositionInSegment(),
+				this.nestedLoopPartition.getRecursionLevel() + 1);
+	}
+
+	/**
+	 * Prepares the next pass over the probe side of the nested loop partition, either for the next
+	 * block of the partition, or for the probe rows that did not match any block.
+	 *
+	 * @return False, if the nested loop partition is done.
+	 */
+	private boolean prepareNextNestedLoopPass() throws IOException {
+		if (this.nestedLoopNextBuildRow != null) {
+			buildNestedLoopBlock();
+		} else if (this.nestedLoopMatchedProbeRows != null
+				&& type != HashJoinType.SEMI
+				&& !this.nestedLoopUnmatchedPass) {
+			this.nestedLoopUnmatchedPass = true;
+		} else {
+			this.nestedLoopBuildSideChannel.closeAndDelete();
+			this.nestedLoopBuildSideChannel = null;
+			this.nestedLoopBuildSideInput = null;
+			this.nestedLoopMatchedProbeRows = null;
+			this.nestedLoopUnmatchedPass = false;
+			this.nestedLoopPartition = null;
+			return false;
 		}
+
+		this.probeMatchedPhase = true;
+		this.buildIterVisited = this.nestedLoopUnmatchedPass;
+		this.nestedLoopProbeRowIndex = 0;
+
+		// read the probe side again, it was closed when its end was reached
+		this.currentSpilledProbeSide.getChannel().close();
+		setSpilledProbeSide(this.nestedLoopPartition, this.sidesSwapped != this.nestedLoopPartition.sidesSwapped);
+		return true;
 	}
 
 	private void insertIntoTable(final BinaryRowData record, final int hashCode) throws IOException {
@@ -548,6 +976,7 @@ public class BinaryHashTable extends BaseHybridHashTable {
 			BinaryHashPartition p = new BinaryHashPartition(area, this.binaryBuildSideSerializer,
 					this.binaryProbeSideSerializer, i, recursionLevel, getNotNullNextBuffer(), this, this.segmentSize,
 					compressionEnable, compressionCodecFactory, compressionBlockSize);
+			p.sidesSwapped = this.sidesSwapped;
 			area.setPartition(p);
 			this.partitionsBeingBuilt.add(p);
 		}
@@ -580,6 +1009,16 @@ public class BinaryHashTable extends BaseHybridHashTable {
 		for (final BinaryHashPartition p : this.partitionsPending) {
 			p.clearAllMemory(this.internalPool);
 		}
+
+		// delete the side of the partition that is joined in a nested loop
+		if (this.nestedLoopBuildSideChannel != null) {
+			try {
+				this.nestedLoopBuildSideChannel.closeAndDelete();
+			} catch (Exception e) {
+				LOG.error("Error during nested loop partition cleanup.", e);
+			}
+			this.nestedLoopBuildSideChannel = null;
+		}
 	}
 
 	/**
@@ -636,7 +1075,41 @@ public class BinaryHashTable extends BaseHybridHashTable {
 		if (!nullSafe) {
 			equal = equal && !(filterAllNulls ? buildKey.anyNull() : buildKey.anyNull(nullFilterKeys));
 		}
-		return condFunc == null ? equal : equal && (reverseJoin ? condFunc.apply(probeRow, candidate)
+		// the candidate comes from the probe side and the probe row from the build side, if the sides are swapped
+		return condFunc == null ? equal : equal && ((reverseJoin != sidesSwapped) ? condFunc.apply(probeRow, candidate)
 				: condFunc.apply(candidate, probeRow));
 	}
+
+	/**
+	 * Iterator over at most one row.
+	 */
+	private static final class SingleRowIterator implements RowIterator<BinaryRowData> {
+
+		private BinaryRowData row;
+
+		private boolean consumed = true;
+
+		void set(BinaryRowData row) {
+			this.row = row;
+			this.consumed = false;
+		}
+
+		void reset() {
+			this.consumed = row == null;
+		}
+
+		@Override
+		public boolean advanceNext() {
+			if (consumed) {
+				return false;
+			}
+			consumed = true;
+			return true;
+		}
+
+		@Override
+		public BinaryRowData getRow() {
+			return row;
+		}
+	}
 }
@@ -18,9 +18,9 @@
 
 package org.apache.flink.table.runtime.hashtable;
 
-import org.apache.flink.runtime.io.disk.ChannelReaderInputViewIterator;
 import org.apache.flink.table.data.RowData;
 import org.apache.flink.table.data.binary.BinaryRowData;
+import org.apache.flink.util.MutableObjectIterator;
 
 import java.io.IOException;
 
@@ -29,7 +29,7 @@ import java.io.IOException;
  */
 public final class ProbeIterator {
 
-	private ChannelReaderInputViewIterator<BinaryRowData> source;
+	private MutableObjectIterator<BinaryRowData> source;
 
 	private RowData instance;
 	private BinaryRowData reuse;
@@ -38,7 +38,7 @@ public final class ProbeIterator {
 		this.instance = instance;
 	}
 
-	public void set(ChannelReaderInputViewIterator<BinaryRowData> source) {
+	public void set(MutableObjectIterator<BinaryRowData> source) {
 		this.source = source;
 	}
 
@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.join.lookup.cache;
+
+import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.api.common.typeinfo.TypeInformation;
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.functions.AsyncTableFunction;
+import org.apache.flink.table.functions.FunctionContext;
+import org.apache.flink.table.runtime.typeutils.InternalSerializers;
+import org.apache.flink.table.runtime.typeutils.InternalTypeInfo;
+import org.apache.flink.table.types.logical.RowType;
+import org.apache.flink.util.clock.SystemClock;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * An {@link AsyncTableFunction} which serves lookups from a {@link PartialLookupCache} and only
+ * calls the wrapped asynchronous lookup function on cache misses.
+ *
+ * <p>The results of the wrapped function are put into the cache when its lookup completes.
+ * Concurrent lookups of the same key which all miss the cache are not merged.
+ */
+public class CachingAsyncLookupFunction extends AsyncTableFunction<RowData> {
+
+	private static final long serialVersionUID = 1L;
+
+	private final AsyncTableFunction<RowData> delegate;
+	private final RowType producedType;
+	private final RowType keyType;
+	private final long maxRows;
+	private final long expireAfterWriteMs;
+	private final long expireAfterAccessMs;
+	private final boolean cacheMissingKey;
+
+	private transient PartialLookupCache cache;
+	private transient LookupCacheMetrics metrics;
+	private transient LookupFunctionInvoker invoker;
+	private transient TypeSerializer<RowData> keySerializer;
+
+	public CachingAsyncLookupFunction(
+			AsyncTableFunction<RowData> delegate,
+			RowType producedType,
+			RowType keyType,
+			long maxRows,
+			long expireAfterWriteMs,
+			long expireAfterAccessMs,
+			boolean cacheMissingKey) {
+		this.delegate = delegate;
+		this.producedType = producedType;
+		this.keyType = keyType;
+		this.maxRows = maxRows;
+		this.expireAfterWriteMs = expireAfterWriteMs;
+		this.expireAfterAccessMs = expireAfterAccessMs;
+		this.cacheMissingKey = cacheMissingKey;
+	}
+
+	@Override
+	public void open(FunctionContext context) throws Exception {
+		super.open(context);
+		delegate.open(context);
+		this.cache = new PartialLookupCache(
+			maxRows,
+			expireAfterWriteMs,
+			expireAfterAccessMs,
+			SystemClock.getInstance());
+		this.metrics = new LookupCacheMetrics(context.getMetricGroup(), cache::size);
+		// the result future precedes the lookup keys
+		this.keySerializer = InternalSerializers.create(keyType);
+		this.invoker = new LookupFunctionInvoker(
+			delegate, new Class<?>[]{CompletableFuture.class}, keyType);
+	}
+
+	public void eval(CompletableFuture<Collection<RowData>> future, Object... keys) {
+		RowData keyRow = GenericRowData.of(keys);
+		Collection<RowData> cachedRows = cache.getIfPresent(keyRow);
+		if (cachedRows != null) {
+			metrics.recordHit();
+			future.complete(cachedRows);
+			return;
+		}
+
+		metrics.recordMiss();
+		final long startTime = System.currentTimeMillis();
+		CompletableFuture<Collection<RowData>> lookupFuture = new CompletableFuture<>();
+		lookupFuture.whenComplete((rows, error) -> {
+			if (error != null) {
+				metrics.recordLoadFailure();
+				future.completeExceptionally(error);
+				return;
+			}
+			metrics.recordLoad(System.currentTimeMillis() - startTime);
+			// the rows are handed over to the join and must not be reused by the wrapped function
+			Collection<RowData> result = rows == null ? Collections.emptyList() : rows;
+			if (!result.isEmpty() || cacheMissingKey) {
+				cache.put(keySerializer.copy(keyRow), result);
+			}
+			future.complete(result);
+		});
+
+		Object[] arguments = new Object[keys.length + 1];
+		arguments[0] = lookupFuture;
+		System.arraycopy(keys, 0, arguments, 1, keys.length);
+		try {
+			invoker.invoke(arguments);
+		} catch (Throwable t) {
+			lookupFuture.completeExceptionally(t);
+		}
+	}
+
+	@Override
+	public TypeInformation<RowData> getResultType() {
+		return InternalTypeInfo.of(producedType);
+	}
+
+	@Override
+	public void close() throws Exception {
+		super.close();
+		delegate.close();
+	}
+
+	@VisibleForTesting
+	LookupCacheMetrics getMetrics() {
+		return metrics;
+	}
+}
@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.join.lookup.cache;
+
+import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.api.common.functions.util.ListCollector;
+import org.apache.flink.api.common.typeinfo.TypeInformation;
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.functions.FunctionContext;
+import org.apache.flink.table.functions.TableFunction;
+import org.apache.flink.table.runtime.typeutils.InternalSerializers;
+import org.apache.flink.table.runtime.typeutils.InternalTypeInfo;
+import org.apache.flink.table.types.logical.RowType;
+import org.apache.flink.util.clock.SystemClock;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A lookup {@link TableFunction} which serves lookups from a {@link PartialLookupCache} and only
+ * calls the wrapped lookup function on cache misses.
+ *
+ * <p>The wrapped function can be any lookup function of a dynamic table source, i.e. a
+ * {@link TableFunction} producing {@link RowData} whose {@code eval} method takes the lookup keys
+ * in internal data structures.
+ */
+public class CachingLookupFunction extends TableFunction<RowData> {
+
+	private static final long serialVersionUID = 1L;
+
+	private final TableFunction<RowData> delegate;
+	private final RowType producedType;
+	private final RowType keyType;
+	private final long maxRows;
+	private final long expireAfterWriteMs;
+	private final long expireAfterAccessMs;
+	private final boolean cacheMissingKey;
+
+	private transient PartialLookupCache cache;
+	private transient LookupCacheMetrics metrics;
+	private transient LookupFunctionInvoker invoker;
+	private transient TypeSerializer<RowData> keySerializer;
+	private transient TypeSerializer<RowData> serializer;
+	// rows collected by the delegate on a cache miss
+	private transient List<RowData> fetchedRows;
+
+	public CachingLookupFunction(
+			TableFunction<RowData> delegate,
+			RowType producedType,
+			RowType keyType,
+			long maxRows,
+			long expireAfterWriteMs,
+			long expireAfterAccessMs,
+			boolean cacheMissingKey) {
+		this.delegate = delegate;
+		this.producedType = producedType;
+		this.keyType = keyType;
+		this.maxRows = maxRows;
+		this.expireAfterWriteMs = expireAfterWriteMs;
+		this.expireAfterAccessMs = expireAfterAccessMs;
+		this.cacheMissingKey = cacheMissingKey;
+	}
+
+	@Override
+	public void open(FunctionContext context) throws Exception {
+		super.open(context);
+		delegate.open(context);
+		this.cache = new PartialLookupCache(
+			maxRows,
+			expireAfterWriteMs,
+			expireAfterAccessMs,
+			SystemClock.getInstance());
+		this.metrics = new LookupCacheMetrics(context.getMetricGroup(), cache::size);
+		this.keySerializer = InternalSerializers.create(keyType);
+		this.invoker = new LookupFunctionInvoker(delegate, new Class<?>[0], keyType);
+		this.serializer = InternalSerializers.create(producedType);
+		this.fetchedRows = new ArrayList<>();
+		delegate.setCollector(new ListCollector<>(fetchedRows));
+	}
+
+	public void eval(Object... keys) throws Exception {
+		RowData keyRow = GenericRowData.of(keys);
+		Collection<RowData> cachedRows = cache.getIfPresent(keyRow);
+		if (cachedRows != null) {
+			metrics.recordHit();
+		} else {
+			metrics.recordMiss();
+			cachedRows = lookup(keyRow, keys);
+		}
+		for (RowData row : cachedRows) {
+			collect(row);
+		}
+	}
+
+	private Collection<RowData> lookup(RowData keyRow, Object[] keys) throws Exception {
+		fetchedRows.clear();
+		long startTime = System.currentTimeMillis();
+		try {
+			invoker.invoke(keys);
+		} catch (Exception e) {
+			metrics.recordLoadFailure();
+			throw e;
+		}
+		metrics.recordLoad(System.currentTimeMillis() - startTime);
+
+		final Collection<RowData> rows;
+		if (fetchedRows.isEmpty()) {
+			rows = Collections.emptyList();
+		} else {
+			// the wrapped function may reuse the emitted rows
+			List<RowData> copiedRows = new ArrayList<>(fetchedRows.size());
+			for (RowData row : fetchedRows) {
+				copiedRows.add(serializer.copy(row));
+			}
+			rows = copiedRows;
+		}
+		if (!rows.isEmpty() || cacheMissingKey) {
+			cache.put(keySerializer.copy(keyRow), rows);
+		}
+		return rows;
+	}
+
+	@Override
+	public TypeInformation<RowData> getResultType() {
+		return InternalTypeInfo.of(producedType);
+	}
+
+	@Override
+	public void close() throws Exception {
+		super.close();
+		delegate.close();
+	}
+
+	@VisibleForTesting
+	LookupCacheMetrics getMetrics() {
+		return metrics;
+	}
+}
@@ -0,0 +1,216 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.join.lookup.cache;
+
+import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.api.common.io.InputFormat;
+import org.apache.flink.api.common.io.RichInputFormat;
+import org.apache.flink.api.common.typeinfo.TypeInformation;
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.core.io.InputSplit;
+import org.apache.flink.runtime.util.ExecutorThreadFactory;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.functions.FunctionContext;
+import org.apache.flink.table.functions.TableFunction;
+import org.apache.flink.table.runtime.typeutils.InternalSerializers;
+import org.apache.flink.table.runtime.typeutils.InternalTypeInfo;
+import org.apache.flink.table.types.logical.RowType;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A lookup {@link TableFunction} which keeps a full snapshot of the looked up table in memory.
+ *
+ * <p>The snapshot is loaded through the {@link InputFormat} of the table source when the function
+ * is opened and reloaded in the background in a fixed interval. A reload builds a new snapshot and
+ * swaps it in atomically once it is complete, so lookups are never blocked by a reload and always
+ * see a consistent snapshot. If a reload fails, the previous snapshot is kept until the next
+ * reload.
+ */
+public class FullCachingLookupFunction extends TableFunction<RowData> {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final Logger LOG = LoggerFactory.getLogger(FullCachingLookupFunction.class);
+
+	private final InputFormat<RowData, ?> inputFormat;
+	private final RowType rowType;
+	private final int[] lookupKeys;
+	private final long reloadIntervalMs;
+
+	private transient RowData.FieldGetter[] lookupFieldGetters;
+	private transient TypeSerializer<RowData> serializer;
+	private transient LookupCacheMetrics metrics;
+	private transient ScheduledExecutorService reloadExecutor;
+
+	// the current snapshot, it is replaced as a whole by a reload
+	private transient volatile Map<RowData, List<RowData>> snapshot;
+	private transient volatile long numCachedRecords;
+
+	public FullCachingLookupFunction(
+			InputFormat<RowData, ?> inputFormat,
+			RowType rowType,
+			int[] lookupKeys,
+			long reloadIntervalMs) {
+		this.inputFormat = inputFormat;
+		this.rowType = rowType;
+		this.lookupKeys = lookupKeys;
+		this.reloadIntervalMs = reloadIntervalMs;
+	}
+
+	@Override
+	public void open(FunctionContext context) throws Exception {
+		super.open(context);
+		this.lookupFieldGetters = new RowData.FieldGetter[lookupKeys.length];
+		for (int i = 0; i < lookupKeys.length; i++) {
+			lookupFieldGetters[i] = RowData.createFieldGetter(rowType.getTypeAt(lookupKeys[i]), lookupKeys[i]);
+		}
+		this.serializer = InternalSerializers.create(rowType);
+		this.metrics = new LookupCacheMetrics(context.getMetricGroup(), () -> numCachedRecords);
+
+		// the first snapshot is loaded synchronously, lookups can't be served without it
+		LOG.info("Populating full lookup cache");
+		reload();
+		if (snapshot == null) {
+			throw new IllegalStateException("Failed to load the table into the full lookup cache.");
+		}
+
+		if (reloadIntervalMs > 0) {
+			this.reloadExecutor = Executors.newSingleThreadScheduledExecutor(
+				new ExecutorThreadFactory("lookup-cache-reloader"));
+			reloadExecutor.scheduleWithFixedDelay(
+				this::reload,
+				reloadIntervalMs,
+				reloadIntervalMs,
+				TimeUnit.MILLISECONDS);
+		}
+	}
+
+	public void eval(Object... keys) {
+		for (Object key : keys) {
+			if (key == null) {
+				// a null key never matches, even rows whose key is null
+				metrics.recordMiss();
+				return;
+			}
+		}
+		List<RowData> rows = snapshot.get(GenericRowData.of(keys));
+		if (rows == null) {
+			metrics.recordMiss();
+			return;
+		}
+		metrics.recordHit();
+		for (RowData row : rows) {
+			collect(row);
+		}
+	}
+
+	private void reload() {
+		long startTime = System.currentTimeMillis();
+		try {
+			Map<RowData, List<RowData>> newSnapshot = load();
+			long count = 0;
+			for (List<RowData> rows : newSnapshot.values()) {
+				count += rows.size();
+			}
+			snapshot = newSnapshot;
+			numCachedRecords = count;
+			long loadTime = System.currentTimeMillis() - startTime;
+			metrics.recordLoad(loadTime);
+			LOG.info("Loaded {} row(s) into full lookup cache in {} ms", count, loadTime);
+		} catch (Throwable t) {
+			metrics.recordLoadFailure();
+			LOG.warn("Failed to reload full lookup cache, keeping the previous snapshot.", t);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private Map<RowData, List<RowData>> load() throws Exception {
+		InputFormat<RowData, InputSplit> format = (InputFormat<RowData, InputSplit>) inputFormat;
+		Map<RowData, List<RowData>> newSnapshot = new HashMap<>();
+		format.configure(new Configuration());
+		if (format instanceof RichInputFormat) {
+			((RichInputFormat<RowData, InputSplit>) format).openInputFormat();
+		}
+		try {
+			GenericRowData reuse = new GenericRowData(rowType.getFieldCount());
+			for (InputSplit split : format.createInputSplits(1)) {
+				format.open(split);
+				try {
+					while (!format.reachedEnd()) {
+						RowData row = format.nextRecord(reuse);
+						if (row != null) {
+							// the key is extracted from the copy, so it does not point into the reused row
+							RowData copiedRow = serializer.copy(row);
+							newSnapshot
+								.computeIfAbsent(extractLookupKey(copiedRow), k -> new ArrayList<>())
+								.add(copiedRow);
+						}
+					}
+				} finally {
+					format.close();
+				}
+			}
+		} finally {
+			if (format instanceof RichInputFormat) {
+				((RichInputFormat<RowData, InputSplit>) format).closeInputFormat();
+			}
+		}
+		return newSnapshot;
+	}
+
+	private RowData extractLookupKey(RowData row) {
+		GenericRowData key = new GenericRowData(lookupFieldGetters.length);
+		for (int i = 0; i < lookupFieldGetters.length; i++) {
+			key.setField(i, lookupFieldGetters[i].getFieldOrNull(row));
+		}
+		return key;
+	}
+
+	@Override
+	public TypeInformation<RowData> getResultType() {
+		return InternalTypeInfo.of(rowType);
+	}
+
+	@Override
+	public void close() throws Exception {
+		super.close();
+		if (reloadExecutor != null) {
+			reloadExecutor.shutdownNow();
+		}
+		snapshot = Collections.emptyMap();
+	}
+
+	@VisibleForTesting
+	LookupCacheMetrics getMetrics() {
+		return metrics;
+	}
+}
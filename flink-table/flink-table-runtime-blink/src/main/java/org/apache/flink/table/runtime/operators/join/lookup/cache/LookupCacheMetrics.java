@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.join.lookup.cache;
+
+import org.apache.flink.metrics.Gauge;
+import org.apache.flink.metrics.MetricGroup;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Metrics of a lookup cache, registered in the group {@value #GROUP_NAME} of the lookup function.
+ *
+ * <p>All metrics can be updated concurrently.
+ */
+public final class LookupCacheMetrics {
+
+	public static final String GROUP_NAME = "lookupCache";
+
+	public static final String HIT_COUNT = "hitCount";
+	public static final String MISS_COUNT = "missCount";
+	public static final String HIT_RATE = "hitRate";
+	public static final String LOAD_COUNT = "loadCount";
+	public static final String NUM_LOAD_FAILURES = "numLoadFailures";
+	public static final String LATEST_LOAD_TIME = "latestLoadTime";
+	public static final String NUM_CACHED_RECORDS = "numCachedRecords";
+
+	private final AtomicLong hitCount = new AtomicLong();
+	private final AtomicLong missCount = new AtomicLong();
+	private final AtomicLong loadCount = new AtomicLong();
+	private final AtomicLong numLoadFailures = new AtomicLong();
+	private volatile long latestLoadTime;
+
+	public LookupCacheMetrics(MetricGroup functionMetricGroup, LongSupplier numCachedRecords) {
+		MetricGroup group = functionMetricGroup.addGroup(GROUP_NAME);
+		group.gauge(HIT_COUNT, (Gauge<Long>) hitCount::get);
+		group.gauge(MISS_COUNT, (Gauge<Long>) missCount::get);
+		group.gauge(HIT_RATE, (Gauge<Double>) this::getHitRate);
+		group.gauge(LOAD_COUNT, (Gauge<Long>) loadCount::get);
+		group.gauge(NUM_LOAD_FAILURES, (Gauge<Long>) numLoadFailures::get);
+		group.gauge(LATEST_LOAD_TIME, (Gauge<Long>) () -> latestLoadTime);
+		group.gauge(NUM_CACHED_RECORDS, (Gauge<Long>) numCachedRecords::getAsLong);
+	}
+
+	public void recordHit() {
+		hitCount.incrementAndGet();
+	}
+
+	public void recordMiss() {
+		missCount.incrementAndGet();
+	}
+
+	/**
+	 * Records a successful load which took the given time in milliseconds.
+	 */
+	public void recordLoad(long loadTimeMs) {
+		loadCount.incrementAndGet();
+		latestLoadTime = loadTimeMs;
+	}
+
+	public void recordLoadFailure() {
+		numLoadFailures.incrementAndGet();
+	}
+
+	public long getHitCount() {
+		return hitCount.get();
+	}
+
+	public long getMissCount() {
+		return missCount.get();
+	}
+
+	public long getLoadCount() {
+		return loadCount.get();
+	}
+
+	public long getNumLoadFailures() {
+		return numLoadFailures.get();
+	}
+
+	public double getHitRate() {
+		long hits = hitCount.get();
+		long total = hits + missCount.get();
+		return total == 0 ? 0.0 : (double) hits / total;
+	}
+}
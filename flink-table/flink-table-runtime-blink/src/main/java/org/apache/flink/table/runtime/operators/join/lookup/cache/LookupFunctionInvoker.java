@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.join.lookup.cache;
+
+import org.apache.flink.table.api.TableException;
+import org.apache.flink.table.functions.UserDefinedFunction;
+import org.apache.flink.table.types.extraction.ExtractionUtils;
+import org.apache.flink.table.types.logical.RowType;
+import org.apache.flink.table.types.logical.utils.LogicalTypeUtils;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Invokes the {@code eval} method of a wrapped lookup function.
+ *
+ * <p>The planner validates the signature of the wrapped function against the lookup keys, and
+ * the caching functions expose a generic {@code eval(Object...)} to the generated code. This
+ * class picks the {@code eval} method of the wrapped function which accepts the internal data
+ * structures of the lookup keys and calls it reflectively. It is only used when the cache misses,
+ * so the reflection overhead is negligible compared to the lookup itself.
+ */
+final class LookupFunctionInvoker {
+
+	private final UserDefinedFunction function;
+	private final Method method;
+	private final int numFixedParameters;
+
+	/**
+	 * @param function the wrapped lookup function
+	 * @param leadingParameterClasses the classes of the parameters which precede the lookup keys,
+	 *                                e.g. the result future of an asynchronous lookup function
+	 * @param keyType the types of the lookup keys
+	 */
+	LookupFunctionInvoker(UserDefinedFunction function, Class<?>[] leadingParameterClasses, RowType keyType) {
+		this.function = function;
+		Class<?>[] argumentClasses = new Class<?>[leadingParameterClasses.length + keyType.getFieldCount()];
+		System.arraycopy(leadingParameterClasses, 0, argumentClasses, 0, leadingParameterClasses.length);
+		for (int i = 0; i < keyType.getFieldCount(); i++) {
+			argumentClasses[leadingParameterClasses.length + i] =
+				LogicalTypeUtils.toInternalConversionClass(keyType.getTypeAt(i));
+		}
+		this.method = findEvalMethod(function.getClass(), argumentClasses);
+		this.method.setAccessible(true);
+		this.numFixedParameters = method.isVarArgs() ?
+			method.getParameterCount() - 1 : method.getParameterCount();
+	}
+
+	/**
+	 * Calls the {@code eval} method with the given arguments, exceptions thrown by the method
+	 * itself are rethrown unwrapped.
+	 */
+	void invoke(Object... arguments) throws Exception {
+		Object[] actualArguments;
+		if (method.isVarArgs()) {
+			actualArguments = new Object[numFixedParameters + 1];
+			System.arraycopy(arguments, 0, actualArguments, 0, numFixedParameters);
+			Class<?> componentType = method.getParameterTypes()[numFixedParameters].getComponentType();
+			int numVarArgs = arguments.length - numFixedParameters;
+			Object varArgs = Array.newInstance(componentType, numVarArgs);
+			for (int i = 0; i < numVarArgs; i++) {
+				Array.set(varArgs, i, arguments[numFixedParameters + i]);
+			}
+			actualArguments[numFixedParameters] = varArgs;
+		} else {
+			actualArguments = arguments;
+		}
+		try {
+			method.invoke(function, actualArguments);
+		} catch (InvocationTargetException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof Exception) {
+				throw (Exception) cause;
+			} else if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw e;
+		}
+	}
+
+	private static Method findEvalMethod(Class<?> clazz, Class<?>[] argumentClasses) {
+		Method assignableMethod = null;
+		Method varArgsMethod = null;
+		for (Method method : clazz.getMethods()) {
+			if (!method.getName().equals("eval") || Modifier.isStatic(method.getModifiers())) {
+				continue;
+			}
+			Class<?>[] parameterClasses = method.getParameterTypes();
+			if (method.isVarArgs()) {
+				if (varArgsMethod == null && acceptsVarArgs(parameterClasses, argumentClasses)) {
+					varArgsMethod = method;
+				}
+			} else if (parameterClasses.length == argumentClasses.length) {
+				boolean exact = true;
+				boolean assignable = true;
+				for (int i = 0; i < argumentClasses.length && assignable; i++) {
+					exact &= ExtractionUtils.primitiveToWrapper(parameterClasses[i]) == argumentClasses[i];
+					assignable = ExtractionUtils.isAssignable(argumentClasses[i], parameterClasses[i], true);
+				}
+				if (exact) {
+					return method;
+				} else if (assignable && assignableMethod == null) {
+					assignableMethod = method;
+				}
+			}
+		}
+		// prefer an exact match over an assignable one, and both over a var-args method
+		if (assignableMethod != null) {
+			return assignableMethod;
+		} else if (varArgsMethod != null) {
+			return varArgsMethod;
+		}
+		throw new TableException(String.format(
+			"Could not find an eval method accepting (%s) in lookup function %s.",
+			Arrays.stream(argumentClasses).map(Class::getName).collect(Collectors.joining(", ")),
+			clazz.getName()));
+	}
+
+	private static boolean acceptsVarArgs(Class<?>[] parameterClasses, Class<?>[] argumentClasses) {
+		int numFixedParameters = parameterClasses.length - 1;
+		if (numFixedParameters > argumentClasses.length) {
+			return false;
+		}
+		Class<?> componentClass = parameterClasses[numFixedParameters].getComponentType();
+		for (int i = 0; i < argumentClasses.length; i++) {
+			Class<?> parameterClass = i < numFixedParameters ? parameterClasses[i] : componentClass;
+			if (!ExtractionUtils.isAssignable(argumentClasses[i], parameterClass, true)) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
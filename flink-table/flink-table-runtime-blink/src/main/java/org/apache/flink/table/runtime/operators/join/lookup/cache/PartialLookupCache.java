@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.join.lookup.cache;
+
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.util.clock.Clock;
+
+import javax.annotation.Nullable;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * A bounded cache which maps lookup keys to the rows returned by a lookup function.
+ *
+ * <p>Entries are evicted in least-recently-used order once the cache holds more than
+ * {@code maxRows} keys, and expire after a fixed time since they have been loaded or last
+ * accessed. An empty collection is a valid entry, which allows to cache keys without any
+ * matching row.
+ *
+ * <p>The cache is thread-safe, because the results of asynchronous lookup functions are put from
+ * the threads completing the lookups.
+ */
+public final class PartialLookupCache {
+
+	private final long maxRows;
+	// 0 means the entries never expire
+	private final long expireAfterWriteMs;
+	private final long expireAfterAccessMs;
+	private final Clock clock;
+
+	private final LinkedHashMap<RowData, CacheEntry> entries;
+
+	public PartialLookupCache(
+			long maxRows,
+			long expireAfterWriteMs,
+			long expireAfterAccessMs,
+			Clock clock) {
+		checkArgument(maxRows > 0, "The max number of rows must be positive.");
+		checkArgument(expireAfterWriteMs >= 0 && expireAfterAccessMs >= 0);
+		this.maxRows = maxRows;
+		this.expireAfterWriteMs = expireAfterWriteMs;
+		this.expireAfterAccessMs = expireAfterAccessMs;
+		this.clock = checkNotNull(clock);
+		// access order turns the map into a LRU list
+		this.entries = new LinkedHashMap<RowData, CacheEntry>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<RowData, CacheEntry> eldest) {
+				return size() > PartialLookupCache.this.maxRows;
+			}
+		};
+	}
+
+	/**
+	 * Returns the cached rows of the given key, or null if the key is not cached or has expired.
+	 */
+	@Nullable
+	public synchronized Collection<RowData> getIfPresent(RowData key) {
+		CacheEntry entry = entries.get(key);
+		if (entry == null) {
+			return null;
+		}
+		long now = clock.absoluteTimeMillis();
+		if (isExpired(entry, now)) {
+			entries.remove(key);
+			return null;
+		}
+		entry.lastAccessTime = now;
+		return entry.rows;
+	}
+
+	/**
+	 * Puts the rows of the given key into the cache, the key and the rows must not be modified
+	 * afterwards.
+	 */
+	public synchronized void put(RowData key, Collection<RowData> rows) {
+		long now = clock.absoluteTimeMillis();
+		entries.put(key, new CacheEntry(rows, now));
+	}
+
+	/**
+	 * Returns the number of cached keys, including expired keys which have not been accessed yet.
+	 */
+	public synchronized long size() {
+		return entries.size();
+	}
+
+	private boolean isExpired(CacheEntry entry, long now) {
+		return (expireAfterWriteMs > 0 && now - entry.writeTime >= expireAfterWriteMs) ||
+			(expireAfterAccessMs > 0 && now - entry.lastAccessTime >= expireAfterAccessMs);
+	}
+
+	private static final class CacheEntry {
+		private final Collection<RowData> rows;
+		private final long writeTime;
+		private long lastAccessTime;
+
+		private CacheEntry(Collection<RowData> rows, long writeTime) {
+			this.rows = rows;
+			this.writeTime = writeTime;
+			this.lastAccessTime = writeTime;
+		}
+	}
+}
@@ -0,0 +1,258 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.join.stream;
+
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.streaming.api.operators.AbstractInput;
+import org.apache.flink.streaming.api.operators.AbstractStreamOperatorV2;
+import org.apache.flink.streaming.api.operators.Input;
+import org.apache.flink.streaming.api.operators.MultipleInputStreamOperator;
+import org.apache.flink.streaming.api.operators.StreamOperatorParameters;
+import org.apache.flink.streaming.api.operators.TimestampedCollector;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.binary.BinaryRowData;
+import org.apache.flink.table.data.util.RowDataUtil;
+import org.apache.flink.table.data.utils.JoinedRowData;
+import org.apache.flink.table.runtime.generated.GeneratedJoinCondition;
+import org.apache.flink.table.runtime.generated.JoinCondition;
+import org.apache.flink.table.runtime.operators.join.NullAwareJoinHelper;
+import org.apache.flink.table.runtime.operators.join.stream.state.JoinInputSideSpec;
+import org.apache.flink.table.runtime.operators.join.stream.state.JoinRecordStateView;
+import org.apache.flink.table.runtime.operators.join.stream.state.JoinRecordStateViews;
+import org.apache.flink.table.runtime.typeutils.InternalTypeInfo;
+import org.apache.flink.types.RowKind;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+
+/**
+ * Streaming unbounded INNER Join operator which joins N inputs sharing the same join key.
+ *
+ * <p>A cascade of N-1 {@link StreamingJoinOperator}s keeps a copy of every intermediate join
+ * result in the state of the downstream join. If all inputs are partitioned by the same join key,
+ * this operator can be used instead: it keeps exactly one {@link JoinRecordStateView} per input
+ * and, for every incoming record, enumerates the matching records of all other inputs without
+ * materializing intermediate results.
+ *
+ * <p>The output row is the concatenation of all inputs in input order. The join condition at
+ * index {@code i} is evaluated between the joined row of the inputs {@code 0..i} (left side) and
+ * the record of input {@code i + 1} (right side), which is the same shape the conditions have in
+ * the equivalent left-deep cascade of binary joins.
+ *
+ * <p>Similar to the inner case of {@link StreamingJoinOperator}, the {@link RowKind} of the input
+ * record is forwarded to the joined records.
+ */
+public class StreamingMultiJoinOperator extends AbstractStreamOperatorV2<RowData>
+		implements MultipleInputStreamOperator<RowData> {
+
+	private static final String RECORDS_STATE_NAME_PREFIX = "input-records-";
+
+	private final List<InternalTypeInfo<RowData>> inputTypes;
+	private final List<JoinInputSideSpec> inputSideSpecs;
+	private final List<GeneratedJoinCondition> generatedJoinConditions;
+
+	/**
+	 * Should filter null keys.
+	 */
+	private final int[] nullFilterKeys;
+
+	/**
+	 * No keys need to filter null.
+	 */
+	private final boolean nullSafe;
+
+	/**
+	 * Filter null to all keys.
+	 */
+	private final boolean filterAllNulls;
+
+	private final long stateRetentionTime;
+
+	private final int numberOfInputs;
+
+	private transient JoinCondition[] joinConditions;
+	private transient JoinRecordStateView[] recordStateViews;
+	private transient TimestampedCollector<RowData> collector;
+
+	// the records of all inputs matching the current key, reused across elements
+	private transient List<List<RowData>> associatedRecords;
+	// joinedRows[i] is the joined row of the inputs 0..i+1
+	private transient JoinedRowData[] joinedRows;
+
+	public StreamingMultiJoinOperator(
+			StreamOperatorParameters<RowData> parameters,
+			List<InternalTypeInfo<RowData>> inputTypes,
+			List<JoinInputSideSpec> inputSideSpecs,
+			List<GeneratedJoinCondition> generatedJoinConditions,
+			boolean[] filterNullKeys,
+			long stateRetentionTime) {
+		super(parameters, inputTypes.size());
+		checkArgument(inputTypes.size() > 2, "A multi-way join requires at least 3 inputs.");
+		checkArgument(inputSideSpecs.size() == inputTypes.size());
+		checkArgument(generatedJoinConditions.size() == inputTypes.size() - 1);
+		this.numberOfInputs = inputTypes.size();
+		this.inputTypes = inputTypes;
+		this.inputSideSpecs = inputSideSpecs;
+		this.generatedJoinConditions = generatedJoinConditions;
+		this.stateRetentionTime = stateRetentionTime;
+		this.nullFilterKeys = NullAwareJoinHelper.getNullFilterKeys(filterNullKeys);
+		this.nullSafe = nullFilterKeys.length == 0;
+		this.filterAllNulls = nullFilterKeys.length == filterNullKeys.length;
+	}
+
+	@Override
+	public void open() throws Exception {
+		super.open();
+
+		ClassLoader classLoader = getRuntimeContext().getUserCodeClassLoader();
+		this.joinConditions = new JoinCondition[numberOfInputs - 1];
+		for (int i = 0; i < joinConditions.length; i++) {
+			JoinCondition condition = generatedJoinConditions.get(i).newInstance(classLoader);
+			condition.setRuntimeContext(getRuntimeContext());
+			condition.open(new Configuration());
+			joinConditions[i] = condition;
+		}
+
+		this.recordStateViews = new JoinRecordStateView[numberOfInputs];
+		this.associatedRecords = new ArrayList<>(numberOfInputs);
+		for (int i = 0; i < numberOfInputs; i++) {
+			recordStateViews[i] = JoinRecordStateViews.create(
+				getRuntimeContext(),
+				RECORDS_STATE_NAME_PREFIX + i,
+				inputSideSpecs.get(i),
+				inputTypes.get(i),
+				stateRetentionTime);
+			associatedRecords.add(new ArrayList<>());
+		}
+
+		this.joinedRows = new JoinedRowData[numberOfInputs - 1];
+		for (int i = 0; i < joinedRows.length; i++) {
+			joinedRows[i] = new JoinedRowData();
+		}
+
+		this.collector = new TimestampedCollector<>(output);
+	}
+
+	@Override
+	public void close() throws Exception {
+		super.close();
+		if (joinConditions != null) {
+			for (JoinCondition condition : joinConditions) {
+				if (condition != null) {
+					condition.close();
+				}
+			}
+		}
+	}
+
+	@Override
+	@SuppressWarnings("rawtypes")
+	public List<Input> getInputs() {
+		List<Input> inputs = new ArrayList<>(numberOfInputs);
+		for (int i = 0; i < numberOfInputs; i++) {
+			final int inputIndex = i;
+			inputs.add(new AbstractInput<RowData, RowData>(this, i + 1) {
+				@Override
+				public void processElement(StreamRecord<RowData> element) throws Exception {
+					StreamingMultiJoinOperator.this.processElement(element, inputIndex);
+				}
+			});
+		}
+		return inputs;
+	}
+
+	/**
+	 * Process an input element of the given input and output the incremental joined records.
+	 *
+	 * <pre>
+	 * if input record is accumulate, state.add(record)
+	 * if input record is retract, state.retract(record)
+	 * if the join key contains nulls which should be filtered, skip
+	 * if any other input has no records for the current key, skip
+	 * send +I/+U/-U/-D[r0+...+record+...+rN]s for every combination which matches all
+	 * join conditions (using input RowKind)
+	 * </pre>
+	 */
+	private void processElement(StreamRecord<RowData> element, int inputIndex) throws Exception {
+		RowData input = element.getValue();
+		boolean isAccumulateMsg = RowDataUtil.isAccumulateMsg(input);
+		RowKind inputRowKind = input.getRowKind();
+		input.setRowKind(RowKind.INSERT); // erase RowKind for later state updating
+
+		if (isAccumulateMsg) {
+			recordStateViews[inputIndex].addRecord(input);
+		} else {
+			recordStateViews[inputIndex].retractRecord(input);
+		}
+
+		if (!nullSafe) {
+			// key is always BinaryRowData
+			BinaryRowData joinKey = (BinaryRowData) getCurrentKey();
+			if (filterAllNulls ? joinKey.anyNull() : joinKey.anyNull(nullFilterKeys)) {
+				return;
+			}
+		}
+
+		// fetch the records of all other inputs once, the enumeration below visits them
+		// many times and each access to the state view may hit the state backend
+		for (int i = 0; i < numberOfInputs; i++) {
+			List<RowData> records = associatedRecords.get(i);
+			records.clear();
+			if (i == inputIndex) {
+				records.add(input);
+			} else {
+				for (RowData record : recordStateViews[i].getRecords()) {
+					records.add(record);
+				}
+				if (records.isEmpty()) {
+					// an inner join can not produce anything for this key
+					return;
+				}
+			}
+		}
+
+		joinedRows[joinedRows.length - 1].setRowKind(inputRowKind);
+		for (RowData first : associatedRecords.get(0)) {
+			joinAndOutput(first, 1);
+		}
+	}
+
+	/**
+	 * Joins the given row of the inputs {@code 0..inputIndex-1} with the records of input
+	 * {@code inputIndex} and either recurses into the next input or emits the result.
+	 */
+	private void joinAndOutput(RowData left, int inputIndex) {
+		JoinCondition condition = joinConditions[inputIndex - 1];
+		JoinedRowData joined = joinedRows[inputIndex - 1];
+		boolean isLast = inputIndex == numberOfInputs - 1;
+		for (RowData right : associatedRecords.get(inputIndex)) {
+			if (condition.apply(left, right)) {
+				joined.replace(left, right);
+				if (isLast) {
+					collector.collect(joined);
+				} else {
+					joinAndOutput(joined, inputIndex + 1);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.join.stream;
+
+import org.apache.flink.streaming.api.operators.AbstractStreamOperatorFactory;
+import org.apache.flink.streaming.api.operators.StreamOperator;
+import org.apache.flink.streaming.api.operators.StreamOperatorParameters;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.runtime.generated.GeneratedJoinCondition;
+import org.apache.flink.table.runtime.operators.join.stream.state.JoinInputSideSpec;
+import org.apache.flink.table.runtime.typeutils.InternalTypeInfo;
+
+import java.util.List;
+
+/**
+ * The factory to create {@link StreamingMultiJoinOperator}.
+ */
+public class StreamingMultiJoinOperatorFactory extends AbstractStreamOperatorFactory<RowData> {
+	private static final long serialVersionUID = 1L;
+
+	private final List<InternalTypeInfo<RowData>> inputTypes;
+	private final List<JoinInputSideSpec> inputSideSpecs;
+	private final List<GeneratedJoinCondition> joinConditions;
+	private final boolean[] filterNullKeys;
+	private final long stateRetentionTime;
+
+	public StreamingMultiJoinOperatorFactory(
+			List<InternalTypeInfo<RowData>> inputTypes,
+			List<JoinInputSideSpec> inputSideSpecs,
+			List<GeneratedJoinCondition> joinConditions,
+			boolean[] filterNullKeys,
+			long stateRetentionTime) {
+		this.inputTypes = inputTypes;
+		this.inputSideSpecs = inputSideSpecs;
+		this.joinConditions = joinConditions;
+		this.filterNullKeys = filterNullKeys;
+		this.stateRetentionTime = stateRetentionTime;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T extends StreamOperator<RowData>> T createStreamOperator(StreamOperatorParameters<RowData> parameters) {
+		return (T) new StreamingMultiJoinOperator(
+				parameters,
+				inputTypes,
+				inputSideSpecs,
+				joinConditions,
+				filterNullKeys,
+				stateRetentionTime);
+	}
+
+	@Override
+	public Class<? extends StreamOperator> getStreamOperatorClass(ClassLoader classLoader) {
+		return StreamingMultiJoinOperator.class;
+	}
+}
@@ -0,0 +1,461 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.rank;
+
+import org.apache.flink.api.common.ExecutionConfig;
+import org.apache.flink.api.common.state.MapState;
+import org.apache.flink.api.common.state.MapStateDescriptor;
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.api.java.typeutils.ListTypeInfo;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.util.RowDataUtil;
+import org.apache.flink.table.runtime.generated.GeneratedRecordComparator;
+import org.apache.flink.table.runtime.generated.GeneratedRecordEqualiser;
+import org.apache.flink.table.runtime.generated.RecordEqualiser;
+import org.apache.flink.table.runtime.keyselector.RowDataKeySelector;
+import org.apache.flink.table.runtime.typeutils.InternalTypeInfo;
+import org.apache.flink.table.runtime.util.LRUMap;
+import org.apache.flink.types.RowKind;
+import org.apache.flink.util.Collector;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A TopN function could handle updating stream, which keeps the head of each partition in a
+ * {@link TopNBuffer} and only reads the state of a partition when the buffer runs out of records.
+ *
+ * <p>Input stream can contain any change kind: INSERT, DELETE, UPDATE_BEFORE and UPDATE_AFTER.
+ *
+ * <p>Different from {@link RetractableTopNFunction}, there is no state holding the sorted sort keys
+ * of a partition which would have to be read and rewritten on every record. The records are kept
+ * in a map state from sort key to records, and the buffer of a partition caches the first
+ * {@code 2 * rankEnd} records at most. The buffer always contains all records of the sort keys it
+ * contains, so the ranks of the buffered records are exact. A record which sorts behind the buffer
+ * only updates the map state. The records are only loaded from state, in a scan of the partition,
+ * when the buffer of a partition is not cached or when retractions leave it with no more than
+ * {@code rankEnd} records while the state still holds records behind the buffer.
+ */
+public class CachedRetractableTopNFunction extends AbstractTopNFunction {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final Logger LOG = LoggerFactory.getLogger(CachedRetractableTopNFunction.class);
+
+	// Message to indicate the state is cleared because of ttl restriction. The message could be used to output to log.
+	private static final String STATE_CLEARED_WARN_MSG = "The state is cleared because of state ttl. " +
+			"This will result in incorrect result. You can increase the state ttl to avoid this.";
+
+	private final InternalTypeInfo<RowData> sortKeyType;
+	private final TypeSerializer<RowData> inputRowSer;
+	private final long cacheSize;
+
+	// flag to skip records with non-exist error instead to fail, true by default.
+	private final boolean lenient = true;
+
+	// a map state stores mapping from sort key to records list
+	private transient MapState<RowData, List<RowData>> dataState;
+
+	// the buffer of the current partition
+	private transient PartitionBuffer partitionBuffer;
+
+	// the kvBuffers stores mapping from partition key to it's buffer
+	private transient Map<RowData, PartitionBuffer> kvBuffers;
+
+	// The util to compare two RowData equals to each other.
+	private GeneratedRecordEqualiser generatedEqualiser;
+	private RecordEqualiser equaliser;
+
+	public CachedRetractableTopNFunction(
+			long minRetentionTime,
+			long maxRetentionTime,
+			InternalTypeInfo<RowData> inputRowType,
+			GeneratedRecordComparator sortKeyGeneratedRecordComparator,
+			RowDataKeySelector sortKeySelector,
+			RankType rankType,
+			RankRange rankRange,
+			GeneratedRecordEqualiser generatedEqualiser,
+			boolean generateUpdateBefore,
+			boolean outputRankNumber,
+			long cacheSize) {
+		super(minRetentionTime, maxRetentionTime, inputRowType, sortKeyGeneratedRecordComparator, sortKeySelector,
+				rankType, rankRange, generateUpdateBefore, outputRankNumber);
+		this.sortKeyType = sortKeySelector.getProducedType();
+		this.inputRowSer = inputRowType.createSerializer(new ExecutionConfig());
+		this.generatedEqualiser = generatedEqualiser;
+		this.cacheSize = cacheSize;
+	}
+
+	@Override
+	public void open(Configuration parameters) throws Exception {
+		super.open(parameters);
+
+		// compile equaliser
+		equaliser = generatedEqualiser.newInstance(getRuntimeContext().getUserCodeClassLoader());
+		generatedEqualiser = null;
+
+		int lruCacheSize = Math.max(1, (int) (cacheSize / (2 * getDefaultTopNSize())));
+		kvBuffers = new LRUMap<>(lruCacheSize);
+		LOG.info("Top{} operator is using LRU caches key-size: {}", getDefaultTopNSize(), lruCacheSize);
+
+		ListTypeInfo<RowData> valueTypeInfo = new ListTypeInfo<>(inputRowType);
+		MapStateDescriptor<RowData, List<RowData>> mapStateDescriptor = new MapStateDescriptor<>(
+				"data-state-with-cache", sortKeyType, valueTypeInfo);
+		dataState = getRuntimeContext().getMapState(mapStateDescriptor);
+
+		// metrics
+		registerMetric(kvBuffers.size() * 2 * getDefaultTopNSize());
+	}
+
+	@Override
+	public void processElement(RowData input, Context ctx, Collector<RowData> out) throws Exception {
+		long currentTime = ctx.timerService().currentProcessingTime();
+		// register state-cleanup timer
+		registerProcessingCleanupTimer(ctx, currentTime);
+		initRankEnd(input);
+		initHeapStates();
+
+		RowData sortKey = sortKeySelector.getKey(input);
+		boolean isAccumulate = RowDataUtil.isAccumulateMsg(input);
+		if (isAccumulate) {
+			RowData record = inputRowSer.copy(input);
+			record.setRowKind(RowKind.INSERT); // erase row kind for further state accessing
+
+			// update data state
+			List<RowData> records = dataState.get(sortKey);
+			if (records == null) {
+				// the sort key is never seen
+				records = new ArrayList<>();
+			}
+			records.add(record);
+			dataState.put(sortKey, records);
+
+			// records behind the buffer are not ranked in the topN, they only go to state
+			if (isInBufferRange(sortKey)) {
+				partitionBuffer.buffer.put(sortKey, record);
+				if (outputRankNumber || hasOffset()) {
+					// the without-number-algorithm can't handle topN with offset,
+					// so use the with-number-algorithm to handle offset
+					emitRecordsWithRowNumber(sortKey, record, out);
+				} else {
+					emitRecordsWithoutRowNumber(sortKey, record, out);
+				}
+				shrinkBuffer();
+			}
+		} else {
+			// erase row kind for further state accessing, on a copy as the input may be referenced elsewhere
+			RowData record = inputRowSer.copy(input);
+			record.setRowKind(RowKind.INSERT);
+			List<RowData> records = dataState.get(sortKey);
+			if (records == null || !removeFirstEqual(records, record)) {
+				if (lenient) {
+					LOG.warn(STATE_CLEARED_WARN_MSG);
+					return;
+				} else {
+					throw new RuntimeException(STATE_CLEARED_WARN_MSG);
+				}
+			}
+			if (records.isEmpty()) {
+				dataState.remove(sortKey);
+			} else {
+				dataState.put(sortKey, records);
+			}
+
+			if (isInBufferRange(sortKey)) {
+				long rank = retractFromBuffer(sortKey, record);
+				if (rank < 0) {
+					throw new RuntimeException(
+						"Can not retract a non-existent record. This should never happen.");
+				}
+				if (outputRankNumber || hasOffset()) {
+					// the without-number-algorithm can't handle topN with offset,
+					// so use the with-number-algorithm to handle offset
+					retractRecordWithRowNumber(record, rank, out);
+				} else {
+					retractRecordWithoutRowNumber(record, rank, out);
+				}
+				if (!partitionBuffer.complete && partitionBuffer.buffer.getCurrentTopNum() <= rankEnd) {
+					// the next record behind the topN is not buffered anymore
+					partitionBuffer = loadBuffer();
+					kvBuffers.put((RowData) keyContext.getCurrentKey(), partitionBuffer);
+				}
+			}
+		}
+	}
+
+	@Override
+	public void onTimer(long timestamp, OnTimerContext ctx, Collector<RowData> out) throws Exception {
+		if (stateCleaningEnabled) {
+			// cleanup cache
+			kvBuffers.remove(keyContext.getCurrentKey());
+			cleanupState(dataState);
+		}
+	}
+
+	// ------------- Buffer -------------------------------
+
+	private void initHeapStates() throws Exception {
+		requestCount += 1;
+		RowData currentKey = (RowData) keyContext.getCurrentKey();
+		partitionBuffer = kvBuffers.get(currentKey);
+		if (partitionBuffer == null) {
+			partitionBuffer = loadBuffer();
+			kvBuffers.put(currentKey, partitionBuffer);
+		} else {
+			hitCount += 1;
+		}
+	}
+
+	/**
+	 * Loads the head of the current partition from state.
+	 */
+	private PartitionBuffer loadBuffer() throws Exception {
+		PartitionBuffer partition = new PartitionBuffer(new TopNBuffer(sortKeyComparator, ArrayList::new));
+		Iterator<Map.Entry<RowData, List<RowData>>> iter = dataState.iterator();
+		if (iter != null) {
+			while (iter.hasNext()) {
+				Map.Entry<RowData, List<RowData>> entry = iter.next();
+				RowData sortKey = entry.getKey();
+				if (isInBufferRange(partition, sortKey)) {
+					// copy the list to avoid mutating state values, the order is preserved
+					partition.buffer.putAll(sortKey, new ArrayList<>(entry.getValue()));
+					shrinkBuffer(partition);
+				} else {
+					partition.complete = false;
+				}
+			}
+		}
+		return partition;
+	}
+
+	private boolean isInBufferRange(RowData sortKey) {
+		return isInBufferRange(partitionBuffer, sortKey);
+	}
+
+	private boolean isInBufferRange(PartitionBuffer partition, RowData sortKey) {
+		if (partition.complete) {
+			return true;
+		}
+		Map.Entry<RowData, Collection<RowData>> lastEntry = partition.buffer.lastEntry();
+		return lastEntry != null && sortKeyComparator.compare(sortKey, lastEntry.getKey()) <= 0;
+	}
+
+	private void shrinkBuffer() {
+		shrinkBuffer(partitionBuffer);
+	}
+
+	/**
+	 * Evicts the last sort keys of the buffer as long as it holds more than {@code 2 * rankEnd}
+	 * records, but never evicts the record ranked {@code rankEnd + 1}.
+	 */
+	private void shrinkBuffer(PartitionBuffer partition) {
+		TopNBuffer buffer = partition.buffer;
+		while (buffer.getCurrentTopNum() > 2 * rankEnd) {
+			Map.Entry<RowData, Collection<RowData>> lastEntry = buffer.lastEntry();
+			if (buffer.getCurrentTopNum() - lastEntry.getValue().size() <= rankEnd) {
+				break;
+			}
+			buffer.removeAll(lastEntry.getKey());
+			partition.complete = false;
+		}
+	}
+
+	/**
+	 * Removes the first record equal to the given record from the buffer.
+	 *
+	 * @return the rank the removed record had, or -1 if it is not buffered
+	 */
+	private long retractFromBuffer(RowData sortKey, RowData record) {
+		long rank = 0L;
+		for (Map.Entry<RowData, Collection<RowData>> entry : partitionBuffer.buffer.entrySet()) {
+			if (entry.getKey().equals(sortKey)) {
+				Iterator<RowData> recordsIter = entry.getValue().iterator();
+				while (recordsIter.hasNext()) {
+					rank += 1;
+					RowData buffered = recordsIter.next();
+					if (equaliser.equals(buffered, record)) {
+						partitionBuffer.buffer.remove(sortKey, buffered);
+						return rank;
+					}
+				}
+				return -1L;
+			} else {
+				rank += entry.getValue().size();
+			}
+		}
+		return -1L;
+	}
+
+	private boolean removeFirstEqual(List<RowData> records, RowData record) {
+		Iterator<RowData> recordsIter = records.iterator();
+		while (recordsIter.hasNext()) {
+			RowData stored = recordsIter.next();
+			if (equaliser.equals(stored, record)) {
+				recordsIter.remove();
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns an iterator over the buffered records which starts at the given rank.
+	 */
+	private Iterator<RowData> bufferIterator(long startRank) {
+		List<RowData> records = new ArrayList<>();
+		long rank = 0L;
+		for (Map.Entry<RowData, Collection<RowData>> entry : partitionBuffer.buffer.entrySet()) {
+			Collection<RowData> values = entry.getValue();
+			if (rank + values.size() >= startRank) {
+				for (RowData value : values) {
+					rank += 1;
+					if (rank >= startRank) {
+						records.add(value);
+					}
+				}
+			} else {
+				rank += values.size();
+			}
+			if (rank > rankEnd) {
+				break;
+			}
+		}
+		return records.iterator();
+	}
+
+	/**
+	 * Returns the rank of the last buffered record under the given sort key.
+	 */
+	private long rankOfLastRecord(RowData sortKey) {
+		long rank = 0L;
+		for (Map.Entry<RowData, Collection<RowData>> entry : partitionBuffer.buffer.entrySet()) {
+			rank += entry.getValue().size();
+			if (entry.getKey().equals(sortKey)) {
+				break;
+			}
+		}
+		return rank;
+	}
+
+	// ------------- ROW_NUMBER-------------------------------
+
+	private void emitRecordsWithRowNumber(RowData sortKey, RowData inputRow, Collector<RowData> out) {
+		// the input record is the last record of its sort key in the buffer
+		long currentRank = rankOfLastRecord(sortKey);
+		if (!isInRankEnd(currentRank)) {
+			return;
+		}
+		RowData currentRow = inputRow;
+		Iterator<RowData> iterator = bufferIterator(currentRank + 1);
+		while (iterator.hasNext() && isInRankEnd(currentRank)) {
+			RowData prevRow = iterator.next();
+			collectUpdateBefore(out, copyForOutput(prevRow), currentRank);
+			collectUpdateAfter(out, copyForOutput(currentRow), currentRank);
+			currentRow = prevRow;
+			currentRank += 1;
+		}
+		if (isInRankEnd(currentRank)) {
+			// there is no enough elements in Top-N, emit INSERT message for the new record.
+			collectInsert(out, copyForOutput(currentRow), currentRank);
+		}
+	}
+
+	private void emitRecordsWithoutRowNumber(RowData sortKey, RowData inputRow, Collector<RowData> out) {
+		// the input record is the last record of its sort key in the buffer
+		long rank = rankOfLastRecord(sortKey);
+		if (!isInRankEnd(rank)) {
+			return;
+		}
+		// deletes the record if there is a record recently downgrades to Top-(N+1)
+		Iterator<RowData> iterator = bufferIterator(rankEnd + 1);
+		if (iterator.hasNext()) {
+			collectDelete(out, copyForOutput(iterator.next()));
+		}
+		collectInsert(out, copyForOutput(inputRow));
+	}
+
+	/**
+	 * Emits the updated records after the input record has been retracted from the buffer. This
+	 * works for outputting with row_number.
+	 */
+	private void retractRecordWithRowNumber(RowData inputRow, long rank, Collector<RowData> out) {
+		long currentRank = rank;
+		RowData prevRow = inputRow;
+		Iterator<RowData> iterator = bufferIterator(rank);
+		while (iterator.hasNext() && isInRankEnd(currentRank)) {
+			RowData currentRow = iterator.next();
+			collectUpdateBefore(out, copyForOutput(prevRow), currentRank);
+			collectUpdateAfter(out, copyForOutput(currentRow), currentRank);
+			prevRow = currentRow;
+			currentRank += 1;
+		}
+		if (isInRankEnd(currentRank)) {
+			// there is no enough elements in Top-N, emit DELETE message for the retract record.
+			collectDelete(out, copyForOutput(prevRow), currentRank);
+		}
+	}
+
+	/**
+	 * Emits the updated records after the input record has been retracted from the buffer. This
+	 * works for outputting without row_number.
+	 */
+	private void retractRecordWithoutRowNumber(RowData inputRow, long rank, Collector<RowData> out) {
+		if (!isInRankEnd(rank)) {
+			return;
+		}
+		// the retracted record is a copy which is not buffered anymore
+		collectDelete(out, inputRow);
+		// sends the record if there is a record recently upgrades to Top-N
+		Iterator<RowData> iterator = bufferIterator(rankEnd);
+		if (iterator.hasNext()) {
+			collectInsert(out, copyForOutput(iterator.next()));
+		}
+	}
+
+	/**
+	 * Returns the record to emit for a buffered record. The buffered records are shared with the
+	 * state and must keep their row kind, so they are copied if emitting sets the row kind on the
+	 * record itself instead of on a joined output row.
+	 */
+	private RowData copyForOutput(RowData record) {
+		return outputRankNumber ? record : inputRowSer.copy(record);
+	}
+
+	/**
+	 * The buffer of a partition.
+	 */
+	private static final class PartitionBuffer {
+
+		private final TopNBuffer buffer;
+
+		// whether the buffer holds all records of the partition
+		private boolean complete = true;
+
+		private PartitionBuffer(TopNBuffer buffer) {
+			this.buffer = buffer;
+		}
+	}
+}
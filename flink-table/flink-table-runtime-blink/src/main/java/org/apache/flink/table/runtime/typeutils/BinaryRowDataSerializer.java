@@ -19,6 +19,7 @@
 package org.apache.flink.table.runtime.typeutils;
 
 import org.apache.flink.annotation.Internal;
+import org.apache.flink.api.common.typeutils.ByteArrayViewDeserializer;
 import org.apache.flink.api.common.typeutils.TypeSerializer;
 import org.apache.flink.api.common.typeutils.TypeSerializerSchemaCompatibility;
 import org.apache.flink.api.common.typeutils.TypeSerializerSnapshot;
@@ -32,6 +33,7 @@ import org.apache.flink.runtime.memory.AbstractPagedOutputView;
 import org.apache.flink.table.data.binary.BinaryRowData;
 import org.apache.flink.table.data.binary.BinarySegmentUtils;
 
+import java.io.EOFException;
 import java.io.IOException;
 
 import static org.apache.flink.util.Preconditions.checkArgument;
@@ -40,7 +42,8 @@ import static org.apache.flink.util.Preconditions.checkArgument;
  * Serializer for {@link BinaryRowData}.
  */
 @Internal
-public class BinaryRowDataSerializer extends AbstractRowDataSerializer<BinaryRowData> {
+public class BinaryRowDataSerializer extends AbstractRowDataSerializer<BinaryRowData>
+		implements ByteArrayViewDeserializer<BinaryRowData> {
 
 	private static final long serialVersionUID = 1L;
 	public static final int LENGTH_SIZE_IN_BYTES = 4;
@@ -105,6 +108,24 @@ public class BinaryRowDataSerializer extends AbstractRowDataSerializer<BinaryRow
 		return row;
 	}
 
+	@Override
+	public BinaryRowData deserializeView(byte[] bytes, int offset, int length) throws IOException {
+		if (length < LENGTH_SIZE_IN_BYTES) {
+			throw new EOFException();
+		}
+		// the length is written in big endian by DataOutputView#writeInt
+		int sizeInBytes = ((bytes[offset] & 0xff) << 24) |
+			((bytes[offset + 1] & 0xff) << 16) |
+			((bytes[offset + 2] & 0xff) << 8) |
+			(bytes[offset + 3] & 0xff);
+		if (sizeInBytes < 0 || sizeInBytes > length - LENGTH_SIZE_IN_BYTES) {
+			throw new EOFException();
+		}
+		BinaryRowData row = new BinaryRowData(numFields);
+		row.pointTo(MemorySegmentFactory.wrap(bytes), offset + LENGTH_SIZE_IN_BYTES, sizeInBytes);
+		return row;
+	}
+
 	@Override
 	public BinaryRowData deserialize(BinaryRowData reuse, DataInputView source) throws IOException {
 		MemorySegment[] segments = reuse.getSegments();
@@ -19,6 +19,7 @@
 package org.apache.flink.table.runtime.typeutils;
 
 import org.apache.flink.annotation.Internal;
+import org.apache.flink.api.common.typeutils.ByteArrayViewDeserializer;
 import org.apache.flink.api.common.typeutils.CompositeTypeSerializerUtil;
 import org.apache.flink.api.common.typeutils.NestedSerializersSnapshotDelegate;
 import org.apache.flink.api.common.typeutils.TypeSerializer;
@@ -48,7 +49,8 @@ import java.util.stream.IntStream;
  * Serializer for {@link RowData}.
  */
 @Internal
-public class RowDataSerializer extends AbstractRowDataSerializer<RowData> {
+public class RowDataSerializer extends AbstractRowDataSerializer<RowData>
+		implements ByteArrayViewDeserializer<RowData> {
 	private static final long serialVersionUID = 1L;
 
 	private BinaryRowDataSerializer binarySerializer;
@@ -106,6 +108,11 @@ public class RowDataSerializer extends AbstractRowDataSerializer<RowData> {
 		return binarySerializer.deserialize(source);
 	}
 
+	@Override
+	public RowData deserializeView(byte[] bytes, int offset, int length) throws IOException {
+		return binarySerializer.deserializeView(bytes, offset, length);
+	}
+
 	@Override
 	public RowData deserialize(RowData reuse, DataInputView source) throws IOException {
 		if (reuse instanceof BinaryRowData) {
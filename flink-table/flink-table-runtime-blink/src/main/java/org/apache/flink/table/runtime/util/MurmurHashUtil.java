@@ -31,6 +31,8 @@ public final class MurmurHashUtil {
 	private static final int C2 = 0x1b873593;
 	public static final int DEFAULT_SEED = 42;
 
+	private static final int BYTE_ARRAY_BASE_OFFSET = UNSAFE.arrayBaseOffset(byte[].class);
+
 	/**
 	 * Hash unsafe bytes, length must be aligned to 4 bytes.
 	 * @param base base unsafe object
@@ -120,13 +122,20 @@ public final class MurmurHashUtil {
 
 	private static int hashBytesByInt(MemorySegment segment, int offset, int lengthInBytes, int seed) {
 		assert (lengthInBytes % 4 == 0);
-		int h1 = seed;
-		for (int i = 0; i < lengthInBytes; i += 4) {
-			int halfWord = segment.getInt(offset + i);
-			int k1 = mixK1(halfWord);
-			h1 = mixH1(h1, k1);
+		// check the bounds of the whole range once, instead of on every word
+		if ((offset | lengthInBytes) < 0 || offset > segment.size() - lengthInBytes) {
+			throw new IndexOutOfBoundsException(
+					String.format("offset=%d, lengthInBytes=%d, size=%d", offset, lengthInBytes, segment.size()));
+		}
+		if (segment.isFreed()) {
+			throw new IllegalStateException("segment has been freed");
+		}
+		if (segment.isOffHeap()) {
+			return hashUnsafeBytesByInt(null, segment.getAddress() + offset, lengthInBytes, seed);
+		} else {
+			return hashUnsafeBytesByInt(
+					segment.getHeapMemory(), BYTE_ARRAY_BASE_OFFSET + offset, lengthInBytes, seed);
 		}
-		return h1;
 	}
 
 	private static int mixK1(int k1) {
@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.vector;
+
+import org.apache.flink.table.data.vector.VectorizedColumnBatch;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+
+/**
+ * The ids of the selected rows of a {@link VectorizedColumnBatch}, in ascending order.
+ *
+ * <p>A selection vector allows to filter a batch without copying its column vectors. Filters
+ * narrow the selection in place, and the selected rows are only materialized when they are read.
+ */
+public final class SelectionVector {
+
+	private final int[] positions;
+	private int size;
+
+	public SelectionVector(int capacity) {
+		this.positions = new int[capacity];
+	}
+
+	/**
+	 * Selects all rows of a batch with the given number of rows.
+	 */
+	public void selectAll(int numRows) {
+		checkArgument(numRows <= positions.length, "The batch exceeds the capacity of the selection.");
+		for (int i = 0; i < numRows; i++) {
+			positions[i] = i;
+		}
+		size = numRows;
+	}
+
+	/**
+	 * Returns the backing array of the selected row ids. Only the first {@link #size()} entries
+	 * are valid, filters may overwrite them in place and update the size afterwards.
+	 */
+	public int[] positions() {
+		return positions;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public void setSize(int size) {
+		checkArgument(size >= 0 && size <= positions.length);
+		this.size = size;
+	}
+
+	/**
+	 * Returns the id of the {@code i}-th selected row.
+	 */
+	public int get(int i) {
+		return positions[i];
+	}
+
+	public int capacity() {
+		return positions.length;
+	}
+
+	public void copyFrom(SelectionVector other) {
+		checkArgument(other.size <= positions.length);
+		System.arraycopy(other.positions, 0, positions, 0, other.size);
+		size = other.size;
+	}
+
+	/**
+	 * Adds the rows selected by the given selection to this selection.
+	 */
+	public void union(SelectionVector other) {
+		// both selections are sorted, merge them from the end to do it in place
+		int i = size - 1;
+		int j = other.size - 1;
+		int numDuplicates = 0;
+		int a = 0;
+		int b = 0;
+		while (a < size && b < other.size) {
+			if (positions[a] == other.positions[b]) {
+				numDuplicates++;
+				a++;
+				b++;
+			} else if (positions[a] < other.positions[b]) {
+				a++;
+			} else {
+				b++;
+			}
+		}
+		int newSize = size + other.size - numDuplicates;
+		checkArgument(newSize <= positions.length);
+		int k = newSize - 1;
+		while (j >= 0) {
+			if (i >= 0 && positions[i] > other.positions[j]) {
+				positions[k--] = positions[i--];
+			} else if (i >= 0 && positions[i] == other.positions[j]) {
+				positions[k--] = positions[i--];
+				j--;
+			} else {
+				positions[k--] = other.positions[j--];
+			}
+		}
+		size = newSize;
+	}
+}
@@ -0,0 +1,227 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.vector;
+
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.expressions.CallExpression;
+import org.apache.flink.table.expressions.Expression;
+import org.apache.flink.table.expressions.FieldReferenceExpression;
+import org.apache.flink.table.expressions.ValueLiteralExpression;
+import org.apache.flink.table.functions.BuiltInFunctionDefinitions;
+import org.apache.flink.table.functions.FunctionDefinition;
+import org.apache.flink.table.runtime.vector.VectorizedPredicates.Comparison;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.LogicalTypeFamily;
+import org.apache.flink.table.types.logical.LogicalTypeRoot;
+import org.apache.flink.table.types.logical.RowType;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Converts filter expressions which have been pushed into a table source into a
+ * {@link VectorizedPredicate} over the columns of the produced row type.
+ *
+ * <p>The resulting predicate may keep more rows than the filters, because filters which can't be
+ * evaluated in a vectorized way are ignored. It must therefore only be used to pre-filter rows
+ * for filters which are still evaluated by the planner afterwards.
+ */
+public final class VectorizedFilters {
+
+	private static final Logger LOG = LoggerFactory.getLogger(VectorizedFilters.class);
+
+	private static final Map<FunctionDefinition, Comparison> COMPARISONS = new HashMap<>();
+
+	static {
+		COMPARISONS.put(BuiltInFunctionDefinitions.EQUALS, Comparison.EQUALS);
+		COMPARISONS.put(BuiltInFunctionDefinitions.NOT_EQUALS, Comparison.NOT_EQUALS);
+		COMPARISONS.put(BuiltInFunctionDefinitions.LESS_THAN, Comparison.LESS_THAN);
+		COMPARISONS.put(BuiltInFunctionDefinitions.LESS_THAN_OR_EQUAL, Comparison.LESS_THAN_OR_EQUAL);
+		COMPARISONS.put(BuiltInFunctionDefinitions.GREATER_THAN, Comparison.GREATER_THAN);
+		COMPARISONS.put(BuiltInFunctionDefinitions.GREATER_THAN_OR_EQUAL, Comparison.GREATER_THAN_OR_EQUAL);
+	}
+
+	private VectorizedFilters() {
+	}
+
+	/**
+	 * Converts the conjunction of the given filters, returns null if none of them can be
+	 * evaluated in a vectorized way.
+	 *
+	 * @param filters the filters, field references are resolved by name
+	 * @param rowType the row type of the batches the predicate is evaluated on
+	 */
+	@Nullable
+	public static VectorizedPredicate toPredicate(List<? extends Expression> filters, RowType rowType) {
+		List<VectorizedPredicate> predicates = new ArrayList<>();
+		for (Expression filter : filters) {
+			VectorizedPredicate predicate = convert(filter, rowType);
+			if (predicate != null) {
+				predicates.add(predicate);
+			} else {
+				LOG.debug("Filter [{}] can't be evaluated in a vectorized way.", filter);
+			}
+		}
+		return predicates.isEmpty() ? null : VectorizedPredicates.and(predicates);
+	}
+
+	@Nullable
+	private static VectorizedPredicate convert(Expression expression, RowType rowType) {
+		if (!(expression instanceof CallExpression)) {
+			return null;
+		}
+		CallExpression call = (CallExpression) expression;
+		FunctionDefinition definition = call.getFunctionDefinition();
+		List<Expression> children = call.getChildren();
+
+		if (definition == BuiltInFunctionDefinitions.AND) {
+			// dropping a child of a conjunction only widens the result
+			List<VectorizedPredicate> predicates = new ArrayList<>();
+			for (Expression child : children) {
+				VectorizedPredicate predicate = convert(child, rowType);
+				if (predicate != null) {
+					predicates.add(predicate);
+				}
+			}
+			return predicates.isEmpty() ? null : VectorizedPredicates.and(predicates);
+		} else if (definition == BuiltInFunctionDefinitions.OR) {
+			List<VectorizedPredicate> predicates = new ArrayList<>();
+			for (Expression child : children) {
+				VectorizedPredicate predicate = convert(child, rowType);
+				if (predicate == null) {
+					return null;
+				}
+				predicates.add(predicate);
+			}
+			return predicates.isEmpty() ? null : VectorizedPredicates.or(predicates);
+		} else if (definition == BuiltInFunctionDefinitions.IS_NULL ||
+				definition == BuiltInFunctionDefinitions.IS_NOT_NULL) {
+			if (children.size() != 1 || !(children.get(0) instanceof FieldReferenceExpression)) {
+				return null;
+			}
+			int column = rowType.getFieldIndex(((FieldReferenceExpression) children.get(0)).getName());
+			if (column < 0) {
+				return null;
+			}
+			return definition == BuiltInFunctionDefinitions.IS_NULL ?
+				VectorizedPredicates.isNull(column) :
+				VectorizedPredicates.isNotNull(column);
+		} else if (COMPARISONS.containsKey(definition)) {
+			return convertComparison(COMPARISONS.get(definition), children, rowType);
+		}
+		return null;
+	}
+
+	@Nullable
+	private static VectorizedPredicate convertComparison(
+			Comparison comparison,
+			List<Expression> children,
+			RowType rowType) {
+		if (children.size() != 2) {
+			return null;
+		}
+		FieldReferenceExpression field;
+		ValueLiteralExpression literal;
+		if (children.get(0) instanceof FieldReferenceExpression &&
+				children.get(1) instanceof ValueLiteralExpression) {
+			field = (FieldReferenceExpression) children.get(0);
+			literal = (ValueLiteralExpression) children.get(1);
+		} else if (children.get(0) instanceof ValueLiteralExpression &&
+				children.get(1) instanceof FieldReferenceExpression) {
+			field = (FieldReferenceExpression) children.get(1);
+			literal = (ValueLiteralExpression) children.get(0);
+			comparison = comparison.swap();
+		} else {
+			return null;
+		}
+
+		int column = rowType.getFieldIndex(field.getName());
+		if (column < 0) {
+			return null;
+		}
+		LogicalType columnType = rowType.getTypeAt(column);
+		if (!VectorizedPredicates.supportsComparison(columnType)) {
+			return null;
+		}
+		Object value = toInternalLiteral(columnType, literal);
+		if (value == null) {
+			// comparisons with NULL are never true, but leave that to the planner
+			return null;
+		}
+		return VectorizedPredicates.compare(column, columnType, comparison, value);
+	}
+
+	/**
+	 * Converts the literal into the internal data structure of the column type, returns null if
+	 * the literal is null or not compatible with the column type.
+	 */
+	@Nullable
+	private static Object toInternalLiteral(LogicalType columnType, ValueLiteralExpression literal) {
+		LogicalType literalType = literal.getOutputDataType().getLogicalType();
+		Object value = literal.getValueAs(Object.class).orElse(null);
+		if (value == null) {
+			return null;
+		}
+		switch (columnType.getTypeRoot()) {
+			case TINYINT:
+			case SMALLINT:
+			case INTEGER:
+			case BIGINT:
+				return literalType.getTypeRoot().getFamilies().contains(LogicalTypeFamily.INTEGER_NUMERIC) &&
+					value instanceof Number ? value : null;
+			case FLOAT:
+			case DOUBLE:
+				// decimal literals would be compared as decimals
+				return (literalType.getTypeRoot().getFamilies().contains(LogicalTypeFamily.INTEGER_NUMERIC) ||
+					literalType.getTypeRoot().getFamilies().contains(LogicalTypeFamily.APPROXIMATE_NUMERIC)) &&
+					value instanceof Number ? value : null;
+			case DATE:
+				if (literalType.getTypeRoot() != LogicalTypeRoot.DATE) {
+					return null;
+				}
+				return literal.getValueAs(LocalDate.class)
+					.map(date -> (Object) (int) date.toEpochDay())
+					.orElse(null);
+			case TIME_WITHOUT_TIME_ZONE:
+				if (literalType.getTypeRoot() != LogicalTypeRoot.TIME_WITHOUT_TIME_ZONE) {
+					return null;
+				}
+				return literal.getValueAs(LocalTime.class)
+					.map(time -> (Object) (int) (time.toNanoOfDay() / 1_000_000L))
+					.orElse(null);
+			case BOOLEAN:
+				return value instanceof Boolean ? value : null;
+			case VARCHAR:
+				return value instanceof String ? StringData.fromString((String) value) : null;
+			case VARBINARY:
+				return value instanceof byte[] ? value : null;
+			default:
+				return null;
+		}
+	}
+}
@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.vector;
+
+import org.apache.flink.table.data.vector.VectorizedColumnBatch;
+
+import java.io.Serializable;
+
+/**
+ * A predicate which is evaluated on a whole {@link VectorizedColumnBatch} at once.
+ *
+ * <p>Instead of being evaluated row by row, the predicate runs a loop over the column vectors it
+ * references and narrows the given {@link SelectionVector} to the rows which satisfy it. Rows for
+ * which the predicate evaluates to {@code NULL} are filtered out, as in a SQL {@code WHERE}
+ * clause.
+ *
+ * @see VectorizedPredicates
+ */
+@FunctionalInterface
+public interface VectorizedPredicate extends Serializable {
+
+	/**
+	 * Removes all rows from the selection which do not satisfy this predicate.
+	 *
+	 * @param batch the batch to evaluate the predicate on
+	 * @param selection the selected rows of the batch, narrowed in place
+	 */
+	void filter(VectorizedColumnBatch batch, SelectionVector selection);
+}
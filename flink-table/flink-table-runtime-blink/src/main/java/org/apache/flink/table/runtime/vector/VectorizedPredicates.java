@@ -0,0 +1,562 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.vector;
+
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.data.binary.BinaryStringData;
+import org.apache.flink.table.data.vector.BooleanColumnVector;
+import org.apache.flink.table.data.vector.ByteColumnVector;
+import org.apache.flink.table.data.vector.BytesColumnVector;
+import org.apache.flink.table.data.vector.ColumnVector;
+import org.apache.flink.table.data.vector.DoubleColumnVector;
+import org.apache.flink.table.data.vector.FloatColumnVector;
+import org.apache.flink.table.data.vector.IntColumnVector;
+import org.apache.flink.table.data.vector.LongColumnVector;
+import org.apache.flink.table.data.vector.ShortColumnVector;
+import org.apache.flink.table.data.vector.VectorizedColumnBatch;
+import org.apache.flink.table.data.vector.heap.HeapBooleanVector;
+import org.apache.flink.table.data.vector.heap.HeapBytesVector;
+import org.apache.flink.table.data.vector.heap.HeapDoubleVector;
+import org.apache.flink.table.data.vector.heap.HeapFloatVector;
+import org.apache.flink.table.data.vector.heap.HeapIntVector;
+import org.apache.flink.table.data.vector.heap.HeapLongVector;
+import org.apache.flink.table.types.logical.LogicalType;
+
+import java.util.List;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * Factory for {@link VectorizedPredicate}s.
+ *
+ * <p>The comparison predicates run one tight loop over the selected rows of a column. For heap
+ * vectors without a dictionary, the loops read the backing arrays directly, so there is no
+ * virtual call per row. Comparisons on integral and floating point columns are normalized to
+ * range checks, which keeps the number of loops small.
+ */
+public final class VectorizedPredicates {
+
+	/**
+	 * The comparison of a column with a literal.
+	 */
+	public enum Comparison {
+		EQUALS,
+		NOT_EQUALS,
+		LESS_THAN,
+		LESS_THAN_OR_EQUAL,
+		GREATER_THAN,
+		GREATER_THAN_OR_EQUAL;
+
+		/**
+		 * Returns the comparison with swapped operands, i.e. {@code a < b} becomes {@code b > a}.
+		 */
+		public Comparison swap() {
+			switch (this) {
+				case LESS_THAN:
+					return GREATER_THAN;
+				case LESS_THAN_OR_EQUAL:
+					return GREATER_THAN_OR_EQUAL;
+				case GREATER_THAN:
+					return LESS_THAN;
+				case GREATER_THAN_OR_EQUAL:
+					return LESS_THAN_OR_EQUAL;
+				default:
+					return this;
+			}
+		}
+
+		boolean test(int compareResult) {
+			switch (this) {
+				case EQUALS:
+					return compareResult == 0;
+				case NOT_EQUALS:
+					return compareResult != 0;
+				case LESS_THAN:
+					return compareResult < 0;
+				case LESS_THAN_OR_EQUAL:
+					return compareResult <= 0;
+				case GREATER_THAN:
+					return compareResult > 0;
+				case GREATER_THAN_OR_EQUAL:
+					return compareResult >= 0;
+				default:
+					throw new IllegalStateException("Unknown comparison: " + this);
+			}
+		}
+	}
+
+	private VectorizedPredicates() {
+	}
+
+	/**
+	 * Returns whether a column of the given type can be compared with a literal.
+	 */
+	public static boolean supportsComparison(LogicalType type) {
+		switch (type.getTypeRoot()) {
+			case BOOLEAN:
+			case TINYINT:
+			case SMALLINT:
+			case INTEGER:
+			case DATE:
+			case TIME_WITHOUT_TIME_ZONE:
+			case BIGINT:
+			case FLOAT:
+			case DOUBLE:
+			case VARCHAR:
+			case VARBINARY:
+				return true;
+			default:
+				return false;
+		}
+	}
+
+	/**
+	 * Creates a predicate which compares a column with a literal.
+	 *
+	 * @param column the index of the column in the batch
+	 * @param type the type of the column, see {@link #supportsComparison(LogicalType)}
+	 * @param comparison the comparison of the column (on the left) with the literal (on the right)
+	 * @param literal the non-null literal in the internal data structure of the column type
+	 */
+	public static VectorizedPredicate compare(
+			int column,
+			LogicalType type,
+			Comparison comparison,
+			Object literal) {
+		checkNotNull(literal);
+		switch (type.getTypeRoot()) {
+			case BOOLEAN:
+				checkArgument(
+					comparison == Comparison.EQUALS || comparison == Comparison.NOT_EQUALS,
+					"Boolean columns only support (in)equality comparisons.");
+				// b <> true is the same as b = false
+				boolean value = (Boolean) literal;
+				return new BooleanEquals(column, comparison == Comparison.EQUALS ? value : !value);
+			case TINYINT:
+			case SMALLINT:
+			case INTEGER:
+			case DATE:
+			case TIME_WITHOUT_TIME_ZONE:
+			case BIGINT:
+				return LongRange.of(column, comparison, ((Number) literal).longValue());
+			case FLOAT:
+			case DOUBLE:
+				return DoubleRange.of(column, comparison, ((Number) literal).doubleValue());
+			case VARCHAR:
+				return new BytesComparison(column, comparison, ((StringData) literal).toBytes());
+			case VARBINARY:
+				return new BytesComparison(column, comparison, (byte[]) literal);
+			default:
+				throw new IllegalArgumentException("Unsupported type for vectorized comparison: " + type);
+		}
+	}
+
+	public static VectorizedPredicate isNull(int column) {
+		return new NullCheck(column, true);
+	}
+
+	public static VectorizedPredicate isNotNull(int column) {
+		return new NullCheck(column, false);
+	}
+
+	/**
+	 * Creates the conjunction of the given predicates, which evaluates them one after another on
+	 * the shrinking selection.
+	 */
+	public static VectorizedPredicate and(List<VectorizedPredicate> predicates) {
+		checkArgument(!predicates.isEmpty());
+		return predicates.size() == 1 ? predicates.get(0) : new And(predicates);
+	}
+
+	/**
+	 * Creates the disjunction of the given predicates.
+	 */
+	public static VectorizedPredicate or(List<VectorizedPredicate> predicates) {
+		checkArgument(!predicates.isEmpty());
+		return predicates.size() == 1 ? predicates.get(0) : new Or(predicates);
+	}
+
+	// ------------------------------------------------------------------------------------------
+
+	/**
+	 * Keeps the rows whose integral value lies in {@code [low, high]}, or outside of it if negated.
+	 */
+	private static final class LongRange implements VectorizedPredicate {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int column;
+		private final long low;
+		private final long high;
+		private final boolean negated;
+
+		private LongRange(int column, long low, long high, boolean negated) {
+			this.column = column;
+			this.low = low;
+			this.high = high;
+			this.negated = negated;
+		}
+
+		static LongRange of(int column, Comparison comparison, long literal) {
+			switch (comparison) {
+				case EQUALS:
+					return new LongRange(column, literal, literal, false);
+				case NOT_EQUALS:
+					return new LongRange(column, literal, literal, true);
+				case LESS_THAN:
+					// an empty range if nothing is smaller than the literal
+					return literal == Long.MIN_VALUE ?
+						new LongRange(column, 1, 0, false) :
+						new LongRange(column, Long.MIN_VALUE, literal - 1, false);
+				case LESS_THAN_OR_EQUAL:
+					return new LongRange(column, Long.MIN_VALUE, literal, false);
+				case GREATER_THAN:
+					return literal == Long.MAX_VALUE ?
+						new LongRange(column, 1, 0, false) :
+						new LongRange(column, literal + 1, Long.MAX_VALUE, false);
+				case GREATER_THAN_OR_EQUAL:
+					return new LongRange(column, literal, Long.MAX_VALUE, false);
+				default:
+					throw new IllegalArgumentException("Unknown comparison: " + comparison);
+			}
+		}
+
+		@Override
+		public void filter(VectorizedColumnBatch batch, SelectionVector selection) {
+			ColumnVector vector = batch.columns[column];
+			int[] positions = selection.positions();
+			int size = selection.size();
+			int selected = 0;
+			if (vector instanceof HeapIntVector && !((HeapIntVector) vector).hasDictionary()) {
+				HeapIntVector heapVector = (HeapIntVector) vector;
+				int[] values = heapVector.vector;
+				for (int i = 0; i < size; i++) {
+					int row = positions[i];
+					long value = values[row];
+					positions[selected] = row;
+					selected += ((value >= low && value <= high) != negated) && !heapVector.isNullAt(row) ? 1 : 0;
+				}
+			} else if (vector instanceof HeapLongVector && !((HeapLongVector) vector).hasDictionary()) {
+				HeapLongVector heapVector = (HeapLongVector) vector;
+				long[] values = heapVector.vector;
+				for (int i = 0; i < size; i++) {
+					int row = positions[i];
+					long value = values[row];
+					positions[selected] = row;
+					selected += ((value >= low && value <= high) != negated) && !heapVector.isNullAt(row) ? 1 : 0;
+				}
+			} else {
+				for (int i = 0; i < size; i++) {
+					int row = positions[i];
+					if (!vector.isNullAt(row)) {
+						long value = getLong(vector, row);
+						positions[selected] = row;
+						selected += (value >= low && value <= high) != negated ? 1 : 0;
+					}
+				}
+			}
+			selection.setSize(selected);
+		}
+
+		private static long getLong(ColumnVector vector, int row) {
+			// some vectors implement all integral interfaces, only the widest one is lossless
+			if (vector instanceof LongColumnVector) {
+				return ((LongColumnVector) vector).getLong(row);
+			} else if (vector instanceof IntColumnVector) {
+				return ((IntColumnVector) vector).getInt(row);
+			} else if (vector instanceof ShortColumnVector) {
+				return ((ShortColumnVector) vector).getShort(row);
+			} else {
+				return ((ByteColumnVector) vector).getByte(row);
+			}
+		}
+	}
+
+	/**
+	 * Keeps the rows whose floating point value lies in {@code [low, high]}, or outside of it if
+	 * negated. NaN lies outside of every range, like in Java comparisons.
+	 */
+	private static final class DoubleRange implements VectorizedPredicate {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int column;
+		private final double low;
+		private final double high;
+		private final boolean negated;
+
+		private DoubleRange(int column, double low, double high, boolean negated) {
+			this.column = column;
+			this.low = low;
+			this.high = high;
+			this.negated = negated;
+		}
+
+		static DoubleRange of(int column, Comparison comparison, double literal) {
+			switch (comparison) {
+				case EQUALS:
+					return new DoubleRange(column, literal, literal, false);
+				case NOT_EQUALS:
+					return new DoubleRange(column, literal, literal, true);
+				case LESS_THAN:
+					return new DoubleRange(column, Double.NEGATIVE_INFINITY, Math.nextDown(literal), false);
+				case LESS_THAN_OR_EQUAL:
+					return new DoubleRange(column, Double.NEGATIVE_INFINITY, literal, false);
+				case GREATER_THAN:
+					return new DoubleRange(column, Math.nextUp(literal), Double.POSITIVE_INFINITY, false);
+				case GREATER_THAN_OR_EQUAL:
+					return new DoubleRange(column, literal, Double.POSITIVE_INFINITY, false);
+				default:
+					throw new IllegalArgumentException("Unknown comparison: " + comparison);
+			}
+		}
+
+		@Override
+		public void filter(VectorizedColumnBatch batch, SelectionVector selection) {
+			ColumnVector vector = batch.columns[column];
+			int[] positions = selection.positions();
+			int size = selection.size();
+			int selected = 0;
+			if (vector instanceof HeapDoubleVector && !((HeapDoubleVector) vector).hasDictionary()) {
+				HeapDoubleVector heapVector = (HeapDoubleVector) vector;
+				double[] values = heapVector.vector;
+				for (int i = 0; i < size; i++) {
+					int row = positions[i];
+					double value = values[row];
+					positions[selected] = row;
+					selected += ((value >= low && value <= high) != negated) && !heapVector.isNullAt(row) ? 1 : 0;
+				}
+			} else if (vector instanceof HeapFloatVector && !((HeapFloatVector) vector).hasDictionary()) {
+				HeapFloatVector heapVector = (HeapFloatVector) vector;
+				float[] values = heapVector.vector;
+				for (int i = 0; i < size; i++) {
+					int row = positions[i];
+					double value = values[row];
+					positions[selected] = row;
+					selected += ((value >= low && value <= high) != negated) && !heapVector.isNullAt(row) ? 1 : 0;
+				}
+			} else {
+				for (int i = 0; i < size; i++) {
+					int row = positions[i];
+					if (!vector.isNullAt(row)) {
+						double value = vector instanceof DoubleColumnVector ?
+							((DoubleColumnVector) vector).getDouble(row) :
+							((FloatColumnVector) vector).getFloat(row);
+						positions[selected] = row;
+						selected += (value >= low && value <= high) != negated ? 1 : 0;
+					}
+				}
+			}
+			selection.setSize(selected);
+		}
+	}
+
+	private static final class BooleanEquals implements VectorizedPredicate {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int column;
+		private final boolean value;
+
+		private BooleanEquals(int column, boolean value) {
+			this.column = column;
+			this.value = value;
+		}
+
+		@Override
+		public void filter(VectorizedColumnBatch batch, SelectionVector selection) {
+			ColumnVector vector = batch.columns[column];
+			int[] positions = selection.positions();
+			int size = selection.size();
+			int selected = 0;
+			if (vector instanceof HeapBooleanVector && !((HeapBooleanVector) vector).hasDictionary()) {
+				HeapBooleanVector heapVector = (HeapBooleanVector) vector;
+				boolean[] values = heapVector.vector;
+				for (int i = 0; i < size; i++) {
+					int row = positions[i];
+					positions[selected] = row;
+					selected += values[row] == value && !heapVector.isNullAt(row) ? 1 : 0;
+				}
+			} else {
+				BooleanColumnVector booleanVector = (BooleanColumnVector) vector;
+				for (int i = 0; i < size; i++) {
+					int row = positions[i];
+					positions[selected] = row;
+					selected += !booleanVector.isNullAt(row) && booleanVector.getBoolean(row) == value ? 1 : 0;
+				}
+			}
+			selection.setSize(selected);
+		}
+	}
+
+	/**
+	 * Compares strings and binaries by their bytes, which for UTF-8 encoded strings is the same
+	 * order as the one of {@link BinaryStringData#compareTo}.
+	 */
+	private static final class BytesComparison implements VectorizedPredicate {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int column;
+		private final Comparison comparison;
+		private final byte[] literal;
+
+		private BytesComparison(int column, Comparison comparison, byte[] literal) {
+			this.column = column;
+			this.comparison = comparison;
+			this.literal = literal;
+		}
+
+		@Override
+		public void filter(VectorizedColumnBatch batch, SelectionVector selection) {
+			ColumnVector vector = batch.columns[column];
+			int[] positions = selection.positions();
+			int size = selection.size();
+			int selected = 0;
+			if (vector instanceof HeapBytesVector && !((HeapBytesVector) vector).hasDictionary()) {
+				HeapBytesVector heapVector = (HeapBytesVector) vector;
+				byte[] buffer = heapVector.buffer;
+				int[] start = heapVector.start;
+				int[] length = heapVector.length;
+				if (comparison == Comparison.EQUALS) {
+					for (int i = 0; i < size; i++) {
+						int row = positions[i];
+						positions[selected] = row;
+						selected += length[row] == literal.length && !heapVector.isNullAt(row) &&
+							compare(buffer, start[row], length[row]) == 0 ? 1 : 0;
+					}
+				} else {
+					for (int i = 0; i < size; i++) {
+						int row = positions[i];
+						positions[selected] = row;
+						selected += !heapVector.isNullAt(row) &&
+							comparison.test(compare(buffer, start[row], length[row])) ? 1 : 0;
+					}
+				}
+			} else {
+				BytesColumnVector bytesVector = (BytesColumnVector) vector;
+				for (int i = 0; i < size; i++) {
+					int row = positions[i];
+					if (!bytesVector.isNullAt(row)) {
+						BytesColumnVector.Bytes bytes = bytesVector.getBytes(row);
+						positions[selected] = row;
+						selected += comparison.test(compare(bytes.data, bytes.offset, bytes.len)) ? 1 : 0;
+					}
+				}
+			}
+			selection.setSize(selected);
+		}
+
+		private int compare(byte[] bytes, int offset, int length) {
+			int len = Math.min(length, literal.length);
+			for (int i = 0; i < len; i++) {
+				int result = (bytes[offset + i] & 0xFF) - (literal[i] & 0xFF);
+				if (result != 0) {
+					return result;
+				}
+			}
+			return length - literal.length;
+		}
+	}
+
+	private static final class NullCheck implements VectorizedPredicate {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int column;
+		private final boolean isNull;
+
+		private NullCheck(int column, boolean isNull) {
+			this.column = column;
+			this.isNull = isNull;
+		}
+
+		@Override
+		public void filter(VectorizedColumnBatch batch, SelectionVector selection) {
+			ColumnVector vector = batch.columns[column];
+			int[] positions = selection.positions();
+			int size = selection.size();
+			int selected = 0;
+			for (int i = 0; i < size; i++) {
+				int row = positions[i];
+				positions[selected] = row;
+				selected += vector.isNullAt(row) == isNull ? 1 : 0;
+			}
+			selection.setSize(selected);
+		}
+	}
+
+	private static final class And implements VectorizedPredicate {
+
+		private static final long serialVersionUID = 1L;
+
+		private final VectorizedPredicate[] predicates;
+
+		private And(List<VectorizedPredicate> predicates) {
+			this.predicates = predicates.toArray(new VectorizedPredicate[0]);
+		}
+
+		@Override
+		public void filter(VectorizedColumnBatch batch, SelectionVector selection) {
+			for (VectorizedPredicate predicate : predicates) {
+				if (selection.size() == 0) {
+					return;
+				}
+				predicate.filter(batch, selection);
+			}
+		}
+	}
+
+	/**
+	 * Evaluates every predicate on a copy of the input selection and unions the results.
+	 */
+	private static final class Or implements VectorizedPredicate {
+
+		private static final long serialVersionUID = 1L;
+
+		private final VectorizedPredicate[] predicates;
+
+		private transient SelectionVector input;
+		private transient SelectionVector current;
+
+		private Or(List<VectorizedPredicate> predicates) {
+			this.predicates = predicates.toArray(new VectorizedPredicate[0]);
+		}
+
+		@Override
+		public void filter(VectorizedColumnBatch batch, SelectionVector selection) {
+			if (input == null || input.capacity() < selection.capacity()) {
+				input = new SelectionVector(selection.capacity());
+				current = new SelectionVector(selection.capacity());
+			}
+			input.copyFrom(selection);
+			selection.setSize(0);
+			for (VectorizedPredicate predicate : predicates) {
+				current.copyFrom(input);
+				predicate.filter(batch, current);
+				selection.union(current);
+				if (selection.size() == input.size()) {
+					// all rows are selected already
+					return;
+				}
+			}
+		}
+	}
+}
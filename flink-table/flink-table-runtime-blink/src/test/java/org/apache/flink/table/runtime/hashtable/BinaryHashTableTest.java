@@ -55,6 +55,7 @@ import java.util.List;
 import java.util.Map;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 /**
@@ -478,6 +479,8 @@ public class BinaryHashTableTest {
 			testJoin(table, map);
 		}
 
+		// the partitions are split by repartitioning, none of them is skewed
+		assertEquals(0, table.getNumNestedLoopPartitions());
 		table.close();
 
 		Assert.assertEquals("Wrong number of keys", numKeys, map.size());
@@ -498,25 +501,26 @@ public class BinaryHashTableTest {
 
 	/*
 	 * This test is basically identical to the "testSpillingHashJoinWithMassiveCollisions" test, only that the number
-	 * of repeated values (causing bucket collisions) are large enough to make sure that their target partition no longer
-	 * fits into memory by itself and needs to be repartitioned in the recursion again.
+	 * of repeated build values is large enough to make the build side of their partition much larger than its probe
+	 * side, so that the partition is built from its probe side.
 	 */
 	@Test
-	public void testFailingHashJoinTooManyRecursions() throws IOException {
-		// the following two values are known to have a hash-code collision on the first recursion level.
+	public void testSpillingHashJoinWithSwappedSides() throws IOException {
+		// the following two values are known to have a hash-code collision on the initial level.
 		// we use them to make sure one partition grows over-proportionally large
 		final int repeatedValue1 = 40559;
 		final int repeatedValue2 = 92882;
-		final int repeatedValueCount = 3000000;
+		final int repeatedValueCountBuild = 1500000;
+		final int repeatedValueCountProbe = 5;
 
 		final int numKeys = 1000000;
 		final int buildValsPerKey = 3;
 		final int probeValsPerKey = 10;
 
-		// create a build input that gives 3 million pairs with 3 values sharing the same key, plus 400k pairs with two colliding keys
+		// create a build input that gives 3 million pairs with 3 values sharing the same key, plus 3 million pairs with two colliding keys
 		MutableObjectIterator<BinaryRowData> build1 = new UniformBinaryRowGenerator(numKeys, buildValsPerKey, false);
-		MutableObjectIterator<BinaryRowData> build2 = new ConstantsKeyValuePairsIterator(repeatedValue1, 17, repeatedValueCount);
-		MutableObjectIterator<BinaryRowData> build3 = new ConstantsKeyValuePairsIterator(repeatedValue2, 23, repeatedValueCount);
+		MutableObjectIterator<BinaryRowData> build2 = new ConstantsKeyValuePairsIterator(repeatedValue1, 17, repeatedValueCountBuild);
+		MutableObjectIterator<BinaryRowData> build3 = new ConstantsKeyValuePairsIterator(repeatedValue2, 23, repeatedValueCountBuild);
 		List<MutableObjectIterator<BinaryRowData>> builds = new ArrayList<>();
 		builds.add(build1);
 		builds.add(build2);
@@ -525,13 +529,17 @@ public class BinaryHashTableTest {
 
 		// create a probe input that gives 10 million pairs with 10 values sharing a key
 		MutableObjectIterator<BinaryRowData> probe1 = new UniformBinaryRowGenerator(numKeys, probeValsPerKey, true);
-		MutableObjectIterator<BinaryRowData> probe2 = new ConstantsKeyValuePairsIterator(repeatedValue1, 17, repeatedValueCount);
-		MutableObjectIterator<BinaryRowData> probe3 = new ConstantsKeyValuePairsIterator(repeatedValue2, 23, repeatedValueCount);
+		MutableObjectIterator<BinaryRowData> probe2 = new ConstantsKeyValuePairsIterator(repeatedValue1, 17, repeatedValueCountProbe);
+		MutableObjectIterator<BinaryRowData> probe3 = new ConstantsKeyValuePairsIterator(repeatedValue2, 23, repeatedValueCountProbe);
 		List<MutableObjectIterator<BinaryRowData>> probes = new ArrayList<>();
 		probes.add(probe1);
 		probes.add(probe2);
 		probes.add(probe3);
 		MutableObjectIterator<BinaryRowData> probeInput = new UnionIterator<>(probes);
+
+		// create the map for validating the results
+		HashMap<Integer, Long> map = new HashMap<>(numKeys);
+
 		// ----------------------------------------------------------------------------------------
 		MemoryManager memManager = MemoryManagerBuilder.newBuilder().setMemorySize(896 * PAGE_SIZE).build();
 		final BinaryHashTable table = newBinaryHashTable(
@@ -539,20 +547,136 @@ public class BinaryHashTableTest {
 				new MyProjection(), new MyProjection(), memManager,
 				896 * PAGE_SIZE, ioManager);
 
-		try {
-			join(table, buildInput, probeInput);
-			fail("Hash Join must have failed due to too many recursions.");
-		} catch (Exception ex) {
-			// expected
+		BinaryRowData buildRow = buildSideSerializer.createInstance();
+		while ((buildRow = buildInput.next(buildRow)) != null) {
+			table.putBuildRow(buildRow);
+		}
+		table.endBuild();
+
+		BinaryRowData probeRow = probeSideSerializer.createInstance();
+		while ((probeRow = probeInput.next(probeRow)) != null) {
+			if (table.tryProbe(probeRow)){
+				testJoin(table, map);
+			}
+		}
+
+		while (table.nextMatching()){
+			testJoin(table, map);
 		}
 
 		table.close();
 
+		Assert.assertEquals("Wrong number of keys", numKeys, map.size());
+		for (Map.Entry<Integer, Long> entry : map.entrySet()) {
+			long val = entry.getValue();
+			int key = entry.getKey();
+
+			Assert.assertEquals("Wrong number of values in per-key cross product for key " + key,
+					(key == repeatedValue1 || key == repeatedValue2) ?
+							(probeValsPerKey + repeatedValueCountProbe) * (buildValsPerKey + repeatedValueCountBuild) :
+							probeValsPerKey * buildValsPerKey, val);
+		}
+
 		// ----------------------------------------------------------------------------------------
 
 		table.free();
 	}
 
+	/*
+	 * The repeated values make their partition hold most of the build side. Repartitioning can not split it,
+	 * so it is joined in a nested loop, which must return every matching probe row exactly once.
+	 */
+	@Test
+	public void testSemiJoinWithSkewedPartition() throws IOException {
+		final int numKeys = 1000000;
+		final int numAbsentKeys = 1000;
+		Assert.assertEquals("Wrong number of semi join results",
+				numKeys * 10 + 10, joinWithSkewedPartition(HashJoinType.SEMI, numKeys, numAbsentKeys));
+	}
+
+	/*
+	 * The repeated values make their partition hold most of the build side. Repartitioning can not split it,
+	 * so it is joined in a nested loop, which must return exactly the probe rows without any match.
+	 */
+	@Test
+	public void testAntiJoinWithSkewedPartition() throws IOException {
+		final int numKeys = 1000000;
+		final int numAbsentKeys = 1000;
+		Assert.assertEquals("Wrong number of anti join results",
+				numAbsentKeys, joinWithSkewedPartition(HashJoinType.ANTI, numKeys, numAbsentKeys));
+	}
+
+	private int joinWithSkewedPartition(HashJoinType type, int numKeys, int numAbsentKeys) throws IOException {
+		// the following two values are known to have a hash-code collision on the initial level.
+		// we use them to make sure one partition holds most of the build side
+		final int repeatedValue1 = 40559;
+		final int repeatedValue2 = 92882;
+		final int repeatedValueCountBuild = 2000000;
+		final int repeatedValueCountProbe = 5;
+
+		MutableObjectIterator<BinaryRowData> build1 = new UniformBinaryRowGenerator(numKeys, 3, false);
+		MutableObjectIterator<BinaryRowData> build2 = new ConstantsKeyValuePairsIterator(repeatedValue1, 17, repeatedValueCountBuild);
+		MutableObjectIterator<BinaryRowData> build3 = new ConstantsKeyValuePairsIterator(repeatedValue2, 23, repeatedValueCountBuild);
+		List<MutableObjectIterator<BinaryRowData>> builds = new ArrayList<>();
+		builds.add(build1);
+		builds.add(build2);
+		builds.add(build3);
+		MutableObjectIterator<BinaryRowData> buildInput = new UnionIterator<>(builds);
+
+		// the probe side has 10 values per key, and one value for each key that is not on the build side
+		MutableObjectIterator<BinaryRowData> probe1 = new UniformBinaryRowGenerator(numKeys, 10, true);
+		MutableObjectIterator<BinaryRowData> probe2 = new ConstantsKeyValuePairsIterator(repeatedValue1, 17, repeatedValueCountProbe);
+		MutableObjectIterator<BinaryRowData> probe3 = new ConstantsKeyValuePairsIterator(repeatedValue2, 23, repeatedValueCountProbe);
+		MutableObjectIterator<BinaryRowData> probe4 = new UniformBinaryRowGenerator(numAbsentKeys, 1, numKeys, 0, true);
+		List<MutableObjectIterator<BinaryRowData>> probes = new ArrayList<>();
+		probes.add(probe1);
+		probes.add(probe2);
+		probes.add(probe3);
+		probes.add(probe4);
+		MutableObjectIterator<BinaryRowData> probeInput = new UnionIterator<>(probes);
+
+		MemoryManager memManager = MemoryManagerBuilder.newBuilder().setMemorySize(896 * PAGE_SIZE).build();
+		final BinaryHashTable table = newBinaryHashTable(
+				this.buildSideSerializer, this.probeSideSerializer,
+				new MyProjection(), new MyProjection(), memManager,
+				896 * PAGE_SIZE, ioManager, type);
+
+		BinaryRowData buildRow = buildSideSerializer.createInstance();
+		while ((buildRow = buildInput.next(buildRow)) != null) {
+			table.putBuildRow(buildRow);
+		}
+		table.endBuild();
+
+		int count = 0;
+		BinaryRowData probeRow = probeSideSerializer.createInstance();
+		while ((probeRow = probeInput.next(probeRow)) != null) {
+			if (table.tryProbe(probeRow) && hasMatch(table) == (type == HashJoinType.SEMI)) {
+				count++;
+			}
+		}
+
+		while (table.nextMatching()) {
+			if (hasMatch(table) == (type == HashJoinType.SEMI)) {
+				count++;
+			}
+		}
+
+		assertTrue(table.getNumNestedLoopPartitions() > 0);
+		table.close();
+		table.free();
+		return count;
+	}
+
+	private boolean hasMatch(BinaryHashTable table) {
+		RowIterator<BinaryRowData> buildSide = table.getBuildSideIterator();
+		if (buildSide.advanceNext()) {
+			assertEquals("Probe-side key was different than build-side key.",
+					table.getCurrentProbeRow().getInt(0), buildSide.getRow().getInt(0));
+			return true;
+		}
+		return false;
+	}
+
 	/*
 	 * Spills build records, so that probe records are also spilled. But only so
 	 * few probe records are used that some partitions remain empty.
@@ -914,6 +1038,19 @@ public class BinaryHashTableTest {
 			MemoryManager memoryManager,
 			long memory,
 			IOManager ioManager) {
+		return newBinaryHashTable(buildSideSerializer, probeSideSerializer, buildSideProjection,
+				probeSideProjection, memoryManager, memory, ioManager, HashJoinType.INNER);
+	}
+
+	private BinaryHashTable newBinaryHashTable(
+			BinaryRowDataSerializer buildSideSerializer,
+			BinaryRowDataSerializer probeSideSerializer,
+			Projection<RowData, BinaryRowData> buildSideProjection,
+			Projection<RowData, BinaryRowData> probeSideProjection,
+			MemoryManager memoryManager,
+			long memory,
+			IOManager ioManager,
+			HashJoinType type) {
 		return new BinaryHashTable(
 				conf,
 				new Object(),
@@ -926,8 +1063,9 @@ public class BinaryHashTableTest {
 				ioManager,
 				24,
 				200000,
-				true,
-				HashJoinType.INNER,
+				// an anti join must not drop the probe rows that the bloom filters filter out
+				type != HashJoinType.ANTI,
+				type,
 				null,
 				false,
 				new boolean[]{true}, false);
@@ -0,0 +1,269 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.join.lookup.cache;
+
+import org.apache.flink.api.common.functions.util.ListCollector;
+import org.apache.flink.api.common.io.GenericInputFormat;
+import org.apache.flink.core.io.GenericInputSplit;
+import org.apache.flink.streaming.util.MockStreamingRuntimeContext;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.functions.AsyncTableFunction;
+import org.apache.flink.table.functions.FunctionContext;
+import org.apache.flink.table.functions.TableFunction;
+import org.apache.flink.table.types.logical.IntType;
+import org.apache.flink.table.types.logical.RowType;
+import org.apache.flink.table.types.logical.VarCharType;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link CachingLookupFunction}, {@link CachingAsyncLookupFunction} and
+ * {@link FullCachingLookupFunction}.
+ */
+public class CachingLookupFunctionTest {
+
+	private static final RowType ROW_TYPE = RowType.of(new IntType(), new VarCharType(VarCharType.MAX_LENGTH));
+	private static final RowType KEY_TYPE = RowType.of(new IntType());
+
+	@Test
+	public void testPartialCache() throws Exception {
+		TestingLookupFunction delegate = new TestingLookupFunction();
+		CachingLookupFunction function = new CachingLookupFunction(
+			delegate, ROW_TYPE, KEY_TYPE, 10, 0, 0, true);
+		List<RowData> result = new ArrayList<>();
+		function.setCollector(new ListCollector<>(result));
+		function.open(createFunctionContext());
+
+		function.eval(1);
+		function.eval(1);
+		function.eval(2);
+		assertEquals(2, delegate.numLookups);
+		assertEquals(3, result.size());
+		// the rows of the delegate are reused, the cache must have copied them
+		assertEquals(GenericRowData.of(1, StringData.fromString("a1")), result.get(0));
+		assertEquals(GenericRowData.of(1, StringData.fromString("a1")), result.get(1));
+		assertEquals(GenericRowData.of(2, StringData.fromString("a2")), result.get(2));
+
+		// keys without any match are cached as well
+		function.eval(42);
+		function.eval(42);
+		assertEquals(3, delegate.numLookups);
+		assertEquals(3, result.size());
+
+		LookupCacheMetrics metrics = function.getMetrics();
+		assertEquals(2, metrics.getHitCount());
+		assertEquals(3, metrics.getMissCount());
+		assertEquals(3, metrics.getLoadCount());
+		assertEquals(0.4, metrics.getHitRate(), 0.0);
+		function.close();
+	}
+
+	@Test
+	public void testPartialCacheWithoutCachingMissingKeys() throws Exception {
+		TestingLookupFunction delegate = new TestingLookupFunction();
+		CachingLookupFunction function = new CachingLookupFunction(
+			delegate, ROW_TYPE, KEY_TYPE, 10, 0, 0, false);
+		List<RowData> result = new ArrayList<>();
+		function.setCollector(new ListCollector<>(result));
+		function.open(createFunctionContext());
+
+		function.eval(42);
+		function.eval(42);
+		assertEquals(2, delegate.numLookups);
+		assertTrue(result.isEmpty());
+		function.close();
+	}
+
+	@Test
+	public void testAsyncPartialCache() throws Exception {
+		TestingAsyncLookupFunction delegate = new TestingAsyncLookupFunction();
+		CachingAsyncLookupFunction function = new CachingAsyncLookupFunction(
+			delegate, ROW_TYPE, KEY_TYPE, 10, 0, 0, true);
+		function.open(createFunctionContext());
+
+		for (int i = 0; i < 2; i++) {
+			CompletableFuture<Collection<RowData>> future = new CompletableFuture<>();
+			function.eval(future, 1);
+			assertEquals(1, future.get().size());
+			assertEquals(GenericRowData.of(1, StringData.fromString("a1")), future.get().iterator().next());
+		}
+		assertEquals(1, delegate.numLookups);
+
+		CompletableFuture<Collection<RowData>> future = new CompletableFuture<>();
+		function.eval(future, 42);
+		assertTrue(future.get().isEmpty());
+		assertEquals(1, function.getMetrics().getHitCount());
+		assertEquals(2, function.getMetrics().getMissCount());
+		function.close();
+	}
+
+	@Test
+	public void testFullCache() throws Exception {
+		FullCachingLookupFunction function = new FullCachingLookupFunction(
+			new TestingInputFormat(), ROW_TYPE, new int[]{0}, 0);
+		List<RowData> result = new ArrayList<>();
+		function.setCollector(new ListCollector<>(result));
+		function.open(createFunctionContext());
+
+		function.eval(1);
+		function.eval(2);
+		function.eval(42);
+		assertEquals(2, result.size());
+		assertEquals(GenericRowData.of(1, StringData.fromString("a1")), result.get(0));
+		assertEquals(GenericRowData.of(2, StringData.fromString("a2")), result.get(1));
+
+		LookupCacheMetrics metrics = function.getMetrics();
+		assertEquals(2, metrics.getHitCount());
+		assertEquals(1, metrics.getMissCount());
+		assertEquals(1, metrics.getLoadCount());
+		function.close();
+	}
+
+	@Test
+	public void testFullCacheWithNullKey() throws Exception {
+		FullCachingLookupFunction function = new FullCachingLookupFunction(
+			new TestingInputFormat(), ROW_TYPE, new int[]{0}, 0);
+		List<RowData> result = new ArrayList<>();
+		function.setCollector(new ListCollector<>(result));
+		function.open(createFunctionContext());
+
+		// the table contains a row with a null key, which must not be joined
+		function.eval((Object) null);
+		assertTrue(result.isEmpty());
+		assertEquals(1, function.getMetrics().getMissCount());
+		function.close();
+	}
+
+	@Test
+	public void testPartialCacheWithOverloadedEvalMethods() throws Exception {
+		OverloadedLookupFunction delegate = new OverloadedLookupFunction();
+		CachingLookupFunction function = new CachingLookupFunction(
+			delegate, ROW_TYPE, KEY_TYPE, 10, 0, 0, true);
+		List<RowData> result = new ArrayList<>();
+		function.setCollector(new ListCollector<>(result));
+		function.open(createFunctionContext());
+
+		// the overloads have the same number of parameters, the types of the keys decide
+		function.eval(1);
+		assertEquals(1, result.size());
+		assertEquals(GenericRowData.of(1, StringData.fromString("int")), result.get(0));
+		function.close();
+	}
+
+	private static FunctionContext createFunctionContext() {
+		return new FunctionContext(new MockStreamingRuntimeContext(false, 1, 0));
+	}
+
+	// ------------------------------------------------------------------------------------------
+
+	/**
+	 * A lookup function which finds one row for keys smaller than 10 and reuses its output row.
+	 */
+	public static final class TestingLookupFunction extends TableFunction<RowData> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final GenericRowData reuse = new GenericRowData(2);
+		private int numLookups;
+
+		public void eval(Integer id) {
+			numLookups++;
+			if (id < 10) {
+				reuse.setField(0, id);
+				reuse.setField(1, StringData.fromString("a" + id));
+				collect(reuse);
+			}
+		}
+	}
+
+	/**
+	 * The asynchronous version of {@link TestingLookupFunction}, which completes immediately.
+	 */
+	public static final class TestingAsyncLookupFunction extends AsyncTableFunction<RowData> {
+
+		private static final long serialVersionUID = 1L;
+
+		private int numLookups;
+
+		public void eval(CompletableFuture<Collection<RowData>> future, Integer id) {
+			numLookups++;
+			List<RowData> rows = new ArrayList<>();
+			if (id < 10) {
+				rows.add(GenericRowData.of(id, StringData.fromString("a" + id)));
+			}
+			future.complete(rows);
+		}
+	}
+
+	/**
+	 * A lookup function with two {@code eval} methods taking one parameter.
+	 */
+	public static final class OverloadedLookupFunction extends TableFunction<RowData> {
+
+		private static final long serialVersionUID = 1L;
+
+		public void eval(StringData id) {
+			collect(GenericRowData.of(-1, StringData.fromString("string")));
+		}
+
+		public void eval(Integer id) {
+			collect(GenericRowData.of(id, StringData.fromString("int")));
+		}
+	}
+
+	/**
+	 * An input format which produces the rows of {@link TestingLookupFunction} for keys 0 to 9,
+	 * followed by a row with a null key.
+	 */
+	private static final class TestingInputFormat extends GenericInputFormat<RowData> {
+
+		private static final long serialVersionUID = 1L;
+
+		private int next;
+
+		@Override
+		public void open(GenericInputSplit split) {
+			next = 0;
+		}
+
+		@Override
+		public boolean reachedEnd() {
+			return next > 10;
+		}
+
+		@Override
+		public RowData nextRecord(RowData reuse) {
+			GenericRowData row = (GenericRowData) reuse;
+			row.setField(0, next < 10 ? next : null);
+			row.setField(1, StringData.fromString("a" + next));
+			next++;
+			return row;
+		}
+	}
+}
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.join.lookup.cache;
+
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.util.clock.ManualClock;
+
+import org.junit.Test;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link PartialLookupCache}.
+ */
+public class PartialLookupCacheTest {
+
+	private final ManualClock clock = new ManualClock();
+
+	@Test
+	public void testLeastRecentlyUsedEviction() {
+		PartialLookupCache cache = new PartialLookupCache(2, 0, 0, clock);
+		cache.put(key(1), rows(1));
+		cache.put(key(2), rows(2));
+
+		// access key 1, so that key 2 becomes the least recently used key
+		assertNotNull(cache.getIfPresent(key(1)));
+		cache.put(key(3), rows(3));
+
+		assertEquals(2, cache.size());
+		assertNotNull(cache.getIfPresent(key(1)));
+		assertNull(cache.getIfPresent(key(2)));
+		assertNotNull(cache.getIfPresent(key(3)));
+	}
+
+	@Test
+	public void testExpireAfterWrite() {
+		PartialLookupCache cache = new PartialLookupCache(10, 100, 0, clock);
+		cache.put(key(1), rows(1));
+
+		clock.advanceTime(60, TimeUnit.MILLISECONDS);
+		assertNotNull(cache.getIfPresent(key(1)));
+
+		// accessing the key does not extend its lifetime
+		clock.advanceTime(60, TimeUnit.MILLISECONDS);
+		assertNull(cache.getIfPresent(key(1)));
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	public void testExpireAfterAccess() {
+		PartialLookupCache cache = new PartialLookupCache(10, 0, 100, clock);
+		cache.put(key(1), rows(1));
+
+		clock.advanceTime(60, TimeUnit.MILLISECONDS);
+		assertNotNull(cache.getIfPresent(key(1)));
+		clock.advanceTime(60, TimeUnit.MILLISECONDS);
+		assertNotNull(cache.getIfPresent(key(1)));
+
+		clock.advanceTime(100, TimeUnit.MILLISECONDS);
+		assertNull(cache.getIfPresent(key(1)));
+	}
+
+	@Test
+	public void testCacheEmptyResult() {
+		PartialLookupCache cache = new PartialLookupCache(10, 0, 0, clock);
+		cache.put(key(1), Collections.emptyList());
+
+		Collection<RowData> cachedRows = cache.getIfPresent(key(1));
+		assertNotNull(cachedRows);
+		assertTrue(cachedRows.isEmpty());
+	}
+
+	private static RowData key(int id) {
+		return GenericRowData.of(id);
+	}
+
+	private static Collection<RowData> rows(int id) {
+		return Collections.singletonList(GenericRowData.of(id, id * 10));
+	}
+}
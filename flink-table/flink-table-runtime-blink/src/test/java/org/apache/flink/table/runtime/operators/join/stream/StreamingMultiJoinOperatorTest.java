@@ -0,0 +1,187 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.join.stream;
+
+import org.apache.flink.api.common.functions.AbstractRichFunction;
+import org.apache.flink.streaming.runtime.tasks.MultipleInputStreamTask;
+import org.apache.flink.streaming.runtime.tasks.StreamTaskMailboxTestHarness;
+import org.apache.flink.streaming.runtime.tasks.StreamTaskMailboxTestHarnessBuilder;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.runtime.generated.GeneratedJoinCondition;
+import org.apache.flink.table.runtime.generated.JoinCondition;
+import org.apache.flink.table.runtime.operators.join.stream.state.JoinInputSideSpec;
+import org.apache.flink.table.runtime.typeutils.InternalTypeInfo;
+import org.apache.flink.table.runtime.util.BinaryRowDataKeySelector;
+import org.apache.flink.table.runtime.util.RowDataHarnessAssertor;
+import org.apache.flink.table.types.logical.IntType;
+import org.apache.flink.table.types.logical.VarCharType;
+import org.apache.flink.types.RowKind;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.apache.flink.table.runtime.util.StreamRecordUtils.deleteRecord;
+import static org.apache.flink.table.runtime.util.StreamRecordUtils.insertRecord;
+import static org.apache.flink.table.runtime.util.StreamRecordUtils.record;
+import static org.apache.flink.table.runtime.util.StreamRecordUtils.updateAfterRecord;
+import static org.apache.flink.table.runtime.util.StreamRecordUtils.updateBeforeRecord;
+
+/**
+ * Tests for {@link StreamingMultiJoinOperator}.
+ */
+public class StreamingMultiJoinOperatorTest {
+
+	private final InternalTypeInfo<RowData> inputType = InternalTypeInfo.ofFields(
+		new IntType(),
+		new VarCharType(VarCharType.MAX_LENGTH));
+
+	private final InternalTypeInfo<RowData> outputType = InternalTypeInfo.ofFields(
+		new IntType(),
+		new VarCharType(VarCharType.MAX_LENGTH),
+		new IntType(),
+		new VarCharType(VarCharType.MAX_LENGTH),
+		new IntType(),
+		new VarCharType(VarCharType.MAX_LENGTH));
+
+	private final BinaryRowDataKeySelector keySelector = new BinaryRowDataKeySelector(
+		new int[]{0},
+		inputType.toRowFieldTypes());
+
+	private final RowDataHarnessAssertor assertor = new RowDataHarnessAssertor(outputType.toRowFieldTypes());
+
+	@Test
+	public void testInnerJoin() throws Exception {
+		try (StreamTaskMailboxTestHarness<RowData> testHarness = createTestHarness()) {
+			testHarness.processElement(insertRecord(1, "a1"), 0);
+			testHarness.processElement(insertRecord(1, "b1"), 1);
+			// the third input is still empty
+			assertor.assertOutputEquals("output wrong.", Collections.emptyList(), testHarness.getOutput());
+
+			testHarness.processElement(insertRecord(1, "c1"), 2);
+			testHarness.processElement(insertRecord(2, "c2"), 2);
+			testHarness.processElement(insertRecord(1, "b2"), 1);
+
+			List<Object> expected = new ArrayList<>();
+			expected.add(insertRecord(1, "a1", 1, "b1", 1, "c1"));
+			expected.add(insertRecord(1, "a1", 1, "b2", 1, "c1"));
+			assertor.assertOutputEquals("output wrong.", expected, testHarness.getOutput());
+
+			testHarness.getOutput().clear();
+			testHarness.processElement(insertRecord(1, "a2"), 0);
+			expected.clear();
+			expected.add(insertRecord(1, "a2", 1, "b1", 1, "c1"));
+			expected.add(insertRecord(1, "a2", 1, "b2", 1, "c1"));
+			assertor.assertOutputEqualsSorted("output wrong.", expected, testHarness.getOutput());
+		}
+	}
+
+	@Test
+	public void testRetraction() throws Exception {
+		try (StreamTaskMailboxTestHarness<RowData> testHarness = createTestHarness()) {
+			testHarness.processElement(insertRecord(1, "a1"), 0);
+			testHarness.processElement(insertRecord(1, "b1"), 1);
+			testHarness.processElement(insertRecord(1, "c1"), 2);
+			testHarness.processElement(updateBeforeRecord(1, "b1"), 1);
+			testHarness.processElement(updateAfterRecord(1, "b2"), 1);
+			testHarness.processElement(deleteRecord(1, "c1"), 2);
+			// nothing to join with anymore
+			testHarness.processElement(deleteRecord(1, "a1"), 0);
+
+			List<Object> expected = new ArrayList<>();
+			expected.add(insertRecord(1, "a1", 1, "b1", 1, "c1"));
+			expected.add(record(RowKind.UPDATE_BEFORE, 1, "a1", 1, "b1", 1, "c1"));
+			expected.add(record(RowKind.UPDATE_AFTER, 1, "a1", 1, "b2", 1, "c1"));
+			expected.add(record(RowKind.DELETE, 1, "a1", 1, "b2", 1, "c1"));
+			assertor.assertOutputEquals("output wrong.", expected, testHarness.getOutput());
+		}
+	}
+
+	@Test
+	public void testNonEquiCondition() throws Exception {
+		try (StreamTaskMailboxTestHarness<RowData> testHarness = createTestHarness()) {
+			testHarness.processElement(insertRecord(1, "a1"), 0);
+			testHarness.processElement(insertRecord(1, "b1"), 1);
+			// rejected by the condition of the second join
+			testHarness.processElement(insertRecord(1, "skip"), 2);
+			// rejected by the condition of the first join
+			testHarness.processElement(insertRecord(1, "skip"), 1);
+			testHarness.processElement(insertRecord(1, "c1"), 2);
+
+			List<Object> expected = new ArrayList<>();
+			expected.add(insertRecord(1, "a1", 1, "b1", 1, "c1"));
+			assertor.assertOutputEquals("output wrong.", expected, testHarness.getOutput());
+		}
+	}
+
+	private StreamTaskMailboxTestHarness<RowData> createTestHarness() throws Exception {
+		List<InternalTypeInfo<RowData>> inputTypes = Arrays.asList(inputType, inputType, inputType);
+		List<JoinInputSideSpec> inputSideSpecs = Arrays.asList(
+			JoinInputSideSpec.withoutUniqueKey(),
+			JoinInputSideSpec.withoutUniqueKey(),
+			JoinInputSideSpec.withoutUniqueKey());
+		List<GeneratedJoinCondition> joinConditions = Arrays.asList(
+			new SkipRightCondition(),
+			new SkipRightCondition());
+		StreamingMultiJoinOperatorFactory factory = new StreamingMultiJoinOperatorFactory(
+			inputTypes,
+			inputSideSpecs,
+			joinConditions,
+			new boolean[]{true},
+			0);
+
+		return new StreamTaskMailboxTestHarnessBuilder<>(MultipleInputStreamTask::new, outputType)
+			.addInput(inputType, 1, keySelector)
+			.addInput(inputType, 1, keySelector)
+			.addInput(inputType, 1, keySelector)
+			.setKeyType(keySelector.getProducedType())
+			.setupOutputForSingletonOperatorChain(factory)
+			.build();
+	}
+
+	/**
+	 * A {@link GeneratedJoinCondition} which rejects right rows with the value "skip".
+	 */
+	private static final class SkipRightCondition extends GeneratedJoinCondition {
+
+		private static final long serialVersionUID = 1L;
+
+		private SkipRightCondition() {
+			super("", "", new Object[0]);
+		}
+
+		@Override
+		public JoinCondition newInstance(ClassLoader classLoader) {
+			return new SkipRightJoinCondition();
+		}
+	}
+
+	private static final class SkipRightJoinCondition extends AbstractRichFunction implements JoinCondition {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		public boolean apply(RowData in1, RowData in2) {
+			return !"skip".equals(in2.getString(1).toString());
+		}
+	}
+}
@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.rank;
+
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.streaming.util.OneInputStreamOperatorTestHarness;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.util.RowDataUtil;
+import org.apache.flink.table.runtime.util.StreamRecordUtils;
+import org.apache.flink.types.RowKind;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link CachedRetractableTopNFunction}.
+ *
+ * <p>The function runs all tests of {@link RetractableTopNFunctionTest}, so it produces the same
+ * changes as {@link RetractableTopNFunction}. The random tests use a small cache, so the buffers
+ * are evicted and reloaded from state all the time.
+ */
+public class CachedRetractableTopNFunctionTest extends RetractableTopNFunctionTest {
+
+	@Override
+	protected AbstractTopNFunction createFunction(RankType rankType, RankRange rankRange,
+			boolean generateUpdateBefore, boolean outputRankNumber) {
+		return new CachedRetractableTopNFunction(
+			minTime.toMilliseconds(),
+			maxTime.toMilliseconds(),
+			inputRowType,
+			generatedSortKeyComparator,
+			sortKeySelector,
+			rankType,
+			rankRange,
+			generatedEqualiser,
+			generateUpdateBefore,
+			outputRankNumber,
+			cacheSize);
+	}
+
+	@Test
+	public void testRandomRetractionsWithRowNumber() throws Exception {
+		checkRandomRetractions(new ConstantRankRange(1, 3), true);
+	}
+
+	@Test
+	public void testRandomRetractionsWithoutRowNumber() throws Exception {
+		checkRandomRetractions(new ConstantRankRange(1, 3), false);
+	}
+
+	@Test
+	public void testRandomRetractionsWithOffset() throws Exception {
+		checkRandomRetractions(new ConstantRankRange(2, 4), false);
+	}
+
+	@Test
+	public void testRetractedInputRecordIsNotChanged() throws Exception {
+		OneInputStreamOperatorTestHarness<RowData, RowData> testHarness = createTestHarness(
+			createFunction(RankType.ROW_NUMBER, new ConstantRankRange(1, 2), true, false));
+		testHarness.open();
+		testHarness.processElement(StreamRecordUtils.insertRecord("book", 1L, 12));
+		testHarness.processElement(StreamRecordUtils.insertRecord("book", 2L, 19));
+		testHarness.processElement(StreamRecordUtils.insertRecord("book", 4L, 11));
+		StreamRecord<RowData> retraction = StreamRecordUtils.deleteRecord("book", 4L, 11);
+		testHarness.processElement(retraction);
+		testHarness.close();
+
+		// the input row may still be referenced upstream, its row kind must not be erased
+		assertEquals(RowKind.DELETE, retraction.getValue().getRowKind());
+
+		List<Object> expectedOutput = new ArrayList<>();
+		expectedOutput.add(StreamRecordUtils.insertRecord("book", 1L, 12));
+		expectedOutput.add(StreamRecordUtils.insertRecord("book", 2L, 19));
+		expectedOutput.add(StreamRecordUtils.deleteRecord("book", 2L, 19));
+		expectedOutput.add(StreamRecordUtils.insertRecord("book", 4L, 11));
+		expectedOutput.add(StreamRecordUtils.deleteRecord("book", 4L, 11));
+		expectedOutput.add(StreamRecordUtils.insertRecord("book", 2L, 19));
+		assertorWithoutRowNumber.assertOutputEquals("output wrong.", expectedOutput, testHarness.getOutput());
+	}
+
+	/**
+	 * Applies the changes of the function to a materialized result and compares it with the
+	 * TopN of the records after every input record.
+	 */
+	private void checkRandomRetractions(ConstantRankRange rankRange, boolean outputRankNumber) throws Exception {
+		// a small cache evicts the buffers of the partitions all the time
+		cacheSize = 8;
+		OneInputStreamOperatorTestHarness<RowData, RowData> testHarness = createTestHarness(
+			createFunction(RankType.ROW_NUMBER, rankRange, true, outputRankNumber));
+		testHarness.open();
+
+		Random random = new Random(42);
+		String[] partitions = {"book", "fruit", "tool"};
+		List<Object[]> records = new ArrayList<>();
+		List<String> result = new ArrayList<>();
+		ConcurrentLinkedQueue<Object> output = testHarness.getOutput();
+		for (long id = 0; id < 1000; id++) {
+			if (records.isEmpty() || random.nextInt(3) > 0) {
+				Object[] fields = {partitions[random.nextInt(partitions.length)], id, random.nextInt(10)};
+				records.add(fields);
+				testHarness.processElement(StreamRecordUtils.insertRecord(fields));
+			} else {
+				Object[] fields = records.remove(random.nextInt(records.size()));
+				testHarness.processElement(random.nextBoolean() ?
+					StreamRecordUtils.deleteRecord(fields) : StreamRecordUtils.updateBeforeRecord(fields));
+			}
+
+			while (!output.isEmpty()) {
+				@SuppressWarnings("unchecked")
+				RowData row = ((StreamRecord<RowData>) output.poll()).getValue();
+				String rowString = rowToString(row, outputRankNumber);
+				if (RowDataUtil.isAccumulateMsg(row)) {
+					result.add(rowString);
+				} else {
+					assertTrue(rowString, result.remove(rowString));
+				}
+			}
+			Collections.sort(result);
+			assertEquals(expectedTopN(records, partitions, rankRange, outputRankNumber), result);
+		}
+		testHarness.close();
+	}
+
+	private static List<String> expectedTopN(
+			List<Object[]> records,
+			String[] partitions,
+			ConstantRankRange rankRange,
+			boolean outputRankNumber) {
+		List<String> topN = new ArrayList<>();
+		for (String partition : partitions) {
+			List<Object[]> partitionRecords = new ArrayList<>();
+			for (Object[] record : records) {
+				if (record[0].equals(partition)) {
+					partitionRecords.add(record);
+				}
+			}
+			// the sort is stable, records with the same sort key are ranked by arrival
+			partitionRecords.sort(Comparator.comparingInt(r -> (Integer) r[2]));
+			long rankEnd = Math.min(rankRange.getRankEnd(), partitionRecords.size());
+			for (int i = (int) rankRange.getRankStart() - 1; i < rankEnd; i++) {
+				Object[] r = partitionRecords.get(i);
+				topN.add(r[0] + "," + r[1] + "," + r[2] + (outputRankNumber ? "," + (i + 1) : ""));
+			}
+		}
+		Collections.sort(topN);
+		return topN;
+	}
+
+	private static String rowToString(RowData row, boolean outputRankNumber) {
+		return row.getString(0) + "," + row.getLong(1) + "," + row.getInt(2) +
+			(outputRankNumber ? "," + row.getLong(3) : "");
+	}
+}
@@ -19,10 +19,18 @@
 package org.apache.flink.table.runtime.typeutils;
 
 import org.apache.flink.api.common.typeutils.SerializerTestBase;
+import org.apache.flink.core.memory.DataOutputSerializer;
 import org.apache.flink.table.data.StringData;
 import org.apache.flink.table.data.binary.BinaryRowData;
 import org.apache.flink.table.data.writer.BinaryRowWriter;
 
+import org.junit.Test;
+
+import java.io.EOFException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
 /**
  * A test for the {@link BinaryRowDataSerializer}.
  */
@@ -53,6 +61,37 @@ public class BinaryRowSerializerTest extends SerializerTestBase<BinaryRowData> {
 		};
 	}
 
+	@Test
+	public void testDeserializeView() throws Exception {
+		BinaryRowDataSerializer serializer = createSerializer();
+		DataOutputSerializer out = new DataOutputSerializer(64);
+		// a prefix before the serialized rows, like the null flag of map state values
+		out.writeBoolean(false);
+		for (BinaryRowData row : getTestData()) {
+			serializer.serialize(row, out);
+		}
+		byte[] bytes = out.getCopyOfBuffer();
+
+		int offset = 1;
+		for (BinaryRowData row : getTestData()) {
+			BinaryRowData view = serializer.deserializeView(bytes, offset, bytes.length - offset);
+			assertEquals(row, view);
+			offset += BinaryRowDataSerializer.LENGTH_SIZE_IN_BYTES + view.getSizeInBytes();
+		}
+		assertEquals(bytes.length, offset);
+
+		// a truncated row and a truncated length
+		int firstRowLength = BinaryRowDataSerializer.LENGTH_SIZE_IN_BYTES + getTestData()[0].getSizeInBytes();
+		int[][] truncatedRanges = {{1, firstRowLength - 1}, {1, BinaryRowDataSerializer.LENGTH_SIZE_IN_BYTES - 1}};
+		for (int[] range : truncatedRanges) {
+			try {
+				serializer.deserializeView(bytes, range[0], range[1]);
+				fail("should fail with an EOFException");
+			} catch (EOFException ignored) {
+			}
+		}
+	}
+
 	private static BinaryRowData createRow(String f0, int f1) {
 		BinaryRowData row = new BinaryRowData(2);
 		BinaryRowWriter writer = new BinaryRowWriter(row);
@@ -49,6 +49,8 @@ public class UniformBinaryRowGenerator implements MutableObjectIterator<BinaryRo
 		this.startKey = startKey;
 		this.startVal = startVal;
 		this.repeatKey = repeatKey;
+		this.keyCnt = startKey;
+		this.valCnt = startVal;
 	}
 
 	@Override
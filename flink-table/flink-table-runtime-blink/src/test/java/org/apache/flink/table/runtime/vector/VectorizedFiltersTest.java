@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.vector;
+
+import org.apache.flink.connector.file.src.util.RecordAndPosition;
+import org.apache.flink.table.api.DataTypes;
+import org.apache.flink.table.data.ColumnarRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.vector.ColumnVector;
+import org.apache.flink.table.data.vector.VectorizedColumnBatch;
+import org.apache.flink.table.data.vector.heap.HeapIntVector;
+import org.apache.flink.table.data.vector.heap.HeapLongVector;
+import org.apache.flink.table.expressions.CallExpression;
+import org.apache.flink.table.expressions.FieldReferenceExpression;
+import org.apache.flink.table.expressions.ResolvedExpression;
+import org.apache.flink.table.expressions.ValueLiteralExpression;
+import org.apache.flink.table.filesystem.ColumnarRowIterator;
+import org.apache.flink.table.functions.BuiltInFunctionDefinitions;
+import org.apache.flink.table.functions.FunctionDefinition;
+import org.apache.flink.table.types.logical.BigIntType;
+import org.apache.flink.table.types.logical.IntType;
+import org.apache.flink.table.types.logical.RowType;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Tests for {@link VectorizedFilters} and the filtering of {@link ColumnarRowIterator}.
+ */
+public class VectorizedFiltersTest {
+
+	private static final RowType ROW_TYPE = RowType.of(
+		new IntType(), new BigIntType());
+
+	private static final FieldReferenceExpression F0 =
+		new FieldReferenceExpression("f0", DataTypes.INT(), 0, 0);
+	private static final FieldReferenceExpression F1 =
+		new FieldReferenceExpression("f1", DataTypes.BIGINT(), 0, 1);
+
+	@Test
+	public void testConvertComparisons() {
+		// 5 < f0 is the same as f0 > 5
+		VectorizedPredicate predicate = VectorizedFilters.toPredicate(
+			Collections.singletonList(call(BuiltInFunctionDefinitions.LESS_THAN, new ValueLiteralExpression(5), F0)),
+			ROW_TYPE);
+		assertEquals(Arrays.asList(6, 7, 8, 9), filter(predicate));
+
+		predicate = VectorizedFilters.toPredicate(
+			Arrays.asList(
+				call(BuiltInFunctionDefinitions.GREATER_THAN_OR_EQUAL, F0, new ValueLiteralExpression(2)),
+				call(BuiltInFunctionDefinitions.LESS_THAN, F1, new ValueLiteralExpression(40L))),
+			ROW_TYPE);
+		assertEquals(Arrays.asList(2, 3), filter(predicate));
+	}
+
+	@Test
+	public void testUnsupportedFiltersWidenTheResult() {
+		ResolvedExpression unsupported = call(
+			BuiltInFunctionDefinitions.LIKE, F0, new ValueLiteralExpression("%"));
+		assertNull(VectorizedFilters.toPredicate(Collections.singletonList(unsupported), ROW_TYPE));
+
+		// an unsupported child of a conjunction is ignored
+		VectorizedPredicate predicate = VectorizedFilters.toPredicate(
+			Collections.singletonList(call(
+				BuiltInFunctionDefinitions.AND,
+				unsupported,
+				call(BuiltInFunctionDefinitions.EQUALS, F0, new ValueLiteralExpression(3)))),
+			ROW_TYPE);
+		assertEquals(Collections.singletonList(3), filter(predicate));
+
+		// a disjunction with an unsupported child can't be evaluated
+		assertNull(VectorizedFilters.toPredicate(
+			Collections.singletonList(call(
+				BuiltInFunctionDefinitions.OR,
+				unsupported,
+				call(BuiltInFunctionDefinitions.EQUALS, F0, new ValueLiteralExpression(3)))),
+			ROW_TYPE));
+
+		// comparisons with a decimal literal are left to the planner
+		assertNull(VectorizedFilters.toPredicate(
+			Collections.singletonList(call(
+				BuiltInFunctionDefinitions.EQUALS, F0, new ValueLiteralExpression(new BigDecimal("3.5")))),
+			ROW_TYPE));
+	}
+
+	@Test
+	public void testIteratorSkipsFilteredRows() {
+		VectorizedColumnBatch batch = createBatch();
+		VectorizedPredicate predicate = VectorizedFilters.toPredicate(
+			Collections.singletonList(call(BuiltInFunctionDefinitions.GREATER_THAN, F0, new ValueLiteralExpression(6))),
+			ROW_TYPE);
+		ColumnarRowIterator iterator = new ColumnarRowIterator(
+			new ColumnarRowData(batch), batch, predicate, null);
+		iterator.set(batch.getNumRows(), 100L, 5L);
+
+		List<Integer> values = new ArrayList<>();
+		List<Long> skipCounts = new ArrayList<>();
+		RecordAndPosition<RowData> next;
+		while ((next = iterator.next()) != null) {
+			values.add(next.getRecord().getInt(0));
+			skipCounts.add(next.getRecordSkipCount());
+			assertEquals(100L, next.getOffset());
+		}
+		assertEquals(Arrays.asList(7, 8, 9), values);
+		// the skip counts include the filtered rows
+		assertEquals(Arrays.asList(13L, 14L, 15L), skipCounts);
+	}
+
+	// ------------------------------------------------------------------------------------------
+
+	private static CallExpression call(FunctionDefinition definition, ResolvedExpression... args) {
+		return new CallExpression(definition, Arrays.asList(args), DataTypes.BOOLEAN());
+	}
+
+	/**
+	 * Creates a batch with f0 = i and f1 = i * 10 for i in [0, 10).
+	 */
+	private static VectorizedColumnBatch createBatch() {
+		HeapIntVector f0 = new HeapIntVector(10);
+		HeapLongVector f1 = new HeapLongVector(10);
+		for (int i = 0; i < 10; i++) {
+			f0.setInt(i, i);
+			f1.setLong(i, i * 10L);
+		}
+		VectorizedColumnBatch batch = new VectorizedColumnBatch(new ColumnVector[]{f0, f1});
+		batch.setNumRows(10);
+		return batch;
+	}
+
+	private static List<Integer> filter(VectorizedPredicate predicate) {
+		assertNotNull(predicate);
+		VectorizedColumnBatch batch = createBatch();
+		SelectionVector selection = new SelectionVector(batch.getNumRows());
+		selection.selectAll(batch.getNumRows());
+		predicate.filter(batch, selection);
+		List<Integer> result = new ArrayList<>();
+		for (int i = 0; i < selection.size(); i++) {
+			result.add(batch.getInt(selection.get(i), 0));
+		}
+		return result;
+	}
+}
@@ -0,0 +1,190 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.vector;
+
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.data.vector.ColumnVector;
+import org.apache.flink.table.data.vector.VectorizedColumnBatch;
+import org.apache.flink.table.data.vector.heap.HeapBytesVector;
+import org.apache.flink.table.data.vector.heap.HeapDoubleVector;
+import org.apache.flink.table.data.vector.heap.HeapIntVector;
+import org.apache.flink.table.data.vector.heap.HeapLongVector;
+import org.apache.flink.table.runtime.vector.VectorizedPredicates.Comparison;
+import org.apache.flink.table.types.logical.BigIntType;
+import org.apache.flink.table.types.logical.DoubleType;
+import org.apache.flink.table.types.logical.IntType;
+import org.apache.flink.table.types.logical.VarCharType;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+
+/**
+ * Tests for {@link VectorizedPredicates}.
+ */
+public class VectorizedPredicatesTest {
+
+	private static final int NUM_ROWS = 8;
+
+	@Test
+	public void testIntComparisons() {
+		// 0, 1, 2, null, 4, 5, 6, 7
+		VectorizedColumnBatch batch = createBatch();
+
+		assertSelected(batch, compareInt(Comparison.EQUALS, 2), 2);
+		assertSelected(batch, compareInt(Comparison.NOT_EQUALS, 2), 0, 1, 4, 5, 6, 7);
+		assertSelected(batch, compareInt(Comparison.LESS_THAN, 4), 0, 1, 2);
+		assertSelected(batch, compareInt(Comparison.LESS_THAN_OR_EQUAL, 4), 0, 1, 2, 4);
+		assertSelected(batch, compareInt(Comparison.GREATER_THAN, 5), 6, 7);
+		assertSelected(batch, compareInt(Comparison.GREATER_THAN_OR_EQUAL, 5), 5, 6, 7);
+	}
+
+	@Test
+	public void testComparisonsAtBounds() {
+		VectorizedColumnBatch batch = createBatch();
+
+		assertSelected(batch, VectorizedPredicates.compare(
+			1, new BigIntType(), Comparison.LESS_THAN, Long.MIN_VALUE));
+		assertSelected(batch, VectorizedPredicates.compare(
+			1, new BigIntType(), Comparison.GREATER_THAN, Long.MAX_VALUE));
+		assertSelected(batch, VectorizedPredicates.compare(
+			1, new BigIntType(), Comparison.GREATER_THAN, Long.MIN_VALUE), 0, 1, 2, 3, 4, 5, 6, 7);
+	}
+
+	@Test
+	public void testDoubleComparisons() {
+		VectorizedColumnBatch batch = createBatch();
+
+		// 0.0, 0.5, 1.0, ..., NaN at row 7
+		assertSelected(batch, compareDouble(Comparison.LESS_THAN, 1.0), 0, 1);
+		assertSelected(batch, compareDouble(Comparison.GREATER_THAN, 2.5), 6);
+		assertSelected(batch, compareDouble(Comparison.EQUALS, 1.5), 3);
+		assertSelected(batch, compareDouble(Comparison.NOT_EQUALS, 1.5), 0, 1, 2, 4, 5, 6, 7);
+	}
+
+	@Test
+	public void testStringComparisons() {
+		VectorizedColumnBatch batch = createBatch();
+
+		// "a0", "a1", ..., "a7" and null at row 5
+		assertSelected(batch, compareString(Comparison.EQUALS, "a1"), 1);
+		assertSelected(batch, compareString(Comparison.LESS_THAN, "a3"), 0, 1, 2);
+		assertSelected(batch, compareString(Comparison.GREATER_THAN_OR_EQUAL, "a"), 0, 1, 2, 3, 4, 6, 7);
+		assertSelected(batch, compareString(Comparison.GREATER_THAN, "a6x"), 7);
+	}
+
+	@Test
+	public void testNullChecks() {
+		VectorizedColumnBatch batch = createBatch();
+
+		assertSelected(batch, VectorizedPredicates.isNull(0), 3);
+		assertSelected(batch, VectorizedPredicates.isNotNull(3), 0, 1, 2, 3, 4, 6, 7);
+	}
+
+	@Test
+	public void testAndOr() {
+		VectorizedColumnBatch batch = createBatch();
+
+		assertSelected(
+			batch,
+			VectorizedPredicates.and(Arrays.asList(
+				compareInt(Comparison.GREATER_THAN, 1),
+				compareString(Comparison.NOT_EQUALS, "a4"))),
+			2, 6, 7);
+		assertSelected(
+			batch,
+			VectorizedPredicates.or(Arrays.asList(
+				compareInt(Comparison.GREATER_THAN, 5),
+				compareInt(Comparison.EQUALS, 1),
+				compareString(Comparison.LESS_THAN_OR_EQUAL, "a1"))),
+			0, 1, 6, 7);
+	}
+
+	@Test
+	public void testSelectionUnion() {
+		SelectionVector selection = selectionOf(1, 3, 5, 7);
+		selection.union(selectionOf(0, 3, 4, 8));
+		assertArrayEquals(new int[]{0, 1, 3, 4, 5, 7, 8}, toArray(selection));
+
+		selection = selectionOf();
+		selection.union(selectionOf(2, 6));
+		assertArrayEquals(new int[]{2, 6}, toArray(selection));
+	}
+
+	// ------------------------------------------------------------------------------------------
+
+	private static VectorizedPredicate compareInt(Comparison comparison, int literal) {
+		return VectorizedPredicates.compare(0, new IntType(), comparison, literal);
+	}
+
+	private static VectorizedPredicate compareDouble(Comparison comparison, double literal) {
+		return VectorizedPredicates.compare(2, new DoubleType(), comparison, literal);
+	}
+
+	private static VectorizedPredicate compareString(Comparison comparison, String literal) {
+		return VectorizedPredicates.compare(
+			3, new VarCharType(VarCharType.MAX_LENGTH), comparison, StringData.fromString(literal));
+	}
+
+	/**
+	 * Creates a batch with an INT, a BIGINT, a DOUBLE and a STRING column.
+	 */
+	private static VectorizedColumnBatch createBatch() {
+		HeapIntVector ints = new HeapIntVector(NUM_ROWS);
+		HeapLongVector longs = new HeapLongVector(NUM_ROWS);
+		HeapDoubleVector doubles = new HeapDoubleVector(NUM_ROWS);
+		HeapBytesVector strings = new HeapBytesVector(NUM_ROWS);
+		for (int i = 0; i < NUM_ROWS; i++) {
+			ints.setInt(i, i);
+			longs.setLong(i, i);
+			doubles.setDouble(i, i == 7 ? Double.NaN : i * 0.5);
+			byte[] bytes = ("a" + i).getBytes(StandardCharsets.UTF_8);
+			strings.appendBytes(i, bytes, 0, bytes.length);
+		}
+		ints.setNullAt(3);
+		strings.setNullAt(5);
+		VectorizedColumnBatch batch = new VectorizedColumnBatch(new ColumnVector[]{ints, longs, doubles, strings});
+		batch.setNumRows(NUM_ROWS);
+		return batch;
+	}
+
+	private static void assertSelected(
+			VectorizedColumnBatch batch,
+			VectorizedPredicate predicate,
+			int... expected) {
+		SelectionVector selection = new SelectionVector(NUM_ROWS);
+		selection.selectAll(batch.getNumRows());
+		predicate.filter(batch, selection);
+		assertArrayEquals(expected, toArray(selection));
+	}
+
+	private static SelectionVector selectionOf(int... positions) {
+		SelectionVector selection = new SelectionVector(16);
+		System.arraycopy(positions, 0, selection.positions(), 0, positions.length);
+		selection.setSize(positions.length);
+		return selection;
+	}
+
+	private static int[] toArray(SelectionVector selection) {
+		return Arrays.copyOf(selection.positions(), selection.size());
+	}
+}